@@ -0,0 +1,56 @@
+package com.linkedin.datahub.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.Value;
+
+
+/**
+ * A {@link PreparsedDocumentProvider} which keeps the parsed and validated documents of the most recently used queries
+ * in a bounded in-memory cache, keyed by the query text, so that repeated queries skip lexing, parsing and validation.
+ *
+ * Documents with parse or validation errors are not cached.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+  private final Cache<String, CachedDocument> _cache;
+
+  public CachingPreparsedDocumentProvider(final long maxSize) {
+    _cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  @Override
+  public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    final String query = executionInput.getQuery();
+    final CachedDocument cachedDocument = _cache.getIfPresent(query);
+    if (cachedDocument != null) {
+      MetricUtils.counter(this.getClass(), "hit").inc();
+      MetricUtils.counter(this.getClass(), "parseTimeSavedMicros").inc(cachedDocument.getParseTimeMicros());
+      return cachedDocument.getEntry();
+    }
+    MetricUtils.counter(this.getClass(), "miss").inc();
+
+    final long startTime = System.nanoTime();
+    final PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+    final long parseTimeNanos = System.nanoTime() - startTime;
+    MetricUtils.timer(this.getClass(), "parseAndValidate").update(parseTimeNanos, TimeUnit.NANOSECONDS);
+
+    if (!entry.hasErrors()) {
+      _cache.put(query, new CachedDocument(entry, TimeUnit.NANOSECONDS.toMicros(parseTimeNanos)));
+    }
+    return entry;
+  }
+
+  @Value
+  private static class CachedDocument {
+    PreparsedDocumentEntry entry;
+    long parseTimeMicros;
+  }
+}
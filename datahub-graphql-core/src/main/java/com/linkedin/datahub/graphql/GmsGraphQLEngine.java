@@ -15,6 +15,7 @@ import com.linkedin.datahub.graphql.analytics.resolver.GetHighlightsResolver;
 import com.linkedin.datahub.graphql.analytics.resolver.GetMetadataAnalyticsResolver;
 import com.linkedin.datahub.graphql.analytics.resolver.IsAnalyticsEnabledResolver;
 import com.linkedin.datahub.graphql.analytics.service.AnalyticsService;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.featureflags.FeatureFlags;
 import com.linkedin.datahub.graphql.generated.AccessToken;
 import com.linkedin.datahub.graphql.generated.AccessTokenMetadata;
@@ -267,7 +268,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -307,6 +307,7 @@ public class GmsGraphQLEngine {
     private final GroupService groupService;
 
     private final FeatureFlags featureFlags;
+    private final int dataLoaderMaxBatchSize;
 
     private final IngestionConfiguration ingestionConfiguration;
     private final AuthenticationConfiguration authenticationConfiguration;
@@ -387,7 +388,7 @@ public class GmsGraphQLEngine {
         final VisualConfiguration visualConfiguration, final TelemetryConfiguration telemetryConfiguration,
         final TestsConfiguration testsConfiguration, final DatahubConfiguration datahubConfiguration,
         final SiblingGraphService siblingGraphService, final GroupService groupService,
-        final FeatureFlags featureFlags) {
+        final FeatureFlags featureFlags, final int dataLoaderMaxBatchSize) {
 
         this.entityClient = entityClient;
         this.graphClient = graphClient;
@@ -415,6 +416,7 @@ public class GmsGraphQLEngine {
         this.testsConfiguration = testsConfiguration;
         this.datahubConfiguration = datahubConfiguration;
         this.featureFlags = featureFlags;
+        this.dataLoaderMaxBatchSize = dataLoaderMaxBatchSize;
 
         this.datasetType = new DatasetType(entityClient);
         this.corpUserType = new CorpUserType(entityClient, featureFlags);
@@ -1463,8 +1465,10 @@ public class GmsGraphQLEngine {
 
     private <T, K> DataLoader<K, DataFetcherResult<T>> createDataLoader(final LoadableType<T, K> graphType, final QueryContext queryContext) {
         BatchLoaderContextProvider contextProvider = () -> queryContext;
-        DataLoaderOptions loaderOptions = DataLoaderOptions.newOptions().setBatchLoaderContextProvider(contextProvider);
-        return DataLoader.newDataLoader((keys, context) -> CompletableFuture.supplyAsync(() -> {
+        DataLoaderOptions loaderOptions = DataLoaderOptions.newOptions()
+            .setBatchLoaderContextProvider(contextProvider)
+            .setMaxBatchSize(dataLoaderMaxBatchSize);
+        return DataLoader.newDataLoader((keys, context) -> GraphQLConcurrencyUtils.supplyAsync(() -> {
             try {
                 log.debug(String.format("Batch loading entities of type: %s, keys: %s", graphType.name(), keys));
                 return graphType.batchLoad(keys, context.getContext());
@@ -1472,7 +1476,7 @@ public class GmsGraphQLEngine {
                 log.error(String.format("Failed to load Entities of type: %s, keys: %s", graphType.name(), keys) + " " + e.getMessage());
                 throw new RuntimeException(String.format("Failed to retrieve entities of type %s", graphType.name()), e);
             }
-        }), loaderOptions);
+        }, queryContext), loaderOptions);
     }
 
     private void configureIngestionSourceResolvers(final RuntimeWiring.Builder builder) {
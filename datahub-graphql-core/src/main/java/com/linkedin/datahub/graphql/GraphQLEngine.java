@@ -1,5 +1,11 @@
 package com.linkedin.datahub.graphql;
 
+import com.datahub.authentication.Actor;
+import com.datahub.authentication.Authentication;
+import com.datahub.authorization.Authorizer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.linkedin.datahub.graphql.exception.DataHubDataFetcherExceptionHandler;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
@@ -10,10 +16,13 @@ import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -32,17 +41,28 @@ import static graphql.schema.idl.RuntimeWiring.*;
  * schemas, {@link DataLoader}s, & a configured {@link RuntimeWiring}.
  *
  * <p>In addition, it provides a simplified 'execute' API that accepts a 1) query string and 2) set of variables.
+ *
+ * <p>Parsed & validated query documents are cached, so repeated queries are only parsed once.
  */
 public class GraphQLEngine {
 
+    private static final long DEFAULT_QUERY_CACHE_SIZE = 1000;
+
     private final GraphQL _graphQL;
     private final Map<String, Function<QueryContext, DataLoader<?, ?>>> _dataLoaderSuppliers;
+    private final Cache<String, String> _persistedQueries;
+    @Nullable
+    private final Executor _executor;
 
     private GraphQLEngine(@Nonnull final List<String> schemas,
                           @Nonnull final RuntimeWiring runtimeWiring,
-                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers) {
+                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers,
+                          final long queryCacheSize,
+                          @Nullable final Executor executor) {
 
         _dataLoaderSuppliers = dataLoaderSuppliers;
+        _executor = executor;
+        _persistedQueries = CacheBuilder.newBuilder().maximumSize(queryCacheSize).build();
 
         /*
          * Parse schema
@@ -63,12 +83,19 @@ public class GraphQLEngine {
         _graphQL = new GraphQL.Builder(graphQLSchema)
             .defaultDataFetcherExceptionHandler(new DataHubDataFetcherExceptionHandler())
             .instrumentation(new TracingInstrumentation())
+            .preparsedDocumentProvider(new CachingPreparsedDocumentProvider(queryCacheSize))
             .build();
     }
 
     public ExecutionResult execute(@Nonnull final String query,
                                    @Nullable final Map<String, Object> variables,
-                                   @Nonnull final QueryContext context) {
+                                   @Nonnull final QueryContext queryContext) {
+        /*
+         * Resolvers and data loaders run their blocking work on the executor of the engine.
+         */
+        final QueryContext context =
+            _executor != null ? new ExecutorQueryContext(queryContext, _executor) : queryContext;
+
         /*
          * Init DataLoaderRegistry - should be created for each request.
          */
@@ -90,6 +117,26 @@ public class GraphQLEngine {
         return _graphQL.execute(executionInput);
     }
 
+    /**
+     * Resolves the query text of an Apollo-style persisted query, identified by the SHA-256 hash of its text.
+     *
+     * If the query text is provided it is registered under its hash, otherwise it is looked up from the queries
+     * previously registered.
+     *
+     * @return the query text, or empty if no query was provided and none has been registered for the hash
+     * @throws IllegalArgumentException if the provided query does not match the hash
+     */
+    public Optional<String> resolvePersistedQuery(@Nullable final String query, @Nonnull final String sha256Hash) {
+        if (query == null) {
+            return Optional.ofNullable(_persistedQueries.getIfPresent(sha256Hash));
+        }
+        if (!Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString().equalsIgnoreCase(sha256Hash)) {
+            throw new IllegalArgumentException("Provided sha256Hash does not match query");
+        }
+        _persistedQueries.put(sha256Hash, query);
+        return Optional.of(query);
+    }
+
     public GraphQL getGraphQL() {
         return _graphQL;
     }
@@ -106,6 +153,8 @@ public class GraphQLEngine {
         private final List<String> _schemas = new ArrayList<>();
         private final Map<String, Function<QueryContext, DataLoader<?, ?>>> _loaderSuppliers = new HashMap<>();
         private final RuntimeWiring.Builder _runtimeWiringBuilder = newRuntimeWiring();
+        private long _queryCacheSize = DEFAULT_QUERY_CACHE_SIZE;
+        private Executor _executor = null;
 
         /**
          * Used to add a schema file containing the GQL types resolved by the engine.
@@ -153,11 +202,28 @@ public class GraphQLEngine {
             return this;
         }
 
+        /**
+         * Used to set the maximum number of parsed & validated queries, as well as persisted queries, kept in memory.
+         */
+        public Builder setQueryCacheSize(final long queryCacheSize) {
+            _queryCacheSize = queryCacheSize;
+            return this;
+        }
+
+        /**
+         * Used to set the executor resolvers and data loaders run their blocking work on. Defaults to the common pool.
+         */
+        public Builder setExecutor(final Executor executor) {
+            _executor = executor;
+            return this;
+        }
+
         /**
          * Builds a {@link GraphQLEngine}.
          */
         public GraphQLEngine build() {
-            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers);
+            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers, _queryCacheSize,
+                _executor);
         }
     }
 
@@ -170,4 +236,52 @@ public class GraphQLEngine {
         return registry;
     }
 
+    /**
+     * The {@link QueryContext} of a request, with the executor of the engine.
+     */
+    private static class ExecutorQueryContext implements QueryContext {
+
+        private final QueryContext _context;
+        private final Executor _executor;
+
+        ExecutorQueryContext(@Nonnull final QueryContext context, @Nonnull final Executor executor) {
+            _context = context;
+            _executor = executor;
+        }
+
+        @Override
+        public boolean isAuthenticated() {
+            return _context.isAuthenticated();
+        }
+
+        @Override
+        public Authentication getAuthentication() {
+            return _context.getAuthentication();
+        }
+
+        @Override
+        public Actor getActor() {
+            return _context.getActor();
+        }
+
+        @Override
+        public String getActorUrn() {
+            return _context.getActorUrn();
+        }
+
+        @Override
+        public Authorizer getAuthorizer() {
+            return _context.getAuthorizer();
+        }
+
+        @Override
+        public RequestScopedAspectCache getAspectCache() {
+            return _context.getAspectCache();
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return _executor;
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.linkedin.datahub.graphql;
 import com.datahub.authentication.Actor;
 import com.datahub.authentication.Authentication;
 import com.datahub.authorization.Authorizer;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 
 
 /**
@@ -38,4 +40,20 @@ public interface QueryContext {
      * Returns the authorizer used to authorize specific actions.
      */
     Authorizer getAuthorizer();
+
+    /**
+     * Returns the cache of the aspects fetched while resolving the current request, null if aspects are not cached.
+     */
+    @Nullable
+    default RequestScopedAspectCache getAspectCache() {
+        return null;
+    }
+
+    /**
+     * Returns the executor the blocking work of resolvers and data loaders runs on, null to use the common pool.
+     */
+    @Nullable
+    default Executor getExecutor() {
+        return null;
+    }
 }
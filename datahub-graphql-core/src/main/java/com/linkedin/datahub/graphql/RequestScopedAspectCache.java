@@ -0,0 +1,132 @@
+package com.linkedin.datahub.graphql;
+
+import com.datahub.authentication.Authentication;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.r2.RemoteInvocationException;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Caches the aspects fetched through {@link EntityClient#batchGetV2} while a single GraphQL request is being resolved.
+ *
+ * The same entity is often loaded by several types and resolvers within one request (e.g. a dataset search result,
+ * its schema through the Aspect loader, and the same dataset again as the end of a relationship). With this cache each
+ * aspect of an urn is fetched from the backend at most once per request, and each batch load issues at most one
+ * batch get for whatever aspects are still missing. Aspects which do not exist are remembered as well.
+ *
+ * Instances are created per request and must never be shared across requests.
+ */
+public class RequestScopedAspectCache {
+
+  // The aspect names that were already requested for each urn, whether or not they exist
+  private final Map<Urn, Set<String>> _requestedAspects = new ConcurrentHashMap<>();
+  // The aspects that were found for each urn, keyed by aspect name
+  private final Map<Urn, Map<String, EnvelopedAspect>> _aspects = new ConcurrentHashMap<>();
+  // The entity names of the urns which were returned by the backend
+  private final Map<Urn, String> _entityNames = new ConcurrentHashMap<>();
+
+  /**
+   * Fetches the given aspects through the aspect cache of the request if it has one, and straight from the
+   * {@link EntityClient} otherwise.
+   */
+  @Nonnull
+  public static Map<Urn, EntityResponse> batchGetV2(
+      @Nonnull final EntityClient entityClient,
+      @Nonnull final String entityName,
+      @Nonnull final Set<Urn> urns,
+      @Nonnull final Set<String> aspectNames,
+      @Nonnull final QueryContext context) throws RemoteInvocationException, URISyntaxException {
+    final RequestScopedAspectCache aspectCache = context.getAspectCache();
+    if (aspectCache == null) {
+      return entityClient.batchGetV2(entityName, urns, aspectNames, context.getAuthentication());
+    }
+    return aspectCache.batchGetV2(entityClient, entityName, urns, aspectNames, context.getAuthentication());
+  }
+
+  /**
+   * Same contract as {@link EntityClient#batchGetV2}, but only the aspects which were not requested for an urn earlier
+   * in the same request are fetched from the backend.
+   */
+  @Nonnull
+  public Map<Urn, EntityResponse> batchGetV2(
+      @Nonnull final EntityClient entityClient,
+      @Nonnull final String entityName,
+      @Nonnull final Set<Urn> urns,
+      @Nonnull final Set<String> aspectNames,
+      @Nonnull final Authentication authentication) throws RemoteInvocationException, URISyntaxException {
+    final Set<Urn> missingUrns = new HashSet<>();
+    final Set<String> missingAspects = new HashSet<>();
+    for (Urn urn : urns) {
+      final Set<String> requestedAspects = _requestedAspects.getOrDefault(urn, Collections.emptySet());
+      for (String aspectName : aspectNames) {
+        if (!requestedAspects.contains(aspectName)) {
+          missingUrns.add(urn);
+          missingAspects.add(aspectName);
+        }
+      }
+    }
+    MetricUtils.counter(this.getClass(), "hit").inc(urns.size() - missingUrns.size());
+    MetricUtils.counter(this.getClass(), "miss").inc(missingUrns.size());
+
+    if (!missingUrns.isEmpty()) {
+      final Map<Urn, EntityResponse> responses =
+          entityClient.batchGetV2(entityName, missingUrns, missingAspects, authentication);
+      for (Map.Entry<Urn, EntityResponse> entry : responses.entrySet()) {
+        _entityNames.put(entry.getKey(), entry.getValue().getEntityName());
+        _aspects.computeIfAbsent(entry.getKey(), urn -> new ConcurrentHashMap<>()).putAll(entry.getValue().getAspects());
+      }
+      for (Urn urn : missingUrns) {
+        _requestedAspects.computeIfAbsent(urn, key -> ConcurrentHashMap.newKeySet()).addAll(missingAspects);
+      }
+    }
+
+    final Map<Urn, EntityResponse> result = new HashMap<>();
+    for (Urn urn : urns) {
+      if (!_entityNames.containsKey(urn)) {
+        continue;
+      }
+      final Map<String, EnvelopedAspect> cachedAspects = _aspects.getOrDefault(urn, Collections.emptyMap());
+      final EnvelopedAspectMap aspects = new EnvelopedAspectMap();
+      for (String aspectName : aspectNames) {
+        if (cachedAspects.containsKey(aspectName)) {
+          aspects.put(aspectName, cachedAspects.get(aspectName));
+        }
+      }
+      result.put(urn, new EntityResponse().setUrn(urn).setEntityName(_entityNames.get(urn)).setAspects(aspects));
+    }
+    return result;
+  }
+
+  /**
+   * Forgets everything cached for the given urns in the aspect cache of the request, if it has one. Must be called once
+   * the urns have been written by a mutation of the request, before they are read back.
+   */
+  public static void invalidate(@Nonnull final Collection<Urn> urns, @Nonnull final QueryContext context) {
+    final RequestScopedAspectCache aspectCache = context.getAspectCache();
+    if (aspectCache != null) {
+      urns.forEach(aspectCache::invalidate);
+    }
+  }
+
+  /**
+   * Forgets everything cached for an urn, e.g. after it has been written by a mutation of the current request.
+   */
+  public void invalidate(@Nonnull final Urn urn) {
+    _requestedAspects.remove(urn);
+    _aspects.remove(urn);
+    _entityNames.remove(urn);
+  }
+}
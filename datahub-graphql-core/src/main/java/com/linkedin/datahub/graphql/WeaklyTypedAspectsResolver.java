@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.AspectParams;
 import com.linkedin.datahub.graphql.generated.AspectRenderSpec;
 import com.linkedin.datahub.graphql.generated.Entity;
@@ -43,7 +44,7 @@ public class WeaklyTypedAspectsResolver implements DataFetcher<CompletableFuture
 
     @Override
     public CompletableFuture<List<RawAspect>> get(DataFetchingEnvironment environment) throws Exception {
-        return CompletableFuture.supplyAsync(() -> {
+        return GraphQLConcurrencyUtils.supplyAsync(() -> {
             List<RawAspect> results = new ArrayList<>();
 
             final QueryContext context = environment.getContext();
@@ -88,6 +89,6 @@ public class WeaklyTypedAspectsResolver implements DataFetcher<CompletableFuture
                 }
             });
             return results;
-        });
+        }, environment.getContext());
     }
 }
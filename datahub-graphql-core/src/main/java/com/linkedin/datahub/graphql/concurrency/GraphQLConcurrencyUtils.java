@@ -0,0 +1,40 @@
+package com.linkedin.datahub.graphql.concurrency;
+
+import com.linkedin.datahub.graphql.QueryContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Runs the asynchronous work of GraphQL resolvers and data loaders on the executor of the request's
+ * {@link QueryContext}, so that blocking calls to the entity, search and graph backends do not starve the JVM's common
+ * ForkJoinPool (and each other) under load. The executor is the one the
+ * {@link com.linkedin.datahub.graphql.GraphQLEngine} executing the request was built with.
+ *
+ * Without an executor, the common pool is used, which matches the behavior of
+ * {@link CompletableFuture#supplyAsync(Supplier)}.
+ */
+public class GraphQLConcurrencyUtils {
+
+  private GraphQLConcurrencyUtils() { }
+
+  @Nonnull
+  public static Executor getExecutor(@Nullable final QueryContext context) {
+    final Executor executor = context != null ? context.getExecutor() : null;
+    return executor != null ? executor : ForkJoinPool.commonPool();
+  }
+
+  public static <T> CompletableFuture<T> supplyAsync(@Nonnull final Supplier<T> supplier,
+      @Nullable final QueryContext context) {
+    return CompletableFuture.supplyAsync(supplier, getExecutor(context));
+  }
+
+  public static CompletableFuture<Void> runAsync(@Nonnull final Runnable runnable,
+      @Nullable final QueryContext context) {
+    return CompletableFuture.runAsync(runnable, getExecutor(context));
+  }
+}
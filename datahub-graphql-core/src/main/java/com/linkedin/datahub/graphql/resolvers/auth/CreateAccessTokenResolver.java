@@ -8,6 +8,7 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.AccessToken;
 import com.linkedin.datahub.graphql.generated.AccessTokenType;
@@ -39,7 +40,7 @@ public class CreateAccessTokenResolver implements DataFetcher<CompletableFuture<
 
   @Override
   public CompletableFuture<AccessToken> get(final DataFetchingEnvironment environment) throws Exception {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       final QueryContext context = environment.getContext();
       final CreateAccessTokenInput input = bindArgument(environment.getArgument("input"), CreateAccessTokenInput.class);
 
@@ -79,7 +80,7 @@ public class CreateAccessTokenResolver implements DataFetcher<CompletableFuture<
       }
       throw new AuthorizationException(
           "Unauthorized to perform this action. Please contact your DataHub administrator.");
-    });
+    }, environment.getContext());
   }
 
   private boolean isAuthorizedToGenerateToken(final QueryContext context, final CreateAccessTokenInput input) {
@@ -2,6 +2,7 @@ package com.linkedin.datahub.graphql.resolvers.auth;
 
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.AccessTokenMetadata;
 import com.linkedin.datahub.graphql.generated.EntityType;
@@ -40,7 +41,7 @@ public class ListAccessTokensResolver implements DataFetcher<CompletableFuture<L
 
   @Override
   public CompletableFuture<ListAccessTokenResult> get(DataFetchingEnvironment environment) throws Exception {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       final QueryContext context = environment.getContext();
       final ListAccessTokenInput input = bindArgument(environment.getArgument("input"), ListAccessTokenInput.class);
       final Integer start = input.getStart();
@@ -78,7 +79,7 @@ public class ListAccessTokensResolver implements DataFetcher<CompletableFuture<L
       }
       throw new AuthorizationException(
           "Unauthorized to perform this action. Please contact your DataHub administrator.");
-    });
+    }, environment.getContext());
   }
 
   /**
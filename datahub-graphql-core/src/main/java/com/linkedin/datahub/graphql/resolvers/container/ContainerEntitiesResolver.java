@@ -2,6 +2,7 @@ package com.linkedin.datahub.graphql.resolvers.container;
 
 import com.google.common.collect.ImmutableList;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.Container;
 import com.linkedin.datahub.graphql.generated.ContainerEntitiesInput;
 import com.linkedin.datahub.graphql.generated.SearchResults;
@@ -68,7 +69,7 @@ public class ContainerEntitiesResolver implements DataFetcher<CompletableFuture<
     final int start = input.getStart() != null ? input.getStart() : 0;
     final int count = input.getCount() != null ? input.getCount() : 20;
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       try {
 
@@ -92,6 +93,6 @@ public class ContainerEntitiesResolver implements DataFetcher<CompletableFuture<
         throw new RuntimeException(
             String.format("Failed to resolve entities associated with container with urn %s", urn), e);
       }
-    });
+    }, environment.getContext());
   }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.container;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.DataMap;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLException;
 import com.linkedin.datahub.graphql.generated.Container;
 import com.linkedin.datahub.graphql.generated.Entity;
@@ -61,7 +62,7 @@ public class ParentContainersResolver implements DataFetcher<CompletableFuture<P
     final String urn = ((Entity) environment.getSource()).getUrn();
     final List<Container> containers = new ArrayList<>();
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         aggregateParentContainers(containers, urn, context);
         final ParentContainersResult result = new ParentContainersResult();
@@ -71,6 +72,6 @@ public class ParentContainersResolver implements DataFetcher<CompletableFuture<P
       } catch (DataHubGraphQLException e) {
         throw new RuntimeException("Failed to load all containers", e);
       }
-    });
+    }, environment.getContext());
   }
 }
@@ -4,6 +4,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.CorpUser;
 import com.linkedin.datahub.graphql.generated.DashboardUsageMetrics;
 import com.linkedin.datahub.graphql.generated.DashboardStatsSummary;
@@ -42,7 +43,7 @@ public class DashboardStatsSummaryResolver implements DataFetcher<CompletableFut
   public CompletableFuture<DashboardStatsSummary> get(DataFetchingEnvironment environment) throws Exception {
     final Urn resourceUrn = UrnUtils.getUrn(((Entity) environment.getSource()).getUrn());
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (this.summaryCache.getIfPresent(resourceUrn) != null) {
         return this.summaryCache.getIfPresent(resourceUrn);
@@ -72,7 +73,7 @@ public class DashboardStatsSummaryResolver implements DataFetcher<CompletableFut
         log.error(String.format("Failed to load dashboard usage summary for resource %s", resourceUrn.toString()), e);
         return null; // Do not throw when loading usage summary fails.
       }
-    });
+    }, environment.getContext());
   }
 
   private int getDashboardViewCount(final Urn resourceUrn) {
@@ -8,6 +8,7 @@ import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
 import com.linkedin.datahub.graphql.authorization.ConjunctivePrivilegeGroup;
 import com.linkedin.datahub.graphql.authorization.DisjunctivePrivilegeGroup;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.UpdateDeprecationInput;
 import com.linkedin.datahub.graphql.resolvers.AuthUtils;
@@ -47,7 +48,7 @@ public class UpdateDeprecationResolver implements DataFetcher<CompletableFuture<
     final UpdateDeprecationInput input = bindArgument(environment.getArgument("input"), UpdateDeprecationInput.class);
     final Urn entityUrn = Urn.createFromString(input.getUrn());
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!isAuthorizedToUpdateDeprecationForEntity(environment.getContext(), entityUrn)) {
         throw new AuthorizationException("Unauthorized to perform this action. Please contact your DataHub administrator.");
@@ -77,7 +78,7 @@ public class UpdateDeprecationResolver implements DataFetcher<CompletableFuture<
         log.error("Failed to update Deprecation for resource with entity urn {}: {}", entityUrn, e.getMessage());
         throw new RuntimeException(String.format("Failed to update Deprecation for resource with entity urn %s", entityUrn), e);
       }
-    });
+    }, environment.getContext());
   }
 
   private boolean isAuthorizedToUpdateDeprecationForEntity(final QueryContext context, final Urn entityUrn) {
@@ -4,6 +4,7 @@ import com.linkedin.common.urn.GlossaryNodeUrn;
 import com.linkedin.data.template.SetMode;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.CreateGlossaryEntityInput;
 import com.linkedin.entity.client.EntityClient;
@@ -37,7 +38,7 @@ public class CreateGlossaryTermResolver implements DataFetcher<CompletableFuture
     final QueryContext context = environment.getContext();
     final CreateGlossaryEntityInput input = bindArgument(environment.getArgument("input"), CreateGlossaryEntityInput.class);
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       if (AuthorizationUtils.canManageGlossaries((context))) {
         try {
           final GlossaryTermKey key = new GlossaryTermKey();
@@ -63,7 +64,7 @@ public class CreateGlossaryTermResolver implements DataFetcher<CompletableFuture
         }
       }
       throw new AuthorizationException("Unauthorized to perform this action. Please contact your DataHub administrator.");
-    });
+    }, environment.getContext());
   }
 
   private GlossaryTermInfo mapGlossaryTermInfo(final CreateGlossaryEntityInput input) {
@@ -2,11 +2,13 @@ package com.linkedin.datahub.graphql.resolvers.group;
 
 import com.datahub.authentication.Authentication;
 import com.datahub.authentication.group.GroupService;
+import com.datahub.authorization.AuthorizerChain;
 import com.linkedin.common.Origin;
 import com.linkedin.common.OriginType;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLErrorCode;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLException;
@@ -52,7 +54,7 @@ public class AddGroupMembersResolver implements DataFetcher<CompletableFuture<Bo
           String.format("Failed to add members to group %s. Group does not exist.", groupUrnStr),
           DataHubGraphQLErrorCode.NOT_FOUND);
     }
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       Origin groupOrigin = _groupService.getGroupOrigin(groupUrn);
       if (groupOrigin == null || !groupOrigin.hasType()) {
         try {
@@ -72,10 +74,13 @@ public class AddGroupMembersResolver implements DataFetcher<CompletableFuture<Bo
         // Add each user to the group
         final List<Urn> userUrnList = input.getUserUrns().stream().map(UrnUtils::getUrn).collect(Collectors.toList());
         userUrnList.forEach(userUrn -> _groupService.addUserToNativeGroup(userUrn, groupUrn, authentication));
+        if (context.getAuthorizer() instanceof AuthorizerChain) {
+          ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().invalidateActorMemberships(userUrnList);
+        }
         return true;
       } catch (Exception e) {
         throw new RuntimeException(String.format("Failed to add group members to group %s", groupUrnStr));
       }
-    });
+    }, environment.getContext());
   }
 }
@@ -1,6 +1,7 @@
 package com.linkedin.datahub.graphql.resolvers.group;
 
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.EntityCountInput;
 import com.linkedin.datahub.graphql.generated.EntityCountResult;
 import com.linkedin.datahub.graphql.generated.EntityCountResults;
@@ -34,7 +35,7 @@ public class EntityCountsResolver implements DataFetcher<CompletableFuture<Entit
       final EntityCountInput input = bindArgument(environment.getArgument("input"), EntityCountInput.class);
       final EntityCountResults results = new EntityCountResults();
 
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           // First, get all counts
           Map<String, Long> gmsResult = _entityClient.batchGetTotalEntityCount(
@@ -52,6 +53,6 @@ public class EntityCountsResolver implements DataFetcher<CompletableFuture<Entit
         } catch (Exception e) {
           throw new RuntimeException("Failed to get entity counts", e);
         }
-      });
+      }, environment.getContext());
   }
 }
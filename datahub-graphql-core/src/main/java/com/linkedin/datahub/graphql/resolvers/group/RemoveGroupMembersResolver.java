@@ -2,11 +2,13 @@ package com.linkedin.datahub.graphql.resolvers.group;
 
 import com.datahub.authentication.Authentication;
 import com.datahub.authentication.group.GroupService;
+import com.datahub.authorization.AuthorizerChain;
 import com.linkedin.common.Origin;
 import com.linkedin.common.OriginType;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLErrorCode;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLException;
@@ -52,7 +54,7 @@ public class RemoveGroupMembersResolver implements DataFetcher<CompletableFuture
           DataHubGraphQLErrorCode.NOT_FOUND);
     }
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       Origin groupOrigin = _groupService.getGroupOrigin(groupUrn);
       if (groupOrigin == null || !groupOrigin.hasType()) {
         try {
@@ -70,10 +72,13 @@ public class RemoveGroupMembersResolver implements DataFetcher<CompletableFuture
       }
       try {
         _groupService.removeExistingNativeGroupMembers(groupUrn, userUrnList, authentication);
+        if (context.getAuthorizer() instanceof AuthorizerChain) {
+          ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().invalidateActorMemberships(userUrnList);
+        }
         return true;
       } catch (Exception e) {
         throw new RuntimeException(e);
       }
-    });
+    }, environment.getContext());
   }
 }
\ No newline at end of file
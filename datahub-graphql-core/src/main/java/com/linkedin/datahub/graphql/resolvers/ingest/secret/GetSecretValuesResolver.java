@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.ingest.secret;
 import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.GetSecretValuesInput;
 import com.linkedin.datahub.graphql.generated.SecretValue;
@@ -50,7 +51,7 @@ public class GetSecretValuesResolver implements DataFetcher<CompletableFuture<Li
 
       final GetSecretValuesInput input = bindArgument(environment.getArgument("input"), GetSecretValuesInput.class);
 
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           // Fetch secrets
           final Set<Urn> urns = input.getSecrets()
@@ -86,7 +87,7 @@ public class GetSecretValuesResolver implements DataFetcher<CompletableFuture<Li
         } catch (Exception e) {
           throw new RuntimeException(String.format("Failed to perform update against input %s", input.toString()), e);
         }
-      });
+      }, environment.getContext());
     }
     throw new AuthorizationException("Unauthorized to perform this action. Please contact your DataHub administrator.");
   }
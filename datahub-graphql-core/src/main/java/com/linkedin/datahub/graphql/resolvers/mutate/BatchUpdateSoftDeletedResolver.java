@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.mutate;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.BatchUpdateSoftDeletedInput;
 import com.linkedin.datahub.graphql.resolvers.mutate.util.DeleteUtils;
@@ -30,7 +31,7 @@ public class BatchUpdateSoftDeletedResolver implements DataFetcher<CompletableFu
     final List<String> urns = input.getUrns();
     final boolean deleted = input.getDeleted();
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       // First, validate the entities exist
       validateInputUrns(urns, context);
@@ -43,7 +44,7 @@ public class BatchUpdateSoftDeletedResolver implements DataFetcher<CompletableFu
         log.error("Failed to perform batch soft delete against input {}, {}", input.toString(), e.getMessage());
         throw new RuntimeException(String.format("Failed to perform batch soft delete against input %s", input.toString()), e);
       }
-    });
+    }, environment.getContext());
   }
 
   private void validateInputUrns(List<String> urnStrs, QueryContext context) {
@@ -1,9 +1,14 @@
 package com.linkedin.datahub.graphql.resolvers.mutate;
 
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.RequestScopedAspectCache;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.types.MutableType;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,16 +35,21 @@ public class MutableTypeResolver<I, T> implements DataFetcher<CompletableFuture<
     public CompletableFuture<T> get(DataFetchingEnvironment environment) throws Exception {
         final String urn = environment.getArgument("urn");
         final I input = bindArgument(environment.getArgument("input"), _mutableType.inputClass());
-        return CompletableFuture.supplyAsync(() -> {
+        final QueryContext context = environment.getContext();
+        return GraphQLConcurrencyUtils.supplyAsync(() -> {
             try {
                 _logger.debug(String.format("Mutating entity. input: %s", input));
-                return _mutableType.update(urn, input, environment.getContext());
+                final T result = _mutableType.update(urn, input, context);
+                // Fields of the updated entity resolved later in the request must not be served what was cached
+                // before the update, whether or not the type read it back through the cache.
+                RequestScopedAspectCache.invalidate(Collections.singleton(UrnUtils.getUrn(urn)), context);
+                return result;
             } catch (AuthorizationException e) {
                 throw e;
             } catch (Exception e) {
                 _logger.error(String.format("Failed to perform update against input %s", input) + " " + e.getMessage());
                 throw new RuntimeException(String.format("Failed to perform update against input %s", input), e);
             }
-        });
+        }, context);
     }
 }
@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.mutate;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.UpdateUserSettingInput;
 import com.linkedin.datahub.graphql.generated.UserSetting;
 import com.linkedin.identity.CorpUserAppearanceSettings;
@@ -35,7 +36,7 @@ public class UpdateUserSettingResolver implements DataFetcher<CompletableFuture<
     final boolean value = input.getValue();
     final Urn actor = UrnUtils.getUrn(context.getActorUrn());
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         // In the future with more settings, we'll need to do a read-modify-write
         // for now though, we can just write since there is only 1 setting
@@ -58,6 +59,6 @@ public class UpdateUserSettingResolver implements DataFetcher<CompletableFuture<
         log.error("Failed to perform user settings update against input {}, {}", input.toString(), e.getMessage());
         throw new RuntimeException(String.format("Failed to perform user settings update against input %s", input.toString()), e);
       }
-    });
+    }, environment.getContext());
   }
 }
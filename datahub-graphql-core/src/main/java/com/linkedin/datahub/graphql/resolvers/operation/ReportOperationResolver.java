@@ -12,6 +12,7 @@ import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
 import com.linkedin.datahub.graphql.authorization.ConjunctivePrivilegeGroup;
 import com.linkedin.datahub.graphql.authorization.DisjunctivePrivilegeGroup;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLErrorCode;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLException;
@@ -55,7 +56,7 @@ public class ReportOperationResolver implements DataFetcher<CompletableFuture<Bo
     final QueryContext context = environment.getContext();
     final ReportOperationInput input = bindArgument(environment.getArgument("input"), ReportOperationInput.class);
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       Urn entityUrn = UrnUtils.getUrn(input.getUrn());
 
@@ -79,7 +80,7 @@ public class ReportOperationResolver implements DataFetcher<CompletableFuture<Bo
         log.error("Failed to report operation. {}", e.getMessage());
         throw new RuntimeException("Failed to report operation", e);
       }
-    });
+    }, environment.getContext());
   }
 
   private Operation mapOperation(final ReportOperationInput input, final QueryContext context) throws URISyntaxException {
@@ -1,6 +1,7 @@
 package com.linkedin.datahub.graphql.resolvers.recommendation;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.ContentParams;
 import com.linkedin.datahub.graphql.generated.EntityProfileParams;
 import com.linkedin.datahub.graphql.generated.Filter;
@@ -49,7 +50,7 @@ public class ListRecommendationsResolver implements DataFetcher<CompletableFutur
     final ListRecommendationsInput input =
         bindArgument(environment.getArgument("input"), ListRecommendationsInput.class);
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         log.debug("Listing recommendations for input {}", input);
         List<com.linkedin.metadata.recommendation.RecommendationModule> modules =
@@ -66,7 +67,7 @@ public class ListRecommendationsResolver implements DataFetcher<CompletableFutur
         log.error("Failed to get recommendations for input {}", input, e);
         return EMPTY_RECOMMENDATIONS;
       }
-    });
+    }, environment.getContext());
   }
 
   private com.linkedin.metadata.recommendation.RecommendationRequestContext mapRequestContext(
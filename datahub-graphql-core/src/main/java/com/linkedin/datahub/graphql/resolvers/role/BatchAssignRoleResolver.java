@@ -1,9 +1,12 @@
 package com.linkedin.datahub.graphql.resolvers.role;
 
 import com.datahub.authentication.Authentication;
+import com.datahub.authorization.AuthorizerChain;
 import com.linkedin.common.UrnArray;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.BatchAssignRoleInput;
 import com.linkedin.entity.client.EntityClient;
@@ -15,6 +18,7 @@ import com.linkedin.r2.RemoteInvocationException;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
@@ -43,26 +47,31 @@ public class BatchAssignRoleResolver implements DataFetcher<CompletableFuture<Bo
     final List<String> actors = input.getActors();
     final Authentication authentication = context.getAuthentication();
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         Urn roleUrn = Urn.createFromString(roleUrnStr);
         if (!_entityClient.exists(roleUrn, authentication)) {
           throw new RuntimeException(String.format("Role %s does not exist", roleUrnStr));
         }
 
+        final List<Urn> assignedActors = new ArrayList<>();
         actors.forEach(actor -> {
           try {
             assignRoleToActor(actor, roleUrn, authentication);
+            assignedActors.add(UrnUtils.getUrn(actor));
           } catch (Exception e) {
             log.warn(
                 String.format("Failed to assign role %s to actor %s. Skipping actor assignment", roleUrnStr, actor), e);
           }
         });
+        if (context.getAuthorizer() instanceof AuthorizerChain) {
+          ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().invalidateActorMemberships(assignedActors);
+        }
         return true;
       } catch (Exception e) {
         throw new RuntimeException(String.format("Failed to perform update against input %s", input), e);
       }
-    });
+    }, environment.getContext());
   }
 
   private void assignRoleToActor(String actor, Urn roleUrn, Authentication authentication)
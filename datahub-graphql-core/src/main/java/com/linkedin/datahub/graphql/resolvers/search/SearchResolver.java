@@ -1,5 +1,6 @@
 package com.linkedin.datahub.graphql.resolvers.search;
 
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.SearchInput;
 import com.linkedin.datahub.graphql.generated.SearchResults;
 import com.linkedin.datahub.graphql.resolvers.EntityTypeMapper;
@@ -39,7 +40,7 @@ public class SearchResolver implements DataFetcher<CompletableFuture<SearchResul
     final int start = input.getStart() != null ? input.getStart() : DEFAULT_START;
     final int count = input.getCount() != null ? input.getCount() : DEFAULT_COUNT;
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         log.debug("Executing search. entity type {}, query {}, filters: {}, start: {}, count: {}", input.getType(),
             input.getQuery(), input.getFilters(), start, count);
@@ -53,6 +54,6 @@ public class SearchResolver implements DataFetcher<CompletableFuture<SearchResul
             "Failed to execute search: " + String.format("entity type %s, query %s, filters: %s, start: %s, count: %s",
                 input.getType(), input.getQuery(), input.getFilters(), start, count), e);
       }
-    });
+    }, environment.getContext());
   }
 }
@@ -1,6 +1,7 @@
 package com.linkedin.datahub.graphql.resolvers.timeline;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.GetSchemaBlameInput;
 import com.linkedin.datahub.graphql.generated.GetSchemaBlameResult;
 import com.linkedin.datahub.graphql.types.timeline.mappers.SchemaBlameMapper;
@@ -39,7 +40,7 @@ public class GetSchemaBlameResolver implements DataFetcher<CompletableFuture<Get
     final long endTime = 0;
     final String version = input.getVersion() == null ? null : input.getVersion();
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         final Set<ChangeCategory> changeCategorySet = new HashSet<>();
         changeCategorySet.add(ChangeCategory.TECHNICAL_SCHEMA);
@@ -56,6 +57,6 @@ public class GetSchemaBlameResolver implements DataFetcher<CompletableFuture<Get
         log.error("Failed to list schema blame data", e);
         return null;
       }
-    });
+    }, environment.getContext());
   }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.linkedin.datahub.graphql.resolvers.timeline;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.GetSchemaVersionListInput;
 import com.linkedin.datahub.graphql.generated.GetSchemaVersionListResult;
 import com.linkedin.datahub.graphql.types.timeline.mappers.SchemaVersionListMapper;
@@ -39,7 +40,7 @@ public class GetSchemaVersionListResolver implements DataFetcher<CompletableFutu
     final long startTime = 0;
     final long endTime = 0;
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         final Set<ChangeCategory> changeCategorySet = new HashSet<>();
         changeCategorySet.add(ChangeCategory.TECHNICAL_SCHEMA);
@@ -56,6 +57,6 @@ public class GetSchemaVersionListResolver implements DataFetcher<CompletableFutu
         log.error("Failed to list schema blame data", e);
         return null;
       }
-    });
+    }, environment.getContext());
   }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.linkedin.datahub.graphql.resolvers.user;
 
 import com.datahub.authentication.user.NativeUserService;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.CreateNativeUserResetTokenInput;
 import com.linkedin.datahub.graphql.generated.ResetToken;
@@ -38,7 +39,7 @@ public class CreateNativeUserResetTokenResolver implements DataFetcher<Completab
           "Unauthorized to perform this action. Please contact your DataHub administrator.");
     }
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         String resetToken =
             _nativeUserService.generateNativeUserPasswordResetToken(userUrnString, context.getAuthentication());
@@ -47,6 +48,6 @@ public class CreateNativeUserResetTokenResolver implements DataFetcher<Completab
         throw new RuntimeException(
             String.format("Failed to generate password reset token for user: %s", userUrnString));
       }
-    });
+    }, environment.getContext());
   }
 }
\ No newline at end of file
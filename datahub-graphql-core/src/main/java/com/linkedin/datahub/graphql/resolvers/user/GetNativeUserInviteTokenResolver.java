@@ -2,6 +2,7 @@ package com.linkedin.datahub.graphql.resolvers.user;
 
 import com.datahub.authentication.user.NativeUserService;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.InviteToken;
 import graphql.schema.DataFetcher;
@@ -25,7 +26,7 @@ public class GetNativeUserInviteTokenResolver implements DataFetcher<Completable
   public CompletableFuture<InviteToken> get(final DataFetchingEnvironment environment) throws Exception {
     final QueryContext context = environment.getContext();
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       if (!canManageUserCredentials(context)) {
         throw new AuthorizationException(
             "Unauthorized to perform this action. Please contact your DataHub administrator.");
@@ -37,6 +38,6 @@ public class GetNativeUserInviteTokenResolver implements DataFetcher<Completable
       } catch (Exception e) {
         throw new RuntimeException("Failed to generate new invite token");
       }
-    });
+    }, environment.getContext());
   }
 }
@@ -7,6 +7,7 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.RequestScopedAspectCache;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
 import com.linkedin.datahub.graphql.authorization.ConjunctivePrivilegeGroup;
 import com.linkedin.datahub.graphql.authorization.DisjunctivePrivilegeGroup;
@@ -45,6 +46,7 @@ import graphql.execution.DataFetcherResult;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -126,11 +128,12 @@ public class DatasetType implements SearchableEntityType<Dataset, String>, Brows
                 .collect(Collectors.toList());
 
             final Map<Urn, EntityResponse> datasetMap =
-                _entityClient.batchGetV2(
+                RequestScopedAspectCache.batchGetV2(
+                    _entityClient,
                     Constants.DATASET_ENTITY_NAME,
                     new HashSet<>(urns),
                     ASPECTS_TO_RESOLVE,
-                    context.getAuthentication());
+                    context);
 
             final List<EntityResponse> gmsResults = new ArrayList<>();
             for (Urn urn : urns) {
@@ -212,6 +215,7 @@ public class DatasetType implements SearchableEntityType<Dataset, String>, Brows
         } catch (RemoteInvocationException e) {
             throw new RuntimeException(String.format("Failed to write entity with urn %s", urns), e);
         }
+        RequestScopedAspectCache.invalidate(urns.stream().map(UrnUtils::getUrn).collect(Collectors.toList()), context);
 
         return batchLoad(urns, context).stream().map(DataFetcherResult::getData).collect(Collectors.toList());
     }
@@ -228,6 +232,7 @@ public class DatasetType implements SearchableEntityType<Dataset, String>, Brows
             } catch (RemoteInvocationException e) {
                 throw new RuntimeException(String.format("Failed to write entity with urn %s", urn), e);
             }
+            RequestScopedAspectCache.invalidate(Collections.singleton(UrnUtils.getUrn(urn)), context);
 
             return load(urn, context).getData();
         }
@@ -0,0 +1,140 @@
+package com.linkedin.datahub.graphql;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import graphql.ExecutionResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class GraphQLEngineTest {
+
+  private static final String SCHEMA = "type Query { hello: String }";
+  private static final String QUERY = "query { hello }";
+  private static final String QUERY_HASH = Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString();
+
+  private static GraphQLEngine buildEngine() {
+    return GraphQLEngine.builder()
+        .addSchema(SCHEMA)
+        .configureRuntimeWiring(builder -> builder.type("Query",
+            typeWiring -> typeWiring.dataFetcher("hello", environment -> "world")))
+        .setQueryCacheSize(10)
+        .build();
+  }
+
+  // Number of queries parsed and validated, rather than served from the parsed document cache, by any engine
+  private static long getParseCount() {
+    return MetricUtils.timer(CachingPreparsedDocumentProvider.class, "parseAndValidate").getCount();
+  }
+
+  private static long getCacheHitCount() {
+    return MetricUtils.counter(CachingPreparsedDocumentProvider.class, "hit").getCount();
+  }
+
+  private static void assertHello(ExecutionResult result) {
+    assertTrue(result.getErrors().isEmpty());
+    assertEquals(((Map<String, Object>) result.getData()).get("hello"), "world");
+  }
+
+  @Test
+  public void testExecuteCachedQuery() {
+    GraphQLEngine engine = buildEngine();
+    QueryContext context = TestUtils.getMockAllowContext();
+
+    long parseCount = getParseCount();
+    long hitCount = getCacheHitCount();
+    assertHello(engine.execute(QUERY, Collections.emptyMap(), context));
+    assertEquals(getParseCount(), parseCount + 1);
+
+    // Repeated executions, with other variables too, are served from the parsed document cache
+    assertHello(engine.execute(QUERY, Collections.emptyMap(), context));
+    assertHello(engine.execute(QUERY, Collections.singletonMap("unused", "value"), context));
+    assertEquals(getParseCount(), parseCount + 1);
+    assertEquals(getCacheHitCount(), hitCount + 2);
+
+    // Invalid queries are still parsed and rejected every time
+    for (int i = 0; i < 2; i++) {
+      ExecutionResult result = engine.execute("query { goodbye }", Collections.emptyMap(), context);
+      assertFalse(result.getErrors().isEmpty());
+    }
+    assertEquals(getParseCount(), parseCount + 3);
+    assertEquals(getCacheHitCount(), hitCount + 2);
+  }
+
+  @Test
+  public void testResolversRunOnEngineExecutor() {
+    ExecutorService executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("test-resolver-%d").setDaemon(true).build());
+    GraphQLEngine engine = GraphQLEngine.builder()
+        .addSchema(SCHEMA)
+        .configureRuntimeWiring(builder -> builder.type("Query",
+            typeWiring -> typeWiring.dataFetcher("hello", environment -> GraphQLConcurrencyUtils.supplyAsync(
+                () -> Thread.currentThread().getName(), environment.getContext()))))
+        .setExecutor(executor)
+        .build();
+
+    try {
+      ExecutionResult result = engine.execute(QUERY, Collections.emptyMap(), TestUtils.getMockAllowContext());
+      assertTrue(result.getErrors().isEmpty());
+      assertEquals(((Map<String, Object>) result.getData()).get("hello"), "test-resolver-0");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testResolvePersistedQuery() {
+    GraphQLEngine engine = buildEngine();
+
+    assertEquals(engine.resolvePersistedQuery(null, QUERY_HASH), Optional.empty());
+    assertThrows(IllegalArgumentException.class, () -> engine.resolvePersistedQuery("query { other }", QUERY_HASH));
+
+    assertEquals(engine.resolvePersistedQuery(QUERY, QUERY_HASH), Optional.of(QUERY));
+    assertEquals(engine.resolvePersistedQuery(null, QUERY_HASH), Optional.of(QUERY));
+  }
+
+  @Test
+  public void testExecutePersistedQueryFromCache() {
+    GraphQLEngine engine = buildEngine();
+    QueryContext context = TestUtils.getMockAllowContext();
+
+    // The first request registers the query along with its hash, and parses it
+    long parseCount = getParseCount();
+    assertHello(engine.execute(engine.resolvePersistedQuery(QUERY, QUERY_HASH).get(), Collections.emptyMap(),
+        context));
+    assertEquals(getParseCount(), parseCount + 1);
+
+    // Later requests send only the hash, and neither resend nor re-parse the query
+    long hitCount = getCacheHitCount();
+    for (int i = 0; i < 2; i++) {
+      assertHello(engine.execute(engine.resolvePersistedQuery(null, QUERY_HASH).get(), Collections.emptyMap(),
+          context));
+    }
+    assertEquals(getParseCount(), parseCount + 1);
+    assertEquals(getCacheHitCount(), hitCount + 2);
+  }
+
+  @Test
+  public void testResolveUnknownPersistedQueryHash() {
+    GraphQLEngine engine = buildEngine();
+    engine.resolvePersistedQuery(QUERY, QUERY_HASH);
+
+    // A hash which was never registered, e.g. after a restart, asks the client to send the query along with it
+    String otherHash = Hashing.sha256().hashString("query { other }", StandardCharsets.UTF_8).toString();
+    assertEquals(engine.resolvePersistedQuery(null, otherHash), Optional.empty());
+    assertEquals(buildEngine().resolvePersistedQuery(null, QUERY_HASH), Optional.empty());
+
+    // A query which does not match its hash is rejected rather than registered under it
+    assertThrows(IllegalArgumentException.class, () -> engine.resolvePersistedQuery(QUERY, otherHash));
+    assertEquals(engine.resolvePersistedQuery(null, otherHash), Optional.empty());
+    assertThrows(IllegalArgumentException.class, () -> engine.resolvePersistedQuery(QUERY, "not-a-hash"));
+  }
+}
@@ -0,0 +1,64 @@
+package com.linkedin.datahub.graphql;
+
+import com.datahub.authentication.Authentication;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.Status;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.Aspect;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
+import com.linkedin.entity.client.EntityClient;
+import java.util.Map;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class RequestScopedAspectCacheTest {
+
+  private static final Urn TEST_URN = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,test,PROD)");
+  private static final Urn MISSING_URN = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,missing,PROD)");
+
+  @Test
+  public void testBatchGetV2FetchesEachAspectOnce() throws Exception {
+    EntityClient mockClient = Mockito.mock(EntityClient.class);
+    Authentication authentication = Mockito.mock(Authentication.class);
+    EnvelopedAspect statusAspect = new EnvelopedAspect().setName("status")
+        .setValue(new Aspect(new Status().setRemoved(false).data()));
+    Mockito.when(mockClient.batchGetV2(Mockito.eq("dataset"), Mockito.eq(ImmutableSet.of(TEST_URN, MISSING_URN)),
+        Mockito.eq(ImmutableSet.of("status", "ownership")), Mockito.eq(authentication)))
+        .thenReturn(ImmutableMap.of(TEST_URN, new EntityResponse().setUrn(TEST_URN).setEntityName("dataset")
+            .setAspects(new EnvelopedAspectMap(ImmutableMap.of("status", statusAspect)))));
+
+    RequestScopedAspectCache cache = new RequestScopedAspectCache();
+    Map<Urn, EntityResponse> first = cache.batchGetV2(mockClient, "dataset", ImmutableSet.of(TEST_URN, MISSING_URN),
+        ImmutableSet.of("status", "ownership"), authentication);
+    assertEquals(first.keySet(), ImmutableSet.of(TEST_URN));
+    assertEquals(first.get(TEST_URN).getAspects().get("status"), statusAspect);
+
+    // Subsets of the aspects requested earlier, including missing ones, are served from the cache
+    Map<Urn, EntityResponse> second = cache.batchGetV2(mockClient, "dataset", ImmutableSet.of(TEST_URN, MISSING_URN),
+        ImmutableSet.of("status"), authentication);
+    assertEquals(second.keySet(), ImmutableSet.of(TEST_URN));
+    assertEquals(second.get(TEST_URN).getAspects().keySet(), ImmutableSet.of("status"));
+    Mockito.verify(mockClient, Mockito.times(1)).batchGetV2(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+    // Only the aspects which were not requested before are fetched
+    Mockito.when(mockClient.batchGetV2(Mockito.eq("dataset"), Mockito.eq(ImmutableSet.of(TEST_URN)),
+        Mockito.eq(ImmutableSet.of("schemaMetadata")), Mockito.eq(authentication)))
+        .thenReturn(ImmutableMap.of(TEST_URN, new EntityResponse().setUrn(TEST_URN).setEntityName("dataset")
+            .setAspects(new EnvelopedAspectMap())));
+    Map<Urn, EntityResponse> third = cache.batchGetV2(mockClient, "dataset", ImmutableSet.of(TEST_URN),
+        ImmutableSet.of("status", "schemaMetadata"), authentication);
+    assertEquals(third.get(TEST_URN).getAspects().keySet(), ImmutableSet.of("status"));
+    Mockito.verify(mockClient, Mockito.times(2)).batchGetV2(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+    // Invalidated urns are fetched again
+    cache.invalidate(TEST_URN);
+    cache.batchGetV2(mockClient, "dataset", ImmutableSet.of(TEST_URN), ImmutableSet.of("schemaMetadata"), authentication);
+    Mockito.verify(mockClient, Mockito.times(3)).batchGetV2(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+  }
+}
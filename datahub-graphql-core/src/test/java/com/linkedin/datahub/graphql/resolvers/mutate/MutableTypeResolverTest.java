@@ -0,0 +1,87 @@
+package com.linkedin.datahub.graphql.resolvers.mutate;
+
+import com.datahub.authentication.Actor;
+import com.datahub.authentication.ActorType;
+import com.datahub.authentication.Authentication;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.Deprecation;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.RequestScopedAspectCache;
+import com.linkedin.datahub.graphql.generated.Dataset;
+import com.linkedin.datahub.graphql.generated.DatasetUpdateInput;
+import com.linkedin.datahub.graphql.types.dataset.DatasetType;
+import com.linkedin.entity.Aspect;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.entity.client.RestliEntityClient;
+import com.linkedin.metadata.Constants;
+import graphql.schema.DataFetchingEnvironment;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import static com.linkedin.datahub.graphql.TestUtils.*;
+import static org.testng.Assert.*;
+
+public class MutableTypeResolverTest {
+
+    private static final String TEST_DATASET_URN = "urn:li:dataset:id-1";
+
+    @Test
+    public void testUpdatedEntityIsNotServedFromAspectCache() throws Exception {
+        EntityClient mockClient = Mockito.mock(RestliEntityClient.class);
+        DatasetType datasetType = new DatasetType(mockClient);
+        MutableTypeResolver<DatasetUpdateInput, Dataset> resolver = new MutableTypeResolver<>(datasetType);
+
+        DataFetchingEnvironment mockEnv = Mockito.mock(DataFetchingEnvironment.class);
+        Mockito.when(mockEnv.getArgument("urn")).thenReturn(TEST_DATASET_URN);
+        Mockito.when(mockEnv.getArgument("input")).thenReturn(ImmutableMap.of("deprecation",
+            ImmutableMap.of("deprecated", true, "note", "Test Deprecation Note")));
+        QueryContext mockContext = getMockAllowContext();
+        Mockito.when(mockEnv.getContext()).thenReturn(mockContext);
+        Authentication mockAuth = Mockito.mock(Authentication.class);
+        Mockito.when(mockContext.getAuthentication()).thenReturn(mockAuth);
+        Mockito.when(mockAuth.getActor()).thenReturn(new Actor(ActorType.USER, "datahub"));
+        Mockito.when(mockContext.getAspectCache()).thenReturn(new RequestScopedAspectCache());
+
+        Urn datasetUrn = Urn.createFromString(TEST_DATASET_URN);
+        Mockito.when(mockClient.batchGetV2(Mockito.eq(Constants.DATASET_ENTITY_NAME),
+                Mockito.eq(ImmutableSet.of(datasetUrn)),
+                Mockito.any(),
+                Mockito.any(Authentication.class)))
+                .thenReturn(ImmutableMap.of(datasetUrn, makeResponse(datasetUrn, false)))
+                .thenReturn(ImmutableMap.of(datasetUrn, makeResponse(datasetUrn, true)));
+
+        // Loaded through the cache before the update in the same request
+        assertFalse(datasetType.load(TEST_DATASET_URN, mockContext).getData().getDeprecation().getDeprecated());
+
+        Dataset result = resolver.get(mockEnv).join();
+
+        assertTrue(result.getDeprecation().getDeprecated());
+        Mockito.verify(mockClient, Mockito.times(1)).batchIngestProposals(Mockito.any(), Mockito.any());
+        Mockito.verify(mockClient, Mockito.times(2)).batchGetV2(Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.any());
+
+        // Fields of the updated dataset resolved later in the request are fetched again
+        datasetType.load(TEST_DATASET_URN, mockContext);
+        Mockito.verify(mockClient, Mockito.times(3)).batchGetV2(Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.any());
+    }
+
+    private static EntityResponse makeResponse(Urn datasetUrn, boolean deprecated) throws Exception {
+        Deprecation deprecation = new Deprecation()
+                .setDeprecated(deprecated)
+                .setNote("")
+                .setActor(Urn.createFromString("urn:li:corpuser:datahub"));
+        return new EntityResponse()
+                .setEntityName(Constants.DATASET_ENTITY_NAME)
+                .setUrn(datasetUrn)
+                .setAspects(new EnvelopedAspectMap(ImmutableMap.of(
+                        Constants.DATASET_DEPRECATION_ASPECT_NAME,
+                        new EnvelopedAspect().setValue(new Aspect(deprecation.data()))
+                )));
+    }
+}
@@ -1,5 +1,8 @@
 package com.linkedin.datahub.upgrade;
 
+import com.linkedin.datahub.upgrade.backfillrollups.BackfillTimeseriesRollups;
+import com.linkedin.datahub.upgrade.buildindices.BuildIndices;
+import com.linkedin.datahub.upgrade.convertaspectformat.ConvertAspectFormat;
 import com.linkedin.datahub.upgrade.impl.DefaultUpgradeManager;
 import com.linkedin.datahub.upgrade.nocode.NoCodeUpgrade;
 import com.linkedin.datahub.upgrade.nocodecleanup.NoCodeCleanupUpgrade;
@@ -49,6 +52,18 @@ public class UpgradeCli implements CommandLineRunner {
   @Named("removeUnknownAspects")
   private RemoveUnknownAspects removeUnknownAspects;
 
+  @Inject
+  @Named("convertAspectFormat")
+  private ConvertAspectFormat convertAspectFormat;
+
+  @Inject
+  @Named("buildIndices")
+  private BuildIndices buildIndices;
+
+  @Inject
+  @Named("backfillTimeseriesRollups")
+  private BackfillTimeseriesRollups backfillTimeseriesRollups;
+
   @Override
   public void run(String... cmdLineArgs) {
     _upgradeManager.register(noCodeUpgrade);
@@ -56,6 +71,9 @@ public class UpgradeCli implements CommandLineRunner {
     _upgradeManager.register(restoreIndices);
     _upgradeManager.register(restoreBackup);
     _upgradeManager.register(removeUnknownAspects);
+    _upgradeManager.register(convertAspectFormat);
+    _upgradeManager.register(buildIndices);
+    _upgradeManager.register(backfillTimeseriesRollups);
 
     final Args args = new Args();
     new CommandLine(args).setCaseInsensitiveEnumValuesAllowed(true).parseArgs(cmdLineArgs);
@@ -0,0 +1,40 @@
+package com.linkedin.datahub.upgrade.backfillrollups;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.datahub.upgrade.Upgrade;
+import com.linkedin.datahub.upgrade.UpgradeCleanupStep;
+import com.linkedin.datahub.upgrade.UpgradeStep;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeseries.elastic.ElasticSearchTimeseriesAspectService;
+import java.util.List;
+
+
+/**
+ * Rolls up the existing documents of all timeseries aspects, after which aggregations over them are answered from their
+ * rollups. Run once GMS and the MAE consumer maintain rollups (timeseriesAspectService.rollups.enabled), and again after
+ * a rollup index has been rebuilt.
+ */
+public class BackfillTimeseriesRollups implements Upgrade {
+
+  private final List<UpgradeStep> _steps;
+
+  public BackfillTimeseriesRollups(final ElasticSearchTimeseriesAspectService timeseriesAspectService,
+      final EntityRegistry entityRegistry) {
+    _steps = ImmutableList.of(new BackfillTimeseriesRollupsStep(timeseriesAspectService, entityRegistry));
+  }
+
+  @Override
+  public String id() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public List<UpgradeStep> steps() {
+    return _steps;
+  }
+
+  @Override
+  public List<UpgradeCleanupStep> cleanupSteps() {
+    return ImmutableList.of();
+  }
+}
@@ -0,0 +1,58 @@
+package com.linkedin.datahub.upgrade.backfillrollups;
+
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.UpgradeStep;
+import com.linkedin.datahub.upgrade.UpgradeStepResult;
+import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeseries.elastic.ElasticSearchTimeseriesAspectService;
+import java.util.function.Function;
+
+
+public class BackfillTimeseriesRollupsStep implements UpgradeStep {
+
+  private final ElasticSearchTimeseriesAspectService _timeseriesAspectService;
+  private final EntityRegistry _entityRegistry;
+
+  public BackfillTimeseriesRollupsStep(final ElasticSearchTimeseriesAspectService timeseriesAspectService,
+      final EntityRegistry entityRegistry) {
+    _timeseriesAspectService = timeseriesAspectService;
+    _entityRegistry = entityRegistry;
+  }
+
+  @Override
+  public String id() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public int retryCount() {
+    return 0;
+  }
+
+  @Override
+  public Function<UpgradeContext, UpgradeStepResult> executable() {
+    return (context) -> {
+      for (EntitySpec entitySpec : _entityRegistry.getEntitySpecs().values()) {
+        for (AspectSpec aspectSpec : entitySpec.getAspectSpecs()) {
+          if (!aspectSpec.isTimeseries()) {
+            continue;
+          }
+          final long startTime = System.currentTimeMillis();
+          try {
+            final long numDocs = _timeseriesAspectService.backfillRollups(entitySpec.getName(), aspectSpec.getName());
+            context.report().addLine(String.format("Rolled up %d documents of aspect %s of %s in %d seconds", numDocs,
+                aspectSpec.getName(), entitySpec.getName(), (System.currentTimeMillis() - startTime) / 1000));
+          } catch (Exception e) {
+            context.report().addLine(String.format("Failed to roll up aspect %s of %s: %s", aspectSpec.getName(),
+                entitySpec.getName(), e.toString()));
+            return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
+          }
+        }
+      }
+      return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.SUCCEEDED);
+    };
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.datahub.upgrade.buildindices;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.datahub.upgrade.Upgrade;
+import com.linkedin.datahub.upgrade.UpgradeCleanupStep;
+import com.linkedin.datahub.upgrade.UpgradeStep;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Creates, updates and rebuilds all indices, for deployments which do not rebuild indices on startup
+ * (elasticsearch.index.reindex.enabled set to false). Rebuilt indices keep serving until their alias is swapped.
+ */
+public class BuildIndices implements Upgrade {
+
+  private final List<UpgradeStep> _steps;
+
+  public BuildIndices(final ESIndexBuilder indexBuilder, final EntitySearchService entitySearchService,
+      final GraphService graphService, final SystemMetadataService systemMetadataService,
+      final TimeseriesAspectService timeseriesAspectService) {
+    _steps = buildSteps(indexBuilder, entitySearchService, graphService, systemMetadataService,
+        timeseriesAspectService);
+  }
+
+  @Override
+  public String id() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public List<UpgradeStep> steps() {
+    return _steps;
+  }
+
+  private List<UpgradeStep> buildSteps(final ESIndexBuilder indexBuilder,
+      final EntitySearchService entitySearchService, final GraphService graphService,
+      final SystemMetadataService systemMetadataService, final TimeseriesAspectService timeseriesAspectService) {
+    final List<UpgradeStep> steps = new ArrayList<>();
+    steps.add(new BuildIndicesStep(indexBuilder, "BuildSearchIndicesStep", entitySearchService::configure));
+    steps.add(new BuildIndicesStep(indexBuilder, "BuildGraphIndicesStep", graphService::configure));
+    steps.add(new BuildIndicesStep(indexBuilder, "BuildSystemMetadataIndicesStep", systemMetadataService::configure));
+    steps.add(new BuildIndicesStep(indexBuilder, "BuildTimeseriesIndicesStep", timeseriesAspectService::configure));
+    return steps;
+  }
+
+  @Override
+  public List<UpgradeCleanupStep> cleanupSteps() {
+    return ImmutableList.of();
+  }
+}
@@ -0,0 +1,50 @@
+package com.linkedin.datahub.upgrade.buildindices;
+
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.UpgradeStep;
+import com.linkedin.datahub.upgrade.UpgradeStepResult;
+import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import java.util.function.Function;
+
+
+public class BuildIndicesStep implements UpgradeStep {
+
+  private final ESIndexBuilder _indexBuilder;
+  private final String _id;
+  private final Runnable _configure;
+
+  public BuildIndicesStep(final ESIndexBuilder indexBuilder, final String id, final Runnable configure) {
+    _indexBuilder = indexBuilder;
+    _id = id;
+    _configure = configure;
+  }
+
+  @Override
+  public String id() {
+    return _id;
+  }
+
+  @Override
+  public int retryCount() {
+    return 0;
+  }
+
+  @Override
+  public Function<UpgradeContext, UpgradeStepResult> executable() {
+    return (context) -> {
+      final long startTime = System.currentTimeMillis();
+      try {
+        // This is where indices are rebuilt when GMS does not rebuild them on startup
+        _indexBuilder.setReindexEnabled(true);
+        _configure.run();
+      } catch (Exception e) {
+        context.report().addLine(String.format("Failed to build indices: %s", e.toString()));
+        return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
+      }
+      context.report().addLine(String.format("Built indices in %d seconds",
+          (System.currentTimeMillis() - startTime) / 1000));
+      return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.SUCCEEDED);
+    };
+  }
+}
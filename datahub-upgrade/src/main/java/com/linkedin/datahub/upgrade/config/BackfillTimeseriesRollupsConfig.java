@@ -0,0 +1,28 @@
+package com.linkedin.datahub.upgrade.config;
+
+import com.linkedin.datahub.upgrade.backfillrollups.BackfillTimeseriesRollups;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeseries.elastic.ElasticSearchTimeseriesAspectService;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+@Configuration
+public class BackfillTimeseriesRollupsConfig {
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Bean(name = "backfillTimeseriesRollups")
+  @DependsOn({"elasticSearchTimeseriesAspectService", "entityRegistry"})
+  @Nonnull
+  public BackfillTimeseriesRollups createInstance() {
+    final ElasticSearchTimeseriesAspectService timeseriesAspectService =
+        applicationContext.getBean("elasticSearchTimeseriesAspectService", ElasticSearchTimeseriesAspectService.class);
+    final EntityRegistry entityRegistry = applicationContext.getBean(EntityRegistry.class);
+    return new BackfillTimeseriesRollups(timeseriesAspectService, entityRegistry);
+  }
+}
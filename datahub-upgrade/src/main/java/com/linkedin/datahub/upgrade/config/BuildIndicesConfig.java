@@ -0,0 +1,36 @@
+package com.linkedin.datahub.upgrade.config;
+
+import com.linkedin.datahub.upgrade.buildindices.BuildIndices;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+@Configuration
+public class BuildIndicesConfig {
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Bean(name = "buildIndices")
+  @DependsOn({"elasticSearchIndexBuilder", "searchService", "graphService", "systemMetadataService",
+      "timeseriesAspectService"})
+  @Nonnull
+  public BuildIndices createInstance() {
+    final ESIndexBuilder indexBuilder = applicationContext.getBean(ESIndexBuilder.class);
+    final EntitySearchService entitySearchService = applicationContext.getBean(EntitySearchService.class);
+    final GraphService graphService = applicationContext.getBean(GraphService.class);
+    final SystemMetadataService systemMetadataService = applicationContext.getBean(SystemMetadataService.class);
+    final TimeseriesAspectService timeseriesAspectService = applicationContext.getBean(TimeseriesAspectService.class);
+
+    return new BuildIndices(indexBuilder, entitySearchService, graphService, systemMetadataService,
+        timeseriesAspectService);
+  }
+}
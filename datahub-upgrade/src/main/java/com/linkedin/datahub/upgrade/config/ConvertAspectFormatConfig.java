@@ -0,0 +1,39 @@
+package com.linkedin.datahub.upgrade.config;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.linkedin.datahub.upgrade.convertaspectformat.CassandraConvertAspectFormatStep;
+import com.linkedin.datahub.upgrade.convertaspectformat.ConvertAspectFormat;
+import com.linkedin.datahub.upgrade.convertaspectformat.EbeanConvertAspectFormatStep;
+import io.ebean.EbeanServer;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+@Configuration
+public class ConvertAspectFormatConfig {
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Bean(name = "convertAspectFormat")
+  @DependsOn({"ebeanServer"})
+  @ConditionalOnProperty(name = "entityService.impl", havingValue = "ebean", matchIfMissing = true)
+  @Nonnull
+  public ConvertAspectFormat createEbeanInstance() {
+    final EbeanServer ebeanServer = applicationContext.getBean(EbeanServer.class);
+    return new ConvertAspectFormat(new EbeanConvertAspectFormatStep(ebeanServer));
+  }
+
+  @Bean(name = "convertAspectFormat")
+  @DependsOn({"cassandraSession"})
+  @ConditionalOnProperty(name = "entityService.impl", havingValue = "cassandra")
+  @Nonnull
+  public ConvertAspectFormat createCassandraInstance() {
+    final CqlSession session = applicationContext.getBean(CqlSession.class);
+    return new ConvertAspectFormat(new CassandraConvertAspectFormatStep(session));
+  }
+}
@@ -0,0 +1,82 @@
+package com.linkedin.datahub.upgrade.convertaspectformat;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.cassandra.CassandraAspect;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import javax.annotation.Nonnull;
+
+import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.*;
+
+
+public class CassandraConvertAspectFormatStep extends ConvertAspectFormatStep {
+
+  private final CqlSession _session;
+  private PreparedStatement _convertMetadataStatement;
+
+  public CassandraConvertAspectFormatStep(final CqlSession session) {
+    _session = session;
+  }
+
+  /**
+   * Reads the whole table with a single query, a page at a time, as Cassandra cannot seek on the primary key in
+   * (urn, aspect, version) order across partitions.
+   */
+  @Nonnull
+  @Override
+  protected Iterator<List<EntityAspect>> readBatches(int batchSize) {
+    final SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME).all().build().setPageSize(batchSize);
+    final Iterator<Row> rows = _session.execute(ss).iterator();
+    return new Iterator<List<EntityAspect>>() {
+      @Override
+      public boolean hasNext() {
+        return rows.hasNext();
+      }
+
+      @Override
+      public List<EntityAspect> next() {
+        if (!rows.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final List<EntityAspect> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && rows.hasNext()) {
+          batch.add(CassandraAspect.rowToEntityAspect(rows.next()));
+        }
+        return batch;
+      }
+    };
+  }
+
+  /**
+   * Replaces the metadata with a lightweight transaction conditioned on the metadata that was read, so that versions
+   * GMS wrote in the meantime are not overwritten.
+   */
+  @Nonnull
+  @Override
+  protected List<Boolean> writeBatch(@Nonnull List<EntityAspect> rows, @Nonnull List<String> newMetadata) {
+    if (_convertMetadataStatement == null) {
+      _convertMetadataStatement = _session.prepare(update(CassandraAspect.TABLE_NAME)
+          .setColumn(CassandraAspect.METADATA_COLUMN, bindMarker())
+          .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(bindMarker())
+          .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(bindMarker())
+          .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(bindMarker())
+          .ifColumn(CassandraAspect.METADATA_COLUMN).isEqualTo(bindMarker())
+          .build());
+    }
+    final List<Boolean> written = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      final EntityAspect row = rows.get(i);
+      final ResultSet rs = _session.execute(_convertMetadataStatement.bind(newMetadata.get(i), row.getUrn(),
+          row.getAspect(), row.getVersion(), row.getMetadata()));
+      written.add(rs.wasApplied());
+    }
+    return written;
+  }
+}
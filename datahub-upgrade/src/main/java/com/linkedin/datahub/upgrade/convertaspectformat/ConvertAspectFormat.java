@@ -0,0 +1,42 @@
+package com.linkedin.datahub.upgrade.convertaspectformat;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.datahub.upgrade.Upgrade;
+import com.linkedin.datahub.upgrade.UpgradeCleanupStep;
+import com.linkedin.datahub.upgrade.UpgradeStep;
+import java.util.List;
+
+
+/**
+ * Rewrites the metadata of all aspect versions in the aspect table in a given content type, e.g. after changing
+ * entityService.aspectStorageContentType. GMS reads aspects stored in any supported content type, so it can keep
+ * serving while this runs. A version is only rewritten if it still has the metadata that was read, so versions GMS
+ * updated in the meantime are skipped rather than overwritten. Supports both the Ebean and the Cassandra aspect tables,
+ * depending on entityService.impl.
+ */
+public class ConvertAspectFormat implements Upgrade {
+  public static final String CONTENT_TYPE_ARG_NAME = "contentType";
+  public static final String BATCH_SIZE_ARG_NAME = "batchSize";
+  public static final String BATCH_DELAY_MS_ARG_NAME = "batchDelayMs";
+
+  private final List<UpgradeStep> _steps;
+
+  public ConvertAspectFormat(final ConvertAspectFormatStep step) {
+    _steps = ImmutableList.of(step);
+  }
+
+  @Override
+  public String id() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public List<UpgradeStep> steps() {
+    return _steps;
+  }
+
+  @Override
+  public List<UpgradeCleanupStep> cleanupSteps() {
+    return ImmutableList.of();
+  }
+}
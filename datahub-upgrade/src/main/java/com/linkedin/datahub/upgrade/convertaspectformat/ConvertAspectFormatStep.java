@@ -0,0 +1,133 @@
+package com.linkedin.datahub.upgrade.convertaspectformat;
+
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.UpgradeStep;
+import com.linkedin.datahub.upgrade.UpgradeStepResult;
+import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
+import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Rewrites the metadata of the aspect versions of the aspect table in batches. Subclasses read and write the rows of
+ * the table of their database.
+ */
+public abstract class ConvertAspectFormatStep implements UpgradeStep {
+
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+  private static final long DEFAULT_BATCH_DELAY_MS = 250;
+
+  @Override
+  public String id() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public int retryCount() {
+    return 0;
+  }
+
+  /**
+   * Returns all aspect versions of the aspect table, in batches of about the given size.
+   */
+  @Nonnull
+  protected abstract Iterator<List<EntityAspect>> readBatches(int batchSize);
+
+  /**
+   * Replaces the metadata of each of the given aspect versions with the given new metadata, only if it is still the
+   * metadata that was read, so that versions GMS wrote in the meantime are not overwritten.
+   *
+   * @return whether the metadata of each aspect version was replaced
+   */
+  @Nonnull
+  protected abstract List<Boolean> writeBatch(@Nonnull List<EntityAspect> rows, @Nonnull List<String> newMetadata);
+
+  @Override
+  public Function<UpgradeContext, UpgradeStepResult> executable() {
+    return (context) -> {
+      final Map<String, Optional<String>> parsedArgs = context.parsedArgs();
+      final String contentType = getArg(parsedArgs, ConvertAspectFormat.CONTENT_TYPE_ARG_NAME)
+          .orElse(GenericRecordUtils.PSON);
+      if (!GenericRecordUtils.isSupportedContentType(contentType)) {
+        context.report().addLine(String.format("%s content type is not supported", contentType));
+        return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
+      }
+      final int batchSize = getArg(parsedArgs, ConvertAspectFormat.BATCH_SIZE_ARG_NAME).map(Integer::parseInt)
+          .orElse(DEFAULT_BATCH_SIZE);
+      final long batchDelayMs = getArg(parsedArgs, ConvertAspectFormat.BATCH_DELAY_MS_ARG_NAME).map(Long::parseLong)
+          .orElse(DEFAULT_BATCH_DELAY_MS);
+
+      context.report().addLine(String.format("Converting aspects to %s", contentType));
+      final long startTime = System.currentTimeMillis();
+      int rowsRead = 0;
+      int rowsConverted = 0;
+      int rowsSkipped = 0;
+      int rowsFailed = 0;
+      long bytesBefore = 0;
+      long bytesAfter = 0;
+      final Iterator<List<EntityAspect>> batches = readBatches(batchSize);
+      while (batches.hasNext()) {
+        final List<EntityAspect> rows = batches.next();
+        final List<EntityAspect> rowsToConvert = new ArrayList<>(rows.size());
+        final List<String> newMetadata = new ArrayList<>(rows.size());
+        for (EntityAspect row : rows) {
+          final String metadata;
+          try {
+            metadata = EntityUtils.convertStoredAspect(row.getMetadata(), contentType);
+          } catch (Exception e) {
+            context.report().addLine(String.format("Failed to convert aspect %s of %s version %s: %s",
+                row.getAspect(), row.getUrn(), row.getVersion(), e.getMessage()));
+            rowsFailed++;
+            continue;
+          }
+          if (!metadata.equals(row.getMetadata())) {
+            rowsToConvert.add(row);
+            newMetadata.add(metadata);
+          }
+        }
+        final List<Boolean> written =
+            rowsToConvert.isEmpty() ? new ArrayList<>() : writeBatch(rowsToConvert, newMetadata);
+        for (int i = 0; i < rowsToConvert.size(); i++) {
+          if (!written.get(i)) {
+            // Changed by GMS since it was read, so already in the content type GMS stores
+            rowsSkipped++;
+            continue;
+          }
+          rowsConverted++;
+          bytesBefore += rowsToConvert.get(i).getMetadata().getBytes(StandardCharsets.UTF_8).length;
+          bytesAfter += newMetadata.get(i).getBytes(StandardCharsets.UTF_8).length;
+        }
+        rowsRead += rows.size();
+        context.report().addLine(String.format(
+            "Read %s aspects, converted %s, skipped %s changed since read, failed to convert %s in %.2f minutes.",
+            rowsRead, rowsConverted, rowsSkipped, rowsFailed,
+            (float) (System.currentTimeMillis() - startTime) / 1000 / 60));
+        try {
+          Thread.sleep(batchDelayMs);
+        } catch (InterruptedException e) {
+          throw new RuntimeException("Thread interrupted while sleeping after successful batch conversion.", e);
+        }
+      }
+      if (bytesBefore > 0) {
+        context.report().addLine(String.format(
+            "Converted aspects take %s bytes in %s, %s bytes before (%+.1f%%).", bytesAfter, contentType, bytesBefore,
+            100.0 * (bytesAfter - bytesBefore) / bytesBefore));
+      }
+      return new DefaultUpgradeStepResult(id(),
+          rowsFailed == 0 ? UpgradeStepResult.Result.SUCCEEDED : UpgradeStepResult.Result.FAILED);
+    };
+  }
+
+  private static Optional<String> getArg(final Map<String, Optional<String>> parsedArgs, String key) {
+    return parsedArgs.containsKey(key) ? parsedArgs.get(key) : Optional.empty();
+  }
+}
@@ -0,0 +1,111 @@
+package com.linkedin.datahub.upgrade.convertaspectformat;
+
+import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
+import io.ebean.EbeanServer;
+import io.ebean.ExpressionList;
+import io.ebean.SqlUpdate;
+import io.ebean.Transaction;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+
+public class EbeanConvertAspectFormatStep extends ConvertAspectFormatStep {
+
+  // Only replaces the metadata if it is still the one which was converted, so that versions GMS wrote in the meantime
+  // are not overwritten
+  private static final String CONVERT_METADATA_SQL = String.format(
+      "UPDATE %1$s SET %2$s = :newMetadata WHERE %3$s = :urn AND %4$s = :aspect AND %5$s = :version "
+          + "AND %2$s = :oldMetadata",
+      EbeanAspectV2.TABLE_NAME, EbeanAspectV2.METADATA_COLUMN, EbeanAspectV2.URN_COLUMN,
+      EbeanAspectV2.ASPECT_COLUMN, EbeanAspectV2.VERSION_COLUMN);
+
+  private final EbeanServer _server;
+
+  public EbeanConvertAspectFormatStep(final EbeanServer server) {
+    _server = server;
+  }
+
+  @Nonnull
+  @Override
+  protected Iterator<List<EntityAspect>> readBatches(int batchSize) {
+    return new Iterator<List<EntityAspect>>() {
+      private List<EntityAspect> _next = getBatch(null, batchSize);
+
+      @Override
+      public boolean hasNext() {
+        return !_next.isEmpty();
+      }
+
+      @Override
+      public List<EntityAspect> next() {
+        if (_next.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        final List<EntityAspect> batch = _next;
+        _next = getBatch(batch.get(batch.size() - 1), batchSize);
+        return batch;
+      }
+    };
+  }
+
+  @Nonnull
+  @Override
+  protected List<Boolean> writeBatch(@Nonnull List<EntityAspect> rows, @Nonnull List<String> newMetadata) {
+    final List<Boolean> written = new ArrayList<>(rows.size());
+    try (Transaction transaction = _server.beginTransaction()) {
+      for (int i = 0; i < rows.size(); i++) {
+        final EntityAspect row = rows.get(i);
+        final SqlUpdate update = _server.createSqlUpdate(CONVERT_METADATA_SQL)
+            .setParameter("newMetadata", newMetadata.get(i))
+            .setParameter("urn", row.getUrn())
+            .setParameter("aspect", row.getAspect())
+            .setParameter("version", row.getVersion())
+            .setParameter("oldMetadata", row.getMetadata());
+        written.add(_server.execute(update, transaction) > 0);
+      }
+      transaction.commit();
+    }
+    return written;
+  }
+
+  /**
+   * Returns the next batch of aspect versions after the given row in (urn, aspect, version) order. Each batch seeks on
+   * the primary key, so the conversion does not slow down as it progresses through the table.
+   */
+  private List<EntityAspect> getBatch(EntityAspect lastRow, int batchSize) {
+    ExpressionList<EbeanAspectV2> exp = _server.find(EbeanAspectV2.class)
+        .select(EbeanAspectV2.ALL_COLUMNS)
+        .where();
+    if (lastRow != null) {
+      exp = exp.ge(EbeanAspectV2.URN_COLUMN, lastRow.getUrn())
+          .or()
+          .gt(EbeanAspectV2.URN_COLUMN, lastRow.getUrn())
+          .and()
+          .eq(EbeanAspectV2.URN_COLUMN, lastRow.getUrn())
+          .gt(EbeanAspectV2.ASPECT_COLUMN, lastRow.getAspect())
+          .endAnd()
+          .and()
+          .eq(EbeanAspectV2.URN_COLUMN, lastRow.getUrn())
+          .eq(EbeanAspectV2.ASPECT_COLUMN, lastRow.getAspect())
+          .gt(EbeanAspectV2.VERSION_COLUMN, lastRow.getVersion())
+          .endAnd()
+          .endOr();
+    }
+    return exp.orderBy()
+        .asc(EbeanAspectV2.URN_COLUMN)
+        .orderBy()
+        .asc(EbeanAspectV2.ASPECT_COLUMN)
+        .orderBy()
+        .asc(EbeanAspectV2.VERSION_COLUMN)
+        .setMaxRows(batchSize)
+        .findList()
+        .stream()
+        .map(EbeanAspectV2::toEntityAspect)
+        .collect(Collectors.toList());
+  }
+}
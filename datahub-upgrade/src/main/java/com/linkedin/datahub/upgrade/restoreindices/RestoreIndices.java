@@ -22,6 +22,8 @@ public class RestoreIndices implements Upgrade {
   public static final String ASPECT_NAME_ARG_NAME = "aspectName";
   public static final String URN_ARG_NAME = "urn";
   public static final String URN_LIKE_ARG_NAME = "urnLike";
+  public static final String STREAMING_ARG_NAME = "streaming";
+  public static final String CHECKPOINT_FILE_ARG_NAME = "checkpointFile";
 
   private final List<UpgradeStep> _steps;
 
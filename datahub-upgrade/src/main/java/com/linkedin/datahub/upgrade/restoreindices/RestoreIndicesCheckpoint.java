@@ -0,0 +1,185 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+/**
+ * Progress of a streaming restore, i.e. the urn ranges the aspects table was split into along with the last (urn, aspect)
+ * restored and whether restoring has finished for each range. The filters the restore was started with are kept too, as
+ * the ranges only cover the aspects matching them.
+ *
+ * When backed by a file, the checkpoint is written to it (atomically, through a temporary file) on every update, so that
+ * an interrupted restore can be resumed with the same ranges from where each of them stopped.
+ */
+public class RestoreIndicesCheckpoint {
+  private static final String RANGE_COUNT_KEY = "ranges";
+  private static final String ASPECT_NAME_KEY = "filter.aspectName";
+  private static final String URN_KEY = "filter.urn";
+  private static final String URN_LIKE_KEY = "filter.urnLike";
+
+  @Nullable
+  private final Path _file;
+  @Nullable
+  private final String _aspectName;
+  @Nullable
+  private final String _urn;
+  @Nullable
+  private final String _urnLike;
+  private final List<Range> _ranges;
+
+  @Getter
+  @AllArgsConstructor
+  public static class Range {
+    @Nullable
+    private final String urnStart;
+    @Nullable
+    private final String urnEnd;
+    @Nullable
+    private String lastUrn;
+    @Nullable
+    private String lastAspect;
+    private boolean done;
+  }
+
+  private RestoreIndicesCheckpoint(@Nullable Path file, @Nullable String aspectName, @Nullable String urn,
+      @Nullable String urnLike, @Nonnull List<Range> ranges) {
+    _file = file;
+    _aspectName = aspectName;
+    _urn = urn;
+    _urnLike = urnLike;
+    _ranges = ranges;
+  }
+
+  /**
+   * Creates a checkpoint for new ranges split at the given boundaries, and writes it to the file if one is given.
+   */
+  @Nonnull
+  public static RestoreIndicesCheckpoint create(@Nullable Path file, @Nonnull RestoreIndicesArgs args,
+      @Nonnull List<String> boundaries) {
+    final List<Range> ranges = new ArrayList<>();
+    String urnStart = null;
+    for (String boundary : boundaries) {
+      ranges.add(new Range(urnStart, boundary, null, null, false));
+      urnStart = boundary;
+    }
+    ranges.add(new Range(urnStart, null, null, null, false));
+    final RestoreIndicesCheckpoint checkpoint =
+        new RestoreIndicesCheckpoint(file, args.aspectName, args.urn, args.urnLike, ranges);
+    checkpoint.save();
+    return checkpoint;
+  }
+
+  /**
+   * Reads a checkpoint previously written to the file.
+   */
+  @Nonnull
+  public static RestoreIndicesCheckpoint load(@Nonnull Path file) {
+    final Properties properties = new Properties();
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      properties.load(inputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("Failed to read restore indices checkpoint %s", file), e);
+    }
+    final int rangeCount = Integer.parseInt(properties.getProperty(RANGE_COUNT_KEY));
+    final List<Range> ranges = new ArrayList<>();
+    for (int i = 0; i < rangeCount; i++) {
+      ranges.add(new Range(properties.getProperty(key(i, "urnStart")), properties.getProperty(key(i, "urnEnd")),
+          properties.getProperty(key(i, "lastUrn")), properties.getProperty(key(i, "lastAspect")),
+          Boolean.parseBoolean(properties.getProperty(key(i, "done")))));
+    }
+    return new RestoreIndicesCheckpoint(file, properties.getProperty(ASPECT_NAME_KEY), properties.getProperty(URN_KEY),
+        properties.getProperty(URN_LIKE_KEY), ranges);
+  }
+
+  @Nonnull
+  public List<Range> getRanges() {
+    return Collections.unmodifiableList(_ranges);
+  }
+
+  /**
+   * Whether the restore was started with the same aspectName, urn and urnLike filters as the args.
+   */
+  public boolean hasFilters(@Nonnull RestoreIndicesArgs args) {
+    return Objects.equals(_aspectName, args.aspectName) && Objects.equals(_urn, args.urn)
+        && Objects.equals(_urnLike, args.urnLike);
+  }
+
+  @Nonnull
+  public String describeFilters() {
+    return String.format("aspectName=%s, urn=%s, urnLike=%s", _aspectName, _urn, _urnLike);
+  }
+
+  /**
+   * Records that everything in the range up to and including the (urn, aspect) has been restored.
+   */
+  public synchronized void update(int rangeIndex, @Nonnull String lastUrn, @Nonnull String lastAspect) {
+    final Range range = _ranges.get(rangeIndex);
+    range.lastUrn = lastUrn;
+    range.lastAspect = lastAspect;
+    save();
+  }
+
+  /**
+   * Records that the whole range has been restored.
+   */
+  public synchronized void complete(int rangeIndex) {
+    _ranges.get(rangeIndex).done = true;
+    save();
+  }
+
+  private synchronized void save() {
+    if (_file == null) {
+      return;
+    }
+    final Properties properties = new Properties();
+    properties.setProperty(RANGE_COUNT_KEY, Integer.toString(_ranges.size()));
+    setIfPresent(properties, ASPECT_NAME_KEY, _aspectName);
+    setIfPresent(properties, URN_KEY, _urn);
+    setIfPresent(properties, URN_LIKE_KEY, _urnLike);
+    for (int i = 0; i < _ranges.size(); i++) {
+      final Range range = _ranges.get(i);
+      setIfPresent(properties, key(i, "urnStart"), range.urnStart);
+      setIfPresent(properties, key(i, "urnEnd"), range.urnEnd);
+      setIfPresent(properties, key(i, "lastUrn"), range.lastUrn);
+      setIfPresent(properties, key(i, "lastAspect"), range.lastAspect);
+      properties.setProperty(key(i, "done"), Boolean.toString(range.done));
+    }
+    final Path tempFile = _file.resolveSibling(_file.getFileName() + ".tmp");
+    try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+      properties.store(outputStream, "RestoreIndices checkpoint");
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("Failed to write restore indices checkpoint %s", _file), e);
+    }
+    try {
+      Files.move(tempFile, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("Failed to write restore indices checkpoint %s", _file), e);
+    }
+  }
+
+  private static String key(int rangeIndex, String field) {
+    return String.format("range.%d.%s", rangeIndex, field);
+  }
+
+  private static void setIfPresent(Properties properties, String key, @Nullable String value) {
+    if (value != null) {
+      properties.setProperty(key, value);
+    }
+  }
+}
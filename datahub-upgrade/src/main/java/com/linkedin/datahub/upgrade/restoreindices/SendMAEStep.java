@@ -12,12 +12,16 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import io.ebean.EbeanServer;
 import io.ebean.ExpressionList;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -31,6 +35,8 @@ public class SendMAEStep implements UpgradeStep {
   private static final int DEFAULT_BATCH_SIZE = 1000;
   private static final long DEFAULT_BATCH_DELAY_MS = 250;
   private static final int DEFAULT_THREADS = 1;
+  // Urn ranges per thread when streaming, so that threads which finish their range early can pick up another one
+  private static final int RANGES_PER_THREAD = 4;
 
   private final EbeanServer _server;
   private final EntityService _entityService;
@@ -48,6 +54,27 @@ public class SendMAEStep implements UpgradeStep {
       }
   }
 
+  public class StreamingKafkaJob implements Callable<RestoreIndicesResult> {
+    UpgradeContext context;
+    RestoreIndicesArgs args;
+    RestoreIndicesCheckpoint checkpoint;
+    int rangeIndex;
+    public StreamingKafkaJob(UpgradeContext context, RestoreIndicesArgs args, RestoreIndicesCheckpoint checkpoint,
+        int rangeIndex) {
+      this.context = context;
+      this.args = args;
+      this.checkpoint = checkpoint;
+      this.rangeIndex = rangeIndex;
+    }
+    @Override
+    public RestoreIndicesResult call() {
+      RestoreIndicesResult result = _entityService.streamRestoreIndices(args, context.report()::addLine,
+          (lastUrn, lastAspect) -> checkpoint.update(rangeIndex, lastUrn, lastAspect));
+      checkpoint.complete(rangeIndex);
+      return result;
+    }
+  }
+
   public SendMAEStep(final EbeanServer server, final EntityService entityService, final EntityRegistry entityRegistry) {
     _server = server;
     _entityService = entityService;
@@ -117,6 +144,9 @@ public class SendMAEStep implements UpgradeStep {
     return (context) -> {
       RestoreIndicesResult finalJobResult = new RestoreIndicesResult();
       RestoreIndicesArgs args = getArgs(context);
+      if (context.parsedArgs().containsKey(RestoreIndices.STREAMING_ARG_NAME)) {
+        return executeStreaming(context, args);
+      }
       ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(args.numThreads);
 
       context.report().addLine("Sending MAE from local DB");
@@ -154,6 +184,82 @@ public class SendMAEStep implements UpgradeStep {
     };
   }
 
+  /**
+   * Restores indices by streaming the aspects table in (urn, aspect) order. The table is split into urn ranges up front,
+   * which are then restored in parallel. Each range resumes from its last checkpointed key, if any.
+   */
+  private UpgradeStepResult executeStreaming(UpgradeContext context, RestoreIndicesArgs args) {
+    if (!_entityService.supportsStreamRestoreIndices()) {
+      context.report().addLine(String.format("The aspect store does not support -a %s. Run without it to restore indices "
+          + "page by page.", RestoreIndices.STREAMING_ARG_NAME));
+      return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
+    }
+    RestoreIndicesResult finalJobResult = new RestoreIndicesResult();
+    context.report().addLine("Streaming MAE from local DB");
+    long startTime = System.currentTimeMillis();
+    final int rowCount = getRowCount(args);
+    context.report().addLine(String.format("Found %s latest aspects in aspects table in %.2f minutes.",
+            rowCount, (float) (System.currentTimeMillis() - startTime) / 1000 / 60));
+
+    final RestoreIndicesCheckpoint checkpoint = getCheckpoint(context, args, rowCount);
+    if (!checkpoint.hasFilters(args)) {
+      context.report().addLine(String.format("The checkpoint is of a restore with different filters (%s). Run with the "
+          + "same filters to resume it, or delete the checkpoint file to start a new restore.",
+          checkpoint.describeFilters()));
+      return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(args.numThreads);
+    final List<Future<RestoreIndicesResult>> futures = new ArrayList<>();
+    startTime = System.currentTimeMillis();
+    for (int i = 0; i < checkpoint.getRanges().size(); i++) {
+      final RestoreIndicesCheckpoint.Range range = checkpoint.getRanges().get(i);
+      if (range.isDone()) {
+        continue;
+      }
+      RestoreIndicesArgs rangeArgs = args.clone();
+      rangeArgs.urnStart = range.getUrnStart();
+      rangeArgs.urnEnd = range.getUrnEnd();
+      rangeArgs.lastUrn = range.getLastUrn();
+      rangeArgs.lastAspect = range.getLastAspect();
+      futures.add(executor.submit(new StreamingKafkaJob(context, rangeArgs, checkpoint, i)));
+    }
+    context.report().addLine(String.format("Restoring %s of %s urn ranges.", futures.size(),
+        checkpoint.getRanges().size()));
+
+    boolean failed = false;
+    for (Future<RestoreIndicesResult> future : futures) {
+      try {
+        reportStats(context, finalJobResult, future.get(), rowCount, startTime);
+      } catch (InterruptedException | ExecutionException e) {
+        context.report().addLine(String.format("Failed to restore urn range: %s", e));
+        failed = true;
+      }
+    }
+    executor.shutdown();
+    if (failed) {
+      context.report().addLine("Some urn ranges failed to restore. Run again with the same checkpoint file to resume.");
+      return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
+    }
+    return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.SUCCEEDED);
+  }
+
+  private RestoreIndicesCheckpoint getCheckpoint(UpgradeContext context, RestoreIndicesArgs args, int rowCount) {
+    Path checkpointFile = null;
+    if (containsKey(context.parsedArgs(), RestoreIndices.CHECKPOINT_FILE_ARG_NAME)) {
+      checkpointFile = Paths.get(context.parsedArgs().get(RestoreIndices.CHECKPOINT_FILE_ARG_NAME).get());
+      if (Files.exists(checkpointFile)) {
+        context.report().addLine(String.format("Resuming from checkpoint %s", checkpointFile));
+        return RestoreIndicesCheckpoint.load(checkpointFile);
+      }
+    }
+    long startTime = System.currentTimeMillis();
+    final int rowsPerRange = Math.max(args.batchSize, rowCount / (args.numThreads * RANGES_PER_THREAD));
+    final List<String> boundaries = _entityService.getUrnRangeBoundaries(args, rowsPerRange);
+    context.report().addLine(String.format("Split aspects table into %s urn ranges in %.2f minutes.",
+        boundaries.size() + 1, (float) (System.currentTimeMillis() - startTime) / 1000 / 60));
+    return RestoreIndicesCheckpoint.create(checkpointFile, args, boundaries);
+  }
+
   private static void reportStats(UpgradeContext context, RestoreIndicesResult finalResult, RestoreIndicesResult tmpResult,
                                   int rowCount, long startTime) {
     finalResult.ignored += tmpResult.ignored;
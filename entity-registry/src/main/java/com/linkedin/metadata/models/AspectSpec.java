@@ -4,10 +4,13 @@ import com.linkedin.data.DataMap;
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.models.annotation.AspectAnnotation;
+import com.linkedin.metadata.models.extractor.AspectFieldExtractor;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import lombok.Getter;
 import lombok.Setter;
@@ -26,6 +29,7 @@ public class AspectSpec {
   // Classpath & Pegasus-specific: Temporary.
   private final RecordDataSchema _schema;
   private final Class<RecordTemplate> _aspectClass;
+  private final AspectFieldExtractor _fieldExtractor;
   @Setter @Getter
   private String registryName = "unknownRegistry";
   @Setter @Getter
@@ -54,6 +58,11 @@ public class AspectSpec {
             (val1, val2) -> val1));
     _schema = schema;
     _aspectClass = aspectClass;
+    _fieldExtractor = new AspectFieldExtractor(aspectClass,
+        Stream.<Collection<? extends FieldSpec>>of(_searchableFieldSpecs.values(), _searchScoreFieldSpecs.values(),
+            _relationshipFieldSpecs.values(), _timeseriesFieldSpecs.values(), _timeseriesFieldCollectionSpecs.values())
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList()));
   }
 
   public String getName() {
@@ -119,4 +128,11 @@ public class AspectSpec {
   public Class<RecordTemplate> getDataTemplateClass() {
     return _aspectClass;
   }
+
+  /**
+   * Returns the extractor of the searchable, search score, relationship and timeseries fields of this aspect.
+   */
+  public AspectFieldExtractor getFieldExtractor() {
+    return _fieldExtractor;
+  }
 }
@@ -0,0 +1,97 @@
+package com.linkedin.metadata.models.extractor;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.models.FieldSpec;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * Extracts the fields of an aspect, with accessors for the paths of all of its field specs compiled once when the
+ * aspect spec is built.
+ *
+ * Each field of the aspect is read at most once per extraction, however many field specs have paths under it. Records
+ * of another class than the one the accessors were compiled for, field specs of other aspect specs, and paths which
+ * could not be compiled are extracted through {@link FieldExtractor#extractFields} instead.
+ */
+public class AspectFieldExtractor {
+
+  private static final Object NOT_READ = new Object();
+
+  @Value
+  private static class CompiledField {
+    FieldPathAccessor accessor;
+    // Index of the field of the aspect the path starts with, among those read during an extraction
+    int firstFieldIndex;
+  }
+
+  @Nullable
+  private final Class<? extends RecordTemplate> _aspectClass;
+  // Keyed by the field specs of the aspect spec, which are the instances extractions are requested for
+  private final Map<FieldSpec, CompiledField> _compiledFields = new IdentityHashMap<>();
+  private final int _numFirstFields;
+
+  public AspectFieldExtractor(@Nullable Class<? extends RecordTemplate> aspectClass,
+      @Nonnull Collection<? extends FieldSpec> fieldSpecs) {
+    _aspectClass = aspectClass;
+    final Map<String, CompiledField> compiledPaths = new HashMap<>();
+    final Map<String, Integer> firstFieldIndices = new HashMap<>();
+    if (aspectClass != null) {
+      for (FieldSpec fieldSpec : fieldSpecs) {
+        if (fieldSpec.getPath().getPathComponents().isEmpty()) {
+          continue;
+        }
+        final String path = fieldSpec.getPath().toString();
+        if (!compiledPaths.containsKey(path)) {
+          compiledPaths.put(path, FieldPathAccessor.compile(aspectClass, fieldSpec.getPath())
+              .map(accessor -> new CompiledField(accessor,
+                  firstFieldIndices.computeIfAbsent(accessor.getFirstField(), field -> firstFieldIndices.size())))
+              .orElse(null));
+        }
+        if (compiledPaths.get(path) != null) {
+          _compiledFields.put(fieldSpec, compiledPaths.get(path));
+        }
+      }
+    }
+    _numFirstFields = firstFieldIndices.size();
+  }
+
+  /**
+   * Extracts the value of each field in the field specs from the aspect. Returns the same values as
+   * {@link FieldExtractor#extractFields}.
+   */
+  @Nonnull
+  public <T extends FieldSpec> Map<T, List<Object>> extractFields(@Nonnull RecordTemplate aspect,
+      @Nonnull List<T> fieldSpecs) {
+    if (aspect.getClass() != _aspectClass) {
+      return FieldExtractor.extractFields(aspect, fieldSpecs);
+    }
+    final Object[] firstFieldValues = new Object[_numFirstFields];
+    Arrays.fill(firstFieldValues, NOT_READ);
+    final Map<T, List<Object>> extractedFields = new HashMap<>();
+    for (T fieldSpec : fieldSpecs) {
+      final CompiledField compiledField = _compiledFields.get(fieldSpec);
+      if (compiledField == null) {
+        extractedFields.putAll(FieldExtractor.extractFields(aspect, Collections.singletonList(fieldSpec)));
+        continue;
+      }
+      final int firstFieldIndex = compiledField.getFirstFieldIndex();
+      if (firstFieldValues[firstFieldIndex] == NOT_READ) {
+        firstFieldValues[firstFieldIndex] = compiledField.getAccessor().getFirstFieldValue(aspect);
+      }
+      final Optional<Object> value = compiledField.getAccessor().getValueFromFirstField(firstFieldValues[firstFieldIndex]);
+      extractedFields.put(fieldSpec,
+          FieldExtractor.toFieldValues(value, compiledField.getAccessor().getNumArrayWildcards()));
+    }
+    return extractedFields;
+  }
+}
@@ -36,45 +36,45 @@ public class FieldExtractor {
     final Map<T, List<Object>> extractedFields = new HashMap<>();
     for (T fieldSpec : fieldSpecs) {
       Optional<Object> value = RecordUtils.getFieldValue(record, fieldSpec.getPath());
-      if (!value.isPresent()) {
-        extractedFields.put(fieldSpec, Collections.emptyList());
-      } else {
-        long numArrayWildcards = getNumArrayWildcards(fieldSpec.getPath());
-        // Not an array field
-        if (numArrayWildcards == 0) {
-          // For maps, convert it into a list of the form key=value (Filter out long values)
-          if (value.get() instanceof Map) {
-            extractedFields.put(fieldSpec, ((Map<?, ?>) value.get()).entrySet()
-                .stream()
-                .map(entry -> new Pair<>(entry.getKey().toString(), entry.getValue().toString()))
-                .filter(entry -> entry.getValue().length() < MAX_VALUE_LENGTH)
-                .map(entry -> entry.getKey() + "=" + entry.getValue())
-                .collect(Collectors.toList()));
-          } else {
-            extractedFields.put(fieldSpec, Collections.singletonList(value.get()));
-          }
-        } else {
-          List<Object> valueList = (List<Object>) value.get();
-          // If the field is a nested list of values, flatten it
-          for (int i = 0; i < numArrayWildcards - 1; i++) {
-            valueList = valueList.stream().flatMap(v -> ((List<Object>) v).stream()).collect(Collectors.toList());
-          }
-          extractedFields.put(fieldSpec, valueList);
-        }
-      }
+      extractedFields.put(fieldSpec, toFieldValues(value, getNumArrayWildcards(fieldSpec.getPath())));
     }
     return extractedFields;
   }
 
+  // Convert the value at the path of a field into the list of values of the field
+  static List<Object> toFieldValues(Optional<Object> value, long numArrayWildcards) {
+    if (!value.isPresent()) {
+      return Collections.emptyList();
+    }
+    // Not an array field
+    if (numArrayWildcards == 0) {
+      // For maps, convert it into a list of the form key=value (Filter out long values)
+      if (value.get() instanceof Map) {
+        return ((Map<?, ?>) value.get()).entrySet()
+            .stream()
+            .map(entry -> new Pair<>(entry.getKey().toString(), entry.getValue().toString()))
+            .filter(entry -> entry.getValue().length() < MAX_VALUE_LENGTH)
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.toList());
+      }
+      return Collections.singletonList(value.get());
+    }
+    List<Object> valueList = (List<Object>) value.get();
+    // If the field is a nested list of values, flatten it
+    for (int i = 0; i < numArrayWildcards - 1; i++) {
+      valueList = valueList.stream().flatMap(v -> ((List<Object>) v).stream()).collect(Collectors.toList());
+    }
+    return valueList;
+  }
+
   public static <T extends FieldSpec> Map<T, List<Object>> extractFieldsFromSnapshot(RecordTemplate snapshot,
       EntitySpec entitySpec, Function<AspectSpec, List<T>> getFieldSpecsFunc) {
     final Map<String, RecordTemplate> aspects = AspectExtractor.extractAspectRecords(snapshot);
     final Map<T, List<Object>> extractedFields = new HashMap<>();
-    aspects.keySet()
-        .stream()
-        .map(aspectName -> FieldExtractor.extractFields(aspects.get(aspectName),
-            getFieldSpecsFunc.apply(entitySpec.getAspectSpec(aspectName))))
-        .forEach(extractedFields::putAll);
+    aspects.forEach((aspectName, aspect) -> {
+      final AspectSpec aspectSpec = entitySpec.getAspectSpec(aspectName);
+      extractedFields.putAll(aspectSpec.getFieldExtractor().extractFields(aspect, getFieldSpecsFunc.apply(aspectSpec)));
+    });
     return extractedFields;
   }
 }
@@ -0,0 +1,236 @@
+package com.linkedin.metadata.models.extractor;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.PathSpec;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.AbstractArrayTemplate;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.UnionTemplate;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Accessor for the value at a {@link PathSpec} of records of a given {@link RecordTemplate} class.
+ *
+ * The path is resolved once against the class, into the getters (as {@link MethodHandle}s) of the record and of the
+ * nested records along the path. Getting a value then only calls these getters, and returns the same value as
+ * {@link com.datahub.util.RecordUtils#getFieldValue(Object, PathSpec)} without resolving the path for every record.
+ */
+@Slf4j
+class FieldPathAccessor {
+
+  private static final String ARRAY_WILDCARD = "*";
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private final PathSpec _path;
+  private final Step[] _steps;
+  private final int _numArrayWildcards;
+
+  private FieldPathAccessor(@Nonnull PathSpec path, @Nonnull List<Step> steps) {
+    _path = path;
+    _steps = steps.toArray(new Step[0]);
+    _numArrayWildcards = (int) path.getPathComponents().stream().filter(ARRAY_WILDCARD::equals).count();
+  }
+
+  /**
+   * Resolves the path against the record class. Returns empty if the types along the path can not be determined from
+   * the class alone, in which case values have to be extracted through reflection on each record.
+   */
+  @Nonnull
+  static Optional<FieldPathAccessor> compile(@Nonnull Class<?> recordClass, @Nonnull PathSpec path) {
+    final List<Step> steps = new ArrayList<>();
+    Class<?> currentClass = recordClass;
+    try {
+      for (String part : path.getPathComponents()) {
+        if (currentClass == null) {
+          return Optional.empty();
+        }
+        if (AbstractArrayTemplate.class.isAssignableFrom(currentClass)) {
+          if (!ARRAY_WILDCARD.equals(part)) {
+            return Optional.empty();
+          }
+          steps.add(ArrayStep.INSTANCE);
+          currentClass = getArrayElementClass(currentClass);
+        } else if (ARRAY_WILDCARD.equals(part)) {
+          return Optional.empty();
+        } else if (RecordTemplate.class.isAssignableFrom(currentClass)) {
+          final Method getter = getGetter(currentClass, part);
+          if (getter == null) {
+            return Optional.empty();
+          }
+          steps.add(new GetterStep(part, MethodHandles.publicLookup().unreflect(getter).asType(GETTER_TYPE)));
+          currentClass = getter.getReturnType();
+        } else if (UnionTemplate.class.isAssignableFrom(currentClass)) {
+          // Union members are read from the underlying data, so their type is not known past this point
+          steps.add(new UnionMemberStep(part));
+          currentClass = null;
+        } else {
+          return Optional.empty();
+        }
+      }
+    } catch (Exception e) {
+      log.debug(String.format("Failed to compile accessor for path %s of %s", path, recordClass), e);
+      return Optional.empty();
+    }
+    return Optional.of(new FieldPathAccessor(path, steps));
+  }
+
+  int getNumArrayWildcards() {
+    return _numArrayWildcards;
+  }
+
+  /**
+   * Returns the name of the field of the record the path starts with.
+   */
+  @Nonnull
+  String getFirstField() {
+    return _path.getPathComponents().get(0);
+  }
+
+  /**
+   * Returns the value of the field of the record the path starts with, or null if it is not set.
+   */
+  @Nullable
+  Object getFirstFieldValue(@Nonnull Object record) {
+    return _steps[0].apply(record);
+  }
+
+  /**
+   * Returns the value at the path, given the value of the field the path starts with.
+   */
+  @Nonnull
+  Optional<Object> getValueFromFirstField(@Nullable Object firstFieldValue) {
+    if (firstFieldValue == null) {
+      return Optional.empty();
+    }
+    return getValue(firstFieldValue, 1);
+  }
+
+  @Nonnull
+  private Optional<Object> getValue(@Nonnull Object record, int fromStep) {
+    Object reference = record;
+    for (int i = fromStep; i < _steps.length; i++) {
+      if (_steps[i] == ArrayStep.INSTANCE) {
+        if (i == _steps.length - 1) {
+          // The path ends at the array itself
+          break;
+        }
+        // The rest of the path is taken from each element of the array, skipping elements without a value
+        final List<?> elements = (List<?>) reference;
+        final List<Object> values = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+          getValue(element, i + 1).ifPresent(values::add);
+        }
+        return Optional.of(values);
+      }
+      reference = _steps[i].apply(reference);
+      if (reference == null) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(reference);
+  }
+
+  @Nullable
+  private static Method getGetter(@Nonnull Class<?> recordClass, @Nonnull String fieldName)
+      throws NoSuchMethodException {
+    final DataSchema schema = DataTemplateUtil.getSchema(recordClass);
+    if (!(schema instanceof RecordDataSchema)) {
+      return null;
+    }
+    final RecordDataSchema.Field field = ((RecordDataSchema) schema).getField(fieldName);
+    if (field == null) {
+      return null;
+    }
+    final String prefix = field.getType().getType().equals(DataSchema.Type.BOOLEAN) ? "is" : "get";
+    return recordClass.getMethod(prefix + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1));
+  }
+
+  @Nullable
+  private static Class<?> getArrayElementClass(@Nonnull Class<?> arrayClass) {
+    Type type = arrayClass.getGenericSuperclass();
+    while (type != null) {
+      if (type instanceof ParameterizedType) {
+        final ParameterizedType parameterizedType = (ParameterizedType) type;
+        final Type elementType = parameterizedType.getActualTypeArguments()[0];
+        return elementType instanceof Class ? (Class<?>) elementType : null;
+      } else if (type instanceof Class) {
+        type = ((Class<?>) type).getGenericSuperclass();
+      } else {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private interface Step {
+    @Nullable
+    Object apply(@Nonnull Object reference);
+  }
+
+  private static class GetterStep implements Step {
+    private final String _fieldName;
+    private final MethodHandle _getter;
+
+    private GetterStep(@Nonnull String fieldName, @Nonnull MethodHandle getter) {
+      _fieldName = fieldName;
+      _getter = getter;
+    }
+
+    @Nullable
+    @Override
+    public Object apply(@Nonnull Object reference) {
+      try {
+        return (Object) _getter.invokeExact(reference);
+      } catch (Throwable e) {
+        throw new RuntimeException(
+            String.format("Failed to execute method for class [%s], field [%s]", reference.getClass().getCanonicalName(),
+                _fieldName), e);
+      }
+    }
+  }
+
+  private static class UnionMemberStep implements Step {
+    private final String _memberName;
+
+    private UnionMemberStep(@Nonnull String memberName) {
+      _memberName = memberName;
+    }
+
+    @Nullable
+    @Override
+    public Object apply(@Nonnull Object reference) {
+      final Object data = ((UnionTemplate) reference).data();
+      if (data instanceof DataMap) {
+        return ((DataMap) data).get(_memberName);
+      }
+      throw new RuntimeException(
+          String.format("Failed to extract member from union [%s], member [%s]", reference.getClass().getCanonicalName(),
+              _memberName));
+    }
+  }
+
+  // Marks the array wildcard, which is handled by the accessor itself
+  private static class ArrayStep implements Step {
+    private static final ArrayStep INSTANCE = new ArrayStep();
+
+    @Nullable
+    @Override
+    public Object apply(@Nonnull Object reference) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -5,11 +5,14 @@ import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.annotation.RelationshipAnnotation;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -113,6 +116,34 @@ public class LineageRegistry {
     return spec.getDownstreamEdges();
   }
 
+  /**
+   * Returns the lineage edges of the entity type and of every entity type reachable from it through lineage edges in the
+   * given direction, by the entity type they start from. Unlike {@link #getLineageRelationships}, entity types are named
+   * as in their urns, both in the keys and in the edges, so that they can be matched against the nodes of a graph.
+   */
+  public Map<String, List<EdgeInfo>> getReachableLineageRelationships(String entityName, LineageDirection direction) {
+    Map<String, List<EdgeInfo>> result = new LinkedHashMap<>();
+    Deque<String> entityNames = new ArrayDeque<>();
+    entityNames.add(getEntityName(entityName));
+    while (!entityNames.isEmpty()) {
+      String currentEntityName = entityNames.poll();
+      if (result.containsKey(currentEntityName)) {
+        continue;
+      }
+      List<EdgeInfo> edges = getLineageRelationships(currentEntityName, direction).stream()
+          .map(edge -> new EdgeInfo(edge.getType(), edge.getDirection(), getEntityName(edge.getOpposingEntityType())))
+          .collect(Collectors.toList());
+      result.put(currentEntityName, edges);
+      edges.forEach(edge -> entityNames.add(edge.getOpposingEntityType()));
+    }
+    return result;
+  }
+
+  private String getEntityName(String entityType) {
+    EntitySpec spec = _entityRegistry.getEntitySpecs().get(entityType.toLowerCase());
+    return spec != null && spec.getName() != null ? spec.getName() : entityType;
+  }
+
   @Value
   private static class LineageEdge {
     String sourceEntity;
@@ -1,6 +1,8 @@
 package com.linkedin.metadata.models.registry;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.RelationshipFieldSpec;
 import com.linkedin.metadata.models.annotation.RelationshipAnnotation;
@@ -61,6 +63,36 @@ public class LineageRegistryTest {
         .contains(new LineageRegistry.EdgeInfo("Consumes", RelationshipDirection.INCOMING, "dataJob")));
   }
 
+  @Test
+  public void testReachableLineageRelationships() {
+    Map<String, EntitySpec> mockEntitySpecs = new HashMap<>();
+    EntitySpec mockDatasetSpec = mock(EntitySpec.class);
+    when(mockDatasetSpec.getRelationshipFieldSpecs()).thenReturn(
+        ImmutableList.of(buildSpec("DownstreamOf", ImmutableList.of("dataset"), true, true)));
+    mockEntitySpecs.put("dataset", mockDatasetSpec);
+    EntitySpec mockJobSpec = mock(EntitySpec.class);
+    when(mockJobSpec.getRelationshipFieldSpecs()).thenReturn(
+        ImmutableList.of(buildSpec("Produces", ImmutableList.of("dataset"), false, true),
+            buildSpec("Consumes", ImmutableList.of("dataset"), true, true)));
+    mockEntitySpecs.put("dataJob", mockJobSpec);
+    EntityRegistry entityRegistry = mock(EntityRegistry.class);
+    when(entityRegistry.getEntitySpecs()).thenReturn(mockEntitySpecs);
+
+    LineageRegistry lineageRegistry = new LineageRegistry(entityRegistry);
+    Map<String, List<LineageRegistry.EdgeInfo>> upstreamEdges =
+        lineageRegistry.getReachableLineageRelationships("dataJob", LineageDirection.UPSTREAM);
+    assertEquals(upstreamEdges.keySet(), ImmutableSet.of("dataJob", "dataset"));
+    assertEquals(upstreamEdges.get("dataJob"),
+        ImmutableList.of(new LineageRegistry.EdgeInfo("Consumes", RelationshipDirection.OUTGOING, "dataset")));
+    assertEquals(upstreamEdges.get("dataset").size(), 2);
+
+    Map<String, List<LineageRegistry.EdgeInfo>> downstreamEdges =
+        lineageRegistry.getReachableLineageRelationships("dataset", LineageDirection.DOWNSTREAM);
+    assertEquals(downstreamEdges.keySet(), ImmutableSet.of("dataJob", "dataset"));
+    assertEquals(downstreamEdges.get("dataJob"),
+        ImmutableList.of(new LineageRegistry.EdgeInfo("Produces", RelationshipDirection.OUTGOING, "dataset")));
+  }
+
   private RelationshipFieldSpec buildSpec(String relationshipType, List<String> destinationEntityTypes,
       boolean isUpstream, boolean isLineage) {
     RelationshipFieldSpec spec = mock(RelationshipFieldSpec.class);
@@ -19,6 +19,7 @@ import io.opentelemetry.extension.annotations.WithSpan;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.Future;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -120,7 +121,7 @@ public class KafkaEventProducer implements EventProducer {
 
   @Override
   @WithSpan
-  public void produceMetadataChangeLog(@Nonnull final Urn urn, @Nonnull AspectSpec aspectSpec,
+  public Future<?> produceMetadataChangeLog(@Nonnull final Urn urn, @Nonnull AspectSpec aspectSpec,
       @Nonnull final MetadataChangeLog metadataChangeLog) {
     GenericRecord record;
     try {
@@ -139,9 +140,9 @@ public class KafkaEventProducer implements EventProducer {
     }
 
     if (_callback.isPresent()) {
-      _producer.send(new ProducerRecord(topic, urn.toString(), record), _callback.get());
+      return _producer.send(new ProducerRecord(topic, urn.toString(), record), _callback.get());
     } else {
-      _producer.send(new ProducerRecord(topic, urn.toString(), record), (metadata, e) -> {
+      return _producer.send(new ProducerRecord(topic, urn.toString(), record), (metadata, e) -> {
         if (e != null) {
           log.error(String.format("Failed to emit MCL for entity with urn %s", urn), e);
         } else {
@@ -0,0 +1,236 @@
+package datahub.client.rest;
+
+import com.linkedin.mxe.MetadataChangeProposal;
+import datahub.client.Callback;
+import datahub.client.MetadataWriteResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+
+
+/**
+ * Coalesces the proposals emitted through a {@link RestEmitter} into batch ingest requests.
+ *
+ * A batch is sent as soon as it holds {@link RestEmitterConfig#getMaxBatchSize()} proposals, or once the oldest
+ * proposal in it has waited {@link RestEmitterConfig#getBatchLingerMs()}. At most
+ * {@link RestEmitterConfig#getMaxInFlightRequests()} batches are outstanding at any time; beyond that, the thread
+ * completing a batch blocks until a request finishes, which pushes back on producers. Failed requests and retriable
+ * server responses (429 and 5xx) are retried up to {@link RestEmitterConfig#getMaxRetries()} times with a jittered
+ * exponential backoff. Every proposal of a batch is completed with the response of its batch.
+ */
+@ThreadSafe
+@Slf4j
+class BatchingProposalSender implements Closeable {
+
+  private static final int SC_TOO_MANY_REQUESTS = 429;
+
+  @FunctionalInterface
+  interface BatchRequestFactory {
+    HttpPost create(List<MetadataChangeProposal> proposals) throws IOException;
+  }
+
+  private final RestEmitterConfig config;
+  private final CloseableHttpAsyncClient httpClient;
+  private final BatchRequestFactory requestFactory;
+
+  // Separate executors, so that a linger flush blocked on backpressure never holds up the retries that release it.
+  private final ScheduledExecutorService lingerExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads());
+  private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads());
+  private final Semaphore inFlightRequests;
+
+  private final Object lock = new Object();
+  private List<PendingProposal> buffer = new ArrayList<>();
+  private ScheduledFuture<?> scheduledFlush = null;
+
+  BatchingProposalSender(RestEmitterConfig config, CloseableHttpAsyncClient httpClient,
+      BatchRequestFactory requestFactory) {
+    this.config = config;
+    this.httpClient = httpClient;
+    this.requestFactory = requestFactory;
+    this.inFlightRequests = new Semaphore(config.getMaxInFlightRequests());
+  }
+
+  CompletableFuture<MetadataWriteResponse> add(MetadataChangeProposal mcp, @Nullable Callback callback) {
+    PendingProposal pendingProposal = new PendingProposal(mcp, callback, new CompletableFuture<>());
+    List<PendingProposal> batch = null;
+    synchronized (lock) {
+      buffer.add(pendingProposal);
+      if (buffer.size() >= config.getMaxBatchSize()) {
+        batch = drain();
+      } else if (scheduledFlush == null) {
+        scheduledFlush = lingerExecutor.schedule(this::flush, config.getBatchLingerMs(), TimeUnit.MILLISECONDS);
+      }
+    }
+    if (batch != null) {
+      send(batch);
+    }
+    return pendingProposal.getFuture();
+  }
+
+  /**
+   * Sends the proposals buffered so far, without waiting for the request to complete.
+   */
+  void flush() {
+    List<PendingProposal> batch;
+    synchronized (lock) {
+      batch = drain();
+    }
+    if (!batch.isEmpty()) {
+      send(batch);
+    }
+  }
+
+  /**
+   * Flushes the buffered proposals and waits for all outstanding batches, including their retries, to complete.
+   */
+  @Override
+  public void close() throws IOException {
+    flush();
+    try {
+      inFlightRequests.acquire(config.getMaxInFlightRequests());
+      inFlightRequests.release(config.getMaxInFlightRequests());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for in-flight batches to complete", e);
+    } finally {
+      lingerExecutor.shutdownNow();
+      retryExecutor.shutdownNow();
+    }
+  }
+
+  private List<PendingProposal> drain() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    List<PendingProposal> batch = buffer;
+    buffer = new ArrayList<>();
+    return batch;
+  }
+
+  private void send(List<PendingProposal> batch) {
+    try {
+      inFlightRequests.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      fail(batch, e);
+      return;
+    }
+    execute(batch, 0);
+  }
+
+  private void execute(List<PendingProposal> batch, int attempt) {
+    final HttpPost request;
+    try {
+      request = requestFactory.create(batch.stream().map(PendingProposal::getProposal).collect(Collectors.toList()));
+    } catch (Exception e) {
+      inFlightRequests.release();
+      fail(batch, e);
+      return;
+    }
+    log.debug("Emit: sending batch of {} proposals, attempt {}", batch.size(), attempt);
+    httpClient.execute(request, new FutureCallback<HttpResponse>() {
+      @Override
+      public void completed(HttpResponse response) {
+        if (isRetriable(response) && attempt < config.getMaxRetries()) {
+          retry(batch, attempt);
+          return;
+        }
+        inFlightRequests.release();
+        complete(batch, RestEmitter.mapResponse(response));
+      }
+
+      @Override
+      public void failed(Exception ex) {
+        if (attempt < config.getMaxRetries()) {
+          retry(batch, attempt);
+          return;
+        }
+        inFlightRequests.release();
+        fail(batch, ex);
+      }
+
+      @Override
+      public void cancelled() {
+        inFlightRequests.release();
+        fail(batch, new RuntimeException("Cancelled"));
+      }
+    });
+  }
+
+  private void retry(List<PendingProposal> batch, int attempt) {
+    long backoffMs = config.getRetryBackoffMs() * (1L << attempt);
+    long jitteredBackoffMs = (long) (backoffMs * (0.5 + ThreadLocalRandom.current().nextDouble()));
+    log.warn("Batch of {} proposals failed on attempt {}, retrying in {} ms", batch.size(), attempt, jitteredBackoffMs);
+    retryExecutor.schedule(() -> execute(batch, attempt + 1), jitteredBackoffMs, TimeUnit.MILLISECONDS);
+  }
+
+  private static boolean isRetriable(HttpResponse response) {
+    if (response == null || response.getStatusLine() == null) {
+      return true;
+    }
+    int statusCode = response.getStatusLine().getStatusCode();
+    return statusCode == SC_TOO_MANY_REQUESTS || statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+  }
+
+  private static void complete(List<PendingProposal> batch, MetadataWriteResponse response) {
+    for (PendingProposal pendingProposal : batch) {
+      pendingProposal.getFuture().complete(response);
+      if (pendingProposal.getCallback() != null) {
+        try {
+          pendingProposal.getCallback().onCompletion(response);
+        } catch (Exception e) {
+          log.error("Error executing user callback on completion.", e);
+        }
+      }
+    }
+  }
+
+  private static void fail(List<PendingProposal> batch, Throwable throwable) {
+    for (PendingProposal pendingProposal : batch) {
+      pendingProposal.getFuture().completeExceptionally(throwable);
+      if (pendingProposal.getCallback() != null) {
+        try {
+          pendingProposal.getCallback().onFailure(throwable);
+        } catch (Exception e) {
+          log.error("Error executing user callback on failure.", e);
+        }
+      }
+    }
+  }
+
+  private static ThreadFactory daemonThreads() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "datahub-rest-emitter-batcher");
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @Value
+  private static class PendingProposal {
+    MetadataChangeProposal proposal;
+    @Nullable
+    Callback callback;
+    CompletableFuture<MetadataWriteResponse> future;
+  }
+}
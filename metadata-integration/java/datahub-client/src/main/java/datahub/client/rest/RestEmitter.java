@@ -4,12 +4,14 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -19,12 +21,14 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.template.JacksonDataTemplateCodec;
 import com.linkedin.mxe.MetadataChangeProposal;
@@ -74,6 +78,7 @@ public class RestEmitter implements Emitter {
 
   private final RestEmitterConfig config;
   private final String ingestProposalUrl;
+  private final String ingestProposalBatchUrl;
   private final String ingestOpenApiUrl;
   private final String configUrl;
 
@@ -81,6 +86,7 @@ public class RestEmitter implements Emitter {
   private final JacksonDataTemplateCodec dataTemplateCodec = new JacksonDataTemplateCodec(objectMapper.getFactory());
   private final CloseableHttpAsyncClient httpClient;
   private final EventFormatter eventFormatter;
+  private final BatchingProposalSender batchingSender;
 
   /**
    * The default constructor, prefer using the `create` factory method.
@@ -110,12 +116,16 @@ public class RestEmitter implements Emitter {
     this.httpClient = this.config.getAsyncHttpClientBuilder().build();
     this.httpClient.start();
     this.ingestProposalUrl = this.config.getServer() + "/aspects?action=ingestProposal";
+    this.ingestProposalBatchUrl = this.config.getServer() + "/aspects?action=ingestProposalBatch";
     this.ingestOpenApiUrl = config.getServer() + "/openapi/entities/v1/";
     this.configUrl = this.config.getServer() + "/config";
     this.eventFormatter = this.config.getEventFormatter();
+    this.batchingSender = this.config.isBatchingEnabled()
+        ? new BatchingProposalSender(this.config, this.httpClient, this::createBatchRequest)
+        : null;
   }
 
-  private static MetadataWriteResponse mapResponse(HttpResponse response) {
+  static MetadataWriteResponse mapResponse(HttpResponse response) {
     MetadataWriteResponse.MetadataWriteResponseBuilder builder =
         MetadataWriteResponse.builder().underlyingResponse(response);
     if ((response != null) && (response.getStatusLine() != null) && (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK
@@ -185,6 +195,10 @@ public class RestEmitter implements Emitter {
   @Override
   public Future<MetadataWriteResponse> emit(MetadataChangeProposal mcp, Callback callback)
       throws IOException {
+    if (this.batchingSender != null) {
+      // The returned future and the callback complete with the response of the batch the proposal was sent in.
+      return this.batchingSender.add(mcp, callback);
+    }
     DataMap map = new DataMap();
     map.put("proposal", mcp.data());
     String serializedMCP = dataTemplateCodec.mapToString(map);
@@ -192,6 +206,49 @@ public class RestEmitter implements Emitter {
     return this.postGeneric(this.ingestProposalUrl, serializedMCP, mcp, callback);
   }
 
+  /**
+   * Sends all the proposals buffered for batching without waiting for the batch to fill up. No-op when batching is
+   * disabled.
+   */
+  public void flush() {
+    if (this.batchingSender != null) {
+      this.batchingSender.flush();
+    }
+  }
+
+  private HttpPost createBatchRequest(List<MetadataChangeProposal> proposals) throws IOException {
+    DataList proposalList = new DataList();
+    proposals.forEach(proposal -> proposalList.add(proposal.data()));
+    DataMap map = new DataMap();
+    map.put("proposals", proposalList);
+    String serializedMCPs = dataTemplateCodec.mapToString(map);
+    log.debug("Emit: URL: {}, Payload: {}\n", this.ingestProposalBatchUrl, serializedMCPs);
+
+    HttpPost httpPost = new HttpPost(this.ingestProposalBatchUrl);
+    httpPost.setHeader("Content-Type", "application/json");
+    httpPost.setHeader("X-RestLi-Protocol-Version", "2.0.0");
+    httpPost.setHeader("Accept", "application/json");
+    this.config.getExtraHeaders().forEach((k, v) -> httpPost.setHeader(k, v));
+    if (this.config.getToken() != null) {
+      httpPost.setHeader("Authorization", "Bearer " + this.config.getToken());
+    }
+    setEntity(httpPost, serializedMCPs);
+    return httpPost;
+  }
+
+  private void setEntity(HttpPost httpPost, String payloadJson) throws IOException {
+    if (!this.config.isGzipEnabled()) {
+      httpPost.setEntity(new StringEntity(payloadJson));
+      return;
+    }
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+      gzipStream.write(payloadJson.getBytes(StandardCharsets.UTF_8));
+    }
+    httpPost.setHeader("Content-Encoding", "gzip");
+    httpPost.setEntity(new ByteArrayEntity(compressed.toByteArray()));
+  }
+
   private Future<MetadataWriteResponse> postGeneric(String urlStr, String payloadJson, Object originalRequest,
       Callback callback) throws IOException {
     HttpPost httpPost = new HttpPost(urlStr);
@@ -202,7 +259,7 @@ public class RestEmitter implements Emitter {
     if (this.config.getToken() != null) {
       httpPost.setHeader("Authorization", "Bearer " + this.config.getToken());
     }
-    httpPost.setEntity(new StringEntity(payloadJson));
+    setEntity(httpPost, payloadJson);
     AtomicReference<MetadataWriteResponse> responseAtomicReference = new AtomicReference<>();
     CountDownLatch responseLatch = new CountDownLatch(1);
     FutureCallback<HttpResponse> httpCallback = new FutureCallback<HttpResponse>() {
@@ -267,6 +324,9 @@ public class RestEmitter implements Emitter {
 
   @Override
   public void close() throws IOException {
+    if (this.batchingSender != null) {
+      this.batchingSender.close();
+    }
     this.httpClient.close();
   }
 
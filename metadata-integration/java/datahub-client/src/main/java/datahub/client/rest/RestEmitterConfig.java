@@ -23,6 +23,11 @@ public class RestEmitterConfig {
   public static final int DEFAULT_READ_TIMEOUT_SEC = 10;
   public static final String DEFAULT_AUTH_TOKEN = null;
   public static final String CLIENT_VERSION_PROPERTY = "clientVersion";
+  public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+  public static final long DEFAULT_BATCH_LINGER_MS = 100;
+  public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 8;
+  public static final int DEFAULT_MAX_RETRIES = 3;
+  public static final long DEFAULT_RETRY_BACKOFF_MS = 500;
 
   @Builder.Default
   private final String server = "http://localhost:8080";
@@ -43,6 +48,35 @@ public class RestEmitterConfig {
   @Builder.Default
   private final EventFormatter eventFormatter = new EventFormatter(EventFormatter.Format.PEGASUS_JSON);
 
+  /**
+   * When enabled, emitted proposals are coalesced into batch ingest requests instead of being sent one by one.
+   * Requires a server supporting the ingestProposalBatch action.
+   */
+  @Builder.Default
+  private final boolean batchingEnabled = false;
+
+  @Builder.Default
+  private final int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+  @Builder.Default
+  private final long batchLingerMs = DEFAULT_BATCH_LINGER_MS;
+
+  @Builder.Default
+  private final int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+
+  @Builder.Default
+  private final int maxRetries = DEFAULT_MAX_RETRIES;
+
+  @Builder.Default
+  private final long retryBackoffMs = DEFAULT_RETRY_BACKOFF_MS;
+
+  /**
+   * When enabled, proposal request bodies are gzip-compressed. GMS inflates them; a proxy in front of GMS must pass
+   * them through as they are.
+   */
+  @Builder.Default
+  private final boolean gzipEnabled = false;
+
   public static class RestEmitterConfigBuilder {
 
     private String getVersion() {
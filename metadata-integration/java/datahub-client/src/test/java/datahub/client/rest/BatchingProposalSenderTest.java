@@ -0,0 +1,178 @@
+package datahub.client.rest;
+
+import com.linkedin.mxe.MetadataChangeProposal;
+import datahub.client.MetadataWriteResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.mockito.ArgumentMatchers.*;
+
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchingProposalSenderTest {
+
+  @Mock
+  CloseableHttpAsyncClient mockClient;
+
+  @Captor
+  ArgumentCaptor<FutureCallback<HttpResponse>> callbackCaptor;
+
+  // Number of proposals of each request the sender created, in order
+  private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void testCoalescesProposalsIntoBatches() throws Exception {
+    respondWith(200);
+    BatchingProposalSender sender = createSender(RestEmitterConfig.builder()
+        .maxBatchSize(3)
+        // Long enough that only full batches and explicit flushes send requests
+        .batchLingerMs(60000));
+
+    List<CompletableFuture<MetadataWriteResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      futures.add(sender.add(new MetadataChangeProposal(), null));
+    }
+    Assert.assertEquals(Arrays.asList(3, 3), batchSizes);
+    Assert.assertFalse(futures.get(6).isDone());
+
+    sender.flush();
+    Assert.assertEquals(Arrays.asList(3, 3, 1), batchSizes);
+    for (CompletableFuture<MetadataWriteResponse> future : futures) {
+      Assert.assertTrue(future.get(1, TimeUnit.SECONDS).isSuccess());
+    }
+    sender.close();
+  }
+
+  @Test
+  public void testBlocksWhileMaxInFlightRequestsAreOutstanding() throws Exception {
+    BatchingProposalSender sender = createSender(RestEmitterConfig.builder()
+        .maxBatchSize(1)
+        .maxInFlightRequests(1));
+
+    CompletableFuture<MetadataWriteResponse> first = sender.add(new MetadataChangeProposal(), null);
+    Mockito.verify(mockClient).execute(any(HttpPost.class), callbackCaptor.capture());
+
+    // The second batch cannot be sent until the first request completes, so the producer is held up
+    CompletableFuture<CompletableFuture<MetadataWriteResponse>> second =
+        CompletableFuture.supplyAsync(() -> sender.add(new MetadataChangeProposal(), null));
+    Thread.sleep(200);
+    Assert.assertFalse(second.isDone());
+    Assert.assertEquals(Collections.singletonList(1), batchSizes);
+
+    callbackCaptor.getValue().completed(response(200));
+    Assert.assertTrue(first.get(1, TimeUnit.SECONDS).isSuccess());
+    second.get(1, TimeUnit.SECONDS);
+    Mockito.verify(mockClient, Mockito.times(2)).execute(any(HttpPost.class), callbackCaptor.capture());
+    Assert.assertEquals(Arrays.asList(1, 1), batchSizes);
+
+    callbackCaptor.getValue().completed(response(200));
+    Assert.assertTrue(second.get().get(1, TimeUnit.SECONDS).isSuccess());
+    sender.close();
+  }
+
+  @Test
+  public void testRetriesRetriableResponses() throws Exception {
+    respondWith(503, 429, 200);
+    BatchingProposalSender sender = createSender(RestEmitterConfig.builder()
+        .maxBatchSize(2)
+        .maxRetries(2)
+        .retryBackoffMs(1));
+
+    sender.add(new MetadataChangeProposal(), null);
+    CompletableFuture<MetadataWriteResponse> future = sender.add(new MetadataChangeProposal(), null);
+
+    Assert.assertTrue(future.get(1, TimeUnit.SECONDS).isSuccess());
+    // The same batch is sent again for every attempt
+    Assert.assertEquals(Arrays.asList(2, 2, 2), batchSizes);
+    sender.close();
+  }
+
+  @Test
+  public void testCompletesWithLastResponseOnceRetriesAreExhausted() throws Exception {
+    respondWith(503);
+    BatchingProposalSender sender = createSender(RestEmitterConfig.builder()
+        .maxBatchSize(1)
+        .maxRetries(2)
+        .retryBackoffMs(1));
+
+    MetadataWriteResponse response = sender.add(new MetadataChangeProposal(), null).get(1, TimeUnit.SECONDS);
+
+    Assert.assertFalse(response.isSuccess());
+    Assert.assertEquals(503, response.getUnderlyingResponse().getStatusLine().getStatusCode());
+    Assert.assertEquals(Arrays.asList(1, 1, 1), batchSizes);
+    sender.close();
+  }
+
+  @Test
+  public void testFailsOnceRetriesOfFailedRequestsAreExhausted() throws Exception {
+    IOException exception = new IOException("Connection refused");
+    Mockito.doAnswer(invocation -> {
+      invocation.<FutureCallback<HttpResponse>>getArgument(1).failed(exception);
+      return null;
+    }).when(mockClient).execute(any(HttpPost.class), any());
+    BatchingProposalSender sender = createSender(RestEmitterConfig.builder()
+        .maxBatchSize(1)
+        .maxRetries(1)
+        .retryBackoffMs(1));
+
+    CompletableFuture<MetadataWriteResponse> future = sender.add(new MetadataChangeProposal(), null);
+
+    try {
+      future.get(1, TimeUnit.SECONDS);
+      Assert.fail("Expected the batch to fail");
+    } catch (ExecutionException e) {
+      Assert.assertSame(exception, e.getCause());
+    }
+    Assert.assertEquals(Arrays.asList(1, 1), batchSizes);
+    sender.close();
+  }
+
+  private BatchingProposalSender createSender(RestEmitterConfig.RestEmitterConfigBuilder config) {
+    return new BatchingProposalSender(config.batchingEnabled(true).build(), mockClient, proposals -> {
+      batchSizes.add(proposals.size());
+      return new HttpPost("http://localhost:8080/aspects?action=ingestProposalBatch");
+    });
+  }
+
+  /**
+   * Completes the requests with the given status codes in order, repeating the last one.
+   */
+  private void respondWith(int... statusCodes) {
+    List<Integer> remaining = Collections.synchronizedList(new ArrayList<>());
+    for (int statusCode : statusCodes) {
+      remaining.add(statusCode);
+    }
+    Mockito.doAnswer(invocation -> {
+      int statusCode = remaining.size() > 1 ? remaining.remove(0) : remaining.get(0);
+      invocation.<FutureCallback<HttpResponse>>getArgument(1).completed(response(statusCode));
+      return null;
+    }).when(mockClient).execute(any(HttpPost.class), any());
+  }
+
+  private static HttpResponse response(int statusCode) {
+    BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+    response.setEntity(new StringEntity("", "UTF-8"));
+    return response;
+  }
+}
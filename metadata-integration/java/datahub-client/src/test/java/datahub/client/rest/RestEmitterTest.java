@@ -211,6 +211,60 @@ public class RestEmitterTest {
     }
   }
 
+  @Test
+  public void testBatching() throws Exception {
+    TestDataHubServer testDataHubServer = new TestDataHubServer();
+    Integer port = testDataHubServer.getMockServer().getPort();
+    RestEmitter emitter = RestEmitter.create(b -> b.server("http://localhost:" + port)
+        .batchingEnabled(true)
+        .maxBatchSize(10)
+        .batchLingerMs(50)
+        .maxRetries(1)
+        .retryBackoffMs(10));
+
+    // The first batch request fails with a retriable error, the retry succeeds.
+    testDataHubServer.getMockServer()
+        .when(request().withMethod("POST")
+            .withPath("/aspects")
+            .withQueryStringParameter("action", "ingestProposalBatch"), Times.exactly(1))
+        .respond(org.mockserver.model.HttpResponse.response().withStatusCode(503));
+    testDataHubServer.getMockServer()
+        .when(request().withMethod("POST")
+            .withPath("/aspects")
+            .withQueryStringParameter("action", "ingestProposalBatch"), Times.unlimited())
+        .respond(org.mockserver.model.HttpResponse.response().withStatusCode(200));
+
+    int numRequests = 25;
+    CountDownLatch callbackLatch = new CountDownLatch(numRequests);
+    Callback callback = new Callback() {
+      @Override
+      public void onCompletion(MetadataWriteResponse response) {
+        if (response.isSuccess()) {
+          callbackLatch.countDown();
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable exception) {
+      }
+    };
+    List<Future<MetadataWriteResponse>> results = new ArrayList<>();
+    for (int i = 0; i < numRequests; ++i) {
+      results.add(emitter.emit(getMetadataChangeProposalWrapper("Test Dataset",
+          String.format("urn:li:dataset:(urn:li:dataPlatform:hive,foo.bar-%d,PROD)", i)), callback));
+    }
+    // The last, partial batch is sent once the linger time has passed.
+    for (Future<MetadataWriteResponse> result : results) {
+      Assert.assertTrue(result.get(10, TimeUnit.SECONDS).isSuccess());
+    }
+    Assert.assertTrue(callbackLatch.await(10, TimeUnit.SECONDS));
+    emitter.close();
+
+    RequestDefinition[] recordedRequests =
+        testDataHubServer.getMockServer().retrieveRecordedRequests(request().withPath("/aspects").withMethod("POST"));
+    Assert.assertEquals(4, recordedRequests.length);
+  }
+
   private MetadataChangeProposalWrapper getMetadataChangeProposalWrapper(String description, String entityUrn) {
     return MetadataChangeProposalWrapper.builder()
         .entityType("dataset")
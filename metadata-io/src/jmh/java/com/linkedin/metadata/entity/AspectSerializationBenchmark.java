@@ -0,0 +1,92 @@
+package com.linkedin.metadata.entity;
+
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.schema.MySqlDDL;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.SchemaMetadata;
+import com.linkedin.schema.StringType;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares storing a schema metadata aspect with the given number of fields in the aspect table as JSON and as PSON,
+ * by the time to serialize and deserialize it, including the compression of PSON. The stored size in each content type
+ * is printed during setup.
+ *
+ * Run with ./gradlew :metadata-io:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AspectSerializationBenchmark {
+
+  @Param({"10", "500"})
+  private int numFields;
+
+  private SchemaMetadata _aspect;
+  private String _jsonMetadata;
+  private String _psonMetadata;
+
+  @Setup
+  public void setup() throws Exception {
+    final SchemaFieldArray fields = new SchemaFieldArray();
+    for (int i = 0; i < numFields; i++) {
+      fields.add(new SchemaField()
+          .setFieldPath("[version=2.0].[type=record].[type=string].column" + i)
+          .setDescription("Description of column " + i)
+          .setType(new SchemaFieldDataType().setType(SchemaFieldDataType.Type.create(new StringType())))
+          .setNativeDataType("varchar(255)")
+          .setNullable(i % 2 == 0));
+    }
+    _aspect = new SchemaMetadata().setSchemaName("testSchema")
+        .setPlatformSchema(SchemaMetadata.PlatformSchema.create(new MySqlDDL().setTableSchema("foo")))
+        .setPlatform(new DataPlatformUrn("hive"))
+        .setHash("")
+        .setVersion(0L)
+        .setFields(fields);
+
+    _jsonMetadata = EntityUtils.toStoredAspect(_aspect, GenericRecordUtils.JSON);
+    _psonMetadata = EntityUtils.toStoredAspect(_aspect, GenericRecordUtils.PSON);
+    System.out.printf("%n%s fields: JSON %s bytes, PSON %s bytes stored (%s bytes before compression and base64)%n",
+        numFields, _jsonMetadata.getBytes(StandardCharsets.UTF_8).length, _psonMetadata.length(),
+        GenericRecordUtils.toPsonBytes(_aspect.data()).length);
+  }
+
+  @Benchmark
+  public String serializeJson() {
+    return EntityUtils.toStoredAspect(_aspect, GenericRecordUtils.JSON);
+  }
+
+  @Benchmark
+  public String serializePson() {
+    return EntityUtils.toStoredAspect(_aspect, GenericRecordUtils.PSON);
+  }
+
+  @Benchmark
+  public SchemaMetadata deserializeJson() {
+    return EntityUtils.toRecordTemplate(SchemaMetadata.class, _jsonMetadata);
+  }
+
+  @Benchmark
+  public SchemaMetadata deserializePson() {
+    return EntityUtils.toRecordTemplate(SchemaMetadata.class, _psonMetadata);
+  }
+}
@@ -0,0 +1,108 @@
+package com.linkedin.metadata.entity;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.linkedin.metadata.CassandraTestUtils;
+import com.linkedin.metadata.entity.cassandra.CassandraAspectDao;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.CassandraContainer;
+
+
+/**
+ * Measures reading the given number of aspects from Cassandra one by one and in a batch, and listing all their urns
+ * page by page, by offset and by continuation. Cassandra runs in a container, like in
+ * {@link CassandraEntityServiceTest}.
+ *
+ * Run with ./gradlew :metadata-io:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CassandraAspectDaoBenchmark {
+
+  private static final String ENTITY_NAME = "corpuser";
+  private static final String ASPECT_NAME = "corpUserInfo";
+  private static final int PAGE_SIZE = 100;
+
+  @Param({"10", "500"})
+  private int numAspects;
+
+  private CassandraContainer _container;
+  private CqlSession _session;
+  private CassandraAspectDao _aspectDao;
+  private Set<EntityAspectIdentifier> _keys;
+
+  @Setup
+  public void setup() {
+    _container = CassandraTestUtils.setupContainer();
+    _session = CassandraTestUtils.createTestSession(_container);
+    _aspectDao = new CassandraAspectDao(_session);
+    _aspectDao.setConnectionValidated(true);
+
+    final Timestamp now = new Timestamp(System.currentTimeMillis());
+    _keys = IntStream.range(0, numAspects)
+        .mapToObj(idx -> new EntityAspect("urn:li:corpuser:benchmark" + idx, ASPECT_NAME, 0,
+            "{\"active\":true,\"fullName\":\"User " + idx + "\"}", null, now, "urn:li:corpuser:datahub", null))
+        .peek(aspect -> _aspectDao.saveAspect(aspect, true))
+        .map(EntityAspect::toAspectIdentifier)
+        .collect(Collectors.toSet());
+  }
+
+  @TearDown
+  public void tearDown() {
+    _session.close();
+    _container.stop();
+  }
+
+  @Benchmark
+  public List<EntityAspect> getAspectsOneByOne() {
+    return _keys.stream().map(_aspectDao::getAspect).filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public Map<EntityAspectIdentifier, EntityAspect> batchGetAspects() {
+    return _aspectDao.batchGet(_keys);
+  }
+
+  @Benchmark
+  public int listUrnsPageByPage() {
+    int listed = 0;
+    for (int start = 0; start < numAspects; start += PAGE_SIZE) {
+      listed += _aspectDao.listUrns(ENTITY_NAME, ASPECT_NAME, start, PAGE_SIZE).getValues().size();
+    }
+    return listed;
+  }
+
+  @Benchmark
+  public int listUrnsByContinuation() {
+    int listed = 0;
+    String continuation = null;
+    do {
+      ListResult<String> page = _aspectDao.listUrns(ENTITY_NAME, ASPECT_NAME, continuation, PAGE_SIZE);
+      listed += page.getValues().size();
+      continuation = page.getContinuation();
+    } while (continuation != null);
+    return listed;
+  }
+}
@@ -0,0 +1,71 @@
+package com.linkedin.metadata.extractor;
+
+import com.datahub.test.TestEntityInfo;
+import com.linkedin.metadata.TestEntitySpecBuilder;
+import com.linkedin.metadata.TestEntityUtil;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.RelationshipFieldSpec;
+import com.linkedin.metadata.models.SearchableFieldSpec;
+import com.linkedin.metadata.models.extractor.FieldExtractor;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares extracting the searchable and relationship fields of an aspect through reflection on each record with the
+ * accessors compiled for its aspect spec.
+ *
+ * Run with ./gradlew :metadata-io:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldExtractorBenchmark {
+
+  private AspectSpec _aspectSpec;
+  private List<SearchableFieldSpec> _searchableFieldSpecs;
+  private List<RelationshipFieldSpec> _relationshipFieldSpecs;
+  private TestEntityInfo _aspect;
+
+  @Setup
+  public void setup() {
+    _aspectSpec = TestEntitySpecBuilder.getSpec().getAspectSpec("testEntityInfo");
+    _searchableFieldSpecs = _aspectSpec.getSearchableFieldSpecs();
+    _relationshipFieldSpecs = _aspectSpec.getRelationshipFieldSpecs();
+    _aspect = TestEntityUtil.getTestEntityInfo(TestEntityUtil.getTestEntityUrn());
+  }
+
+  @Benchmark
+  public Map<SearchableFieldSpec, List<Object>> reflectiveSearchableFields() {
+    return FieldExtractor.extractFields(_aspect, _searchableFieldSpecs);
+  }
+
+  @Benchmark
+  public Map<SearchableFieldSpec, List<Object>> compiledSearchableFields() {
+    return _aspectSpec.getFieldExtractor().extractFields(_aspect, _searchableFieldSpecs);
+  }
+
+  @Benchmark
+  public Map<RelationshipFieldSpec, List<Object>> reflectiveRelationshipFields() {
+    return FieldExtractor.extractFields(_aspect, _relationshipFieldSpecs);
+  }
+
+  @Benchmark
+  public Map<RelationshipFieldSpec, List<Object>> compiledRelationshipFields() {
+    return _aspectSpec.getFieldExtractor().extractFields(_aspect, _relationshipFieldSpecs);
+  }
+}
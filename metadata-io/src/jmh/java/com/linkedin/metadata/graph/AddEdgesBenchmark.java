@@ -0,0 +1,78 @@
+package com.linkedin.metadata.graph;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares adding the fine grained lineage of a wide dataset edge by edge with adding it in one batch. The graph is
+ * cleared before each invocation, so that every invocation creates the edges. Each backend runs in a container, see
+ * {@link GraphBenchmarkBackend}.
+ *
+ * Run with ./gradlew :metadata-io:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AddEdgesBenchmark {
+
+  @Param({"neo4j", "dgraph"})
+  private String backend;
+
+  @Param({"10", "500"})
+  private int numEdges;
+
+  private GraphBenchmarkBackend _backend;
+  private List<Edge> _edges;
+
+  @Setup
+  public void setup() {
+    _backend = GraphBenchmarkBackend.start(backend);
+    final Urn datasetUrn = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,WideDataset,PROD)");
+    _edges = IntStream.range(0, numEdges)
+        .mapToObj(idx -> new Edge(datasetUrn,
+            UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,UpstreamDataset" + idx + ",PROD)"),
+            "DownstreamOf"))
+        .collect(Collectors.toList());
+  }
+
+  @Setup(Level.Invocation)
+  public void clear() {
+    _backend.getGraphService().clear();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    _backend.close();
+  }
+
+  @Benchmark
+  public void addEdgesOneByOne() {
+    _edges.forEach(_backend.getGraphService()::addEdge);
+  }
+
+  @Benchmark
+  public void addEdgesBatched() {
+    _backend.getGraphService().addEdges(_edges);
+  }
+}
@@ -0,0 +1,97 @@
+package com.linkedin.metadata.graph;
+
+import com.linkedin.metadata.graph.dgraph.DgraphContainer;
+import com.linkedin.metadata.graph.dgraph.DgraphGraphService;
+import com.linkedin.metadata.graph.neo4j.Neo4jGraphService;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import io.dgraph.DgraphClient;
+import io.dgraph.DgraphGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+
+/**
+ * Runs a graph service against a database in a container, for graph service benchmarks to measure the round trips to
+ * a real server. The backend is picked by name, which benchmarks take as a parameter: neo4j or dgraph.
+ */
+public class GraphBenchmarkBackend implements AutoCloseable {
+
+  private static final DockerImageName NEO4J_IMAGE = DockerImageName.parse("neo4j:4.0.6");
+  private static final int NEO4J_BOLT_PORT = 7687;
+
+  private final GenericContainer<?> _container;
+  private final GraphService _graphService;
+  private final AutoCloseable _client;
+
+  private GraphBenchmarkBackend(@Nonnull GenericContainer<?> container, @Nonnull GraphService graphService,
+      @Nonnull AutoCloseable client) {
+    _container = container;
+    _graphService = graphService;
+    _client = client;
+  }
+
+  /**
+   * Starts the database of the given backend in a container and connects a graph service to it.
+   *
+   * @param backend neo4j or dgraph
+   */
+  @Nonnull
+  public static GraphBenchmarkBackend start(@Nonnull String backend) {
+    final LineageRegistry lineageRegistry = new LineageRegistry(SnapshotEntityRegistry.getInstance());
+    switch (backend) {
+      case "neo4j": {
+        final GenericContainer<?> container = new GenericContainer<>(NEO4J_IMAGE)
+            .withEnv("NEO4J_AUTH", "none")
+            .withExposedPorts(NEO4J_BOLT_PORT)
+            .waitingFor(Wait.forLogMessage(".*Bolt enabled.*", 1))
+            .withStartupTimeout(Duration.ofMinutes(2));
+        container.start();
+        final Driver driver = GraphDatabase.driver(
+            String.format("bolt://%s:%d", container.getHost(), container.getMappedPort(NEO4J_BOLT_PORT)));
+        return new GraphBenchmarkBackend(container, new Neo4jGraphService(lineageRegistry, driver), driver);
+      }
+      case "dgraph": {
+        final DgraphContainer container = new DgraphContainer(DgraphContainer.DEFAULT_IMAGE_NAME.withTag("v21.03.0"))
+            .withTmpFs(Collections.singletonMap("/dgraph", "rw,noexec,nosuid,size=1g"))
+            .withStartupTimeout(Duration.ofMinutes(1));
+        container.start();
+        final ManagedChannel channel = ManagedChannelBuilder
+            .forAddress(container.getHost(), container.getGrpcPort())
+            .usePlaintext()
+            .build();
+        final DgraphGraphService graphService =
+            new DgraphGraphService(lineageRegistry, new DgraphClient(DgraphGrpc.newStub(channel)));
+        return new GraphBenchmarkBackend(container, graphService, () -> {
+          channel.shutdownNow();
+          channel.awaitTermination(10, TimeUnit.SECONDS);
+        });
+      }
+      default:
+        throw new IllegalArgumentException("Unknown graph benchmark backend " + backend);
+    }
+  }
+
+  @Nonnull
+  public GraphService getGraphService() {
+    return _graphService;
+  }
+
+  @Override
+  public void close() throws Exception {
+    try {
+      _client.close();
+    } finally {
+      _container.stop();
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.linkedin.metadata.graph;
+
+import com.linkedin.common.urn.DataFlowUrn;
+import com.linkedin.common.urn.DataJobUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures traversing the lineage of a chain of datasets, where each dataset is also consumed by a job that produces
+ * the next one, to the given number of hops. Each backend runs in a container, see {@link GraphBenchmarkBackend}.
+ *
+ * Run with ./gradlew :metadata-io:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LineageBenchmark {
+
+  private static final int NUM_DATASETS = 50;
+
+  @Param({"neo4j", "dgraph"})
+  private String backend;
+
+  @Param({"1", "3", "1000"})
+  private int maxHops;
+
+  private GraphBenchmarkBackend _backend;
+  private Urn _startUrn;
+
+  @Setup
+  public void setup() {
+    _backend = GraphBenchmarkBackend.start(backend);
+    final List<Urn> datasetUrns = IntStream.range(0, NUM_DATASETS)
+        .mapToObj(idx -> UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,ChainDataset" + idx + ",PROD)"))
+        .collect(Collectors.toList());
+    final List<Edge> edges = new ArrayList<>();
+    for (int idx = 1; idx < NUM_DATASETS; idx++) {
+      final Urn jobUrn = new DataJobUrn(new DataFlowUrn("orchestrator", "chain", "cluster"), "job" + idx);
+      edges.add(new Edge(datasetUrns.get(idx), datasetUrns.get(idx - 1), "DownstreamOf"));
+      edges.add(new Edge(jobUrn, datasetUrns.get(idx - 1), "Consumes"));
+      edges.add(new Edge(jobUrn, datasetUrns.get(idx), "Produces"));
+    }
+    edges.forEach(_backend.getGraphService()::addEdge);
+    _startUrn = datasetUrns.get(0);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    _backend.close();
+  }
+
+  @Benchmark
+  public EntityLineageResult getDownstreamLineage() {
+    return _backend.getGraphService().getLineage(_startUrn, LineageDirection.DOWNSTREAM, 0, 1000, maxHops);
+  }
+}
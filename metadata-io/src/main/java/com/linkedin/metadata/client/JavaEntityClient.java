@@ -13,6 +13,7 @@ import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.entity.Entity;
 import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.client.BatchIngestProposalsException;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.entity.client.RestliEntityClient;
 import com.linkedin.metadata.Constants;
@@ -22,6 +23,7 @@ import com.linkedin.metadata.aspect.VersionedAspect;
 import com.linkedin.metadata.browse.BrowseResult;
 import com.linkedin.metadata.entity.DeleteEntityService;
 import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.PartialIngestException;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.query.AutoCompleteResult;
@@ -45,6 +47,8 @@ import com.linkedin.r2.RemoteInvocationException;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.net.URISyntaxException;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -455,6 +459,54 @@ public class JavaEntityClient implements EntityClient {
         return urn.toString();
     }
 
+    @SneakyThrows
+    @Override
+    public List<String> batchIngestProposals(
+        @Nonnull final Collection<MetadataChangeProposal> metadataChangeProposals,
+        @Nonnull final Authentication authentication) throws RemoteInvocationException {
+
+        String actorUrnStr = authentication.getActor() != null ? authentication.getActor().toUrnStr() : Constants.UNKNOWN_ACTOR;
+        final AuditStamp auditStamp =
+            new AuditStamp().setTime(_clock.millis()).setActor(Urn.createFromString(actorUrnStr));
+
+        // Each proposal is followed by its additional changes, mirroring the order of the single proposal path.
+        final List<MetadataChangeProposal> proposals = new ArrayList<>();
+        final List<Integer> primaryIndexes = new ArrayList<>();
+        for (MetadataChangeProposal metadataChangeProposal : metadataChangeProposals) {
+            primaryIndexes.add(proposals.size());
+            proposals.add(metadataChangeProposal);
+            proposals.addAll(AspectUtils.getAdditionalChanges(metadataChangeProposal, _entityService));
+        }
+
+        List<EntityService.IngestProposalResult> results;
+        PartialIngestException failure = null;
+        try {
+            results = _entityService.ingestProposals(proposals, auditStamp);
+        } catch (PartialIngestException e) {
+            results = e.getResults();
+            failure = e;
+        }
+
+        final List<String> urns = new ArrayList<>(primaryIndexes.size());
+        final List<Boolean> committed = new ArrayList<>(primaryIndexes.size());
+        for (int i = 0; i < primaryIndexes.size(); i++) {
+            final int start = primaryIndexes.get(i);
+            final int end = i + 1 < primaryIndexes.size() ? primaryIndexes.get(i + 1) : proposals.size();
+            // A proposal is committed along with its additional changes
+            final boolean isCommitted = results.subList(start, end).stream().allMatch(Objects::nonNull);
+            committed.add(isCommitted);
+            if (isCommitted) {
+                Urn urn = results.get(start).getUrn();
+                tryIndexRunId(urn, proposals.get(start).getSystemMetadata());
+                urns.add(urn.toString());
+            }
+        }
+        if (failure != null) {
+            throw new BatchIngestProposalsException(committed, failure.getMessage(), failure.getCause());
+        }
+        return urns;
+    }
+
     @SneakyThrows
     @Override
     public <T extends RecordTemplate> Optional<T> getVersionedAspect(@Nonnull String urn, @Nonnull String aspect,
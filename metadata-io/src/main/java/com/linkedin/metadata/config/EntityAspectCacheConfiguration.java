@@ -0,0 +1,32 @@
+package com.linkedin.metadata.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * POJO representing the "entityService.aspectCache" configuration block in application.yml.
+ */
+@Data
+public class EntityAspectCacheConfiguration {
+  /**
+   * Whether aspects of the configured entity types are cached
+   */
+  public boolean enabled;
+  /**
+   * Bounds of the cache of each cached entity type, by entity name. Aspects of other entity types are not cached.
+   */
+  public Map<String, EntityType> entityTypes = new HashMap<>();
+
+  @Data
+  public static class EntityType {
+    /**
+     * Estimated heap size the cached aspects of the entity type are bounded to
+     */
+    public long maxBytes;
+    /**
+     * Time after which a cached aspect is read again, whether or not it has been invalidated
+     */
+    public long ttlSeconds;
+  }
+}
@@ -0,0 +1,14 @@
+package com.linkedin.metadata.config;
+
+import lombok.Data;
+
+/**
+ * POJO representing the "entityService" configuration block in application.yml.
+ */
+@Data
+public class EntityServiceConfiguration {
+  /**
+   * Cache of the aspects of hot entity types
+   */
+  public EntityAspectCacheConfiguration aspectCache;
+}
@@ -8,9 +8,11 @@ import io.ebean.PagedList;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.Timestamp;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -81,6 +83,21 @@ public interface AspectDao {
         final int start,
         final int pageSize);
 
+    /**
+     * Returns the page of urns after the one the continuation of a previous result points to, or the first page if it
+     * is null. Unlike an offset, the continuation keeps pointing to the same row when rows before it are written. By
+     * default the continuation is the offset of the next page.
+     */
+    @Nonnull
+    default ListResult<String> listUrns(
+        @Nonnull final String entityName,
+        @Nonnull final String aspectName,
+        @Nullable final String continuation,
+        final int pageSize) {
+        return withOffsetContinuation(
+            listUrns(entityName, aspectName, continuation == null ? 0 : Integer.parseInt(continuation), pageSize));
+    }
+
     @Nonnull
     Integer countAspect(
             @Nonnull final String aspectName,
@@ -89,6 +106,29 @@ public interface AspectDao {
     @Nonnull
     PagedList<EbeanAspectV2> getPagedAspects(final RestoreIndicesArgs args);
 
+    /**
+     * Whether {@link #streamAspects} and {@link #getUrnRangeBoundaries} are supported.
+     */
+    default boolean supportsStreamingAspects() {
+        return false;
+    }
+
+    /**
+     * Streams the latest versions of the aspects matching the args to the consumer in (urn, aspect) order, reading them
+     * in pages of batchSize rows by key range rather than by offset. Only urns within [urnStart, urnEnd) are read,
+     * starting after the (lastUrn, lastAspect) cursor, for each of these args which are set. Urns are ordered the way
+     * the store orders its keys, which is not necessarily lexicographically.
+     */
+    void streamAspects(@Nonnull final RestoreIndicesArgs args, @Nonnull final Consumer<EbeanAspectV2> consumer);
+
+    /**
+     * Returns urns which split the latest versions of the aspects matching the args into ranges of about rowsPerRange
+     * rows each, in ascending order. Each urn is the inclusive start of a range and the exclusive end of the previous one.
+     * The ranges follow the order of {@link #streamAspects}.
+     */
+    @Nonnull
+    List<String> getUrnRangeBoundaries(@Nonnull final RestoreIndicesArgs args, final int rowsPerRange);
+
     int deleteUrn(@Nonnull final String urn);
 
     @Nonnull
@@ -106,10 +146,43 @@ public interface AspectDao {
         final int start,
         final int pageSize);
 
+    /**
+     * Returns the page of aspect metadata after the one the continuation of a previous result points to, or the first
+     * page if it is null, as {@link #listUrns(String, String, String, int)} does for urns.
+     */
+    @Nonnull
+    default ListResult<String> listAspectMetadata(
+        @Nonnull final String entityName,
+        @Nonnull final String aspectName,
+        final long version,
+        @Nullable final String continuation,
+        final int pageSize) {
+        return withOffsetContinuation(listAspectMetadata(entityName, aspectName, version,
+            continuation == null ? 0 : Integer.parseInt(continuation), pageSize));
+    }
+
+    @Nonnull
+    static <T> ListResult<T> withOffsetContinuation(@Nonnull final ListResult<T> result) {
+        return new ListResult<>(result.getValues(), result.getMetadata(), result.getNextStart(), result.isHasNext(),
+            result.getTotalCount(), result.getTotalPageCount(), result.getPageSize(),
+            result.isHasNext() ? String.valueOf(result.getNextStart()) : null);
+    }
+
     long getNextVersion(@Nonnull final String urn, @Nonnull final String aspectName);
 
     Map<String, Long> getNextVersions(@Nonnull final String urn, @Nonnull final Set<String> aspectNames);
 
+    /**
+     * Returns the next version for each of the provided (urn, aspect) pairs, keyed by urn and then aspect name.
+     * Implementations should override this to resolve all pairs in a single round trip where the storage allows it.
+     */
+    @Nonnull
+    default Map<String, Map<String, Long>> getNextVersions(@Nonnull final Map<String, Set<String>> urnAspects) {
+        final Map<String, Map<String, Long>> result = new HashMap<>();
+        urnAspects.forEach((urn, aspectNames) -> result.put(urn, getNextVersions(urn, aspectNames)));
+        return result;
+    }
+
     long getMaxVersion(@Nonnull final String urn, @Nonnull final String aspectName);
 
     void setWritable(boolean canWrite);
@@ -1,6 +1,7 @@
 package com.linkedin.metadata.entity;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * This interface is a split-off from {@link AspectDao} to segregate the methods that are only called by data migration
@@ -10,13 +11,13 @@ import javax.annotation.Nonnull;
 public interface AspectMigrationsDao {
 
   /**
-   * Return a paged list of _all_ URNs in the database.
-   * @param start Start offset of a page.
+   * Return a paged list of _all_ URNs in the database, in the order the database stores them.
+   * @param lastUrn Last URN of the previous page, or null for the first page.
    * @param pageSize Number of records in a page.
-   * @return An iterable of {@code String} URNs.
+   * @return An iterable of {@code String} URNs, with fewer than {@code pageSize} URNs on the last page.
    */
   @Nonnull
-  Iterable<String> listAllUrns(final int start, final int pageSize);
+  Iterable<String> listAllUrns(@Nullable final String lastUrn, final int pageSize);
 
   /**
    * Return the count of entities (unique URNs) in the database.
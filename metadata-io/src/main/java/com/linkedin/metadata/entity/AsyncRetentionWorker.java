@@ -0,0 +1,174 @@
+package com.linkedin.metadata.entity;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.util.Pair;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Applies retention policies off the write path.
+ *
+ * Aspects to apply retention to are queued by (urn, aspect) along with the largest version written, so that an aspect
+ * written several times before retention is applied to it is only pruned once. A background thread takes the queued
+ * aspects in batches, once a batch is full or the flush interval has passed, and applies retention to them through
+ * {@link RetentionService#applyRetention(List)}, which storage-specific implementations may prune in bulk.
+ *
+ * Aspects which can not be queued because the backlog is full are dropped rather than holding up writes. Their extra
+ * versions are pruned by the next write of the aspect, or by {@link RetentionService#batchApplyRetention}.
+ */
+@Slf4j
+public class AsyncRetentionWorker {
+
+  private final RetentionService _retentionService;
+  private final int _maxPending;
+  private final int _maxBatchSize;
+  private final long _flushIntervalMillis;
+  // Largest version written of each queued (urn, aspect), in the order they were queued. Guarded by itself.
+  private final LinkedHashMap<Pair<Urn, String>, Long> _pending = new LinkedHashMap<>();
+  private final ExecutorService _worker;
+  private final Timer _applyLatency = MetricUtils.timer(this.getClass(), "applyLatency");
+  private volatile boolean _closed = false;
+
+  /**
+   * Constructor.
+   *
+   * @param retentionService the service to apply retention with
+   * @param maxPending the maximum number of aspects waiting for retention to be applied
+   * @param maxBatchSize the maximum number of aspects to apply retention to at once
+   * @param flushIntervalMillis how long to wait for a batch to fill up before applying retention to it
+   */
+  public AsyncRetentionWorker(@Nonnull RetentionService retentionService, int maxPending, int maxBatchSize,
+      long flushIntervalMillis) {
+    _retentionService = retentionService;
+    _maxPending = maxPending;
+    _maxBatchSize = maxBatchSize;
+    _flushIntervalMillis = flushIntervalMillis;
+
+    _worker = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("retention-worker").build());
+    _worker.submit(this::run);
+
+    MetricUtils.get().gauge(MetricRegistry.name(this.getClass(), "backlog"), () -> (Gauge<Integer>) this::getBacklog);
+  }
+
+  /**
+   * Queues an aspect to apply retention to.
+   *
+   * @param urn urn of the entity
+   * @param aspectName name of the aspect
+   * @param maxVersion the largest version of the aspect written
+   */
+  public void submit(@Nonnull Urn urn, @Nonnull String aspectName, long maxVersion) {
+    final Pair<Urn, String> key = Pair.of(urn, aspectName);
+    synchronized (_pending) {
+      final Long pendingVersion = _pending.get(key);
+      if (pendingVersion != null) {
+        _pending.put(key, Math.max(pendingVersion, maxVersion));
+        MetricUtils.counter(this.getClass(), "coalesced").inc();
+        return;
+      }
+      if (_closed || _pending.size() >= _maxPending) {
+        MetricUtils.counter(this.getClass(), "dropped").inc();
+        log.debug("Not applying retention to aspect {} of {}, the retention backlog is full", aspectName, urn);
+        return;
+      }
+      _pending.put(key, maxVersion);
+      if (_pending.size() >= _maxBatchSize) {
+        _pending.notifyAll();
+      }
+    }
+  }
+
+  public int getBacklog() {
+    synchronized (_pending) {
+      return _pending.size();
+    }
+  }
+
+  /**
+   * Stops accepting aspects, and waits for retention to be applied to the queued ones.
+   */
+  public void close() {
+    synchronized (_pending) {
+      _closed = true;
+      _pending.notifyAll();
+    }
+    _worker.shutdown();
+    try {
+      if (!_worker.awaitTermination(Math.max(_flushIntervalMillis, 1000) * 10, TimeUnit.MILLISECONDS)) {
+        log.warn("Timed out applying retention to {} queued aspects on shutdown", getBacklog());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    while (true) {
+      final List<RetentionService.RetentionTarget> batch;
+      try {
+        batch = takeBatch();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (batch == null) {
+        return;
+      }
+      if (!batch.isEmpty()) {
+        applyRetention(batch);
+      }
+    }
+  }
+
+  /**
+   * Waits for a full batch or for the flush interval to pass, and takes the oldest queued aspects.
+   *
+   * @return the batch, which may be empty, or null once closed and there is nothing left to apply retention to
+   */
+  @Nullable
+  private List<RetentionService.RetentionTarget> takeBatch() throws InterruptedException {
+    synchronized (_pending) {
+      if (!_closed && _pending.size() < _maxBatchSize) {
+        _pending.wait(_flushIntervalMillis);
+      }
+      if (_closed && _pending.isEmpty()) {
+        return null;
+      }
+      final List<RetentionService.RetentionTarget> batch = new ArrayList<>(Math.min(_pending.size(), _maxBatchSize));
+      final Iterator<Map.Entry<Pair<Urn, String>, Long>> entries = _pending.entrySet().iterator();
+      while (entries.hasNext() && batch.size() < _maxBatchSize) {
+        final Map.Entry<Pair<Urn, String>, Long> entry = entries.next();
+        batch.add(new RetentionService.RetentionTarget(entry.getKey().getFirst(), entry.getKey().getSecond(),
+            entry.getValue()));
+        entries.remove();
+      }
+      return batch;
+    }
+  }
+
+  private void applyRetention(@Nonnull List<RetentionService.RetentionTarget> batch) {
+    try (Timer.Context ignored = _applyLatency.time()) {
+      _retentionService.applyRetention(batch);
+      MetricUtils.counter(this.getClass(), "applied").inc(batch.size());
+    } catch (RuntimeException e) {
+      MetricUtils.counter(this.getClass(), "failed").inc(batch.size());
+      log.error("Failed to apply retention to {} aspects", batch.size(), e);
+    }
+  }
+}
@@ -19,7 +19,6 @@ import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.RelationshipFieldSpec;
-import com.linkedin.metadata.models.extractor.FieldExtractor;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.run.DeleteReferencesResponse;
 import com.linkedin.metadata.run.RelatedAspect;
@@ -335,8 +334,8 @@ public class DeleteEntityService {
         final RecordTemplate recordTemplate = RecordUtils.toRecordTemplate(aspectSpec.getDataTemplateClass(),
                 aspect.data());
 
-        final Map<RelationshipFieldSpec, List<Object>> extractFields = FieldExtractor.extractFields(recordTemplate,
-                aspectSpec.getRelationshipFieldSpecs());
+        final Map<RelationshipFieldSpec, List<Object>> extractFields = aspectSpec.getFieldExtractor()
+                .extractFields(recordTemplate, aspectSpec.getRelationshipFieldSpecs());
 
         // Is there is any instance of the relationship specs defined in the aspect's spec extracted from the
         // aspect record instance?
@@ -0,0 +1,210 @@
+package com.linkedin.metadata.entity;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.config.EntityAspectCacheConfiguration;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * In-process cache of the aspects of hot, rarely changing entity types, such as data platforms, users or tags, which are
+ * read for most search results.
+ *
+ * Aspects are cached by (urn, aspect, version) with their metadata already parsed, and aspects an entity does not have
+ * are cached as missing. Each cached entity type has a cache of its own, bounded by the estimated heap size of its
+ * aspects and by a TTL. Aspects of other entity types are always read from the {@link AspectDao}.
+ *
+ * Aspects are invalidated by the {@link EntityService} once it has written them, and by the MCLs of writes made by other
+ * instances. As a read may start before a write and complete after the aspect has been invalidated, aspects read from the
+ * {@link AspectDao} are only cached if no aspect of their entity type has been invalidated since the read started.
+ */
+@Slf4j
+public class EntityAspectCache {
+
+  // Estimated heap size of an entry besides its strings
+  private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+  /**
+   * A cached aspect, along with its parsed metadata.
+   */
+  public static class CachedEntityAspect extends EntityAspect {
+    private final DataMap _metadataMap;
+
+    CachedEntityAspect(@Nonnull EntityAspect aspect) {
+      super(aspect.getUrn(), aspect.getAspect(), aspect.getVersion(), aspect.getMetadata(), aspect.getSystemMetadata(),
+          aspect.getCreatedOn(), aspect.getCreatedBy(), aspect.getCreatedFor());
+      _metadataMap = EntityUtils.toDataMap(aspect.getMetadata());
+      _metadataMap.makeReadOnly();
+    }
+
+    /**
+     * Returns a copy of the parsed metadata, which the caller is free to modify.
+     */
+    @Nonnull
+    public DataMap copyMetadata() {
+      try {
+        return _metadataMap.copy();
+      } catch (CloneNotSupportedException e) {
+        throw new IllegalStateException("Failed to copy cached aspect metadata", e);
+      }
+    }
+  }
+
+  private static final class EntityTypeCache {
+    private final Cache<EntityAspectIdentifier, Optional<CachedEntityAspect>> _cache;
+    // Incremented whenever an aspect is invalidated
+    private final AtomicLong _generation = new AtomicLong();
+    private final AtomicLong _bytes = new AtomicLong();
+
+    private EntityTypeCache(@Nonnull String entityName, @Nonnull EntityAspectCacheConfiguration.EntityType config) {
+      _cache = CacheBuilder.newBuilder()
+          .maximumWeight(config.getMaxBytes())
+          .<EntityAspectIdentifier, Optional<CachedEntityAspect>>weigher(EntityAspectCache::weigh)
+          .expireAfterWrite(config.getTtlSeconds(), TimeUnit.SECONDS)
+          .removalListener((RemovalNotification<EntityAspectIdentifier, Optional<CachedEntityAspect>> removal) -> {
+            if (removal.getKey() != null && removal.getValue() != null) {
+              _bytes.addAndGet(-weigh(removal.getKey(), removal.getValue()));
+            }
+          })
+          .recordStats()
+          .build();
+      MetricUtils.get().gauge(MetricRegistry.name(EntityAspectCache.class, entityName, "hitRatio"),
+          () -> (Gauge<Double>) () -> _cache.stats().hitRate());
+      MetricUtils.get().gauge(MetricRegistry.name(EntityAspectCache.class, entityName, "bytes"),
+          () -> (Gauge<Long>) _bytes::get);
+      MetricUtils.get().gauge(MetricRegistry.name(EntityAspectCache.class, entityName, "entries"),
+          () -> (Gauge<Long>) _cache::size);
+    }
+
+    private void put(@Nonnull EntityAspectIdentifier key, @Nonnull Optional<CachedEntityAspect> value) {
+      _bytes.addAndGet(weigh(key, value));
+      _cache.put(key, value);
+    }
+  }
+
+  // By lower case entity name
+  private final Map<String, EntityTypeCache> _caches = new HashMap<>();
+
+  public EntityAspectCache(@Nonnull Map<String, EntityAspectCacheConfiguration.EntityType> entityTypes) {
+    entityTypes.forEach((entityName, config) -> _caches.put(entityName.toLowerCase(),
+        new EntityTypeCache(entityName, config)));
+  }
+
+  /**
+   * Returns the aspects with the given keys which exist, reading those which are not cached with the loader.
+   */
+  @Nonnull
+  public Map<EntityAspectIdentifier, EntityAspect> batchGet(@Nonnull Set<EntityAspectIdentifier> keys,
+      @Nonnull Function<Set<EntityAspectIdentifier>, Map<EntityAspectIdentifier, EntityAspect>> loader) {
+    final Map<EntityAspectIdentifier, EntityAspect> result = new HashMap<>();
+    final Set<EntityAspectIdentifier> keysToLoad = new HashSet<>();
+    final Map<EntityTypeCache, Long> generations = new HashMap<>();
+    for (EntityAspectIdentifier key : keys) {
+      final EntityTypeCache typeCache = getEntityTypeCache(key.getUrn());
+      final Optional<CachedEntityAspect> cached = typeCache == null ? null : typeCache._cache.getIfPresent(key);
+      if (cached == null) {
+        keysToLoad.add(key);
+        if (typeCache != null) {
+          generations.putIfAbsent(typeCache, typeCache._generation.get());
+        }
+      } else {
+        cached.ifPresent(aspect -> result.put(key, aspect));
+      }
+    }
+    if (keysToLoad.isEmpty()) {
+      return result;
+    }
+
+    final Map<EntityAspectIdentifier, EntityAspect> loaded = loader.apply(keysToLoad);
+    for (EntityAspectIdentifier key : keysToLoad) {
+      EntityAspect aspect = loaded.get(key);
+      final EntityTypeCache typeCache = getEntityTypeCache(key.getUrn());
+      if (typeCache != null) {
+        final long generation = generations.get(typeCache);
+        final Optional<CachedEntityAspect> value = toCached(aspect);
+        if (value != null && typeCache._generation.get() == generation) {
+          typeCache.put(key, value);
+          // Drop it again if it was invalidated while being put
+          if (typeCache._generation.get() != generation) {
+            typeCache._cache.invalidate(key);
+          }
+          aspect = value.orElse(null);
+        }
+      }
+      if (aspect != null) {
+        result.put(key, aspect);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Invalidates the cached versions of an aspect of an entity, or of all its aspects if the aspect name is null.
+   */
+  public void invalidate(@Nonnull String urn, @Nullable String aspectName) {
+    final EntityTypeCache typeCache = getEntityTypeCache(urn);
+    if (typeCache == null) {
+      return;
+    }
+    typeCache._generation.incrementAndGet();
+    typeCache._cache.asMap()
+        .keySet()
+        .removeIf(key -> key.getUrn().equals(urn) && (aspectName == null || key.getAspect().equals(aspectName)));
+  }
+
+  @Nullable
+  private EntityTypeCache getEntityTypeCache(@Nonnull String urn) {
+    // urn:li:<entity type>:<key>
+    final int namespaceEnd = urn.indexOf(':', urn.indexOf(':') + 1);
+    final int typeEnd = namespaceEnd < 0 ? -1 : urn.indexOf(':', namespaceEnd + 1);
+    if (typeEnd < 0) {
+      return null;
+    }
+    return _caches.get(urn.substring(namespaceEnd + 1, typeEnd).toLowerCase());
+  }
+
+  /**
+   * Returns the value caching the aspect, or null if it can not be cached.
+   */
+  @Nullable
+  private static Optional<CachedEntityAspect> toCached(@Nullable EntityAspect aspect) {
+    if (aspect == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(new CachedEntityAspect(aspect));
+    } catch (RuntimeException e) {
+      log.warn("Failed to parse aspect {} of {}, not caching it", aspect.getAspect(), aspect.getUrn(), e);
+      return null;
+    }
+  }
+
+  private static int weigh(@Nonnull EntityAspectIdentifier key, @Nonnull Optional<CachedEntityAspect> value) {
+    long bytes = ENTRY_OVERHEAD_BYTES + 2L * (key.getUrn().length() + key.getAspect().length());
+    if (value.isPresent()) {
+      // The metadata is held both as a string and parsed, which takes about as much heap again
+      bytes += 4L * length(value.get().getMetadata()) + 2L * length(value.get().getSystemMetadata())
+          + 2L * length(value.get().getCreatedBy());
+    }
+    return (int) Math.min(bytes, Integer.MAX_VALUE);
+  }
+
+  private static int length(@Nullable String value) {
+    return value == null ? 0 : value.length();
+  }
+}
@@ -1,8 +1,10 @@
 package com.linkedin.metadata.entity;
 
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.datahub.util.RecordUtils;
 import com.datahub.util.exception.ModelConversionException;
+import com.datahub.util.exception.RetryLimitReached;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
@@ -41,6 +43,7 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.ListUrnsResult;
 import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.timeline.TimelineService;
 import com.linkedin.metadata.utils.DataPlatformInstanceUtils;
 import com.linkedin.metadata.utils.EntityKeyUtils;
 import com.linkedin.metadata.utils.GenericRecordUtils;
@@ -62,7 +65,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -132,6 +139,22 @@ public class EntityService {
     boolean didUpdate;
   }
 
+  /**
+   * A {@link MetadataChangeProposal} that passed validation, along with its resolved urn, spec and deserialized aspect.
+   */
+  @Value
+  private static class ValidatedProposal {
+    MetadataChangeProposal proposal;
+    Urn urn;
+    AspectSpec aspectSpec;
+    RecordTemplate aspect;
+    SystemMetadata systemMetadata;
+
+    String getAspectName() {
+      return proposal.getAspectName();
+    }
+  }
+
   private static final int DEFAULT_MAX_TRANSACTION_RETRY = 3;
 
   protected final AspectDao _aspectDao;
@@ -139,7 +162,15 @@ public class EntityService {
   private final EntityRegistry _entityRegistry;
   private final Map<String, Set<String>> _entityToValidAspects;
   private RetentionService _retentionService;
+  private AsyncRetentionWorker _retentionWorker;
+  private TimelineService _timelineService;
+  // Null if aspects are always read from the DB
+  private EntityAspectCache _aspectCache;
   private final Boolean _alwaysEmitAuditEvent = false;
+  // Entity types to not produce legacy MAEs for, all of them if it contains *
+  private Set<String> _legacyMaeDisabledEntityTypes = Collections.emptySet();
+  // Content type new aspect versions are stored in. Aspects stored in any supported content type can be read.
+  private String _aspectStorageContentType = GenericRecordUtils.JSON;
   public static final String DEFAULT_RUN_ID = "no-run-id-provided";
   public static final String BROWSE_PATHS = "browsePaths";
   public static final String DATA_PLATFORM_INSTANCE = "dataPlatformInstance";
@@ -168,7 +199,7 @@ public class EntityService {
       @Nonnull final Set<Urn> urns,
       @Nonnull final Set<String> aspectNames) {
 
-    Map<EntityAspectIdentifier, EntityAspect> batchGetResults = getLatestAspect(urns, aspectNames);
+    Map<EntityAspectIdentifier, EntityAspect> batchGetResults = batchGet(getLatestAspectKeys(urns, aspectNames));
 
     // Fetch from db and populate urn -> aspect map.
     final Map<Urn, List<RecordTemplate>> urnToAspects = new HashMap<>();
@@ -192,8 +223,7 @@ public class EntityService {
         return;
       }
 
-      final RecordTemplate aspectRecord =
-          EntityUtils.toAspectRecord(urn, aspectName, aspectEntry.getMetadata(), getEntityRegistry());
+      final RecordTemplate aspectRecord = toAspectRecord(urn, aspectName, aspectEntry);
       urnToAspects.putIfAbsent(urn, new ArrayList<>());
       urnToAspects.get(urn).add(aspectRecord);
     });
@@ -203,12 +233,13 @@ public class EntityService {
 
   @Nonnull
   public Map<String, RecordTemplate> getLatestAspectsForUrn(@Nonnull final Urn urn, @Nonnull final Set<String> aspectNames) {
-    Map<EntityAspectIdentifier, EntityAspect> batchGetResults = getLatestAspect(new HashSet<>(Arrays.asList(urn)), aspectNames);
+    Map<EntityAspectIdentifier, EntityAspect> batchGetResults =
+        batchGet(getLatestAspectKeys(new HashSet<>(Arrays.asList(urn)), aspectNames));
 
     final Map<String, RecordTemplate> result = new HashMap<>();
     batchGetResults.forEach((key, aspectEntry) -> {
       final String aspectName = key.getAspect();
-      final RecordTemplate aspectRecord = EntityUtils.toAspectRecord(urn, aspectName, aspectEntry.getMetadata(), getEntityRegistry());
+      final RecordTemplate aspectRecord = toAspectRecord(urn, aspectName, aspectEntry);
       result.put(aspectName, aspectRecord);
     });
     return result;
@@ -232,9 +263,9 @@ public class EntityService {
 
     version = calculateVersionNumber(urn, aspectName, version);
     final EntityAspectIdentifier primaryKey = new EntityAspectIdentifier(urn.toString(), aspectName, version);
-    final Optional<EntityAspect> maybeAspect = Optional.ofNullable(_aspectDao.getAspect(primaryKey));
-    return maybeAspect.map(
-        aspect -> EntityUtils.toAspectRecord(urn, aspectName, aspect.getMetadata(), getEntityRegistry())).orElse(null);
+    final Optional<EntityAspect> maybeAspect = _aspectCache == null ? Optional.ofNullable(_aspectDao.getAspect(primaryKey))
+        : Optional.ofNullable(batchGet(Collections.singleton(primaryKey)).get(primaryKey));
+    return maybeAspect.map(aspect -> toAspectRecord(urn, aspectName, aspect)).orElse(null);
   }
 
   /**
@@ -692,10 +723,15 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
     final SystemMetadata oldSystemMetadata = result.getOldSystemMetadata();
     final SystemMetadata updatedSystemMetadata = result.getNewSystemMetadata();
 
+    invalidateCachedAspect(urn.toString(), aspectName);
+
     // Apply retention policies asynchronously if there was an update to existing aspect value
-    if (oldValue != updatedValue && oldValue != null && _retentionService != null) {
-      _retentionService.applyRetention(urn, aspectName,
-              Optional.of(new RetentionService.RetentionContext(Optional.of(result.maxVersion))));
+    if (oldValue != updatedValue && oldValue != null) {
+      applyRetention(urn, aspectName, result.maxVersion);
+    }
+
+    if (oldValue != updatedValue && _timelineService != null) {
+      _timelineService.materializeChangeLog(urn, aspectName);
     }
 
     // Produce MCL after a successful update
@@ -713,14 +749,16 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
           updatedSystemMetadata, result.getAuditStamp(), ChangeType.UPSERT);
       produceMCLTimer.stop();
 
-      // For legacy reasons, keep producing to the MAE event stream without blocking ingest
-      try {
-        Timer.Context produceMAETimer = MetricUtils.timer(this.getClass(), "produceMAE").time();
-        produceMetadataAuditEvent(urn, aspectName, oldValue, updatedValue, result.getOldSystemMetadata(),
-            result.getNewSystemMetadata(), MetadataAuditOperation.UPDATE);
-        produceMAETimer.stop();
-      } catch (Exception e) {
-        log.warn("Unable to produce legacy MAE, entity may not have legacy Snapshot schema.", e);
+      // For legacy reasons, keep producing to the MAE event stream without blocking ingest, unless disabled
+      if (isLegacyMaeEnabled(entityName)) {
+        try {
+          Timer.Context produceMAETimer = MetricUtils.timer(this.getClass(), "produceMAE").time();
+          produceMetadataAuditEvent(urn, aspectName, oldValue, updatedValue, result.getOldSystemMetadata(),
+              result.getNewSystemMetadata(), MetadataAuditOperation.UPDATE);
+          produceMAETimer.stop();
+        } catch (Exception e) {
+          log.warn("Unable to produce legacy MAE, entity may not have legacy Snapshot schema.", e);
+        }
       }
     } else {
       log.debug("Skipped producing MetadataAuditEvent for ingested aspect {}, urn {}. Aspect has not changed.",
@@ -743,6 +781,86 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
   public IngestProposalResult ingestProposal(@Nonnull MetadataChangeProposal metadataChangeProposal,
       AuditStamp auditStamp) {
 
+    final ValidatedProposal proposal = validateProposal(metadataChangeProposal);
+
+    UpdateAspectResult result = null;
+    if (!proposal.getAspectSpec().isTimeseries()) {
+      Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestProposalToLocalDB").time();
+      result = wrappedIngestAspectToLocalDB(proposal.getUrn(), proposal.getAspectName(), ignored -> proposal.getAspect(),
+          auditStamp, proposal.getSystemMetadata());
+      ingestToLocalDBTimer.stop();
+    }
+
+    return produceProposalChangeLog(proposal, result, auditStamp);
+  }
+
+  /**
+   * Ingest a batch of {@link MetadataChangeProposal}s. Semantically equivalent to calling
+   * {@link #ingestProposal(MetadataChangeProposal, AuditStamp)} for each proposal in order, but versioned aspects are
+   * written to the local DB in as few transactions as possible: each transaction reads the latest version of all of its
+   * (urn, aspect) pairs with a single batch get, resolves their next versions with a single query and batches the
+   * resulting inserts and updates.
+   *
+   * A transaction never contains the same (urn, aspect) pair twice, so repeated updates to an aspect are spread over
+   * consecutive transactions. If a transaction cannot be committed, for example because a concurrent writer touched one of
+   * its keys, its proposals are re-applied one at a time with the usual per-aspect retries.
+   *
+   * All proposals are validated before any is written, so an invalid proposal fails the whole batch without writing
+   * anything. Change logs are produced for each transaction as soon as it commits, and change logs of timeseries
+   * proposals once all versioned aspects are written. If writing fails part way, a {@link PartialIngestException} holds
+   * the results of the proposals committed before, so that callers only ingest the others again.
+   *
+   * @param metadataChangeProposals the proposals to ingest
+   * @param auditStamp an audit stamp representing the time and actor proposing the changes
+   * @return an {@link IngestProposalResult} for each of the provided proposals, in order
+   */
+  @Nonnull
+  public List<IngestProposalResult> ingestProposals(@Nonnull final List<MetadataChangeProposal> metadataChangeProposals,
+      @Nonnull final AuditStamp auditStamp) {
+
+    log.debug("Invoked ingestProposals with {} proposals", metadataChangeProposals.size());
+
+    final List<ValidatedProposal> proposals = metadataChangeProposals.stream()
+        .map(this::validateProposal)
+        .collect(Collectors.toList());
+    // Versioned aspects are validated like in ingestAspectToLocalDB, but before the first transaction commits
+    proposals.stream().filter(proposal -> !proposal.getAspectSpec().isTimeseries()).forEach(proposal -> {
+      validateUrn(proposal.getUrn());
+      validateAspect(proposal.getUrn(), proposal.getAspect());
+    });
+
+    MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "ingestProposalsBatchSize"))
+        .update(proposals.size());
+
+    final List<IngestProposalResult> results = new ArrayList<>(Collections.nCopies(proposals.size(), null));
+    try {
+      for (List<Integer> batch : partitionVersionedProposals(proposals)) {
+        Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestProposalsToLocalDB").time();
+        final List<UpdateAspectResult> batchResults = ingestProposalBatchToLocalDB(
+            batch.stream().map(proposals::get).collect(Collectors.toList()), auditStamp);
+        ingestToLocalDBTimer.stop();
+        // Produce the change logs of each committed batch before writing the next one, so that they are not lost if a
+        // later batch fails
+        for (int i = 0; i < batch.size(); i++) {
+          final int index = batch.get(i);
+          results.set(index, produceProposalChangeLog(proposals.get(index), batchResults.get(i), auditStamp));
+        }
+      }
+
+      for (int i = 0; i < proposals.size(); i++) {
+        if (proposals.get(i).getAspectSpec().isTimeseries()) {
+          results.set(i, produceProposalChangeLog(proposals.get(i), null, auditStamp));
+        }
+      }
+    } catch (RuntimeException e) {
+      MetricUtils.counter(this.getClass(), "ingestProposalsPartialFailure").inc();
+      throw new PartialIngestException(results, e);
+    }
+    return results;
+  }
+
+  @Nonnull
+  private ValidatedProposal validateProposal(@Nonnull final MetadataChangeProposal metadataChangeProposal) {
     log.debug("entity type = {}", metadataChangeProposal.getEntityType());
     EntitySpec entitySpec = getEntityRegistry().getEntitySpec(metadataChangeProposal.getEntityType());
     log.debug("entity spec = {}", entitySpec);
@@ -783,25 +901,110 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
     systemMetadata.setRegistryName(aspectSpec.getRegistryName());
     systemMetadata.setRegistryVersion(aspectSpec.getRegistryVersion().toString());
 
+    return new ValidatedProposal(metadataChangeProposal, entityUrn, aspectSpec, aspect, systemMetadata);
+  }
+
+  /**
+   * Splits the versioned (non-timeseries) proposals into batches of indexes such that each batch holds at most
+   * {@link #MAX_KEYS_PER_QUERY} proposals and never the same (urn, aspect) pair twice. Batches preserve the original
+   * ordering of the proposals.
+   */
+  @Nonnull
+  private List<List<Integer>> partitionVersionedProposals(@Nonnull final List<ValidatedProposal> proposals) {
+    final List<List<Integer>> batches = new ArrayList<>();
+    List<Integer> currentBatch = new ArrayList<>();
+    Set<Pair<Urn, String>> currentKeys = new HashSet<>();
+    for (int i = 0; i < proposals.size(); i++) {
+      final ValidatedProposal proposal = proposals.get(i);
+      if (proposal.getAspectSpec().isTimeseries()) {
+        continue;
+      }
+      final Pair<Urn, String> key = Pair.of(proposal.getUrn(), proposal.getAspectName());
+      if (currentKeys.contains(key) || currentBatch.size() >= MAX_KEYS_PER_QUERY) {
+        batches.add(currentBatch);
+        currentBatch = new ArrayList<>();
+        currentKeys = new HashSet<>();
+      }
+      currentBatch.add(i);
+      currentKeys.add(key);
+    }
+    if (!currentBatch.isEmpty()) {
+      batches.add(currentBatch);
+    }
+    return batches;
+  }
+
+  /**
+   * Writes a batch of versioned proposals with distinct (urn, aspect) pairs to the local DB in a single transaction,
+   * falling back to per-proposal transactions if the batch cannot be committed.
+   */
+  @Nonnull
+  private List<UpdateAspectResult> ingestProposalBatchToLocalDB(@Nonnull final List<ValidatedProposal> batch,
+      @Nonnull final AuditStamp auditStamp) {
+    try {
+      return _aspectDao.runInTransactionWithRetry(() -> {
+        final Set<EntityAspectIdentifier> dbKeys = batch.stream()
+            .map(proposal -> new EntityAspectIdentifier(proposal.getUrn().toString(), proposal.getAspectName(),
+                ASPECT_LATEST_VERSION))
+            .collect(Collectors.toSet());
+        final Map<EntityAspectIdentifier, EntityAspect> latestAspects = _aspectDao.batchGet(dbKeys);
+        final Map<String, Map<String, Long>> nextVersions = _aspectDao.getNextVersions(batch.stream()
+            .collect(Collectors.groupingBy(proposal -> proposal.getUrn().toString(),
+                Collectors.mapping(ValidatedProposal::getAspectName, Collectors.toSet()))));
+
+        final List<UpdateAspectResult> results = new ArrayList<>(batch.size());
+        for (ValidatedProposal proposal : batch) {
+          final String urnStr = proposal.getUrn().toString();
+          final EntityAspect latest =
+              latestAspects.get(new EntityAspectIdentifier(urnStr, proposal.getAspectName(), ASPECT_LATEST_VERSION));
+          final long nextVersion = nextVersions.get(urnStr).get(proposal.getAspectName());
+          results.add(ingestAspectToLocalDBNoTransaction(proposal.getUrn(), proposal.getAspectName(),
+              ignored -> proposal.getAspect(), auditStamp, proposal.getSystemMetadata(), latest, nextVersion));
+        }
+        return results;
+      }, 0);
+    } catch (RetryLimitReached e) {
+      log.warn("Failed to ingest a batch of {} proposals in a single transaction, retrying proposals one by one.",
+          batch.size(), e);
+      MetricUtils.counter(this.getClass(), "ingestProposalsBatchFallback").inc();
+      return batch.stream()
+          .map(proposal -> ingestAspectToLocalDB(proposal.getUrn(), proposal.getAspectName(),
+              ignored -> proposal.getAspect(), auditStamp, proposal.getSystemMetadata()))
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Applies retention and produces the {@link MetadataChangeLog} for a proposal once it has been persisted.
+   *
+   * @param proposal the validated proposal
+   * @param result the result of writing the proposal to the local DB, or null for timeseries aspects
+   * @param auditStamp an audit stamp representing the time and actor proposing the change
+   */
+  @Nonnull
+  private IngestProposalResult produceProposalChangeLog(@Nonnull final ValidatedProposal proposal,
+      @Nullable final UpdateAspectResult result, @Nonnull final AuditStamp auditStamp) {
+    final MetadataChangeProposal metadataChangeProposal = proposal.getProposal();
+    final Urn entityUrn = proposal.getUrn();
+    final AspectSpec aspectSpec = proposal.getAspectSpec();
+
     RecordTemplate oldAspect = null;
     SystemMetadata oldSystemMetadata = null;
-    RecordTemplate newAspect = aspect;
-    SystemMetadata newSystemMetadata = systemMetadata;
+    RecordTemplate newAspect = proposal.getAspect();
+    SystemMetadata newSystemMetadata = proposal.getSystemMetadata();
 
-    if (!aspectSpec.isTimeseries()) {
-      Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestProposalToLocalDB").time();
-      UpdateAspectResult result =
-          wrappedIngestAspectToLocalDB(entityUrn, metadataChangeProposal.getAspectName(), ignored -> aspect, auditStamp,
-              systemMetadata);
-      ingestToLocalDBTimer.stop();
+    if (result != null) {
       oldAspect = result.getOldValue();
       oldSystemMetadata = result.getOldSystemMetadata();
       newAspect = result.getNewValue();
       newSystemMetadata = result.getNewSystemMetadata();
+      invalidateCachedAspect(entityUrn.toString(), aspectSpec.getName());
       // Apply retention policies asynchronously if there was an update to existing aspect value
-      if (oldAspect != newAspect && oldAspect != null && _retentionService != null) {
-        _retentionService.applyRetention(entityUrn, aspectSpec.getName(),
-            Optional.of(new RetentionService.RetentionContext(Optional.of(result.maxVersion))));
+      if (oldAspect != newAspect && oldAspect != null) {
+        applyRetention(entityUrn, aspectSpec.getName(), result.maxVersion);
+      }
+      if (oldAspect != newAspect && _timelineService != null) {
+        _timelineService.materializeChangeLog(entityUrn, aspectSpec.getName());
       }
     }
 
@@ -844,8 +1047,6 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
   @Nonnull
   public RestoreIndicesResult restoreIndices(@Nonnull RestoreIndicesArgs args, @Nonnull Consumer<String> logger) {
     RestoreIndicesResult result = new RestoreIndicesResult();
-    int ignored = 0;
-    int rowsMigrated = 0;
     logger.accept(String.format("Args are %s", args));
     logger.accept(String.format(
             "Reading rows %s through %s from the aspects table started.", args.start, args.start + args.batchSize));
@@ -857,74 +1058,163 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
             "Reading rows %s through %s from the aspects table completed.", args.start, args.start + args.batchSize));
 
     for (EbeanAspectV2 aspect : rows.getList()) {
-      // 1. Extract an Entity type from the entity Urn
       result.timeGetRowMs = System.currentTimeMillis() - startTime;
+      restoreIndex(aspect, result, logger);
       startTime = System.currentTimeMillis();
-      Urn urn;
-      try {
-        urn = Urn.createFromString(aspect.getKey().getUrn());
-      } catch (Exception e) {
-        logger.accept(String.format("Failed to bind Urn with value %s into Urn object: %s. Ignoring row.",
-                aspect.getKey().getUrn(), e));
-        ignored = ignored + 1;
-        continue;
-      }
-      result.timeUrnMs += System.currentTimeMillis() - startTime;
-      startTime = System.currentTimeMillis();
+    }
+    return result;
+  }
 
-      // 2. Verify that the entity associated with the aspect is found in the registry.
-      final String entityName = urn.getEntityType();
-      final EntitySpec entitySpec;
-      try {
-        entitySpec = _entityRegistry.getEntitySpec(entityName);
-      } catch (Exception e) {
-        logger.accept(String.format("Failed to find entity with name %s in Entity Registry: %s. Ignoring row.",
-                entityName, e));
-        ignored = ignored + 1;
-        continue;
+  /**
+   * Restores the indices of the latest aspects matching the args, reading them in (urn, aspect) order by key range
+   * rather than by offset, starting after the (lastUrn, lastAspect) cursor of the args if set. Only supported if
+   * {@link #supportsStreamRestoreIndices()}.
+   *
+   * MCLs are produced asynchronously. After every batch of args.batchSize rows, this waits for all of the batch's MCLs to
+   * be acknowledged and then passes the urn and aspect of the batch's last row to the checkpoint consumer, so that an
+   * interrupted restore can be resumed from there. If an MCL fails to send, the restore stops without checkpointing the
+   * batch.
+   */
+  @Nonnull
+  public RestoreIndicesResult streamRestoreIndices(@Nonnull RestoreIndicesArgs args, @Nonnull Consumer<String> logger,
+      @Nonnull BiConsumer<String, String> checkpoint) {
+    final RestoreIndicesResult result = new RestoreIndicesResult();
+    final List<Future<?>> pendingSends = new ArrayList<>();
+    final AtomicReference<EbeanAspectV2> lastAspect = new AtomicReference<>();
+    final AtomicInteger rowsInBatch = new AtomicInteger(0);
+
+    _aspectDao.streamAspects(args, aspect -> {
+      final Future<?> send = restoreIndex(aspect, result, logger);
+      if (send != null) {
+        pendingSends.add(send);
       }
-      result.timeEntityRegistryCheckMs += System.currentTimeMillis() - startTime;
-      startTime = System.currentTimeMillis();
-      final String aspectName = aspect.getKey().getAspect();
-
-      // 3. Verify that the aspect is a valid aspect associated with the entity
-      AspectSpec aspectSpec = entitySpec.getAspectSpec(aspectName);
-      if (aspectSpec == null) {
-        logger.accept(String.format("Failed to find aspect with name %s associated with entity named %s", aspectName,
-                entityName));
-        ignored = ignored + 1;
-        continue;
+      lastAspect.set(aspect);
+      if (rowsInBatch.incrementAndGet() >= args.batchSize) {
+        completeRestoreBatch(pendingSends, lastAspect.get(), checkpoint, result);
+        rowsInBatch.set(0);
+        if (args.batchDelayMs > 0) {
+          try {
+            Thread.sleep(args.batchDelayMs);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while restoring indices", e);
+          }
+        }
       }
-      result.aspectCheckMs += System.currentTimeMillis() - startTime;
-      startTime = System.currentTimeMillis();
+    });
+    if (rowsInBatch.get() > 0) {
+      completeRestoreBatch(pendingSends, lastAspect.get(), checkpoint, result);
+    }
+    return result;
+  }
+
+  /**
+   * Whether the aspect store supports {@link #streamRestoreIndices} and {@link #getUrnRangeBoundaries}.
+   */
+  public boolean supportsStreamRestoreIndices() {
+    return _aspectDao.supportsStreamingAspects();
+  }
 
-      // 4. Create record from json aspect
-      final RecordTemplate aspectRecord;
+  /**
+   * Returns urns which split the latest aspects matching the args into ranges of about rowsPerRange rows each, which can
+   * then be restored in parallel with {@link #streamRestoreIndices}.
+   */
+  @Nonnull
+  public List<String> getUrnRangeBoundaries(@Nonnull RestoreIndicesArgs args, int rowsPerRange) {
+    return _aspectDao.getUrnRangeBoundaries(args, rowsPerRange);
+  }
+
+  private void completeRestoreBatch(@Nonnull List<Future<?>> pendingSends, @Nonnull EbeanAspectV2 lastAspect,
+      @Nonnull BiConsumer<String, String> checkpoint, @Nonnull RestoreIndicesResult result) {
+    final long startTime = System.currentTimeMillis();
+    for (Future<?> send : pendingSends) {
       try {
-        aspectRecord = EntityUtils.toAspectRecord(entityName, aspectName, aspect.getMetadata(), _entityRegistry);
-      } catch (Exception e) {
-        logger.accept(String.format("Failed to deserialize row %s for entity %s, aspect %s: %s. Ignoring row.",
-                aspect.getMetadata(), entityName, aspectName, e));
-        ignored = ignored + 1;
-        continue;
+        send.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for MCLs to be sent", e);
+      } catch (ExecutionException e) {
+        throw new RuntimeException(String.format("Failed to send MCL, stopping before urn %s, aspect %s",
+            lastAspect.getKey().getUrn(), lastAspect.getKey().getAspect()), e.getCause());
       }
-      result.createRecordMs += System.currentTimeMillis() - startTime;
-      startTime = System.currentTimeMillis();
+    }
+    pendingSends.clear();
+    result.sendMessageMs += System.currentTimeMillis() - startTime;
+    checkpoint.accept(lastAspect.getKey().getUrn(), lastAspect.getKey().getAspect());
+  }
+
+  /**
+   * Produces a RESTATE MCL for a single row of the aspects table, updating the counters and timings of the result.
+   *
+   * @return the pending send of the MCL, or null if the row was ignored
+   */
+  @Nullable
+  private Future<?> restoreIndex(@Nonnull EbeanAspectV2 aspect, @Nonnull RestoreIndicesResult result,
+      @Nonnull Consumer<String> logger) {
+    long startTime = System.currentTimeMillis();
+    // 1. Extract an Entity type from the entity Urn
+    Urn urn;
+    try {
+      urn = Urn.createFromString(aspect.getKey().getUrn());
+    } catch (Exception e) {
+      logger.accept(String.format("Failed to bind Urn with value %s into Urn object: %s. Ignoring row.",
+              aspect.getKey().getUrn(), e));
+      result.ignored++;
+      return null;
+    }
+    result.timeUrnMs += System.currentTimeMillis() - startTime;
+    startTime = System.currentTimeMillis();
 
-      SystemMetadata latestSystemMetadata = EntityUtils.parseSystemMetadata(aspect.getSystemMetadata());
+    // 2. Verify that the entity associated with the aspect is found in the registry.
+    final String entityName = urn.getEntityType();
+    final EntitySpec entitySpec;
+    try {
+      entitySpec = _entityRegistry.getEntitySpec(entityName);
+    } catch (Exception e) {
+      logger.accept(String.format("Failed to find entity with name %s in Entity Registry: %s. Ignoring row.",
+              entityName, e));
+      result.ignored++;
+      return null;
+    }
+    result.timeEntityRegistryCheckMs += System.currentTimeMillis() - startTime;
+    startTime = System.currentTimeMillis();
+    final String aspectName = aspect.getKey().getAspect();
 
-      // 5. Produce MAE events for the aspect record
-      produceMetadataChangeLog(urn, entityName, aspectName, aspectSpec, null, aspectRecord, null,
-              latestSystemMetadata,
-              new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(System.currentTimeMillis()),
-              ChangeType.RESTATE);
-      result.sendMessageMs += System.currentTimeMillis() - startTime;
+    // 3. Verify that the aspect is a valid aspect associated with the entity
+    AspectSpec aspectSpec = entitySpec.getAspectSpec(aspectName);
+    if (aspectSpec == null) {
+      logger.accept(String.format("Failed to find aspect with name %s associated with entity named %s", aspectName,
+              entityName));
+      result.ignored++;
+      return null;
+    }
+    result.aspectCheckMs += System.currentTimeMillis() - startTime;
+    startTime = System.currentTimeMillis();
 
-      rowsMigrated++;
+    // 4. Create record from json aspect
+    final RecordTemplate aspectRecord;
+    try {
+      aspectRecord = EntityUtils.toAspectRecord(entityName, aspectName, aspect.getMetadata(), _entityRegistry);
+    } catch (Exception e) {
+      logger.accept(String.format("Failed to deserialize row %s for entity %s, aspect %s: %s. Ignoring row.",
+              aspect.getMetadata(), entityName, aspectName, e));
+      result.ignored++;
+      return null;
     }
-    result.ignored = ignored;
-    result.rowsMigrated = rowsMigrated;
-    return result;
+    result.createRecordMs += System.currentTimeMillis() - startTime;
+    startTime = System.currentTimeMillis();
+
+    SystemMetadata latestSystemMetadata = EntityUtils.parseSystemMetadata(aspect.getSystemMetadata());
+
+    // 5. Produce MAE events for the aspect record
+    final Future<?> send = produceMetadataChangeLog(urn, entityName, aspectName, aspectSpec, null, aspectRecord, null,
+            latestSystemMetadata,
+            new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(System.currentTimeMillis()),
+            ChangeType.RESTATE);
+    result.sendMessageMs += System.currentTimeMillis() - startTime;
+
+    result.rowsMigrated++;
+    return send;
   }
 
   /**
@@ -1059,12 +1349,12 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
    * @param aspectSpec AspectSpec of the aspect being updated
    * @param metadataChangeLog metadata change log to push into MCL kafka topic
    */
-  public void produceMetadataChangeLog(@Nonnull final Urn urn, AspectSpec aspectSpec,
+  public Future<?> produceMetadataChangeLog(@Nonnull final Urn urn, AspectSpec aspectSpec,
       @Nonnull final MetadataChangeLog metadataChangeLog) {
-    _producer.produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
+    return _producer.produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
   }
 
-  public void produceMetadataChangeLog(@Nonnull final Urn urn, @Nonnull String entityName, @Nonnull String aspectName,
+  public Future<?> produceMetadataChangeLog(@Nonnull final Urn urn, @Nonnull String entityName, @Nonnull String aspectName,
       @Nonnull final AspectSpec aspectSpec, @Nullable final RecordTemplate oldAspectValue,
       @Nullable final RecordTemplate newAspectValue, @Nullable final SystemMetadata oldSystemMetadata,
       @Nullable final SystemMetadata newSystemMetadata, @Nonnull AuditStamp auditStamp, @Nonnull final ChangeType changeType) {
@@ -1086,7 +1376,7 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
     if (oldSystemMetadata != null) {
       metadataChangeLog.setPreviousSystemMetadata(oldSystemMetadata);
     }
-    produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
+    return produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
   }
 
   public RecordTemplate getLatestAspect(@Nonnull final Urn urn, @Nonnull final String aspectName) {
@@ -1314,6 +1604,33 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
     _retentionService = retentionService;
   }
 
+  public void setRetentionWorker(AsyncRetentionWorker retentionWorker) {
+    _retentionWorker = retentionWorker;
+  }
+
+  public void setTimelineService(TimelineService timelineService) {
+    _timelineService = timelineService;
+  }
+
+  public void setAspectCache(EntityAspectCache aspectCache) {
+    _aspectCache = aspectCache;
+  }
+
+  public void setLegacyMaeDisabledEntityTypes(@Nonnull Set<String> legacyMaeDisabledEntityTypes) {
+    _legacyMaeDisabledEntityTypes = legacyMaeDisabledEntityTypes;
+  }
+
+  private boolean isLegacyMaeEnabled(@Nonnull String entityName) {
+    return !_legacyMaeDisabledEntityTypes.contains("*") && !_legacyMaeDisabledEntityTypes.contains(entityName);
+  }
+
+  public void setAspectStorageContentType(@Nonnull String contentType) {
+    if (!GenericRecordUtils.isSupportedContentType(contentType)) {
+      throw new IllegalArgumentException(String.format("%s content type is not supported", contentType));
+    }
+    _aspectStorageContentType = contentType;
+  }
+
   protected Set<String> getEntityAspectNames(final Urn entityUrn) {
     return getEntityAspectNames(urnToEntityName(entityUrn));
   }
@@ -1531,6 +1848,8 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
         return null;
       }
     }, DEFAULT_MAX_TRANSACTION_RETRY);
+    // Deleting the key aspect deletes the whole entity
+    invalidateCachedAspect(urn, result != null && Boolean.TRUE.equals(result.getKeyAffected()) ? null : aspectName);
 
     return result;
   }
@@ -1563,25 +1882,86 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
         .setTime(System.currentTimeMillis());
   }
 
+  /**
+   * Reads the latest aspects from the DB, bypassing the aspect cache, for read-modify-write transactions.
+   */
   @Nonnull
   private Map<EntityAspectIdentifier, EntityAspect> getLatestAspect(@Nonnull final Set<Urn> urns, @Nonnull final Set<String> aspectNames) {
 
     log.debug("Invoked getLatestAspects with urns: {}, aspectNames: {}", urns, aspectNames);
 
-    // Create DB keys
-    final Set<EntityAspectIdentifier> dbKeys = urns.stream().map(urn -> {
+    return batchGetFromDB(getLatestAspectKeys(urns, aspectNames));
+  }
+
+  @Nonnull
+  private Set<EntityAspectIdentifier> getLatestAspectKeys(@Nonnull final Set<Urn> urns,
+      @Nonnull final Set<String> aspectNames) {
+    return urns.stream().map(urn -> {
       final Set<String> aspectsToFetch = aspectNames.isEmpty() ? getEntityAspectNames(urn) : aspectNames;
       return aspectsToFetch.stream()
           .map(aspectName -> new EntityAspectIdentifier(urn.toString(), aspectName, ASPECT_LATEST_VERSION))
           .collect(Collectors.toList());
     }).flatMap(List::stream).collect(Collectors.toSet());
+  }
 
+  /**
+   * Reads aspects through the aspect cache, if there is one.
+   */
+  @Nonnull
+  private Map<EntityAspectIdentifier, EntityAspect> batchGet(@Nonnull final Set<EntityAspectIdentifier> dbKeys) {
+    if (_aspectCache == null) {
+      return batchGetFromDB(dbKeys);
+    }
+    return _aspectCache.batchGet(dbKeys, this::batchGetFromDB);
+  }
+
+  @Nonnull
+  private Map<EntityAspectIdentifier, EntityAspect> batchGetFromDB(@Nonnull final Set<EntityAspectIdentifier> dbKeys) {
     Map<EntityAspectIdentifier, EntityAspect> batchGetResults = new HashMap<>();
     Iterators.partition(dbKeys.iterator(), MAX_KEYS_PER_QUERY)
         .forEachRemaining(batch -> batchGetResults.putAll(_aspectDao.batchGet(ImmutableSet.copyOf(batch))));
     return batchGetResults;
   }
 
+  /**
+   * Deserializes an aspect, copying its parsed metadata rather than parsing it again if it was read from the cache.
+   */
+  @Nonnull
+  private RecordTemplate toAspectRecord(@Nonnull final Urn urn, @Nonnull final String aspectName,
+      @Nonnull final EntityAspect aspectEntry) {
+    if (aspectEntry instanceof EntityAspectCache.CachedEntityAspect) {
+      final AspectSpec aspectSpec = getEntityRegistry().getEntitySpec(urnToEntityName(urn)).getAspectSpec(aspectName);
+      if (aspectSpec != null) {
+        return RecordUtils.toRecordTemplate(aspectSpec.getDataTemplateClass(),
+            ((EntityAspectCache.CachedEntityAspect) aspectEntry).copyMetadata());
+      }
+    }
+    return EntityUtils.toAspectRecord(urn, aspectName, aspectEntry.getMetadata(), getEntityRegistry());
+  }
+
+  private void invalidateCachedAspect(@Nonnull final String urn, @Nullable final String aspectName) {
+    if (_aspectCache != null) {
+      _aspectCache.invalidate(urn, aspectName);
+    }
+    if (_retentionService != null
+        && urn.startsWith("urn:li:" + RetentionService.DATAHUB_RETENTION_ENTITY + ":")) {
+      _retentionService.invalidateRetentionCache();
+    }
+  }
+
+  /**
+   * Applies retention to an aspect once a new version of it has been written, in the background if an
+   * {@link AsyncRetentionWorker} is set.
+   */
+  private void applyRetention(@Nonnull final Urn urn, @Nonnull final String aspectName, final long maxVersion) {
+    if (_retentionWorker != null) {
+      _retentionWorker.submit(urn, aspectName, maxVersion);
+    } else if (_retentionService != null) {
+      _retentionService.applyRetention(urn, aspectName,
+          Optional.of(new RetentionService.RetentionContext(Optional.of(maxVersion))));
+    }
+  }
+
   /*
    * When a user tries to fetch a negative version, we want to index most recent to least recent snapshots.
    * To do this, we want to fetch the maximum version and subtract the negative version from that. Since -1 represents
@@ -1596,7 +1976,7 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
 
   private Map<EntityAspectIdentifier, EnvelopedAspect> getEnvelopedAspects(final Set<EntityAspectIdentifier> dbKeys) {
     final Map<EntityAspectIdentifier, EnvelopedAspect> result = new HashMap<>();
-    final Map<EntityAspectIdentifier, EntityAspect> dbEntries = _aspectDao.batchGet(dbKeys);
+    final Map<EntityAspectIdentifier, EntityAspect> dbEntries = batchGet(dbKeys);
 
     for (EntityAspectIdentifier currKey : dbKeys) {
 
@@ -1608,8 +1988,9 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
       }
 
       // Aspect found. Now turn it into an EnvelopedAspect
-      final com.linkedin.entity.Aspect aspect = RecordUtils.toRecordTemplate(com.linkedin.entity.Aspect.class, currAspectEntry
-          .getMetadata());
+      final com.linkedin.entity.Aspect aspect = currAspectEntry instanceof EntityAspectCache.CachedEntityAspect
+          ? new com.linkedin.entity.Aspect(((EntityAspectCache.CachedEntityAspect) currAspectEntry).copyMetadata())
+          : EntityUtils.toRecordTemplate(com.linkedin.entity.Aspect.class, currAspectEntry.getMetadata());
       final EnvelopedAspect envelopedAspect = new EnvelopedAspect();
       envelopedAspect.setName(currAspectEntry.getAspect());
       envelopedAspect.setVersion(currAspectEntry.getVersion());
@@ -1688,10 +2069,11 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
 
     // 4. Save the newValue as the latest version
     log.debug("Ingesting aspect with name {}, urn {}", aspectName, urn);
-    long versionOfOld = _aspectDao.saveLatestAspect(urn.toString(), aspectName, latest == null ? null : EntityUtils.toJsonAspect(oldValue),
+    long versionOfOld = _aspectDao.saveLatestAspect(urn.toString(), aspectName,
+        latest == null ? null : EntityUtils.toStoredAspect(oldValue, _aspectStorageContentType),
         latest == null ? null : latest.getCreatedBy(), latest == null ? null : latest.getCreatedFor(),
         latest == null ? null : latest.getCreatedOn(), latest == null ? null : latest.getSystemMetadata(),
-        EntityUtils.toJsonAspect(newValue), auditStamp.getActor().toString(),
+        EntityUtils.toStoredAspect(newValue, _aspectStorageContentType), auditStamp.getActor().toString(),
         auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null,
         new Timestamp(auditStamp.getTime()), EntityUtils.toJsonAspect(providedSystemMetadata), nextVersion);
 
@@ -1739,13 +2121,15 @@ private Map<Urn, List<EnvelopedAspect>> getCorrespondingAspects(Set<EntityAspect
       newSystemMetadata.setLastObserved(System.currentTimeMillis());
 
       log.debug("Updating aspect with name {}, urn {}", aspectName, urn);
-      _aspectDao.saveAspect(urn.toString(), aspectName, EntityUtils.toJsonAspect(value), auditStamp.getActor().toString(),
+      _aspectDao.saveAspect(urn.toString(), aspectName, EntityUtils.toStoredAspect(value, _aspectStorageContentType),
+          auditStamp.getActor().toString(),
           auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null,
           new Timestamp(auditStamp.getTime()), EntityUtils.toJsonAspect(newSystemMetadata), version, oldAspect == null);
 
       return new UpdateAspectResult(urn, oldValue, value, oldSystemMetadata, newSystemMetadata,
           MetadataAuditOperation.UPDATE, auditStamp, version);
     }, maxTransactionRetry);
+    invalidateCachedAspect(urn.toString(), aspectName);
 
     final RecordTemplate oldValue = result.getOldValue();
     final RecordTemplate newValue = result.getNewValue();
@@ -4,15 +4,25 @@ import com.datahub.util.RecordUtils;
 import com.google.common.base.Preconditions;
 import com.linkedin.common.Status;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.metadata.utils.PegasusUtils;
 import com.linkedin.mxe.SystemMetadata;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
 
 import javax.annotation.Nonnull;
 
@@ -22,6 +32,17 @@ import static com.linkedin.metadata.entity.EntityService.DEFAULT_RUN_ID;
 @Slf4j
 public class EntityUtils {
 
+  /**
+   * Prefix of aspect metadata stored as PSON, which is deflated and then base64 encoded to fit the text metadata
+   * column. JSON metadata always starts with '{', so both can be stored side by side.
+   *
+   * PSON is compressed because on its own it is barely smaller than JSON, which base64 would then make larger: field
+   * names are repeated for every record of an array, e.g. for every field of a schema, and deflate removes that.
+   */
+  public static final String PSON_METADATA_PREFIX = "pson:";
+
+  private static final JacksonDataCodec JSON_CODEC = new JacksonDataCodec();
+
   private EntityUtils() {
   }
 
@@ -30,6 +51,121 @@ public class EntityUtils {
     return RecordUtils.toJsonString(aspectRecord);
   }
 
+  /**
+   * Serializes the aspect for the metadata column of the aspect table, in the given content type.
+   */
+  @Nonnull
+  public static String toStoredAspect(@Nonnull final RecordTemplate aspectRecord, @Nonnull final String contentType) {
+    if (GenericRecordUtils.JSON.equals(contentType)) {
+      return toJsonAspect(aspectRecord);
+    }
+    return toStoredMetadata(aspectRecord.data(), contentType);
+  }
+
+  /**
+   * Converts aspect metadata read from the aspect table to the given content type, without deserializing it into its
+   * aspect class. Returns the metadata as is if it is already stored in that content type.
+   */
+  @Nonnull
+  public static String convertStoredAspect(@Nonnull final String metadata, @Nonnull final String contentType) {
+    if (getStoredContentType(metadata).equals(contentType)) {
+      return metadata;
+    }
+    if (GenericRecordUtils.JSON.equals(contentType)) {
+      return toJsonMetadata(metadata);
+    }
+    try {
+      return toStoredMetadata(JSON_CODEC.stringToMap(metadata), contentType);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to parse aspect metadata as JSON", e);
+    }
+  }
+
+  @Nonnull
+  private static String toStoredMetadata(@Nonnull final DataMap dataMap, @Nonnull final String contentType) {
+    if (GenericRecordUtils.PSON.equals(contentType)) {
+      final byte[] pson = GenericRecordUtils.toPsonBytes(dataMap);
+      return PSON_METADATA_PREFIX + Base64.getEncoder().encodeToString(deflate(pson));
+    }
+    throw new IllegalArgumentException(String.format("%s content type is not supported", contentType));
+  }
+
+  /**
+   * Returns the content type aspect metadata read from the aspect table was stored in.
+   */
+  @Nonnull
+  public static String getStoredContentType(@Nonnull final String metadata) {
+    return metadata.startsWith(PSON_METADATA_PREFIX) ? GenericRecordUtils.PSON : GenericRecordUtils.JSON;
+  }
+
+  /**
+   * Deserializes aspect metadata read from the aspect table, whichever content type it was stored in.
+   */
+  @Nonnull
+  public static <T extends RecordTemplate> T toRecordTemplate(@Nonnull final Class<T> clazz,
+      @Nonnull final String metadata) {
+    if (metadata.startsWith(PSON_METADATA_PREFIX)) {
+      return RecordUtils.toRecordTemplate(clazz, psonToDataMap(metadata));
+    }
+    return RecordUtils.toRecordTemplate(clazz, metadata);
+  }
+
+  /**
+   * Returns aspect metadata read from the aspect table as JSON, whichever content type it was stored in.
+   */
+  @Nonnull
+  public static String toJsonMetadata(@Nonnull final String metadata) {
+    if (!metadata.startsWith(PSON_METADATA_PREFIX)) {
+      return metadata;
+    }
+    try {
+      return JSON_CODEC.mapToString(psonToDataMap(metadata));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to convert aspect metadata to JSON", e);
+    }
+  }
+
+  /**
+   * Parses aspect metadata read from the aspect table, whichever content type it was stored in.
+   */
+  @Nonnull
+  public static DataMap toDataMap(@Nonnull final String metadata) {
+    if (metadata.startsWith(PSON_METADATA_PREFIX)) {
+      return psonToDataMap(metadata);
+    }
+    try {
+      return JSON_CODEC.stringToMap(metadata);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to parse aspect metadata as JSON", e);
+    }
+  }
+
+  @Nonnull
+  private static DataMap psonToDataMap(@Nonnull final String psonMetadata) {
+    return GenericRecordUtils.fromPsonBytes(
+        inflate(Base64.getDecoder().decode(psonMetadata.substring(PSON_METADATA_PREFIX.length()))));
+  }
+
+  @Nonnull
+  private static byte[] deflate(@Nonnull final byte[] bytes) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+    try (DeflaterOutputStream deflater = new DeflaterOutputStream(output)) {
+      deflater.write(bytes);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to compress aspect metadata", e);
+    }
+    return output.toByteArray();
+  }
+
+  @Nonnull
+  private static byte[] inflate(@Nonnull final byte[] bytes) {
+    try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+      return IOUtils.toByteArray(inflater);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to decompress aspect metadata", e);
+    }
+  }
+
   @Nonnull
   public static RecordTemplate toAspectRecord(
       @Nonnull final Urn entityUrn,
@@ -42,7 +178,7 @@ public class EntityUtils {
   /**
    * @param entityName
    * @param aspectName
-   * @param jsonAspect
+   * @param jsonAspect aspect metadata as stored in the aspect table, either JSON or PSON
    * @param entityRegistry
    * @return a RecordTemplate which has been validated, validation errors are logged as warnings
    */
@@ -56,7 +192,7 @@ public class EntityUtils {
     //TODO: aspectSpec can be null here
     Preconditions.checkState(aspectSpec != null, String.format("Aspect %s could not be found", aspectName));
     final RecordDataSchema aspectSchema = aspectSpec.getPegasusSchema();
-    RecordTemplate aspectRecord = RecordUtils.toRecordTemplate(aspectSpec.getDataTemplateClass(), jsonAspect);
+    RecordTemplate aspectRecord = toRecordTemplate(aspectSpec.getDataTemplateClass(), jsonAspect);
     RecordTemplateValidator.validate(aspectRecord, validationFailure -> {
       log.warn(String.format("Failed to validate record %s against its schema.", aspectRecord));
     });
@@ -2,6 +2,7 @@ package com.linkedin.metadata.entity;
 
 import com.linkedin.metadata.query.ListResultMetadata;
 import java.util.List;
+import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
@@ -38,4 +39,13 @@ public class ListResult<T> {
 
   // Size of each page
   int pageSize;
+
+  // Opaque token to pass back to read the page after this one, or null if there is none
+  @Nullable
+  String continuation;
+
+  public ListResult(List<T> values, ListResultMetadata metadata, int nextStart, boolean hasNext, int totalCount,
+      int totalPageCount, int pageSize) {
+    this(values, metadata, nextStart, hasNext, totalCount, totalPageCount, pageSize, null);
+  }
 }
@@ -0,0 +1,34 @@
+package com.linkedin.metadata.entity;
+
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Exception thrown when ingesting a batch of proposals fails after some of them were committed, with the results of the
+ * committed ones, so that only the others are ingested again.
+ */
+public class PartialIngestException extends RuntimeException {
+  private final List<EntityService.IngestProposalResult> _results;
+
+  /**
+   * @param results the result of each proposal of the batch, in order, or null for those which were not committed
+   */
+  public PartialIngestException(@Nonnull final List<EntityService.IngestProposalResult> results,
+      @Nonnull final Throwable cause) {
+    super(cause.getMessage(), cause);
+    _results = Collections.unmodifiableList(results);
+  }
+
+  @Nonnull
+  public List<EntityService.IngestProposalResult> getResults() {
+    return _results;
+  }
+
+  @Nullable
+  public EntityService.IngestProposalResult getResult(int index) {
+    return _results.get(index);
+  }
+}
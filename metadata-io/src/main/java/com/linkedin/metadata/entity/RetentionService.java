@@ -1,5 +1,7 @@
 package com.linkedin.metadata.entity;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.AuditStamp;
@@ -20,6 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -30,6 +34,10 @@ import lombok.Value;
 /**
  * Service coupled with an {@link EntityService} to handle aspect record retention.
  *
+ * Retention policies are cached by entity and aspect name. The {@link EntityService} invalidates them whenever it writes
+ * to a {@link #DATAHUB_RETENTION_ENTITY} entity, and they expire after {@link #RETENTION_CACHE_TTL_SECONDS} to pick up
+ * the policies written by other instances.
+ *
  * TODO: This class is abstract with storage-specific implementations. It'd be nice to pull storage and retention
  *       concerns apart, let (into {@link AspectDao}) deal with storage, and merge all retention concerns into a single
  *       class.
@@ -40,6 +48,15 @@ public abstract class RetentionService {
   protected static final String DATAHUB_RETENTION_ASPECT = "dataHubRetentionConfig";
   protected static final String DATAHUB_RETENTION_KEY_ASPECT = "dataHubRetentionKey";
 
+  private static final long RETENTION_CACHE_TTL_SECONDS = 60;
+
+  // By entity name and aspect name
+  private final Cache<List<String>, Retention> _retentionCache = CacheBuilder.newBuilder()
+      .expireAfterWrite(RETENTION_CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+      .build();
+  // Incremented whenever the cache is invalidated
+  private final AtomicLong _retentionCacheGeneration = new AtomicLong();
+
   protected abstract EntityService getEntityService();
 
   /**
@@ -51,6 +68,29 @@ public abstract class RetentionService {
    * @return retention policies to apply to the input entity and aspect
    */
   public Retention getRetention(@Nonnull String entityName, @Nonnull String aspectName) {
+    final List<String> cacheKey = ImmutableList.of(entityName, aspectName);
+    final Retention cached = _retentionCache.getIfPresent(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
+    final long generation = _retentionCacheGeneration.get();
+    final Retention retention = fetchRetention(entityName, aspectName);
+    // Policies read while they were being changed may be stale
+    if (_retentionCacheGeneration.get() == generation) {
+      _retentionCache.put(cacheKey, retention);
+    }
+    return retention;
+  }
+
+  /**
+   * Invalidates the cached retention policies, once a retention policy has been written.
+   */
+  public void invalidateRetentionCache() {
+    _retentionCacheGeneration.incrementAndGet();
+    _retentionCache.invalidateAll();
+  }
+
+  private Retention fetchRetention(@Nonnull String entityName, @Nonnull String aspectName) {
     // Prioritized list of retention keys to fetch
     List<Urn> retentionUrns = getRetentionKeys(entityName, aspectName);
     Map<Urn, List<RecordTemplate>> fetchedAspects =
@@ -176,6 +216,18 @@ public abstract class RetentionService {
   public abstract void applyRetention(@Nonnull Urn urn, @Nonnull String aspectName, Retention retentionPolicy,
       Optional<RetentionContext> retentionContext);
 
+  /**
+   * Apply retention policies to a batch of aspects. Storage-specific implementations may prune all of them at once.
+   *
+   * @param targets Aspects to apply retention to, each with the largest version written
+   */
+  public void applyRetention(@Nonnull List<RetentionTarget> targets) {
+    for (RetentionTarget target : targets) {
+      applyRetention(target.getUrn(), target.getAspectName(),
+          Optional.of(new RetentionContext(Optional.of(target.getMaxVersion()))));
+    }
+  }
+
   /**
    * Batch apply retention to all records that match the input entityName and aspectName
    *
@@ -188,4 +240,11 @@ public abstract class RetentionService {
   public static class RetentionContext {
     Optional<Long> maxVersion;
   }
+
+  @Value
+  public static class RetentionTarget {
+    Urn urn;
+    String aspectName;
+    long maxVersion;
+  }
 }
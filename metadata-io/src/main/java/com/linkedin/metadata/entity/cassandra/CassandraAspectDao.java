@@ -4,17 +4,19 @@ import com.datahub.util.exception.ModelConversionException;
 import com.datahub.util.exception.RetryLimitReached;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
-import com.datastax.oss.driver.api.core.paging.OffsetPager;
-import com.datastax.oss.driver.api.core.paging.OffsetPager.Page;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
-import com.datastax.oss.driver.api.querybuilder.insert.Insert;
+import com.datastax.oss.driver.api.querybuilder.select.Select;
 import com.datastax.oss.driver.api.querybuilder.select.Selector;
 import com.datastax.oss.driver.api.querybuilder.term.Term;
-import com.datastax.oss.driver.api.querybuilder.update.Update;
-import com.datastax.oss.driver.api.querybuilder.update.UpdateWithAssignments;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.AuditStamp;
@@ -30,32 +32,86 @@ import com.linkedin.metadata.query.ExtraInfo;
 import com.linkedin.metadata.query.ExtraInfoArray;
 import com.linkedin.metadata.query.ListResultMetadata;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import io.ebean.PagedList;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.*;
 import static com.linkedin.metadata.Constants.*;
 
+/**
+ * {@link AspectDao} storing aspects in Cassandra.
+ *
+ * Queries on the hot path are prepared once and then bound, batch reads are fanned out asynchronously with a bounded
+ * number of reads in flight, and the rows written for a single aspect, which share the urn partition, are written in a
+ * single unlogged batch.
+ *
+ * List queries return where their page ends as a continuation, the paging state of the driver, which the caller passes
+ * back to read the next page from there instead of scanning all the rows before it again. Queries over all urns resume
+ * after the token of the last urn the caller read instead. Unlike offsets, both keep pointing to the same row when rows
+ * before it are inserted or deleted. Partitions are stored in the order of the tokens of their urns, so streaming
+ * aspects and the urn ranges it is split into follow that order rather than the lexicographic order of the urns.
+ */
 @Slf4j
 public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
 
+  public static final int DEFAULT_MAX_CONCURRENT_READS = 64;
+
+  // Rows fetched at once when skipping the rows before the start of a page read by offset
+  private static final int MAX_SKIP_FETCH_SIZE = 5000;
+
+  private static final String INSERT_ASPECT = "insertAspect";
+  private static final String UPDATE_ASPECT = "updateAspect";
+  private static final String GET_ASPECT = "getAspect";
+  private static final String GET_ALL_ASPECTS = "getAllAspects";
+  private static final String GET_MAX_VERSIONS = "getMaxVersions";
+  private static final String DELETE_ASPECT = "deleteAspect";
+  private static final String DELETE_URN = "deleteUrn";
+  private static final String LIST_URNS = "listUrns";
+  private static final String LIST_URNS_AFTER = "listUrnsAfter";
+
+  /**
+   * The rows of a page of a list query, and the continuation to read the page after it with, or null if there is none.
+   */
+  @Value
+  private static class Page {
+    List<Row> rows;
+    String continuation;
+  }
+
   private final CqlSession _cqlSession;
+  private final int _maxConcurrentReads;
+  private final Map<String, PreparedStatement> _preparedStatements = new ConcurrentHashMap<>();
   private boolean _canWrite = true;
   private boolean _connectionValidated = false;
 
   public CassandraAspectDao(@Nonnull final CqlSession cqlSession) {
+    this(cqlSession, DEFAULT_MAX_CONCURRENT_READS);
+  }
+
+  public CassandraAspectDao(@Nonnull final CqlSession cqlSession, final int maxConcurrentReads) {
     _cqlSession = cqlSession;
+    _maxConcurrentReads = maxConcurrentReads;
   }
 
   public void setConnectionValidated(boolean validated) {
@@ -119,17 +175,17 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
   }
 
   private Map<String, Long> getMaxVersions(@Nonnull final String urn, @Nonnull final Set<String> aspectNames) {
-    SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
+    PreparedStatement ps = prepare(GET_MAX_VERSIONS, () -> selectFrom(CassandraAspect.TABLE_NAME)
         .selectors(
             Selector.column(CassandraAspect.URN_COLUMN),
             Selector.column(CassandraAspect.ASPECT_COLUMN),
             Selector.function("max", Selector.column(CassandraAspect.VERSION_COLUMN)).as(CassandraAspect.VERSION_COLUMN))
-        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn))
-        .whereColumn(CassandraAspect.ASPECT_COLUMN).in(aspectNamesToLiterals(aspectNames))
+        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(bindMarker())
+        .whereColumn(CassandraAspect.ASPECT_COLUMN).in(bindMarker())
         .groupBy(ImmutableList.of(Selector.column(CassandraAspect.URN_COLUMN), Selector.column(CassandraAspect.ASPECT_COLUMN)))
-        .build();
+        .build());
 
-    ResultSet rs = _cqlSession.execute(ss);
+    ResultSet rs = _cqlSession.execute(ps.bind(urn, new ArrayList<>(aspectNames)));
     Map<String, Long> aspectVersions = rs.all().stream()
         .collect(Collectors.toMap(
             row -> row.getString(CassandraAspect.ASPECT_COLUMN),
@@ -148,6 +204,11 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
   @Override
   public void saveAspect(@Nonnull EntityAspect aspect, final boolean insert) {
     validateConnection();
+    _cqlSession.execute(bindSaveAspect(aspect, insert));
+  }
+
+  @Nonnull
+  private BoundStatement bindSaveAspect(@Nonnull EntityAspect aspect, final boolean insert) {
     String entity;
 
     try {
@@ -157,44 +218,64 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
     }
 
     if (insert) {
-      Insert ri = insertInto(CassandraAspect.TABLE_NAME)
-        .value(CassandraAspect.URN_COLUMN, literal(aspect.getUrn()))
-        .value(CassandraAspect.ASPECT_COLUMN, literal(aspect.getAspect()))
-        .value(CassandraAspect.VERSION_COLUMN, literal(aspect.getVersion()))
-        .value(CassandraAspect.SYSTEM_METADATA_COLUMN, literal(aspect.getSystemMetadata()))
-        .value(CassandraAspect.METADATA_COLUMN, literal(aspect.getMetadata()))
-        .value(CassandraAspect.CREATED_ON_COLUMN, literal(aspect.getCreatedOn().getTime()))
-        .value(CassandraAspect.CREATED_FOR_COLUMN, literal(aspect.getCreatedFor()))
-        .value(CassandraAspect.ENTITY_COLUMN, literal(entity))
-        .value(CassandraAspect.CREATED_BY_COLUMN, literal(aspect.getCreatedBy()));
-      _cqlSession.execute(ri.build());
-    } else {
-
-      UpdateWithAssignments uwa = update(CassandraAspect.TABLE_NAME)
-        .setColumn(CassandraAspect.METADATA_COLUMN, literal(aspect.getMetadata()))
-        .setColumn(CassandraAspect.SYSTEM_METADATA_COLUMN, literal(aspect.getSystemMetadata()))
-        .setColumn(CassandraAspect.CREATED_ON_COLUMN, literal(aspect.getCreatedOn().getTime()))
-        .setColumn(CassandraAspect.CREATED_BY_COLUMN, literal(aspect.getCreatedBy()))
-        .setColumn(CassandraAspect.CREATED_FOR_COLUMN, literal(aspect.getCreatedFor()));
-
-      Update u = uwa.whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(aspect.getUrn()))
-        .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(literal(aspect.getAspect()))
-        .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(literal(aspect.getVersion()));
-
-      _cqlSession.execute(u.build());
+      PreparedStatement ps = prepare(INSERT_ASPECT, () -> insertInto(CassandraAspect.TABLE_NAME)
+        .value(CassandraAspect.URN_COLUMN, bindMarker())
+        .value(CassandraAspect.ASPECT_COLUMN, bindMarker())
+        .value(CassandraAspect.VERSION_COLUMN, bindMarker())
+        .value(CassandraAspect.SYSTEM_METADATA_COLUMN, bindMarker())
+        .value(CassandraAspect.METADATA_COLUMN, bindMarker())
+        .value(CassandraAspect.CREATED_ON_COLUMN, bindMarker())
+        .value(CassandraAspect.CREATED_FOR_COLUMN, bindMarker())
+        .value(CassandraAspect.ENTITY_COLUMN, bindMarker())
+        .value(CassandraAspect.CREATED_BY_COLUMN, bindMarker())
+        .build());
+      return ps.bind(aspect.getUrn(), aspect.getAspect(), aspect.getVersion(), aspect.getSystemMetadata(),
+          aspect.getMetadata(), aspect.getCreatedOn().toInstant(), aspect.getCreatedFor(), entity, aspect.getCreatedBy());
     }
+
+    PreparedStatement ps = prepare(UPDATE_ASPECT, () -> update(CassandraAspect.TABLE_NAME)
+      .setColumn(CassandraAspect.METADATA_COLUMN, bindMarker())
+      .setColumn(CassandraAspect.SYSTEM_METADATA_COLUMN, bindMarker())
+      .setColumn(CassandraAspect.CREATED_ON_COLUMN, bindMarker())
+      .setColumn(CassandraAspect.CREATED_BY_COLUMN, bindMarker())
+      .setColumn(CassandraAspect.CREATED_FOR_COLUMN, bindMarker())
+      .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(bindMarker())
+      .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(bindMarker())
+      .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(bindMarker())
+      .build());
+    return ps.bind(aspect.getMetadata(), aspect.getSystemMetadata(), aspect.getCreatedOn().toInstant(),
+        aspect.getCreatedBy(), aspect.getCreatedFor(), aspect.getUrn(), aspect.getAspect(), aspect.getVersion());
   }
 
-  // TODO: can further improve by running the sub queries in parallel
-  // TODO: look into supporting pagination
   @Override
   @Nonnull
   public Map<EntityAspectIdentifier, EntityAspect> batchGet(@Nonnull final Set<EntityAspectIdentifier> keys) {
     validateConnection();
-    return keys.stream()
-        .map(this::getAspect)
-        .filter(Objects::nonNull)
-        .collect(Collectors.toMap(EntityAspect::toAspectIdentifier, aspect -> aspect));
+    final PreparedStatement ps = getAspectStatement();
+    final Semaphore permits = new Semaphore(_maxConcurrentReads);
+    final List<CompletableFuture<AsyncResultSet>> futures = new ArrayList<>(keys.size());
+    try {
+      for (EntityAspectIdentifier key : keys) {
+        permits.acquire();
+        CompletableFuture<AsyncResultSet> future =
+            _cqlSession.executeAsync(ps.bind(key.getUrn(), key.getAspect(), key.getVersion())).toCompletableFuture();
+        future.whenComplete((rs, e) -> permits.release());
+        futures.add(future);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while reading aspects", e);
+    }
+
+    final Map<EntityAspectIdentifier, EntityAspect> aspects = new HashMap<>();
+    for (CompletableFuture<AsyncResultSet> future : futures) {
+      Row row = join(future).one();
+      if (row != null) {
+        EntityAspect aspect = CassandraAspect.rowToEntityAspect(row);
+        aspects.put(aspect.toAspectIdentifier(), aspect);
+      }
+    }
+    return aspects;
   }
 
   @Override
@@ -223,6 +304,31 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
       final long version,
       final int start,
       final int pageSize) {
+    return listAspectMetadata(entityName, aspectName, version, start, null, pageSize);
+  }
+
+  @Override
+  @Nonnull
+  public ListResult<String> listAspectMetadata(
+      @Nonnull final String entityName,
+      @Nonnull final String aspectName,
+      final long version,
+      @Nullable final String continuation,
+      final int pageSize) {
+    return listAspectMetadata(entityName, aspectName, version, null, continuation, pageSize);
+  }
+
+  /**
+   * Returns the page of aspect metadata which starts at the given offset, or else at the continuation.
+   */
+  @Nonnull
+  private ListResult<String> listAspectMetadata(
+      @Nonnull final String entityName,
+      @Nonnull final String aspectName,
+      final long version,
+      @Nullable final Integer start,
+      @Nullable final String continuation,
+      final int pageSize) {
 
     validateConnection();
     SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
@@ -233,14 +339,10 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
       .allowFiltering()
       .build();
 
-    ResultSet rs = _cqlSession.execute(ss);
-
-    int pageNumber = start / pageSize + 1;
-    OffsetPager offsetPager = new OffsetPager(pageSize);
-    Page<Row> page = offsetPager.getPage(rs, pageNumber);
+    int pageNumber = start == null ? 1 : start / pageSize + 1;
 
-    final List<EntityAspect> aspects = page
-      .getElements()
+    final Page page = getPage(ss, continuation, start == null ? 0 : start, pageSize);
+    final List<EntityAspect> aspects = page.getRows()
       .stream().map(CassandraAspect::rowToEntityAspect)
       .collect(Collectors.toList());
 
@@ -266,7 +368,8 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
             .map(CassandraAspectDao::toExtraInfo)
             .collect(Collectors.toList()));
 
-    return toListResult(aspectMetadatas, listResultMetadata, start, pageNumber, pageSize, totalCount);
+    return toListResult(aspectMetadatas, listResultMetadata, start, pageNumber, pageSize, totalCount,
+        page.getContinuation());
   }
 
   @Override
@@ -278,7 +381,8 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
 
     do {
       try {
-        // TODO: Try to bend this code to make use of Cassandra batches. This method is called from single-urn operations, so perf should not suffer much
+        // Blocks read before they write, so their writes can not be deferred to a batch. The rows written for an aspect
+        // are batched by saveLatestAspect instead.
         return block.get();
       } catch (DriverException exception) {
         lastException = exception;
@@ -291,12 +395,14 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
   private <T> ListResult<T> toListResult(
       @Nonnull final List<T> values,
       final ListResultMetadata listResultMetadata,
-      @Nonnull final Integer start,
+      @Nullable final Integer start,
       @Nonnull final Integer pageNumber,
       @Nonnull final Integer pageSize,
-      final long totalCount) {
+      final long totalCount,
+      @Nullable final String continuation) {
     final int numPages = (int) (totalCount / pageSize + (totalCount % pageSize == 0 ? 0 : 1));
-    final boolean hasNext = pageNumber < numPages;
+    // Pages read from a continuation have no offset, so only the continuation tells whether there may be more rows
+    final boolean hasNext = start == null ? continuation != null : pageNumber < numPages;
 
     final int nextStart = (start != null && hasNext) ? (pageNumber * pageSize) : ListResult.INVALID_NEXT_START;
 
@@ -308,6 +414,7 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
       .totalCount((int) totalCount)
       .totalPageCount(numPages)
       .pageSize(pageSize)
+      .continuation(continuation)
       .build();
   }
 
@@ -351,35 +458,35 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
   @Override
   public void deleteAspect(@Nonnull final EntityAspect aspect) {
     validateConnection();
-    SimpleStatement ss = deleteFrom(CassandraAspect.TABLE_NAME)
-        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(aspect.getUrn()))
-        .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(literal(aspect.getAspect()))
-        .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(literal(aspect.getVersion()))
-        .build();
+    PreparedStatement ps = prepare(DELETE_ASPECT, () -> deleteFrom(CassandraAspect.TABLE_NAME)
+        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(bindMarker())
+        .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(bindMarker())
+        .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(bindMarker())
+        .build());
 
-    _cqlSession.execute(ss);
+    _cqlSession.execute(ps.bind(aspect.getUrn(), aspect.getAspect(), aspect.getVersion()));
   }
 
   @Override
   public int deleteUrn(@Nonnull final String urn) {
     validateConnection();
-    SimpleStatement ss = deleteFrom(CassandraAspect.TABLE_NAME)
-        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn))
-        .build();
-    ResultSet rs = _cqlSession.execute(ss);
+    PreparedStatement ps = prepare(DELETE_URN, () -> deleteFrom(CassandraAspect.TABLE_NAME)
+        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(bindMarker())
+        .build());
+    ResultSet rs = _cqlSession.execute(ps.bind(urn));
     // TODO: look into how to get around this for counts in Cassandra
     // https://stackoverflow.com/questions/28611459/how-to-know-affected-rows-in-cassandracql
     return rs.getExecutionInfo().getErrors().size() == 0 ? -1 : 0;
   }
 
   public List<EntityAspect> getAllAspects(String urn, String aspectName) {
-    SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
+    PreparedStatement ps = prepare(GET_ALL_ASPECTS, () -> selectFrom(CassandraAspect.TABLE_NAME)
         .all()
-        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn))
-        .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(literal(aspectName))
-        .build();
+        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(bindMarker())
+        .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(bindMarker())
+        .build());
 
-    ResultSet rs = _cqlSession.execute(ss);
+    ResultSet rs = _cqlSession.execute(ps.bind(urn, aspectName));
     return rs.all().stream().map(CassandraAspect::rowToEntityAspect).collect(Collectors.toList());
   }
 
@@ -387,19 +494,22 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
   @Nullable
   public EntityAspect getAspect(@Nonnull String urn, @Nonnull String aspectName, long version) {
     validateConnection();
-    SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
-      .all()
-      .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn))
-      .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(literal(aspectName))
-      .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(literal(version))
-      .limit(1)
-      .build();
-
-    ResultSet rs = _cqlSession.execute(ss);
+    ResultSet rs = _cqlSession.execute(getAspectStatement().bind(urn, aspectName, version));
     Row row = rs.one();
     return row == null ? null : CassandraAspect.rowToEntityAspect(row);
   }
 
+  @Nonnull
+  private PreparedStatement getAspectStatement() {
+    return prepare(GET_ASPECT, () -> selectFrom(CassandraAspect.TABLE_NAME)
+      .all()
+      .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(bindMarker())
+      .whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(bindMarker())
+      .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(bindMarker())
+      .limit(1)
+      .build());
+  }
+
   @Override
   @Nonnull
   public ListResult<String> listUrns(
@@ -407,6 +517,29 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
       @Nonnull final String aspectName,
       final int start,
       final int pageSize) {
+    return listUrns(entityName, aspectName, start, null, pageSize);
+  }
+
+  @Override
+  @Nonnull
+  public ListResult<String> listUrns(
+      @Nonnull final String entityName,
+      @Nonnull final String aspectName,
+      @Nullable final String continuation,
+      final int pageSize) {
+    return listUrns(entityName, aspectName, null, continuation, pageSize);
+  }
+
+  /**
+   * Returns the page of urns which starts at the given offset, or else at the continuation.
+   */
+  @Nonnull
+  private ListResult<String> listUrns(
+      @Nonnull final String entityName,
+      @Nonnull final String aspectName,
+      @Nullable final Integer start,
+      @Nullable final String continuation,
+      final int pageSize) {
 
     validateConnection();
     SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
@@ -421,15 +554,10 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
         .allowFiltering()
         .build();
 
-    ResultSet rs = _cqlSession.execute(ss);
-
-    OffsetPager offsetPager = new OffsetPager(pageSize);
-    int pageNumber = start / pageSize + 1;
+    int pageNumber = start == null ? 1 : start / pageSize + 1;
 
-    Page<Row> page = offsetPager.getPage(rs, pageNumber);
-
-    final List<String> urns = page
-        .getElements()
+    final Page page = getPage(ss, continuation, start == null ? 0 : start, pageSize);
+    final List<String> urns = page.getRows()
         .stream().map(row -> CassandraAspect.rowToAspectIdentifier(row).getUrn())
         .collect(Collectors.toList());
 
@@ -444,7 +572,7 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
 
     long totalCount = _cqlSession.execute(ssCount).one().getLong(0);
 
-    return toListResult(urns, null, start, pageNumber, pageSize, totalCount);
+    return toListResult(urns, null, start, pageNumber, pageSize, totalCount, page.getContinuation());
   }
 
   @Nonnull
@@ -460,24 +588,153 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
     return null;
   }
 
+  @Override
+  public boolean supportsStreamingAspects() {
+    return true;
+  }
 
+  /**
+   * Streams the aspects in (token(urn), aspect) order, the order in which Cassandra stores them, so that each read is a
+   * token range scan rather than a query for each urn. The urn bounds and the cursor of the args are token bounds.
+   */
   @Override
+  public void streamAspects(@Nonnull final RestoreIndicesArgs args, @Nonnull final Consumer<EbeanAspectV2> consumer) {
+    validateConnection();
+    final Predicate<String> urnFilter = getUrnFilter(args);
+    final Consumer<Row> rowConsumer = row -> {
+      final EntityAspect aspect = CassandraAspect.rowToEntityAspect(row);
+      if (aspect.getVersion() == ASPECT_LATEST_VERSION
+          && (args.aspectName == null || args.aspectName.equals(aspect.getAspect()))
+          && urnFilter.test(aspect.getUrn())) {
+        consumer.accept(EbeanAspectV2.fromEntityAspect(aspect));
+      }
+    };
+
+    if (args.urn != null && args.urn.equals(args.lastUrn) && args.lastAspect == null) {
+      // The only partition to restore was restored already
+      return;
+    }
+    if (args.urn != null || (args.lastUrn != null && args.lastAspect != null)) {
+      // The rest of the partition of the cursor, or the only partition to restore
+      final String urn = args.urn != null ? args.urn : args.lastUrn;
+      Select select = selectFrom(CassandraAspect.TABLE_NAME).all()
+          .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn));
+      if (urn.equals(args.lastUrn) && args.lastAspect != null) {
+        select = select.whereColumn(CassandraAspect.ASPECT_COLUMN).isGreaterThan(literal(args.lastAspect));
+      }
+      _cqlSession.execute(select.build().setPageSize(args.batchSize)).forEach(rowConsumer);
+      if (args.urn != null) {
+        return;
+      }
+    }
+
+    final Select select = whereTokenRange(selectFrom(CassandraAspect.TABLE_NAME).all(), args);
+    _cqlSession.execute(select.build().setPageSize(args.batchSize)).forEach(rowConsumer);
+  }
+
+  /**
+   * Returns urns splitting the aspects into ranges of tokens, in the order {@link #streamAspects} streams them.
+   */
   @Nonnull
-  public Iterable<String> listAllUrns(int start, int pageSize) {
+  @Override
+  public List<String> getUrnRangeBoundaries(@Nonnull final RestoreIndicesArgs args, final int rowsPerRange) {
     validateConnection();
-    SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
-        .column(CassandraAspect.URN_COLUMN)
-        .build();
+    final List<String> boundaries = new ArrayList<>();
+    if (args.urn != null) {
+      return boundaries;
+    }
+    final Predicate<String> urnFilter = getUrnFilter(args);
+    // Only reads the urns of the latest versions, and each row only once
+    final Select select =
+        whereTokenRange(selectFrom(CassandraAspect.TABLE_NAME).column(CassandraAspect.URN_COLUMN), args);
+    String previousBoundary = null;
+    int rowsInRange = 0;
+    for (Row row : _cqlSession.execute(select.build().setPageSize(args.batchSize))) {
+      final String urn = row.getString(CassandraAspect.URN_COLUMN);
+      // As with the ebean DAO, the rows of the urn of a boundary all start its range
+      if (urn.equals(previousBoundary) || !urnFilter.test(urn)) {
+        continue;
+      }
+      if (rowsInRange == rowsPerRange) {
+        boundaries.add(urn);
+        previousBoundary = urn;
+        rowsInRange = 0;
+      } else {
+        rowsInRange++;
+      }
+    }
+    return boundaries;
+  }
 
-    ResultSet rs = _cqlSession.execute(ss);
+  /**
+   * Restricts a scan of the latest versions of the aspects of the args to the token range of their urn bounds, after
+   * the partition of their cursor if there is one.
+   */
+  @Nonnull
+  private static Select whereTokenRange(@Nonnull Select select, @Nonnull final RestoreIndicesArgs args) {
+    if (args.lastUrn != null) {
+      select = select.whereToken(CassandraAspect.URN_COLUMN).isGreaterThan(function("token", literal(args.lastUrn)));
+    } else if (args.urnStart != null) {
+      select = select.whereToken(CassandraAspect.URN_COLUMN)
+          .isGreaterThanOrEqualTo(function("token", literal(args.urnStart)));
+    }
+    if (args.urnEnd != null) {
+      select = select.whereToken(CassandraAspect.URN_COLUMN).isLessThan(function("token", literal(args.urnEnd)));
+    }
+    select = select.whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(literal(ASPECT_LATEST_VERSION));
+    if (args.aspectName != null) {
+      select = select.whereColumn(CassandraAspect.ASPECT_COLUMN).isEqualTo(literal(args.aspectName));
+    }
+    return select.allowFiltering();
+  }
 
-    int pageNumber = start / pageSize + 1;
-    OffsetPager offsetPager = new OffsetPager(pageSize);
-    Page<Row> page = offsetPager.getPage(rs, pageNumber);
+  /**
+   * Returns whether an urn matches the urnLike pattern of the args, which Cassandra can not filter on without an index.
+   */
+  @Nonnull
+  private static Predicate<String> getUrnFilter(@Nonnull final RestoreIndicesArgs args) {
+    if (args.urnLike == null) {
+      return urn -> true;
+    }
+    final StringBuilder regex = new StringBuilder();
+    for (char c : args.urnLike.toCharArray()) {
+      if (c == '%') {
+        regex.append(".*");
+      } else if (c == '_') {
+        regex.append('.');
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    final Pattern pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+    return urn -> pattern.matcher(urn).matches();
+  }
 
-    return page
-        .getElements()
-        .stream().map(row -> row.getString(CassandraAspect.URN_COLUMN))
+  @Override
+  @Nonnull
+  public Iterable<String> listAllUrns(@Nullable String lastUrn, int pageSize) {
+    validateConnection();
+    final BoundStatement bs;
+    if (lastUrn == null) {
+      PreparedStatement ps = prepare(LIST_URNS, () -> selectFrom(CassandraAspect.TABLE_NAME)
+          .distinct()
+          .column(CassandraAspect.URN_COLUMN)
+          .limit(bindMarker())
+          .build());
+      bs = ps.bind(pageSize);
+    } else {
+      // Partitions are scanned in token order, so the page starts right after the token of the last urn of the previous
+      // one
+      PreparedStatement ps = prepare(LIST_URNS_AFTER, () -> selectFrom(CassandraAspect.TABLE_NAME)
+          .distinct()
+          .column(CassandraAspect.URN_COLUMN)
+          .whereToken(CassandraAspect.URN_COLUMN).isGreaterThan(function("token", bindMarker()))
+          .limit(bindMarker())
+          .build());
+      bs = ps.bind(lastUrn, pageSize);
+    }
+    return _cqlSession.execute(bs).all().stream()
+        .map(row -> row.getString(CassandraAspect.URN_COLUMN))
         .collect(Collectors.toList());
   }
 
@@ -524,16 +781,22 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
     if (!_canWrite) {
       return 0;
     }
+    // Both rows are in the partition of the urn, so an unlogged batch writes them atomically in a single round trip
+    BatchStatementBuilder batch = BatchStatement.builder(BatchType.UNLOGGED);
+
     // Save oldValue as the largest version + 1
     long largestVersion = ASPECT_LATEST_VERSION;
     if (oldAspectMetadata != null && oldTime != null) {
       largestVersion = nextVersion;
-      saveAspect(urn, aspectName, oldAspectMetadata, oldActor, oldImpersonator, oldTime, oldSystemMetadata, largestVersion, true);
+      batch.addStatement(bindSaveAspect(new EntityAspect(urn, aspectName, largestVersion, oldAspectMetadata,
+          oldSystemMetadata, oldTime, oldActor, oldImpersonator), true));
     }
 
     // Save newValue as the latest version (v0)
-    saveAspect(urn, aspectName, newAspectMetadata, newActor, newImpersonator, newTime, newSystemMetadata, ASPECT_LATEST_VERSION, oldAspectMetadata == null);
+    batch.addStatement(bindSaveAspect(new EntityAspect(urn, aspectName, ASPECT_LATEST_VERSION, newAspectMetadata,
+        newSystemMetadata, newTime, newActor, newImpersonator), oldAspectMetadata == null));
 
+    _cqlSession.execute(batch.build());
     return largestVersion;
   }
 
@@ -590,4 +853,59 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
   private Iterable<Term> aspectNamesToLiterals(Set<String> aspectNames) {
     return aspectNames.stream().map(QueryBuilder::literal).collect(Collectors.toSet());
   }
+
+  /**
+   * Returns the statement with the given name, preparing it the first time. Statements are prepared lazily, as the
+   * aspect table may not exist yet when the DAO is created.
+   */
+  @Nonnull
+  private PreparedStatement prepare(@Nonnull String name, @Nonnull Supplier<SimpleStatement> statement) {
+    return _preparedStatements.computeIfAbsent(name, key -> _cqlSession.prepare(statement.get()));
+  }
+
+  /**
+   * Returns the rows of a list query which start the given number of rows after the continuation, or after the first
+   * row if it is null, and the continuation to read the page after them with.
+   */
+  @Nonnull
+  private Page getPage(@Nonnull SimpleStatement statement, @Nullable String continuation, int rowsToSkip,
+      final int pageSize) {
+    ByteBuffer pagingState = continuation == null ? null : ByteBuffer.wrap(Base64.getUrlDecoder().decode(continuation));
+    final List<Row> rows = new ArrayList<>(pageSize);
+    while (rows.size() < pageSize) {
+      // Never fetch more rows than are still to be skipped or returned, so that each driver page is read whole and the
+      // paging state after it points exactly to where the next page starts
+      final int fetchSize = rowsToSkip > 0 ? Math.min(rowsToSkip, MAX_SKIP_FETCH_SIZE) : pageSize - rows.size();
+      ResultSet rs = _cqlSession.execute(statement.setPageSize(fetchSize).setPagingState(pagingState));
+      final int available = rs.getAvailableWithoutFetching();
+      for (int i = 0; i < available; i++) {
+        Row row = rs.one();
+        if (rowsToSkip > 0) {
+          rowsToSkip--;
+        } else {
+          rows.add(row);
+        }
+      }
+      pagingState = rs.getExecutionInfo().getPagingState();
+      if (pagingState == null) {
+        return new Page(rows, null);
+      }
+    }
+    final byte[] bytes = new byte[pagingState.remaining()];
+    pagingState.duplicate().get(bytes);
+    return new Page(rows, Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+  }
+
+  @Nonnull
+  private static <T> T join(@Nonnull CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      // Rethrow driver exceptions as they are, for runInTransactionWithRetry to retry them
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
 }
@@ -1,6 +1,5 @@
 package com.linkedin.metadata.entity.cassandra;
 
-import com.datahub.util.RecordUtils;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
@@ -14,6 +13,7 @@ import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.RetentionService;
 import com.linkedin.metadata.entity.EntityAspectIdentifier;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.retention.DataHubRetentionConfig;
 import com.linkedin.retention.Retention;
 import com.linkedin.retention.TimeBasedRetention;
@@ -188,6 +188,6 @@ public class CassandraRetentionService extends RetentionService {
         .map(CassandraAspect::rowToEntityAspect)
         .collect(Collectors.toMap(
             EntityAspect::getUrn,
-            aspect -> RecordUtils.toRecordTemplate(DataHubRetentionConfig.class, aspect.getMetadata())));
+            aspect -> EntityUtils.toRecordTemplate(DataHubRetentionConfig.class, aspect.getMetadata())));
   }
 }
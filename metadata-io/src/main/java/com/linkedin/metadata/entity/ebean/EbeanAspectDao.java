@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -414,6 +415,99 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
             .select(EbeanAspectV2.ALL_COLUMNS)
             .where()
             .eq(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION);
+    exp = applyRestoreIndicesFilters(exp, args);
+    return  exp.orderBy()
+            .asc(EbeanAspectV2.URN_COLUMN)
+            .orderBy()
+            .asc(EbeanAspectV2.ASPECT_COLUMN)
+            .setFirstRow(args.start)
+            .setMaxRows(args.batchSize)
+            .findPagedList();
+  }
+
+  @Override
+  public boolean supportsStreamingAspects() {
+    return true;
+  }
+
+  @Override
+  public void streamAspects(@Nonnull final RestoreIndicesArgs args, @Nonnull final Consumer<EbeanAspectV2> consumer) {
+    validateConnection();
+    // Pages are read by key range rather than from one streaming result set, which MySQL would buffer in memory unless
+    // the connection is configured for it, and which would hold a connection while the consumer is waiting
+    String lastUrn = args.lastUrn;
+    String lastAspect = args.lastAspect;
+    while (true) {
+      ExpressionList<EbeanAspectV2> exp = _server.find(EbeanAspectV2.class)
+          .select(EbeanAspectV2.ALL_COLUMNS)
+          .where()
+          .eq(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION);
+      exp = applyRestoreIndicesFilters(exp, args);
+      if (lastUrn != null) {
+        if (lastAspect == null) {
+          exp = exp.gt(EbeanAspectV2.URN_COLUMN, lastUrn);
+        } else {
+          // (urn, aspect) > (lastUrn, lastAspect), with a plain range on urn so that the primary key index is used to
+          // seek
+          exp = exp.ge(EbeanAspectV2.URN_COLUMN, lastUrn)
+              .or()
+              .gt(EbeanAspectV2.URN_COLUMN, lastUrn)
+              .and()
+              .eq(EbeanAspectV2.URN_COLUMN, lastUrn)
+              .gt(EbeanAspectV2.ASPECT_COLUMN, lastAspect)
+              .endAnd()
+              .endOr();
+        }
+      }
+      final List<EbeanAspectV2> rows = exp.orderBy()
+          .asc(EbeanAspectV2.URN_COLUMN)
+          .orderBy()
+          .asc(EbeanAspectV2.ASPECT_COLUMN)
+          .setMaxRows(args.batchSize)
+          .findList();
+      rows.forEach(consumer);
+      if (rows.size() < args.batchSize) {
+        return;
+      }
+      final EbeanAspectV2 lastRow = rows.get(rows.size() - 1);
+      lastUrn = lastRow.getKey().getUrn();
+      lastAspect = lastRow.getKey().getAspect();
+    }
+  }
+
+  @Nonnull
+  @Override
+  public List<String> getUrnRangeBoundaries(@Nonnull final RestoreIndicesArgs args, final int rowsPerRange) {
+    validateConnection();
+    final List<String> boundaries = new ArrayList<>();
+    String previousBoundary = null;
+    while (true) {
+      // Each query only walks the primary key index from the previous boundary, rather than the whole table up to it
+      ExpressionList<EbeanAspectV2> exp = _server.find(EbeanAspectV2.class)
+          .select(EbeanAspectV2.URN_COLUMN)
+          .where()
+          .eq(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION);
+      exp = applyRestoreIndicesFilters(exp, args);
+      if (previousBoundary != null) {
+        exp = exp.gt(EbeanAspectV2.URN_COLUMN, previousBoundary);
+      }
+      final List<EbeanAspectV2> rows = exp.orderBy()
+          .asc(EbeanAspectV2.URN_COLUMN)
+          .orderBy()
+          .asc(EbeanAspectV2.ASPECT_COLUMN)
+          .setFirstRow(rowsPerRange)
+          .setMaxRows(1)
+          .findList();
+      if (rows.isEmpty()) {
+        return boundaries;
+      }
+      previousBoundary = rows.get(0).getUrn();
+      boundaries.add(previousBoundary);
+    }
+  }
+
+  private static ExpressionList<EbeanAspectV2> applyRestoreIndicesFilters(@Nonnull ExpressionList<EbeanAspectV2> exp,
+      @Nonnull final RestoreIndicesArgs args) {
     if (args.aspectName != null) {
       exp = exp.eq(EbeanAspectV2.ASPECT_COLUMN, args.aspectName);
     }
@@ -423,28 +517,33 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     if (args.urnLike != null) {
       exp = exp.like(EbeanAspectV2.URN_COLUMN, args.urnLike);
     }
-    return  exp.orderBy()
-            .asc(EbeanAspectV2.URN_COLUMN)
-            .orderBy()
-            .asc(EbeanAspectV2.ASPECT_COLUMN)
-            .setFirstRow(args.start)
-            .setMaxRows(args.batchSize)
-            .findPagedList();
+    if (args.urnStart != null) {
+      exp = exp.ge(EbeanAspectV2.URN_COLUMN, args.urnStart);
+    }
+    if (args.urnEnd != null) {
+      exp = exp.lt(EbeanAspectV2.URN_COLUMN, args.urnEnd);
+    }
+    return exp;
   }
 
   @Override
   @Nonnull
-  public Iterable<String> listAllUrns(int start, int pageSize) {
+  public Iterable<String> listAllUrns(@Nullable String lastUrn, int pageSize) {
     validateConnection();
-    PagedList<EbeanAspectV2> ebeanAspects = _server.find(EbeanAspectV2.class)
+    ExpressionList<EbeanAspectV2> exp = _server.find(EbeanAspectV2.class)
         .setDistinct(true)
         .select(EbeanAspectV2.URN_COLUMN)
-        .orderBy()
+        .where();
+    if (lastUrn != null) {
+      exp = exp.gt(EbeanAspectV2.URN_COLUMN, lastUrn);
+    }
+    return exp.orderBy()
         .asc(EbeanAspectV2.URN_COLUMN)
-        .setFirstRow(start)
         .setMaxRows(pageSize)
-        .findPagedList();
-    return ebeanAspects.getList().stream().map(EbeanAspectV2::getUrn).collect(Collectors.toList());
+        .findList()
+        .stream()
+        .map(EbeanAspectV2::getUrn)
+        .collect(Collectors.toList());
   }
 
   @Override
@@ -570,6 +669,77 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     return result;
   }
 
+  @Override
+  @Nonnull
+  public Map<String, Map<String, Long>> getNextVersions(@Nonnull final Map<String, Set<String>> urnAspects) {
+    validateConnection();
+    final Map<String, Map<String, Long>> result = new HashMap<>();
+    if (urnAspects.isEmpty()) {
+      return result;
+    }
+
+    // Resolve the max version of every requested (urn, aspect) pair with a single grouped query. Our query will look like:
+    //   SELECT urn, aspect, max(version) FROM metadata_aspect_v2
+    //   WHERE urn IN (:urn0, :urn1, ...) AND aspect IN (:aspect0, :aspect1, ...)
+    //   GROUP BY urn, aspect
+    // Pairs outside of the requested set may be returned as well, those are simply ignored below.
+    final Map<String, Object> params = new HashMap<>();
+    final String urnArgs = toNamedParams("urn", urnAspects.keySet(), params);
+    final String aspectArgs = toNamedParams("aspect",
+        urnAspects.values().stream().flatMap(Set::stream).collect(Collectors.toSet()), params);
+
+    final String sql = String.format("SELECT urn, aspect, max(version) AS version FROM %s "
+            + "WHERE urn IN (%s) AND aspect IN (%s) GROUP BY urn, aspect",
+        EbeanAspectV2.class.getAnnotation(Table.class).name(), urnArgs, aspectArgs);
+
+    final RawSql rawSql = RawSqlBuilder.parse(sql)
+        .columnMapping(EbeanAspectV2.URN_COLUMN, "key.urn")
+        .columnMapping(EbeanAspectV2.ASPECT_COLUMN, "key.aspect")
+        .columnMapping("max(version)", "key.version")
+        .create();
+
+    final Query<EbeanAspectV2> query = _server.find(EbeanAspectV2.class).setRawSql(rawSql);
+    for (Map.Entry<String, Object> param : params.entrySet()) {
+      query.setParameter(param.getKey(), param.getValue());
+    }
+
+    final Map<String, Map<String, Long>> maxVersions = new HashMap<>();
+    for (EbeanAspectV2 record : query.findList()) {
+      maxVersions.computeIfAbsent(record.getKey().getUrn(), urn -> new HashMap<>())
+          .put(record.getKey().getAspect(), record.getKey().getVersion());
+    }
+
+    urnAspects.forEach((urn, aspectNames) -> {
+      final Map<String, Long> urnMaxVersions = maxVersions.getOrDefault(urn, Collections.emptyMap());
+      final Map<String, Long> nextVersions = new HashMap<>();
+      for (String aspectName : aspectNames) {
+        final Long maxVersion = urnMaxVersions.get(aspectName);
+        nextVersions.put(aspectName, maxVersion == null ? ASPECT_LATEST_VERSION : maxVersion + 1L);
+      }
+      result.put(urn, nextVersions);
+    });
+    return result;
+  }
+
+  /**
+   * Builds a comma separated list of named parameters (e.g. ":urn0, :urn1") for the provided values, registering the
+   * values in the provided parameter map.
+   */
+  @Nonnull
+  private static String toNamedParams(
+      @Nonnull final String prefix,
+      @Nonnull final Set<String> values,
+      @Nonnull final Map<String, Object> outputParamsToValues) {
+    final List<String> args = new ArrayList<>(values.size());
+    int index = 0;
+    for (String value : values) {
+      final String arg = prefix + index++;
+      outputParamsToValues.put(arg, value);
+      args.add(":" + arg);
+    }
+    return String.join(", ", args);
+  }
+
   @Nonnull
   private <T> ListResult<T> toListResult(
       @Nonnull final List<T> values,
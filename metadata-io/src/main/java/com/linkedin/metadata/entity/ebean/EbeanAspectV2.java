@@ -28,11 +28,13 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "metadata_aspect_v2")
+@Table(name = EbeanAspectV2.TABLE_NAME)
 public class EbeanAspectV2 extends Model {
 
   private static final long serialVersionUID = 1L;
 
+  public static final String TABLE_NAME = "metadata_aspect_v2";
+
   public static final String ALL_COLUMNS = "*";
   public static final String KEY_ID = "key";
   public static final String URN_COLUMN = "urn";
@@ -1,9 +1,10 @@
 package com.linkedin.metadata.entity.ebean;
 
 import com.linkedin.common.urn.Urn;
-import com.datahub.util.RecordUtils;
 import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.entity.RetentionService;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.retention.DataHubRetentionConfig;
 import com.linkedin.retention.Retention;
 import com.linkedin.retention.TimeBasedRetention;
@@ -62,20 +63,60 @@ public class EbeanRetentionService extends RetentionService {
         .ne(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION)
         .or();
 
+    List<Expression> filterList = getRetentionQueries(urn, aspectName, retentionPolicy,
+        retentionContext.flatMap(RetentionService.RetentionContext::getMaxVersion));
+
+    // Only run delete if at least one of the retention policies are applicable
+    if (!filterList.isEmpty()) {
+      filterList.forEach(deleteQuery::add);
+      MetricUtils.counter(this.getClass(), "rowsPruned").inc(deleteQuery.endOr().delete());
+    }
+  }
+
+  /**
+   * Applies retention to a batch of aspects with a single delete, given the largest version of each.
+   */
+  @Override
+  @WithSpan
+  public void applyRetention(@Nonnull List<RetentionTarget> targets) {
+    log.debug("Applying retention to {} aspects", targets.size());
+    ExpressionList<EbeanAspectV2> deleteQuery = _server.find(EbeanAspectV2.class).where().or();
+
+    int numTargets = 0;
+    for (RetentionTarget target : targets) {
+      Retention retentionPolicy = getRetention(target.getUrn().getEntityType(), target.getAspectName());
+      List<Expression> filterList = getRetentionQueries(target.getUrn(), target.getAspectName(), retentionPolicy,
+          Optional.of(target.getMaxVersion()));
+      if (filterList.isEmpty()) {
+        continue;
+      }
+      ExpressionList<EbeanAspectV2> targetQuery = deleteQuery.and()
+          .eq(EbeanAspectV2.URN_COLUMN, target.getUrn().toString())
+          .eq(EbeanAspectV2.ASPECT_COLUMN, target.getAspectName())
+          .ne(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION)
+          .or();
+      filterList.forEach(targetQuery::add);
+      targetQuery.endOr().endAnd();
+      numTargets++;
+    }
+
+    // Only run delete if at least one of the aspects has applicable retention policies
+    if (numTargets > 0) {
+      MetricUtils.counter(this.getClass(), "rowsPruned").inc(deleteQuery.endOr().delete());
+    }
+  }
+
+  private List<Expression> getRetentionQueries(@Nonnull Urn urn, @Nonnull String aspectName,
+      @Nonnull Retention retentionPolicy, @Nonnull Optional<Long> maxVersionFromUpdate) {
     List<Expression> filterList = new ArrayList<>();
     if (retentionPolicy.hasVersion()) {
-      getVersionBasedRetentionQuery(urn, aspectName, retentionPolicy.getVersion(),
-          retentionContext.flatMap(RetentionService.RetentionContext::getMaxVersion)).ifPresent(filterList::add);
+      getVersionBasedRetentionQuery(urn, aspectName, retentionPolicy.getVersion(), maxVersionFromUpdate)
+          .ifPresent(filterList::add);
     }
     if (retentionPolicy.hasTime()) {
       filterList.add(getTimeBasedRetentionQuery(retentionPolicy.getTime()));
     }
-
-    // Only run delete if at least one of the retention policies are applicable
-    if (!filterList.isEmpty()) {
-      filterList.forEach(deleteQuery::add);
-      deleteQuery.endOr().delete();
-    }
+    return filterList;
   }
 
   private long getMaxVersion(@Nonnull final String urn, @Nonnull final String aspectName) {
@@ -169,7 +210,7 @@ public class EbeanRetentionService extends RetentionService {
         .findList()
         .stream()
         .collect(Collectors.toMap(EbeanAspectV2::getUrn,
-            row -> RecordUtils.toRecordTemplate(DataHubRetentionConfig.class, row.getMetadata())));
+            row -> EntityUtils.toRecordTemplate(DataHubRetentionConfig.class, row.getMetadata())));
   }
 
   private ExpressionList<EbeanAspectV2> queryCandidates(@Nullable String entityName, @Nullable String aspectName) {
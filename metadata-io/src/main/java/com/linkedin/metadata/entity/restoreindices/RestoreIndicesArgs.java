@@ -11,6 +11,12 @@ public class RestoreIndicesArgs implements Cloneable {
     public String aspectName;
     public String urn;
     public String urnLike;
+    // Range of urns [urnStart, urnEnd) to restore when streaming, either bound may be null
+    public String urnStart;
+    public String urnEnd;
+    // Keyset cursor to resume streaming after, i.e. the last (urn, aspect) that was restored
+    public String lastUrn;
+    public String lastAspect;
 
     @Override
     public RestoreIndicesArgs clone() {
@@ -0,0 +1,384 @@
+package com.linkedin.metadata.event;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataAuditOperation;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.PlatformEvent;
+import com.linkedin.mxe.SystemMetadata;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * {@link EventProducer} which takes producing MCLs and legacy MAEs off the request thread.
+ *
+ * Events are queued and produced by background sender threads, in batches, so that the underlying producer can batch
+ * them per partition. All events of an urn go through the same sender, so that they are produced in the order they were
+ * queued. Senders wait for each batch to be acknowledged. Once an MCL of an urn fails, the MCLs of the urn after it in
+ * the same batch are added to the outbox behind it, even those which were acknowledged, so that the latest MCL of an urn
+ * is always produced last.
+ *
+ * MCLs which fail to be produced, or which can not be queued because the queue stays full, are added to a durable
+ * {@link MetadataChangeLogOutbox}, and produced again from it periodically. While the outbox holds MCLs, new MCLs are
+ * added to it as well rather than produced, so that MCLs are never produced out of order. Legacy MAEs which fail to be
+ * produced are dropped, as they were before.
+ *
+ * Platform events are produced directly.
+ */
+@Slf4j
+public class AsyncEventProducer implements EventProducer {
+
+  private static final long POLL_MILLIS = 100;
+
+  /**
+   * An event waiting to be produced.
+   */
+  private abstract static class PendingEvent {
+    final Urn urn;
+    final long enqueuedNanos = System.nanoTime();
+    final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    PendingEvent(@Nonnull Urn urn) {
+      this.urn = urn;
+    }
+
+    abstract Future<?> send(@Nonnull EventProducer producer);
+  }
+
+  private static final class PendingMetadataChangeLog extends PendingEvent {
+    final AspectSpec aspectSpec;
+    final MetadataChangeLog metadataChangeLog;
+
+    PendingMetadataChangeLog(@Nonnull Urn urn, @Nonnull AspectSpec aspectSpec,
+        @Nonnull MetadataChangeLog metadataChangeLog) {
+      super(urn);
+      this.aspectSpec = aspectSpec;
+      this.metadataChangeLog = metadataChangeLog;
+    }
+
+    @Override
+    Future<?> send(@Nonnull EventProducer producer) {
+      return producer.produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
+    }
+  }
+
+  private static final class PendingMetadataAuditEvent extends PendingEvent {
+    final Snapshot oldSnapshot;
+    final Snapshot newSnapshot;
+    final SystemMetadata oldSystemMetadata;
+    final SystemMetadata newSystemMetadata;
+    final MetadataAuditOperation operation;
+
+    PendingMetadataAuditEvent(@Nonnull Urn urn, @Nullable Snapshot oldSnapshot, @Nonnull Snapshot newSnapshot,
+        @Nullable SystemMetadata oldSystemMetadata, @Nullable SystemMetadata newSystemMetadata,
+        MetadataAuditOperation operation) {
+      super(urn);
+      this.oldSnapshot = oldSnapshot;
+      this.newSnapshot = newSnapshot;
+      this.oldSystemMetadata = oldSystemMetadata;
+      this.newSystemMetadata = newSystemMetadata;
+      this.operation = operation;
+    }
+
+    @Override
+    Future<?> send(@Nonnull EventProducer producer) {
+      producer.produceMetadataAuditEvent(urn, oldSnapshot, newSnapshot, oldSystemMetadata, newSystemMetadata,
+          operation);
+      // Legacy MAEs are not acknowledged
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  private final EventProducer _producer;
+  private final EntityRegistry _entityRegistry;
+  private final MetadataChangeLogOutbox _outbox;
+  private final List<BlockingQueue<PendingEvent>> _queues = new ArrayList<>();
+  private final int _maxBatchSize;
+  private final long _enqueueTimeoutMillis;
+  private final long _sendTimeoutMillis;
+  private final ExecutorService _senders;
+  private final ScheduledExecutorService _outboxReplayer;
+  private final Timer _produceLatency = MetricUtils.timer(this.getClass(), "produceLatency");
+  private volatile boolean _closed = false;
+
+  /**
+   * Constructor.
+   *
+   * @param producer the producer to produce events with
+   * @param entityRegistry the registry to look up the aspect specs of MCLs in the outbox in
+   * @param outbox the outbox to add MCLs which failed to be produced to
+   * @param senderThreads the number of threads producing events
+   * @param queueCapacity the maximum number of events waiting to be produced
+   * @param maxBatchSize the maximum number of events a sender produces before waiting for them to be acknowledged
+   * @param enqueueTimeoutMillis how long to wait for room in a full queue before adding an MCL to the outbox instead
+   * @param sendTimeoutMillis how long to wait for an event to be acknowledged before considering it failed
+   * @param outboxReplayIntervalSeconds how often to produce the MCLs in the outbox again
+   */
+  public AsyncEventProducer(@Nonnull EventProducer producer, @Nonnull EntityRegistry entityRegistry,
+      @Nonnull MetadataChangeLogOutbox outbox, int senderThreads, int queueCapacity, int maxBatchSize,
+      long enqueueTimeoutMillis, long sendTimeoutMillis, long outboxReplayIntervalSeconds) {
+    _producer = producer;
+    _entityRegistry = entityRegistry;
+    _outbox = outbox;
+    _maxBatchSize = maxBatchSize;
+    _enqueueTimeoutMillis = enqueueTimeoutMillis;
+    _sendTimeoutMillis = sendTimeoutMillis;
+
+    _senders = Executors.newFixedThreadPool(senderThreads,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("event-producer-%d").build());
+    for (int i = 0; i < senderThreads; i++) {
+      final BlockingQueue<PendingEvent> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity / senderThreads));
+      _queues.add(queue);
+      _senders.submit(() -> runSender(queue));
+    }
+    _outboxReplayer = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("event-producer-outbox").build());
+    _outboxReplayer.scheduleWithFixedDelay(this::replayOutbox, outboxReplayIntervalSeconds,
+        outboxReplayIntervalSeconds, TimeUnit.SECONDS);
+
+    MetricUtils.get().gauge(MetricRegistry.name(this.getClass(), "queueDepth"),
+        () -> (Gauge<Integer>) () -> _queues.stream().mapToInt(BlockingQueue::size).sum());
+    MetricUtils.get().gauge(MetricRegistry.name(this.getClass(), "outboxDepth"), () -> (Gauge<Long>) _outbox::size);
+  }
+
+  @Override
+  @Deprecated
+  public void produceMetadataAuditEvent(@Nonnull Urn urn, @Nullable Snapshot oldSnapshot,
+      @Nonnull Snapshot newSnapshot, @Nullable SystemMetadata oldSystemMetadata,
+      @Nullable SystemMetadata newSystemMetadata, MetadataAuditOperation operation) {
+    final PendingEvent event =
+        new PendingMetadataAuditEvent(urn, oldSnapshot, newSnapshot, oldSystemMetadata, newSystemMetadata, operation);
+    if (!enqueue(event)) {
+      MetricUtils.counter(this.getClass(), "maeDropped").inc();
+      log.warn("Dropping legacy MAE for entity with urn {}, the producer queue is full", urn);
+    }
+  }
+
+  /**
+   * Queues an MCL to be produced.
+   *
+   * @return a {@link Future} which completes once the MCL has been acknowledged or added to the outbox, or fails if
+   * neither happened
+   */
+  @Override
+  public Future<?> produceMetadataChangeLog(@Nonnull Urn urn, @Nonnull AspectSpec aspectSpec,
+      @Nonnull MetadataChangeLog metadataChangeLog) {
+    final PendingMetadataChangeLog event = new PendingMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
+    if (!_outbox.isEmpty()) {
+      addToOutbox(event);
+    } else if (!enqueue(event)) {
+      MetricUtils.counter(this.getClass(), "queueFull").inc();
+      addToOutbox(event);
+    }
+    return event.result;
+  }
+
+  @Override
+  public void producePlatformEvent(@Nonnull String name, @Nullable String key, @Nonnull PlatformEvent payload) {
+    _producer.producePlatformEvent(name, key, payload);
+  }
+
+  /**
+   * Stops accepting events, and waits for the queued ones to be produced.
+   */
+  public void close() {
+    _closed = true;
+    _outboxReplayer.shutdown();
+    _senders.shutdown();
+    try {
+      if (!_senders.awaitTermination(_sendTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        log.warn("Timed out producing queued events on shutdown");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // Keep the MCLs which could not be produced in time
+    _queues.forEach(queue -> {
+      final List<PendingEvent> events = new ArrayList<>();
+      queue.drainTo(events);
+      events.forEach(this::onFailure);
+    });
+  }
+
+  private boolean enqueue(@Nonnull PendingEvent event) {
+    if (_closed) {
+      return false;
+    }
+    final BlockingQueue<PendingEvent> queue = _queues.get(Math.floorMod(event.urn.hashCode(), _queues.size()));
+    try {
+      return queue.offer(event, _enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void runSender(@Nonnull BlockingQueue<PendingEvent> queue) {
+    final List<PendingEvent> batch = new ArrayList<>(_maxBatchSize);
+    while (!_closed || !queue.isEmpty()) {
+      try {
+        final PendingEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, _maxBatchSize - 1);
+        sendBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Unexpected failure producing events", e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Produces a batch of events, and waits for them to be acknowledged.
+   *
+   * Once an MCL of an urn fails, the MCLs of the urn after it in the batch are added to the outbox behind it, so that
+   * they are produced again after it. MCLs which are not sent because the outbox holds MCLs are added to the outbox
+   * too. MCLs are added to the outbox in the order of the batch.
+   */
+  private void sendBatch(@Nonnull List<PendingEvent> batch) throws InterruptedException {
+    final List<Future<?>> sends = new ArrayList<>(batch.size());
+    final Set<Urn> failedUrns = new HashSet<>();
+    for (PendingEvent event : batch) {
+      if (event instanceof PendingMetadataChangeLog && (failedUrns.contains(event.urn) || !_outbox.isEmpty())) {
+        // Queue behind the MCLs which failed
+        sends.add(null);
+        continue;
+      }
+      try {
+        sends.add(event.send(_producer));
+      } catch (RuntimeException e) {
+        sends.add(failedFuture(e));
+        if (event instanceof PendingMetadataChangeLog) {
+          failedUrns.add(event.urn);
+        }
+      }
+    }
+    failedUrns.clear();
+    final long deadline = System.currentTimeMillis() + _sendTimeoutMillis;
+    for (int i = 0; i < batch.size(); i++) {
+      final PendingEvent event = batch.get(i);
+      if (sends.get(i) == null) {
+        addToOutbox((PendingMetadataChangeLog) event);
+        continue;
+      }
+      try {
+        sends.get(i).get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        if (event instanceof PendingMetadataChangeLog && failedUrns.contains(event.urn)) {
+          // Produced ahead of an earlier MCL of the urn which failed, so produce it again after that one
+          MetricUtils.counter(this.getClass(), "mclRequeued").inc();
+          addToOutbox((PendingMetadataChangeLog) event);
+          continue;
+        }
+        _produceLatency.update(System.nanoTime() - event.enqueuedNanos, TimeUnit.NANOSECONDS);
+        event.result.complete(null);
+      } catch (ExecutionException | TimeoutException e) {
+        log.error("Failed to produce event for entity with urn {}", event.urn, e);
+        if (event instanceof PendingMetadataChangeLog) {
+          failedUrns.add(event.urn);
+        }
+        onFailure(event);
+      }
+    }
+  }
+
+  private void onFailure(@Nonnull PendingEvent event) {
+    if (event instanceof PendingMetadataChangeLog) {
+      MetricUtils.counter(this.getClass(), "mclFailed").inc();
+      addToOutbox((PendingMetadataChangeLog) event);
+    } else {
+      MetricUtils.counter(this.getClass(), "maeFailed").inc();
+      event.result.complete(null);
+    }
+  }
+
+  private void addToOutbox(@Nonnull PendingMetadataChangeLog event) {
+    try {
+      _outbox.add(event.metadataChangeLog);
+      event.result.complete(null);
+    } catch (IOException e) {
+      MetricUtils.counter(this.getClass(), "mclLost").inc();
+      log.error("Failed to add MCL for entity with urn {} to the outbox, it is lost", event.urn, e);
+      event.result.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Produces the MCLs in the outbox oldest first, until the outbox is empty or one fails.
+   */
+  private void replayOutbox() {
+    try {
+      while (!_outbox.isEmpty()) {
+        final List<MetadataChangeLogOutbox.Entry> entries = _outbox.peek(_maxBatchSize);
+        if (entries.isEmpty()) {
+          return;
+        }
+        for (MetadataChangeLogOutbox.Entry entry : entries) {
+          final MetadataChangeLog metadataChangeLog = entry.getMetadataChangeLog();
+          final AspectSpec aspectSpec = getAspectSpec(metadataChangeLog);
+          if (aspectSpec == null || !metadataChangeLog.hasEntityUrn()) {
+            log.error("Dropping MCL {} from the outbox, its aspect is unknown", entry.getPath());
+            _outbox.remove(entry);
+            continue;
+          }
+          _producer.produceMetadataChangeLog(metadataChangeLog.getEntityUrn(), aspectSpec, metadataChangeLog)
+              .get(_sendTimeoutMillis, TimeUnit.MILLISECONDS);
+          _outbox.remove(entry);
+          MetricUtils.counter(this.getClass(), "mclReplayed").inc();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.warn("Failed to produce MCLs from the outbox, {} left to retry", _outbox.size(), e);
+    }
+  }
+
+  @Nullable
+  private AspectSpec getAspectSpec(@Nonnull MetadataChangeLog metadataChangeLog) {
+    try {
+      final EntitySpec entitySpec = _entityRegistry.getEntitySpec(metadataChangeLog.getEntityType());
+      return entitySpec == null ? null : entitySpec.getAspectSpec(metadataChangeLog.getAspectName());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  @Nonnull
+  private static Future<?> failedFuture(@Nonnull Throwable throwable) {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    future.completeExceptionally(throwable);
+    return future;
+  }
+}
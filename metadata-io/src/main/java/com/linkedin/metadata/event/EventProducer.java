@@ -8,6 +8,7 @@ import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.MetadataAuditOperation;
 import com.linkedin.mxe.PlatformEvent;
 import com.linkedin.mxe.SystemMetadata;
+import java.util.concurrent.Future;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -45,8 +46,9 @@ public interface EventProducer {
    * @param urn the urn associated with the entity changed
    * @param aspectSpec aspect spec of the aspect being updated
    * @param metadataChangeLog metadata change log to push into MCL kafka topic
+   * @return a {@link Future} which completes once the event has been acknowledged, or fails if it could not be sent
    */
-  void produceMetadataChangeLog(
+  Future<?> produceMetadataChangeLog(
       @Nonnull final Urn urn,
       @Nonnull AspectSpec aspectSpec,
       @Nonnull final MetadataChangeLog metadataChangeLog
@@ -0,0 +1,131 @@
+package com.linkedin.metadata.event;
+
+import com.datahub.util.RecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Durable, first in first out queue of {@link MetadataChangeLog}s which could not be produced, kept in a local directory
+ * until they are produced again by {@link AsyncEventProducer}.
+ *
+ * Each MCL is a JSON file named after its position in the queue, written to a temporary file first and then moved in
+ * place, so that a crash never leaves a partially written MCL behind. The directory should be on a persistent volume
+ * for MCLs to survive the loss of the container. The directory is only listed on startup, after which the files are
+ * tracked in memory, so that reading the oldest MCLs does not get slower as the outbox grows.
+ */
+@Slf4j
+public class MetadataChangeLogOutbox {
+
+  private static final String SUFFIX = ".json";
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  /**
+   * An MCL in the outbox.
+   */
+  @Value
+  public static class Entry {
+    Path path;
+    MetadataChangeLog metadataChangeLog;
+  }
+
+  private final Path _directory;
+  // Paths of the MCLs in the outbox by their position in the queue
+  private final ConcurrentNavigableMap<Long, Path> _paths = new ConcurrentSkipListMap<>();
+  private final AtomicLong _nextSequence;
+  private final AtomicLong _size;
+
+  public MetadataChangeLogOutbox(@Nonnull String directory) throws IOException {
+    _directory = Paths.get(directory);
+    Files.createDirectories(_directory);
+    // MCLs which were being added when the process stopped
+    try (Stream<Path> tempPaths = Files.list(_directory)) {
+      for (Path tempPath : tempPaths.filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX))
+          .collect(Collectors.toList())) {
+        Files.delete(tempPath);
+      }
+    }
+    try (Stream<Path> paths = Files.list(_directory)) {
+      paths.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+          .forEach(path -> _paths.put(sequenceOf(path), path));
+    }
+    _nextSequence = new AtomicLong(_paths.isEmpty() ? 0 : _paths.lastKey() + 1);
+    _size = new AtomicLong(_paths.size());
+    if (!_paths.isEmpty()) {
+      log.info("Found {} MCLs in the outbox at {}", _paths.size(), _directory);
+    }
+  }
+
+  /**
+   * Appends an MCL to the outbox, once it has been written to disk.
+   */
+  public void add(@Nonnull MetadataChangeLog metadataChangeLog) throws IOException {
+    final long sequence = _nextSequence.getAndIncrement();
+    final Path path = _directory.resolve(String.format("%020d%s", sequence, SUFFIX));
+    final Path tempPath = _directory.resolve(path.getFileName() + TEMP_SUFFIX);
+    Files.write(tempPath, RecordUtils.toJsonString(metadataChangeLog).getBytes(StandardCharsets.UTF_8));
+    Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE);
+    _paths.put(sequence, path);
+    _size.incrementAndGet();
+  }
+
+  /**
+   * Returns the oldest MCLs in the outbox, without removing them. MCLs which can not be read any more are dropped.
+   */
+  @Nonnull
+  public List<Entry> peek(int maxEntries) throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    for (Path path : _paths.values()) {
+      if (entries.size() >= maxEntries) {
+        break;
+      }
+      try {
+        final String json = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        entries.add(new Entry(path, RecordUtils.toRecordTemplate(MetadataChangeLog.class, json)));
+      } catch (RuntimeException e) {
+        log.error("Dropping unreadable MCL {} from the outbox", path, e);
+        remove(path);
+      }
+    }
+    return entries;
+  }
+
+  public void remove(@Nonnull Entry entry) throws IOException {
+    remove(entry.getPath());
+  }
+
+  public long size() {
+    return _size.get();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  private void remove(@Nonnull Path path) throws IOException {
+    Files.deleteIfExists(path);
+    if (_paths.remove(sequenceOf(path)) != null) {
+      _size.decrementAndGet();
+    }
+  }
+
+  private static long sequenceOf(@Nonnull Path path) {
+    final String name = path.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+  }
+}
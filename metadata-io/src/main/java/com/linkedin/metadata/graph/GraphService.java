@@ -32,6 +32,44 @@ public interface GraphService {
    */
   void addEdge(final Edge edge);
 
+  /**
+   * Removes a single edge from the graph, if it exists. The source and destination nodes are left in place.
+   */
+  void removeEdge(final Edge edge);
+
+  /**
+   * Adds edges to the graph, creating their source and destination nodes if they do not exist.
+   *
+   * Unless overridden, the edges are added one by one.
+   */
+  default void addEdges(@Nonnull final List<Edge> edges) {
+    edges.forEach(this::addEdge);
+  }
+
+  /**
+   * Removes edges from the graph, if they exist. Their source and destination nodes are left in place.
+   *
+   * Unless overridden, the edges are removed one by one.
+   */
+  default void removeEdges(@Nonnull final List<Edge> edges) {
+    edges.forEach(this::removeEdge);
+  }
+
+  /**
+   * Replaces the outgoing edges of the given relationship types of a node with the given edges, which are expected to
+   * originate from the node.
+   *
+   * Unless overridden, this removes the edges from the node and then adds the new edges.
+   */
+  default void replaceEdges(@Nonnull final Urn urn, @Nonnull final List<String> relationshipTypes,
+      @Nonnull final List<Edge> edges) {
+    if (!relationshipTypes.isEmpty()) {
+      removeEdgesFromNode(urn, relationshipTypes,
+          newRelationshipFilter(QueryUtils.EMPTY_FILTER, RelationshipDirection.OUTGOING));
+    }
+    addEdges(edges);
+  }
+
   /**
    * Find related entities (nodes) connected to a source entity via edges of given relationship types. Related entities
    * can be filtered by source and destination type (use `null` for any type), by source and destination entity filter
@@ -141,6 +141,8 @@ public class SiblingGraphService {
     entityLineageResult.setRelationships(new LineageRelationshipArray(filteredRelationships));
     entityLineageResult.setTotal(entityLineageResult.getTotal() + (existingResult != null ? existingResult.getTotal() : 0));
     entityLineageResult.setCount(filteredRelationships.size());
+    entityLineageResult.setPartial(
+        entityLineageResult.isPartial() || (existingResult != null && existingResult.isPartial()));
     return entityLineageResult;
   }
 
@@ -2,10 +2,17 @@ package com.linkedin.metadata.graph.dgraph;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import com.google.protobuf.ByteString;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphFilters;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
 import com.linkedin.metadata.graph.RelatedEntity;
@@ -23,9 +30,12 @@ import io.dgraph.DgraphProto.Response;
 import io.dgraph.DgraphProto.Value;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +46,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
@@ -47,6 +58,15 @@ public class DgraphGraphService implements GraphService {
     // with a max number of attempts of 160 a call will finally fail after around 15 minutes
     private static final int MAX_ATTEMPTS = 160;
 
+    // hops expanded by a single lineage query, deeper lineage takes another query for each further so many hops
+    private static final int LINEAGE_HOPS_PER_QUERY = 10;
+
+    // query variable holding the urn lineage starts from
+    protected static final String LINEAGE_URN_VARIABLE = "$urn";
+
+    // edges added by a single upsert request, bounding the number of blocks of its query
+    private static final int EDGES_PER_MUTATION = 1000;
+
     private final @Nonnull DgraphExecutor _dgraph;
     private final @Nonnull LineageRegistry _lineageRegistry;
 
@@ -222,6 +242,93 @@ public class DgraphGraphService implements GraphService {
         _dgraph.executeFunction(client -> client.newTransaction().doRequest(request));
     }
 
+    @Override
+    public void addEdges(@Nonnull List<Edge> edges) {
+        log.debug(String.format("Adding %d Edges", edges.size()));
+        Lists.partition(edges, EDGES_PER_MUTATION).forEach(this::addEdgesInSingleMutation);
+    }
+
+    // like addEdge, but looks up every node once and adds all edges with a single upsert request
+    private void addEdgesInSingleMutation(@Nonnull List<Edge> edges) {
+        // add the relationship types to the schema
+        edges.forEach(edge -> get_schema().ensureField(getDgraphType(edge.getSource()), edge.getRelationshipType(),
+                URN_RELATIONSHIP_TYPE, TYPE_RELATIONSHIP_TYPE, KEY_RELATIONSHIP_TYPE));
+
+        Map<Urn, String> nodeVariables = new LinkedHashMap<>();
+        for (Edge edge : edges) {
+            for (Urn urn : Arrays.asList(edge.getSource(), edge.getDestination())) {
+                if (!nodeVariables.containsKey(urn)) {
+                    nodeVariables.put(urn, "node" + nodeVariables.size());
+                }
+            }
+        }
+
+        // lookup the nodes, create the nodes that do not exist and create the new edges between them
+        // TODO: add escape for string values
+        // TODO: translate edge name to allowed dgraph uris
+        StringJoiner lookups = new StringJoiner("\n");
+        StringJoiner mutations = new StringJoiner("\n");
+        nodeVariables.forEach((urn, variable) -> {
+            lookups.add(String.format(" %s as var(func: eq(urn, \"%s\"))", variable, urn));
+            String nodeVar = String.format("uid(%s)", variable);
+            mutations.add(String.format("%s <dgraph.type> \"%s\" .", nodeVar, getDgraphType(urn)));
+            mutations.add(String.format("%s <urn> \"%s\" .", nodeVar, urn));
+            mutations.add(String.format("%s <type> \"%s\" .", nodeVar, urn.getEntityType()));
+            mutations.add(String.format("%s <key> \"%s\" .", nodeVar, urn.getEntityKey()));
+        });
+        edges.forEach(edge -> mutations.add(String.format("uid(%s) <%s> uid(%s) .",
+                nodeVariables.get(edge.getSource()), edge.getRelationshipType(), nodeVariables.get(edge.getDestination()))));
+        String query = String.format("query {\n%s\n}", lookups);
+
+        log.debug("Query: " + query);
+        log.debug("Mutations: " + mutations);
+
+        Mutation mutation = Mutation.newBuilder()
+                .setSetNquads(ByteString.copyFromUtf8(mutations.toString()))
+                .build();
+        Request request = Request.newBuilder()
+                .setQuery(query)
+                .addMutations(mutation)
+                .setCommitNow(true)
+                .build();
+
+        _dgraph.executeFunction(client -> client.newTransaction().doRequest(request));
+    }
+
+    @Override
+    public void removeEdge(Edge edge) {
+        log.debug(String.format("Removing Edge source: %s, destination: %s, type: %s",
+                edge.getSource(),
+                edge.getDestination(),
+                edge.getRelationshipType()));
+
+        // an edge of a relationship type that is not in the schema cannot exist
+        if (!get_schema().hasField(edge.getRelationshipType())) {
+            return;
+        }
+
+        // TODO: add escape for string values
+        String query = String.format("query {\n"
+                + " src as var(func: eq(urn, \"%s\"))\n"
+                + " dst as var(func: eq(urn, \"%s\"))\n"
+                + "}", edge.getSource(), edge.getDestination());
+        String deletion = String.format("uid(src) <%s> uid(dst) .", edge.getRelationshipType());
+
+        log.debug("Query: " + query);
+        log.debug("Deletions: " + deletion);
+
+        Mutation mutation = Mutation.newBuilder()
+                .setDelNquads(ByteString.copyFromUtf8(deletion))
+                .build();
+        Request request = Request.newBuilder()
+                .setQuery(query)
+                .addMutations(mutation)
+                .setCommitNow(true)
+                .build();
+
+        _dgraph.executeConsumer(client -> client.newTransaction().doRequest(request));
+    }
+
     private static @Nonnull String getDgraphType(@Nonnull Urn urn) {
         return urn.getNamespace() + ":" + urn.getEntityType();
     }
@@ -562,6 +669,179 @@ public class DgraphGraphService implements GraphService {
         }).collect(Collectors.toList());
     }
 
+    // a lineage edge which may be followed from nodes of the source type to nodes of the destination type
+    @Getter
+    @AllArgsConstructor
+    protected static class LineageStep {
+        private final String sourceType;
+        private final String relationshipType;
+        private final RelationshipDirection direction;
+        private final String destinationType;
+
+        // outgoing edges are followed forward, incoming edges through their reverse edge
+        String getPredicate() {
+            return direction == RelationshipDirection.OUTGOING ? relationshipType : "~" + relationshipType;
+        }
+    }
+
+    /**
+     * Traverses lineage breadth first on the server, expanding up to {@link #LINEAGE_HOPS_PER_QUERY} hops per query.
+     *
+     * Which edges may be followed from a node depends on its entity type, which @recurse can not express, so each hop is
+     * a set of blocks of the query, one per entity type in the frontier, which follow the lineage edges of that entity
+     * type to nodes not visited yet. Every entity is thereby returned once, with the least number of hops it takes to
+     * reach it as its degree.
+     */
+    @Nonnull
+    @Override
+    public EntityLineageResult getLineage(@Nonnull Urn entityUrn,
+                                          @Nonnull LineageDirection direction,
+                                          GraphFilters graphFilters,
+                                          int offset,
+                                          int count,
+                                          int maxHops) {
+        Set<String> allowedEntityTypes = graphFilters.getAllowedEntityTypes().stream()
+                .map(String::toLowerCase).collect(Collectors.toSet());
+
+        List<LineageStep> steps = new ArrayList<>();
+        if (allowedEntityTypes.contains(entityUrn.getEntityType().toLowerCase())) {
+            _lineageRegistry.getReachableLineageRelationships(entityUrn.getEntityType(), direction)
+                    .forEach((entityType, edges) -> edges.stream()
+                            .filter(edge -> allowedEntityTypes.contains(entityType.toLowerCase())
+                                    && allowedEntityTypes.contains(edge.getOpposingEntityType().toLowerCase()))
+                            // an edge of a relationship type that is not in the schema cannot exist
+                            .filter(edge -> get_schema().hasField(edge.getType()))
+                            .forEach(edge -> steps.add(new LineageStep(entityType, edge.getType(),
+                                    edge.getDirection(), edge.getOpposingEntityType()))));
+        }
+
+        List<LineageRelationship> relationships = new ArrayList<>();
+        List<String> frontier = Collections.emptyList();
+        List<String> visited = new ArrayList<>();
+        int degree = 0;
+        while (!steps.isEmpty() && degree < maxHops && (degree == 0 || !frontier.isEmpty())) {
+            int hops = Math.min(LINEAGE_HOPS_PER_QUERY, maxHops - degree);
+            String query = degree == 0
+                    ? getQueryForLineage(null, null, steps, hops)
+                    : getQueryForLineage(frontier, visited, steps, hops);
+
+            Request.Builder requestBuilder = Request.newBuilder().setQuery(query);
+            if (degree == 0) {
+                // passed as a variable, so that the urn is not parsed as part of the query
+                requestBuilder.putVars(LINEAGE_URN_VARIABLE, entityUrn.toString());
+            }
+            Request request = requestBuilder.build();
+
+            log.debug("Query: " + query);
+            Response response = _dgraph.executeFunction(client -> client.newReadOnlyTransaction().doRequest(request));
+            Map<String, Object> data = getDataFromResponseJson(response.getJson().toStringUtf8());
+
+            if (degree == 0) {
+                visited.addAll(getUidsFromResponseData(data, "start").keySet());
+            }
+            for (int hop = 1; hop <= hops; hop++) {
+                // nodes reached by several edges of the same hop are returned by the first of them
+                Map<String, LineageRelationship> found = new LinkedHashMap<>();
+                for (int step = 0; step < steps.size(); step++) {
+                    String relationshipType = steps.get(step).getRelationshipType();
+                    int hopDegree = degree + hop;
+                    getUidsFromResponseData(data, getLineageVariable(hop, step)).forEach((uid, urn) ->
+                            found.putIfAbsent(uid, new LineageRelationship().setEntity(UrnUtils.getUrn(urn))
+                                    .setType(relationshipType)
+                                    .setDegree(hopDegree)));
+                }
+                // nodes of a hop come back in no particular order, order them so that pages are stable
+                found.values().stream()
+                        .sorted(Comparator.comparing(relationship -> relationship.getEntity().toString()))
+                        .forEach(relationships::add);
+                visited.addAll(found.keySet());
+                frontier = new ArrayList<>(found.keySet());
+            }
+            degree += hops;
+        }
+
+        List<LineageRelationship> page = offset >= relationships.size() ? Collections.emptyList()
+                : relationships.subList(offset, Math.min(offset + count, relationships.size()));
+        return new EntityLineageResult().setRelationships(new LineageRelationshipArray(page))
+                .setStart(offset)
+                .setCount(count)
+                .setTotal(relationships.size());
+    }
+
+    protected static String getLineageVariable(int hop, int step) {
+        return String.format("hop%d_%d", hop, step);
+    }
+
+    // Creates a query that expands the given number of hops from the frontier nodes, skipping the visited nodes.
+    // Without frontier nodes, it starts from the node of the urn given as the LINEAGE_URN_VARIABLE query variable.
+    protected static String getQueryForLineage(@Nullable List<String> frontierUids,
+                                               @Nullable List<String> visitedUids,
+                                               @Nonnull List<LineageStep> steps,
+                                               int hops) {
+        StringJoiner blocks = new StringJoiner("\n  ");
+        blocks.add(frontierUids == null
+                ? String.format("frontier0 as var(func: eq(<urn>, %s))", LINEAGE_URN_VARIABLE)
+                : String.format("frontier0 as var(func: uid(%s))", String.join(", ", frontierUids)));
+        // the frontier is part of the visited nodes
+        blocks.add(visitedUids == null
+                ? "visited0 as var(func: uid(frontier0))"
+                : String.format("visited0 as var(func: uid(%s))", String.join(", ", visitedUids)));
+        blocks.add("start(func: uid(frontier0)) { uid }");
+
+        Map<String, List<Integer>> stepsPerSourceType = IntStream.range(0, steps.size()).boxed()
+                .collect(Collectors.groupingBy(step -> steps.get(step).getSourceType(), LinkedHashMap::new,
+                        Collectors.toList()));
+        for (int hop = 1; hop <= hops; hop++) {
+            int previousHop = hop - 1;
+            List<String> hopVariables = new ArrayList<>();
+            for (Map.Entry<String, List<Integer>> entry : stepsPerSourceType.entrySet()) {
+                StringJoiner edges = new StringJoiner("\n    ");
+                for (int step : entry.getValue()) {
+                    String variable = getLineageVariable(hop, step);
+                    hopVariables.add(variable);
+                    edges.add(String.format("%s as <%s> @filter(eq(<type>, \"%s\") AND NOT uid(visited%d))",
+                            variable, steps.get(step).getPredicate(), steps.get(step).getDestinationType(), previousHop));
+                }
+                blocks.add(String.format("var(func: uid(frontier%d)) @filter(eq(<type>, \"%s\")) {\n    %s\n  }",
+                        previousHop, entry.getKey(), edges));
+            }
+            // variables must be used, so the last hop does not define the frontier and visited nodes for a next hop
+            if (hop < hops) {
+                blocks.add(String.format("frontier%d as var(func: uid(%s))", hop, String.join(", ", hopVariables)));
+                blocks.add(String.format("visited%d as var(func: uid(visited%d, frontier%d))", hop, previousHop, hop));
+            }
+            hopVariables.forEach(variable ->
+                    blocks.add(String.format("%s(func: uid(%s)) { uid <urn> }", variable, variable)));
+        }
+
+        return frontierUids == null
+                ? String.format("query lineage(%s: string) {\n  %s\n}", LINEAGE_URN_VARIABLE, blocks)
+                : String.format("query {\n  %s\n}", blocks);
+    }
+
+    // Returns the urns of the nodes in the given block of the response, by their uid
+    protected static Map<String, String> getUidsFromResponseData(Map<String, Object> data, String block) {
+        Map<String, String> result = new LinkedHashMap<>();
+        Object obj = data.get(block);
+        if (!(obj instanceof List<?>)) {
+            return result;
+        }
+        ((List<?>) obj).forEach(nodeObj -> {
+            if (nodeObj instanceof Map) {
+                Map<?, ?> node = (Map<?, ?>) nodeObj;
+                if (node.get("uid") instanceof String) {
+                    result.put((String) node.get("uid"), node.get("urn") instanceof String ? (String) node.get("urn") : null);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public boolean supportsMultiHop() {
+        return true;
+    }
+
     @Override
     public void removeNode(@Nonnull Urn urn) {
         String query = String.format("query {\n"
@@ -4,6 +4,7 @@ import com.codahale.metrics.Timer;
 import com.datahub.util.exception.ESQueryException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.graph.GraphFilters;
@@ -23,14 +24,15 @@ import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -48,6 +50,7 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 
 import static com.linkedin.metadata.graph.elastic.ElasticSearchGraphService.INDEX_NAME;
 
@@ -59,17 +62,32 @@ import static com.linkedin.metadata.graph.elastic.ElasticSearchGraphService.INDE
 @RequiredArgsConstructor
 public class ESGraphQueryDAO {
 
+  // The largest page Elasticsearch returns with its default index.max_result_window
+  public static final int DEFAULT_LINEAGE_PAGE_SIZE = 10000;
+
   private final RestHighLevelClient client;
   private final LineageRegistry lineageRegistry;
   private final IndexConvention indexConvention;
+  // Edges read per query when paging through the edges of a lineage hop
+  private final int lineagePageSize;
 
-  private static final int MAX_ELASTIC_RESULT = 10000;
   private static final int BATCH_SIZE = 1000;
   private static final int TIMEOUT_SECS = 10;
+  private static final int LINEAGE_THREADS = 10;
   private static final String SOURCE = "source";
   private static final String DESTINATION = "destination";
+  private static final String SOURCE_URN = SOURCE + ".urn";
+  private static final String DESTINATION_URN = DESTINATION + ".urn";
   private static final String RELATIONSHIP_TYPE = "relationshipType";
 
+  // Lineage hops fan out into many concurrent queries, keep them off the common fork join pool
+  private final ExecutorService lineageExecutor = Executors.newFixedThreadPool(LINEAGE_THREADS,
+      new ThreadFactoryBuilder().setNameFormat("es-graph-lineage-%d").setDaemon(true).build());
+
+  public ESGraphQueryDAO(RestHighLevelClient client, LineageRegistry lineageRegistry, IndexConvention indexConvention) {
+    this(client, lineageRegistry, indexConvention, DEFAULT_LINEAGE_PAGE_SIZE);
+  }
+
   @Nonnull
   public static void addFilterToQueryBuilder(@Nonnull Filter filter, String node, BoolQueryBuilder rootQuery) {
     BoolQueryBuilder orQuery = new BoolQueryBuilder();
@@ -158,9 +176,10 @@ public class ESGraphQueryDAO {
     long remainingTime = TIMEOUT_SECS * 1000;
     long timeoutTime = currentTime + remainingTime;
 
-    // Do a Level-order BFS
-    Set<Urn> visitedEntities = ConcurrentHashMap.newKeySet();
-    visitedEntities.add(entityUrn);
+    // Do a Level-order BFS. Visited entities are tracked by their urn string, which is what the index returns.
+    Set<String> visitedEntities = ConcurrentHashMap.newKeySet();
+    AtomicBoolean timedOut = new AtomicBoolean(false);
+    visitedEntities.add(entityUrn.toString());
     List<Urn> currentLevel = ImmutableList.of(entityUrn);
 
     for (int i = 0; i < maxHops; i++) {
@@ -171,18 +190,20 @@ public class ESGraphQueryDAO {
       if (remainingTime < 0) {
         log.info("Timed out while fetching lineage for {} with direction {}, maxHops {}. Returning results so far",
             entityUrn, direction, maxHops);
+        timedOut.set(true);
         break;
       }
 
       // Do one hop on the lineage graph
       List<LineageRelationship> oneHopRelationships =
-          getLineageRelationshipsInBatches(currentLevel, direction, graphFilters, visitedEntities, i + 1, remainingTime);
+          getLineageRelationshipsInBatches(currentLevel, direction, graphFilters, visitedEntities, i + 1, timeoutTime,
+              timedOut);
       result.addAll(oneHopRelationships);
       currentLevel = oneHopRelationships.stream().map(LineageRelationship::getEntity).collect(Collectors.toList());
       currentTime = System.currentTimeMillis();
       remainingTime = timeoutTime - currentTime;
     }
-    LineageResponse response = new LineageResponse(result.size(), result);
+    LineageResponse response = new LineageResponse(result.size(), result, timedOut.get());
 
     List<LineageRelationship> subList;
     if (offset >= response.getTotal()) {
@@ -191,27 +212,34 @@ public class ESGraphQueryDAO {
       subList = response.getLineageRelationships().subList(offset, Math.min(offset + count, response.getTotal()));
     }
 
-    return new LineageResponse(response.getTotal(), subList);
+    return new LineageResponse(response.getTotal(), subList, response.isPartial());
   }
 
-  // Get 1-hop lineage relationships asynchronously in batches with timeout
+  // Get 1-hop lineage relationships asynchronously in batches with timeout, flagging when some of them were not fetched
   @WithSpan
   public List<LineageRelationship> getLineageRelationshipsInBatches(@Nonnull List<Urn> entityUrns,
-      @Nonnull LineageDirection direction, GraphFilters graphFilters, Set<Urn> visitedEntities, int numHops, long remainingTime) {
+      @Nonnull LineageDirection direction, GraphFilters graphFilters, Set<String> visitedEntities, int numHops,
+      long timeoutTime, @Nonnull AtomicBoolean timedOut) {
     List<List<Urn>> batches = Lists.partition(entityUrns, BATCH_SIZE);
-    return ConcurrencyUtils.getAllCompleted(batches.stream()
+    List<List<LineageRelationship>> completedBatches = ConcurrencyUtils.getAllCompleted(batches.stream()
         .map(batchUrns -> CompletableFuture.supplyAsync(
-            () -> getLineageRelationships(batchUrns, direction, graphFilters, visitedEntities, numHops)))
-        .collect(Collectors.toList()), remainingTime, TimeUnit.MILLISECONDS)
-        .stream()
-        .flatMap(List::stream)
-        .collect(Collectors.toList());
+            () -> getLineageRelationships(batchUrns, direction, graphFilters, visitedEntities, numHops, timeoutTime,
+                timedOut),
+            lineageExecutor))
+        .collect(Collectors.toList()), timeoutTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    if (completedBatches.size() < batches.size()) {
+      log.info("Fetched the lineage of {} out of {} batches of entities before timing out. Returning results so far",
+          completedBatches.size(), batches.size());
+      timedOut.set(true);
+    }
+    return completedBatches.stream().flatMap(List::stream).collect(Collectors.toList());
   }
 
-  // Get 1-hop lineage relationships
+  // Get 1-hop lineage relationships, paging through all matching edges
   @WithSpan
   private List<LineageRelationship> getLineageRelationships(@Nonnull List<Urn> entityUrns,
-      @Nonnull LineageDirection direction, GraphFilters graphFilters, Set<Urn> visitedEntities, int numHops) {
+      @Nonnull LineageDirection direction, GraphFilters graphFilters, Set<String> visitedEntities, int numHops,
+      long timeoutTime, @Nonnull AtomicBoolean timedOut) {
     Map<String, List<Urn>> urnsPerEntityType = entityUrns.stream().collect(Collectors.groupingBy(Urn::getEntityType));
     Map<String, List<EdgeInfo>> edgesPerEntityType = urnsPerEntityType.keySet()
         .stream()
@@ -221,48 +249,96 @@ public class ESGraphQueryDAO {
     // Get all relation types relevant to the set of urns to hop from
     urnsPerEntityType.forEach((entityType, urns) -> finalQuery.should(
         getQueryForLineage(urns, edgesPerEntityType.getOrDefault(entityType, Collections.emptyList()), graphFilters)));
-    SearchResponse response = executeSearchQuery(finalQuery, 0, MAX_ELASTIC_RESULT);
-    Set<Urn> entityUrnSet = new HashSet<>(entityUrns);
+    Map<String, Urn> entityUrnMap = entityUrns.stream()
+        .collect(Collectors.toMap(Urn::toString, Function.identity(), (urn1, urn2) -> urn1));
     // Get all valid edges given the set of urns to hop from
     Set<Pair<String, EdgeInfo>> validEdges = edgesPerEntityType.entrySet()
         .stream()
         .flatMap(entry -> entry.getValue().stream().map(edgeInfo -> Pair.of(entry.getKey(), edgeInfo)))
         .collect(Collectors.toSet());
-    return extractRelationships(entityUrnSet, response, validEdges, visitedEntities, numHops);
+
+    List<LineageRelationship> result = new ArrayList<>();
+    Object[] searchAfter = null;
+    while (true) {
+      SearchResponse response = executeLineageSearchQuery(finalQuery, searchAfter, lineagePageSize);
+      SearchHit[] hits = response.getHits().getHits();
+      result.addAll(extractRelationships(entityUrnMap, hits, validEdges, visitedEntities, numHops));
+      if (hits.length < lineagePageSize) {
+        break;
+      }
+      if (System.currentTimeMillis() > timeoutTime) {
+        log.info("Timed out while paging through lineage edges of {} entities. Returning results so far",
+            entityUrns.size());
+        timedOut.set(true);
+        break;
+      }
+      searchAfter = hits[hits.length - 1].getSortValues();
+    }
+    return result;
+  }
+
+  // Only the sort values are needed to build the lineage, so the document source is not fetched
+  private SearchResponse executeLineageSearchQuery(@Nonnull final QueryBuilder query,
+      @Nullable final Object[] searchAfter, final int count) {
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+    searchSourceBuilder.size(count);
+    searchSourceBuilder.query(query);
+    searchSourceBuilder.fetchSource(false);
+    // Source urn, destination urn and relationship type uniquely identify an edge, so they are a stable paging key
+    searchSourceBuilder.sort(SOURCE_URN, SortOrder.ASC);
+    searchSourceBuilder.sort(DESTINATION_URN, SortOrder.ASC);
+    searchSourceBuilder.sort(RELATIONSHIP_TYPE, SortOrder.ASC);
+    if (searchAfter != null) {
+      searchSourceBuilder.searchAfter(searchAfter);
+    }
+
+    SearchRequest searchRequest = new SearchRequest();
+    searchRequest.source(searchSourceBuilder);
+    searchRequest.indices(indexConvention.getIndexName(INDEX_NAME));
+
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "esLineageQuery").time()) {
+      return client.search(searchRequest, RequestOptions.DEFAULT);
+    } catch (Exception e) {
+      log.error("Search query failed", e);
+      throw new ESQueryException("Search query failed:", e);
+    }
   }
 
-  // Given set of edges and the search response, extract all valid edges that originate from the input entityUrns
+  // Given set of edges and the search hits, extract all valid edges that originate from the input entityUrns
   @WithSpan
-  private List<LineageRelationship> extractRelationships(@Nonnull Set<Urn> entityUrns,
-      @Nonnull SearchResponse searchResponse, Set<Pair<String, EdgeInfo>> validEdges, Set<Urn> visitedEntities,
+  private List<LineageRelationship> extractRelationships(@Nonnull Map<String, Urn> entityUrns,
+      @Nonnull SearchHit[] hits, Set<Pair<String, EdgeInfo>> validEdges, Set<String> visitedEntities,
       int numHops) {
-    List<LineageRelationship> result = new LinkedList<>();
-    for (SearchHit hit : searchResponse.getHits().getHits()) {
-      Map<String, Object> document = hit.getSourceAsMap();
-      Urn sourceUrn = UrnUtils.getUrn(((Map<String, Object>) document.get(SOURCE)).get("urn").toString());
-      Urn destinationUrn =
-          UrnUtils.getUrn(((Map<String, Object>) document.get(DESTINATION)).get("urn").toString());
-      String type = document.get(RELATIONSHIP_TYPE).toString();
+    List<LineageRelationship> result = new ArrayList<>();
+    for (SearchHit hit : hits) {
+      Object[] sortValues = hit.getSortValues();
+      String sourceUrn = sortValues[0].toString();
+      String destinationUrn = sortValues[1].toString();
+      String type = sortValues[2].toString();
 
       // Potential outgoing edge
-      if (entityUrns.contains(sourceUrn)) {
-        // Skip if already visited
+      Urn hopFromSource = entityUrns.get(sourceUrn);
+      // Skip if already visited, urns are only parsed for edges that may be new
+      if (hopFromSource != null && !visitedEntities.contains(destinationUrn)) {
+        Urn destination = UrnUtils.getUrn(destinationUrn);
         // Skip if edge is not a valid outgoing edge
-        if (!visitedEntities.contains(destinationUrn) && validEdges.contains(
-            Pair.of(sourceUrn.getEntityType(), new EdgeInfo(type, RelationshipDirection.OUTGOING, destinationUrn.getEntityType().toLowerCase())))) {
-          visitedEntities.add(destinationUrn);
-          result.add(new LineageRelationship().setType(type).setEntity(destinationUrn).setDegree(numHops));
+        if (validEdges.contains(Pair.of(hopFromSource.getEntityType(),
+            new EdgeInfo(type, RelationshipDirection.OUTGOING, destination.getEntityType().toLowerCase())))
+            && visitedEntities.add(destinationUrn)) {
+          result.add(new LineageRelationship().setType(type).setEntity(destination).setDegree(numHops));
         }
       }
 
       // Potential incoming edge
-      if (entityUrns.contains(destinationUrn)) {
-        // Skip if already visited
-        // Skip if edge is not a valid outgoing edge
-        if (!visitedEntities.contains(sourceUrn) && validEdges.contains(
-            Pair.of(destinationUrn.getEntityType(), new EdgeInfo(type, RelationshipDirection.INCOMING, sourceUrn.getEntityType().toLowerCase())))) {
-          visitedEntities.add(sourceUrn);
-          result.add(new LineageRelationship().setType(type).setEntity(sourceUrn).setDegree(numHops));
+      Urn hopFromDestination = entityUrns.get(destinationUrn);
+      // Skip if already visited, urns are only parsed for edges that may be new
+      if (hopFromDestination != null && !visitedEntities.contains(sourceUrn)) {
+        Urn source = UrnUtils.getUrn(sourceUrn);
+        // Skip if edge is not a valid incoming edge
+        if (validEdges.contains(Pair.of(hopFromDestination.getEntityType(),
+            new EdgeInfo(type, RelationshipDirection.INCOMING, source.getEntityType().toLowerCase())))
+            && visitedEntities.add(sourceUrn)) {
+          result.add(new LineageRelationship().setType(type).setEntity(source).setDegree(numHops));
         }
       }
     }
@@ -327,5 +403,7 @@ public class ESGraphQueryDAO {
   public static class LineageResponse {
     int total;
     List<LineageRelationship> lineageRelationships;
+    // Whether the lineage query timed out before all the relationships were fetched
+    boolean partial;
   }
 }
@@ -3,6 +3,7 @@ package com.linkedin.metadata.graph.elastic;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipFilter;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.io.IOException;
 import java.util.List;
@@ -10,7 +11,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
@@ -29,7 +30,7 @@ import static com.linkedin.metadata.graph.elastic.ElasticSearchGraphService.INDE
 public class ESGraphWriteDAO {
   private final RestHighLevelClient client;
   private final IndexConvention indexConvention;
-  private final BulkProcessor bulkProcessor;
+  private final ESBulkProcessor bulkProcessor;
 
   /**
    * Updates or inserts the given search document.
@@ -47,6 +48,16 @@ public class ESGraphWriteDAO {
     bulkProcessor.add(updateRequest);
   }
 
+  /**
+   * Deletes the given search document.
+   *
+   * @param docId the ID of the document to delete
+   */
+  public void deleteDocument(@Nonnull String docId) {
+    final DeleteRequest deleteRequest = new DeleteRequest(indexConvention.getIndexName(INDEX_NAME)).id(docId);
+    bulkProcessor.add(deleteRequest);
+  }
+
   public BulkByScrollResponse deleteByQuery(@Nullable final String sourceType, @Nonnull final Filter sourceEntityFilter,
       @Nullable final String destinationType, @Nonnull final Filter destinationEntityFilter,
       @Nonnull final List<String> relationshipTypes, @Nonnull final RelationshipFilter relationshipFilter) {
@@ -107,6 +107,10 @@ public class ElasticSearchGraphService implements GraphService {
     _graphWriteDAO.upsertDocument(docId, edgeDocument);
   }
 
+  public void removeEdge(@Nonnull final Edge edge) {
+    _graphWriteDAO.deleteDocument(toDocId(edge));
+  }
+
   @Nonnull
   public RelatedEntitiesResult findRelatedEntities(
       @Nullable final List<String> sourceTypes,
@@ -174,7 +178,8 @@ public class ElasticSearchGraphService implements GraphService {
         new LineageRelationshipArray(lineageResponse.getLineageRelationships()))
         .setStart(offset)
         .setCount(count)
-        .setTotal(lineageResponse.getTotal());
+        .setTotal(lineageResponse.getTotal())
+        .setPartial(lineageResponse.isPartial());
   }
 
   private Filter createUrnFilter(@Nonnull final Urn urn) {
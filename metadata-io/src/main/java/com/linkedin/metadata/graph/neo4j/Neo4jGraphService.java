@@ -4,9 +4,16 @@ import com.codahale.metrics.Timer;
 import com.datahub.util.Statement;
 import com.datahub.util.exception.RetryLimitReached;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphFilters;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
 import com.linkedin.metadata.graph.RelatedEntity;
@@ -18,11 +25,17 @@ import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.query.filter.RelationshipFilter;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -33,6 +46,7 @@ import org.apache.commons.lang.time.StopWatch;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
@@ -42,6 +56,10 @@ import org.neo4j.driver.exceptions.Neo4jException;
 public class Neo4jGraphService implements GraphService {
 
   private static final int MAX_TRANSACTION_RETRY = 3;
+  // Hops expanded by a single lineage query, deeper lineage takes another query for each further so many hops
+  private static final int LINEAGE_HOPS_PER_QUERY = 10;
+  // Edges written by a single UNWIND statement
+  private static final int EDGES_PER_STATEMENT = 1000;
   private final LineageRegistry _lineageRegistry;
   private final Driver _driver;
   private SessionConfig _sessionConfig;
@@ -93,6 +111,113 @@ public class Neo4jGraphService implements GraphService {
     executeStatements(statements);
   }
 
+  public void removeEdge(@Nonnull final Edge edge) {
+
+    log.debug(String.format("Removing Edge source: %s, destination: %s, type: %s",
+        edge.getSource(),
+        edge.getDestination(),
+        edge.getRelationshipType()));
+
+    final String sourceType = edge.getSource().getEntityType();
+    final String destinationType = edge.getDestination().getEntityType();
+
+    final String deleteRelationshipTemplate =
+        "MATCH (source:%s {urn: $sourceUrn})-[r:%s]->(destination:%s {urn: $destinationUrn}) DELETE r";
+    final String statement =
+        String.format(deleteRelationshipTemplate, sourceType, edge.getRelationshipType(), destinationType);
+
+    final Map<String, Object> params = new HashMap<>();
+    params.put("sourceUrn", edge.getSource().toString());
+    params.put("destinationUrn", edge.getDestination().toString());
+
+    runQuery(buildStatement(statement, params)).consume();
+  }
+
+  /**
+   * Adds the edges in a single transaction, with one UNWIND statement per source type, relationship type and
+   * destination type, as labels and relationship types can not be parameters.
+   */
+  @Override
+  public void addEdges(@Nonnull final List<Edge> edges) {
+    log.debug(String.format("Adding %d Edges", edges.size()));
+    if (edges.isEmpty()) {
+      return;
+    }
+    executeStatements(getAddEdgesStatements(edges));
+  }
+
+  @Override
+  public void removeEdges(@Nonnull final List<Edge> edges) {
+    log.debug(String.format("Removing %d Edges", edges.size()));
+    if (edges.isEmpty()) {
+      return;
+    }
+    final String deleteRelationshipsTemplate = "UNWIND $rows AS row "
+        + "MATCH (source:%s {urn: row.sourceUrn})-[r:%s]->(destination:%s {urn: row.destinationUrn}) DELETE r";
+    executeStatements(getEdgeStatements(edges, deleteRelationshipsTemplate));
+  }
+
+  /**
+   * Removes the outgoing edges of the node and adds the new edges in a single transaction, so that readers never see the
+   * node without its edges.
+   */
+  @Override
+  public void replaceEdges(@Nonnull final Urn urn, @Nonnull final List<String> relationshipTypes,
+      @Nonnull final List<Edge> edges) {
+    log.debug(String.format("Replacing Neo4j edge types of node with urn: %s, types: %s, with %d Edges",
+        urn, relationshipTypes, edges.size()));
+
+    final List<Statement> statements = new ArrayList<>();
+    if (!relationshipTypes.isEmpty()) {
+      final String statement = String.format("MATCH (src {urn: $urn})-[r:%s]->(dest) DELETE r",
+          StringUtils.join(relationshipTypes, "|"));
+      final Map<String, Object> params = new HashMap<>();
+      params.put("urn", urn.toString());
+      statements.add(buildStatement(statement, params));
+    }
+    statements.addAll(getAddEdgesStatements(edges));
+    if (!statements.isEmpty()) {
+      executeStatements(statements);
+    }
+  }
+
+  @Nonnull
+  private List<Statement> getAddEdgesStatements(@Nonnull final List<Edge> edges) {
+    final String mergeRelationshipsTemplate = "UNWIND $rows AS row "
+        + "MERGE (source:%1$s {urn: row.sourceUrn}) "
+        + "MERGE (destination:%3$s {urn: row.destinationUrn}) "
+        + "MERGE (source)-[r:%2$s]->(destination) SET r = {}";
+    return getEdgeStatements(edges, mergeRelationshipsTemplate);
+  }
+
+  /**
+   * Builds UNWIND statements for the edges from a template taking the source type, relationship type and destination
+   * type, in this order.
+   */
+  @Nonnull
+  private List<Statement> getEdgeStatements(@Nonnull final List<Edge> edges, @Nonnull final String template) {
+    final Map<List<String>, List<Map<String, Object>>> rowsByTypes = new LinkedHashMap<>();
+    for (Edge edge : edges) {
+      final List<String> types = Arrays.asList(edge.getSource().getEntityType(), edge.getRelationshipType(),
+          edge.getDestination().getEntityType());
+      final Map<String, Object> row = new HashMap<>();
+      row.put("sourceUrn", edge.getSource().toString());
+      row.put("destinationUrn", edge.getDestination().toString());
+      rowsByTypes.computeIfAbsent(types, key -> new ArrayList<>()).add(row);
+    }
+
+    final List<Statement> statements = new ArrayList<>();
+    rowsByTypes.forEach((types, rows) -> {
+      final String statement = String.format(template, types.get(0), types.get(1), types.get(2));
+      for (List<Map<String, Object>> batch : Lists.partition(rows, EDGES_PER_STATEMENT)) {
+        final Map<String, Object> params = new HashMap<>();
+        params.put("rows", batch);
+        statements.add(buildStatement(statement, params));
+      }
+    });
+    return statements;
+  }
+
   @Nonnull
   public RelatedEntitiesResult findRelatedEntities(
       @Nullable final List<String> sourceTypes,
@@ -164,6 +289,99 @@ public class Neo4jGraphService implements GraphService {
     return new RelatedEntitiesResult(offset, relatedEntities.size(), totalCount, relatedEntities);
   }
 
+  /**
+   * Traverses lineage breadth first on the server, expanding up to {@link #LINEAGE_HOPS_PER_QUERY} hops per query.
+   *
+   * Which edges may be followed from a node depends on its entity type, so rather than a variable-length path, which
+   * would enumerate every path between two nodes, each hop is a separate MATCH of the statement which only follows the
+   * lineage edges of the entity types in the frontier, and skips nodes already visited. Every entity is thereby returned
+   * once, with the least number of hops it takes to reach it as its degree.
+   */
+  @Nonnull
+  @Override
+  public EntityLineageResult getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction,
+      GraphFilters graphFilters, int offset, int count, int maxHops) {
+    final Set<String> allowedEntityTypes =
+        graphFilters.getAllowedEntityTypes().stream().map(String::toLowerCase).collect(Collectors.toSet());
+
+    // Lineage edges which may be followed, as "<from entity type> <relationship type> <direction> <to entity type>"
+    final List<String> lineageEdges = new ArrayList<>();
+    final Set<String> relationshipTypes = new TreeSet<>();
+    if (allowedEntityTypes.contains(entityUrn.getEntityType().toLowerCase())) {
+      _lineageRegistry.getReachableLineageRelationships(entityUrn.getEntityType(), direction)
+          .forEach((entityType, edges) -> edges.stream()
+              .filter(edge -> allowedEntityTypes.contains(entityType.toLowerCase())
+                  && allowedEntityTypes.contains(edge.getOpposingEntityType().toLowerCase()))
+              .forEach(edge -> {
+                lineageEdges.add(String.join(" ", entityType.toLowerCase(), edge.getType(),
+                    edge.getDirection().toString(), edge.getOpposingEntityType().toLowerCase()));
+                relationshipTypes.add(edge.getType());
+              }));
+    }
+
+    final List<LineageRelationship> relationships = new ArrayList<>();
+    List<String> frontier = Collections.singletonList(entityUrn.toString());
+    final List<String> visited = new ArrayList<>(frontier);
+    int degree = 0;
+    while (!relationshipTypes.isEmpty() && !frontier.isEmpty() && degree < maxHops) {
+      final int hops = Math.min(LINEAGE_HOPS_PER_QUERY, maxHops - degree);
+      final Map<String, Object> params = new HashMap<>();
+      params.put("frontier", frontier);
+      params.put("visited", visited);
+      params.put("lineageEdges", lineageEdges);
+      params.put("degree", degree);
+      final Record record = runQuery(buildStatement(buildLineageQuery(relationshipTypes, hops), params)).single();
+
+      final List<LineageRelationship> found = new ArrayList<>(record.get("found").asList(value ->
+          new LineageRelationship().setEntity(UrnUtils.getUrn(value.get("urn").asString()))
+              .setType(value.get("type").asString())
+              .setDegree(value.get("degree").asInt())));
+      // Nodes of a hop come back in no particular order, order them so that pages are stable
+      found.sort(Comparator.comparing(LineageRelationship::getDegree)
+          .thenComparing(relationship -> relationship.getEntity().toString()));
+      found.forEach(relationship -> visited.add(relationship.getEntity().toString()));
+      relationships.addAll(found);
+
+      frontier = record.get("frontier").asList(value -> value.asString());
+      degree += hops;
+    }
+
+    final List<LineageRelationship> page = offset >= relationships.size() ? Collections.emptyList()
+        : relationships.subList(offset, Math.min(offset + count, relationships.size()));
+    return new EntityLineageResult().setRelationships(new LineageRelationshipArray(page))
+        .setStart(offset)
+        .setCount(count)
+        .setTotal(relationships.size());
+  }
+
+  @Nonnull
+  private static String buildLineageQuery(@Nonnull Collection<String> relationshipTypes, int hops) {
+    final String relationshipTypeFilter = StringUtils.join(relationshipTypes, "|");
+    final StringJoiner query = new StringJoiner("\n");
+    query.add("MATCH (node) WHERE node.urn IN $frontier");
+    query.add("WITH collect(node) AS frontier, $visited AS visited, [] AS found");
+    for (int hop = 1; hop <= hops; hop++) {
+      // An empty frontier is kept as a single null so that the row carrying what was found so far is not dropped
+      query.add("UNWIND CASE WHEN frontier = [] THEN [null] ELSE frontier END AS src");
+      query.add(String.format("OPTIONAL MATCH (src)-[r:%s]-(dest) WHERE NOT dest.urn IN visited AND ("
+          + "startNode(r) = src AND toLower(head(labels(src))) + ' ' + type(r) + ' OUTGOING ' "
+          + "+ toLower(head(labels(dest))) IN $lineageEdges OR "
+          + "endNode(r) = src AND toLower(head(labels(src))) + ' ' + type(r) + ' INCOMING ' "
+          + "+ toLower(head(labels(dest))) IN $lineageEdges)", relationshipTypeFilter));
+      query.add("WITH visited, found, dest, head(collect(type(r))) AS type");
+      query.add("WITH visited, found, collect(CASE WHEN dest IS NULL THEN NULL ELSE {node: dest, type: type} END) AS hop");
+      query.add(String.format("WITH visited + [h IN hop | h.node.urn] AS visited, [h IN hop | h.node] AS frontier, "
+          + "found + [h IN hop | {urn: h.node.urn, type: h.type, degree: $degree + %d}] AS found", hop));
+    }
+    query.add("RETURN [node IN frontier | node.urn] AS frontier, found");
+    return query.toString();
+  }
+
+  @Override
+  public boolean supportsMultiHop() {
+    return true;
+  }
+
   private String computeEntityTypeWhereClause(@Nonnull final List<String> sourceTypes,
       @Nonnull final List<String> destinationTypes) {
     String whereClause = "";
@@ -70,6 +70,23 @@ public interface EntitySearchService {
   SearchResult search(@Nonnull String entityName, @Nonnull String input, @Nullable Filter postFilters,
       @Nullable SortCriterion sortCriterion, int from, int size);
 
+  /**
+   * Gets a list of documents of any of the given entities that match given search request, with a single query across
+   * all of them. Unlike merging the results of {@link #search} for each entity, hits are ranked and paginated across
+   * entities by the search backend, and the number of hits of each entity is returned as the "entity" aggregation.
+   *
+   * @param entityNames names of the entities to search
+   * @param input the search input text
+   * @param postFilters the request map with fields and values as filters to be applied to search hits
+   * @param sortCriterion {@link SortCriterion} to be applied to search results
+   * @param from index to start the search from
+   * @param size the number of search hits to return
+   * @return a {@link com.linkedin.metadata.dao.SearchResult} that contains a list of matched documents and related search result metadata
+   */
+  @Nonnull
+  SearchResult searchAcrossEntities(@Nonnull List<String> entityNames, @Nonnull String input,
+      @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int from, int size);
+
   /**
    * Gets a list of documents after applying the input filters.
    *
@@ -13,9 +13,12 @@ import com.linkedin.metadata.query.filter.ConjunctiveCriterion;
 import com.linkedin.metadata.query.filter.Criterion;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
+import com.linkedin.metadata.search.cache.CachedEntityLineageResult;
+import com.linkedin.metadata.search.cache.LineageCacheInvalidator;
 import com.linkedin.metadata.search.utils.FilterUtils;
 import com.linkedin.metadata.search.utils.QueryUtils;
 import com.linkedin.metadata.search.utils.SearchUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.util.Collections;
 import java.util.HashSet;
@@ -31,7 +34,7 @@ import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.springframework.cache.Cache;
 
 
@@ -40,6 +43,7 @@ public class LineageSearchService {
   private final SearchService _searchService;
   private final GraphService _graphService;
   private final Cache cache;
+  private final LineageCacheInvalidator _lineageCacheInvalidator;
 
   private static final String DEGREE_FILTER = "degree";
   private static final String DEGREE_FILTER_INPUT = "degree.keyword";
@@ -71,11 +75,8 @@ public class LineageSearchService {
       @Nonnull List<String> entities, @Nullable String input, @Nullable Integer maxHops, @Nullable Filter inputFilters,
       @Nullable SortCriterion sortCriterion, int from, int size) {
     // Cache multihop result for faster performance
-    EntityLineageResult lineageResult = cache.get(Pair.of(sourceUrn, direction), EntityLineageResult.class);
-    if (lineageResult == null) {
-      maxHops = maxHops != null ? maxHops : 1000;
-      lineageResult = _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, maxHops);
-    }
+    maxHops = maxHops != null ? maxHops : 1000;
+    EntityLineageResult lineageResult = getLineage(sourceUrn, direction, maxHops);
 
     // Filter hopped result based on the set of entities to return and inputFilters before sending to search
     List<LineageRelationship> lineageRelationships =
@@ -85,6 +86,26 @@ public class LineageSearchService {
         from, size);
   }
 
+  // The traversal does not depend on the entity or input filters, those are applied on top of the cached result
+  private EntityLineageResult getLineage(@Nonnull Urn sourceUrn, @Nonnull LineageDirection direction, int maxHops) {
+    Triple<Urn, LineageDirection, Integer> cacheKey = Triple.of(sourceUrn, direction, maxHops);
+    CachedEntityLineageResult cachedResult = cache.get(cacheKey, CachedEntityLineageResult.class);
+    if (cachedResult != null) {
+      if (_lineageCacheInvalidator.isValid(sourceUrn, cachedResult)) {
+        MetricUtils.counter(this.getClass(), "lineageCacheHit").inc();
+        return cachedResult.getEntityLineageResult();
+      }
+      MetricUtils.counter(this.getClass(), "lineageCacheEviction").inc();
+      cache.evict(cacheKey);
+    }
+    MetricUtils.counter(this.getClass(), "lineageCacheMiss").inc();
+
+    long timestamp = System.currentTimeMillis();
+    EntityLineageResult lineageResult = _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, maxHops);
+    cache.put(cacheKey, new CachedEntityLineageResult(lineageResult, timestamp));
+    return lineageResult;
+  }
+
   // Search service can only take up to 50K term filter, so query search service in batches
   private LineageSearchResult getSearchResultInBatches(List<LineageRelationship> lineageRelationships,
       @Nonnull String input, @Nullable Filter inputFilters, @Nullable SortCriterion sortCriterion, int from, int size) {
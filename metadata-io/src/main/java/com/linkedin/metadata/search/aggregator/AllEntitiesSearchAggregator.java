@@ -47,17 +47,38 @@ public class AllEntitiesSearchAggregator {
   private final EntityDocCountCache _entityDocCountCache;
   private final CachingEntitySearchService _cachingEntitySearchService;
   private final int _maxAggregationValueCount;
+  // Whether to search all entities with a single query across their indices, instead of one query per entity
+  private final boolean _searchAcrossIndices;
 
   public AllEntitiesSearchAggregator(
       EntityRegistry entityRegistry,
       EntitySearchService entitySearchService,
       CachingEntitySearchService cachingEntitySearchService,
       SearchRanker searchRanker) {
+    this(entitySearchService, cachingEntitySearchService, searchRanker,
+        new EntityDocCountCache(entityRegistry, entitySearchService));
+  }
+
+  public AllEntitiesSearchAggregator(
+      EntitySearchService entitySearchService,
+      CachingEntitySearchService cachingEntitySearchService,
+      SearchRanker searchRanker,
+      EntityDocCountCache entityDocCountCache) {
+    this(entitySearchService, cachingEntitySearchService, searchRanker, entityDocCountCache, false);
+  }
+
+  public AllEntitiesSearchAggregator(
+      EntitySearchService entitySearchService,
+      CachingEntitySearchService cachingEntitySearchService,
+      SearchRanker searchRanker,
+      EntityDocCountCache entityDocCountCache,
+      boolean searchAcrossIndices) {
     _entitySearchService = Objects.requireNonNull(entitySearchService);
     _searchRanker = Objects.requireNonNull(searchRanker);
     _cachingEntitySearchService = Objects.requireNonNull(cachingEntitySearchService);
-    _entityDocCountCache = new EntityDocCountCache(entityRegistry, entitySearchService);
+    _entityDocCountCache = Objects.requireNonNull(entityDocCountCache);
     _maxAggregationValueCount = DEFAULT_MAX_AGGREGATION_VALUES; // TODO: Make this externally configurable
+    _searchAcrossIndices = searchAcrossIndices;
   }
 
   @Nonnull
@@ -84,6 +105,10 @@ public class AllEntitiesSearchAggregator {
       querySize = _entitySearchService.maxResultSize() - from;
     }
 
+    if (_searchAcrossIndices) {
+      return searchAcrossIndices(nonEmptyEntities, input, postFilters, sortCriterion, from, size, queryFrom, querySize);
+    }
+
     // 2. Get search results for each entity
     Map<String, SearchResult> searchResults =
         getSearchResultsForEachEntity(nonEmptyEntities, input, postFilters, sortCriterion, queryFrom, querySize,
@@ -140,6 +165,46 @@ public class AllEntitiesSearchAggregator {
         .setMetadata(finalMetadata);
   }
 
+  /**
+   * Searches all entities with a single query, leaving ranking (or sorting) and pagination across entities to the
+   * search backend. This costs one round trip no matter the number of entities, and pages are not fetched from the
+   * beginning for each entity, so deep pages are not more expensive to merge.
+   */
+  @WithSpan
+  private SearchResult searchAcrossIndices(@Nonnull List<String> entities, @Nonnull String input,
+      @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int from, int size, int queryFrom,
+      int querySize) {
+    if (entities.isEmpty()) {
+      return getEmptySearchResult(from, size);
+    }
+
+    SearchResult result;
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "searchAcrossIndices").time()) {
+      result = _entitySearchService.searchAcrossEntities(entities, input, postFilters, sortCriterion, queryFrom,
+          querySize);
+    }
+
+    Map<String, AggregationMetadata> aggregations = new HashMap<>();
+    if (result.getMetadata().hasAggregations()) {
+      result.getMetadata()
+          .getAggregations()
+          .forEach(aggregation -> aggregations.put(aggregation.getName(), aggregation));
+    }
+    // The entity aggregation is computed by the search backend too, and should never be truncated
+    AggregationMetadata entityAggregation = aggregations.remove("entity");
+    Map<String, AggregationMetadata> finalAggregations = trimMergedAggregations(aggregations);
+    if (entityAggregation != null) {
+      finalAggregations.put(entityAggregation.getName(), entityAggregation);
+    }
+
+    return new SearchResult().setEntities(result.getEntities())
+        .setNumEntities(result.getNumEntities())
+        .setFrom(from)
+        .setPageSize(size)
+        .setMetadata(
+            new SearchResultMetadata().setAggregations(new AggregationMetadataArray(rankFilterGroups(finalAggregations))));
+  }
+
   private SearchResult getEmptySearchResult(int from, int size) {
     return new SearchResult().setEntities(new SearchEntityArray())
         .setNumEntities(0)
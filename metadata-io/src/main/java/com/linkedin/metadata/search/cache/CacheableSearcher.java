@@ -5,19 +5,22 @@ import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import org.springframework.cache.Cache;
 
 
 /**
  * Wrapper class to allow searching in batches and caching the results.
+ *
+ * Batches are read through a {@link SearchCacheLoader}, which decides whether a cached batch is still up to date given
+ * the entity types that are searched.
  */
-@RequiredArgsConstructor
 public class CacheableSearcher<K> {
   @Nonnull
   private final Cache cache;
@@ -29,6 +32,28 @@ public class CacheableSearcher<K> {
   @Nullable
   private final SearchFlags searchFlags;
   private final boolean enableCache;
+  // Entity types being searched, used to invalidate cached batches when they are written to. Empty for all types.
+  private final Collection<String> entityNames;
+  private final SearchCacheLoader cacheLoader;
+
+  public CacheableSearcher(@Nonnull Cache cache, int batchSize, Function<QueryPagination, SearchResult> searcher,
+      Function<QueryPagination, K> cacheKeyGenerator, @Nullable SearchFlags searchFlags, boolean enableCache) {
+    this(cache, batchSize, searcher, cacheKeyGenerator, searchFlags, enableCache, Collections.emptyList(),
+        SearchCacheLoader.NO_INVALIDATION);
+  }
+
+  public CacheableSearcher(@Nonnull Cache cache, int batchSize, Function<QueryPagination, SearchResult> searcher,
+      Function<QueryPagination, K> cacheKeyGenerator, @Nullable SearchFlags searchFlags, boolean enableCache,
+      @Nonnull Collection<String> entityNames, @Nonnull SearchCacheLoader cacheLoader) {
+    this.cache = cache;
+    this.batchSize = batchSize;
+    this.searcher = searcher;
+    this.cacheKeyGenerator = cacheKeyGenerator;
+    this.searchFlags = searchFlags;
+    this.enableCache = enableCache;
+    this.entityNames = entityNames;
+    this.cacheLoader = cacheLoader;
+  }
 
   @Value
   public static class QueryPagination {
@@ -81,18 +106,11 @@ public class CacheableSearcher<K> {
 
   private SearchResult getBatch(int batchId) {
     QueryPagination batch = getBatchQuerySize(batchId);
-    SearchResult result;
     if (enableCache()) {
       K cacheKey = cacheKeyGenerator.apply(batch);
-      result = cache.get(cacheKey, SearchResult.class);
-      if (result == null) {
-        result = searcher.apply(batch);
-        cache.put(cacheKey, result);
-      }
-    } else {
-      result = searcher.apply(batch);
+      return cacheLoader.get(cache, cacheKey, entityNames, () -> searcher.apply(batch));
     }
-    return result;
+    return searcher.apply(batch);
   }
 
   private boolean enableCache() {
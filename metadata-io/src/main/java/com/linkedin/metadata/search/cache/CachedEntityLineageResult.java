@@ -0,0 +1,14 @@
+package com.linkedin.metadata.search.cache;
+
+import com.linkedin.metadata.graph.EntityLineageResult;
+import lombok.Value;
+
+
+/**
+ * A multi-hop lineage traversal result along with the time it was computed at, as stored in the lineage cache.
+ */
+@Value
+public class CachedEntityLineageResult {
+  EntityLineageResult entityLineageResult;
+  long timestamp;
+}
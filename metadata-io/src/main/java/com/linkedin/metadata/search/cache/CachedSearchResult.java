@@ -0,0 +1,41 @@
+package com.linkedin.metadata.search.cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+
+/**
+ * A search or autocomplete result along with the time it was computed at, as stored in the search caches. Also keeps
+ * track of how often the entry was read, to tell hot queries apart, and whether it is currently being refreshed.
+ */
+public class CachedSearchResult<T> {
+  @Getter
+  private final T result;
+  @Getter
+  private final long timestamp;
+  private final AtomicInteger _hits;
+  private final AtomicBoolean _refreshing = new AtomicBoolean(false);
+
+  public CachedSearchResult(T result, long timestamp, int hits) {
+    this.result = result;
+    this.timestamp = timestamp;
+    _hits = new AtomicInteger(hits);
+  }
+
+  public int getHits() {
+    return _hits.get();
+  }
+
+  int recordHit() {
+    return _hits.incrementAndGet();
+  }
+
+  boolean startRefresh() {
+    return _refreshing.compareAndSet(false, true);
+  }
+
+  void endRefresh() {
+    _refreshing.set(false);
+  }
+}
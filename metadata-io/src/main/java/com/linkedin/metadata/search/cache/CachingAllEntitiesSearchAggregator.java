@@ -8,12 +8,11 @@ import com.linkedin.metadata.search.aggregator.AllEntitiesSearchAggregator;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
-import org.javatuples.Quintet;
+import lombok.AllArgsConstructor;
 import org.springframework.cache.CacheManager;
 
 
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class CachingAllEntitiesSearchAggregator {
   private static final String ALL_ENTITIES_SEARCH_AGGREGATOR_CACHE_NAME = "allEntitiesSearchAggregator";
 
@@ -21,12 +20,21 @@ public class CachingAllEntitiesSearchAggregator {
   private final AllEntitiesSearchAggregator aggregator;
   private final int batchSize;
   private final boolean enableCache;
+  private final SearchCacheLoader cacheLoader;
+
+  public CachingAllEntitiesSearchAggregator(CacheManager cacheManager, AllEntitiesSearchAggregator aggregator,
+      int batchSize, boolean enableCache) {
+    this(cacheManager, aggregator, batchSize, enableCache, SearchCacheLoader.NO_INVALIDATION);
+  }
 
   public SearchResult getSearchResults(List<String> entities, @Nonnull String input, @Nullable Filter postFilters,
       @Nullable SortCriterion sortCriterion, int from, int size, @Nullable SearchFlags searchFlags) {
+    // The max number of aggregation values changes the result, so it is part of the cache key
+    final Integer maxAggValues = searchFlags != null ? searchFlags.getMaxAggValues() : null;
     return new CacheableSearcher<>(cacheManager.getCache(ALL_ENTITIES_SEARCH_AGGREGATOR_CACHE_NAME), batchSize,
         querySize -> aggregator.search(entities, input, postFilters, sortCriterion, querySize.getFrom(),
             querySize.getSize(), searchFlags),
-        querySize -> Quintet.with(entities, input, postFilters, sortCriterion, querySize), searchFlags, enableCache).getSearchResults(from, size);
+        querySize -> SearchCacheKey.forSearch(entities, input, postFilters, sortCriterion, maxAggValues, querySize),
+        searchFlags, enableCache, entities, cacheLoader).getSearchResults(from, size);
   }
 }
@@ -1,38 +1,68 @@
 package com.linkedin.metadata.search.cache;
 
-import com.google.common.base.Suppliers;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
 
 
+/**
+ * Caches the number of documents in the search index of each entity type.
+ *
+ * Counts are refreshed once the refresh interval has passed. When a {@link SearchCacheInvalidator} is given, only the
+ * entity types which have been written to since the last refresh are counted again, and all of them only once the max
+ * age has passed. Without one, all entity types are counted on every refresh.
+ */
 public class EntityDocCountCache {
+  private static final long DEFAULT_REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
   private final EntityRegistry _entityRegistry;
   private final EntitySearchService _entitySearchService;
-  private final Supplier<Map<String, Long>> entityDocCount;
+  @Nullable
+  private final SearchCacheInvalidator _invalidator;
+  private final long _refreshIntervalMillis;
+  private final long _maxAgeMillis;
+  private volatile DocCounts _docCounts;
 
   public EntityDocCountCache(EntityRegistry entityRegistry, EntitySearchService entitySearchService) {
+    this(entityRegistry, entitySearchService, null, DEFAULT_REFRESH_INTERVAL_MILLIS, DEFAULT_REFRESH_INTERVAL_MILLIS);
+  }
+
+  public EntityDocCountCache(EntityRegistry entityRegistry, EntitySearchService entitySearchService,
+      @Nullable SearchCacheInvalidator invalidator, long refreshIntervalMillis, long maxAgeMillis) {
     _entityRegistry = entityRegistry;
     _entitySearchService = entitySearchService;
-    entityDocCount = Suppliers.memoizeWithExpiration(this::fetchEntityDocCount, 1, TimeUnit.MINUTES);
+    _invalidator = invalidator;
+    _refreshIntervalMillis = refreshIntervalMillis;
+    _maxAgeMillis = maxAgeMillis;
   }
 
-  private Map<String, Long> fetchEntityDocCount() {
-    return _entityRegistry.getEntitySpecs()
-        .keySet()
-        .stream()
-        .collect(Collectors.toMap(Function.identity(), _entitySearchService::docCount));
+  @Value
+  private static class DocCounts {
+    Map<String, Long> counts;
+    // When the counts were last refreshed, and when all of them were last fetched
+    long refreshedAt;
+    long fullyFetchedAt;
   }
 
   @WithSpan
   public Map<String, Long> getEntityDocCount() {
-    return entityDocCount.get();
+    final DocCounts docCounts = _docCounts;
+    if (docCounts != null && System.currentTimeMillis() - docCounts.getRefreshedAt() < _refreshIntervalMillis) {
+      return docCounts.getCounts();
+    }
+    return refresh();
   }
 
   public List<String> getNonEmptyEntities() {
@@ -42,4 +72,30 @@ public class EntityDocCountCache {
         .map(Map.Entry::getKey)
         .collect(Collectors.toList());
   }
+
+  private synchronized Map<String, Long> refresh() {
+    final DocCounts previous = _docCounts;
+    final long now = System.currentTimeMillis();
+    if (previous != null && now - previous.getRefreshedAt() < _refreshIntervalMillis) {
+      // Another thread refreshed the counts in the meantime
+      return previous.getCounts();
+    }
+
+    if (previous == null || _invalidator == null || now - previous.getFullyFetchedAt() >= _maxAgeMillis) {
+      MetricUtils.counter(this.getClass(), "fullRefresh").inc();
+      _docCounts = new DocCounts(fetchEntityDocCount(_entityRegistry.getEntitySpecs().keySet()), now, now);
+    } else {
+      final Set<String> updatedEntities = _invalidator.getUpdatedSince(previous.getRefreshedAt());
+      updatedEntities.retainAll(previous.getCounts().keySet());
+      MetricUtils.counter(this.getClass(), "refreshedEntities").inc(updatedEntities.size());
+      final Map<String, Long> counts = new HashMap<>(previous.getCounts());
+      counts.putAll(fetchEntityDocCount(updatedEntities));
+      _docCounts = new DocCounts(counts, now, previous.getFullyFetchedAt());
+    }
+    return _docCounts.getCounts();
+  }
+
+  private Map<String, Long> fetchEntityDocCount(@Nonnull Collection<String> entityNames) {
+    return entityNames.stream().collect(Collectors.toMap(Function.identity(), _entitySearchService::docCount));
+  }
 }
@@ -0,0 +1,67 @@
+package com.linkedin.metadata.search.cache;
+
+import com.linkedin.common.urn.Urn;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Keeps track of when the lineage edges of each entity were last written, so that cached lineage traversals that went
+ * through a modified entity are discarded when they are read rather than served stale.
+ *
+ * Cached traversals older than the max age are always treated as stale, which also bounds the number of write
+ * timestamps that need to be kept around.
+ */
+public class LineageCacheInvalidator {
+  private final long _maxAgeMillis;
+  private final Map<Urn, Long> _lastUpdatedMillis = new ConcurrentHashMap<>();
+  private final AtomicLong _lastPrunedMillis = new AtomicLong(System.currentTimeMillis());
+
+  public LineageCacheInvalidator(long maxAgeMillis) {
+    _maxAgeMillis = maxAgeMillis;
+  }
+
+  /**
+   * Records that lineage edges starting or ending at the given entities have changed.
+   */
+  public void markUpdated(@Nonnull final Collection<Urn> urns) {
+    final long now = System.currentTimeMillis();
+    urns.forEach(urn -> _lastUpdatedMillis.put(urn, now));
+    prune(now);
+  }
+
+  /**
+   * Returns whether the cached traversal starting at the source urn is still up to date, i.e. it is within the max age
+   * and none of the entities it went through have had lineage edges written since it was computed.
+   */
+  public boolean isValid(@Nonnull final Urn sourceUrn, @Nonnull final CachedEntityLineageResult cachedResult) {
+    final long computedAt = cachedResult.getTimestamp();
+    if (System.currentTimeMillis() - computedAt > _maxAgeMillis) {
+      return false;
+    }
+    if (_lastUpdatedMillis.isEmpty()) {
+      return true;
+    }
+    return !isUpdatedSince(sourceUrn, computedAt) && cachedResult.getEntityLineageResult()
+        .getRelationships()
+        .stream()
+        .noneMatch(relationship -> isUpdatedSince(relationship.getEntity(), computedAt));
+  }
+
+  private boolean isUpdatedSince(@Nonnull final Urn urn, final long timestamp) {
+    final Long lastUpdated = _lastUpdatedMillis.get(urn);
+    return lastUpdated != null && lastUpdated >= timestamp;
+  }
+
+  // Writes older than the max age can no longer invalidate anything
+  private void prune(final long now) {
+    final long lastPruned = _lastPrunedMillis.get();
+    if (now - lastPruned < _maxAgeMillis || !_lastPrunedMillis.compareAndSet(lastPruned, now)) {
+      return;
+    }
+    _lastUpdatedMillis.values().removeIf(lastUpdated -> now - lastUpdated > _maxAgeMillis);
+  }
+}
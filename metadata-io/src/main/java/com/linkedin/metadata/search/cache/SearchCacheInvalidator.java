@@ -0,0 +1,68 @@
+package com.linkedin.metadata.search.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Keeps track of when the search index of each entity type was last written to, so that cached search results and
+ * document counts for an entity type can be recognized as out of date once a document of that type has changed.
+ *
+ * Documents only become visible to searches after the index has been refreshed, so a result computed shortly after a
+ * write may not include it yet. Writes are therefore considered to have happened up to the refresh grace period later
+ * than they were recorded.
+ */
+public class SearchCacheInvalidator {
+  private final long _refreshGraceMillis;
+  private final Map<String, Long> _lastUpdatedMillis = new ConcurrentHashMap<>();
+  private final AtomicLong _lastAnyUpdatedMillis = new AtomicLong(0);
+
+  public SearchCacheInvalidator(long refreshGraceMillis) {
+    _refreshGraceMillis = refreshGraceMillis;
+  }
+
+  /**
+   * Records that a document of the given entity type has been written to or deleted from the search index.
+   */
+  public void markUpdated(@Nonnull final String entityName) {
+    final long now = System.currentTimeMillis();
+    _lastUpdatedMillis.put(entityName.toLowerCase(), now);
+    _lastAnyUpdatedMillis.accumulateAndGet(now, Math::max);
+  }
+
+  /**
+   * Returns whether any of the given entity types has been written to since the timestamp. An empty collection stands
+   * for all entity types.
+   */
+  public boolean isUpdatedSince(@Nonnull final Collection<String> entityNames, final long timestamp) {
+    final long visibleSince = timestamp - _refreshGraceMillis;
+    if (_lastAnyUpdatedMillis.get() < visibleSince) {
+      return false;
+    }
+    if (entityNames.isEmpty()) {
+      return true;
+    }
+    return entityNames.stream().anyMatch(entityName -> {
+      final Long lastUpdated = _lastUpdatedMillis.get(entityName.toLowerCase());
+      return lastUpdated != null && lastUpdated >= visibleSince;
+    });
+  }
+
+  /**
+   * Returns the (lower case) entity types which have been written to since the timestamp.
+   */
+  @Nonnull
+  public Set<String> getUpdatedSince(final long timestamp) {
+    final long visibleSince = timestamp - _refreshGraceMillis;
+    return _lastUpdatedMillis.entrySet()
+        .stream()
+        .filter(entry -> entry.getValue() >= visibleSince)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+}
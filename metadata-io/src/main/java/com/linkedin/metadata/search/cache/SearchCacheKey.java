@@ -0,0 +1,66 @@
+package com.linkedin.metadata.search.cache;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.RecordTemplate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * Key of the search result caches.
+ *
+ * Entity names are lower cased and sorted, so that requests for the same entity types share entries. Filters and sort
+ * criteria are copied into read-only data maps, so that callers modifying their request afterwards cannot change the
+ * hash of an existing key.
+ */
+@Value
+public class SearchCacheKey {
+  List<String> entityNames;
+  String input;
+  @Nullable
+  String field;
+  @Nullable
+  DataMap filters;
+  @Nullable
+  DataMap sortCriterion;
+  @Nullable
+  Integer maxAggValues;
+  int from;
+  int size;
+
+  public static SearchCacheKey forSearch(@Nonnull Collection<String> entityNames, @Nonnull String input,
+      @Nullable RecordTemplate filters, @Nullable RecordTemplate sortCriterion, @Nullable Integer maxAggValues,
+      @Nonnull CacheableSearcher.QueryPagination pagination) {
+    return new SearchCacheKey(normalize(entityNames), input, null, copyOf(filters), copyOf(sortCriterion),
+        maxAggValues, pagination.getFrom(), pagination.getSize());
+  }
+
+  public static SearchCacheKey forAutoComplete(@Nonnull String entityName, @Nonnull String input,
+      @Nullable String field, @Nullable RecordTemplate filters, int limit) {
+    return new SearchCacheKey(normalize(Collections.singletonList(entityName)), input, field, copyOf(filters), null,
+        null, 0, limit);
+  }
+
+  private static List<String> normalize(@Nonnull Collection<String> entityNames) {
+    return entityNames.stream().map(String::toLowerCase).distinct().sorted().collect(Collectors.toList());
+  }
+
+  @Nullable
+  private static DataMap copyOf(@Nullable RecordTemplate record) {
+    if (record == null) {
+      return null;
+    }
+    try {
+      final DataMap copy = record.data().copy();
+      copy.makeReadOnly();
+      return copy;
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("Failed to copy search request for cache key", e);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.linkedin.metadata.search.cache;
+
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+
+/**
+ * Reads search results through a {@link Cache}, storing them as {@link CachedSearchResult}s.
+ *
+ * A cached result is served as is while it is younger than the refresh interval and none of the entity types it was
+ * computed from have been written to since (see {@link SearchCacheInvalidator}). Otherwise it is out of date: hot
+ * entries, i.e. ones read at least hotQueryMinHits times, keep being served for up to maxStaleMillis while they are
+ * recomputed in the background, and all others are recomputed before returning.
+ */
+@Slf4j
+public class SearchCacheLoader {
+  /**
+   * Never considers cached results out of date, leaving expiry entirely to the cache.
+   */
+  public static final SearchCacheLoader NO_INVALIDATION =
+      new SearchCacheLoader(null, null, Long.MAX_VALUE, 0, Integer.MAX_VALUE);
+
+  @Nullable
+  private final SearchCacheInvalidator _invalidator;
+  @Nullable
+  private final Executor _refreshExecutor;
+  private final long _refreshAfterMillis;
+  private final long _maxStaleMillis;
+  private final int _hotQueryMinHits;
+
+  public SearchCacheLoader(@Nullable SearchCacheInvalidator invalidator, @Nullable Executor refreshExecutor,
+      long refreshAfterMillis, long maxStaleMillis, int hotQueryMinHits) {
+    _invalidator = invalidator;
+    _refreshExecutor = refreshExecutor;
+    _refreshAfterMillis = refreshAfterMillis;
+    _maxStaleMillis = maxStaleMillis;
+    _hotQueryMinHits = hotQueryMinHits;
+  }
+
+  /**
+   * Returns the cached result for the key, computing it with the loader if there is no usable cached result.
+   *
+   * @param cache the cache to read from and write to
+   * @param key the cache key
+   * @param entityNames the entity types the result was computed from, or an empty collection for all entity types
+   * @param loader computes the result
+   */
+  public <T> T get(@Nonnull Cache cache, @Nonnull Object key, @Nonnull Collection<String> entityNames,
+      @Nonnull Supplier<T> loader) {
+    final CachedSearchResult<T> cached = cache.get(key, CachedSearchResult.class);
+    if (cached == null) {
+      MetricUtils.counter(this.getClass(), cache.getName() + "Miss").inc();
+      return load(cache, key, loader, 0);
+    }
+
+    final int hits = cached.recordHit();
+    final long now = System.currentTimeMillis();
+    if (isFresh(cached, entityNames, now)) {
+      MetricUtils.counter(this.getClass(), cache.getName() + "Hit").inc();
+      return cached.getResult();
+    }
+    if (_refreshExecutor != null && hits >= _hotQueryMinHits && now - cached.getTimestamp() < _maxStaleMillis) {
+      MetricUtils.counter(this.getClass(), cache.getName() + "StaleHit").inc();
+      refreshAsync(cache, key, cached, loader);
+      return cached.getResult();
+    }
+    MetricUtils.counter(this.getClass(), cache.getName() + "Invalidated").inc();
+    return load(cache, key, loader, hits);
+  }
+
+  private boolean isFresh(@Nonnull CachedSearchResult<?> cached, @Nonnull Collection<String> entityNames, long now) {
+    if (now - cached.getTimestamp() >= _refreshAfterMillis) {
+      return false;
+    }
+    return _invalidator == null || !_invalidator.isUpdatedSince(entityNames, cached.getTimestamp());
+  }
+
+  private <T> T load(@Nonnull Cache cache, @Nonnull Object key, @Nonnull Supplier<T> loader, int hits) {
+    // Use the start time, so that writes which happen while the query runs invalidate the result
+    final long startTime = System.currentTimeMillis();
+    final T result = loader.get();
+    cache.put(key, new CachedSearchResult<>(result, startTime, hits));
+    return result;
+  }
+
+  private <T> void refreshAsync(@Nonnull Cache cache, @Nonnull Object key, @Nonnull CachedSearchResult<T> cached,
+      @Nonnull Supplier<T> loader) {
+    if (!cached.startRefresh()) {
+      return;
+    }
+    try {
+      _refreshExecutor.execute(() -> {
+        try {
+          load(cache, key, loader, cached.getHits());
+          MetricUtils.counter(this.getClass(), cache.getName() + "Refresh").inc();
+        } catch (Exception e) {
+          MetricUtils.counter(this.getClass(), cache.getName() + "RefreshFailure").inc();
+          log.warn("Failed to refresh cached search result for key {}", key, e);
+        } finally {
+          cached.endRefresh();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // The stale result is still served, the refresh is retried on a later read
+      MetricUtils.counter(this.getClass(), cache.getName() + "RefreshRejected").inc();
+      cached.endRefresh();
+    }
+  }
+}
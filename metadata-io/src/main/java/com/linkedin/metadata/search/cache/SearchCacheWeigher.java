@@ -0,0 +1,74 @@
+package com.linkedin.metadata.search.cache;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.RecordTemplate;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+
+/**
+ * Estimates the heap size in bytes of search and lineage cache entries, so that these caches can be bounded by memory
+ * rather than by number of entries. A page with many aggregations is a lot larger than an empty one, and the lineage of
+ * an entity with many downstreams a lot larger than that of a leaf.
+ *
+ * The estimate walks the underlying data maps and lists, assuming 16 bytes of overhead per object, 32 bytes per map
+ * entry and 2 bytes per string character, which is close enough to bound the cache without measuring the real heap.
+ */
+public class SearchCacheWeigher {
+  private static final int OBJECT_OVERHEAD = 16;
+  private static final int ENTRY_OVERHEAD = 32;
+  private static final int STRING_OVERHEAD = 40;
+  private static final int KEY_OVERHEAD = 256;
+
+  private SearchCacheWeigher() {
+  }
+
+  /**
+   * Returns the estimated size of a cache entry, capped at {@link Integer#MAX_VALUE}.
+   */
+  public static int weigh(@Nullable Object key, @Nullable Object value) {
+    long weight = KEY_OVERHEAD + estimate(value);
+    if (key instanceof SearchCacheKey) {
+      weight += estimate(((SearchCacheKey) key).getFilters());
+    }
+    return (int) Math.min(weight, Integer.MAX_VALUE);
+  }
+
+  static long estimate(@Nullable Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof CachedSearchResult) {
+      return OBJECT_OVERHEAD + estimate(((CachedSearchResult<?>) value).getResult());
+    }
+    if (value instanceof CachedEntityLineageResult) {
+      return OBJECT_OVERHEAD + estimate(((CachedEntityLineageResult) value).getEntityLineageResult());
+    }
+    if (value instanceof RecordTemplate) {
+      return OBJECT_OVERHEAD + estimate(((RecordTemplate) value).data());
+    }
+    if (value instanceof DataMap) {
+      long size = OBJECT_OVERHEAD;
+      for (Map.Entry<String, Object> entry : ((DataMap) value).entrySet()) {
+        size += ENTRY_OVERHEAD + estimate(entry.getKey()) + estimate(entry.getValue());
+      }
+      return size;
+    }
+    if (value instanceof DataList) {
+      long size = OBJECT_OVERHEAD;
+      for (Object element : (DataList) value) {
+        size += 8 + estimate(element);
+      }
+      return size;
+    }
+    if (value instanceof String) {
+      return STRING_OVERHEAD + 2L * ((String) value).length();
+    }
+    if (value instanceof ByteString) {
+      return OBJECT_OVERHEAD + ((ByteString) value).length();
+    }
+    return OBJECT_OVERHEAD;
+  }
+}
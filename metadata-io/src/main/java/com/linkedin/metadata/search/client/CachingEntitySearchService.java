@@ -7,15 +7,17 @@ import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.cache.CacheableSearcher;
+import com.linkedin.metadata.search.cache.SearchCacheKey;
+import com.linkedin.metadata.search.cache.SearchCacheLoader;
+import java.util.Collections;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
-import org.javatuples.Quintet;
+import lombok.AllArgsConstructor;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
 
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class CachingEntitySearchService {
   private static final String ENTITY_SEARCH_SERVICE_SEARCH_CACHE_NAME = "entitySearchServiceSearch";
   private static final String ENTITY_SEARCH_SERVICE_AUTOCOMPLETE_CACHE_NAME = "entitySearchServiceAutoComplete";
@@ -24,6 +26,12 @@ public class CachingEntitySearchService {
   private final EntitySearchService entitySearchService; // This is a shared component, also used in search aggregation
   private final int batchSize;
   private final boolean enableCache;
+  private final SearchCacheLoader cacheLoader;
+
+  public CachingEntitySearchService(CacheManager cacheManager, EntitySearchService entitySearchService, int batchSize,
+      boolean enableCache) {
+    this(cacheManager, entitySearchService, batchSize, enableCache, SearchCacheLoader.NO_INVALIDATION);
+  }
 
   /**
    * Retrieves cached search results. If the query has been cached, this will return quickly. If not, a full
@@ -88,7 +96,8 @@ public class CachingEntitySearchService {
         cacheManager.getCache(ENTITY_SEARCH_SERVICE_SEARCH_CACHE_NAME),
         batchSize,
         querySize -> getRawSearchResults(entityName, query, filters, sortCriterion, querySize.getFrom(), querySize.getSize()),
-        querySize -> Quintet.with(entityName, query, filters, sortCriterion, querySize), flags, enableCache).getSearchResults(from, size);
+        querySize -> SearchCacheKey.forSearch(Collections.singletonList(entityName), query, filters, sortCriterion, null,
+            querySize), flags, enableCache, Collections.singletonList(entityName), cacheLoader).getSearchResults(from, size);
   }
 
 
@@ -105,18 +114,14 @@ public class CachingEntitySearchService {
     Cache cache = cacheManager.getCache(ENTITY_SEARCH_SERVICE_AUTOCOMPLETE_CACHE_NAME);
     AutoCompleteResult result;
     if (enableCache(flags)) {
-      Object cacheKey = Quintet.with(entityName, input, field, filters, limit);
-      result = cache.get(cacheKey, AutoCompleteResult.class);
-      if (result == null) {
-        result = getRawAutoCompleteResults(
-            entityName,
-            input,
-            field,
-            filters,
-            limit
-        );
-        cache.put(cacheKey, result);
-      }
+      Object cacheKey = SearchCacheKey.forAutoComplete(entityName, input, field, filters, limit);
+      result = cacheLoader.get(cache, cacheKey, Collections.singletonList(entityName), () -> getRawAutoCompleteResults(
+          entityName,
+          input,
+          field,
+          filters,
+          limit
+      ));
     } else {
       result = getRawAutoCompleteResults(
           entityName,
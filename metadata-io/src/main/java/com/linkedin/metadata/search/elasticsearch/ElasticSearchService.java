@@ -97,6 +97,16 @@ public class ElasticSearchService implements EntitySearchService {
     return esSearchDAO.search(entityName, input, postFilters, sortCriterion, from, size);
   }
 
+  @Nonnull
+  @Override
+  public SearchResult searchAcrossEntities(@Nonnull List<String> entityNames, @Nonnull String input,
+      @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int from, int size) {
+    log.debug(String.format(
+        "Searching Search documents entityNames: %s, input: %s, postFilters: %s, sortCriterion: %s, from: %s, size: %s",
+        entityNames, input, postFilters, sortCriterion, from, size));
+    return esSearchDAO.searchAcrossEntities(entityNames, input, postFilters, sortCriterion, from, size);
+  }
+
   @Nonnull
   @Override
   public SearchResult filter(@Nonnull String entityName, @Nullable Filter filters,
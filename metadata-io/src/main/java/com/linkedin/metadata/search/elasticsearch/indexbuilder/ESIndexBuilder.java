@@ -5,22 +5,36 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.action.admin.cluster.node.tasks.list.ListTasksRequest;
-import org.elasticsearch.action.admin.cluster.node.tasks.list.ListTasksResponse;
+import org.elasticsearch.action.admin.indices.alias.Alias;
 import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
 import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
-import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.core.CountRequest;
@@ -28,12 +42,29 @@ import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.client.indices.GetMappingsRequest;
 import org.elasticsearch.client.indices.PutMappingRequest;
+import org.elasticsearch.client.tasks.CancelTasksRequest;
+import org.elasticsearch.client.tasks.GetTaskRequest;
+import org.elasticsearch.client.tasks.GetTaskResponse;
+import org.elasticsearch.client.tasks.TaskId;
 import org.elasticsearch.client.tasks.TaskSubmissionResponse;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.reindex.AbstractBulkByScrollRequest;
 import org.elasticsearch.index.reindex.ReindexRequest;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.metrics.Max;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.tasks.RawTaskStatus;
+import org.elasticsearch.tasks.TaskInfo;
 
 
+/**
+ * Creates and updates indices. Each index is an alias of a concrete index named after it, so that it can be rebuilt
+ * into a new concrete index without downtime when its mappings or settings change.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class ESIndexBuilder {
@@ -42,8 +73,22 @@ public class ESIndexBuilder {
   private final int numShards;
   private final int numReplicas;
   private final int numRetries;
+  private final ReindexConfig reindexConfig;
+
+  // Whether indices are rebuilt when needed, or left to the BuildIndices upgrade
+  @Getter
+  @Setter
+  private volatile boolean reindexEnabled = true;
 
   private static final List<String> SETTINGS_TO_COMPARE = ImmutableList.of("number_of_shards", "number_of_replicas");
+  private static final String SEQ_NO_FIELD = "_seq_no";
+  private static final String MAX_SEQ_NO_AGGREGATION = "maxSeqNo";
+  private static final long NO_SEQ_NO = -1;
+  private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+
+  public ESIndexBuilder(RestHighLevelClient searchClient, int numShards, int numReplicas, int numRetries) {
+    this(searchClient, numShards, numReplicas, numRetries, ReindexConfig.DEFAULT);
+  }
 
   public void buildIndex(String indexName, Map<String, Object> mappings, Map<String, Object> settings)
       throws IOException {
@@ -57,7 +102,8 @@ public class ESIndexBuilder {
 
     // If index doesn't exist, create index
     if (!exists) {
-      createIndex(indexName, mappings, finalSettings);
+      log.info("Index {} does not exist. Creating", indexName);
+      createIndex(getNewIndexName(indexName), mappings, finalSettings, indexName);
       return;
     }
 
@@ -102,55 +148,326 @@ public class ESIndexBuilder {
       log.info("There's an update to settings");
     }
 
-    String tempIndexName = indexName + "_" + System.currentTimeMillis();
-    createIndex(tempIndexName, mappings, finalSettings);
+    if (!reindexEnabled) {
+      log.warn("Index {} has to be rebuilt to apply its new mappings or settings, but reindexing is disabled. "
+          + "Run the BuildIndices upgrade to rebuild it", indexName);
+      return;
+    }
+    rebuildIndex(indexName, mappings, finalSettings, oldSettings);
+  }
+
+  /**
+   * Rebuilds the index into a new concrete index, while the current one keeps serving reads and writes through the
+   * alias, then swaps the alias to the new index.
+   *
+   * Documents written to the current index while it is copied are found by their sequence numbers and copied again,
+   * until few enough are left to copy them with writes to the current index blocked. Writes are only blocked for that
+   * last copy and the alias swap: documents deleted meanwhile are removed from the new index before the block, and
+   * those deleted during the last copy after the swap. Writes rejected by the block are held by the
+   * {@link com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor} until the alias has been swapped, and then
+   * land in the new index.
+   */
+  private void rebuildIndex(String indexName, Map<String, Object> mappings, Map<String, Object> settings,
+      Settings oldSettings) throws IOException {
+    // The index is either an alias, or a concrete index created before indices were aliased
+    Set<String> aliasedIndices = getAliasedIndices(indexName);
+    if (aliasedIndices.size() > 1) {
+      throw new IllegalStateException(
+          String.format("Alias %s points to more than one index: %s", indexName, aliasedIndices));
+    }
+    boolean isAlias = !aliasedIndices.isEmpty();
+    String sourceIndex = isAlias ? aliasedIndices.iterator().next() : indexName;
+    String destIndex = getNewIndexName(indexName);
+
+    // Replicas and refreshes only slow down copying, so they are enabled once the documents have been copied
+    Map<String, Object> indexSettings = new HashMap<>((Map<String, Object>) settings.get("index"));
+    indexSettings.put("number_of_replicas", 0);
+    indexSettings.put("refresh_interval", "-1");
+    createIndex(destIndex, mappings, ImmutableMap.of("index", indexSettings), null);
+
+    boolean writesBlocked = false;
+    long[] swappedSeqNos;
     try {
-      TaskSubmissionResponse reindexTask;
-      reindexTask =
-          searchClient.submitReindexTask(new ReindexRequest().setSourceIndices(indexName).setDestIndex(tempIndexName),
-              RequestOptions.DEFAULT);
-
-      // wait up to 5 minutes for the task to complete
-      long startTime = System.currentTimeMillis();
-      long millisToWait60Minutes = 1000 * 60 * 60;
-      Boolean reindexTaskCompleted = false;
-
-      while ((System.currentTimeMillis() - startTime) < millisToWait60Minutes) {
-        log.info("Reindexing from {} to {} in progress...", indexName, tempIndexName);
-        ListTasksRequest request = new ListTasksRequest();
-        ListTasksResponse tasks = searchClient.tasks().list(request, RequestOptions.DEFAULT);
-        if (tasks.getTasks().stream().noneMatch(task -> task.getTaskId().toString().equals(reindexTask.getTask()))) {
-          log.info("Reindexing {} to {} task has completed, will now check if reindex was successful", indexName,
-              tempIndexName);
-          reindexTaskCompleted = true;
+      int numSourceShards = oldSettings.getAsInt("index.number_of_shards", 1);
+      long replayFromSeqNo = getReplayStartSeqNo(sourceIndex, numSourceShards);
+      runReindexTask(buildReindexRequest(sourceIndex, destIndex));
+
+      // Copy documents written in the meantime while writes are allowed, as long as there are many of them
+      for (int pass = 0; pass < reindexConfig.getMaxReplayPasses(); pass++) {
+        long nextReplayFromSeqNo = getReplayStartSeqNo(sourceIndex, numSourceShards);
+        long replayed = replayDocuments(sourceIndex, destIndex, replayFromSeqNo);
+        replayFromSeqNo = nextReplayFromSeqNo;
+        if (replayed < reindexConfig.getBatchSize()) {
           break;
         }
-        try {
-          Thread.sleep(5000);
-        } catch (InterruptedException e) {
-          log.info("Trouble sleeping while reindexing {} to {}: Exception {}. Retrying...", indexName, tempIndexName,
-              e.toString());
-        }
       }
-      if (!reindexTaskCompleted) {
-        throw new RuntimeException(
-            String.format("Reindex from %s to %s failed-- task exceeded 60 minute limit", indexName, tempIndexName));
+      removeDeletedDocuments(sourceIndex, destIndex, null);
+
+      Settings.Builder restoredSettings = Settings.builder().put("index.number_of_replicas", numReplicas);
+      Map<String, Object> targetSettings = (Map<String, Object>) settings.get("index");
+      if (targetSettings.containsKey("refresh_interval")) {
+        restoredSettings.put("index.refresh_interval", targetSettings.get("refresh_interval").toString());
+      } else {
+        restoredSettings.putNull("index.refresh_interval");
+      }
+      searchClient.indices()
+          .putSettings(new UpdateSettingsRequest(destIndex).settings(restoredSettings), RequestOptions.DEFAULT);
+
+      setWritesBlocked(sourceIndex, true);
+      writesBlocked = true;
+      replayDocuments(sourceIndex, destIndex, replayFromSeqNo);
+      boolean hasDeletedDocuments = verifyCounts(sourceIndex, destIndex);
+      if (hasDeletedDocuments && !isAlias) {
+        // The source index is removed by the swap, so the documents deleted during the last copy are removed before
+        removeDeletedDocuments(sourceIndex, destIndex, null);
+        hasDeletedDocuments = false;
+      }
+      swappedSeqNos = hasDeletedDocuments ? getMaxSeqNos(destIndex, numShards) : null;
+
+      // Swap the alias in one request, so that reads and writes move to the new index at once
+      IndicesAliasesRequest aliasesRequest =
+          new IndicesAliasesRequest().addAliasAction(AliasActions.add().alias(indexName).index(destIndex));
+      if (isAlias) {
+        aliasesRequest.addAliasAction(AliasActions.remove().alias(indexName).index(sourceIndex));
+      } else {
+        aliasesRequest.addAliasAction(AliasActions.removeIndex().index(sourceIndex));
       }
+      searchClient.indices().updateAliases(aliasesRequest, RequestOptions.DEFAULT);
     } catch (Exception e) {
-      log.info("Failed to reindex {} to {}: Exception {}", indexName, tempIndexName, e.toString());
-      searchClient.indices().delete(new DeleteIndexRequest().indices(tempIndexName), RequestOptions.DEFAULT);
+      log.info("Failed to reindex {} to {}: Exception {}", sourceIndex, destIndex, e.toString());
+      if (writesBlocked) {
+        setWritesBlocked(sourceIndex, false);
+      }
+      searchClient.indices().delete(new DeleteIndexRequest().indices(destIndex), RequestOptions.DEFAULT);
       throw e;
     }
+    log.info("Reindex from {} to {} succeeded", sourceIndex, destIndex);
+
+    if (swappedSeqNos != null) {
+      // Documents written to the new index since the swap have higher sequence numbers, and are left alone
+      removeDeletedDocuments(sourceIndex, destIndex, swappedSeqNos);
+    }
+    if (isAlias) {
+      searchClient.indices().delete(new DeleteIndexRequest().indices(sourceIndex), RequestOptions.DEFAULT);
+    }
+    log.info("Finished setting up {}", indexName);
+  }
+
+  @Nonnull
+  private Set<String> getAliasedIndices(@Nonnull String alias) throws IOException {
+    return searchClient.indices()
+        .getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT)
+        .getAliases()
+        .keySet();
+  }
+
+  @Nonnull
+  private static String getNewIndexName(@Nonnull String indexName) {
+    return indexName + "_" + System.currentTimeMillis();
+  }
 
+  @Nonnull
+  private ReindexRequest buildReindexRequest(@Nonnull String sourceIndex, @Nonnull String destIndex) {
+    return new ReindexRequest().setSourceIndices(sourceIndex)
+        .setDestIndex(destIndex)
+        .setSourceBatchSize(reindexConfig.getBatchSize())
+        .setSlices(reindexConfig.getSlices() > 0 ? reindexConfig.getSlices() : AbstractBulkByScrollRequest.AUTO_SLICES)
+        .setRequestsPerSecond(
+            reindexConfig.getRequestsPerSecond() > 0 ? reindexConfig.getRequestsPerSecond() : Float.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Runs the reindex as a task, reporting its progress until it completes. Returns the number of documents written.
+   */
+  private long runReindexTask(@Nonnull ReindexRequest reindexRequest) throws IOException {
+    String sourceIndex = reindexRequest.getSearchRequest().indices()[0];
+    String destIndex = reindexRequest.getDestination().index();
+    TaskSubmissionResponse reindexTask = searchClient.submitReindexTask(reindexRequest, RequestOptions.DEFAULT);
+    String[] taskId = reindexTask.getTask().split(":");
+    GetTaskRequest getTaskRequest = new GetTaskRequest(taskId[0], Long.parseLong(taskId[1]));
+    log.info("Reindexing from {} to {} in task {}", sourceIndex, destIndex, reindexTask.getTask());
+
+    long startTime = System.currentTimeMillis();
+    long lastReportTime = startTime;
+    long lastProgressTime = startTime;
+    long lastProcessed = 0;
+    while (true) {
+      try {
+        TimeUnit.SECONDS.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(String.format("Interrupted while reindexing %s to %s", sourceIndex, destIndex), e);
+      }
+      GetTaskResponse taskResponse = searchClient.tasks()
+          .get(getTaskRequest, RequestOptions.DEFAULT)
+          .orElseThrow(() -> new RuntimeException(
+              String.format("Reindex from %s to %s failed-- task %s not found", sourceIndex, destIndex,
+                  reindexTask.getTask())));
+      Map<String, Object> status = getTaskStatus(taskResponse.getTaskInfo());
+      long total = getStatusCount(status, "total");
+      long written = getStatusCount(status, "created") + getStatusCount(status, "updated");
+      long processed = written + getStatusCount(status, "deleted") + getStatusCount(status, "noops")
+          + getStatusCount(status, "version_conflicts");
+      long now = System.currentTimeMillis();
+
+      if (taskResponse.isCompleted()) {
+        log.info("Reindexing from {} to {} completed: {} of {} documents written in {} s", sourceIndex, destIndex,
+            written, total, (now - startTime) / 1000);
+        return written;
+      }
+      if (now - lastReportTime >= TimeUnit.SECONDS.toMillis(reindexConfig.getProgressIntervalSeconds())) {
+        long elapsedSeconds = Math.max(1, (now - startTime) / 1000);
+        log.info("Reindexing from {} to {} in progress: {} of {} documents ({}%), {} docs/s, throttled for {} ms",
+            sourceIndex, destIndex, processed, total, total == 0 ? 100 : processed * 100 / total,
+            processed / elapsedSeconds, getStatusCount(status, "throttled_millis"));
+        lastReportTime = now;
+      }
+      if (processed > lastProcessed) {
+        lastProcessed = processed;
+        lastProgressTime = now;
+      } else if (now - lastProgressTime > TimeUnit.MINUTES.toMillis(reindexConfig.getMaxStallMinutes())) {
+        searchClient.tasks()
+            .cancel(new CancelTasksRequest.Builder().withTaskId(new TaskId(taskId[0], Long.parseLong(taskId[1])))
+                .build(), RequestOptions.DEFAULT);
+        throw new RuntimeException(
+            String.format("Reindex from %s to %s failed-- no progress for %d minutes", sourceIndex, destIndex,
+                reindexConfig.getMaxStallMinutes()));
+      }
+    }
+  }
+
+  @Nonnull
+  private static Map<String, Object> getTaskStatus(@Nonnull TaskInfo taskInfo) {
+    if (taskInfo.getStatus() instanceof RawTaskStatus) {
+      return ((RawTaskStatus) taskInfo.getStatus()).toMap();
+    }
+    return Collections.emptyMap();
+  }
+
+  private static long getStatusCount(@Nonnull Map<String, Object> status, @Nonnull String field) {
+    Object value = status.get(field);
+    return value instanceof Number ? ((Number) value).longValue() : 0;
+  }
+
+  /**
+   * Returns the lowest of the highest sequence numbers of the shards of the index. Each document written to the index
+   * afterwards has a higher sequence number.
+   */
+  private long getReplayStartSeqNo(@Nonnull String index, int numShards) throws IOException {
+    return Arrays.stream(getMaxSeqNos(index, numShards)).min().orElse(NO_SEQ_NO);
+  }
+
+  /**
+   * Returns the highest sequence number of each shard of the index, as sequence numbers are assigned per shard.
+   */
+  @Nonnull
+  private long[] getMaxSeqNos(@Nonnull String index, int numShards) throws IOException {
+    searchClient.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+    long[] maxSeqNos = new long[numShards];
+    for (int shard = 0; shard < numShards; shard++) {
+      SearchRequest request = new SearchRequest(index).preference("_shards:" + shard)
+          .source(new SearchSourceBuilder().size(0)
+              .aggregation(AggregationBuilders.max(MAX_SEQ_NO_AGGREGATION).field(SEQ_NO_FIELD)));
+      Max maxSeqNo = searchClient.search(request, RequestOptions.DEFAULT).getAggregations().get(MAX_SEQ_NO_AGGREGATION);
+      // The maximum of an empty shard is infinite
+      maxSeqNos[shard] = Double.isInfinite(maxSeqNo.getValue()) ? NO_SEQ_NO : (long) maxSeqNo.getValue();
+    }
+    return maxSeqNos;
+  }
+
+  /**
+   * Copies the documents written to the source index since the given sequence number. Returns the number of documents
+   * written.
+   */
+  private long replayDocuments(@Nonnull String sourceIndex, @Nonnull String destIndex, long fromSeqNo)
+      throws IOException {
+    searchClient.indices().refresh(new RefreshRequest(sourceIndex), RequestOptions.DEFAULT);
+    log.info("Replaying documents written to {} during the reindex to {}", sourceIndex, destIndex);
+    return runReindexTask(buildReindexRequest(sourceIndex, destIndex)
+        .setSourceQuery(QueryBuilders.rangeQuery(SEQ_NO_FIELD).gt(fromSeqNo)));
+  }
+
+  /**
+   * Deletes the documents which have been deleted from the source index after they were copied, as these are not
+   * replayed.
+   *
+   * @param maxDestSeqNos if set, the documents of each shard of the destination index up to the shard's sequence number
+   *                      are checked; otherwise all documents are, and only if the destination index has more of them
+   */
+  private void removeDeletedDocuments(@Nonnull String sourceIndex, @Nonnull String destIndex,
+      @Nullable long[] maxDestSeqNos) throws IOException {
+    searchClient.indices().refresh(new RefreshRequest(sourceIndex, destIndex), RequestOptions.DEFAULT);
+    long removed = 0;
+    if (maxDestSeqNos == null) {
+      if (getCount(sourceIndex) >= getCount(destIndex)) {
+        return;
+      }
+      removed = removeMissingDocuments(sourceIndex, new SearchRequest(destIndex), QueryBuilders.matchAllQuery());
+    } else {
+      for (int shard = 0; shard < maxDestSeqNos.length; shard++) {
+        removed += removeMissingDocuments(sourceIndex, new SearchRequest(destIndex).preference("_shards:" + shard),
+            QueryBuilders.rangeQuery(SEQ_NO_FIELD).lte(maxDestSeqNos[shard]));
+      }
+    }
+    searchClient.indices().refresh(new RefreshRequest(destIndex), RequestOptions.DEFAULT);
+    log.info("Removed {} documents deleted from {} during the reindex to {}", removed, sourceIndex, destIndex);
+  }
+
+  /**
+   * Scrolls through the documents of the destination index matching the query, and deletes those which are not in the
+   * source index. Returns the number of documents deleted.
+   */
+  private long removeMissingDocuments(@Nonnull String sourceIndex, @Nonnull SearchRequest destRequest,
+      @Nonnull QueryBuilder query) throws IOException {
+    String destIndex = destRequest.indices()[0];
+    long removed = 0;
+    SearchResponse response = searchClient.search(destRequest.scroll(SCROLL_KEEP_ALIVE)
+        .source(new SearchSourceBuilder().query(query).size(reindexConfig.getBatchSize()).fetchSource(false)
+            .sort("_doc")), RequestOptions.DEFAULT);
+    try {
+      while (response.getHits().getHits().length > 0) {
+        Set<String> ids =
+            Arrays.stream(response.getHits().getHits()).map(SearchHit::getId).collect(Collectors.toSet());
+        SearchResponse existing = searchClient.search(new SearchRequest(sourceIndex).source(
+            new SearchSourceBuilder().query(QueryBuilders.idsQuery().addIds(ids.toArray(new String[0])))
+                .size(ids.size())
+                .fetchSource(false)), RequestOptions.DEFAULT);
+        Arrays.stream(existing.getHits().getHits()).map(SearchHit::getId).forEach(ids::remove);
+        if (!ids.isEmpty()) {
+          BulkRequest deletes = new BulkRequest();
+          ids.forEach(id -> deletes.add(new DeleteRequest(destIndex, id)));
+          BulkResponse deleteResponse = searchClient.bulk(deletes, RequestOptions.DEFAULT);
+          if (deleteResponse.hasFailures()) {
+            throw new RuntimeException(String.format("Failed to delete documents from %s: %s", destIndex,
+                deleteResponse.buildFailureMessage()));
+          }
+          removed += ids.size();
+        }
+        response = searchClient.scroll(new SearchScrollRequest(response.getScrollId()).scroll(SCROLL_KEEP_ALIVE),
+            RequestOptions.DEFAULT);
+      }
+    } finally {
+      ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+      clearScrollRequest.addScrollId(response.getScrollId());
+      searchClient.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+    }
+    return removed;
+  }
+
+  /**
+   * Checks that the destination index has all documents of the source index. Returns whether it has more of them, which
+   * are documents deleted from the source index after they were copied.
+   */
+  private boolean verifyCounts(@Nonnull String sourceIndex, @Nonnull String destIndex) throws IOException {
     // Check whether reindex succeeded by comparing document count
     // There can be some delay between the reindex finishing and count being fully up to date, so try multiple times
     long originalCount = 0;
     long reindexedCount = 0;
     for (int i = 0; i < this.numRetries; i++) {
-      // Check if reindex succeeded by comparing document counts
-      originalCount = getCount(indexName);
-      reindexedCount = getCount(tempIndexName);
-      if (originalCount == reindexedCount) {
+      searchClient.indices().refresh(new RefreshRequest(sourceIndex, destIndex), RequestOptions.DEFAULT);
+      originalCount = getCount(sourceIndex);
+      reindexedCount = getCount(destIndex);
+      if (originalCount <= reindexedCount) {
         break;
       }
       try {
@@ -160,34 +477,19 @@ public class ESIndexBuilder {
       }
     }
 
-    if (originalCount != reindexedCount) {
+    if (originalCount > reindexedCount) {
       log.info("Post-reindex document count is different, source_doc_count: {} reindex_doc_count: {}", originalCount,
           reindexedCount);
-      searchClient.indices().delete(new DeleteIndexRequest().indices(tempIndexName), RequestOptions.DEFAULT);
-      throw new RuntimeException(String.format("Reindex from %s to %s failed", indexName, tempIndexName));
-    }
-
-    log.info("Reindex from {} to {} succeeded", indexName, tempIndexName);
-    String indexNamePattern = indexName + "_*";
-    // Check if the original index is aliased or not
-    GetAliasesResponse aliasesResponse = searchClient.indices()
-        .getAlias(new GetAliasesRequest(indexName).indices(indexNamePattern), RequestOptions.DEFAULT);
-    // If not aliased, delete the original index
-    if (aliasesResponse.getAliases().isEmpty()) {
-      searchClient.indices().delete(new DeleteIndexRequest().indices(indexName), RequestOptions.DEFAULT);
-    } else {
-      searchClient.indices()
-          .delete(new DeleteIndexRequest().indices(aliasesResponse.getAliases().keySet().toArray(new String[0])),
-              RequestOptions.DEFAULT);
+      throw new RuntimeException(String.format("Reindex from %s to %s failed", sourceIndex, destIndex));
     }
+    return originalCount < reindexedCount;
+  }
 
-    // Add alias for the new index
-    AliasActions removeAction = AliasActions.remove().alias(indexName).index(indexNamePattern);
-    AliasActions addAction = AliasActions.add().alias(indexName).index(tempIndexName);
+  private void setWritesBlocked(@Nonnull String index, boolean blocked) throws IOException {
     searchClient.indices()
-        .updateAliases(new IndicesAliasesRequest().addAliasAction(removeAction).addAliasAction(addAction),
+        .putSettings(new UpdateSettingsRequest(index).settings(Settings.builder().put("index.blocks.write", blocked)),
             RequestOptions.DEFAULT);
-    log.info("Finished setting up {}", indexName);
+    log.info("{} writes to index {}", blocked ? "Blocked" : "Unblocked", index);
   }
 
   private long getCount(@Nonnull String indexName) throws IOException {
@@ -195,12 +497,14 @@ public class ESIndexBuilder {
         .getCount();
   }
 
-  private void createIndex(String indexName, Map<String, Object> mappings, Map<String, Object> settings)
-      throws IOException {
-    log.info("Index {} does not exist. Creating", indexName);
+  private void createIndex(String indexName, Map<String, Object> mappings, Map<String, Object> settings,
+      @Nullable String alias) throws IOException {
     CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName);
     createIndexRequest.mapping(mappings);
     createIndexRequest.settings(settings);
+    if (alias != null) {
+      createIndexRequest.alias(new Alias(alias));
+    }
     searchClient.indices().create(createIndexRequest, RequestOptions.DEFAULT);
     log.info("Created index {}", indexName);
   }
@@ -0,0 +1,51 @@
+package com.linkedin.metadata.search.elasticsearch.indexbuilder;
+
+import lombok.Builder;
+import lombok.Value;
+
+
+/**
+ * Controls how {@link ESIndexBuilder} copies documents into a rebuilt index.
+ */
+@Value
+@Builder
+public class ReindexConfig {
+  public static final ReindexConfig DEFAULT = ReindexConfig.builder().build();
+
+  /**
+   * Number of documents read from the source index per scroll batch.
+   */
+  @Builder.Default
+  int batchSize = 1000;
+
+  /**
+   * Number of slices the reindex is split into, which run in parallel. 0 lets Elasticsearch pick one per shard.
+   */
+  @Builder.Default
+  int slices = 0;
+
+  /**
+   * Throttle of the reindex, in documents per second across all slices. 0 or less means unthrottled.
+   */
+  @Builder.Default
+  float requestsPerSecond = -1;
+
+  /**
+   * Interval at which the progress of the reindex is checked and reported.
+   */
+  @Builder.Default
+  long progressIntervalSeconds = 30;
+
+  /**
+   * The reindex is cancelled if it makes no progress for this long.
+   */
+  @Builder.Default
+  long maxStallMinutes = 30;
+
+  /**
+   * Maximum number of passes replaying the documents written to the source index while it was being copied, before
+   * writes to it are blocked for the last pass and the alias swap.
+   */
+  @Builder.Default
+  int maxReplayPasses = 3;
+}
@@ -14,10 +14,14 @@ import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.ElasticsearchStatusException;
 import org.elasticsearch.action.search.SearchRequest;
@@ -33,12 +37,18 @@ import static com.linkedin.metadata.search.utils.SearchUtils.EMPTY_SEARCH_RESULT
  * A search DAO for Elasticsearch backend.
  */
 @Slf4j
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class ESSearchDAO {
 
   private final EntityRegistry entityRegistry;
   private final RestHighLevelClient client;
   private final IndexConvention indexConvention;
+  // Boost of the scores of each entity's hits when searching across entities, keyed by lowercase entity name
+  private final Map<String, Float> entityBoosts;
+
+  public ESSearchDAO(EntityRegistry entityRegistry, RestHighLevelClient client, IndexConvention indexConvention) {
+    this(entityRegistry, client, indexConvention, Collections.emptyMap());
+  }
 
   public long docCount(@Nonnull String entityName) {
     EntitySpec entitySpec = entityRegistry.getEntitySpec(entityName);
@@ -56,10 +66,17 @@ public class ESSearchDAO {
   @WithSpan
   private SearchResult executeAndExtract(@Nonnull EntitySpec entitySpec, @Nonnull SearchRequest searchRequest, @Nullable Filter filter, int from,
       int size) {
+    return executeAndExtract(SearchRequestHandler.getBuilder(entitySpec), searchRequest, filter, from, size);
+  }
+
+  @Nonnull
+  @WithSpan
+  private SearchResult executeAndExtract(@Nonnull SearchRequestHandler requestHandler,
+      @Nonnull SearchRequest searchRequest, @Nullable Filter filter, int from, int size) {
     try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "esSearch").time()) {
       final SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
       // extract results, validated against document model as well
-      return SearchRequestHandler.getBuilder(entitySpec).extractResult(searchResponse, filter, from, size);
+      return requestHandler.extractResult(searchResponse, filter, from, size);
     } catch (Exception e) {
       if (e instanceof ElasticsearchStatusException) {
         final ElasticsearchStatusException statusException = (ElasticsearchStatusException) e;
@@ -100,6 +117,43 @@ public class ESSearchDAO {
     return executeAndExtract(entitySpec, searchRequest, postFilters, from, size);
   }
 
+  /**
+   * Gets a list of documents of any of the given entities that match given search request, with a single query across
+   * the indices of all of them. Hits are ranked (or sorted) and paginated across entities by Elasticsearch, and the
+   * number of hits of each entity is returned in the {@link SearchRequestHandler#ENTITY_AGGREGATION_NAME} aggregation.
+   *
+   * @param entityNames names of the entities to search
+   * @param input the search input text
+   * @param postFilters the request map with fields and values as filters to be applied to search hits
+   * @param sortCriterion {@link SortCriterion} to be applied to search results
+   * @param from index to start the search from
+   * @param size the number of search hits to return
+   * @return a {@link com.linkedin.metadata.dao.SearchResult} that contains a list of matched documents and related search result metadata
+   */
+  @Nonnull
+  public SearchResult searchAcrossEntities(@Nonnull List<String> entityNames, @Nonnull String input,
+      @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int from, int size) {
+    if (entityNames.isEmpty()) {
+      return EMPTY_SEARCH_RESULT;
+    }
+    final String finalInput = input.isEmpty() ? "*" : input;
+    Timer.Context searchRequestTimer = MetricUtils.timer(this.getClass(), "searchAcrossEntitiesRequest").time();
+    final List<EntitySpec> entitySpecs = new ArrayList<>();
+    final Map<String, String> indexNames = new LinkedHashMap<>();
+    for (String entityName : entityNames) {
+      final EntitySpec entitySpec = entityRegistry.getEntitySpec(entityName);
+      entitySpecs.add(entitySpec);
+      indexNames.put(entityName, indexConvention.getIndexName(entitySpec));
+    }
+    final SearchRequestHandler requestHandler = SearchRequestHandler.getBuilder(entitySpecs);
+    // Step 1: construct the query
+    final SearchRequest searchRequest = requestHandler.getSearchRequest(finalInput, postFilters, sortCriterion, from,
+        size, indexNames, entityBoosts);
+    searchRequestTimer.stop();
+    // Step 2: execute the query and extract results, validated against document model as well
+    return executeAndExtract(requestHandler, searchRequest, postFilters, from, size);
+  }
+
   /**
    * Gets a list of documents after applying the input filters.
    *
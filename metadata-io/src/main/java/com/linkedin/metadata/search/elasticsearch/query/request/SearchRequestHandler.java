@@ -38,7 +38,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
@@ -55,6 +57,9 @@ import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.aggregations.Aggregation;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.filter.Filters;
+import org.elasticsearch.search.aggregations.bucket.filter.FiltersAggregator;
+import org.elasticsearch.search.aggregations.bucket.filter.ParsedFilters;
 import org.elasticsearch.search.aggregations.bucket.terms.ParsedTerms;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
@@ -70,8 +75,12 @@ public class SearchRequestHandler {
   private static final Map<EntitySpec, SearchRequestHandler> REQUEST_HANDLER_BY_ENTITY_NAME = new ConcurrentHashMap<>();
   private static final String REMOVED = "removed";
   private static final int DEFAULT_MAX_TERM_BUCKET_SIZE = 20;
+  // Name of the aggregation counting the hits of each entity type when searching across entities
+  public static final String ENTITY_AGGREGATION_NAME = "entity";
+  private static final String ENTITY_AGGREGATION_DISPLAY_NAME = "Type";
+  private static final String INDEX_FIELD = "_index";
 
-  private final EntitySpec _entitySpec;
+  private final List<EntitySpec> _entitySpecs;
   private final Set<String> _facetFields;
   private final Set<String> _defaultQueryFieldNames;
   private final Map<String, String> _filtersToDisplayName;
@@ -90,14 +99,18 @@ public class SearchRequestHandler {
   }
 
   private SearchRequestHandler(@Nonnull EntitySpec entitySpec, @Nonnull Configs configs) {
-    _entitySpec = entitySpec;
+    this(ImmutableList.of(entitySpec), configs);
+  }
+
+  private SearchRequestHandler(@Nonnull List<EntitySpec> entitySpecs, @Nonnull Configs configs) {
+    _entitySpecs = entitySpecs;
     _facetFields = getFacetFields();
     _defaultQueryFieldNames = getDefaultQueryFieldNames();
-    _filtersToDisplayName = _entitySpec.getSearchableFieldSpecs()
-        .stream()
-        .filter(spec -> spec.getSearchableAnnotation().isAddToFilters())
-        .collect(Collectors.toMap(spec -> spec.getSearchableAnnotation().getFieldName(),
-            spec -> spec.getSearchableAnnotation().getFilterName()));
+    // Entities may share facet fields, in which case the display name of the first one is used
+    _filtersToDisplayName = getSearchableAnnotations()
+        .filter(SearchableAnnotation::isAddToFilters)
+        .collect(Collectors.toMap(SearchableAnnotation::getFieldName, SearchableAnnotation::getFilterName,
+            (first, second) -> first));
     _configs = configs;
   }
 
@@ -109,19 +122,33 @@ public class SearchRequestHandler {
     return REQUEST_HANDLER_BY_ENTITY_NAME.computeIfAbsent(entitySpec, k -> new SearchRequestHandler(entitySpec, configs));
   }
 
+  /**
+   * Returns a handler building requests which search the indices of all the given entities at once. The facets and
+   * highlighted fields of such requests are those of all the entities.
+   */
+  public static SearchRequestHandler getBuilder(@Nonnull List<EntitySpec> entitySpecs) {
+    if (entitySpecs.size() == 1) {
+      return getBuilder(entitySpecs.get(0));
+    }
+    // Not cached, as the combinations of entities searched are not bounded
+    return new SearchRequestHandler(entitySpecs, new Configs(DEFAULT_MAX_TERM_BUCKET_SIZE));
+  }
+
+  private Stream<SearchableAnnotation> getSearchableAnnotations() {
+    return _entitySpecs.stream()
+        .flatMap(entitySpec -> entitySpec.getSearchableFieldSpecs().stream())
+        .map(SearchableFieldSpec::getSearchableAnnotation);
+  }
+
   private Set<String> getFacetFields() {
-    return _entitySpec.getSearchableFieldSpecs()
-        .stream()
-        .map(SearchableFieldSpec::getSearchableAnnotation)
+    return getSearchableAnnotations()
         .filter(SearchableAnnotation::isAddToFilters)
         .map(SearchableAnnotation::getFieldName)
         .collect(Collectors.toSet());
   }
 
   private Set<String> getDefaultQueryFieldNames() {
-    return _entitySpec.getSearchableFieldSpecs()
-        .stream()
-        .map(SearchableFieldSpec::getSearchableAnnotation)
+    return getSearchableAnnotations()
         .filter(SearchableAnnotation::isQueryByDefault)
         .map(SearchableAnnotation::getFieldName)
         .collect(Collectors.toSet());
@@ -177,6 +204,65 @@ public class SearchRequestHandler {
     return searchRequest;
   }
 
+  /**
+   * Constructs a single search request across the indices of all the entities of this handler, so that hits are ranked
+   * (or sorted) and paginated by the search backend rather than per entity.
+   *
+   * <p>Each entity's query only matches documents of its own index, and the scores of an entity's hits are multiplied
+   * by its boost, if any. Hits are counted per entity in the {@link #ENTITY_AGGREGATION_NAME} aggregation.
+   *
+   * @param input the search input text
+   * @param filter the search filter
+   * @param from index to start the search from
+   * @param size the number of search hits to return
+   * @param indexNames the index of each entity to search, keyed by entity name
+   * @param entityBoosts the boost of each entity, keyed by entity name
+   * @return a valid search request
+   */
+  @Nonnull
+  @WithSpan
+  public SearchRequest getSearchRequest(@Nonnull String input, @Nullable Filter filter,
+      @Nullable SortCriterion sortCriterion, int from, int size, @Nonnull Map<String, String> indexNames,
+      @Nonnull Map<String, Float> entityBoosts) {
+    SearchRequest searchRequest = new SearchRequest(indexNames.values().toArray(new String[0]));
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+
+    searchSourceBuilder.from(from);
+    searchSourceBuilder.size(size);
+    searchSourceBuilder.fetchSource("urn", null);
+
+    final Map<String, EntitySpec> entitySpecs = _entitySpecs.stream()
+        .collect(Collectors.toMap(entitySpec -> entitySpec.getName().toLowerCase(), Function.identity()));
+    final BoolQueryBuilder entityQueries = QueryBuilders.boolQuery().minimumShouldMatch(1);
+    final List<FiltersAggregator.KeyedFilter> entityFilters = new ArrayList<>();
+    indexNames.forEach((entityName, indexName) -> {
+      // Documents are in the concrete index the alias of the entity points to, named after the alias
+      final QueryBuilder indexQuery = QueryBuilders.boolQuery()
+          .should(QueryBuilders.termQuery(INDEX_FIELD, indexName))
+          .should(QueryBuilders.prefixQuery(INDEX_FIELD, indexName + "_"));
+      entityQueries.should(QueryBuilders.boolQuery()
+          .filter(indexQuery)
+          .must(SearchQueryBuilder.buildQuery(entitySpecs.get(entityName.toLowerCase()), input)));
+      entityFilters.add(new FiltersAggregator.KeyedFilter(entityName, indexQuery));
+      final Float boost = entityBoosts.get(entityName.toLowerCase());
+      if (boost != null) {
+        searchSourceBuilder.indexBoost(indexName, boost);
+      }
+    });
+
+    BoolQueryBuilder filterQuery = getFilterQuery(filter);
+    searchSourceBuilder.query(QueryBuilders.boolQuery().must(entityQueries).must(filterQuery));
+    getAggregations().forEach(searchSourceBuilder::aggregation);
+    searchSourceBuilder.aggregation(AggregationBuilders.filters(ENTITY_AGGREGATION_NAME,
+        entityFilters.toArray(new FiltersAggregator.KeyedFilter[0])));
+    searchSourceBuilder.highlighter(getHighlights());
+    ESUtils.buildSortOrder(searchSourceBuilder, sortCriterion, _entitySpecs);
+    searchRequest.source(searchSourceBuilder);
+    log.debug("Search request is: " + searchRequest.toString());
+
+    return searchRequest;
+  }
+
   /**
    * Returns a {@link SearchRequest} given filters to be applied to search query and sort criterion to be applied to
    * search results.
@@ -225,7 +311,7 @@ public class SearchRequestHandler {
   }
 
   private QueryBuilder getQuery(@Nonnull String query) {
-    return SearchQueryBuilder.buildQuery(_entitySpec, query);
+    return SearchQueryBuilder.buildQuery(_entitySpecs.get(0), query);
   }
 
   private List<AggregationBuilder> getAggregations() {
@@ -349,12 +435,15 @@ public class SearchRequestHandler {
     }
 
     for (Map.Entry<String, Aggregation> entry : searchResponse.getAggregations().getAsMap().entrySet()) {
-      final Map<String, Long> oneTermAggResult = extractTermAggregations((ParsedTerms) entry.getValue());
+      final boolean isEntityAggregation = entry.getValue() instanceof ParsedFilters;
+      final Map<String, Long> oneTermAggResult = isEntityAggregation
+          ? extractFilterAggregations((ParsedFilters) entry.getValue())
+          : extractTermAggregations((ParsedTerms) entry.getValue());
       if (oneTermAggResult.isEmpty()) {
         continue;
       }
       final AggregationMetadata aggregationMetadata = new AggregationMetadata().setName(entry.getKey())
-          .setDisplayName(_filtersToDisplayName.get(entry.getKey()))
+          .setDisplayName(isEntityAggregation ? ENTITY_AGGREGATION_DISPLAY_NAME : _filtersToDisplayName.get(entry.getKey()))
           .setAggregations(new LongMap(oneTermAggResult))
           .setFilterValues(new FilterValueArray(SearchUtil.convertToFilters(oneTermAggResult)));
       aggregationMetadataList.add(aggregationMetadata);
@@ -401,6 +490,20 @@ public class SearchRequestHandler {
     return aggResult;
   }
 
+  /**
+   * Extracts the doc counts of a filters aggregation.
+   *
+   * @param filters a parsed filters aggregation
+   * @return a map with filter key and corresponding doc counts
+   */
+  @Nonnull
+  private static Map<String, Long> extractFilterAggregations(@Nonnull ParsedFilters filters) {
+    return filters.getBuckets()
+        .stream()
+        .filter(bucket -> bucket.getDocCount() > 0)
+        .collect(Collectors.toMap(Filters.Bucket::getKeyAsString, Filters.Bucket::getDocCount));
+  }
+
   /**
    * Injects the missing conjunctive filters into the aggregations list.
    */
@@ -0,0 +1,113 @@
+package com.linkedin.metadata.search.elasticsearch.update;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+
+
+/**
+ * Combines two consecutive writes to the same document into one write with the same result.
+ */
+class DocWriteRequestCoalescer {
+
+  // Rough size of a request without a source, i.e. of its action line in a bulk request
+  private static final int ACTION_SIZE_IN_BYTES = 50;
+
+  private DocWriteRequestCoalescer() {
+  }
+
+  /**
+   * Returns a single write which results in the same document as applying the previous write and then the next one, or
+   * null if there is none.
+   *
+   * <ul>
+   *   <li>Index and delete requests replace the document, so they replace any previous write.</li>
+   *   <li>Partial document updates (without scripts) are merged into a previous index request or partial document update,
+   *   the same way Elasticsearch merges a partial document into the stored one.</li>
+   * </ul>
+   */
+  @Nullable
+  static DocWriteRequest<?> coalesce(@Nonnull DocWriteRequest<?> previous, @Nonnull DocWriteRequest<?> next) {
+    if (next instanceof IndexRequest || next instanceof DeleteRequest) {
+      return next;
+    }
+    if (!(next instanceof UpdateRequest) || !isPartialDocUpdate((UpdateRequest) next)) {
+      return null;
+    }
+    final UpdateRequest nextUpdate = (UpdateRequest) next;
+    final Map<String, Object> nextDoc = nextUpdate.doc().sourceAsMap();
+    if (previous instanceof IndexRequest) {
+      final IndexRequest previousIndex = (IndexRequest) previous;
+      return new IndexRequest(previousIndex.index()).id(previousIndex.id())
+          .source(merge(previousIndex.sourceAsMap(), nextDoc));
+    }
+    if (previous instanceof UpdateRequest && isPartialDocUpdate((UpdateRequest) previous)) {
+      final UpdateRequest previousUpdate = (UpdateRequest) previous;
+      if (previousUpdate.docAsUpsert() != nextUpdate.docAsUpsert()
+          || (previousUpdate.upsertRequest() == null) != (nextUpdate.upsertRequest() == null)) {
+        return null;
+      }
+      final UpdateRequest coalesced = new UpdateRequest(nextUpdate.index(), nextUpdate.id())
+          .doc(merge(previousUpdate.doc().sourceAsMap(), nextDoc))
+          .docAsUpsert(nextUpdate.docAsUpsert())
+          .detectNoop(nextUpdate.detectNoop())
+          .retryOnConflict(nextUpdate.retryOnConflict());
+      if (previousUpdate.upsertRequest() != null) {
+        // If the document does not exist, the previous upsert creates it and the next update is applied to it
+        coalesced.upsert(new IndexRequest(nextUpdate.index()).id(nextUpdate.id())
+            .source(merge(previousUpdate.upsertRequest().sourceAsMap(), nextDoc)));
+      }
+      return coalesced;
+    }
+    return null;
+  }
+
+  static long estimateSizeInBytes(@Nonnull DocWriteRequest<?> request) {
+    long size = ACTION_SIZE_IN_BYTES;
+    if (request instanceof IndexRequest) {
+      size += ((IndexRequest) request).source().length();
+    } else if (request instanceof UpdateRequest) {
+      final UpdateRequest update = (UpdateRequest) request;
+      if (update.doc() != null) {
+        size += update.doc().source().length();
+      }
+      if (update.upsertRequest() != null) {
+        size += update.upsertRequest().source().length();
+      }
+      if (update.script() != null) {
+        size += update.script().getIdOrCode().length();
+      }
+    }
+    return size;
+  }
+
+  private static boolean isPartialDocUpdate(@Nonnull UpdateRequest update) {
+    return update.script() == null && update.doc() != null && !update.scriptedUpsert();
+  }
+
+  /**
+   * Merges the fields of the partial document into the document, merging objects recursively and replacing all other
+   * values.
+   */
+  @SuppressWarnings("unchecked")
+  @Nonnull
+  private static Map<String, Object> merge(@Nonnull Map<String, Object> document,
+      @Nonnull Map<String, Object> partialDocument) {
+    final Map<String, Object> merged = new HashMap<>(document);
+    for (Map.Entry<String, Object> entry : partialDocument.entrySet()) {
+      final Object existing = merged.get(entry.getKey());
+      if (existing instanceof Map && entry.getValue() instanceof Map) {
+        merged.put(entry.getKey(),
+            merge((Map<String, Object>) existing, (Map<String, Object>) entry.getValue()));
+      } else {
+        merged.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return merged;
+  }
+}
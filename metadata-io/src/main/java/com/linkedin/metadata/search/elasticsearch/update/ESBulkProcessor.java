@@ -0,0 +1,472 @@
+package com.linkedin.metadata.search.elasticsearch.update;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+
+
+/**
+ * Batches document writes to Elasticsearch into bulk requests, in place of a {@link org.elasticsearch.action.bulk.BulkProcessor}.
+ *
+ * <ul>
+ *   <li>At most queueCapacity documents are pending (buffered or being written) at a time. Adding more blocks the caller
+ *   until earlier documents have been written, so that slow indexing holds back the consumers feeding it.</li>
+ *   <li>Writes to the same document which are buffered together are coalesced into one where the result is the same,
+ *   see {@link DocWriteRequestCoalescer}.</li>
+ *   <li>Documents rejected because Elasticsearch is overloaded (429) are retried on their own with exponential backoff.
+ *   Documents rejected because writes to the index are blocked while
+ *   {@link com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder} swaps it are parked with the index,
+ *   along with the documents of the index added after them, and sent again every retry interval until the block is
+ *   lifted or the alias moves, without using up their retries, for at most the maximum write block time. Meanwhile the
+ *   documents of other indices keep being written.
+ *   Documents which fail otherwise, or are still rejected after all retries, are handed to the {@link DeadLetterHandler}
+ *   rather than dropped.</li>
+ *   <li>Docs and bytes written, write latency, rejections, failures and coalesced writes are recorded per index.</li>
+ * </ul>
+ *
+ * Bulk requests are sent one at a time from a single thread, with the retries of a bulk request completing before the
+ * next one is sent, and parked documents sent ahead of the later documents of their index, so writes to a document are
+ * applied in the order they were added.
+ */
+@Slf4j
+public class ESBulkProcessor implements Closeable {
+
+  /**
+   * Receives documents which could not be written.
+   */
+  public interface DeadLetterHandler {
+    void handle(@Nonnull DocWriteRequest<?> request, @Nonnull String failureMessage);
+  }
+
+  /**
+   * Logs failed documents with their content, under a dedicated logger so that they can be routed to their own appender.
+   *
+   * The documents are not kept anywhere else, so the index misses them until it is rebuilt from the aspects, e.g. with
+   * the RestoreIndices upgrade. Set a handler which stores them durably where that is not acceptable.
+   */
+  public static final DeadLetterHandler LOGGING_DEAD_LETTER_HANDLER = new DeadLetterHandler() {
+    private final org.slf4j.Logger _deadLetterLog =
+        org.slf4j.LoggerFactory.getLogger(ESBulkProcessor.class.getName() + ".deadLetter");
+
+    @Override
+    public void handle(@Nonnull DocWriteRequest<?> request, @Nonnull String failureMessage) {
+      _deadLetterLog.error("Failed to write document to Elasticsearch: {}. Request: {}", failureMessage, request);
+    }
+  };
+
+  // Reason of the cluster block failing writes to an index with index.blocks.write set
+  private static final String INDEX_WRITE_BLOCK = "index write (api)";
+
+  @Value
+  private static class DocKey {
+    String index;
+    String id;
+  }
+
+  private static class PendingDoc {
+    private final DocKey key;
+    private final long addedNanos;
+    private DocWriteRequest<?> request;
+    private long sizeInBytes;
+    private boolean done = false;
+    // Rejections because Elasticsearch is overloaded or the request failed, which use up the retries
+    private int retries = 0;
+    // When the document was first rejected by a write block, or 0 if it was not
+    private long writeBlockedSinceNanos = 0;
+
+    private PendingDoc(@Nonnull DocKey key, @Nonnull DocWriteRequest<?> request) {
+      this.key = key;
+      this.addedNanos = System.nanoTime();
+      this.request = request;
+      this.sizeInBytes = DocWriteRequestCoalescer.estimateSizeInBytes(request);
+    }
+  }
+
+  private final RestHighLevelClient _searchClient;
+  private final int _bulkActions;
+  private final long _bulkSizeInBytes;
+  private final int _numRetries;
+  private final long _retryIntervalMs;
+  private final long _maxWriteBlockedMs;
+  private final DeadLetterHandler _deadLetterHandler;
+
+  private final Semaphore _capacity;
+  // Sends all bulk requests, so that they are not sent concurrently
+  private final ScheduledExecutorService _flusher;
+  private final AtomicBoolean _flushScheduled = new AtomicBoolean(false);
+
+  private static class ParkedIndex {
+    // In the order they were added
+    private final List<PendingDoc> docs = new ArrayList<>();
+    private final long retryAtNanos;
+
+    private ParkedIndex(long retryAtNanos) {
+      this.retryAtNanos = retryAtNanos;
+    }
+  }
+
+  // Documents of the indices whose writes are blocked, by index. Only accessed from the flusher thread.
+  private final Map<String, ParkedIndex> _parked = new LinkedHashMap<>();
+
+  private final Object _lock = new Object();
+  private List<PendingDoc> _buffer = new ArrayList<>();
+  // Latest buffered write of each document, which later writes to the document are coalesced into
+  private Map<DocKey, PendingDoc> _latestBuffered = new HashMap<>();
+  private long _bufferSizeInBytes = 0;
+
+  private ESBulkProcessor(@Nonnull RestHighLevelClient searchClient, int bulkActions, long bulkSizeInBytes,
+      long flushIntervalMs, int queueCapacity, int numRetries, long retryIntervalMs, long maxWriteBlockedMs,
+      @Nonnull DeadLetterHandler deadLetterHandler) {
+    _searchClient = searchClient;
+    _bulkActions = bulkActions;
+    _bulkSizeInBytes = bulkSizeInBytes;
+    _numRetries = numRetries;
+    _retryIntervalMs = retryIntervalMs;
+    _maxWriteBlockedMs = maxWriteBlockedMs;
+    _deadLetterHandler = deadLetterHandler;
+    _capacity = new Semaphore(queueCapacity);
+    _flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "es-bulk-processor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    _flusher.scheduleWithFixedDelay(() -> flushBuffer(false), flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    final Gauge<Integer> pendingDocs = () -> queueCapacity - _capacity.availablePermits();
+    MetricUtils.get().gauge(MetricRegistry.name(ESBulkProcessor.class, "pendingDocs"), () -> pendingDocs);
+  }
+
+  @Nonnull
+  public static Builder builder(@Nonnull RestHighLevelClient searchClient) {
+    return new Builder(searchClient);
+  }
+
+  /**
+   * Adds a document write, blocking while the maximum number of documents are pending.
+   */
+  public ESBulkProcessor add(@Nonnull DocWriteRequest<?> request) {
+    try {
+      _capacity.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting to add a document to the bulk processor", e);
+    }
+    final DocKey key = new DocKey(request.index(), request.id());
+    boolean shouldFlush;
+    synchronized (_lock) {
+      final PendingDoc latest = key.getId() == null ? null : _latestBuffered.get(key);
+      final DocWriteRequest<?> coalesced =
+          latest == null ? null : DocWriteRequestCoalescer.coalesce(latest.request, request);
+      if (coalesced != null) {
+        _bufferSizeInBytes -= latest.sizeInBytes;
+        latest.request = coalesced;
+        latest.sizeInBytes = DocWriteRequestCoalescer.estimateSizeInBytes(coalesced);
+        _bufferSizeInBytes += latest.sizeInBytes;
+        // The added write is now part of the buffered one
+        _capacity.release();
+        MetricUtils.counter(ESBulkProcessor.class, MetricRegistry.name(key.getIndex(), "coalesced")).inc();
+      } else {
+        final PendingDoc doc = new PendingDoc(key, request);
+        _buffer.add(doc);
+        _bufferSizeInBytes += doc.sizeInBytes;
+        if (key.getId() != null) {
+          _latestBuffered.put(key, doc);
+        }
+      }
+      shouldFlush = _buffer.size() >= _bulkActions || _bufferSizeInBytes >= _bulkSizeInBytes;
+    }
+    if (shouldFlush && _flushScheduled.compareAndSet(false, true)) {
+      _flusher.execute(() -> flushBuffer(false));
+    }
+    return this;
+  }
+
+  /**
+   * Writes all documents added so far, and waits until each of them has been written or handed to the dead letter
+   * handler. Documents of indices whose writes are blocked are sent again every retry interval in the meantime.
+   */
+  public void flush() {
+    try {
+      while (_flusher.submit(() -> flushBuffer(true)).get()) {
+        // Waits on the calling thread, so that the flusher keeps writing the documents of other indices
+        Thread.sleep(_retryIntervalMs);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while flushing the bulk processor", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to flush the bulk processor", e.getCause());
+    }
+  }
+
+  @Override
+  public void close() {
+    flush();
+    _flusher.shutdown();
+  }
+
+  /**
+   * Writes the buffered documents, along with the parked ones which are due for a retry, or all of them if
+   * retryAllParked is set.
+   *
+   * @return whether documents are still parked
+   */
+  private boolean flushBuffer(boolean retryAllParked) {
+    _flushScheduled.set(false);
+    final List<PendingDoc> buffered;
+    synchronized (_lock) {
+      buffered = _buffer;
+      if (!buffered.isEmpty()) {
+        _buffer = new ArrayList<>();
+        _latestBuffered = new HashMap<>();
+        _bufferSizeInBytes = 0;
+      }
+    }
+    final long now = System.nanoTime();
+    final List<PendingDoc> docs = new ArrayList<>();
+    // Parked documents go first, so that they are written before the later writes to the same documents
+    _parked.values().removeIf(parked -> {
+      if (!retryAllParked && now - parked.retryAtNanos < 0) {
+        return false;
+      }
+      docs.addAll(parked.docs);
+      return true;
+    });
+    for (PendingDoc doc : buffered) {
+      final ParkedIndex parked = _parked.get(doc.key.getIndex());
+      if (parked != null) {
+        parked.docs.add(doc);
+      } else {
+        docs.add(doc);
+      }
+    }
+    if (docs.isEmpty()) {
+      return !_parked.isEmpty();
+    }
+    try {
+      write(docs);
+    } catch (Throwable e) {
+      // Keep the flusher thread alive, and the capacity of the documents available
+      log.error("Unexpected error while writing bulk request", e);
+      docs.stream().filter(doc -> !doc.done).forEach(doc -> deadLetter(doc, e.toString()));
+      _parked.values().forEach(parked -> parked.docs.removeIf(doc -> doc.done));
+      _parked.values().removeIf(parked -> parked.docs.isEmpty());
+    }
+    return !_parked.isEmpty();
+  }
+
+  private void write(@Nonnull List<PendingDoc> docs) throws InterruptedException {
+    List<PendingDoc> remaining = docs;
+    long backoffMs = 0;
+    while (!remaining.isEmpty()) {
+      if (backoffMs > 0) {
+        log.warn("Retrying {} documents rejected by Elasticsearch in {} ms", remaining.size(), backoffMs);
+        Thread.sleep(backoffMs);
+      }
+      final BulkRequest bulkRequest = new BulkRequest();
+      remaining.forEach(doc -> bulkRequest.add(doc.request));
+
+      final List<PendingDoc> rejected = new ArrayList<>();
+      final BulkResponse response;
+      try {
+        response = MetricUtils.timer(ESBulkProcessor.class, "bulkRequest")
+            .time(() -> _searchClient.bulk(bulkRequest, RequestOptions.DEFAULT));
+      } catch (Exception e) {
+        // The whole request failed, e.g. timed out, so all of its documents are retried
+        log.warn("Failed to send bulk request of {} documents", remaining.size(), e);
+        remaining.forEach(doc -> retryOrDeadLetter(doc, e.toString(), rejected));
+        backoffMs = getBackoffMs(rejected);
+        remaining = rejected;
+        continue;
+      }
+
+      final BulkItemResponse[] items = response.getItems();
+      for (int i = 0; i < items.length; i++) {
+        final PendingDoc doc = remaining.get(i);
+        if (!items[i].isFailed()) {
+          complete(doc);
+        } else if (isWriteBlocked(items[i])) {
+          parkOrDeadLetter(doc, items[i].getFailureMessage());
+        } else if (items[i].status() == RestStatus.TOO_MANY_REQUESTS) {
+          retryOrDeadLetter(doc, items[i].getFailureMessage(), rejected);
+        } else {
+          deadLetter(doc, items[i].getFailureMessage());
+        }
+      }
+      // Documents to retry whose index has been parked wait with it, so that they are not written out of order
+      rejected.removeIf(doc -> {
+        final ParkedIndex parked = _parked.get(doc.key.getIndex());
+        if (parked == null) {
+          return false;
+        }
+        parked.docs.add(doc);
+        return true;
+      });
+      log.debug("Wrote bulk request of {} documents in {} ms, {} rejected", items.length,
+          response.getTook().getMillis(), rejected.size());
+      backoffMs = getBackoffMs(rejected);
+      remaining = rejected;
+    }
+  }
+
+  private void retryOrDeadLetter(@Nonnull PendingDoc doc, @Nonnull String failureMessage,
+      @Nonnull List<PendingDoc> toRetry) {
+    if (doc.retries >= _numRetries) {
+      deadLetter(doc, failureMessage);
+      return;
+    }
+    doc.retries++;
+    markRejected(doc);
+    toRetry.add(doc);
+  }
+
+  // The write block is lifted once the index has been swapped, so waiting for it does not use up the retries
+  private void parkOrDeadLetter(@Nonnull PendingDoc doc, @Nonnull String failureMessage) {
+    final long now = System.nanoTime();
+    if (doc.writeBlockedSinceNanos == 0) {
+      doc.writeBlockedSinceNanos = now;
+    } else if (TimeUnit.NANOSECONDS.toMillis(now - doc.writeBlockedSinceNanos) >= _maxWriteBlockedMs) {
+      deadLetter(doc, failureMessage);
+      return;
+    }
+    MetricUtils.get().meter(MetricRegistry.name(ESBulkProcessor.class, doc.key.getIndex(), "writeBlocked")).mark();
+    _parked.computeIfAbsent(doc.key.getIndex(),
+        index -> new ParkedIndex(now + TimeUnit.MILLISECONDS.toNanos(_retryIntervalMs))).docs.add(doc);
+  }
+
+  // Exponential in the retries of the documents
+  private long getBackoffMs(@Nonnull List<PendingDoc> rejected) {
+    final int maxRetries = rejected.stream().mapToInt(doc -> doc.retries).max().orElse(1);
+    return _retryIntervalMs << Math.min(maxRetries - 1, 30);
+  }
+
+  // Rejected because writes to the index are blocked while it is rebuilt
+  private static boolean isWriteBlocked(@Nonnull BulkItemResponse item) {
+    return item.status() == RestStatus.FORBIDDEN && item.getFailureMessage() != null
+        && item.getFailureMessage().contains(INDEX_WRITE_BLOCK);
+  }
+
+  private void complete(@Nonnull PendingDoc doc) {
+    final String index = doc.key.getIndex();
+    MetricUtils.get().meter(MetricRegistry.name(ESBulkProcessor.class, index, "docs")).mark();
+    MetricUtils.get().meter(MetricRegistry.name(ESBulkProcessor.class, index, "bytes")).mark(doc.sizeInBytes);
+    MetricUtils.timer(ESBulkProcessor.class, MetricRegistry.name(index, "latency"))
+        .update(System.nanoTime() - doc.addedNanos, TimeUnit.NANOSECONDS);
+    doc.done = true;
+    _capacity.release();
+  }
+
+  private void markRejected(@Nonnull PendingDoc doc) {
+    MetricUtils.get().meter(MetricRegistry.name(ESBulkProcessor.class, doc.key.getIndex(), "rejections")).mark();
+  }
+
+  private void deadLetter(@Nonnull PendingDoc doc, @Nonnull String failureMessage) {
+    MetricUtils.counter(ESBulkProcessor.class, MetricRegistry.name(doc.key.getIndex(), "failures")).inc();
+    try {
+      _deadLetterHandler.handle(doc.request, failureMessage);
+    } catch (Exception e) {
+      log.error("Dead letter handler failed for document {} of index {}", doc.key.getId(), doc.key.getIndex(), e);
+    } finally {
+      doc.done = true;
+      _capacity.release();
+    }
+  }
+
+  public static class Builder {
+    private final RestHighLevelClient _searchClient;
+    private int _bulkActions = 1000;
+    private long _bulkSizeInBytes = 5 * 1024 * 1024;
+    private long _flushIntervalMs = 1000;
+    private int _queueCapacity = 10000;
+    private int _numRetries = 3;
+    private long _retryIntervalMs = 1000;
+    private long _maxWriteBlockedMs = TimeUnit.MINUTES.toMillis(30);
+    private DeadLetterHandler _deadLetterHandler = LOGGING_DEAD_LETTER_HANDLER;
+
+    private Builder(@Nonnull RestHighLevelClient searchClient) {
+      _searchClient = searchClient;
+    }
+
+    /**
+     * Number of documents which triggers sending a bulk request.
+     */
+    public Builder setBulkActions(int bulkActions) {
+      _bulkActions = bulkActions;
+      return this;
+    }
+
+    /**
+     * Size of documents which triggers sending a bulk request.
+     */
+    public Builder setBulkSizeInBytes(long bulkSizeInBytes) {
+      _bulkSizeInBytes = bulkSizeInBytes;
+      return this;
+    }
+
+    /**
+     * Interval at which documents are sent regardless of how many have been added.
+     */
+    public Builder setFlushInterval(long flushInterval, @Nonnull TimeUnit unit) {
+      _flushIntervalMs = unit.toMillis(flushInterval);
+      return this;
+    }
+
+    /**
+     * Maximum number of documents pending at a time, beyond which adding documents blocks.
+     */
+    public Builder setQueueCapacity(int queueCapacity) {
+      _queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Number of retries of rejected documents, the first after the retry interval and each next one after twice as long.
+     */
+    public Builder setRetries(int numRetries, long retryInterval, @Nonnull TimeUnit unit) {
+      _numRetries = numRetries;
+      _retryIntervalMs = unit.toMillis(retryInterval);
+      return this;
+    }
+
+    /**
+     * Maximum time documents rejected because writes to their index are blocked are retried for.
+     */
+    public Builder setMaxWriteBlockedTime(long maxWriteBlockedTime, @Nonnull TimeUnit unit) {
+      _maxWriteBlockedMs = unit.toMillis(maxWriteBlockedTime);
+      return this;
+    }
+
+    public Builder setDeadLetterHandler(@Nonnull DeadLetterHandler deadLetterHandler) {
+      _deadLetterHandler = deadLetterHandler;
+      return this;
+    }
+
+    @Nonnull
+    public ESBulkProcessor build() {
+      return new ESBulkProcessor(_searchClient, _bulkActions, _bulkSizeInBytes, _flushIntervalMs,
+          Math.max(_queueCapacity, _bulkActions), _numRetries, _retryIntervalMs, _maxWriteBlockedMs,
+          _deadLetterHandler);
+    }
+  }
+}
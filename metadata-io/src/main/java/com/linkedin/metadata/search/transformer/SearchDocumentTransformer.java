@@ -55,9 +55,9 @@ public class SearchDocumentTransformer {
       final AspectSpec aspectSpec,
       final Boolean forDelete) {
     final Map<SearchableFieldSpec, List<Object>> extractedSearchableFields =
-        FieldExtractor.extractFields(aspect, aspectSpec.getSearchableFieldSpecs());
+        aspectSpec.getFieldExtractor().extractFields(aspect, aspectSpec.getSearchableFieldSpecs());
     final Map<SearchScoreFieldSpec, List<Object>> extractedSearchScoreFields =
-        FieldExtractor.extractFields(aspect, aspectSpec.getSearchScoreFieldSpecs());
+        aspectSpec.getFieldExtractor().extractFields(aspect, aspectSpec.getSearchScoreFieldSpecs());
     if (extractedSearchableFields.isEmpty() && extractedSearchScoreFields.isEmpty()) {
       return Optional.empty();
     }
@@ -1,11 +1,15 @@
 package com.linkedin.metadata.search.utils;
 
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.SearchableFieldSpec;
 import com.linkedin.metadata.query.filter.Condition;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterion;
 import com.linkedin.metadata.query.filter.Criterion;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +28,7 @@ import static com.linkedin.metadata.search.utils.SearchUtils.isUrn;
 public class ESUtils {
 
   private static final String DEFAULT_SEARCH_RESULTS_SORT_BY_FIELD = "urn";
+  private static final String KEYWORD_TYPE = "keyword";
 
   public static final String KEYWORD_SUFFIX = ".keyword";
   public static final int MAX_RESULT_SIZE = 10000;
@@ -159,17 +164,65 @@ public class ESUtils {
    */
   public static void buildSortOrder(@Nonnull SearchSourceBuilder searchSourceBuilder,
       @Nullable SortCriterion sortCriterion) {
+    buildSortOrder(searchSourceBuilder, sortCriterion, Collections.emptyList());
+  }
+
+  /**
+   * Populates source field of search query with the sort order as per the criterion provided, like
+   * {@link #buildSortOrder(SearchSourceBuilder, SortCriterion)}.
+   *
+   * <p>When searching the indices of several entities at once, the sort field may only be mapped in some of them. The
+   * other indices sort it as a missing value of the type the field has in the given entities, rather than failing the
+   * whole search.
+   *
+   * @param searchSourceBuilder {@link SearchSourceBuilder} that needs to be populated with sort order
+   * @param sortCriterion {@link SortCriterion} to be applied to the search results
+   * @param entitySpecs the entities whose indices are searched
+   */
+  public static void buildSortOrder(@Nonnull SearchSourceBuilder searchSourceBuilder,
+      @Nullable SortCriterion sortCriterion, @Nonnull List<EntitySpec> entitySpecs) {
     if (sortCriterion == null) {
       searchSourceBuilder.sort(new ScoreSortBuilder().order(SortOrder.DESC));
     } else {
       final SortOrder esSortOrder =
           (sortCriterion.getOrder() == com.linkedin.metadata.query.filter.SortOrder.ASCENDING) ? SortOrder.ASC
               : SortOrder.DESC;
-      searchSourceBuilder.sort(new FieldSortBuilder(sortCriterion.getField()).order(esSortOrder));
+      searchSourceBuilder.sort(new FieldSortBuilder(sortCriterion.getField()).order(esSortOrder)
+          .unmappedType(getUnmappedSortType(sortCriterion.getField(), entitySpecs)));
     }
     if (sortCriterion == null || !sortCriterion.getField().equals(DEFAULT_SEARCH_RESULTS_SORT_BY_FIELD)) {
-      searchSourceBuilder.sort(new FieldSortBuilder(DEFAULT_SEARCH_RESULTS_SORT_BY_FIELD).order(SortOrder.ASC));
+      searchSourceBuilder.sort(new FieldSortBuilder(DEFAULT_SEARCH_RESULTS_SORT_BY_FIELD).order(SortOrder.ASC)
+          .unmappedType(KEYWORD_TYPE));
+    }
+  }
+
+  /**
+   * Returns the Elasticsearch type to sort a field as in the indices which do not map it, which is the type the field
+   * is mapped to in the first of the given entities that has it, or keyword if none do.
+   */
+  @Nonnull
+  private static String getUnmappedSortType(@Nonnull String field, @Nonnull List<EntitySpec> entitySpecs) {
+    if (field.endsWith(KEYWORD_SUFFIX)) {
+      return KEYWORD_TYPE;
     }
+    return entitySpecs.stream()
+        .flatMap(entitySpec -> entitySpec.getSearchableFieldSpecs().stream())
+        .map(SearchableFieldSpec::getSearchableAnnotation)
+        .filter(annotation -> annotation.getFieldName().equals(field))
+        .findFirst()
+        .map(annotation -> {
+          switch (annotation.getFieldType()) {
+            case BOOLEAN:
+              return "boolean";
+            case COUNT:
+              return "long";
+            case DATETIME:
+              return "date";
+            default:
+              return KEYWORD_TYPE;
+          }
+        })
+        .orElse(KEYWORD_TYPE);
   }
 
   /**
@@ -0,0 +1,226 @@
+package com.linkedin.metadata.timeline;
+
+import com.datahub.util.RecordUtils;
+import com.datahub.util.exception.ESQueryException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeEvent;
+import com.linkedin.metadata.timeline.data.ChangeOperation;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.data.SemanticChangeType;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+
+
+/**
+ * Stores the entries of the {@link TimelineChangeLog} in an Elasticsearch index, with a document per version of an
+ * aspect, so that the changes of a version are computed once rather than once per GMS instance and after every restart.
+ *
+ * Entries are written when the version is written, or when a timeline first reads it, and are never updated: a version
+ * whose previous version changed, e.g. after a rollback, is diffed again and its entry overwritten.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ESTimelineChangeLogDAO {
+  public static final String INDEX_NAME = "timeline_change_log_v1";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String FIELD_URN = "urn";
+  private static final String FIELD_ASPECT = "aspect";
+  private static final String FIELD_CREATED_ON = "createdOnMillis";
+  private static final String FIELD_PREVIOUS_CREATED_ON = "previousCreatedOnMillis";
+  private static final String FIELD_TRANSACTIONS = "transactions";
+  private static final String FIELD_RAW_DIFF = "rawDiff";
+
+  private final RestHighLevelClient _searchClient;
+  private final IndexConvention _indexConvention;
+  private final ESBulkProcessor _bulkProcessor;
+  private final ESIndexBuilder _indexBuilder;
+
+  public void configure() {
+    log.info("Setting up timeline change log index");
+    try {
+      _indexBuilder.buildIndex(getIndexName(), getMappings(), Collections.emptyMap());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not configure timeline change log index", e);
+    }
+  }
+
+  /**
+   * Returns the stored changes of a version, or null if they are not stored.
+   */
+  @Nullable
+  TimelineChangeLog.Entry get(@Nonnull TimelineChangeLog.Key key) {
+    final GetResponse response;
+    try {
+      response = _searchClient.get(new GetRequest(getIndexName(), toDocId(key)), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new ESQueryException(String.format("Failed to read the changes of %s", key), e);
+    }
+    return response.isExists() ? fromDocument(response.getSourceAsString()) : null;
+  }
+
+  void put(@Nonnull TimelineChangeLog.Key key, @Nonnull TimelineChangeLog.Entry entry) {
+    _bulkProcessor.add(
+        new IndexRequest(getIndexName()).id(toDocId(key)).source(toDocument(key, entry), XContentType.JSON));
+  }
+
+  @Nonnull
+  private String getIndexName() {
+    return _indexConvention.getIndexName(INDEX_NAME);
+  }
+
+  @Nonnull
+  private static String toDocId(@Nonnull TimelineChangeLog.Key key) {
+    return DigestUtils.md5Hex(key.getUrn() + "|" + key.getAspectName() + "|" + key.getCreatedOnMillis());
+  }
+
+  @Nonnull
+  static Map<String, Object> getMappings() {
+    final Map<String, Object> mappings = new HashMap<>();
+    mappings.put(FIELD_URN, ImmutableMap.of("type", "keyword"));
+    mappings.put(FIELD_ASPECT, ImmutableMap.of("type", "keyword"));
+    mappings.put(FIELD_CREATED_ON, ImmutableMap.of("type", "long"));
+    mappings.put(FIELD_PREVIOUS_CREATED_ON, ImmutableMap.of("type", "long"));
+    // Only ever read back as a whole
+    mappings.put(FIELD_TRANSACTIONS, ImmutableMap.of("type", "object", "enabled", false));
+    mappings.put(FIELD_RAW_DIFF, ImmutableMap.of("type", "object", "enabled", false));
+    return ImmutableMap.of("properties", mappings);
+  }
+
+  /**
+   * Serializes an entry. Change events are stored as {@link ChangeEvent}s, as their subclasses only fill in its
+   * parameters.
+   */
+  @Nonnull
+  static String toDocument(@Nonnull TimelineChangeLog.Key key, @Nonnull TimelineChangeLog.Entry entry) {
+    final ObjectNode document = OBJECT_MAPPER.createObjectNode();
+    document.put(FIELD_URN, key.getUrn());
+    document.put(FIELD_ASPECT, key.getAspectName());
+    document.put(FIELD_CREATED_ON, key.getCreatedOnMillis());
+    document.put(FIELD_PREVIOUS_CREATED_ON, entry.getPreviousCreatedOnMillis());
+    final ObjectNode transactions = document.putObject(FIELD_TRANSACTIONS);
+    entry.getTransactions().forEach((category, categoryTransactions) -> {
+      final ArrayNode array = transactions.putArray(category.name());
+      categoryTransactions.forEach(transaction -> array.add(toNode(transaction)));
+    });
+    if (entry.getRawDiff() != null) {
+      document.set(FIELD_RAW_DIFF, OBJECT_MAPPER.valueToTree(entry.getRawDiff()));
+    }
+    return document.toString();
+  }
+
+  @Nonnull
+  static TimelineChangeLog.Entry fromDocument(@Nonnull String json) {
+    try {
+      final JsonNode document = OBJECT_MAPPER.readTree(json);
+      final Map<ChangeCategory, List<ChangeTransaction>> transactions = new EnumMap<>(ChangeCategory.class);
+      final Iterator<Map.Entry<String, JsonNode>> categories = document.get(FIELD_TRANSACTIONS).fields();
+      while (categories.hasNext()) {
+        final Map.Entry<String, JsonNode> category = categories.next();
+        final List<ChangeTransaction> categoryTransactions = new ArrayList<>();
+        for (JsonNode transaction : category.getValue()) {
+          categoryTransactions.add(fromNode(transaction));
+        }
+        transactions.put(ChangeCategory.valueOf(category.getKey()), categoryTransactions);
+      }
+      final JsonNode rawDiff = document.get(FIELD_RAW_DIFF);
+      return new TimelineChangeLog.Entry(document.get(FIELD_PREVIOUS_CREATED_ON).asLong(), transactions,
+          rawDiff == null || rawDiff.isNull() ? null : JsonPatch.fromJson(rawDiff));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read a timeline change log document", e);
+    }
+  }
+
+  @Nonnull
+  private static ObjectNode toNode(@Nonnull ChangeTransaction transaction) {
+    final ObjectNode node = OBJECT_MAPPER.createObjectNode();
+    node.put("timestamp", transaction.getTimestamp());
+    node.put("actor", transaction.getActor());
+    node.put("proxy", transaction.getProxy());
+    node.put("reporter", transaction.getReporter());
+    node.put("semVer", transaction.getSemVer());
+    node.put("semVerChange", transaction.getSemVerChange() == null ? null : transaction.getSemVerChange().name());
+    final ArrayNode changeEvents = node.putArray("changeEvents");
+    for (ChangeEvent changeEvent : transaction.getChangeEvents()) {
+      final ObjectNode event = changeEvents.addObject();
+      event.put("entityUrn", changeEvent.getEntityUrn());
+      event.put("category", changeEvent.getCategory() == null ? null : changeEvent.getCategory().name());
+      event.put("operation", changeEvent.getOperation() == null ? null : changeEvent.getOperation().name());
+      event.put("modifier", changeEvent.getModifier());
+      // Parameters are strings and booleans
+      event.set("parameters", OBJECT_MAPPER.valueToTree(changeEvent.getParameters()));
+      event.put("auditStamp",
+          changeEvent.getAuditStamp() == null ? null : RecordUtils.toJsonString(changeEvent.getAuditStamp()));
+      event.put("semVerChange",
+          changeEvent.getSemVerChange() == null ? null : changeEvent.getSemVerChange().name());
+      event.put("description", changeEvent.getDescription());
+    }
+    return node;
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private static ChangeTransaction fromNode(@Nonnull JsonNode node) {
+    final List<ChangeEvent> changeEvents = new ArrayList<>();
+    for (JsonNode event : node.get("changeEvents")) {
+      changeEvents.add(ChangeEvent.builder()
+          .entityUrn(getText(event, "entityUrn"))
+          .category(event.hasNonNull("category") ? ChangeCategory.valueOf(event.get("category").asText()) : null)
+          .operation(event.hasNonNull("operation") ? ChangeOperation.valueOf(event.get("operation").asText()) : null)
+          .modifier(getText(event, "modifier"))
+          .parameters(event.hasNonNull("parameters") ? OBJECT_MAPPER.convertValue(event.get("parameters"), Map.class)
+              : null)
+          .auditStamp(event.hasNonNull("auditStamp")
+              ? RecordUtils.toRecordTemplate(AuditStamp.class, event.get("auditStamp").asText()) : null)
+          .semVerChange(getSemanticChangeType(event))
+          .description(getText(event, "description"))
+          .build());
+    }
+    return ChangeTransaction.builder()
+        .timestamp(node.get("timestamp").asLong())
+        .actor(getText(node, "actor"))
+        .proxy(getText(node, "proxy"))
+        .reporter(getText(node, "reporter"))
+        .semVer(getText(node, "semVer"))
+        .semVerChange(getSemanticChangeType(node))
+        .changeEvents(changeEvents)
+        .build();
+  }
+
+  @Nullable
+  private static SemanticChangeType getSemanticChangeType(@Nonnull JsonNode node) {
+    return node.hasNonNull("semVerChange") ? SemanticChangeType.valueOf(node.get("semVerChange").asText()) : null;
+  }
+
+  @Nullable
+  private static String getText(@Nonnull JsonNode node, @Nonnull String field) {
+    return node.hasNonNull(field) ? node.get(field).asText() : null;
+  }
+}
@@ -0,0 +1,155 @@
+package com.linkedin.metadata.timeline;
+
+import com.github.fge.jsonpatch.JsonPatch;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeEvent;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+
+/**
+ * Materialized change log of versioned aspects: the {@link ChangeTransaction}s computed by the differs between each
+ * version of an aspect and the version before it, so that timelines only have to diff versions which are not in it yet.
+ *
+ * The latest version of an aspect is stored as version 0 and renumbered when a newer version is written, so versions
+ * are identified by their creation time rather than their version number. An entry also records the creation time of
+ * the version it was diffed against, and is ignored once that is no longer the previous version, e.g. after a rollback.
+ *
+ * Entries hold the transactions of all change categories with a differ for the aspect, and the raw diff of the versions
+ * once rather than in each transaction. They are copied on read, as timelines combine and annotate the transactions they
+ * return. The cache should be bounded by {@link #weigh}, as the raw diff of a large aspect can be large.
+ *
+ * Entries are persisted in a {@link ESTimelineChangeLogDAO} when one is given, and the cache is only a front for it,
+ * so that changes materialized when a version is written are served by every instance, including after a restart.
+ */
+@Slf4j
+public class TimelineChangeLog {
+  public static final String CACHE_NAME = "timelineChangeLog";
+
+  private static final int OBJECT_OVERHEAD = 16;
+  private static final int KEY_OVERHEAD = 128;
+  private static final int CHANGE_EVENT_OVERHEAD = 256;
+
+  /**
+   * Identifies a version of an aspect.
+   */
+  @Value
+  static class Key {
+    String urn;
+    String aspectName;
+    long createdOnMillis;
+  }
+
+  /**
+   * The changes of a version of an aspect since its previous version.
+   */
+  @Value
+  static class Entry {
+    long previousCreatedOnMillis;
+    // Transactions without their raw diff
+    Map<ChangeCategory, List<ChangeTransaction>> transactions;
+    JsonPatch rawDiff;
+  }
+
+  private final Cache _cache;
+  @Nullable
+  private final ESTimelineChangeLogDAO _store;
+
+  public TimelineChangeLog(@Nonnull Cache cache) {
+    this(cache, null);
+  }
+
+  /**
+   * @param store where entries are persisted, or null to only keep them in the cache
+   */
+  public TimelineChangeLog(@Nonnull Cache cache, @Nullable ESTimelineChangeLogDAO store) {
+    _cache = cache;
+    _store = store;
+  }
+
+  /**
+   * Returns the changes of a version since the given previous version, or null if they have not been materialized.
+   */
+  @Nullable
+  Entry get(@Nonnull Key key, long previousCreatedOnMillis) {
+    Entry entry = _cache.get(key, Entry.class);
+    if (entry == null && _store != null) {
+      try {
+        entry = _store.get(key);
+      } catch (RuntimeException e) {
+        // The changes are computed again instead
+        log.warn("Failed to read the changes of {} from the change log store", key, e);
+      }
+      if (entry != null) {
+        MetricUtils.counter(this.getClass(), "storeHit").inc();
+        _cache.put(key, entry);
+      }
+    }
+    if (entry == null || entry.getPreviousCreatedOnMillis() != previousCreatedOnMillis) {
+      MetricUtils.counter(this.getClass(), "miss").inc();
+      return null;
+    }
+    MetricUtils.counter(this.getClass(), "hit").inc();
+    return entry;
+  }
+
+  void put(@Nonnull Key key, @Nonnull Entry entry) {
+    _cache.put(key, entry);
+    if (_store != null) {
+      _store.put(key, entry);
+    }
+  }
+
+  /**
+   * Estimates the heap size in bytes of a change log entry, so that the cache can be bounded by memory rather than by
+   * number of entries. Assumes 2 bytes per character of the raw diff and of the change event descriptions.
+   */
+  public static int weigh(@Nullable Object key, @Nullable Object value) {
+    long weight = KEY_OVERHEAD;
+    if (key instanceof Key) {
+      weight += 2L * (((Key) key).getUrn().length() + ((Key) key).getAspectName().length());
+    }
+    if (value instanceof Entry) {
+      final Entry entry = (Entry) value;
+      weight += OBJECT_OVERHEAD + (entry.getRawDiff() == null ? 0 : 2L * entry.getRawDiff().toString().length());
+      for (List<ChangeTransaction> transactions : entry.getTransactions().values()) {
+        for (ChangeTransaction transaction : transactions) {
+          weight += OBJECT_OVERHEAD;
+          for (ChangeEvent changeEvent : transaction.getChangeEvents()) {
+            weight += CHANGE_EVENT_OVERHEAD
+                + (changeEvent.getDescription() == null ? 0 : 2L * changeEvent.getDescription().length());
+          }
+        }
+      }
+    }
+    return (int) Math.min(weight, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns copies of the transactions of the entry in the given categories, with the raw diff only if requested.
+   */
+  @Nonnull
+  static List<ChangeTransaction> copyTransactions(@Nonnull Entry entry, @Nonnull Set<ChangeCategory> categories,
+      boolean rawDiffRequested) {
+    final List<ChangeTransaction> copies = new ArrayList<>();
+    for (ChangeCategory category : categories) {
+      for (ChangeTransaction transaction : entry.getTransactions().getOrDefault(category, Collections.emptyList())) {
+        copies.add(transaction.toBuilder()
+            .changeEvents(new ArrayList<>(transaction.getChangeEvents()))
+            .rawDiff(rawDiffRequested ? entry.getRawDiff() : null)
+            .build());
+      }
+    }
+    return copies;
+  }
+}
@@ -18,4 +18,10 @@ public interface TimelineService {
       String startVersionStamp,
       String endVersionStamp,
       boolean rawDiffRequested) throws JsonProcessingException;
+
+  /**
+   * Called once a new version of an aspect has been written, so that its changes can be computed ahead of the next
+   * timeline read.
+   */
+  void materializeChangeLog(@Nonnull Urn urn, @Nonnull String aspectName);
 }
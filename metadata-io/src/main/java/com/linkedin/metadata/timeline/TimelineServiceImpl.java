@@ -8,6 +8,7 @@ import com.github.fge.jsonpatch.diff.JsonDiff;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
@@ -25,15 +26,19 @@ import com.linkedin.metadata.timeline.differ.GlossaryTermsDiffer;
 import com.linkedin.metadata.timeline.differ.InstitutionalMemoryDiffer;
 import com.linkedin.metadata.timeline.differ.OwnershipDiffer;
 import com.linkedin.metadata.timeline.differ.SchemaMetadataDiffer;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.parquet.SemanticVersion;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -42,9 +47,12 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import static com.linkedin.common.urn.VersionedUrnUtils.constructVersionStamp;
+import static com.linkedin.metadata.Constants.ASPECT_LATEST_VERSION;
 import static com.linkedin.metadata.Constants.DATASET_ENTITY_NAME;
 import static com.linkedin.metadata.Constants.DATASET_PROPERTIES_ASPECT_NAME;
 import static com.linkedin.metadata.Constants.EDITABLE_DATASET_PROPERTIES_ASPECT_NAME;
@@ -55,6 +63,7 @@ import static com.linkedin.metadata.Constants.INSTITUTIONAL_MEMORY_ASPECT_NAME;
 import static com.linkedin.metadata.Constants.OWNERSHIP_ASPECT_NAME;
 import static com.linkedin.metadata.Constants.SCHEMA_METADATA_ASPECT_NAME;
 
+@Slf4j
 public class TimelineServiceImpl implements TimelineService {
 
   private static final long DEFAULT_LOOKBACK_TIME_WINDOW_MILLIS = 7 * 24 * 60 * 60 * 1000L; // 1 week lookback
@@ -66,10 +75,25 @@ public class TimelineServiceImpl implements TimelineService {
   private final AspectDifferFactory _diffFactory;
   private final EntityRegistry _entityRegistry;
   private final HashMap<String, HashMap<ChangeCategory, Set<String>>> entityTypeElementAspectRegistry = new HashMap<>();
+  // Null if changes are computed on every read
+  private final TimelineChangeLog _changeLog;
+  private final Executor _materializationExecutor;
 
   public TimelineServiceImpl(@Nonnull AspectDao aspectDao, @Nonnull EntityRegistry entityRegistry) {
+    this(aspectDao, entityRegistry, null, Runnable::run);
+  }
+
+  /**
+   * @param changeLog change log the changes of each aspect version are materialized in, or null to compute them on
+   *                  every read
+   * @param materializationExecutor executor materializing the changes of newly written versions
+   */
+  public TimelineServiceImpl(@Nonnull AspectDao aspectDao, @Nonnull EntityRegistry entityRegistry,
+      @Nullable TimelineChangeLog changeLog, @Nonnull Executor materializationExecutor) {
     this._aspectDao = aspectDao;
     _entityRegistry = entityRegistry;
+    _changeLog = changeLog;
+    _materializationExecutor = materializationExecutor;
 
     // TODO: Simplify this structure.
     // TODO: Load up from yaml file
@@ -144,6 +168,58 @@ public class TimelineServiceImpl implements TimelineService {
     }
   }
 
+  /**
+   * Returns the change categories with a differ for the aspect.
+   */
+  Set<ChangeCategory> getElementsFromAspect(String entityType, String aspectName) {
+    if (!this.entityTypeElementAspectRegistry.containsKey(entityType)) {
+      return Collections.emptySet();
+    }
+    return entityTypeElementAspectRegistry.get(entityType)
+        .entrySet()
+        .stream()
+        .filter(entry -> entry.getValue().contains(aspectName))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public void materializeChangeLog(@Nonnull final Urn urn, @Nonnull final String aspectName) {
+    if (_changeLog == null || getElementsFromAspect(urn.getEntityType(), aspectName).isEmpty()) {
+      return;
+    }
+    try {
+      _materializationExecutor.execute(() -> {
+        try {
+          materializeLatestVersion(urn, aspectName);
+        } catch (Exception e) {
+          // Best effort, the changes are computed when the timeline is read instead
+          log.warn("Failed to materialize the changes of aspect {} of {}", aspectName, urn, e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      MetricUtils.counter(this.getClass(), "changeLogMaterializationRejected").inc();
+    }
+  }
+
+  private void materializeLatestVersion(@Nonnull final Urn urn, @Nonnull final String aspectName) {
+    final String urnString = urn.toString();
+    final EntityAspect latest = _aspectDao.getAspect(urnString, aspectName, ASPECT_LATEST_VERSION);
+    if (latest == null) {
+      return;
+    }
+    // The version the latest one replaced is the highest numbered one
+    final Long nextVersion = _aspectDao.getNextVersions(urnString, Collections.singleton(aspectName)).get(aspectName);
+    EntityAspect previous = null;
+    if (nextVersion != null && nextVersion > 1) {
+      previous = _aspectDao.getAspect(urnString, aspectName, nextVersion - 1);
+    }
+    if (previous == null) {
+      previous = createSentinel(aspectName);
+    }
+    getChangeLogEntry(urn, previous, latest);
+  }
+
   @Nonnull
   @Override
   public List<ChangeTransaction> getTimeline(@Nonnull final Urn urn, @Nonnull final Set<ChangeCategory> elementNames,
@@ -183,7 +259,7 @@ public class TimelineServiceImpl implements TimelineService {
         .stream()
         .filter(entry -> aspectNames.contains(entry.getKey()))
         .map(Map.Entry::getValue)
-        .map(value -> computeDiffs(value, urn.getEntityType(), elementNames, rawDiffRequested))
+        .map(value -> computeDiffs(value, urn, elementNames, rawDiffRequested))
         .collect(TreeMap::new, this::combineComputedDiffsPerTransactionId, this::combineComputedDiffsPerTransactionId);
     // TODO:Move this down
     assignSemanticVersions(semanticDiffs);
@@ -302,8 +378,8 @@ public class TimelineServiceImpl implements TimelineService {
     return timestampVersionCache;
   }
 
-  private SortedMap<Long, List<ChangeTransaction>> computeDiffs(TreeSet<EntityAspect> aspectTimeline,
-      String entityType, Set<ChangeCategory> elementNames, boolean rawDiffsRequested) {
+  private SortedMap<Long, List<ChangeTransaction>> computeDiffs(TreeSet<EntityAspect> aspectTimeline, Urn urn,
+      Set<ChangeCategory> elementNames, boolean rawDiffsRequested) {
     EntityAspect previousValue = null;
     SortedMap<Long, List<ChangeTransaction>> changeTransactionsMap = new TreeMap<>();
     long transactionId;
@@ -311,49 +387,85 @@ public class TimelineServiceImpl implements TimelineService {
       transactionId = currentValue.getCreatedOn().getTime();
       if (previousValue != null) {
         // we skip the first element and only compare once we have two in hand
-        changeTransactionsMap.put(transactionId,
-            computeDiff(previousValue, currentValue, entityType, elementNames, rawDiffsRequested));
+        if (_changeLog == null) {
+          changeTransactionsMap.put(transactionId,
+              computeDiff(previousValue, currentValue, urn.getEntityType(), elementNames, rawDiffsRequested));
+        } else {
+          changeTransactionsMap.put(transactionId, TimelineChangeLog.copyTransactions(
+              getChangeLogEntry(urn, previousValue, currentValue), elementNames, rawDiffsRequested));
+        }
       }
       previousValue = currentValue;
     }
     return changeTransactionsMap;
   }
 
+  /**
+   * Returns the changes of a version since the previous one from the change log, diffing the versions and adding their
+   * changes to the change log if they are not in it yet.
+   */
+  @Nonnull
+  private TimelineChangeLog.Entry getChangeLogEntry(@Nonnull Urn urn, @Nonnull EntityAspect previousValue,
+      @Nonnull EntityAspect currentValue) {
+    final TimelineChangeLog.Key key =
+        new TimelineChangeLog.Key(urn.toString(), currentValue.getAspect(), currentValue.getCreatedOn().getTime());
+    final long previousCreatedOn = previousValue.getCreatedOn().getTime();
+    TimelineChangeLog.Entry entry = _changeLog.get(key, previousCreatedOn);
+    if (entry == null) {
+      // Diff once for all the categories of the aspect, so that reads of any of them are served from the change log
+      final JsonPatch rawDiff = getRawDiff(previousValue, currentValue);
+      final Map<ChangeCategory, List<ChangeTransaction>> transactions = new EnumMap<>(ChangeCategory.class);
+      for (ChangeCategory element : getElementsFromAspect(urn.getEntityType(), currentValue.getAspect())) {
+        transactions.put(element,
+            computeDiff(previousValue, currentValue, rawDiff, urn.getEntityType(), element, false));
+      }
+      entry = new TimelineChangeLog.Entry(previousCreatedOn, transactions, rawDiff);
+      _changeLog.put(key, entry);
+    }
+    return entry;
+  }
+
   private List<ChangeTransaction> computeDiff(@Nonnull EntityAspect previousValue, @Nonnull EntityAspect currentValue,
       String entityType, Set<ChangeCategory> elementNames, boolean rawDiffsRequested) {
-    String aspectName = currentValue.getAspect();
-
     List<ChangeTransaction> semanticChangeTransactions = new ArrayList<>();
     JsonPatch rawDiff = getRawDiff(previousValue, currentValue);
     for (ChangeCategory element : elementNames) {
-      AspectDiffer differ = _diffFactory.getDiffer(entityType, element, aspectName);
-      if (differ != null) {
-        try {
-          ChangeTransaction changeTransaction = differ.getSemanticDiff(previousValue, currentValue, element,
-              rawDiff, rawDiffsRequested);
-          if (CollectionUtils.isNotEmpty(changeTransaction.getChangeEvents())) {
-            semanticChangeTransactions.add(changeTransaction);
-          }
-        } catch (Exception e) {
-          semanticChangeTransactions.add(ChangeTransaction.builder()
-              .semVerChange(SemanticChangeType.EXCEPTIONAL)
-              .changeEvents(Collections.singletonList(ChangeEvent.builder()
-                  .description(String.format("%s:%s", e.getClass().getName(), e.getMessage()))
-                  .build()))
-              .build());
-        }
-      }
+      semanticChangeTransactions.addAll(
+          computeDiff(previousValue, currentValue, rawDiff, entityType, element, rawDiffsRequested));
     }
     return semanticChangeTransactions;
   }
 
+  private List<ChangeTransaction> computeDiff(@Nonnull EntityAspect previousValue, @Nonnull EntityAspect currentValue,
+      JsonPatch rawDiff, String entityType, ChangeCategory element, boolean rawDiffsRequested) {
+    AspectDiffer differ = _diffFactory.getDiffer(entityType, element, currentValue.getAspect());
+    if (differ == null) {
+      return Collections.emptyList();
+    }
+    try {
+      ChangeTransaction changeTransaction = differ.getSemanticDiff(previousValue, currentValue, element,
+          rawDiff, rawDiffsRequested);
+      if (CollectionUtils.isNotEmpty(changeTransaction.getChangeEvents())) {
+        return Collections.singletonList(changeTransaction);
+      }
+      return Collections.emptyList();
+    } catch (Exception e) {
+      return Collections.singletonList(ChangeTransaction.builder()
+          .semVerChange(SemanticChangeType.EXCEPTIONAL)
+          .changeEvents(Collections.singletonList(ChangeEvent.builder()
+              .description(String.format("%s:%s", e.getClass().getName(), e.getMessage()))
+              .build()))
+          .build());
+    }
+  }
+
   private JsonPatch getRawDiff(EntityAspect previousValue, EntityAspect currentValue) {
     JsonNode prevNode = OBJECT_MAPPER.nullNode();
     try {
       if (previousValue.getVersion() != -1) {
-        prevNode = OBJECT_MAPPER.readTree(previousValue.getMetadata());
+        prevNode = OBJECT_MAPPER.readTree(EntityUtils.toJsonMetadata(previousValue.getMetadata()));
       }
-      JsonNode currNode = OBJECT_MAPPER.readTree(currentValue.getMetadata());
+      JsonNode currNode = OBJECT_MAPPER.readTree(EntityUtils.toJsonMetadata(currentValue.getMetadata()));
       return JsonDiff.asJsonPatch(prevNode, currNode);
     } catch (JsonProcessingException e) {
       throw new IllegalStateException(e);
@@ -1,11 +1,11 @@
 package com.linkedin.metadata.timeline.differ;
 
-import com.datahub.util.RecordUtils;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.dataset.DatasetProperties;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeOperation;
@@ -67,7 +67,7 @@ public class DatasetPropertiesDiffer implements AspectDiffer<DatasetProperties>
   @Nullable
   private static DatasetProperties getDatasetPropertiesFromAspect(EntityAspect entityAspect) {
     if (entityAspect != null && entityAspect.getMetadata() != null) {
-      return RecordUtils.toRecordTemplate(DatasetProperties.class, entityAspect.getMetadata());
+      return EntityUtils.toRecordTemplate(DatasetProperties.class, entityAspect.getMetadata());
     }
     return null;
   }
@@ -1,11 +1,11 @@
 package com.linkedin.metadata.timeline.differ;
 
-import com.datahub.util.RecordUtils;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.dataset.EditableDatasetProperties;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeOperation;
@@ -76,7 +76,7 @@ public class EditableDatasetPropertiesDiffer implements AspectDiffer<EditableDat
 
   private static EditableDatasetProperties getEditableDatasetPropertiesFromAspect(EntityAspect entityAspect) {
     if (entityAspect != null && entityAspect.getMetadata() != null) {
-      return RecordUtils.toRecordTemplate(EditableDatasetProperties.class, entityAspect.getMetadata());
+      return EntityUtils.toRecordTemplate(EditableDatasetProperties.class, entityAspect.getMetadata());
     }
     return null;
   }
@@ -1,6 +1,5 @@
 package com.linkedin.metadata.timeline.differ;
 
-import com.datahub.util.RecordUtils;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.GlobalTags;
@@ -8,6 +7,7 @@ import com.linkedin.common.GlossaryTerms;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeOperation;
@@ -119,7 +119,7 @@ public class EditableSchemaMetadataDiffer implements AspectDiffer<EditableSchema
 
   private static EditableSchemaMetadata getEditableSchemaMetadataFromAspect(EntityAspect entityAspect) {
     if (entityAspect != null && entityAspect.getMetadata() != null) {
-      return RecordUtils.toRecordTemplate(EditableSchemaMetadata.class, entityAspect.getMetadata());
+      return EntityUtils.toRecordTemplate(EditableSchemaMetadata.class, entityAspect.getMetadata());
     }
     return null;
   }
@@ -1,6 +1,5 @@
 package com.linkedin.metadata.timeline.differ;
 
-import com.datahub.util.RecordUtils;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.GlossaryTermAssociation;
@@ -8,6 +7,7 @@ import com.linkedin.common.GlossaryTermAssociationArray;
 import com.linkedin.common.GlossaryTerms;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeOperation;
@@ -125,7 +125,7 @@ public class GlossaryTermsDiffer implements AspectDiffer<GlossaryTerms> {
 
   private static GlossaryTerms getGlossaryTermsFromAspect(EntityAspect entityAspect) {
     if (entityAspect != null && entityAspect.getMetadata() != null) {
-      return RecordUtils.toRecordTemplate(GlossaryTerms.class, entityAspect.getMetadata());
+      return EntityUtils.toRecordTemplate(GlossaryTerms.class, entityAspect.getMetadata());
     }
     return null;
   }
@@ -1,6 +1,5 @@
 package com.linkedin.metadata.timeline.differ;
 
-import com.datahub.util.RecordUtils;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.InstitutionalMemory;
@@ -9,6 +8,7 @@ import com.linkedin.common.InstitutionalMemoryMetadataArray;
 import com.linkedin.common.url.Url;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeOperation;
@@ -135,7 +135,7 @@ public class InstitutionalMemoryDiffer implements AspectDiffer<InstitutionalMemo
 
   private static InstitutionalMemory getInstitutionalMemoryFromAspect(EntityAspect entityAspect) {
     if (entityAspect != null && entityAspect.getMetadata() != null) {
-      return RecordUtils.toRecordTemplate(InstitutionalMemory.class, entityAspect.getMetadata());
+      return EntityUtils.toRecordTemplate(InstitutionalMemory.class, entityAspect.getMetadata());
     }
     return null;
   }
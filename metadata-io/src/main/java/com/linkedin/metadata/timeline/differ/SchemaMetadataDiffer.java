@@ -1,12 +1,12 @@
 package com.linkedin.metadata.timeline.differ;
 
-import com.datahub.util.RecordUtils;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.DatasetUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityUtils;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeOperation;
@@ -375,7 +375,7 @@ public class SchemaMetadataDiffer implements AspectDiffer<SchemaMetadata> {
   @SuppressWarnings("ConstantConditions")
   private static SchemaMetadata getSchemaMetadataFromAspect(EntityAspect entityAspect) {
     if (entityAspect != null && entityAspect.getMetadata() != null) {
-      return RecordUtils.toRecordTemplate(SchemaMetadata.class, entityAspect.getMetadata());
+      return EntityUtils.toRecordTemplate(SchemaMetadata.class, entityAspect.getMetadata());
     }
     return null;
   }
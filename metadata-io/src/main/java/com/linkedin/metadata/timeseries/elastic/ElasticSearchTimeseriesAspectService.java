@@ -15,12 +15,14 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.Condition;
 import com.linkedin.metadata.query.filter.Criterion;
 import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.search.utils.ESUtils;
 import com.linkedin.metadata.search.utils.QueryUtils;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
 import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
 import com.linkedin.metadata.timeseries.elastic.indexbuilder.TimeseriesAspectIndexBuilders;
 import com.linkedin.metadata.timeseries.elastic.query.ESAggregatedStatsDAO;
+import com.linkedin.metadata.timeseries.elastic.rollup.ESTimeseriesRollupDAO;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.GenericAspect;
@@ -29,16 +31,18 @@ import com.linkedin.timeseries.AggregationSpec;
 import com.linkedin.timeseries.DeleteAspectValuesResult;
 import com.linkedin.timeseries.GenericTable;
 import com.linkedin.timeseries.GroupingBucket;
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -59,29 +63,47 @@ import org.elasticsearch.search.sort.SortOrder;
 
 
 @Slf4j
-public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectService {
+public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectService, Closeable {
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   private static final String TIMESTAMP_FIELD = "timestampMillis";
   private static final String EVENT_FIELD = "event";
   private static final Integer DEFAULT_LIMIT = 10000;
 
   private final IndexConvention _indexConvention;
-  private final BulkProcessor _bulkProcessor;
+  private final ESBulkProcessor _bulkProcessor;
   private final TimeseriesAspectIndexBuilders _indexBuilders;
   private final RestHighLevelClient _searchClient;
   private final ESAggregatedStatsDAO _esAggregatedStatsDAO;
   private final EntityRegistry _entityRegistry;
+  // Null if rollups are not maintained
+  private final ESTimeseriesRollupDAO _rollupDAO;
 
   public ElasticSearchTimeseriesAspectService(@Nonnull RestHighLevelClient searchClient,
       @Nonnull IndexConvention indexConvention, @Nonnull TimeseriesAspectIndexBuilders indexBuilders,
-      @Nonnull EntityRegistry entityRegistry, @Nonnull BulkProcessor bulkProcessor) {
+      @Nonnull EntityRegistry entityRegistry, @Nonnull ESBulkProcessor bulkProcessor) {
+    this(searchClient, indexConvention, indexBuilders, entityRegistry, bulkProcessor, false, 0);
+  }
+
+  /**
+   * @param rollupsEnabled whether to maintain hourly, daily and monthly rollups of the aspects, and answer aggregations
+   *                       from them once they have been backfilled
+   * @param rollupRecomputeIntervalSeconds how often to recompute the rollups of the hours written to or deleted from,
+   *                                       or 0 to leave it to other instances
+   */
+  public ElasticSearchTimeseriesAspectService(@Nonnull RestHighLevelClient searchClient,
+      @Nonnull IndexConvention indexConvention, @Nonnull TimeseriesAspectIndexBuilders indexBuilders,
+      @Nonnull EntityRegistry entityRegistry, @Nonnull ESBulkProcessor bulkProcessor, boolean rollupsEnabled,
+      long rollupRecomputeIntervalSeconds) {
     _indexConvention = indexConvention;
     _indexBuilders = indexBuilders;
     _searchClient = searchClient;
     _bulkProcessor = bulkProcessor;
     _entityRegistry = entityRegistry;
+    _rollupDAO = rollupsEnabled
+        ? new ESTimeseriesRollupDAO(searchClient, indexConvention, entityRegistry, bulkProcessor,
+            rollupRecomputeIntervalSeconds) : null;
 
-    _esAggregatedStatsDAO = new ESAggregatedStatsDAO(indexConvention, searchClient, entityRegistry);
+    _esAggregatedStatsDAO = new ESAggregatedStatsDAO(indexConvention, searchClient, entityRegistry, _rollupDAO);
   }
 
   private static EnvelopedAspect parseDocument(@Nonnull SearchHit doc) {
@@ -113,6 +135,9 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
   @Override
   public void configure() {
     _indexBuilders.buildAll();
+    if (_rollupDAO != null) {
+      _indexBuilders.buildAllRollups();
+    }
   }
 
   @Override
@@ -125,6 +150,32 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
         .detectNoop(false)
         .upsert(indexRequest);
     _bulkProcessor.add(updateRequest);
+    if (_rollupDAO != null) {
+      _rollupDAO.markDirty(entityName, aspectName, document);
+    }
+  }
+
+  /**
+   * Rolls up all existing documents of the aspect, after which aggregations over it are answered from its rollups.
+   * Rollups must be enabled.
+   *
+   * @return the number of documents rolled up
+   */
+  public long backfillRollups(@Nonnull String entityName, @Nonnull String aspectName) {
+    if (_rollupDAO == null) {
+      throw new IllegalStateException("Timeseries aspect rollups are not enabled");
+    }
+    return _rollupDAO.backfill(entityName, aspectName);
+  }
+
+  /**
+   * Stops the recomputation of rollups from this instance.
+   */
+  @Override
+  public void close() {
+    if (_rollupDAO != null) {
+      _rollupDAO.close();
+    }
   }
 
   @Override
@@ -202,12 +253,18 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
       @Nonnull Filter filter) {
     final String indexName = _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName);
     final BoolQueryBuilder filterQueryBuilder = ESUtils.buildFilterQuery(filter);
+    // The hours of the documents are read before they are deleted, and their rollups recomputed after
+    final Map<String, Set<Long>> rollupHours = _rollupDAO != null
+        ? _rollupDAO.getHoursByUrn(entityName, aspectName, filterQueryBuilder) : Collections.emptyMap();
     final DeleteByQueryRequest deleteByQueryRequest = new DeleteByQueryRequest(indexName).setQuery(filterQueryBuilder)
         .setBatchSize(DEFAULT_LIMIT)
         .setRefresh(true)
         .setTimeout(TimeValue.timeValueMinutes(10));
     try {
       final BulkByScrollResponse response = _searchClient.deleteByQuery(deleteByQueryRequest, RequestOptions.DEFAULT);
+      if (_rollupDAO != null) {
+        _rollupDAO.markDirty(entityName, aspectName, rollupHours);
+      }
       return new DeleteAspectValuesResult().setNumDocsDeleted(response.getDeleted());
     } catch (IOException e) {
       log.error("Delete query failed:", e);
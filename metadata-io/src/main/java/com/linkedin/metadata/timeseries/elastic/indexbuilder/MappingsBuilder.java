@@ -23,6 +23,13 @@ public class MappingsBuilder {
   public static final String PARTITION_SPEC_PARTITION = "partition";
   public static final String PARTITION_SPEC_TIME_PARTITION = "timePartition";
   public static final String RUN_ID_FIELD = "runId";
+  public static final String ROLLUP_GRANULARITY_FIELD = "rollupGranularity";
+  public static final String ROLLUP_BUCKET_START_FIELD = "rollupBucketStart";
+  public static final String ROLLUP_SUMS_FIELD = "rollupSums";
+  public static final String ROLLUP_STATE_FIELD = "rollupState";
+  public static final String ROLLUP_MARKED_AT_FIELD = "rollupMarkedAt";
+  public static final String ROLLUP_LEASE_OWNER_FIELD = "rollupLeaseOwner";
+  public static final String ROLLUP_LEASE_EXPIRES_AT_FIELD = "rollupLeaseExpiresAt";
 
   private MappingsBuilder() {
   }
@@ -56,6 +63,66 @@ public class MappingsBuilder {
     return ImmutableMap.of("properties", mappings);
   }
 
+  /**
+   * Mappings of the rollup index of a timeseries aspect. Rollup documents have the fields of the aspect's documents, with
+   * the latest value of each field in the bucket, plus the sums of the numeric fields under {@link #ROLLUP_SUMS_FIELD}.
+   */
+  public static Map<String, Object> getRollupMappings(@Nonnull final AspectSpec aspectSpec) {
+    Map<String, Object> mappings = new HashMap<>(getProperties(getMappings(aspectSpec)));
+    mappings.remove(RUN_ID_FIELD);
+    mappings.remove(MESSAGE_ID_FIELD);
+    mappings.remove(EVENT_FIELD);
+    mappings.remove(SYSTEM_METADATA_FIELD);
+
+    mappings.put(ROLLUP_GRANULARITY_FIELD, ImmutableMap.of("type", "keyword"));
+    mappings.put(ROLLUP_BUCKET_START_FIELD, ImmutableMap.of("type", "date"));
+    // What rollups of a coarser granularity are combined from: the latest value of each field with its timestamp, and
+    // the sums, which are bounded by the number of fields of the aspect rather than by the number of documents
+    mappings.put(ROLLUP_STATE_FIELD, ImmutableMap.of("type", "object", "enabled", false));
+    // When the last document of the urn and hour of a marker of a dirty hour was written, see ESTimeseriesRollupDAO
+    mappings.put(ROLLUP_MARKED_AT_FIELD, ImmutableMap.of("type", "date"));
+    // Which instance recomputes the rollups of the aspect, and until when
+    mappings.put(ROLLUP_LEASE_OWNER_FIELD, ImmutableMap.of("type", "keyword"));
+    mappings.put(ROLLUP_LEASE_EXPIRES_AT_FIELD, ImmutableMap.of("type", "date"));
+
+    Map<String, Object> sums = new HashMap<>();
+    aspectSpec.getTimeseriesFieldSpecs()
+        .stream()
+        .filter(x -> isNumeric(x.getPegasusSchema().getType()))
+        .forEach(x -> sums.put(x.getName(), ImmutableMap.of("type", "double")));
+    aspectSpec.getTimeseriesFieldCollectionSpecs().forEach(collectionSpec -> {
+      Map<String, Object> collectionSums = new HashMap<>();
+      collectionSpec.getTimeseriesFieldSpecMap()
+          .values()
+          .stream()
+          .filter(x -> isNumeric(x.getPegasusSchema().getType()))
+          .forEach(x -> collectionSums.put(x.getName(), ImmutableMap.of("type", "double")));
+      if (!collectionSums.isEmpty()) {
+        sums.put(collectionSpec.getName(), ImmutableMap.of("properties", collectionSums));
+      }
+    });
+    mappings.put(ROLLUP_SUMS_FIELD, ImmutableMap.of("properties", sums));
+
+    return ImmutableMap.of("properties", mappings);
+  }
+
+  public static boolean isNumeric(@Nonnull DataSchema.Type dataSchemaType) {
+    switch (dataSchemaType) {
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> getProperties(Map<String, Object> mappings) {
+    return (Map<String, Object>) mappings.get("properties");
+  }
+
   private static Map<String, Object> getTimeseriesFieldCollectionSpecMapping(
       TimeseriesFieldCollectionSpec timeseriesFieldCollectionSpec) {
     Map<String, Object> collectionMappings = new HashMap<>();
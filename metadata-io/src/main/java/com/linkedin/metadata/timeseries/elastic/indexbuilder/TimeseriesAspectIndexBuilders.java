@@ -35,4 +35,22 @@ public class TimeseriesAspectIndexBuilders {
       }
     }
   }
+
+  public void buildAllRollups() {
+    for (EntitySpec entitySpec : _entityRegistry.getEntitySpecs().values()) {
+      for (AspectSpec aspectSpec : entitySpec.getAspectSpecs()) {
+        if (aspectSpec.isTimeseries()) {
+          try {
+            _indexBuilder.buildIndex(
+                _indexConvention.getTimeseriesAspectRollupIndexName(entitySpec.getName(), aspectSpec.getName()),
+                MappingsBuilder.getRollupMappings(aspectSpec), Collections.emptyMap());
+          } catch (IOException e) {
+            log.error("Issue while building timeseries rollup index for entity {} aspect {}", entitySpec.getName(),
+                aspectSpec.getName());
+            log.error("Exception: ", e);
+          }
+        }
+      }
+    }
+  }
 }
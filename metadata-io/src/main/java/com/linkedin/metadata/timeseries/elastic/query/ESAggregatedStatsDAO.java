@@ -2,6 +2,7 @@ package com.linkedin.metadata.timeseries.elastic.query;
 
 import com.datahub.util.exception.ESQueryException;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.linkedin.data.schema.DataSchema;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.data.template.StringArrayArray;
@@ -13,6 +14,8 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.search.utils.ESUtils;
 import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import com.linkedin.metadata.timeseries.elastic.rollup.ESTimeseriesRollupDAO;
+import com.linkedin.metadata.timeseries.elastic.rollup.RollupQueryPlan;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.timeseries.AggregationSpec;
 import com.linkedin.timeseries.GenericTable;
@@ -23,6 +26,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.Stack;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,7 +37,7 @@ import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.Aggregations;
@@ -46,6 +50,8 @@ import org.elasticsearch.search.aggregations.metrics.ParsedCardinality;
 import org.elasticsearch.search.aggregations.metrics.ParsedSum;
 import org.elasticsearch.search.aggregations.pipeline.MaxBucketPipelineAggregationBuilder;
 import org.elasticsearch.search.aggregations.pipeline.ParsedBucketMetricValue;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 
 
@@ -61,16 +67,29 @@ public class ESAggregatedStatsDAO {
   private static final String ES_AGG_MAX_TIMESTAMP =
       ES_AGGREGATION_PREFIX + ES_MAX_AGGREGATION_PREFIX + ES_FIELD_TIMESTAMP;
   private static final int MAX_TERM_BUCKETS = 24 * 60; // minutes in a day.
+  // Sums the field over raw documents, and the sums of the field over rollups
+  private static final String ROLLUP_SUM_SCRIPT =
+      "if (doc.containsKey(params.sumField) && !doc[params.sumField].empty) { return doc[params.sumField].value; } "
+          + "if (doc.containsKey(params.field) && !doc[params.field].empty) { return doc[params.field].value; } "
+          + "return 0;";
 
   private final IndexConvention _indexConvention;
   private final RestHighLevelClient _searchClient;
   private final EntityRegistry _entityRegistry;
+  // Null if rollups are not maintained
+  private final ESTimeseriesRollupDAO _rollupDAO;
 
   public ESAggregatedStatsDAO(@Nonnull IndexConvention indexConvention, @Nonnull RestHighLevelClient searchClient,
       @Nonnull EntityRegistry entityRegistry) {
+    this(indexConvention, searchClient, entityRegistry, null);
+  }
+
+  public ESAggregatedStatsDAO(@Nonnull IndexConvention indexConvention, @Nonnull RestHighLevelClient searchClient,
+      @Nonnull EntityRegistry entityRegistry, @Nullable ESTimeseriesRollupDAO rollupDAO) {
     _indexConvention = indexConvention;
     _searchClient = searchClient;
     _entityRegistry = entityRegistry;
+    _rollupDAO = rollupDAO;
   }
 
   private static String toEsAggName(final String aggName) {
@@ -335,25 +354,35 @@ public class ESAggregatedStatsDAO {
 
   /**
    * Get the aggregated metrics for the given dataset or column from a time series aspect.
+   *
+   * If the rollups of the aspect are complete, and the aggregation can be answered from them, the whole buckets of its
+   * time window are read from the coarsest rollups which cover them, see {@link RollupQueryPlan}. The recent part of
+   * the window, which rollups may not cover yet, is read from the aspect's documents.
    */
   @Nonnull
   public GenericTable getAggregatedStats(@Nonnull String entityName, @Nonnull String aspectName,
       @Nonnull AggregationSpec[] aggregationSpecs, @Nullable Filter filter,
       @Nullable GroupingBucket[] groupingBuckets) {
 
+    AspectSpec aspectSpec = getTimeseriesAspectSpec(entityName, aspectName);
+    final Optional<RollupQueryPlan> rollupQueryPlan =
+        _rollupDAO != null && _rollupDAO.isComplete(entityName, aspectName) ? RollupQueryPlan.of(aspectSpec,
+            aggregationSpecs, filter, groupingBuckets, _rollupDAO.getRollupsFreshUntil()) : Optional.empty();
+
     // Setup the filter query builder using the input filter provided.
-    final BoolQueryBuilder filterQueryBuilder = ESUtils.buildFilterQuery(filter);
+    final QueryBuilder filterQueryBuilder =
+        rollupQueryPlan.map(RollupQueryPlan::getQuery).orElseGet(() -> ESUtils.buildFilterQuery(filter));
     // Create the high-level aggregation builder with the filter.
     final AggregationBuilder filteredAggBuilder = AggregationBuilders.filter(ES_FILTERED_STATS, filterQueryBuilder);
 
-    AspectSpec aspectSpec = getTimeseriesAspectSpec(entityName, aspectName);
     // Build and attach the grouping aggregations
     final AggregationBuilder baseAggregationForMembers =
         makeGroupingAggregationBuilder(aspectSpec, filteredAggBuilder, groupingBuckets);
 
     // Add the aggregations for members.
     for (AggregationSpec aggregationSpec : aggregationSpecs) {
-      addAggregationBuildersFromAggregationSpec(aspectSpec, baseAggregationForMembers, aggregationSpec);
+      addAggregationBuildersFromAggregationSpec(aspectSpec, baseAggregationForMembers, aggregationSpec,
+          rollupQueryPlan.isPresent());
     }
 
     final SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
@@ -363,7 +392,11 @@ public class ESAggregatedStatsDAO {
     searchRequest.source(searchSourceBuilder);
 
     final String indexName = _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName);
-    searchRequest.indices(indexName);
+    if (rollupQueryPlan.isPresent()) {
+      searchRequest.indices(indexName, _rollupDAO.getRollupIndexName(entityName, aspectName));
+    } else {
+      searchRequest.indices(indexName);
+    }
 
     log.debug("Search request is: " + searchRequest);
 
@@ -377,7 +410,7 @@ public class ESAggregatedStatsDAO {
   }
 
   private void addAggregationBuildersFromAggregationSpec(AspectSpec aspectSpec, AggregationBuilder baseAggregation,
-      AggregationSpec aggregationSpec) {
+      AggregationSpec aggregationSpec, boolean withRollups) {
     String fieldPath = aggregationSpec.getFieldPath();
     String esFieldName = fieldPath;
 
@@ -397,8 +430,14 @@ public class ESAggregatedStatsDAO {
         baseAggregation.subAggregation(maxBucketPipelineAgg);
         break;
       case SUM:
-        AggregationBuilder sumAgg =
-            AggregationBuilders.sum(getAggregationSpecAggESName(aggregationSpec)).field(esFieldName);
+        AggregationBuilder sumAgg;
+        if (withRollups) {
+          sumAgg = AggregationBuilders.sum(getAggregationSpecAggESName(aggregationSpec))
+              .script(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, ROLLUP_SUM_SCRIPT,
+                  ImmutableMap.<String, Object>of("field", esFieldName, "sumField", RollupQueryPlan.getSumField(fieldPath))));
+        } else {
+          sumAgg = AggregationBuilders.sum(getAggregationSpecAggESName(aggregationSpec)).field(esFieldName);
+        }
         baseAggregation.subAggregation(sumAgg);
         break;
       case CARDINALITY:
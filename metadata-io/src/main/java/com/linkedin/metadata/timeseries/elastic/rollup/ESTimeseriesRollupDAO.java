@@ -0,0 +1,566 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.codahale.metrics.Timer;
+import com.datahub.util.exception.ESQueryException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.elasticsearch.client.indices.PutMappingRequest;
+import org.elasticsearch.cluster.metadata.MappingMetadata;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+
+import static com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder.*;
+
+
+/**
+ * Maintains the hourly, daily and monthly rollups of timeseries aspects, see {@link RollupDocuments}.
+ *
+ * Writing or deleting documents of an aspect marks the hours they fall in as dirty for their urn, with a marker
+ * document per urn and hour in the rollup index. Every recompute interval, the rollups of the urn in each dirty hour
+ * are recomputed from the urn's documents of the hour, and then the rollups of the urn in their days and months from
+ * its rollups of the hours and days, so that the work is bounded by the urns written to rather than by all the urns of
+ * the aspect. A marker is only removed once no document of its urn and hour was written for a while before it was
+ * recomputed, so that every document written has been refreshed into the aspect's index and seen by a recomputation.
+ * Only the instance holding the lease of an aspect, a document of its rollup index, recomputes its rollups.
+ * Recomputing the same buckets concurrently, e.g. while a lease changes hands, still gives the same rollups.
+ *
+ * Rollups lag behind the documents by up to a few recompute intervals, so aggregations read the buckets after
+ * {@link #getRollupsFreshUntil()} from the aspect's documents.
+ *
+ * Aggregations are only answered from the rollups of an aspect once they are complete, i.e. once the documents written
+ * before rollups were maintained have been rolled up by {@link #backfill(String, String)}. Completion is recorded in
+ * the metadata of the rollup index, so a rollup index rebuilt by the index builder has to be backfilled again before it
+ * is used.
+ */
+@Slf4j
+public class ESTimeseriesRollupDAO implements Closeable {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String META_FIELD = "_meta";
+  private static final String COMPLETED_AT_META_FIELD = "rollupsCompletedAtMillis";
+  private static final long COMPLETION_CACHE_TTL_SECONDS = 60;
+  // Rollup granularity of the markers of dirty hours, so that they are neither taken for rollups nor for raw documents
+  private static final String DIRTY_MARKER_GRANULARITY = "DIRTY";
+  private static final String DIRTY_MARKER_ID_PREFIX = "dirty-";
+  private static final int MAX_DIRTY_BUCKETS_PER_RUN = 500;
+  // Longer than it takes a written document to be flushed by the bulk processor and refreshed
+  private static final long SETTLE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  // Rollup granularity of the lease of the recomputation of the rollups of an aspect
+  private static final String LEASE_GRANULARITY = "LEASE";
+  private static final String LEASE_ID = "recompute-lease";
+  private static final int LEASE_INTERVALS = 3;
+  // Recompute interval assumed for the freshness of rollups recomputed by other instances only
+  private static final long DEFAULT_RECOMPUTE_INTERVAL_SECONDS = 60;
+  private static final int RETRY_ON_CONFLICT = 5;
+  private static final int SCROLL_BATCH_SIZE = 1000;
+  private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+  private static final String[] EXCLUDED_SOURCE_FIELDS =
+      new String[]{MappingsBuilder.EVENT_FIELD, MappingsBuilder.SYSTEM_METADATA_FIELD};
+
+  private final RestHighLevelClient _searchClient;
+  private final IndexConvention _indexConvention;
+  private final EntityRegistry _entityRegistry;
+  private final ESBulkProcessor _bulkProcessor;
+  private final Cache<String, Boolean> _completionCache;
+  private final String _instanceId = UUID.randomUUID().toString();
+  private final long _leaseMillis;
+  private final long _freshnessLagMillis;
+  @Nullable
+  private final ScheduledExecutorService _recomputer;
+
+  /**
+   * @param recomputeIntervalSeconds how often to recompute the rollups of dirty hours, or 0 to never do it from this
+   *                                 instance
+   */
+  public ESTimeseriesRollupDAO(@Nonnull RestHighLevelClient searchClient, @Nonnull IndexConvention indexConvention,
+      @Nonnull EntityRegistry entityRegistry, @Nonnull ESBulkProcessor bulkProcessor, long recomputeIntervalSeconds) {
+    _searchClient = searchClient;
+    _indexConvention = indexConvention;
+    _entityRegistry = entityRegistry;
+    _bulkProcessor = bulkProcessor;
+    _completionCache = CacheBuilder.newBuilder().expireAfterWrite(COMPLETION_CACHE_TTL_SECONDS, TimeUnit.SECONDS).build();
+
+    final long intervalSeconds =
+        recomputeIntervalSeconds > 0 ? recomputeIntervalSeconds : DEFAULT_RECOMPUTE_INTERVAL_SECONDS;
+    _leaseMillis = LEASE_INTERVALS * TimeUnit.SECONDS.toMillis(intervalSeconds);
+    // A document is rolled up by the first recomputation after it settled, which may run on another instance
+    _freshnessLagMillis = SETTLE_MILLIS + 2 * TimeUnit.SECONDS.toMillis(intervalSeconds);
+
+    if (recomputeIntervalSeconds > 0) {
+      _recomputer = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("timeseries-rollup-recomputer").build());
+      _recomputer.scheduleWithFixedDelay(this::recomputeDirtyHours, recomputeIntervalSeconds,
+          recomputeIntervalSeconds, TimeUnit.SECONDS);
+    } else {
+      _recomputer = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    if (_recomputer != null) {
+      _recomputer.shutdownNow();
+    }
+  }
+
+  /**
+   * Marks the hour of a document written to the aspect's index as dirty for the document's urn.
+   */
+  public void markDirty(@Nonnull String entityName, @Nonnull String aspectName, @Nonnull JsonNode document) {
+    final JsonNode urn = document.get(URN_FIELD);
+    final JsonNode timestamp = document.get(TIMESTAMP_MILLIS_FIELD);
+    if (urn != null && urn.isTextual() && timestamp != null && timestamp.canConvertToLong()) {
+      markDirty(entityName, aspectName, Collections.singletonMap(urn.asText(),
+          Collections.singleton(RollupGranularity.HOUR.floor(timestamp.asLong()))));
+    }
+  }
+
+  /**
+   * Marks the given hours of the aspect as dirty for their urns.
+   */
+  public void markDirty(@Nonnull String entityName, @Nonnull String aspectName,
+      @Nonnull Map<String, ? extends Collection<Long>> hoursByUrn) {
+    final String rollupIndexName = getRollupIndexName(entityName, aspectName);
+    final long now = System.currentTimeMillis();
+    hoursByUrn.forEach((urn, hours) -> {
+      for (long hour : hours) {
+        final Map<String, Object> marker = new HashMap<>();
+        marker.put(ROLLUP_GRANULARITY_FIELD, DIRTY_MARKER_GRANULARITY);
+        marker.put(ROLLUP_BUCKET_START_FIELD, hour);
+        marker.put(URN_FIELD, urn);
+        marker.put(ROLLUP_MARKED_AT_FIELD, now);
+        // Marking an hour again updates the marker, so that it is not removed by a recomputation which started earlier
+        _bulkProcessor.add(new UpdateRequest(rollupIndexName, getMarkerId(urn, hour))
+            .doc(ImmutableMap.of(ROLLUP_MARKED_AT_FIELD, now))
+            .upsert(marker)
+            .detectNoop(false)
+            .retryOnConflict(RETRY_ON_CONFLICT));
+      }
+    });
+  }
+
+  /**
+   * Returns the hours of the documents of the aspect's index matching the query by urn, to mark them as dirty once the
+   * documents are deleted.
+   */
+  @Nonnull
+  public Map<String, Set<Long>> getHoursByUrn(@Nonnull String entityName, @Nonnull String aspectName,
+      @Nonnull QueryBuilder query) {
+    final Map<String, Set<Long>> hoursByUrn = new HashMap<>();
+    forEachDocument(_indexConvention.getTimeseriesAspectIndexName(entityName, aspectName), query,
+        new String[]{URN_FIELD, TIMESTAMP_MILLIS_FIELD}, "_doc", hit -> {
+          final Object urn = hit.getSourceAsMap().get(URN_FIELD);
+          final Object timestamp = hit.getSourceAsMap().get(TIMESTAMP_MILLIS_FIELD);
+          if (urn instanceof String && timestamp instanceof Number) {
+            hoursByUrn.computeIfAbsent((String) urn, ignored -> new HashSet<>())
+                .add(RollupGranularity.HOUR.floor(((Number) timestamp).longValue()));
+          }
+        });
+    return hoursByUrn;
+  }
+
+  /**
+   * Returns the time until which the rollups are up to date with the documents written, give or take documents written
+   * late, i.e. with timestamps older than that.
+   */
+  public long getRollupsFreshUntil() {
+    return System.currentTimeMillis() - _freshnessLagMillis;
+  }
+
+  /**
+   * Recomputes the rollups of all documents of the aspect's index, and then marks the rollups of the aspect as
+   * complete.
+   * Dirty hours must be marked as documents are written when this starts, so that no document written meanwhile is
+   * missed.
+   *
+   * @return the number of documents rolled up
+   */
+  public long backfill(@Nonnull String entityName, @Nonnull String aspectName) {
+    final String rollupIndexName = getRollupIndexName(entityName, aspectName);
+    final long numDocs;
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "backfill").time()) {
+      final SortedSet<Long> hours = new TreeSet<>();
+      numDocs = rollUpHours(entityName, aspectName, QueryBuilders.matchAllQuery(), null, hours);
+      rollUpDaysAndMonths(rollupIndexName, null, hours);
+      _searchClient.indices()
+          .putMapping(new PutMappingRequest(rollupIndexName).source(
+              ImmutableMap.of(META_FIELD, ImmutableMap.of(COMPLETED_AT_META_FIELD, System.currentTimeMillis()))),
+              RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new ESQueryException(String.format("Failed to backfill rollups into %s", rollupIndexName), e);
+    }
+    _completionCache.invalidate(rollupIndexName);
+    log.info("Rolled up {} documents into {}", numDocs, rollupIndexName);
+    return numDocs;
+  }
+
+  /**
+   * Whether the rollups of the aspect are complete, so that aggregations can be answered from them.
+   */
+  public boolean isComplete(@Nonnull String entityName, @Nonnull String aspectName) {
+    final String rollupIndexName = getRollupIndexName(entityName, aspectName);
+    try {
+      return _completionCache.get(rollupIndexName, () -> readCompletion(rollupIndexName));
+    } catch (ExecutionException e) {
+      log.warn("Failed to read the completion of the rollups in {}", rollupIndexName, e);
+      return false;
+    }
+  }
+
+  @Nonnull
+  public String getRollupIndexName(@Nonnull String entityName, @Nonnull String aspectName) {
+    return _indexConvention.getTimeseriesAspectRollupIndexName(entityName, aspectName);
+  }
+
+  /**
+   * Recomputes the rollups of the dirty hours of every timeseries aspect whose lease this instance holds.
+   */
+  void recomputeDirtyHours() {
+    for (EntitySpec entitySpec : _entityRegistry.getEntitySpecs().values()) {
+      for (AspectSpec aspectSpec : entitySpec.getAspectSpecs()) {
+        if (aspectSpec.isTimeseries()) {
+          try {
+            recomputeDirtyHours(entitySpec.getName(), aspectSpec.getName());
+          } catch (RuntimeException e) {
+            MetricUtils.counter(this.getClass(), "recomputeFailed").inc();
+            log.error("Failed to recompute the rollups of aspect {} of entity {}", aspectSpec.getName(),
+                entitySpec.getName(), e);
+          }
+        }
+      }
+    }
+  }
+
+  private void recomputeDirtyHours(@Nonnull String entityName, @Nonnull String aspectName) {
+    final String rollupIndexName = getRollupIndexName(entityName, aspectName);
+    final long recomputeStart = System.currentTimeMillis();
+    final SearchHit[] markers;
+    try {
+      markers = _searchClient.search(new SearchRequest(rollupIndexName)
+          .indicesOptions(IndicesOptions.lenientExpandOpen())
+          .source(new SearchSourceBuilder()
+              .query(QueryBuilders.termQuery(ROLLUP_GRANULARITY_FIELD, DIRTY_MARKER_GRANULARITY))
+              .size(MAX_DIRTY_BUCKETS_PER_RUN)
+              .seqNoAndPrimaryTerm(true)
+              .sort(ROLLUP_BUCKET_START_FIELD, SortOrder.ASC)), RequestOptions.DEFAULT).getHits().getHits();
+    } catch (IOException e) {
+      throw new ESQueryException(String.format("Failed to read the dirty hours of %s", rollupIndexName), e);
+    }
+    if (markers.length == 0) {
+      return;
+    }
+
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "recompute").time()) {
+      if (!acquireLease(rollupIndexName)) {
+        return;
+      }
+      final String indexName = _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName);
+      _searchClient.indices().refresh(new RefreshRequest(indexName), RequestOptions.DEFAULT);
+      final Map<String, SortedSet<Long>> hoursByUrn = new HashMap<>();
+      for (SearchHit marker : markers) {
+        final String urn = getMarkerUrn(marker);
+        final long hour = ((Number) marker.getSourceAsMap().get(ROLLUP_BUCKET_START_FIELD)).longValue();
+        final Set<Long> rolledUpHours = new HashSet<>();
+        rollUpHours(entityName, aspectName, QueryBuilders.rangeQuery(TIMESTAMP_MILLIS_FIELD)
+            .gte(hour)
+            .lt(RollupGranularity.HOUR.next(hour)), urn, rolledUpHours);
+        if (!rolledUpHours.contains(hour)) {
+          // No document of the urn is left in the hour
+          writeBucket(rollupIndexName, RollupGranularity.HOUR, hour, urn, Collections.emptyMap());
+        }
+        hoursByUrn.computeIfAbsent(urn, ignoredUrn -> new TreeSet<>()).add(hour);
+      }
+      for (Map.Entry<String, SortedSet<Long>> entry : hoursByUrn.entrySet()) {
+        rollUpDaysAndMonths(rollupIndexName, entry.getKey(), entry.getValue());
+      }
+
+      for (SearchHit marker : markers) {
+        final long markedAt = ((Number) marker.getSourceAsMap().get(ROLLUP_MARKED_AT_FIELD)).longValue();
+        if (markedAt < recomputeStart - SETTLE_MILLIS) {
+          removeMarker(rollupIndexName, marker);
+        }
+      }
+      MetricUtils.counter(this.getClass(), "recomputedHours").inc(markers.length);
+    } catch (IOException e) {
+      throw new ESQueryException(String.format("Failed to recompute the rollups of %s", rollupIndexName), e);
+    }
+  }
+
+  /**
+   * Takes or renews the lease of the recomputation of the rollups in the index, unless another instance holds it.
+   */
+  private boolean acquireLease(@Nonnull String rollupIndexName) throws IOException {
+    final long now = System.currentTimeMillis();
+    final GetResponse lease = _searchClient.get(new GetRequest(rollupIndexName, LEASE_ID), RequestOptions.DEFAULT);
+    final IndexRequest request = new IndexRequest(rollupIndexName).id(LEASE_ID)
+        .source(ImmutableMap.of(ROLLUP_GRANULARITY_FIELD, LEASE_GRANULARITY, ROLLUP_LEASE_OWNER_FIELD, _instanceId,
+            ROLLUP_LEASE_EXPIRES_AT_FIELD, now + _leaseMillis));
+    if (!lease.isExists()) {
+      request.opType(DocWriteRequest.OpType.CREATE);
+    } else {
+      final Object owner = lease.getSourceAsMap().get(ROLLUP_LEASE_OWNER_FIELD);
+      final Object expiresAt = lease.getSourceAsMap().get(ROLLUP_LEASE_EXPIRES_AT_FIELD);
+      if (!_instanceId.equals(owner) && expiresAt instanceof Number && ((Number) expiresAt).longValue() > now) {
+        return false;
+      }
+      // Only replaces the lease read, so that two instances taking over an expired lease do not both get it
+      request.setIfSeqNo(lease.getSeqNo()).setIfPrimaryTerm(lease.getPrimaryTerm());
+    }
+    try {
+      _searchClient.index(request, RequestOptions.DEFAULT);
+      return true;
+    } catch (ElasticsearchStatusException e) {
+      if (e.status() != RestStatus.CONFLICT) {
+        throw e;
+      }
+      log.debug("Another instance took the lease of {}", rollupIndexName);
+      return false;
+    }
+  }
+
+  /**
+   * Removes the marker of a dirty hour, unless the hour was marked again since the marker was read.
+   */
+  private void removeMarker(@Nonnull String rollupIndexName, @Nonnull SearchHit marker) throws IOException {
+    try {
+      _searchClient.delete(new DeleteRequest(rollupIndexName, marker.getId())
+          .setIfSeqNo(marker.getSeqNo())
+          .setIfPrimaryTerm(marker.getPrimaryTerm()), RequestOptions.DEFAULT);
+    } catch (ElasticsearchStatusException e) {
+      if (e.status() != RestStatus.CONFLICT) {
+        throw e;
+      }
+      log.debug("Hour {} of {} was marked dirty again while recomputing it", marker.getId(), rollupIndexName);
+    }
+  }
+
+  @Nonnull
+  private static String getMarkerId(@Nonnull String urn, long hour) {
+    return DIRTY_MARKER_ID_PREFIX + DigestUtils.md5Hex(urn + "|" + hour);
+  }
+
+  /**
+   * Returns the urn of a marker, or null for the markers of all urns of an hour written before markers had urns.
+   */
+  @Nullable
+  private static String getMarkerUrn(@Nonnull SearchHit marker) {
+    final Object urn = marker.getSourceAsMap().get(URN_FIELD);
+    return urn instanceof String ? (String) urn : null;
+  }
+
+  /**
+   * Recomputes the hourly rollups of the hours of the documents of the aspect's index matching the query.
+   *
+   * @param urn the urn to recompute the rollups of, or null for all urns
+   * @param hours the hours rolled up are added to this set
+   * @return the number of documents rolled up
+   */
+  private long rollUpHours(@Nonnull String entityName, @Nonnull String aspectName, @Nonnull QueryBuilder query,
+      @Nullable String urn, @Nonnull Set<Long> hours) {
+    final String rollupIndexName = getRollupIndexName(entityName, aspectName);
+    final AspectSpec aspectSpec = getAspectSpec(entityName, aspectName);
+    final Map<String, RollupDocuments.Rollup> rollups = new HashMap<>();
+    // Documents are read in timestamp order, so the rollups of an hour are written once the next hour is reached
+    final long[] state = {Long.MIN_VALUE, 0};
+    forEachDocument(_indexConvention.getTimeseriesAspectIndexName(entityName, aspectName),
+        withUrn(QueryBuilders.boolQuery().filter(query), urn), null, TIMESTAMP_MILLIS_FIELD, hit -> {
+          final RollupDocuments.Rollup rollup =
+              RollupDocuments.fromDocument(aspectSpec, OBJECT_MAPPER.valueToTree(hit.getSourceAsMap()));
+          if (rollup == null) {
+            return;
+          }
+          final long hour = RollupGranularity.HOUR.floor(((Number) hit.getSourceAsMap()
+              .get(TIMESTAMP_MILLIS_FIELD)).longValue());
+          if (hour != state[0]) {
+            if (state[0] != Long.MIN_VALUE) {
+              writeBucket(rollupIndexName, RollupGranularity.HOUR, state[0], urn, rollups);
+              rollups.clear();
+            }
+            state[0] = hour;
+            hours.add(hour);
+          }
+          RollupDocuments.addTo(rollups, RollupGranularity.HOUR, hour, rollup);
+          state[1]++;
+        });
+    if (state[0] != Long.MIN_VALUE) {
+      writeBucket(rollupIndexName, RollupGranularity.HOUR, state[0], urn, rollups);
+    }
+    return state[1];
+  }
+
+  /**
+   * Recomputes the daily rollups of the days of the given hours from their hourly rollups, and then the monthly rollups
+   * of these days from their daily rollups.
+   *
+   * @param urn the urn to recompute the rollups of, or null for all urns
+   */
+  private void rollUpDaysAndMonths(@Nonnull String rollupIndexName, @Nullable String urn,
+      @Nonnull SortedSet<Long> hours) throws IOException {
+    final SortedSet<Long> days = new TreeSet<>();
+    hours.forEach(hour -> days.add(RollupGranularity.DAY.floor(hour)));
+    rollUpFromFiner(rollupIndexName, urn, RollupGranularity.HOUR, RollupGranularity.DAY, days);
+    final SortedSet<Long> months = new TreeSet<>();
+    days.forEach(day -> months.add(RollupGranularity.MONTH.floor(day)));
+    rollUpFromFiner(rollupIndexName, urn, RollupGranularity.DAY, RollupGranularity.MONTH, months);
+    _bulkProcessor.flush();
+  }
+
+  private void rollUpFromFiner(@Nonnull String rollupIndexName, @Nullable String urn,
+      @Nonnull RollupGranularity finer, @Nonnull RollupGranularity granularity, @Nonnull Collection<Long> bucketStarts)
+      throws IOException {
+    // The finer rollups were just written through the bulk processor
+    _bulkProcessor.flush();
+    _searchClient.indices().refresh(new RefreshRequest(rollupIndexName), RequestOptions.DEFAULT);
+    for (long bucketStart : bucketStarts) {
+      final Map<String, RollupDocuments.Rollup> rollups = new HashMap<>();
+      forEachDocument(rollupIndexName, withUrn(QueryBuilders.boolQuery()
+              .filter(QueryBuilders.termQuery(ROLLUP_GRANULARITY_FIELD, finer.name()))
+              .filter(QueryBuilders.rangeQuery(ROLLUP_BUCKET_START_FIELD)
+                  .gte(bucketStart)
+                  .lt(granularity.next(bucketStart))), urn),
+          new String[]{ROLLUP_STATE_FIELD, TIMESTAMP_MILLIS_FIELD}, "_doc", hit -> {
+            if (hit.getSourceAsMap().containsKey(ROLLUP_STATE_FIELD)) {
+              RollupDocuments.addTo(rollups, granularity, bucketStart,
+                  RollupDocuments.fromSource(hit.getSourceAsMap()));
+            }
+          });
+      writeBucket(rollupIndexName, granularity, bucketStart, urn, rollups);
+    }
+  }
+
+  /**
+   * Replaces the rollups of a bucket: indexes the given rollups, and deletes the other rollups of the bucket, whose
+   * dimensions no longer have documents in it.
+   *
+   * @param urn the urn the rollups are of, or null for all urns
+   */
+  private void writeBucket(@Nonnull String rollupIndexName, @Nonnull RollupGranularity granularity, long bucketStart,
+      @Nullable String urn, @Nonnull Map<String, RollupDocuments.Rollup> rollups) {
+    final Set<String> staleIds = new HashSet<>();
+    forEachDocument(rollupIndexName, withUrn(QueryBuilders.boolQuery()
+            .filter(QueryBuilders.termQuery(ROLLUP_GRANULARITY_FIELD, granularity.name()))
+            .filter(QueryBuilders.termQuery(ROLLUP_BUCKET_START_FIELD, bucketStart)), urn),
+        new String[]{ROLLUP_BUCKET_START_FIELD}, "_doc",
+        hit -> staleIds.add(hit.getId()));
+    rollups.forEach((id, rollup) -> _bulkProcessor.add(
+        new IndexRequest(rollupIndexName).id(id).source(rollup.toSource(granularity, bucketStart))));
+    staleIds.removeAll(rollups.keySet());
+    staleIds.forEach(id -> _bulkProcessor.add(new DeleteRequest(rollupIndexName, id)));
+  }
+
+  @Nonnull
+  private static QueryBuilder withUrn(@Nonnull BoolQueryBuilder query, @Nullable String urn) {
+    return urn == null ? query : query.filter(QueryBuilders.termQuery(URN_FIELD, urn));
+  }
+
+  private boolean readCompletion(@Nonnull String rollupIndexName) throws IOException {
+    if (!_searchClient.indices().exists(new GetIndexRequest(rollupIndexName), RequestOptions.DEFAULT)) {
+      return false;
+    }
+    for (MappingMetadata mapping : _searchClient.indices()
+        .getMapping(new GetMappingsRequest().indices(rollupIndexName), RequestOptions.DEFAULT)
+        .mappings()
+        .values()) {
+      final Object meta = mapping.getSourceAsMap().get(META_FIELD);
+      if (!(meta instanceof Map) || !((Map<?, ?>) meta).containsKey(COMPLETED_AT_META_FIELD)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Scrolls through the documents of an index matching the query.
+   *
+   * @param includes the source fields to read, or null for all but the event and system metadata
+   * @param sortField the field to read the documents in the order of, or _doc for index order
+   */
+  private void forEachDocument(@Nonnull String indexName, @Nonnull QueryBuilder query, @Nullable String[] includes,
+      @Nonnull String sortField, @Nonnull Consumer<SearchHit> consumer) {
+    try {
+      SearchResponse response = _searchClient.search(new SearchRequest(indexName).scroll(SCROLL_KEEP_ALIVE)
+          .source(new SearchSourceBuilder().query(query)
+              .size(SCROLL_BATCH_SIZE)
+              .fetchSource(includes, includes == null ? EXCLUDED_SOURCE_FIELDS : null)
+              .sort(sortField)), RequestOptions.DEFAULT);
+      try {
+        while (response.getHits().getHits().length > 0) {
+          for (SearchHit hit : response.getHits().getHits()) {
+            consumer.accept(hit);
+          }
+          response = _searchClient.scroll(new SearchScrollRequest(response.getScrollId()).scroll(SCROLL_KEEP_ALIVE),
+              RequestOptions.DEFAULT);
+        }
+      } finally {
+        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(response.getScrollId());
+        _searchClient.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+      }
+    } catch (IOException e) {
+      throw new ESQueryException(String.format("Failed to read documents of %s", indexName), e);
+    }
+  }
+
+  @Nonnull
+  private AspectSpec getAspectSpec(@Nonnull String entityName, @Nonnull String aspectName) {
+    final AspectSpec aspectSpec = _entityRegistry.getEntitySpec(entityName).getAspectSpec(aspectName);
+    if (aspectSpec == null || !aspectSpec.isTimeseries()) {
+      throw new IllegalArgumentException(
+          String.format("Aspect %s of entity %s is not a timeseries aspect", aspectName, entityName));
+    }
+    return aspectSpec;
+  }
+}
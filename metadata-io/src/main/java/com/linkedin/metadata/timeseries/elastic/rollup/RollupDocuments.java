@@ -0,0 +1,249 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.TimeseriesFieldCollectionSpec;
+import com.linkedin.metadata.models.TimeseriesFieldSpec;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import static com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder.*;
+
+
+/**
+ * Rolls up the documents of a timeseries aspect into the rollup documents of the buckets they fall in.
+ *
+ * A rollup document covers one bucket of one {@link RollupGranularity} and one combination of the dimensions of the
+ * aspect's documents (urn, event granularity, partition and, for exploded documents, collection key). It holds running
+ * aggregates only:
+ * <ul>
+ *   <li>the sum of each numeric field, under the rollupSums field,</li>
+ *   <li>the latest value of each field, in the field itself,</li>
+ *   <li>the latest timestamp, in the timestamp field,</li>
+ * </ul>
+ * so that aggregations over the aspect's documents return the same results over rollup documents, see
+ * {@link RollupQueryPlan}. Its size is bounded by the number of fields of the aspect, however many documents fall in
+ * the bucket.
+ *
+ * Rollups are not updated in place as documents are written, which would count a document written again twice.
+ * Instead, the rollups of a bucket are recomputed as a whole and indexed under ids derived from the bucket and the
+ * dimensions, so recomputing a bucket again gives the same documents: hourly rollups from the aspect's documents, and
+ * daily and monthly rollups from the rollups of the next finer granularity, see {@link ESTimeseriesRollupDAO}.
+ */
+final class RollupDocuments {
+
+  private static final String STATE_TARGET = "target";
+  private static final String STATE_DIMENSIONS = "dimensions";
+  private static final String STATE_VALUES = "values";
+  private static final String STATE_VALUE_TIMESTAMPS = "valueTimestamps";
+  private static final String STATE_SUMS = "sums";
+
+  private RollupDocuments() {
+  }
+
+  /**
+   * Running aggregates of the documents of one combination of dimensions in one bucket.
+   */
+  static final class Rollup {
+    private final Map<String, Object> _dimensions;
+    // Name of the collection an exploded document holds the values of, or null for the values of the aspect
+    @Nullable
+    private final String _target;
+    private long _timestampMillis;
+    private final Map<String, Object> _values = new HashMap<>();
+    private final Map<String, Long> _valueTimestamps = new HashMap<>();
+    private final Map<String, Double> _sums = new HashMap<>();
+
+    private Rollup(@Nonnull Map<String, Object> dimensions, @Nullable String target, long timestampMillis) {
+      _dimensions = dimensions;
+      _target = target;
+      _timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Adds the aggregates of another rollup of the same dimensions: sums are added up, and the latest value of each
+     * field is kept.
+     */
+    void add(@Nonnull Rollup other) {
+      _timestampMillis = Math.max(_timestampMillis, other._timestampMillis);
+      other._values.forEach((field, value) -> {
+        final long timestamp = other._valueTimestamps.get(field);
+        final Long previous = _valueTimestamps.get(field);
+        if (previous == null || timestamp >= previous) {
+          _values.put(field, value);
+          _valueTimestamps.put(field, timestamp);
+        }
+      });
+      other._sums.forEach((field, sum) -> _sums.merge(field, sum, Double::sum));
+    }
+
+    /**
+     * Returns the id of the rollup document of these dimensions in the given bucket.
+     */
+    @Nonnull
+    String getId(@Nonnull RollupGranularity granularity, long bucketStart) {
+      final StringBuilder id = new StringBuilder().append(granularity.name()).append(bucketStart);
+      // Dimensions in a stable order, whether they were read from a document or from a rollup
+      toSorted(_dimensions).forEach((name, value) -> id.append('|').append(name).append('=').append(value));
+      return DigestUtils.md5Hex(id.toString());
+    }
+
+    /**
+     * Returns the rollup document of these aggregates in the given bucket.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    Map<String, Object> toSource(@Nonnull RollupGranularity granularity, long bucketStart) {
+      final Map<String, Object> source = new HashMap<>(_dimensions);
+      source.put(ROLLUP_GRANULARITY_FIELD, granularity.name());
+      source.put(ROLLUP_BUCKET_START_FIELD, bucketStart);
+      source.put(TIMESTAMP_MILLIS_FIELD, _timestampMillis);
+      if (_target == null) {
+        source.putAll(_values);
+        source.put(ROLLUP_SUMS_FIELD, new HashMap<>(_sums));
+      } else {
+        final Map<String, Object> target = new HashMap<>((Map<String, Object>) _dimensions.get(_target));
+        target.putAll(_values);
+        source.put(_target, target);
+        final Map<String, Object> sums = new HashMap<>();
+        sums.put(_target, new HashMap<>(_sums));
+        source.put(ROLLUP_SUMS_FIELD, sums);
+      }
+
+      final Map<String, Object> state = new HashMap<>();
+      state.put(STATE_TARGET, _target);
+      state.put(STATE_DIMENSIONS, _dimensions);
+      state.put(STATE_VALUES, _values);
+      state.put(STATE_VALUE_TIMESTAMPS, _valueTimestamps);
+      state.put(STATE_SUMS, _sums);
+      source.put(ROLLUP_STATE_FIELD, state);
+      return source;
+    }
+  }
+
+  /**
+   * Returns the rollup of a single document of the aspect, or null for documents without an urn or timestamp.
+   */
+  @Nullable
+  static Rollup fromDocument(@Nonnull AspectSpec aspectSpec, @Nonnull JsonNode document) {
+    final JsonNode urn = document.get(URN_FIELD);
+    final JsonNode timestamp = document.get(TIMESTAMP_MILLIS_FIELD);
+    if (urn == null || timestamp == null || !timestamp.canConvertToLong()) {
+      return null;
+    }
+    final long timestampMillis = timestamp.asLong();
+
+    // The dimensions are copied to the rollup as they are, and are part of its id
+    final Map<String, Object> dimensions = new HashMap<>();
+    dimensions.put(URN_FIELD, urn.asText());
+    final boolean isExploded = document.path(IS_EXPLODED_FIELD).asBoolean(false);
+    dimensions.put(IS_EXPLODED_FIELD, isExploded);
+    if (document.hasNonNull(EVENT_GRANULARITY)) {
+      dimensions.put(EVENT_GRANULARITY, document.get(EVENT_GRANULARITY).asText());
+    }
+    if (document.hasNonNull(PARTITION_SPEC)) {
+      dimensions.put(PARTITION_SPEC, toValue(document.get(PARTITION_SPEC)));
+    }
+
+    final Rollup rollup;
+    if (isExploded) {
+      final TimeseriesFieldCollectionSpec collectionSpec = getCollectionSpec(aspectSpec, document);
+      if (collectionSpec == null) {
+        return null;
+      }
+      final String target = collectionSpec.getName();
+      final JsonNode element = document.get(target);
+      final String keyName = collectionSpec.getTimeseriesFieldCollectionAnnotation().getKey();
+      final Map<String, Object> key = new HashMap<>();
+      key.put(keyName, element.path(keyName).asText());
+      dimensions.put(target, key);
+      rollup = new Rollup(dimensions, target, timestampMillis);
+      putValues(rollup, element, collectionSpec.getTimeseriesFieldSpecMap().values());
+    } else {
+      rollup = new Rollup(dimensions, null, timestampMillis);
+      putValues(rollup, document, aspectSpec.getTimeseriesFieldSpecs());
+    }
+    return rollup;
+  }
+
+  /**
+   * Returns the rollup of a rollup document, to combine into a rollup of a coarser granularity.
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  static Rollup fromSource(@Nonnull Map<String, Object> source) {
+    final Map<String, Object> state = (Map<String, Object>) source.get(ROLLUP_STATE_FIELD);
+    final Rollup rollup = new Rollup((Map<String, Object>) state.get(STATE_DIMENSIONS),
+        (String) state.get(STATE_TARGET), ((Number) source.get(TIMESTAMP_MILLIS_FIELD)).longValue());
+    rollup._values.putAll((Map<String, Object>) state.get(STATE_VALUES));
+    ((Map<String, Number>) state.get(STATE_VALUE_TIMESTAMPS)).forEach(
+        (field, timestamp) -> rollup._valueTimestamps.put(field, timestamp.longValue()));
+    ((Map<String, Number>) state.get(STATE_SUMS)).forEach((field, sum) -> rollup._sums.put(field, sum.doubleValue()));
+    return rollup;
+  }
+
+  /**
+   * Adds a rollup to the rollups of a bucket, keyed by id, combining it with the rollup of the same dimensions if any.
+   */
+  static void addTo(@Nonnull Map<String, Rollup> rollups, @Nonnull RollupGranularity granularity, long bucketStart,
+      @Nonnull Rollup rollup) {
+    rollups.merge(rollup.getId(granularity, bucketStart), rollup, (existing, added) -> {
+      existing.add(added);
+      return existing;
+    });
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> toSorted(@Nonnull Map<String, Object> map) {
+    final Map<String, Object> sorted = new TreeMap<>();
+    map.forEach((key, value) -> sorted.put(key, value instanceof Map ? toSorted((Map<String, Object>) value) : value));
+    return sorted;
+  }
+
+  @Nullable
+  private static TimeseriesFieldCollectionSpec getCollectionSpec(@Nonnull AspectSpec aspectSpec,
+      @Nonnull JsonNode document) {
+    return aspectSpec.getTimeseriesFieldCollectionSpecs()
+        .stream()
+        .filter(collectionSpec -> document.path(collectionSpec.getName()).isObject())
+        .findFirst()
+        .orElse(null);
+  }
+
+  private static void putValues(@Nonnull Rollup rollup, @Nonnull JsonNode document,
+      @Nonnull Collection<TimeseriesFieldSpec> fieldSpecs) {
+    for (TimeseriesFieldSpec fieldSpec : fieldSpecs) {
+      final JsonNode value = document.get(fieldSpec.getName());
+      if (value != null && !value.isNull()) {
+        final Object fieldValue = toValue(value);
+        rollup._values.put(fieldSpec.getName(), fieldValue);
+        rollup._valueTimestamps.put(fieldSpec.getName(), rollup._timestampMillis);
+        if (fieldValue instanceof Number) {
+          rollup._sums.put(fieldSpec.getName(), ((Number) fieldValue).doubleValue());
+        }
+      }
+    }
+  }
+
+  @Nonnull
+  private static Object toValue(@Nonnull JsonNode node) {
+    if (node.isNumber()) {
+      return node.numberValue();
+    }
+    if (node.isBoolean()) {
+      return node.booleanValue();
+    }
+    if (node.isObject()) {
+      final Map<String, Object> object = new HashMap<>();
+      node.fields().forEachRemaining(field -> object.put(field.getKey(), toValue(field.getValue())));
+      return object;
+    }
+    return node.isTextual() ? node.textValue() : node.toString();
+  }
+}
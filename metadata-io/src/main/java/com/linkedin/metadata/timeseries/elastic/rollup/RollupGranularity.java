@@ -0,0 +1,93 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.timeseries.TimeWindowSize;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Size of the time buckets timeseries aspects are rolled up into. Buckets are aligned to UTC, like the buckets of date
+ * histograms without a time zone.
+ */
+public enum RollupGranularity {
+  HOUR,
+  DAY,
+  MONTH;
+
+  // From the coarsest to the finest
+  private static final List<RollupGranularity> ALL = ImmutableList.of(MONTH, DAY, HOUR);
+
+  /**
+   * Returns the start of the bucket the timestamp falls in.
+   */
+  public long floor(long timestampMillis) {
+    final ZonedDateTime time = Instant.ofEpochMilli(timestampMillis).atZone(ZoneOffset.UTC);
+    switch (this) {
+      case HOUR:
+        return time.truncatedTo(ChronoUnit.HOURS).toInstant().toEpochMilli();
+      case DAY:
+        return time.truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli();
+      case MONTH:
+        return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).toInstant().toEpochMilli();
+      default:
+        throw new IllegalStateException("Unexpected value: " + this);
+    }
+  }
+
+  /**
+   * Returns the first bucket start at or after the timestamp.
+   */
+  public long ceil(long timestampMillis) {
+    final long floor = floor(timestampMillis);
+    return floor == timestampMillis ? floor : next(floor);
+  }
+
+  /**
+   * Returns the start of the bucket after the one starting at the given time.
+   */
+  long next(long bucketStartMillis) {
+    final ZonedDateTime start = Instant.ofEpochMilli(bucketStartMillis).atZone(ZoneOffset.UTC);
+    switch (this) {
+      case HOUR:
+        return start.plusHours(1).toInstant().toEpochMilli();
+      case DAY:
+        return start.plusDays(1).toInstant().toEpochMilli();
+      case MONTH:
+        return start.plusMonths(1).toInstant().toEpochMilli();
+      default:
+        throw new IllegalStateException("Unexpected value: " + this);
+    }
+  }
+
+  /**
+   * Returns the granularities whose buckets each fall in a single bucket of the given date grouping, from the coarsest
+   * to the finest. Any granularity can be used without a date grouping.
+   */
+  @Nonnull
+  public static List<RollupGranularity> alignedWith(@Nullable TimeWindowSize dateGrouping) {
+    if (dateGrouping == null) {
+      return ALL;
+    }
+    switch (dateGrouping.getUnit()) {
+      case MINUTE:
+        return ImmutableList.of();
+      case HOUR:
+        return ImmutableList.of(HOUR);
+      case DAY:
+      case WEEK:
+        return ImmutableList.of(DAY, HOUR);
+      case MONTH:
+      case QUARTER:
+      case YEAR:
+        return ALL;
+      default:
+        throw new IllegalArgumentException("Unknown time window size unit: " + dateGrouping.getUnit());
+    }
+  }
+}
@@ -0,0 +1,310 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.TimeseriesFieldCollectionSpec;
+import com.linkedin.metadata.models.TimeseriesFieldSpec;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterion;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
+import com.linkedin.metadata.query.filter.Criterion;
+import com.linkedin.metadata.query.filter.CriterionArray;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.search.utils.ESUtils;
+import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import com.linkedin.timeseries.AggregationSpec;
+import com.linkedin.timeseries.GroupingBucket;
+import com.linkedin.timeseries.GroupingBucketType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+
+
+/**
+ * Plan for answering an aggregation over the documents of a timeseries aspect from its rollups.
+ *
+ * The time window of the query is split into segments: the largest part of the window made of whole buckets of the
+ * coarsest granularity aligned with the query's date grouping is read from rollups of that granularity, the remaining
+ * edges from rollups of the next finer granularity, and so on, down to the raw documents for the edges finer than an
+ * hour. Raw documents and rollups are searched together, and the segments are disjoint, so that every document is
+ * counted exactly once, either on its own or as part of one rollup. The part of the window after the time until which
+ * rollups are up to date, such as the current hour, day and month, is always read from raw documents.
+ *
+ * A query can only be answered from rollups if its result does not depend on how documents within a bucket are combined:
+ * <ul>
+ *   <li>the filter is a single conjunction, of conditions on dimensions, which rollups keep as they are, and of ranges
+ *   on the timestamp,</li>
+ *   <li>string groupings are on dimensions,</li>
+ *   <li>sums are of numeric fields, which rollups keep the sums of,</li>
+ *   <li>cardinalities are of dimensions. The cardinality of other fields would count the distinct latest values of the
+ *   rollups rather than of the documents,</li>
+ *   <li>latest values can be of any field. Rollups keep the latest value of each field and the latest timestamp of the
+ *   bucket, which is also that of the latest value unless the latest document of the bucket misses the field.</li>
+ * </ul>
+ */
+@Value
+public class RollupQueryPlan {
+
+  private static final String TIMESTAMP_FIELD = MappingsBuilder.TIMESTAMP_MILLIS_FIELD;
+
+  /**
+   * A range of time read either from rollups of one granularity or, if the granularity is null, from raw documents.
+   */
+  @Value
+  public static class Segment {
+    @Nullable
+    RollupGranularity granularity;
+    // Inclusive, Long.MIN_VALUE if unbounded
+    long start;
+    // Exclusive, Long.MAX_VALUE if unbounded
+    long end;
+
+    @Nonnull
+    QueryBuilder toQuery() {
+      final BoolQueryBuilder query = QueryBuilders.boolQuery();
+      final String timeField;
+      if (granularity == null) {
+        query.mustNot(QueryBuilders.existsQuery(MappingsBuilder.ROLLUP_GRANULARITY_FIELD));
+        timeField = TIMESTAMP_FIELD;
+      } else {
+        query.filter(QueryBuilders.termQuery(MappingsBuilder.ROLLUP_GRANULARITY_FIELD, granularity.name()));
+        timeField = MappingsBuilder.ROLLUP_BUCKET_START_FIELD;
+      }
+      if (start != Long.MIN_VALUE || end != Long.MAX_VALUE) {
+        final RangeQueryBuilder range = QueryBuilders.rangeQuery(timeField);
+        if (start != Long.MIN_VALUE) {
+          range.gte(start);
+        }
+        if (end != Long.MAX_VALUE) {
+          range.lt(end);
+        }
+        query.filter(range);
+      }
+      return query;
+    }
+  }
+
+  List<Segment> segments;
+  // Filter on the dimensions, without the time window
+  List<Criterion> dimensionCriteria;
+
+  /**
+   * Returns the query selecting the raw documents and the rollups the aggregation is computed over.
+   */
+  @Nonnull
+  public QueryBuilder getQuery() {
+    final Filter dimensionFilter = new Filter().setOr(new ConjunctiveCriterionArray(
+        Collections.singletonList(new ConjunctiveCriterion().setAnd(new CriterionArray(dimensionCriteria)))));
+    final BoolQueryBuilder segmentsQuery = QueryBuilders.boolQuery().minimumShouldMatch(1);
+    segments.forEach(segment -> segmentsQuery.should(segment.toQuery()));
+    return QueryBuilders.boolQuery().filter(ESUtils.buildFilterQuery(dimensionFilter)).filter(segmentsQuery);
+  }
+
+  /**
+   * Returns the plan answering the aggregation from rollups, or empty if it has to be computed over raw documents only,
+   * because the query can not be answered from rollups or no whole rollup bucket falls in its time window.
+   */
+  @Nonnull
+  public static Optional<RollupQueryPlan> of(@Nonnull AspectSpec aspectSpec,
+      @Nonnull AggregationSpec[] aggregationSpecs, @Nullable Filter filter,
+      @Nullable GroupingBucket[] groupingBuckets) {
+    return of(aspectSpec, aggregationSpecs, filter, groupingBuckets, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns the plan answering the aggregation from rollups, reading the part of its time window from the given time
+   * on from raw documents, or empty if it has to be computed over raw documents only.
+   *
+   * @param rollupsFreshUntil the time until which the rollups are up to date with the raw documents
+   */
+  @Nonnull
+  public static Optional<RollupQueryPlan> of(@Nonnull AspectSpec aspectSpec,
+      @Nonnull AggregationSpec[] aggregationSpecs, @Nullable Filter filter,
+      @Nullable GroupingBucket[] groupingBuckets, long rollupsFreshUntil) {
+    List<RollupGranularity> granularities = RollupGranularity.alignedWith(null);
+    if (groupingBuckets != null) {
+      for (GroupingBucket groupingBucket : groupingBuckets) {
+        if (groupingBucket.getType() == GroupingBucketType.DATE_GROUPING_BUCKET) {
+          final List<RollupGranularity> aligned = new ArrayList<>(granularities);
+          aligned.retainAll(RollupGranularity.alignedWith(groupingBucket.getTimeWindowSize()));
+          granularities = aligned;
+        } else if (!isDimension(aspectSpec, groupingBucket.getKey())) {
+          return Optional.empty();
+        }
+      }
+    }
+    if (granularities.isEmpty()) {
+      return Optional.empty();
+    }
+
+    for (AggregationSpec aggregationSpec : aggregationSpecs) {
+      switch (aggregationSpec.getAggregationType()) {
+        case LATEST:
+          break;
+        case SUM:
+          if (!isNumericValue(aspectSpec, aggregationSpec.getFieldPath())) {
+            return Optional.empty();
+          }
+          break;
+        case CARDINALITY:
+          if (!isDimension(aspectSpec, aggregationSpec.getFieldPath())) {
+            return Optional.empty();
+          }
+          break;
+        default:
+          return Optional.empty();
+      }
+    }
+
+    final List<Criterion> criteria;
+    if (filter == null) {
+      criteria = Collections.emptyList();
+    } else if (filter.getOr() != null) {
+      if (filter.getOr().size() > 1) {
+        return Optional.empty();
+      }
+      criteria = filter.getOr().isEmpty() ? Collections.emptyList() : filter.getOr().get(0).getAnd();
+    } else if (filter.getCriteria() != null) {
+      criteria = filter.getCriteria();
+    } else {
+      criteria = Collections.emptyList();
+    }
+
+    long start = Long.MIN_VALUE;
+    long end = Long.MAX_VALUE;
+    final List<Criterion> dimensionCriteria = new ArrayList<>();
+    for (Criterion criterion : criteria) {
+      if (criterion.getField().equals(TIMESTAMP_FIELD)) {
+        final Long value = parseTimestamp(criterion);
+        if (value == null) {
+          return Optional.empty();
+        }
+        switch (criterion.getCondition()) {
+          case GREATER_THAN:
+            start = Math.max(start, value == Long.MAX_VALUE ? value : value + 1);
+            break;
+          case GREATER_THAN_OR_EQUAL_TO:
+            start = Math.max(start, value);
+            break;
+          case LESS_THAN:
+            end = Math.min(end, value);
+            break;
+          case LESS_THAN_OR_EQUAL_TO:
+            end = Math.min(end, value == Long.MAX_VALUE ? value : value + 1);
+            break;
+          default:
+            return Optional.empty();
+        }
+      } else if (isDimension(aspectSpec, criterion.getField())) {
+        dimensionCriteria.add(criterion);
+      } else {
+        return Optional.empty();
+      }
+    }
+
+    final List<Segment> segments = new ArrayList<>();
+    final long rollupsEnd = Math.max(start, Math.min(end, rollupsFreshUntil));
+    addSegments(start, rollupsEnd, granularities, segments);
+    if (rollupsEnd < end) {
+      final Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+      if (last != null && last.getGranularity() == null) {
+        segments.set(segments.size() - 1, new Segment(null, last.getStart(), end));
+      } else {
+        segments.add(new Segment(null, rollupsEnd, end));
+      }
+    }
+    if (segments.stream().allMatch(segment -> segment.getGranularity() == null)) {
+      return Optional.empty();
+    }
+    return Optional.of(new RollupQueryPlan(segments, dimensionCriteria));
+  }
+
+  private static void addSegments(long start, long end, @Nonnull List<RollupGranularity> granularities,
+      @Nonnull List<Segment> segments) {
+    if (start >= end) {
+      return;
+    }
+    if (granularities.isEmpty()) {
+      segments.add(new Segment(null, start, end));
+      return;
+    }
+    final RollupGranularity granularity = granularities.get(0);
+    final List<RollupGranularity> finerGranularities = granularities.subList(1, granularities.size());
+    final long bucketsStart = start == Long.MIN_VALUE ? start : granularity.ceil(start);
+    final long bucketsEnd = end == Long.MAX_VALUE ? end : granularity.floor(end);
+    if (bucketsStart >= bucketsEnd) {
+      addSegments(start, end, finerGranularities, segments);
+      return;
+    }
+    addSegments(start, bucketsStart, finerGranularities, segments);
+    segments.add(new Segment(granularity, bucketsStart, bucketsEnd));
+    addSegments(bucketsEnd, end, finerGranularities, segments);
+  }
+
+  @Nullable
+  private static Long parseTimestamp(@Nonnull Criterion criterion) {
+    if (criterion.hasValues() && !criterion.getValues().isEmpty()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(criterion.getValue().trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Whether rollups keep the field as it is in the documents they roll up.
+   */
+  static boolean isDimension(@Nonnull AspectSpec aspectSpec, @Nonnull String fieldPath) {
+    if (fieldPath.equals(MappingsBuilder.URN_FIELD) || fieldPath.equals(MappingsBuilder.EVENT_GRANULARITY)
+        || fieldPath.equals(MappingsBuilder.IS_EXPLODED_FIELD)) {
+      return true;
+    }
+    final String[] memberParts = fieldPath.split("\\.");
+    if (memberParts.length != 2) {
+      return false;
+    }
+    if (memberParts[0].equals(MappingsBuilder.PARTITION_SPEC)) {
+      return memberParts[1].equals(MappingsBuilder.PARTITION_SPEC_PARTITION) || memberParts[1].equals(
+          MappingsBuilder.PARTITION_SPEC_TIME_PARTITION);
+    }
+    final TimeseriesFieldCollectionSpec collectionSpec =
+        aspectSpec.getTimeseriesFieldCollectionSpecMap().get(memberParts[0]);
+    return collectionSpec != null && collectionSpec.getTimeseriesFieldCollectionAnnotation()
+        .getKey()
+        .equals(memberParts[1]);
+  }
+
+  /**
+   * Whether rollups keep the sum of the field.
+   */
+  static boolean isNumericValue(@Nonnull AspectSpec aspectSpec, @Nonnull String fieldPath) {
+    final String[] memberParts = fieldPath.split("\\.");
+    TimeseriesFieldSpec fieldSpec = null;
+    if (memberParts.length == 1) {
+      fieldSpec = aspectSpec.getTimeseriesFieldSpecMap().get(memberParts[0]);
+    } else if (memberParts.length == 2) {
+      final TimeseriesFieldCollectionSpec collectionSpec =
+          aspectSpec.getTimeseriesFieldCollectionSpecMap().get(memberParts[0]);
+      if (collectionSpec != null) {
+        fieldSpec = collectionSpec.getTimeseriesFieldSpecMap().get(memberParts[1]);
+      }
+    }
+    return fieldSpec != null && MappingsBuilder.isNumeric(fieldSpec.getPegasusSchema().getType());
+  }
+
+  /**
+   * Returns the field holding the sums of a numeric field in rollups.
+   */
+  @Nonnull
+  public static String getSumField(@Nonnull String fieldPath) {
+    return MappingsBuilder.ROLLUP_SUMS_FIELD + "." + fieldPath;
+  }
+}
@@ -57,13 +57,14 @@ public class TimeseriesAspectTransformer {
           OBJECT_MAPPER.readTree(RecordUtils.toJsonString(systemMetadata)));
     }
     final Map<TimeseriesFieldSpec, List<Object>> timeseriesFieldValueMap =
-        FieldExtractor.extractFields(timeseriesAspect, aspectSpec.getTimeseriesFieldSpecs());
+        aspectSpec.getFieldExtractor().extractFields(timeseriesAspect, aspectSpec.getTimeseriesFieldSpecs());
     timeseriesFieldValueMap.forEach((k, v) -> setTimeseriesField(document, k, v));
     finalDocuments.put(getDocId(document, null), document);
 
     // Create new rows for the member collection fields.
     final Map<TimeseriesFieldCollectionSpec, List<Object>> timeseriesFieldCollectionValueMap =
-        FieldExtractor.extractFields(timeseriesAspect, aspectSpec.getTimeseriesFieldCollectionSpecs());
+        aspectSpec.getFieldExtractor()
+            .extractFields(timeseriesAspect, aspectSpec.getTimeseriesFieldCollectionSpecs());
     timeseriesFieldCollectionValueMap.forEach(
         (key, values) -> finalDocuments.putAll(getTimeseriesFieldCollectionDocuments(key, values, commonDocument)));
     return finalDocuments;
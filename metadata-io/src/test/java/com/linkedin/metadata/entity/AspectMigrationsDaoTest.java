@@ -48,7 +48,7 @@ abstract public class AspectMigrationsDaoTest<T extends AspectMigrationsDao> {
     List<String> ingestedUrns = ingestedAspects.keySet().stream().map(Urn::toString).collect(Collectors.toList());
     List<String> seenUrns = new ArrayList<>();
 
-    Iterable<String> page1 = _migrationsDao.listAllUrns(0, pageSize);
+    Iterable<String> page1 = _migrationsDao.listAllUrns(null, pageSize);
     List<String> page1Urns = ImmutableList.copyOf(page1);
 
     // validate first page
@@ -58,7 +58,7 @@ abstract public class AspectMigrationsDaoTest<T extends AspectMigrationsDao> {
       seenUrns.add(urn);
     }
 
-    Iterable<String> page2 = _migrationsDao.listAllUrns(pageSize, pageSize);
+    Iterable<String> page2 = _migrationsDao.listAllUrns(page1Urns.get(pageSize - 1), pageSize);
     List<String> page2Urns = ImmutableList.copyOf(page2);
 
     // validate last page
@@ -0,0 +1,103 @@
+package com.linkedin.metadata.entity;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.mockito.invocation.InvocationOnMock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class AsyncRetentionWorkerTest {
+
+  private static final Urn DATASET_URN = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,table,PROD)");
+  private static final Urn OTHER_DATASET_URN = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,other,PROD)");
+  // Long enough for batches to only be applied on close
+  private static final long FLUSH_INTERVAL_MILLIS = 60000;
+
+  private RetentionService _retentionService;
+  private List<List<RetentionService.RetentionTarget>> _batches;
+
+  @BeforeMethod
+  public void setup() {
+    _retentionService = mock(RetentionService.class);
+    _batches = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(this::recordBatch).when(_retentionService).applyRetention(anyList());
+  }
+
+  @Test
+  public void testRepeatedWritesAreCoalesced() {
+    AsyncRetentionWorker worker = new AsyncRetentionWorker(_retentionService, 100, 10, FLUSH_INTERVAL_MILLIS);
+    worker.submit(DATASET_URN, "schemaMetadata", 1);
+    worker.submit(DATASET_URN, "schemaMetadata", 3);
+    worker.submit(DATASET_URN, "schemaMetadata", 2);
+    worker.submit(DATASET_URN, "ownership", 1);
+    worker.submit(OTHER_DATASET_URN, "schemaMetadata", 5);
+    assertEquals(worker.getBacklog(), 3);
+
+    worker.close();
+
+    assertEquals(_batches, Collections.singletonList(Arrays.asList(
+        new RetentionService.RetentionTarget(DATASET_URN, "schemaMetadata", 3),
+        new RetentionService.RetentionTarget(DATASET_URN, "ownership", 1),
+        new RetentionService.RetentionTarget(OTHER_DATASET_URN, "schemaMetadata", 5))));
+    assertEquals(worker.getBacklog(), 0);
+  }
+
+  @Test
+  public void testAspectsBeyondBacklogAreDropped() {
+    AsyncRetentionWorker worker = new AsyncRetentionWorker(_retentionService, 2, 10, FLUSH_INTERVAL_MILLIS);
+    worker.submit(DATASET_URN, "schemaMetadata", 1);
+    worker.submit(DATASET_URN, "ownership", 1);
+    worker.submit(DATASET_URN, "globalTags", 1);
+    // Aspects already queued are still coalesced
+    worker.submit(DATASET_URN, "ownership", 2);
+
+    worker.close();
+
+    assertEquals(_batches, Collections.singletonList(Arrays.asList(
+        new RetentionService.RetentionTarget(DATASET_URN, "schemaMetadata", 1),
+        new RetentionService.RetentionTarget(DATASET_URN, "ownership", 2))));
+  }
+
+  @Test
+  public void testFullBatchesAreAppliedWithoutWaiting() throws Exception {
+    AsyncRetentionWorker worker = new AsyncRetentionWorker(_retentionService, 100, 2, FLUSH_INTERVAL_MILLIS);
+    worker.submit(DATASET_URN, "schemaMetadata", 1);
+    worker.submit(DATASET_URN, "ownership", 1);
+
+    verify(_retentionService, timeout(5000)).applyRetention(anyList());
+
+    worker.close();
+    assertEquals(_batches, Collections.singletonList(Arrays.asList(
+        new RetentionService.RetentionTarget(DATASET_URN, "schemaMetadata", 1),
+        new RetentionService.RetentionTarget(DATASET_URN, "ownership", 1))));
+  }
+
+  @Test
+  public void testFailedBatchDoesNotStopWorker() {
+    doThrow(new RuntimeException("delete failed")).doAnswer(this::recordBatch)
+        .when(_retentionService).applyRetention(anyList());
+    AsyncRetentionWorker worker = new AsyncRetentionWorker(_retentionService, 100, 1, FLUSH_INTERVAL_MILLIS);
+    worker.submit(DATASET_URN, "schemaMetadata", 1);
+    worker.submit(DATASET_URN, "ownership", 1);
+
+    worker.close();
+
+    verify(_retentionService, times(2)).applyRetention(anyList());
+    assertEquals(_batches, Collections.singletonList(Collections.singletonList(
+        new RetentionService.RetentionTarget(DATASET_URN, "ownership", 1))));
+  }
+
+  private Object recordBatch(InvocationOnMock invocation) {
+    List<RetentionService.RetentionTarget> batch = invocation.getArgument(0);
+    _batches.add(new ArrayList<>(batch));
+    return null;
+  }
+}
@@ -1,7 +1,9 @@
 package com.linkedin.metadata.entity;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.google.common.collect.ImmutableList;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.identity.CorpUserInfo;
 import com.linkedin.metadata.AspectGenerationUtils;
@@ -9,14 +11,18 @@ import com.linkedin.metadata.AspectIngestionUtils;
 import com.linkedin.metadata.CassandraTestUtils;
 import com.linkedin.metadata.entity.cassandra.CassandraAspectDao;
 import com.linkedin.metadata.entity.cassandra.CassandraRetentionService;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.key.CorpUserKey;
 import com.linkedin.metadata.models.registry.EntityRegistryException;
 import com.linkedin.metadata.query.ExtraInfo;
 import com.linkedin.metadata.query.ListUrnsResult;
+import com.linkedin.metadata.utils.PegasusUtils;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.testcontainers.containers.CassandraContainer;
@@ -26,6 +32,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import static com.linkedin.metadata.Constants.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.*;
 
@@ -171,6 +178,125 @@ public class CassandraEntityServiceTest extends EntityServiceTest<CassandraAspec
     }
   }
 
+  @Test
+  public void testBatchGet() throws AssertionError {
+    final int totalEntities = 500;
+
+    Map<Urn, CorpUserInfo> writtenAspects = AspectIngestionUtils.ingestCorpUserInfoAspects(_entityService, totalEntities);
+    String aspect = AspectGenerationUtils.getAspectName(new CorpUserInfo());
+
+    Set<EntityAspectIdentifier> keys = new HashSet<>();
+    writtenAspects.keySet().forEach(urn -> keys.add(new EntityAspectIdentifier(urn.toString(), aspect, 0)));
+    // An aspect which does not exist
+    keys.add(new EntityAspectIdentifier("urn:li:corpuser:missing", aspect, 0));
+
+    List<EntityAspect> sequentialAspects = keys.stream()
+        .map(_aspectDao::getAspect)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+    Map<EntityAspectIdentifier, EntityAspect> batchedAspects = _aspectDao.batchGet(keys);
+
+    assertEquals(batchedAspects.size(), totalEntities);
+    assertEquals(sequentialAspects.size(), totalEntities);
+    for (EntityAspect sequentialAspect : sequentialAspects) {
+      EntityAspect batchedAspect = batchedAspects.get(sequentialAspect.toAspectIdentifier());
+      assertNotNull(batchedAspect);
+      assertEquals(batchedAspect.getMetadata(), sequentialAspect.getMetadata());
+    }
+  }
+
+  @Test
+  public void testListUrnsFromUnalignedStart() throws AssertionError {
+    final int totalEntities = 10;
+    AspectIngestionUtils.ingestCorpUserKeyAspects(_entityService, totalEntities);
+    String entity = "corpuser";
+
+    List<Urn> allUrns = _entityService.listUrns(entity, 0, totalEntities).getEntities();
+    assertEquals(allUrns.size(), totalEntities);
+
+    // Pages starting where no previous page ended are read by skipping the rows before them
+    ListUrnsResult page = _entityService.listUrns(entity, 3, 4);
+    assertEquals(page.getEntities(), allUrns.subList(3, 7));
+
+    // and the page after that resumes from where it ended
+    page = _entityService.listUrns(entity, 7, 4);
+    assertEquals(page.getEntities(), allUrns.subList(7, 10));
+  }
+
+  @Test
+  public void testListUrnsAfterDelete() throws AssertionError {
+    final int totalEntities = 10;
+    AspectIngestionUtils.ingestCorpUserKeyAspects(_entityService, totalEntities);
+    String entity = "corpuser";
+
+    List<Urn> firstPage = _entityService.listUrns(entity, 0, 5).getEntities();
+    _aspectDao.deleteUrn(firstPage.get(0).toString());
+
+    // Deleting a row of the first page shifts the rows after it, so the next page does not resume where the first ended
+    List<Urn> allUrns = _entityService.listUrns(entity, 0, totalEntities).getEntities();
+    assertEquals(allUrns.size(), totalEntities - 1);
+    ListUrnsResult page = _entityService.listUrns(entity, 5, 5);
+    assertEquals(page.getEntities(), allUrns.subList(5, 9));
+  }
+
+  @Test
+  public void testListUrnsFromContinuationAfterDelete() throws AssertionError {
+    final int totalEntities = 10;
+    AspectIngestionUtils.ingestCorpUserKeyAspects(_entityService, totalEntities);
+    String entity = "corpuser";
+
+    List<String> allUrns = _aspectDao.listUrns(entity, CORP_USER_KEY_ASPECT_NAME, 0, totalEntities).getValues();
+    ListResult<String> firstPage = _aspectDao.listUrns(entity, CORP_USER_KEY_ASPECT_NAME, null, 5);
+    assertEquals(firstPage.getValues(), allUrns.subList(0, 5));
+    assertNotNull(firstPage.getContinuation());
+    _aspectDao.deleteUrn(firstPage.getValues().get(0));
+
+    // Unlike an offset, the continuation still points to where the first page ended after a row before it is deleted
+    ListResult<String> secondPage =
+        _aspectDao.listUrns(entity, CORP_USER_KEY_ASPECT_NAME, firstPage.getContinuation(), 5);
+    assertEquals(secondPage.getValues(), allUrns.subList(5, 10));
+  }
+
+  @Test
+  public void testStreamAspectsByTokenRange() throws AssertionError {
+    String aspectName = PegasusUtils.getAspectNameFromSchema(new CorpUserInfo().schema());
+    for (int i = 1; i <= 5; i++) {
+      Urn entityUrn = UrnUtils.getUrn("urn:li:corpuser:test" + i);
+      CorpUserInfo writeAspect = AspectGenerationUtils.createCorpUserInfo("email" + i + "@test.com");
+      _entityService.ingestAspect(entityUrn, aspectName, writeAspect, TEST_AUDIT_STAMP,
+          AspectGenerationUtils.createSystemMetadata());
+    }
+    RestoreIndicesArgs args = new RestoreIndicesArgs().setAspectName(aspectName).setBatchSize(2);
+
+    // Aspects are streamed in token order
+    List<String> streamedUrns = new ArrayList<>();
+    _aspectDao.streamAspects(args, aspect -> streamedUrns.add(aspect.getUrn()));
+    assertEquals(streamedUrns.size(), 5);
+    assertEquals(new HashSet<>(streamedUrns).size(), 5);
+
+    // The ranges split the streamed aspects where the boundaries are streamed
+    List<String> boundaries = _aspectDao.getUrnRangeBoundaries(args, 2);
+    assertEquals(boundaries, ImmutableList.of(streamedUrns.get(2)));
+    List<String> rangeUrns = new ArrayList<>();
+    RestoreIndicesArgs firstRangeArgs = args.clone();
+    firstRangeArgs.urnEnd = boundaries.get(0);
+    _aspectDao.streamAspects(firstRangeArgs, aspect -> rangeUrns.add(aspect.getUrn()));
+    assertEquals(rangeUrns, streamedUrns.subList(0, 2));
+    rangeUrns.clear();
+    RestoreIndicesArgs secondRangeArgs = args.clone();
+    secondRangeArgs.urnStart = boundaries.get(0);
+    _aspectDao.streamAspects(secondRangeArgs, aspect -> rangeUrns.add(aspect.getUrn()));
+    assertEquals(rangeUrns, streamedUrns.subList(2, 5));
+
+    // Resume after a cursor
+    List<String> resumedUrns = new ArrayList<>();
+    RestoreIndicesArgs resumeArgs = args.clone();
+    resumeArgs.lastUrn = streamedUrns.get(1);
+    resumeArgs.lastAspect = aspectName;
+    _aspectDao.streamAspects(resumeArgs, aspect -> resumedUrns.add(aspect.getUrn()));
+    assertEquals(resumedUrns, streamedUrns.subList(2, 5));
+  }
+
   @Override
   @Test
   public void testNestedTransactions() {
@@ -1,5 +1,6 @@
 package com.linkedin.metadata.entity;
 
+import com.google.common.collect.ImmutableList;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.data.template.DataTemplateUtil;
@@ -9,6 +10,8 @@ import com.linkedin.metadata.AspectGenerationUtils;
 import com.linkedin.metadata.EbeanTestUtils;
 import com.linkedin.metadata.entity.ebean.EbeanAspectDao;
 import com.linkedin.metadata.entity.ebean.EbeanRetentionService;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesResult;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.key.CorpUserKey;
 import com.linkedin.metadata.models.registry.EntityRegistryException;
@@ -19,6 +22,8 @@ import io.ebean.EbeanServer;
 import io.ebean.Transaction;
 import io.ebean.TxScope;
 import io.ebean.annotation.TxIsolation;
+import java.util.ArrayList;
+import java.util.List;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -177,4 +182,37 @@ public class EbeanEntityServiceTest extends EntityServiceTest<EbeanAspectDao, Eb
     }
     System.out.println("done");
   }
+
+  @Test
+  public void testStreamRestoreIndices() throws Exception {
+    String aspectName = PegasusUtils.getAspectNameFromSchema(new CorpUserInfo().schema());
+    for (int i = 1; i <= 5; i++) {
+      Urn entityUrn = UrnUtils.getUrn("urn:li:corpuser:test" + i);
+      CorpUserInfo writeAspect = AspectGenerationUtils.createCorpUserInfo("email" + i + "@test.com");
+      _entityService.ingestAspect(entityUrn, aspectName, writeAspect, TEST_AUDIT_STAMP,
+          AspectGenerationUtils.createSystemMetadata());
+    }
+
+    RestoreIndicesArgs args = new RestoreIndicesArgs().setAspectName(aspectName).setBatchSize(2);
+    args.batchDelayMs = 0;
+    assertEquals(_entityService.getUrnRangeBoundaries(args, 2), ImmutableList.of("urn:li:corpuser:test3"));
+
+    // Restore the first range
+    List<String> checkpoints = new ArrayList<>();
+    RestoreIndicesArgs rangeArgs = args.clone();
+    rangeArgs.urnEnd = "urn:li:corpuser:test3";
+    RestoreIndicesResult result =
+        _entityService.streamRestoreIndices(rangeArgs, line -> { }, (urn, aspect) -> checkpoints.add(urn));
+    assertEquals(result.rowsMigrated, 2);
+    assertEquals(checkpoints, ImmutableList.of("urn:li:corpuser:test2"));
+
+    // Resume after the last checkpointed key
+    checkpoints.clear();
+    RestoreIndicesArgs resumeArgs = args.clone();
+    resumeArgs.lastUrn = "urn:li:corpuser:test2";
+    resumeArgs.lastAspect = aspectName;
+    result = _entityService.streamRestoreIndices(resumeArgs, line -> { }, (urn, aspect) -> checkpoints.add(urn));
+    assertEquals(result.rowsMigrated, 3);
+    assertEquals(checkpoints, ImmutableList.of("urn:li:corpuser:test4", "urn:li:corpuser:test5"));
+  }
 }
@@ -0,0 +1,133 @@
+package com.linkedin.metadata.entity;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.config.EntityAspectCacheConfiguration;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class EntityAspectCacheTest {
+
+  private static final String TAG_URN = "urn:li:tag:pii";
+  private static final String DATASET_URN = "urn:li:dataset:(urn:li:dataPlatform:hive,table,PROD)";
+
+  private EntityAspectCache _cache;
+  private Map<EntityAspectIdentifier, EntityAspect> _db;
+  private AtomicInteger _loadedKeys;
+
+  @BeforeMethod
+  public void setup() {
+    EntityAspectCacheConfiguration.EntityType tagConfig = new EntityAspectCacheConfiguration.EntityType();
+    tagConfig.setMaxBytes(1000000);
+    tagConfig.setTtlSeconds(600);
+    _cache = new EntityAspectCache(Collections.singletonMap("tag", tagConfig));
+    _db = new HashMap<>();
+    _loadedKeys = new AtomicInteger();
+  }
+
+  @Test
+  public void testCachedAspectIsNotLoadedAgain() {
+    EntityAspectIdentifier key = put(TAG_URN, "tagProperties", "{\"name\":\"pii\"}");
+
+    assertEquals(get(key).getMetadata(), "{\"name\":\"pii\"}");
+    assertEquals(get(key).getMetadata(), "{\"name\":\"pii\"}");
+    assertEquals(_loadedKeys.get(), 1);
+    assertTrue(get(key) instanceof EntityAspectCache.CachedEntityAspect);
+  }
+
+  @Test
+  public void testMissingAspectIsCached() {
+    EntityAspectIdentifier key = new EntityAspectIdentifier(TAG_URN, "ownership", 0);
+
+    assertNull(get(key));
+    assertNull(get(key));
+    assertEquals(_loadedKeys.get(), 1);
+  }
+
+  @Test
+  public void testInvalidate() {
+    EntityAspectIdentifier key = put(TAG_URN, "tagProperties", "{\"name\":\"pii\"}");
+    EntityAspectIdentifier otherKey = put(TAG_URN, "ownership", "{\"owners\":[]}");
+    get(key);
+    get(otherKey);
+
+    put(TAG_URN, "tagProperties", "{\"name\":\"sensitive\"}");
+    _cache.invalidate(TAG_URN, "tagProperties");
+    assertEquals(get(key).getMetadata(), "{\"name\":\"sensitive\"}");
+    get(otherKey);
+    assertEquals(_loadedKeys.get(), 3);
+
+    // Invalidating the whole entity
+    _cache.invalidate(TAG_URN, null);
+    get(key);
+    get(otherKey);
+    assertEquals(_loadedKeys.get(), 5);
+  }
+
+  @Test
+  public void testAspectInvalidatedWhileLoadingIsNotCached() {
+    EntityAspectIdentifier key = put(TAG_URN, "tagProperties", "{\"name\":\"pii\"}");
+
+    EntityAspect loaded = _cache.batchGet(Collections.singleton(key), keys -> {
+      Map<EntityAspectIdentifier, EntityAspect> result = load(keys);
+      // A write completes after the aspect was read
+      put(TAG_URN, "tagProperties", "{\"name\":\"sensitive\"}");
+      _cache.invalidate(TAG_URN, "tagProperties");
+      return result;
+    }).get(key);
+    assertEquals(loaded.getMetadata(), "{\"name\":\"pii\"}");
+
+    assertEquals(get(key).getMetadata(), "{\"name\":\"sensitive\"}");
+    assertEquals(_loadedKeys.get(), 2);
+  }
+
+  @Test
+  public void testUncachedEntityTypeIsAlwaysLoaded() {
+    EntityAspectIdentifier key = put(DATASET_URN, "datasetProperties", "{\"description\":\"table\"}");
+
+    get(key);
+    EntityAspect aspect = get(key);
+    assertEquals(_loadedKeys.get(), 2);
+    assertFalse(aspect instanceof EntityAspectCache.CachedEntityAspect);
+  }
+
+  @Test
+  public void testCopyMetadataIsIndependent() {
+    EntityAspectIdentifier key = put(TAG_URN, "tagProperties", "{\"name\":\"pii\"}");
+    get(key);
+
+    DataMap copy = ((EntityAspectCache.CachedEntityAspect) get(key)).copyMetadata();
+    copy.put("name", "sensitive");
+    assertEquals(((EntityAspectCache.CachedEntityAspect) get(key)).copyMetadata().getString("name"), "pii");
+  }
+
+  private EntityAspectIdentifier put(String urn, String aspectName, String metadata) {
+    EntityAspectIdentifier key = new EntityAspectIdentifier(urn, aspectName, 0);
+    _db.put(key, new EntityAspect(urn, aspectName, 0, metadata, null, new Timestamp(0), "urn:li:corpuser:tester", null));
+    return key;
+  }
+
+  private EntityAspect get(EntityAspectIdentifier key) {
+    return _cache.batchGet(new HashSet<>(Collections.singleton(key)), this::load).get(key);
+  }
+
+  private Map<EntityAspectIdentifier, EntityAspect> load(Set<EntityAspectIdentifier> keys) {
+    Map<EntityAspectIdentifier, EntityAspect> result = new HashMap<>();
+    keys.forEach(key -> {
+      _loadedKeys.incrementAndGet();
+      if (_db.containsKey(key)) {
+        result.put(key, _db.get(key));
+      }
+    });
+    return result;
+  }
+}
@@ -36,6 +36,7 @@ import com.linkedin.metadata.models.registry.MergedEntityRegistry;
 import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.snapshot.CorpUserSnapshot;
 import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.mxe.GenericAspect;
 import com.linkedin.mxe.MetadataAuditOperation;
 import com.linkedin.mxe.MetadataChangeLog;
@@ -441,6 +442,70 @@ abstract public class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
         _entityService.ingestProposal(gmce, TEST_AUDIT_STAMP);
     }
 
+    @Test
+    public void testIngestProposals() throws Exception {
+        Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+        Urn entityUrn2 = UrnUtils.getUrn("urn:li:corpuser:test2");
+
+        CorpUserInfo writeAspect1 = AspectGenerationUtils.createCorpUserInfo("email1@test.com");
+        CorpUserInfo writeAspect1a = AspectGenerationUtils.createCorpUserInfo("email1a@test.com");
+        CorpUserInfo writeAspect2 = AspectGenerationUtils.createCorpUserInfo("email2@test.com");
+        String aspectName = AspectGenerationUtils.getAspectName(writeAspect1);
+
+        // The same (urn, aspect) pair appears twice, the second write should win and version the first one.
+        List<MetadataChangeProposal> proposals = ImmutableList.of(
+            createCorpUserInfoProposal(entityUrn1, writeAspect1),
+            createCorpUserInfoProposal(entityUrn2, writeAspect2),
+            createCorpUserInfoProposal(entityUrn1, writeAspect1a));
+
+        List<EntityService.IngestProposalResult> results = _entityService.ingestProposals(proposals, TEST_AUDIT_STAMP);
+
+        assertEquals(results.size(), 3);
+        assertEquals(results.get(0).getUrn(), entityUrn1);
+        assertEquals(results.get(1).getUrn(), entityUrn2);
+        assertEquals(results.get(2).getUrn(), entityUrn1);
+        assertTrue(results.stream().allMatch(EntityService.IngestProposalResult::isDidUpdate));
+
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1a, _entityService.getLatestAspect(entityUrn1, aspectName)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1, _entityService.getAspect(entityUrn1, aspectName, 1)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect2, _entityService.getLatestAspect(entityUrn2, aspectName)));
+        assertNull(_entityService.getAspect(entityUrn2, aspectName, 1));
+
+        verify(_mockProducer, times(2)).produceMetadataChangeLog(Mockito.eq(entityUrn1), Mockito.any(),
+            Mockito.any(MetadataChangeLog.class));
+        verify(_mockProducer, times(1)).produceMetadataChangeLog(Mockito.eq(entityUrn2), Mockito.any(),
+            Mockito.any(MetadataChangeLog.class));
+
+        reset(_mockProducer);
+
+        // Re-ingesting an unchanged aspect should not produce a change log.
+        results = _entityService.ingestProposals(
+            ImmutableList.of(createCorpUserInfoProposal(entityUrn2, writeAspect2)), TEST_AUDIT_STAMP);
+        assertFalse(results.get(0).isDidUpdate());
+        verifyNoMoreInteractions(_mockProducer);
+    }
+
+    @Test
+    public void testIngestProposalsValidatesWholeBatchBeforeWriting() throws Exception {
+        Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+        Urn invalidUrn = UrnUtils.getUrn("urn:li:corpuser:test2 ");
+
+        CorpUserInfo writeAspect1 = AspectGenerationUtils.createCorpUserInfo("email1@test.com");
+        CorpUserInfo writeAspect1a = AspectGenerationUtils.createCorpUserInfo("email1a@test.com");
+        String aspectName = AspectGenerationUtils.getAspectName(writeAspect1);
+
+        // The invalid proposal would be written in a later transaction than the first one.
+        List<MetadataChangeProposal> proposals = ImmutableList.of(
+            createCorpUserInfoProposal(entityUrn1, writeAspect1),
+            createCorpUserInfoProposal(entityUrn1, writeAspect1a),
+            createCorpUserInfoProposal(invalidUrn, writeAspect1));
+
+        assertThrows(IllegalArgumentException.class, () -> _entityService.ingestProposals(proposals, TEST_AUDIT_STAMP));
+
+        assertNull(_entityService.getLatestAspect(entityUrn1, aspectName));
+        verifyNoMoreInteractions(_mockProducer);
+    }
+
     @Test
     public void testUpdateGetAspect() throws AssertionError {
         // Test Writing a CorpUser Entity
@@ -504,6 +569,47 @@ abstract public class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
         verifyNoMoreInteractions(_mockProducer);
     }
 
+    @Test
+    public void testIngestGetPsonAspects() throws Exception {
+        Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+        Urn entityUrn2 = UrnUtils.getUrn("urn:li:corpuser:test2");
+
+        CorpUserInfo writeAspect1 = AspectGenerationUtils.createCorpUserInfo("email1@test.com");
+        CorpUserInfo writeAspect1a = AspectGenerationUtils.createCorpUserInfo("email1a@test.com");
+        CorpUserInfo writeAspect2 = AspectGenerationUtils.createCorpUserInfo("email2@test.com");
+        String aspectName = AspectGenerationUtils.getAspectName(writeAspect1);
+
+        // 1. Ingest aspects stored as JSON
+        _entityService.ingestProposal(createCorpUserInfoProposal(entityUrn1, writeAspect1), TEST_AUDIT_STAMP);
+        _entityService.ingestProposal(createCorpUserInfoProposal(entityUrn2, writeAspect2), TEST_AUDIT_STAMP);
+
+        // 2. Ingest a new version sent and stored as PSON
+        _entityService.setAspectStorageContentType(GenericRecordUtils.PSON);
+        MetadataChangeProposal psonProposal = createCorpUserInfoProposal(entityUrn1, writeAspect1a);
+        psonProposal.setAspect(GenericRecordUtils.serializeAspect(writeAspect1a, GenericRecordUtils.PSON));
+        _entityService.ingestProposal(psonProposal, TEST_AUDIT_STAMP);
+
+        assertEquals(EntityUtils.getStoredContentType(_aspectDao.getAspect(entityUrn1.toString(), aspectName, 0)
+            .getMetadata()), GenericRecordUtils.PSON);
+        assertEquals(EntityUtils.getStoredContentType(_aspectDao.getAspect(entityUrn2.toString(), aspectName, 0)
+            .getMetadata()), GenericRecordUtils.JSON);
+
+        // 3. Read both formats side by side
+        Map<Urn, List<RecordTemplate>> readAspects =
+            _entityService.getLatestAspects(ImmutableSet.of(entityUrn1, entityUrn2), ImmutableSet.of(aspectName));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1a, readAspects.get(entityUrn1).get(0)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect2, readAspects.get(entityUrn2).get(0)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1, _entityService.getAspect(entityUrn1, aspectName, 1)));
+
+        // 4. Stored aspects convert between formats without their aspect class
+        String psonMetadata = _aspectDao.getAspect(entityUrn1.toString(), aspectName, 0).getMetadata();
+        String jsonMetadata = EntityUtils.convertStoredAspect(psonMetadata, GenericRecordUtils.JSON);
+        assertEquals(EntityUtils.getStoredContentType(jsonMetadata), GenericRecordUtils.JSON);
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1a, RecordUtils.toRecordTemplate(CorpUserInfo.class, jsonMetadata)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1a, EntityUtils.toRecordTemplate(CorpUserInfo.class,
+            EntityUtils.convertStoredAspect(jsonMetadata, GenericRecordUtils.PSON))));
+    }
+
     @Test
     public void testRollbackAspect() throws AssertionError {
         Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
@@ -911,6 +1017,17 @@ abstract public class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
         return entity;
     }
 
+    @Nonnull
+    protected MetadataChangeProposal createCorpUserInfoProposal(Urn entityUrn, CorpUserInfo corpUserInfo) {
+        MetadataChangeProposal proposal = new MetadataChangeProposal();
+        proposal.setEntityUrn(entityUrn);
+        proposal.setChangeType(ChangeType.UPSERT);
+        proposal.setEntityType(entityUrn.getEntityType());
+        proposal.setAspectName(AspectGenerationUtils.getAspectName(corpUserInfo));
+        proposal.setAspect(GenericRecordUtils.serializeAspect(corpUserInfo));
+        return proposal;
+    }
+
     protected <T extends RecordTemplate> Pair<String, RecordTemplate> getAspectRecordPair(T aspect, Class<T> clazz)
         throws Exception {
         final ObjectMapper objectMapper = new ObjectMapper();
@@ -0,0 +1,48 @@
+package com.linkedin.metadata.entity;
+
+import com.datahub.util.RecordUtils;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.schema.MySqlDDL;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.SchemaMetadata;
+import com.linkedin.schema.StringType;
+import java.nio.charset.StandardCharsets;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class EntityUtilsTest {
+
+  @Test
+  public void testStoredPsonIsSmallerThanJson() {
+    final SchemaFieldArray fields = new SchemaFieldArray();
+    for (int i = 0; i < 100; i++) {
+      fields.add(new SchemaField()
+          .setFieldPath("[version=2.0].[type=record].[type=string].column" + i)
+          .setDescription("Description of column " + i)
+          .setType(new SchemaFieldDataType().setType(SchemaFieldDataType.Type.create(new StringType())))
+          .setNativeDataType("varchar(255)")
+          .setNullable(i % 2 == 0));
+    }
+    final SchemaMetadata aspect = new SchemaMetadata().setSchemaName("testSchema")
+        .setPlatformSchema(SchemaMetadata.PlatformSchema.create(new MySqlDDL().setTableSchema("foo")))
+        .setPlatform(new DataPlatformUrn("hive"))
+        .setHash("")
+        .setVersion(0L)
+        .setFields(fields);
+
+    final String json = EntityUtils.toStoredAspect(aspect, GenericRecordUtils.JSON);
+    final String pson = EntityUtils.toStoredAspect(aspect, GenericRecordUtils.PSON);
+
+    assertEquals(EntityUtils.getStoredContentType(pson), GenericRecordUtils.PSON);
+    assertTrue(pson.getBytes(StandardCharsets.UTF_8).length < json.getBytes(StandardCharsets.UTF_8).length / 2);
+    assertTrue(DataTemplateUtil.areEqual(aspect, EntityUtils.toRecordTemplate(SchemaMetadata.class, pson)));
+    assertTrue(DataTemplateUtil.areEqual(aspect, RecordUtils.toRecordTemplate(SchemaMetadata.class,
+        EntityUtils.convertStoredAspect(pson, GenericRecordUtils.JSON))));
+  }
+}
@@ -0,0 +1,169 @@
+package com.linkedin.metadata.event;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+public class AsyncEventProducerTest {
+  private static final Urn URN = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,table,PROD)");
+
+  private final EntityRegistry _entityRegistry = SnapshotEntityRegistry.getInstance();
+  private final AspectSpec _aspectSpec = _entityRegistry.getEntitySpec("dataset").getAspectSpec("status");
+  private EventProducer _mockProducer;
+  private List<MetadataChangeLog> _produced;
+  private String _outboxPath;
+  private MetadataChangeLogOutbox _outbox;
+  private AsyncEventProducer _asyncProducer;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    _mockProducer = mock(EventProducer.class);
+    _produced = Collections.synchronizedList(new ArrayList<>());
+    _outboxPath = Files.createTempDirectory("mcl-outbox").toString();
+    _outbox = new MetadataChangeLogOutbox(_outboxPath);
+    _asyncProducer = new AsyncEventProducer(_mockProducer, _entityRegistry, _outbox, 2, 100, 10, 100, 1000, 1);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    _asyncProducer.close();
+  }
+
+  private static MetadataChangeLog mcl(String runId) {
+    MetadataChangeLog metadataChangeLog = new MetadataChangeLog().setEntityType("dataset")
+        .setEntityUrn(URN)
+        .setChangeType(ChangeType.UPSERT)
+        .setAspectName("status");
+    metadataChangeLog.setSystemMetadata(new com.linkedin.mxe.SystemMetadata().setRunId(runId));
+    return metadataChangeLog;
+  }
+
+  private void succeed() {
+    when(_mockProducer.produceMetadataChangeLog(eq(URN), any(), any())).thenAnswer(invocation -> {
+      _produced.add(invocation.getArgument(2));
+      return CompletableFuture.completedFuture(null);
+    });
+  }
+
+  private void fail() {
+    when(_mockProducer.produceMetadataChangeLog(eq(URN), any(), any())).thenAnswer(invocation -> {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(new RuntimeException("Broker unavailable"));
+      return future;
+    });
+  }
+
+  private void awaitEmptyOutbox() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!_outbox.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+    }
+  }
+
+  private List<String> producedRunIds() {
+    List<String> runIds = new ArrayList<>();
+    synchronized (_produced) {
+      _produced.forEach(metadataChangeLog -> runIds.add(metadataChangeLog.getSystemMetadata().getRunId()));
+    }
+    return runIds;
+  }
+
+  @Test
+  public void testProducesMetadataChangeLog() throws Exception {
+    succeed();
+
+    _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("a")).get(5, TimeUnit.SECONDS);
+    _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("b")).get(5, TimeUnit.SECONDS);
+
+    assertEquals(producedRunIds(), Arrays.asList("a", "b"));
+    assertEquals(_outbox.size(), 0);
+  }
+
+  @Test
+  public void testFailedMetadataChangeLogsAreProducedFromOutboxInOrder() throws Exception {
+    fail();
+    _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("a")).get(5, TimeUnit.SECONDS);
+    assertEquals(_outbox.size(), 1);
+
+    // Queued behind the failed MCL, even though the producer has recovered
+    succeed();
+    _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("b")).get(5, TimeUnit.SECONDS);
+
+    awaitEmptyOutbox();
+    assertEquals(producedRunIds(), Arrays.asList("a", "b"));
+  }
+
+  @Test
+  public void testMetadataChangeLogsAfterFailureInBatchAreProducedAgainInOrder() throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean failedOnce = new AtomicBoolean(false);
+    when(_mockProducer.produceMetadataChangeLog(eq(URN), any(), any())).thenAnswer(invocation -> {
+      MetadataChangeLog metadataChangeLog = invocation.getArgument(2);
+      String runId = metadataChangeLog.getSystemMetadata().getRunId();
+      if (runId.equals("blocking")) {
+        // Hold up the sender so that the next MCLs are produced in one batch
+        sending.countDown();
+        release.await();
+      } else if (runId.equals("b") && failedOnce.compareAndSet(false, true)) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new RuntimeException("Broker unavailable"));
+        return future;
+      }
+      _produced.add(metadataChangeLog);
+      return CompletableFuture.completedFuture(null);
+    });
+
+    _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("blocking"));
+    sending.await(5, TimeUnit.SECONDS);
+    _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("a"));
+    _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("b"));
+    Future<?> last = _asyncProducer.produceMetadataChangeLog(URN, _aspectSpec, mcl("c"));
+    release.countDown();
+    last.get(5, TimeUnit.SECONDS);
+
+    awaitEmptyOutbox();
+    // c was acknowledged before b failed, so it is produced again after b
+    assertEquals(producedRunIds(), Arrays.asList("blocking", "a", "c", "b", "c"));
+  }
+
+  @Test
+  public void testOutboxSurvivesRestart() throws Exception {
+    _outbox.add(mcl("a"));
+    _outbox.add(mcl("b"));
+
+    MetadataChangeLogOutbox reopened = new MetadataChangeLogOutbox(_outboxPath);
+    assertEquals(reopened.size(), 2);
+    List<MetadataChangeLogOutbox.Entry> entries = reopened.peek(10);
+    assertEquals(entries.get(0).getMetadataChangeLog().getSystemMetadata().getRunId(), "a");
+    assertEquals(entries.get(1).getMetadataChangeLog().getSystemMetadata().getRunId(), "b");
+
+    reopened.add(mcl("c"));
+    reopened.remove(entries.get(0));
+    assertEquals(reopened.peek(10).get(1).getMetadataChangeLog().getSystemMetadata().getRunId(), "c");
+  }
+}
@@ -47,4 +47,20 @@ public class FieldExtractorTest {
     assertEquals(result.get(nameToSpec.get("customProperties")), ImmutableList.of("key1=value1", "key2=value2"));
     assertEquals(result.get(nameToSpec.get("esObjectField")), ImmutableList.of("key1=value1", "key2=value2"));
   }
+
+  @Test
+  public void testCompiledExtractorMatchesReflectiveExtractor() {
+    EntitySpec testEntitySpec = TestEntitySpecBuilder.getSpec();
+    AspectSpec testEntityInfoSpec = testEntitySpec.getAspectSpec("testEntityInfo");
+
+    for (TestEntityInfo testEntityInfo : ImmutableList.of(new TestEntityInfo(),
+        TestEntityUtil.getTestEntityInfo(TestEntityUtil.getTestEntityUrn()))) {
+      assertEquals(
+          testEntityInfoSpec.getFieldExtractor().extractFields(testEntityInfo, testEntityInfoSpec.getSearchableFieldSpecs()),
+          FieldExtractor.extractFields(testEntityInfo, testEntityInfoSpec.getSearchableFieldSpecs()));
+      assertEquals(
+          testEntityInfoSpec.getFieldExtractor().extractFields(testEntityInfo, testEntityInfoSpec.getRelationshipFieldSpecs()),
+          FieldExtractor.extractFields(testEntityInfo, testEntityInfoSpec.getRelationshipFieldSpecs()));
+    }
+  }
 }
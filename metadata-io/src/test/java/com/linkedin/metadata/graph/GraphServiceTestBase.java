@@ -28,6 +28,7 @@ import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -451,6 +452,109 @@ abstract public class GraphServiceTestBase {
     assertEquals(relationships.get(dataJobTwoUrn).getType(), downstreamOf);
   }
 
+  @Test
+  public void testPopulatedGraphServiceGetLineageMultihop() throws Exception {
+    GraphService service = getLineagePopulatedGraphService();
+    if (!service.supportsMultiHop()) {
+      throw new SkipException("Graph service does not support multi-hop lineage");
+    }
+
+    EntityLineageResult upstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.UPSTREAM, 0, 1000, 2);
+    assertEquals(upstreamLineage.getTotal().intValue(), 0);
+    assertEquals(upstreamLineage.getRelationships().size(), 0);
+
+    EntityLineageResult downstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 1000, 2);
+    assertEquals(downstreamLineage.getTotal().intValue(), 5);
+    assertEquals(downstreamLineage.getRelationships().size(), 5);
+    Map<Urn, LineageRelationship> relationships = downstreamLineage.getRelationships().stream().collect(Collectors.toMap(LineageRelationship::getEntity,
+        Function.identity()));
+    assertTrue(relationships.containsKey(datasetTwoUrn));
+    assertEquals(relationships.get(datasetTwoUrn).getDegree().intValue(), 1);
+    assertTrue(relationships.containsKey(datasetThreeUrn));
+    assertEquals(relationships.get(datasetThreeUrn).getDegree().intValue(), 2);
+    assertTrue(relationships.containsKey(datasetFourUrn));
+    assertEquals(relationships.get(datasetFourUrn).getDegree().intValue(), 2);
+    assertTrue(relationships.containsKey(dataJobOneUrn));
+    assertEquals(relationships.get(dataJobOneUrn).getDegree().intValue(), 1);
+    assertTrue(relationships.containsKey(dataJobTwoUrn));
+    assertEquals(relationships.get(dataJobTwoUrn).getDegree().intValue(), 1);
+
+    upstreamLineage = service.getLineage(datasetThreeUrn, LineageDirection.UPSTREAM, 0, 1000, 2);
+    assertEquals(upstreamLineage.getTotal().intValue(), 3);
+    assertEquals(upstreamLineage.getRelationships().size(), 3);
+    relationships = upstreamLineage.getRelationships().stream().collect(Collectors.toMap(LineageRelationship::getEntity,
+        Function.identity()));
+    assertTrue(relationships.containsKey(datasetOneUrn));
+    assertEquals(relationships.get(datasetOneUrn).getDegree().intValue(), 2);
+    assertTrue(relationships.containsKey(datasetTwoUrn));
+    assertEquals(relationships.get(datasetTwoUrn).getDegree().intValue(), 1);
+    assertTrue(relationships.containsKey(dataJobOneUrn));
+    assertEquals(relationships.get(dataJobOneUrn).getDegree().intValue(), 1);
+
+    downstreamLineage = service.getLineage(datasetThreeUrn, LineageDirection.DOWNSTREAM, 0, 1000, 2);
+    assertEquals(downstreamLineage.getTotal().intValue(), 0);
+    assertEquals(downstreamLineage.getRelationships().size(), 0);
+
+    // pages of the same traversal
+    downstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 3, 2);
+    EntityLineageResult nextPage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 3, 3, 2);
+    assertEquals(downstreamLineage.getTotal().intValue(), 5);
+    assertEquals(downstreamLineage.getRelationships().size(), 3);
+    assertEquals(nextPage.getTotal().intValue(), 5);
+    assertEquals(nextPage.getRelationships().size(), 2);
+    Set<Urn> pagedEntities = new HashSet<>();
+    downstreamLineage.getRelationships().forEach(relationship -> pagedEntities.add(relationship.getEntity()));
+    nextPage.getRelationships().forEach(relationship -> pagedEntities.add(relationship.getEntity()));
+    assertEquals(pagedEntities.size(), 5);
+
+    // entity types outside of the filters are neither returned nor traversed
+    downstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM,
+        new GraphFilters(Collections.singletonList(datasetType)), 0, 1000, 2);
+    assertEquals(downstreamLineage.getTotal().intValue(), 3);
+    assertTrue(downstreamLineage.getRelationships().stream()
+        .allMatch(relationship -> relationship.getEntity().getEntityType().equals(datasetType)));
+  }
+
+  @Test
+  public void testGetLineageMultihopChain() throws Exception {
+    GraphService service = getGraphService();
+    if (!service.supportsMultiHop()) {
+      throw new SkipException("Graph service does not support multi-hop lineage");
+    }
+
+    // a chain of datasets, where each dataset is also consumed by a job that produces the next one
+    int datasets = 50;
+    List<Urn> datasetUrns = IntStream.range(0, datasets)
+        .mapToObj(idx -> createFromString(
+            "urn:li:" + datasetType + ":(urn:li:dataPlatform:type,SampleChainDataset" + idx + ",PROD)"))
+        .collect(Collectors.toList());
+    List<Edge> edges = new ArrayList<>();
+    for (int idx = 1; idx < datasets; idx++) {
+      Urn jobUrn = new DataJobUrn(new DataFlowUrn("orchestrator", "chain", "cluster"), "job" + idx);
+      edges.add(new Edge(datasetUrns.get(idx), datasetUrns.get(idx - 1), downstreamOf));
+      edges.add(new Edge(jobUrn, datasetUrns.get(idx - 1), consumes));
+      edges.add(new Edge(jobUrn, datasetUrns.get(idx), produces));
+    }
+    edges.forEach(service::addEdge);
+    syncAfterWrite();
+
+    EntityLineageResult downstreamLineage =
+        service.getLineage(datasetUrns.get(0), LineageDirection.DOWNSTREAM, 0, 1000, 1000);
+
+    assertEquals(downstreamLineage.getTotal().intValue(), 2 * (datasets - 1));
+    Map<Urn, LineageRelationship> relationships = downstreamLineage.getRelationships().stream()
+        .collect(Collectors.toMap(LineageRelationship::getEntity, Function.identity()));
+    // datasets are reached directly rather than through the job in between
+    for (int idx = 1; idx < datasets; idx++) {
+      assertEquals(relationships.get(datasetUrns.get(idx)).getDegree().intValue(), idx);
+      assertEquals(relationships.get(datasetUrns.get(idx)).getType(), downstreamOf);
+    }
+
+    EntityLineageResult limitedLineage = service.getLineage(datasetUrns.get(0), LineageDirection.DOWNSTREAM, 0, 1000, 3);
+    assertEquals(limitedLineage.getTotal().intValue(), 6);
+    assertTrue(limitedLineage.getRelationships().stream().allMatch(relationship -> relationship.getDegree() <= 3));
+  }
+
   @DataProvider(name = "FindRelatedEntitiesSourceEntityFilterTests")
   public Object[][] getFindRelatedEntitiesSourceEntityFilterTests() {
     return new Object[][] {
@@ -1372,6 +1476,169 @@ abstract public class GraphServiceTestBase {
     assertEqualsAnyOrder(entitiesBeforeRemove, entitiesAfterRemove);
   }
 
+  @Test
+  public void testRemoveEdge() throws Exception {
+    GraphService service = getPopulatedGraphService();
+
+    service.removeEdge(new Edge(datasetThreeUrn, datasetTwoUrn, downstreamOf));
+    // removing an edge that does not exist is a no-op
+    service.removeEdge(new Edge(datasetOneUrn, datasetTwoUrn, downstreamOf));
+    syncAfterWrite();
+
+    // assert the modified graph, datasetThree still exists and keeps its other edges
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, EMPTY_FILTER,
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(downstreamOf), outgoingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(downstreamOfDatasetOneRelatedEntity, downstreamOfDatasetTwoRelatedEntity)
+    );
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, newFilter("urn", datasetThreeUrnString),
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(hasOwner), outgoingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(hasOwnerUserTwoRelatedEntity)
+    );
+  }
+
+  @Test
+  public void testAddEdges() throws Exception {
+    GraphService service = getGraphService();
+
+    service.addEdges(Arrays.asList(
+            new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf),
+            new Edge(datasetThreeUrn, datasetTwoUrn, downstreamOf),
+            new Edge(datasetFourUrn, datasetTwoUrn, downstreamOf),
+            new Edge(datasetOneUrn, userOneUrn, hasOwner),
+            new Edge(datasetTwoUrn, userOneUrn, hasOwner),
+            // an edge between a node and itself
+            new Edge(userOneUrn, userOneUrn, knowsUser)
+    ));
+    // adding no edges is a no-op
+    service.addEdges(Collections.emptyList());
+    syncAfterWrite();
+
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, newFilter("urn", datasetTwoUrnString),
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(downstreamOf, hasOwner), outgoingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(downstreamOfDatasetOneRelatedEntity, hasOwnerUserOneRelatedEntity)
+    );
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, newFilter("urn", datasetTwoUrnString),
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(downstreamOf), incomingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(downstreamOfDatasetThreeRelatedEntity, downstreamOfDatasetFourRelatedEntity)
+    );
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, newFilter("urn", userOneUrnString),
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(knowsUser), outgoingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(knowsUserOneRelatedEntity)
+    );
+  }
+
+  @Test
+  public void testRemoveEdges() throws Exception {
+    GraphService service = getPopulatedGraphService();
+
+    service.removeEdges(Arrays.asList(
+            new Edge(datasetThreeUrn, datasetTwoUrn, downstreamOf),
+            new Edge(datasetThreeUrn, userTwoUrn, hasOwner),
+            // removing an edge that does not exist is a no-op
+            new Edge(datasetOneUrn, datasetTwoUrn, downstreamOf)
+    ));
+    syncAfterWrite();
+
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, EMPTY_FILTER,
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(downstreamOf), outgoingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(downstreamOfDatasetOneRelatedEntity, downstreamOfDatasetTwoRelatedEntity)
+    );
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, newFilter("urn", datasetThreeUrnString),
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(downstreamOf, hasOwner), outgoingRelationships,
+                    0, 100
+            ),
+            Collections.emptyList()
+    );
+  }
+
+  @Test
+  public void testReplaceEdges() throws Exception {
+    GraphService service = getPopulatedGraphService();
+
+    service.replaceEdges(datasetTwoUrn, Arrays.asList(downstreamOf, hasOwner),
+            Arrays.asList(new Edge(datasetTwoUrn, datasetThreeUrn, downstreamOf)));
+    syncAfterWrite();
+
+    // the outgoing edges of the replaced types are replaced, incoming edges are kept
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, newFilter("urn", datasetTwoUrnString),
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(downstreamOf, hasOwner), outgoingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(downstreamOfDatasetThreeRelatedEntity)
+    );
+    assertEqualsAnyOrder(
+            service.findRelatedEntities(
+                    anyType, newFilter("urn", datasetTwoUrnString),
+                    anyType, EMPTY_FILTER,
+                    Arrays.asList(downstreamOf), incomingRelationships,
+                    0, 100
+            ),
+            Arrays.asList(downstreamOfDatasetThreeRelatedEntity, downstreamOfDatasetFourRelatedEntity)
+    );
+  }
+
+  @Test
+  public void testAddEdgesOneByOneAndBatched() throws Exception {
+    GraphService service = getGraphService();
+
+    // the fine grained lineage of a wide dataset
+    int numEdges = 500;
+    List<Edge> edges = IntStream.range(0, numEdges)
+        .mapToObj(idx -> new Edge(datasetOneUrn, createFromString(
+            "urn:li:" + datasetType + ":(urn:li:dataPlatform:type,SampleUpstreamDataset" + idx + ",PROD)"),
+            downstreamOf))
+        .collect(Collectors.toList());
+
+    edges.forEach(service::addEdge);
+    syncAfterWrite();
+    assertEquals(service.findRelatedEntities(anyType, newFilter("urn", datasetOneUrnString), anyType, EMPTY_FILTER,
+        Arrays.asList(downstreamOf), outgoingRelationships, 0, 2 * numEdges).getTotal(), numEdges);
+
+    service.clear();
+    syncAfterWrite();
+
+    service.addEdges(edges);
+    syncAfterWrite();
+    assertEquals(service.findRelatedEntities(anyType, newFilter("urn", datasetOneUrnString), anyType, EMPTY_FILTER,
+        Arrays.asList(downstreamOf), outgoingRelationships, 0, 2 * numEdges).getTotal(), numEdges);
+  }
+
   @Test
   public void testClear() throws Exception {
     GraphService service = getPopulatedGraphService();
@@ -1,8 +1,12 @@
 package com.linkedin.metadata.graph.dgraph;
 
 import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.GraphServiceTestBase;
+import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
@@ -30,6 +34,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -403,6 +408,68 @@ public class DgraphGraphServiceTest extends GraphServiceTestBase {
         //       relationshipTypeFilterNames do not have the same size
     }
 
+    @Test
+    public void testGetQueryForLineage() {
+        List<DgraphGraphService.LineageStep> steps = Arrays.asList(
+                new DgraphGraphService.LineageStep("dataset", "DownstreamOf", RelationshipDirection.INCOMING, "dataset"),
+                new DgraphGraphService.LineageStep("dataset", "Consumes", RelationshipDirection.INCOMING, "dataJob")
+        );
+
+        assertEquals(
+                DgraphGraphService.getQueryForLineage(null, null, steps, 2),
+                "query lineage($urn: string) {\n"
+                        + "  frontier0 as var(func: eq(<urn>, $urn))\n"
+                        + "  visited0 as var(func: uid(frontier0))\n"
+                        + "  start(func: uid(frontier0)) { uid }\n"
+                        + "  var(func: uid(frontier0)) @filter(eq(<type>, \"dataset\")) {\n"
+                        + "    hop1_0 as <~DownstreamOf> @filter(eq(<type>, \"dataset\") AND NOT uid(visited0))\n"
+                        + "    hop1_1 as <~Consumes> @filter(eq(<type>, \"dataJob\") AND NOT uid(visited0))\n"
+                        + "  }\n"
+                        + "  frontier1 as var(func: uid(hop1_0, hop1_1))\n"
+                        + "  visited1 as var(func: uid(visited0, frontier1))\n"
+                        + "  hop1_0(func: uid(hop1_0)) { uid <urn> }\n"
+                        + "  hop1_1(func: uid(hop1_1)) { uid <urn> }\n"
+                        + "  var(func: uid(frontier1)) @filter(eq(<type>, \"dataset\")) {\n"
+                        + "    hop2_0 as <~DownstreamOf> @filter(eq(<type>, \"dataset\") AND NOT uid(visited1))\n"
+                        + "    hop2_1 as <~Consumes> @filter(eq(<type>, \"dataJob\") AND NOT uid(visited1))\n"
+                        + "  }\n"
+                        + "  hop2_0(func: uid(hop2_0)) { uid <urn> }\n"
+                        + "  hop2_1(func: uid(hop2_1)) { uid <urn> }\n"
+                        + "}"
+        );
+
+        // continuing from the frontier of a previous query
+        assertEquals(
+                DgraphGraphService.getQueryForLineage(Arrays.asList("0x2"), Arrays.asList("0x1", "0x2"),
+                        steps.subList(0, 1), 1),
+                "query {\n"
+                        + "  frontier0 as var(func: uid(0x2))\n"
+                        + "  visited0 as var(func: uid(0x1, 0x2))\n"
+                        + "  start(func: uid(frontier0)) { uid }\n"
+                        + "  var(func: uid(frontier0)) @filter(eq(<type>, \"dataset\")) {\n"
+                        + "    hop1_0 as <~DownstreamOf> @filter(eq(<type>, \"dataset\") AND NOT uid(visited0))\n"
+                        + "  }\n"
+                        + "  hop1_0(func: uid(hop1_0)) { uid <urn> }\n"
+                        + "}"
+        );
+    }
+
+    @Test
+    public void testGetLineageOfUrnWithQuotes() throws Exception {
+        GraphService service = getGraphService();
+        service.addEdge(new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf));
+        syncAfterWrite();
+
+        // the quotes, backslash and braces of the urn must not be parsed as part of the query
+        Urn urn = Urn.createFromString("urn:li:dataset:(urn:li:dataPlatform:type,Sample\"Dataset\\\" { uid },PROD)");
+        EntityLineageResult lineage = service.getLineage(urn, LineageDirection.DOWNSTREAM, 0, 1000, 1);
+        assertEquals(lineage.getTotal().intValue(), 0);
+
+        lineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 1000, 1);
+        assertEquals(lineage.getTotal().intValue(), 1);
+        assertEquals(lineage.getRelationships().get(0).getEntity(), datasetTwoUrn);
+    }
+
     @Test
     public void testGetRelationships() {
         // no relationships
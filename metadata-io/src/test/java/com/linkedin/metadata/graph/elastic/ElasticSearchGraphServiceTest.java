@@ -1,8 +1,10 @@
 package com.linkedin.metadata.graph.elastic;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.ElasticSearchTestUtils;
 import com.linkedin.metadata.ElasticTestUtils;
+import com.linkedin.metadata.graph.Edge;
 import com.linkedin.metadata.graph.EntityLineageResult;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.GraphServiceTestBase;
@@ -30,14 +32,13 @@ import javax.annotation.Nonnull;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.linkedin.metadata.DockerTestUtils.checkContainerEngine;
 import static com.linkedin.metadata.graph.elastic.ElasticSearchGraphService.INDEX_NAME;
 import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
 
 
 public class ElasticSearchGraphServiceTest extends GraphServiceTestBase {
@@ -66,8 +67,13 @@ public class ElasticSearchGraphServiceTest extends GraphServiceTestBase {
 
   @Nonnull
   private ElasticSearchGraphService buildService() {
+    return buildService(ESGraphQueryDAO.DEFAULT_LINEAGE_PAGE_SIZE);
+  }
+
+  @Nonnull
+  private ElasticSearchGraphService buildService(int lineagePageSize) {
     LineageRegistry lineageRegistry = new LineageRegistry(SnapshotEntityRegistry.getInstance());
-    ESGraphQueryDAO readDAO = new ESGraphQueryDAO(_searchClient, lineageRegistry, _indexConvention);
+    ESGraphQueryDAO readDAO = new ESGraphQueryDAO(_searchClient, lineageRegistry, _indexConvention, lineagePageSize);
     ESGraphWriteDAO writeDAO =
         new ESGraphWriteDAO(_searchClient, _indexConvention, ElasticSearchServiceTest.getBulkProcessor(_searchClient));
     return new ElasticSearchGraphService(lineageRegistry, _searchClient, _indexConvention, writeDAO, readDAO,
@@ -187,6 +193,25 @@ public class ElasticSearchGraphServiceTest extends GraphServiceTestBase {
     throw new SkipException("ElasticSearchGraphService does not support empty list of relationship types");
   }
 
+  @Test
+  public void testGetLineageWithMoreEdgesThanOnePage() throws Exception {
+    // Pages of 2 edges, so that the 5 downstream edges of the dataset take 3 search_after pages
+    ElasticSearchGraphService service = buildService(2);
+    Set<Urn> downstreamUrns = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      Urn downstreamUrn = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,Downstream" + i + ",PROD)");
+      downstreamUrns.add(downstreamUrn);
+      service.addEdge(new Edge(downstreamUrn, datasetOneUrn, downstreamOf));
+    }
+    syncAfterWrite();
+
+    EntityLineageResult lineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 1000, 1);
+    assertEquals(lineage.getTotal().intValue(), 5);
+    assertEquals(lineage.getRelationships().stream().map(LineageRelationship::getEntity).collect(Collectors.toSet()),
+        downstreamUrns);
+    assertFalse(lineage.isPartial());
+  }
+
   @Test
   @Override
   public void testConcurrentAddEdge() {
@@ -208,45 +233,4 @@ public class ElasticSearchGraphServiceTest extends GraphServiceTestBase {
     // https://github.com/datahub-project/datahub/issues/3118
     throw new SkipException("ElasticSearchGraphService produces duplicates");
   }
-
-  @Test
-  public void testPopulatedGraphServiceGetLineageMultihop() throws Exception {
-    GraphService service = getLineagePopulatedGraphService();
-
-    EntityLineageResult upstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.UPSTREAM, 0, 1000, 2);
-    assertEquals(upstreamLineage.getTotal().intValue(), 0);
-    assertEquals(upstreamLineage.getRelationships().size(), 0);
-
-    EntityLineageResult downstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 1000, 2);
-    assertEquals(downstreamLineage.getTotal().intValue(), 5);
-    assertEquals(downstreamLineage.getRelationships().size(), 5);
-    Map<Urn, LineageRelationship> relationships = downstreamLineage.getRelationships().stream().collect(Collectors.toMap(LineageRelationship::getEntity,
-        Function.identity()));
-    assertTrue(relationships.containsKey(datasetTwoUrn));
-    assertEquals(relationships.get(datasetTwoUrn).getDegree().intValue(), 1);
-    assertTrue(relationships.containsKey(datasetThreeUrn));
-    assertEquals(relationships.get(datasetThreeUrn).getDegree().intValue(), 2);
-    assertTrue(relationships.containsKey(datasetFourUrn));
-    assertEquals(relationships.get(datasetFourUrn).getDegree().intValue(), 2);
-    assertTrue(relationships.containsKey(dataJobOneUrn));
-    assertEquals(relationships.get(dataJobOneUrn).getDegree().intValue(), 1);
-    assertTrue(relationships.containsKey(dataJobTwoUrn));
-    assertEquals(relationships.get(dataJobTwoUrn).getDegree().intValue(), 1);
-
-    upstreamLineage = service.getLineage(datasetThreeUrn, LineageDirection.UPSTREAM, 0, 1000, 2);
-    assertEquals(upstreamLineage.getTotal().intValue(), 3);
-    assertEquals(upstreamLineage.getRelationships().size(), 3);
-    relationships = upstreamLineage.getRelationships().stream().collect(Collectors.toMap(LineageRelationship::getEntity,
-        Function.identity()));
-    assertTrue(relationships.containsKey(datasetOneUrn));
-    assertEquals(relationships.get(datasetOneUrn).getDegree().intValue(), 2);
-    assertTrue(relationships.containsKey(datasetTwoUrn));
-    assertEquals(relationships.get(datasetTwoUrn).getDegree().intValue(), 1);
-    assertTrue(relationships.containsKey(dataJobOneUrn));
-    assertEquals(relationships.get(dataJobOneUrn).getDegree().intValue(), 1);
-
-    downstreamLineage = service.getLineage(datasetThreeUrn, LineageDirection.DOWNSTREAM, 0, 1000, 2);
-    assertEquals(downstreamLineage.getTotal().intValue(), 0);
-    assertEquals(downstreamLineage.getRelationships().size(), 0);
-  }
 }
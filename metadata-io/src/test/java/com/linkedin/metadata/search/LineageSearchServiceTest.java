@@ -19,6 +19,7 @@ import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
 import com.linkedin.metadata.search.aggregator.AllEntitiesSearchAggregator;
 import com.linkedin.metadata.search.cache.CachingAllEntitiesSearchAggregator;
 import com.linkedin.metadata.search.cache.EntityDocCountCache;
+import com.linkedin.metadata.search.cache.LineageCacheInvalidator;
 import com.linkedin.metadata.search.client.CachingEntitySearchService;
 import com.linkedin.metadata.search.elasticsearch.ElasticSearchService;
 import com.linkedin.metadata.search.elasticsearch.ElasticSearchServiceTest;
@@ -43,12 +44,16 @@ import org.testng.annotations.Test;
 import javax.annotation.Nonnull;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.linkedin.metadata.DockerTestUtils.checkContainerEngine;
 import static com.linkedin.metadata.ElasticSearchTestUtils.syncAfterWrite;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
@@ -63,6 +68,7 @@ public class LineageSearchServiceTest {
   private ElasticSearchService _elasticSearchService;
   private GraphService _graphService;
   private CacheManager _cacheManager;
+  private LineageCacheInvalidator _lineageCacheInvalidator;
   private LineageSearchService _lineageSearchService;
 
   private static final String ENTITY_NAME = "testEntity";
@@ -87,6 +93,7 @@ public class LineageSearchServiceTest {
     _elasticSearchService.configure();
     _cacheManager = new ConcurrentMapCacheManager();
     _graphService = mock(GraphService.class);
+    _lineageCacheInvalidator = new LineageCacheInvalidator(TimeUnit.MINUTES.toMillis(10));
     resetService();
   }
 
@@ -102,7 +109,7 @@ public class LineageSearchServiceTest {
                 100,
                 true),
             new SimpleRanker()),
-        _graphService, _cacheManager.getCache("test"));
+        _graphService, _cacheManager.getCache("test"), _lineageCacheInvalidator);
   }
 
   @BeforeMethod
@@ -248,4 +255,33 @@ public class LineageSearchServiceTest {
             null, null, null, 0, 10);
     assertEquals(searchResult.getNumEntities().intValue(), 0);
   }
+
+  @Test
+  public void testLineageCache() throws Exception {
+    reset(_graphService);
+    when(_graphService.getLineage(eq(TEST_URN), eq(LineageDirection.DOWNSTREAM), anyInt(), anyInt(),
+        anyInt())).thenReturn(mockResult(Collections.emptyList()));
+
+    // Paging through the same lineage only traverses the graph once
+    _lineageSearchService.searchAcrossLineage(TEST_URN, LineageDirection.DOWNSTREAM, ImmutableList.of(), "test",
+        null, null, null, 0, 10);
+    _lineageSearchService.searchAcrossLineage(TEST_URN, LineageDirection.DOWNSTREAM, ImmutableList.of(), "test",
+        null, null, null, 10, 10);
+    verify(_graphService, times(1)).getLineage(eq(TEST_URN), eq(LineageDirection.DOWNSTREAM), anyInt(), anyInt(),
+        eq(1000));
+
+    // A different number of hops is a different traversal
+    _lineageSearchService.searchAcrossLineage(TEST_URN, LineageDirection.DOWNSTREAM, ImmutableList.of(), "test",
+        1, null, null, 0, 10);
+    verify(_graphService, times(1)).getLineage(eq(TEST_URN), eq(LineageDirection.DOWNSTREAM), anyInt(), anyInt(),
+        eq(1));
+
+    // Writing lineage edges of the source entity invalidates its cached traversals
+    _lineageCacheInvalidator.markUpdated(ImmutableList.of(TEST_URN));
+    _lineageSearchService.searchAcrossLineage(TEST_URN, LineageDirection.DOWNSTREAM, ImmutableList.of(), "test",
+        null, null, null, 0, 10);
+    verify(_graphService, times(2)).getLineage(eq(TEST_URN), eq(LineageDirection.DOWNSTREAM), anyInt(), anyInt(),
+        eq(1000));
+    clearCache();
+  }
 }
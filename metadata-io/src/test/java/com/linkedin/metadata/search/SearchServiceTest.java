@@ -4,11 +4,19 @@ import com.datahub.test.Snapshot;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.urn.TestEntityUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.ElasticTestUtils;
+import com.linkedin.metadata.models.DefaultEntitySpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.EventSpec;
+import com.linkedin.metadata.models.annotation.EntityAnnotation;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.query.filter.SortCriterion;
+import com.linkedin.metadata.query.filter.SortOrder;
 import com.linkedin.metadata.search.aggregator.AllEntitiesSearchAggregator;
 import com.linkedin.metadata.search.cache.CachingAllEntitiesSearchAggregator;
 import com.linkedin.metadata.search.cache.EntityDocCountCache;
@@ -34,6 +42,7 @@ import org.testng.annotations.Test;
 
 import javax.annotation.Nonnull;
 import java.util.Collections;
+import java.util.Map;
 
 import static com.linkedin.metadata.DockerTestUtils.checkContainerEngine;
 import static com.linkedin.metadata.ElasticSearchTestUtils.syncAfterWrite;
@@ -52,10 +61,14 @@ public class SearchServiceTest {
   private SearchService _searchService;
 
   private static final String ENTITY_NAME = "testEntity";
+  // A copy of the test entity, so that hits of several entities are searched in their own indices
+  private static final String OTHER_ENTITY_NAME = "otherTestEntity";
+  // Boosted far enough that its hits rank above those of the other entity
+  private static final float ENTITY_BOOST = 10.0f;
 
   @BeforeClass
   public void setup() {
-    _entityRegistry = new SnapshotEntityRegistry(new Snapshot());
+    _entityRegistry = buildEntityRegistry();
     _indexConvention = new IndexConventionImpl(null);
     _elasticsearchContainer = ElasticTestUtils.getNewElasticsearchContainer();
     _settingsBuilder = new SettingsBuilder(Collections.emptyList(), null);
@@ -69,21 +82,27 @@ public class SearchServiceTest {
   }
 
   private void resetSearchService() {
+    _searchService = buildSearchService(false);
+  }
+
+  private SearchService buildSearchService(boolean searchAcrossIndices) {
     CachingEntitySearchService cachingEntitySearchService = new CachingEntitySearchService(
         _cacheManager,
         _elasticSearchService,
         100,
         true);
-    _searchService = new SearchService(
-      new EntityDocCountCache(_entityRegistry, _elasticSearchService),
+    EntityDocCountCache entityDocCountCache = new EntityDocCountCache(_entityRegistry, _elasticSearchService);
+    return new SearchService(
+      entityDocCountCache,
       cachingEntitySearchService,
       new CachingAllEntitiesSearchAggregator(
           _cacheManager,
           new AllEntitiesSearchAggregator(
-              _entityRegistry,
               _elasticSearchService,
               cachingEntitySearchService,
-              new SimpleRanker()),
+              new SimpleRanker(),
+              entityDocCountCache,
+              searchAcrossIndices),
           100,
           true),
       new SimpleRanker());
@@ -95,12 +114,46 @@ public class SearchServiceTest {
     syncAfterWrite(_searchClient);
   }
 
+  @Nonnull
+  private static EntityRegistry buildEntityRegistry() {
+    EntitySpec entitySpec = new SnapshotEntityRegistry(new Snapshot()).getEntitySpec(ENTITY_NAME);
+    EntitySpec otherEntitySpec = new DefaultEntitySpec(entitySpec.getAspectSpecs(),
+        new EntityAnnotation(OTHER_ENTITY_NAME, entitySpec.getKeyAspectName()), entitySpec.getSnapshotSchema());
+    Map<String, EntitySpec> entitySpecs = ImmutableMap.of(ENTITY_NAME.toLowerCase(), entitySpec,
+        OTHER_ENTITY_NAME.toLowerCase(), otherEntitySpec);
+    return new EntityRegistry() {
+      @Nonnull
+      @Override
+      public EntitySpec getEntitySpec(@Nonnull String entityName) {
+        return entitySpecs.get(entityName.toLowerCase());
+      }
+
+      @Override
+      public EventSpec getEventSpec(@Nonnull String eventName) {
+        return null;
+      }
+
+      @Nonnull
+      @Override
+      public Map<String, EntitySpec> getEntitySpecs() {
+        return entitySpecs;
+      }
+
+      @Nonnull
+      @Override
+      public Map<String, EventSpec> getEventSpecs() {
+        return Collections.emptyMap();
+      }
+    };
+  }
+
   @Nonnull
   private ElasticSearchService buildEntitySearchService() {
     EntityIndexBuilders indexBuilders =
         new EntityIndexBuilders(ElasticSearchServiceTest.getIndexBuilder(_searchClient), _entityRegistry,
             _indexConvention, _settingsBuilder);
-    ESSearchDAO searchDAO = new ESSearchDAO(_entityRegistry, _searchClient, _indexConvention);
+    ESSearchDAO searchDAO = new ESSearchDAO(_entityRegistry, _searchClient, _indexConvention,
+        ImmutableMap.of(ENTITY_NAME.toLowerCase(), ENTITY_BOOST));
     ESBrowseDAO browseDAO = new ESBrowseDAO(_entityRegistry, _searchClient, _indexConvention);
     ESWriteDAO writeDAO = new ESWriteDAO(_entityRegistry, _searchClient, _indexConvention,
         ElasticSearchServiceTest.getBulkProcessor(_searchClient));
@@ -160,4 +213,107 @@ public class SearchServiceTest {
     searchResult = _searchService.searchAcrossEntities(ImmutableList.of(), "test", null, null, 0, 10, null);
     assertEquals(searchResult.getNumEntities().intValue(), 0);
   }
+
+  @Test
+  public void testSearchAcrossIndices() throws Exception {
+    SearchService searchService = buildSearchService(true);
+    SearchResult searchResult =
+        searchService.searchAcrossEntities(ImmutableList.of(ENTITY_NAME), "test", null, null, 0, 10, null);
+    assertEquals(searchResult.getNumEntities().intValue(), 0);
+    clearCache();
+
+    Urn urn = new TestEntityUrn("test", "testUrn", "VALUE_1");
+    ObjectNode document = JsonNodeFactory.instance.objectNode();
+    document.set("urn", JsonNodeFactory.instance.textNode(urn.toString()));
+    document.set("keyPart1", JsonNodeFactory.instance.textNode("test"));
+    document.set("textFieldOverride", JsonNodeFactory.instance.textNode("textFieldOverride"));
+    document.set("browsePaths", JsonNodeFactory.instance.textNode("/a/b/c"));
+    _elasticSearchService.upsertDocument(ENTITY_NAME, document.toString(), urn.toString());
+    Urn urn2 = new TestEntityUrn("test", "testUrn2", "VALUE_2");
+    ObjectNode document2 = JsonNodeFactory.instance.objectNode();
+    document2.set("urn", JsonNodeFactory.instance.textNode(urn2.toString()));
+    document2.set("keyPart1", JsonNodeFactory.instance.textNode("random"));
+    document2.set("textFieldOverride", JsonNodeFactory.instance.textNode("textFieldOverride2"));
+    document2.set("browsePaths", JsonNodeFactory.instance.textNode("/b/c"));
+    _elasticSearchService.upsertDocument(ENTITY_NAME, document2.toString(), urn2.toString());
+    syncAfterWrite(_searchClient);
+
+    searchService = buildSearchService(true);
+    searchResult = searchService.searchAcrossEntities(ImmutableList.of(), "test", null, null, 0, 10, null);
+    assertEquals(searchResult.getNumEntities().intValue(), 1);
+    assertEquals(searchResult.getEntities().get(0).getEntity(), urn);
+    // The hits of each entity are counted by the same query, and the count of the entity comes first
+    AggregationMetadata entityAggregation = searchResult.getMetadata().getAggregations().get(0);
+    assertEquals(entityAggregation.getName(), "entity");
+    assertEquals(entityAggregation.getAggregations().get(ENTITY_NAME.toLowerCase()).longValue(), 1L);
+    clearCache();
+
+    searchService = buildSearchService(true);
+    searchResult = searchService.searchAcrossEntities(ImmutableList.of(), "", null, null, 1, 10, null);
+    assertEquals(searchResult.getNumEntities().intValue(), 2);
+    assertEquals(searchResult.getEntities().size(), 1);
+    clearCache();
+
+    // Sorting by a field which is not mapped in every searched index does not fail the search
+    searchService = buildSearchService(true);
+    SortCriterion sortCriterion = new SortCriterion().setField("unmappedField").setOrder(SortOrder.ASCENDING);
+    searchResult = searchService.searchAcrossEntities(ImmutableList.of(), "", null, sortCriterion, 0, 10, null);
+    assertEquals(searchResult.getNumEntities().intValue(), 2);
+    assertEquals(searchResult.getEntities().get(0).getEntity(), urn);
+  }
+
+  @Test
+  public void testSearchAcrossIndicesOfSeveralEntities() throws Exception {
+    Urn urn = new TestEntityUrn("test", "testUrn", "VALUE_1");
+    Urn urn2 = new TestEntityUrn("test", "testUrn2", "VALUE_2");
+    Urn otherUrn = Urn.createFromString("urn:li:otherTestEntity:testUrn3");
+    Urn otherUrn2 = Urn.createFromString("urn:li:otherTestEntity:testUrn4");
+    upsertDocument(ENTITY_NAME, urn, "test");
+    upsertDocument(ENTITY_NAME, urn2, "test");
+    upsertDocument(OTHER_ENTITY_NAME, otherUrn, "test");
+    upsertDocument(OTHER_ENTITY_NAME, otherUrn2, "random");
+    syncAfterWrite(_searchClient);
+
+    SearchService searchService = buildSearchService(true);
+    SearchResult searchResult =
+        searchService.searchAcrossEntities(ImmutableList.of(), "test", null, null, 0, 10, null);
+    assertEquals(searchResult.getNumEntities().intValue(), 3);
+    // The hits of the boosted entity rank first, although its index matches more documents
+    assertEquals(ImmutableSet.of(searchResult.getEntities().get(0).getEntity(),
+        searchResult.getEntities().get(1).getEntity()), ImmutableSet.of(urn, urn2));
+    assertEquals(searchResult.getEntities().get(2).getEntity(), otherUrn);
+    // Each entity only counts the matching documents of its own index
+    AggregationMetadata entityAggregation = searchResult.getMetadata().getAggregations().get(0);
+    assertEquals(entityAggregation.getName(), "entity");
+    assertEquals(entityAggregation.getAggregations().get(ENTITY_NAME.toLowerCase()).longValue(), 2L);
+    assertEquals(entityAggregation.getAggregations().get(OTHER_ENTITY_NAME.toLowerCase()).longValue(), 1L);
+    clearCache();
+
+    // Pages continue in the same order across entities
+    searchService = buildSearchService(true);
+    searchResult = searchService.searchAcrossEntities(ImmutableList.of(), "test", null, null, 2, 1, null);
+    assertEquals(searchResult.getNumEntities().intValue(), 3);
+    assertEquals(searchResult.getEntities().size(), 1);
+    assertEquals(searchResult.getEntities().get(0).getEntity(), otherUrn);
+    clearCache();
+
+    // Searching a single entity does not return or count the documents of the other one
+    searchService = buildSearchService(true);
+    searchResult = searchService.searchAcrossEntities(ImmutableList.of(OTHER_ENTITY_NAME), "", null, null, 0, 10,
+        null);
+    assertEquals(searchResult.getNumEntities().intValue(), 2);
+    assertEquals(ImmutableSet.of(searchResult.getEntities().get(0).getEntity(),
+        searchResult.getEntities().get(1).getEntity()), ImmutableSet.of(otherUrn, otherUrn2));
+    entityAggregation = searchResult.getMetadata().getAggregations().get(0);
+    assertEquals(entityAggregation.getName(), "entity");
+    assertEquals(entityAggregation.getAggregations().keySet(), ImmutableSet.of(OTHER_ENTITY_NAME.toLowerCase()));
+    assertEquals(entityAggregation.getAggregations().get(OTHER_ENTITY_NAME.toLowerCase()).longValue(), 2L);
+  }
+
+  private void upsertDocument(String entityName, Urn urn, String keyPart1) {
+    ObjectNode document = JsonNodeFactory.instance.objectNode();
+    document.set("urn", JsonNodeFactory.instance.textNode(urn.toString()));
+    document.set("keyPart1", JsonNodeFactory.instance.textNode(keyPart1));
+    _elasticSearchService.upsertDocument(entityName, document.toString(), urn.toString());
+  }
 }
@@ -0,0 +1,116 @@
+package com.linkedin.metadata.search.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
+import com.linkedin.metadata.query.filter.Filter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SearchCacheLoaderTest {
+  private static final List<String> DATASET = Collections.singletonList("dataset");
+
+  private Cache _cache;
+  private SearchCacheInvalidator _invalidator;
+  private AtomicInteger _loads;
+
+  @BeforeMethod
+  public void setup() {
+    _cache = new ConcurrentMapCacheManager().getCache("search");
+    _invalidator = new SearchCacheInvalidator(0);
+    _loads = new AtomicInteger(0);
+  }
+
+  private Integer load() {
+    return _loads.incrementAndGet();
+  }
+
+  @Test
+  public void testInvalidatedByWritesToSearchedEntityType() throws Exception {
+    SearchCacheLoader loader = new SearchCacheLoader(_invalidator, null, Long.MAX_VALUE, 0, Integer.MAX_VALUE);
+
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(1));
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(1));
+
+    // Writes to other entity types do not affect the cached result
+    Thread.sleep(1);
+    _invalidator.markUpdated("chart");
+    Thread.sleep(1);
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(1));
+    // But do affect searches across all entity types
+    assertEquals(loader.get(_cache, "allKey", Collections.emptyList(), this::load), Integer.valueOf(2));
+
+    Thread.sleep(1);
+    _invalidator.markUpdated("DATASET");
+    Thread.sleep(1);
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(3));
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(3));
+  }
+
+  @Test
+  public void testStaleWhileRevalidateForHotQueries() throws Exception {
+    SearchCacheLoader loader = new SearchCacheLoader(_invalidator, Runnable::run, Long.MAX_VALUE, Long.MAX_VALUE, 2);
+
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(1));
+    Thread.sleep(1);
+    _invalidator.markUpdated("dataset");
+    Thread.sleep(1);
+    // Not hot yet, so the result is recomputed before returning
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(2));
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(2));
+
+    Thread.sleep(1);
+    _invalidator.markUpdated("dataset");
+    Thread.sleep(1);
+    // Hot, so the stale result is served while it is refreshed
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(2));
+    assertEquals(_loads.get(), 3);
+    assertEquals(loader.get(_cache, "key", DATASET, this::load), Integer.valueOf(3));
+  }
+
+  @Test
+  public void testCacheKeys() {
+    Filter filter = new Filter();
+    CacheableSearcher.QueryPagination pagination = new CacheableSearcher.QueryPagination(0, 10);
+    SearchCacheKey key = SearchCacheKey.forSearch(ImmutableList.of("Dataset", "chart"), "test", filter, null, 20,
+        pagination);
+
+    assertEquals(SearchCacheKey.forSearch(ImmutableList.of("chart", "dataset"), "test", new Filter(), null, 20,
+        pagination), key);
+    assertNotEquals(SearchCacheKey.forSearch(ImmutableList.of("chart", "dataset"), "test", new Filter(), null, 10,
+        pagination), key);
+
+    // Modifying the request afterwards does not change the key
+    int hashCode = key.hashCode();
+    filter.setOr(new ConjunctiveCriterionArray());
+    assertEquals(key.hashCode(), hashCode);
+
+    assertTrue(SearchCacheWeigher.weigh(key, new CachedSearchResult<>(new Filter(), 0, 0)) > 0);
+  }
+
+  @Test
+  public void testWeighLineageResult() {
+    EntityLineageResult emptyLineage = new EntityLineageResult().setStart(0).setCount(0).setTotal(0)
+        .setRelationships(new LineageRelationshipArray());
+    EntityLineageResult lineage = new EntityLineageResult().setStart(0).setCount(1).setTotal(1)
+        .setRelationships(new LineageRelationshipArray(Collections.singletonList(new LineageRelationship()
+            .setEntity(UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,downstream,PROD)"))
+            .setType("DownstreamOf")
+            .setDegree(1))));
+
+    // Lineage results are weighed by their relationships, like search results
+    assertTrue(SearchCacheWeigher.weigh("key", new CachedEntityLineageResult(lineage, 0))
+        > SearchCacheWeigher.weigh("key", new CachedEntityLineageResult(emptyLineage, 0)));
+  }
+}
@@ -15,15 +15,11 @@ import com.linkedin.metadata.search.elasticsearch.indexbuilder.EntityIndexBuilde
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.SettingsBuilder;
 import com.linkedin.metadata.search.elasticsearch.query.ESBrowseDAO;
 import com.linkedin.metadata.search.elasticsearch.query.ESSearchDAO;
-import com.linkedin.metadata.search.elasticsearch.update.BulkListener;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.search.elasticsearch.update.ESWriteDAO;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.elasticsearch.IndexConventionImpl;
-import org.elasticsearch.action.bulk.BackoffPolicy;
-import org.elasticsearch.action.bulk.BulkProcessor;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.common.unit.TimeValue;
 import org.testcontainers.elasticsearch.ElasticsearchContainer;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableMap;
 import org.testng.annotations.AfterClass;
@@ -33,6 +29,7 @@ import org.testng.annotations.Test;
 
 import javax.annotation.Nonnull;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 import static com.linkedin.metadata.DockerTestUtils.checkContainerEngine;
 import static com.linkedin.metadata.ElasticSearchTestUtils.syncAfterWrite;
@@ -69,13 +66,11 @@ public class ElasticSearchServiceTest {
     syncAfterWrite(_searchClient);
   }
 
-  public static BulkProcessor getBulkProcessor(RestHighLevelClient searchClient) {
-    return BulkProcessor.builder((request, bulkListener) -> {
-      searchClient.bulkAsync(request, RequestOptions.DEFAULT, bulkListener);
-    }, BulkListener.getInstance())
+  public static ESBulkProcessor getBulkProcessor(RestHighLevelClient searchClient) {
+    return ESBulkProcessor.builder(searchClient)
         .setBulkActions(1)
-        .setFlushInterval(TimeValue.timeValueSeconds(1))
-        .setBackoffPolicy(BackoffPolicy.constantBackoff(TimeValue.timeValueSeconds(1000), 1))
+        .setFlushInterval(1, TimeUnit.SECONDS)
+        .setRetries(1, 1, TimeUnit.SECONDS)
         .build();
   }
 
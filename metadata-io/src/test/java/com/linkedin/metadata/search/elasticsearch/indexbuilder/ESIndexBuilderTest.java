@@ -0,0 +1,192 @@
+package com.linkedin.metadata.search.elasticsearch.indexbuilder;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.metadata.ElasticTestUtils;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.DockerTestUtils.checkContainerEngine;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class ESIndexBuilderTest {
+
+  private static final String INDEX_NAME = "testindex";
+
+  private ElasticsearchContainer _elasticsearchContainer;
+  private RestHighLevelClient _searchClient;
+  private ESIndexBuilder _indexBuilder;
+
+  @BeforeClass
+  public void setup() {
+    _elasticsearchContainer = ElasticTestUtils.getNewElasticsearchContainer();
+    checkContainerEngine(_elasticsearchContainer.getDockerClient());
+    _elasticsearchContainer.start();
+    _searchClient = ElasticTestUtils.buildRestClient(_elasticsearchContainer);
+    _indexBuilder = new ESIndexBuilder(_searchClient, 1, 0, 3, ReindexConfig.builder().batchSize(2).build());
+  }
+
+  @AfterMethod
+  public void wipe() throws Exception {
+    _searchClient.indices().delete(new DeleteIndexRequest(INDEX_NAME + "*"), RequestOptions.DEFAULT);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _elasticsearchContainer.stop();
+  }
+
+  private static Map<String, Object> getMappings(String nameType) {
+    return ImmutableMap.of("properties", ImmutableMap.of("name", ImmutableMap.of("type", nameType)));
+  }
+
+  private Set<String> getAliasedIndices() throws Exception {
+    return _searchClient.indices()
+        .getAlias(new GetAliasesRequest(INDEX_NAME), RequestOptions.DEFAULT)
+        .getAliases()
+        .keySet();
+  }
+
+  private String getNameType() throws Exception {
+    Map<String, Object> mappings = _searchClient.indices()
+        .getMapping(new GetMappingsRequest().indices(INDEX_NAME), RequestOptions.DEFAULT)
+        .mappings()
+        .values()
+        .iterator()
+        .next()
+        .getSourceAsMap();
+    return ((Map<String, Map<String, Object>>) mappings.get("properties")).get("name").get("type").toString();
+  }
+
+  private void writeDocuments(int numDocuments) throws Exception {
+    for (int i = 0; i < numDocuments; i++) {
+      _searchClient.index(new IndexRequest(INDEX_NAME).id("doc" + i)
+          .source(ImmutableMap.of("name", "name" + i))
+          .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE), RequestOptions.DEFAULT);
+    }
+  }
+
+  private long getCount() throws Exception {
+    return _searchClient.count(new CountRequest(INDEX_NAME), RequestOptions.DEFAULT).getCount();
+  }
+
+  @Test
+  public void testRebuildIndexBehindAlias() throws Exception {
+    _indexBuilder.buildIndex(INDEX_NAME, getMappings("keyword"), Collections.emptyMap());
+    Set<String> originalIndices = getAliasedIndices();
+    assertEquals(originalIndices.size(), 1);
+    assertTrue(originalIndices.iterator().next().startsWith(INDEX_NAME + "_"));
+    writeDocuments(5);
+
+    _indexBuilder.buildIndex(INDEX_NAME, getMappings("text"), Collections.emptyMap());
+
+    Set<String> rebuiltIndices = getAliasedIndices();
+    assertEquals(rebuiltIndices.size(), 1);
+    assertNotEquals(rebuiltIndices, originalIndices);
+    assertEquals(getNameType(), "text");
+    assertEquals(getCount(), 5);
+    assertFalse(_searchClient.indices()
+        .exists(new GetIndexRequest(originalIndices.iterator().next()), RequestOptions.DEFAULT));
+  }
+
+  @Test
+  public void testWritesDuringRebuildLandInNewIndex() throws Exception {
+    _indexBuilder.buildIndex(INDEX_NAME, getMappings("keyword"), Collections.emptyMap());
+    writeDocuments(5);
+
+    List<DocWriteRequest<?>> deadLetters = Collections.synchronizedList(new ArrayList<>());
+    ESBulkProcessor bulkProcessor = ESBulkProcessor.builder(_searchClient)
+        .setFlushInterval(10, TimeUnit.MILLISECONDS)
+        .setRetries(3, 100, TimeUnit.MILLISECONDS)
+        .setDeadLetterHandler((request, failureMessage) -> deadLetters.add(request))
+        .build();
+    AtomicBoolean rebuilding = new AtomicBoolean(true);
+    CompletableFuture<Integer> writer = CompletableFuture.supplyAsync(() -> {
+      int written = 0;
+      while (rebuilding.get()) {
+        bulkProcessor.add(new IndexRequest(INDEX_NAME).id("written" + written)
+            .source(ImmutableMap.of("name", "written" + written)));
+        written++;
+        try {
+          Thread.sleep(10);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      return written;
+    });
+
+    try {
+      _indexBuilder.buildIndex(INDEX_NAME, getMappings("text"), Collections.emptyMap());
+    } finally {
+      rebuilding.set(false);
+    }
+    int written = writer.get(1, TimeUnit.MINUTES);
+    bulkProcessor.close();
+
+    // Writes rejected while the old index was blocked are held until the alias moves, rather than failing
+    assertTrue(deadLetters.isEmpty());
+    _searchClient.indices().refresh(new RefreshRequest(INDEX_NAME), RequestOptions.DEFAULT);
+    assertEquals(getNameType(), "text");
+    assertEquals(getCount(), 5 + written);
+  }
+
+  @Test
+  public void testRebuildIndexCreatedWithoutAlias() throws Exception {
+    _searchClient.indices()
+        .create(new CreateIndexRequest(INDEX_NAME).mapping(getMappings("keyword")), RequestOptions.DEFAULT);
+    writeDocuments(3);
+
+    _indexBuilder.buildIndex(INDEX_NAME, getMappings("text"), Collections.emptyMap());
+
+    Set<String> rebuiltIndices = getAliasedIndices();
+    assertEquals(rebuiltIndices.size(), 1);
+    assertTrue(rebuiltIndices.iterator().next().startsWith(INDEX_NAME + "_"));
+    assertEquals(getNameType(), "text");
+    assertEquals(getCount(), 3);
+  }
+
+  @Test
+  public void testSkipRebuildWhenReindexDisabled() throws Exception {
+    _indexBuilder.buildIndex(INDEX_NAME, getMappings("keyword"), Collections.emptyMap());
+    Set<String> originalIndices = getAliasedIndices();
+
+    _indexBuilder.setReindexEnabled(false);
+    try {
+      _indexBuilder.buildIndex(INDEX_NAME, getMappings("text"), Collections.emptyMap());
+    } finally {
+      _indexBuilder.setReindexEnabled(true);
+    }
+
+    assertEquals(getAliasedIndices(), originalIndices);
+    assertEquals(getNameType(), "keyword");
+  }
+}
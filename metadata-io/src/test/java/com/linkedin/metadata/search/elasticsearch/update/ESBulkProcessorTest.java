@@ -0,0 +1,219 @@
+package com.linkedin.metadata.search.elasticsearch.update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class ESBulkProcessorTest {
+  private static final String INDEX = "datasetindex_v2";
+  private static final String OTHER_INDEX = "chartindex_v2";
+
+  private RestHighLevelClient _mockClient;
+  private List<DocWriteRequest<?>> _deadLetters;
+  private ESBulkProcessor _bulkProcessor;
+
+  @BeforeMethod
+  public void setup() {
+    _mockClient = mock(RestHighLevelClient.class);
+    _deadLetters = new ArrayList<>();
+    _bulkProcessor = ESBulkProcessor.builder(_mockClient)
+        .setBulkActions(100)
+        .setFlushInterval(1, TimeUnit.HOURS)
+        .setRetries(2, 1, TimeUnit.MILLISECONDS)
+        .setDeadLetterHandler((request, failureMessage) -> _deadLetters.add(request))
+        .build();
+  }
+
+  private static UpdateRequest upsert(String docId, String document) {
+    return upsert(INDEX, docId, document);
+  }
+
+  private static UpdateRequest upsert(String index, String docId, String document) {
+    return new UpdateRequest(index, docId).doc(document, XContentType.JSON)
+        .detectNoop(false)
+        .upsert(new IndexRequest(index).id(docId).source(document, XContentType.JSON));
+  }
+
+  private static BulkItemResponse item(RestStatus status) {
+    BulkItemResponse item = mock(BulkItemResponse.class);
+    when(item.isFailed()).thenReturn(status != RestStatus.OK);
+    when(item.status()).thenReturn(status);
+    when(item.getFailureMessage()).thenReturn(status.toString());
+    return item;
+  }
+
+  private static BulkResponse response(RestStatus... statuses) {
+    BulkItemResponse[] items = new BulkItemResponse[statuses.length];
+    for (int i = 0; i < statuses.length; i++) {
+      items[i] = item(statuses[i]);
+    }
+    return response(items);
+  }
+
+  private static BulkResponse writeBlockedResponse() {
+    BulkItemResponse item = item(RestStatus.FORBIDDEN);
+    when(item.getFailureMessage()).thenReturn(
+        "ElasticsearchException[blocked by: [FORBIDDEN/8/index write (api)];]");
+    return response(item);
+  }
+
+  private static BulkResponse response(BulkItemResponse... items) {
+    BulkResponse response = mock(BulkResponse.class);
+    when(response.getItems()).thenReturn(items);
+    when(response.getTook()).thenReturn(TimeValue.timeValueMillis(1));
+    return response;
+  }
+
+  @Test
+  public void testCoalescesWritesToSameDocument() throws Exception {
+    when(_mockClient.bulk(any(), eq(RequestOptions.DEFAULT))).thenReturn(response(RestStatus.OK, RestStatus.OK));
+
+    _bulkProcessor.add(upsert("doc1", "{\"name\":\"a\",\"nested\":{\"x\":1}}"));
+    _bulkProcessor.add(upsert("doc2", "{\"name\":\"b\"}"));
+    _bulkProcessor.add(upsert("doc1", "{\"description\":\"c\",\"nested\":{\"y\":2}}"));
+    _bulkProcessor.flush();
+
+    ArgumentCaptor<BulkRequest> bulkCaptor = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(_mockClient, times(1)).bulk(bulkCaptor.capture(), eq(RequestOptions.DEFAULT));
+    List<DocWriteRequest<?>> requests = bulkCaptor.getValue().requests();
+    assertEquals(requests.size(), 2);
+    UpdateRequest coalesced = (UpdateRequest) requests.get(0);
+    assertEquals(coalesced.id(), "doc1");
+    Map<String, Object> doc = coalesced.doc().sourceAsMap();
+    assertEquals(doc.get("name"), "a");
+    assertEquals(doc.get("description"), "c");
+    assertEquals(((Map<?, ?>) doc.get("nested")).size(), 2);
+    assertEquals(coalesced.upsertRequest().sourceAsMap(), doc);
+
+    // A delete replaces the buffered write
+    when(_mockClient.bulk(any(), eq(RequestOptions.DEFAULT))).thenReturn(response(RestStatus.OK));
+    _bulkProcessor.add(upsert("doc3", "{\"name\":\"d\"}"));
+    _bulkProcessor.add(new DeleteRequest(INDEX).id("doc3"));
+    _bulkProcessor.flush();
+    verify(_mockClient, times(2)).bulk(bulkCaptor.capture(), eq(RequestOptions.DEFAULT));
+    assertEquals(bulkCaptor.getValue().requests().size(), 1);
+    assertTrue(bulkCaptor.getValue().requests().get(0) instanceof DeleteRequest);
+  }
+
+  @Test
+  public void testRetriesRejectedDocumentsAndDeadLettersFailedOnes() throws Exception {
+    BulkResponse firstResponse = response(RestStatus.TOO_MANY_REQUESTS, RestStatus.BAD_REQUEST, RestStatus.OK);
+    BulkResponse retryResponse = response(RestStatus.OK);
+    when(_mockClient.bulk(any(), eq(RequestOptions.DEFAULT))).thenReturn(firstResponse, retryResponse);
+
+    _bulkProcessor.add(upsert("rejected", "{\"name\":\"a\"}"));
+    _bulkProcessor.add(upsert("invalid", "{\"name\":\"b\"}"));
+    _bulkProcessor.add(upsert("written", "{\"name\":\"c\"}"));
+    _bulkProcessor.flush();
+
+    ArgumentCaptor<BulkRequest> bulkCaptor = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(_mockClient, times(2)).bulk(bulkCaptor.capture(), eq(RequestOptions.DEFAULT));
+    List<DocWriteRequest<?>> retried = bulkCaptor.getAllValues().get(1).requests();
+    assertEquals(retried.size(), 1);
+    assertEquals(retried.get(0).id(), "rejected");
+    assertEquals(_deadLetters.size(), 1);
+    assertEquals(_deadLetters.get(0).id(), "invalid");
+
+    // Documents still rejected after all retries are dead lettered too
+    when(_mockClient.bulk(any(), eq(RequestOptions.DEFAULT))).thenReturn(response(RestStatus.TOO_MANY_REQUESTS));
+    _bulkProcessor.add(upsert("overloaded", "{\"name\":\"d\"}"));
+    _bulkProcessor.flush();
+    verify(_mockClient, times(5)).bulk(any(), eq(RequestOptions.DEFAULT));
+    assertEquals(_deadLetters.size(), 2);
+    assertEquals(_deadLetters.get(1).id(), "overloaded");
+  }
+
+  @Test
+  public void testRetriesWriteBlockedDocumentsWithoutUsingUpRetries() throws Exception {
+    BulkResponse blockedResponse = writeBlockedResponse();
+    BulkResponse writtenResponse = response(RestStatus.OK);
+    when(_mockClient.bulk(any(), eq(RequestOptions.DEFAULT))).thenReturn(blockedResponse, blockedResponse,
+        blockedResponse, blockedResponse, writtenResponse);
+
+    _bulkProcessor.add(upsert("blocked", "{\"name\":\"a\"}"));
+    _bulkProcessor.flush();
+
+    // Rejected more often than the number of retries, but written once the block is lifted
+    verify(_mockClient, times(5)).bulk(any(), eq(RequestOptions.DEFAULT));
+    assertTrue(_deadLetters.isEmpty());
+  }
+
+  @Test
+  public void testDeadLettersDocumentsWriteBlockedForTooLong() throws Exception {
+    ESBulkProcessor bulkProcessor = ESBulkProcessor.builder(_mockClient)
+        .setFlushInterval(1, TimeUnit.HOURS)
+        .setRetries(2, 1, TimeUnit.MILLISECONDS)
+        .setMaxWriteBlockedTime(20, TimeUnit.MILLISECONDS)
+        .setDeadLetterHandler((request, failureMessage) -> _deadLetters.add(request))
+        .build();
+    BulkResponse blockedResponse = writeBlockedResponse();
+    when(_mockClient.bulk(any(), eq(RequestOptions.DEFAULT))).thenReturn(blockedResponse);
+
+    bulkProcessor.add(upsert("blocked", "{\"name\":\"a\"}"));
+    bulkProcessor.flush();
+
+    assertEquals(_deadLetters.size(), 1);
+    assertEquals(_deadLetters.get(0).id(), "blocked");
+  }
+
+  @Test
+  public void testWritesOtherIndicesWhileWritesToAnIndexAreBlocked() throws Exception {
+    ESBulkProcessor bulkProcessor = ESBulkProcessor.builder(_mockClient)
+        .setBulkActions(1)
+        .setFlushInterval(1, TimeUnit.HOURS)
+        // Long enough that the blocked index is only sent again by the flush
+        .setRetries(2, 1, TimeUnit.HOURS)
+        .setDeadLetterHandler((request, failureMessage) -> _deadLetters.add(request))
+        .build();
+    when(_mockClient.bulk(any(), eq(RequestOptions.DEFAULT))).thenReturn(writeBlockedResponse(),
+        response(RestStatus.OK), response(RestStatus.OK, RestStatus.OK));
+
+    bulkProcessor.add(upsert("blocked", "{\"name\":\"a\"}"));
+    ArgumentCaptor<BulkRequest> bulkCaptor = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(_mockClient, timeout(1000).times(1)).bulk(any(), eq(RequestOptions.DEFAULT));
+    bulkProcessor.add(upsert(OTHER_INDEX, "other", "{\"name\":\"b\"}"));
+
+    // Written without waiting for the blocked index
+    verify(_mockClient, timeout(1000).times(2)).bulk(bulkCaptor.capture(), eq(RequestOptions.DEFAULT));
+    List<DocWriteRequest<?>> written = bulkCaptor.getValue().requests();
+    assertEquals(written.size(), 1);
+    assertEquals(written.get(0).index(), OTHER_INDEX);
+
+    // A later write to the blocked index waits with it, and is sent after the parked one
+    bulkProcessor.add(upsert("later", "{\"name\":\"c\"}"));
+    bulkProcessor.flush();
+    verify(_mockClient, times(3)).bulk(bulkCaptor.capture(), eq(RequestOptions.DEFAULT));
+    List<DocWriteRequest<?>> retried = bulkCaptor.getValue().requests();
+    assertEquals(retried.size(), 2);
+    assertEquals(retried.get(0).id(), "blocked");
+    assertEquals(retried.get(1).id(), "later");
+    assertTrue(_deadLetters.isEmpty());
+  }
+}
@@ -16,6 +16,7 @@ import com.linkedin.metadata.models.registry.EntityRegistryException;
 import com.linkedin.metadata.models.registry.MergedEntityRegistry;
 import com.linkedin.metadata.snapshot.Snapshot;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeTransaction;
 import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.schema.MySqlDDL;
@@ -25,15 +26,20 @@ import com.linkedin.schema.SchemaFieldDataType;
 import com.linkedin.schema.SchemaMetadata;
 import com.linkedin.schema.StringType;
 import com.linkedin.util.Pair;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 
 /**
@@ -106,6 +112,125 @@ abstract public class TimelineServiceTest<T_AD extends AspectDao> {
     //Assert.assertEquals(changes.get(1).getTimestamp(), timestamps.get(5).getTime().longValue());
   }
 
+  @Test
+  public void testGetTimelineFromChangeLog() throws Exception {
+    TimelineChangeLog changeLog = new TimelineChangeLog(new ConcurrentMapCache(TimelineChangeLog.CACHE_NAME));
+    TimelineServiceImpl changeLogTimelineService =
+        new TimelineServiceImpl(_aspectDao, _testEntityRegistry, changeLog, Runnable::run);
+    _entityService.setTimelineService(changeLogTimelineService);
+
+    Urn entityUrn = Urn.createFromString(
+        "urn:li:dataset:(urn:li:dataPlatform:hive,fooDb.fooTable" + System.currentTimeMillis() + ",PROD)");
+    String aspectName = "schemaMetadata";
+
+    ArrayList<AuditStamp> timestamps = new ArrayList();
+    for (int i = 3; i > 0; i--) {
+      SchemaMetadata schemaMetadata = getSchemaMetadata("This is the new description for day " + i);
+      AuditStamp daysAgo = createTestAuditStamp(i);
+      timestamps.add(daysAgo);
+      _entityService.ingestAspects(entityUrn, Collections.singletonList(new Pair<>(aspectName, schemaMetadata)),
+          daysAgo, getSystemMetadata(daysAgo, "run-" + i));
+    }
+
+    // The changes of each version have been materialized as it was written
+    long previousCreatedOn = 0L;
+    for (AuditStamp timestamp : timestamps) {
+      Assert.assertNotNull(changeLog.get(
+          new TimelineChangeLog.Key(entityUrn.toString(), aspectName, timestamp.getTime()), previousCreatedOn));
+      previousCreatedOn = timestamp.getTime();
+    }
+
+    Set<ChangeCategory> elements = new HashSet<>(Arrays.asList(ChangeCategory.TECHNICAL_SCHEMA,
+        ChangeCategory.DOCUMENTATION));
+    List<ChangeTransaction> expected =
+        _entityTimelineService.getTimeline(entityUrn, elements, createTestAuditStamp(10).getTime(), 0, null, null,
+            false);
+    // Read twice, to check that combining the transactions of a timeline does not alter the change log
+    for (int i = 0; i < 2; i++) {
+      List<ChangeTransaction> changes =
+          changeLogTimelineService.getTimeline(entityUrn, elements, createTestAuditStamp(10).getTime(), 0, null,
+              null, false);
+      Assert.assertEquals(changes.size(), expected.size());
+      for (int j = 0; j < changes.size(); j++) {
+        Assert.assertEquals(changes.get(j).getTimestamp(), expected.get(j).getTimestamp());
+        Assert.assertEquals(changes.get(j).getSemVer(), expected.get(j).getSemVer());
+        Assert.assertEquals(changes.get(j).getVersionStamp(), expected.get(j).getVersionStamp());
+        Assert.assertEquals(changes.get(j).getChangeEvents().size(), expected.get(j).getChangeEvents().size());
+        Assert.assertNull(changes.get(j).getRawDiff());
+      }
+    }
+
+    // The raw diff is kept once per version, and added to each transaction when requested
+    for (ChangeTransaction change : changeLogTimelineService.getTimeline(entityUrn, elements,
+        createTestAuditStamp(10).getTime(), 0, null, null, true)) {
+      Assert.assertNotNull(change.getRawDiff());
+    }
+  }
+
+  @Test
+  public void testGetTimelineFromStoredChangeLog() throws Exception {
+    // Entries are stored as documents, and read back through a new cache, as after a restart or on another instance
+    Map<String, String> documents = new HashMap<>();
+    ESTimelineChangeLogDAO store = Mockito.mock(ESTimelineChangeLogDAO.class);
+    Mockito.doAnswer(invocation -> {
+      TimelineChangeLog.Key key = invocation.getArgument(0);
+      documents.put(key.toString(), ESTimelineChangeLogDAO.toDocument(key, invocation.getArgument(1)));
+      return null;
+    }).when(store).put(Mockito.any(), Mockito.any());
+    Mockito.when(store.get(Mockito.any())).thenAnswer(invocation -> {
+      String document = documents.get(invocation.getArgument(0).toString());
+      return document == null ? null : ESTimelineChangeLogDAO.fromDocument(document);
+    });
+    _entityService.setTimelineService(new TimelineServiceImpl(_aspectDao, _testEntityRegistry,
+        new TimelineChangeLog(new ConcurrentMapCache(TimelineChangeLog.CACHE_NAME), store), Runnable::run));
+
+    Urn entityUrn = Urn.createFromString(
+        "urn:li:dataset:(urn:li:dataPlatform:hive,fooDb.fooTable" + System.currentTimeMillis() + ",PROD)");
+    String aspectName = "schemaMetadata";
+    for (int i = 3; i > 0; i--) {
+      AuditStamp daysAgo = createTestAuditStamp(i);
+      SchemaMetadata schemaMetadata = getSchemaMetadata("This is the new description for day " + i);
+      _entityService.ingestAspects(entityUrn, Collections.singletonList(new Pair<>(aspectName, schemaMetadata)),
+          daysAgo, getSystemMetadata(daysAgo, "run-" + i));
+    }
+    Assert.assertEquals(documents.size(), 3);
+
+    TimelineServiceImpl restartedTimelineService = new TimelineServiceImpl(_aspectDao, _testEntityRegistry,
+        new TimelineChangeLog(new ConcurrentMapCache(TimelineChangeLog.CACHE_NAME), store), Runnable::run);
+    Set<ChangeCategory> elements = new HashSet<>(Arrays.asList(ChangeCategory.TECHNICAL_SCHEMA,
+        ChangeCategory.DOCUMENTATION));
+    List<ChangeTransaction> expected =
+        _entityTimelineService.getTimeline(entityUrn, elements, createTestAuditStamp(10).getTime(), 0, null, null,
+            true);
+    List<ChangeTransaction> changes =
+        restartedTimelineService.getTimeline(entityUrn, elements, createTestAuditStamp(10).getTime(), 0, null, null,
+            true);
+    Assert.assertEquals(changes.size(), expected.size());
+    for (int j = 0; j < changes.size(); j++) {
+      Assert.assertEquals(changes.get(j).getTimestamp(), expected.get(j).getTimestamp());
+      Assert.assertEquals(changes.get(j).getSemVer(), expected.get(j).getSemVer());
+      Assert.assertEquals(changes.get(j).getVersionStamp(), expected.get(j).getVersionStamp());
+      // Change events are read back as ChangeEvents rather than as their subclasses, which only fill in parameters
+      Assert.assertEquals(changes.get(j).getChangeEvents().size(), expected.get(j).getChangeEvents().size());
+      Assert.assertEquals(describe(changes.get(j).getChangeEvents()), describe(expected.get(j).getChangeEvents()));
+      Assert.assertEquals(changes.get(j).getRawDiff().toString(), expected.get(j).getRawDiff().toString());
+    }
+    // Nothing was diffed again
+    Assert.assertEquals(documents.size(), 3);
+    Mockito.verify(store, Mockito.times(3)).put(Mockito.any(), Mockito.any());
+  }
+
+  private static Set<String> describe(List<ChangeEvent> changeEvents) {
+    Set<String> descriptions = new HashSet<>();
+    for (ChangeEvent changeEvent : changeEvents) {
+      descriptions.add(String.join("|", String.valueOf(changeEvent.getCategory()),
+          String.valueOf(changeEvent.getOperation()), String.valueOf(changeEvent.getModifier()),
+          String.valueOf(changeEvent.getParameters() == null ? null : new TreeMap<>(changeEvent.getParameters())),
+          String.valueOf(changeEvent.getAuditStamp()), changeEvent.getDescription()));
+    }
+    return descriptions;
+  }
+
   private static AuditStamp createTestAuditStamp(int daysAgo) {
     try {
       Long timestamp = System.currentTimeMillis() - (daysAgo * 24 * 60 * 60 * 1000L);
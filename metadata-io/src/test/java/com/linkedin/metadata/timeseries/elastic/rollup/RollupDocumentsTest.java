@@ -0,0 +1,165 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.datahub.test.TestEntityComponentProfile;
+import com.datahub.test.TestEntityComponentProfileArray;
+import com.datahub.test.TestEntityProfile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.common.urn.TestEntityUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.DataSchemaFactory;
+import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeseries.transformer.TimeseriesAspectTransformer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+
+
+public class RollupDocumentsTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final Urn TEST_URN = new TestEntityUrn("acryl", "testRollupDocuments", "table1");
+
+  private AspectSpec _aspectSpec;
+
+  @BeforeClass
+  public void setup() {
+    EntityRegistry entityRegistry = new ConfigEntityRegistry(new DataSchemaFactory("com.datahub.test"),
+        TestEntityProfile.class.getClassLoader().getResourceAsStream("test-entity-registry.yml"));
+    _aspectSpec = entityRegistry.getEntitySpec("testEntity").getAspectSpec("testEntityProfile");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDocumentsAreRolledUpPerDimensions() throws Exception {
+    long time = Instant.parse("2022-03-15T10:30:00Z").toEpochMilli();
+    Map<String, JsonNode> documents = TimeseriesAspectTransformer.transform(TEST_URN, makeProfile(time, 20), _aspectSpec,
+        null);
+    assertEquals(documents.size(), 2);
+
+    for (JsonNode document : documents.values()) {
+      RollupDocuments.Rollup rollup = RollupDocuments.fromDocument(_aspectSpec, document);
+      long hour = RollupGranularity.HOUR.floor(time);
+      Map<String, Object> source = rollup.toSource(RollupGranularity.HOUR, hour);
+      assertEquals(source.get("urn"), TEST_URN.toString());
+      assertEquals(source.get("rollupGranularity"), "HOUR");
+      assertEquals(((Number) source.get("rollupBucketStart")).longValue(), hour);
+      assertEquals(((Number) source.get("timestampMillis")).longValue(), time);
+
+      Map<String, Object> sums = (Map<String, Object>) source.get("rollupSums");
+      if (document.get("isExploded").asBoolean()) {
+        // The collection key is a dimension, and its stats are the values
+        Map<String, Object> componentProfile = (Map<String, Object>) source.get("componentProfiles");
+        assertEquals(componentProfile.get("key"), "col1");
+        assertEquals(componentProfile.get("stat"), 21L);
+        assertEquals(((Map<String, Object>) sums.get("componentProfiles")).get("stat"), 21.0);
+      } else {
+        assertEquals(source.get("stat"), 20L);
+        assertEquals(source.get("strStat"), "20");
+        assertEquals(sums.get("stat"), 20.0);
+        assertNull(sums.get("strStat"));
+      }
+    }
+  }
+
+  @Test
+  public void testDocumentsOfTheSameBucketShareRollups() throws Exception {
+    long time = Instant.parse("2022-03-15T10:30:00Z").toEpochMilli();
+    RollupDocuments.Rollup rollup = getAspectLevelRollup(time, 20);
+    RollupDocuments.Rollup sameHourRollup = getAspectLevelRollup(time + 60000, 30);
+    RollupDocuments.Rollup nextDayRollup = getAspectLevelRollup(time + 86400000, 40);
+
+    for (RollupGranularity granularity : RollupGranularity.values()) {
+      assertEquals(sameHourRollup.getId(granularity, granularity.floor(time)),
+          rollup.getId(granularity, granularity.floor(time)));
+    }
+    assertNotEquals(nextDayRollup.getId(RollupGranularity.DAY, RollupGranularity.DAY.floor(time + 86400000)),
+        rollup.getId(RollupGranularity.DAY, RollupGranularity.DAY.floor(time)));
+    // The exploded document of the same bucket has other dimensions
+    JsonNode explodedDocument = TimeseriesAspectTransformer
+        .transform(TEST_URN, makeProfile(time, 20), _aspectSpec, null)
+        .values()
+        .stream()
+        .filter(document -> document.get("isExploded").asBoolean())
+        .findFirst()
+        .get();
+    assertNotEquals(RollupDocuments.fromDocument(_aspectSpec, explodedDocument)
+        .getId(RollupGranularity.HOUR, RollupGranularity.HOUR.floor(time)),
+        rollup.getId(RollupGranularity.HOUR, RollupGranularity.HOUR.floor(time)));
+  }
+
+  @Test
+  public void testRollupsKeepSumsAndLatestValues() throws Exception {
+    long time = Instant.parse("2022-03-15T10:30:00Z").toEpochMilli();
+    long hour = RollupGranularity.HOUR.floor(time);
+    Map<String, RollupDocuments.Rollup> rollups = new HashMap<>();
+    // Added out of order, the latest value wins
+    RollupDocuments.addTo(rollups, RollupGranularity.HOUR, hour, getAspectLevelRollup(time + 60000, 30));
+    RollupDocuments.addTo(rollups, RollupGranularity.HOUR, hour, getAspectLevelRollup(time, 20));
+    assertEquals(rollups.size(), 1);
+
+    Map<String, Object> source = rollups.values().iterator().next().toSource(RollupGranularity.HOUR, hour);
+    assertEquals(((Number) source.get("timestampMillis")).longValue(), time + 60000);
+    assertEquals(source.get("stat"), 30L);
+    assertEquals(source.get("strStat"), "30");
+    assertEquals(getSum(source), 50.0);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRollupsAreCombinedIntoCoarserRollups() throws Exception {
+    long time = Instant.parse("2022-03-15T10:30:00Z").toEpochMilli();
+    long day = RollupGranularity.DAY.floor(time);
+    Map<String, RollupDocuments.Rollup> dailyRollups = new HashMap<>();
+    // Two hourly rollups of the same day, read back from the rollup index
+    for (long offset : new long[]{0, 3600000}) {
+      Map<String, Object> source = OBJECT_MAPPER.convertValue(getAspectLevelRollup(time + offset, 20 + offset / 360000)
+          .toSource(RollupGranularity.HOUR, RollupGranularity.HOUR.floor(time + offset)), Map.class);
+      RollupDocuments.addTo(dailyRollups, RollupGranularity.DAY, day, RollupDocuments.fromSource(source));
+    }
+    assertEquals(dailyRollups.size(), 1);
+
+    RollupDocuments.Rollup dailyRollup = dailyRollups.values().iterator().next();
+    assertEquals(dailyRollups.keySet().iterator().next(),
+        getAspectLevelRollup(time, 20).getId(RollupGranularity.DAY, day));
+    Map<String, Object> source = dailyRollup.toSource(RollupGranularity.DAY, day);
+    assertEquals(source.get("rollupGranularity"), "DAY");
+    assertEquals(((Number) source.get("rollupBucketStart")).longValue(), day);
+    assertEquals(((Number) source.get("stat")).longValue(), 30L);
+    assertEquals(getSum(source), 50.0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static double getSum(Map<String, Object> source) {
+    return ((Number) ((Map<String, Object>) source.get("rollupSums")).get("stat")).doubleValue();
+  }
+
+  private RollupDocuments.Rollup getAspectLevelRollup(long time, long stat) throws Exception {
+    return RollupDocuments.fromDocument(_aspectSpec, getAspectLevelDocument(time, stat).getValue());
+  }
+
+  private Map.Entry<String, JsonNode> getAspectLevelDocument(long time, long stat) throws Exception {
+    return TimeseriesAspectTransformer.transform(TEST_URN, makeProfile(time, stat), _aspectSpec, null)
+        .entrySet()
+        .stream()
+        .filter(entry -> !entry.getValue().get("isExploded").asBoolean())
+        .findFirst()
+        .get();
+  }
+
+  private static TestEntityProfile makeProfile(long time, long stat) {
+    TestEntityComponentProfile componentProfile = new TestEntityComponentProfile().setKey("col1").setStat(stat + 1);
+    return new TestEntityProfile().setTimestampMillis(time)
+        .setStat(stat)
+        .setStrStat(String.valueOf(stat))
+        .setComponentProfiles(new TestEntityComponentProfileArray(componentProfile));
+  }
+}
@@ -0,0 +1,188 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.datahub.test.TestEntityProfile;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.DataSchemaFactory;
+import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.query.filter.Condition;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterion;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
+import com.linkedin.metadata.query.filter.Criterion;
+import com.linkedin.metadata.query.filter.CriterionArray;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.timeseries.elastic.rollup.RollupQueryPlan.Segment;
+import com.linkedin.timeseries.AggregationSpec;
+import com.linkedin.timeseries.AggregationType;
+import com.linkedin.timeseries.CalendarInterval;
+import com.linkedin.timeseries.GroupingBucket;
+import com.linkedin.timeseries.GroupingBucketType;
+import com.linkedin.timeseries.TimeWindowSize;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class RollupQueryPlanTest {
+
+  private static final String URN = "urn:li:testEntity:(urn:li:dataPlatform:acryl,table1,PROD)";
+  private static final AggregationSpec[] SUM_STAT =
+      new AggregationSpec[]{new AggregationSpec().setAggregationType(AggregationType.SUM).setFieldPath("stat")};
+
+  private AspectSpec _aspectSpec;
+
+  @BeforeClass
+  public void setup() {
+    EntityRegistry entityRegistry = new ConfigEntityRegistry(new DataSchemaFactory("com.datahub.test"),
+        TestEntityProfile.class.getClassLoader().getResourceAsStream("test-entity-registry.yml"));
+    _aspectSpec = entityRegistry.getEntitySpec("testEntity").getAspectSpec("testEntityProfile");
+  }
+
+  @Test
+  public void testGranularityBuckets() {
+    long time = millis("2022-03-15T10:30:00Z");
+    assertEquals(RollupGranularity.HOUR.floor(time), millis("2022-03-15T10:00:00Z"));
+    assertEquals(RollupGranularity.HOUR.ceil(time), millis("2022-03-15T11:00:00Z"));
+    assertEquals(RollupGranularity.DAY.floor(time), millis("2022-03-15T00:00:00Z"));
+    assertEquals(RollupGranularity.DAY.ceil(time), millis("2022-03-16T00:00:00Z"));
+    assertEquals(RollupGranularity.MONTH.floor(time), millis("2022-03-01T00:00:00Z"));
+    assertEquals(RollupGranularity.MONTH.ceil(time), millis("2022-04-01T00:00:00Z"));
+    assertEquals(RollupGranularity.MONTH.ceil(millis("2022-03-01T00:00:00Z")), millis("2022-03-01T00:00:00Z"));
+  }
+
+  @Test
+  public void testWindowIsSplitIntoCoarsestBuckets() {
+    long start = millis("2022-01-15T10:30:00Z");
+    long end = millis("2022-04-03T05:15:00Z");
+    Optional<RollupQueryPlan> plan =
+        RollupQueryPlan.of(_aspectSpec, SUM_STAT, filter(urnCriterion(), startCriterion(start), endCriterion(end)),
+            new GroupingBucket[0]);
+
+    assertTrue(plan.isPresent());
+    assertEquals(plan.get().getSegments(), ImmutableList.of(
+        new Segment(null, start, millis("2022-01-15T11:00:00Z")),
+        new Segment(RollupGranularity.HOUR, millis("2022-01-15T11:00:00Z"), millis("2022-01-16T00:00:00Z")),
+        new Segment(RollupGranularity.DAY, millis("2022-01-16T00:00:00Z"), millis("2022-02-01T00:00:00Z")),
+        new Segment(RollupGranularity.MONTH, millis("2022-02-01T00:00:00Z"), millis("2022-04-01T00:00:00Z")),
+        new Segment(RollupGranularity.DAY, millis("2022-04-01T00:00:00Z"), millis("2022-04-03T00:00:00Z")),
+        new Segment(RollupGranularity.HOUR, millis("2022-04-03T00:00:00Z"), millis("2022-04-03T05:00:00Z")),
+        new Segment(null, millis("2022-04-03T05:00:00Z"), end + 1)));
+    assertEquals(plan.get().getDimensionCriteria(), ImmutableList.of(urnCriterion()));
+  }
+
+  @Test
+  public void testRecentPartOfWindowIsReadFromRawDocuments() {
+    long start = millis("2022-01-15T10:30:00Z");
+    long freshUntil = millis("2022-03-10T05:20:00Z");
+    Optional<RollupQueryPlan> plan =
+        RollupQueryPlan.of(_aspectSpec, SUM_STAT, filter(urnCriterion(), startCriterion(start)), new GroupingBucket[0],
+            freshUntil);
+
+    assertTrue(plan.isPresent());
+    // The current hour, day and month of an unbounded window are not read from rollups which lag behind
+    assertEquals(plan.get().getSegments(), ImmutableList.of(
+        new Segment(null, start, millis("2022-01-15T11:00:00Z")),
+        new Segment(RollupGranularity.HOUR, millis("2022-01-15T11:00:00Z"), millis("2022-01-16T00:00:00Z")),
+        new Segment(RollupGranularity.DAY, millis("2022-01-16T00:00:00Z"), millis("2022-02-01T00:00:00Z")),
+        new Segment(RollupGranularity.MONTH, millis("2022-02-01T00:00:00Z"), millis("2022-03-01T00:00:00Z")),
+        new Segment(RollupGranularity.DAY, millis("2022-03-01T00:00:00Z"), millis("2022-03-10T00:00:00Z")),
+        new Segment(RollupGranularity.HOUR, millis("2022-03-10T00:00:00Z"), millis("2022-03-10T05:00:00Z")),
+        new Segment(null, millis("2022-03-10T05:00:00Z"), Long.MAX_VALUE)));
+
+    // A window which ends before the rollups lag behind is read from rollups as a whole
+    long end = millis("2022-03-01T00:00:00Z");
+    assertEquals(RollupQueryPlan.of(_aspectSpec, SUM_STAT,
+            filter(startCriterion(millis("2022-02-01T00:00:00Z")), new Criterion().setField("timestampMillis")
+                .setCondition(Condition.LESS_THAN)
+                .setValue(Long.toString(end))), new GroupingBucket[0], freshUntil).get().getSegments(),
+        ImmutableList.of(new Segment(RollupGranularity.MONTH, millis("2022-02-01T00:00:00Z"), end)));
+  }
+
+  @Test
+  public void testBucketsAreAlignedWithDateGrouping() {
+    long start = millis("2022-01-15T00:00:00Z");
+    long end = millis("2022-04-03T00:00:00Z");
+    GroupingBucket dailyBuckets = new GroupingBucket().setKey("timestampMillis")
+        .setType(GroupingBucketType.DATE_GROUPING_BUCKET)
+        .setTimeWindowSize(new TimeWindowSize().setMultiple(1).setUnit(CalendarInterval.DAY));
+    Optional<RollupQueryPlan> plan =
+        RollupQueryPlan.of(_aspectSpec, SUM_STAT, filter(startCriterion(start), endCriterion(end)),
+            new GroupingBucket[]{dailyBuckets});
+
+    assertTrue(plan.isPresent());
+    // Monthly rollups span several daily buckets, so they are not used
+    assertEquals(plan.get().getSegments(),
+        ImmutableList.of(new Segment(RollupGranularity.DAY, start, end), new Segment(null, end, end + 1)));
+  }
+
+  @Test
+  public void testCollectionStatsGroupedByKey() {
+    GroupingBucket byKey =
+        new GroupingBucket().setKey("componentProfiles.key").setType(GroupingBucketType.STRING_GROUPING_BUCKET);
+    AggregationSpec[] aggregationSpecs = new AggregationSpec[]{
+        new AggregationSpec().setAggregationType(AggregationType.SUM).setFieldPath("componentProfiles.stat"),
+        new AggregationSpec().setAggregationType(AggregationType.CARDINALITY).setFieldPath("componentProfiles.key")};
+
+    assertTrue(RollupQueryPlan.of(_aspectSpec, aggregationSpecs, filter(urnCriterion()),
+        new GroupingBucket[]{byKey}).isPresent());
+  }
+
+  @Test
+  public void testQueriesAnsweredFromRawDocuments() {
+    long start = millis("2022-01-15T00:00:00Z");
+    long end = millis("2022-04-03T00:00:00Z");
+    Filter window = filter(startCriterion(start), endCriterion(end));
+
+    // Distinct values of a field are not kept by rollups
+    assertFalse(RollupQueryPlan.of(_aspectSpec,
+        new AggregationSpec[]{new AggregationSpec().setAggregationType(AggregationType.CARDINALITY).setFieldPath("stat")},
+        window, new GroupingBucket[0]).isPresent());
+    // Grouping finer than an hour
+    GroupingBucket minuteBuckets = new GroupingBucket().setKey("timestampMillis")
+        .setType(GroupingBucketType.DATE_GROUPING_BUCKET)
+        .setTimeWindowSize(new TimeWindowSize().setMultiple(1).setUnit(CalendarInterval.MINUTE));
+    assertFalse(RollupQueryPlan.of(_aspectSpec, SUM_STAT, window, new GroupingBucket[]{minuteBuckets}).isPresent());
+    // Grouping by, or filtering on, a field which is not a dimension
+    GroupingBucket byStrStat = new GroupingBucket().setKey("strStat").setType(GroupingBucketType.STRING_GROUPING_BUCKET);
+    assertFalse(RollupQueryPlan.of(_aspectSpec, SUM_STAT, window, new GroupingBucket[]{byStrStat}).isPresent());
+    assertFalse(RollupQueryPlan.of(_aspectSpec, SUM_STAT,
+        filter(new Criterion().setField("strStat").setCondition(Condition.EQUAL).setValue("20")),
+        new GroupingBucket[0]).isPresent());
+    // No whole hour in the window
+    assertFalse(RollupQueryPlan.of(_aspectSpec, SUM_STAT,
+        filter(startCriterion(millis("2022-01-15T10:10:00Z")), endCriterion(millis("2022-01-15T10:50:00Z"))),
+        new GroupingBucket[0]).isPresent());
+  }
+
+  private static long millis(String time) {
+    return Instant.parse(time).toEpochMilli();
+  }
+
+  private static Criterion urnCriterion() {
+    return new Criterion().setField("urn").setCondition(Condition.EQUAL).setValue(URN);
+  }
+
+  private static Criterion startCriterion(long start) {
+    return new Criterion().setField("timestampMillis")
+        .setCondition(Condition.GREATER_THAN_OR_EQUAL_TO)
+        .setValue(Long.toString(start));
+  }
+
+  private static Criterion endCriterion(long end) {
+    return new Criterion().setField("timestampMillis")
+        .setCondition(Condition.LESS_THAN_OR_EQUAL_TO)
+        .setValue(Long.toString(end));
+  }
+
+  private static Filter filter(Criterion... criteria) {
+    return new Filter().setOr(new ConjunctiveCriterionArray(
+        new ConjunctiveCriterion().setAnd(new CriterionArray(Arrays.asList(criteria)))));
+  }
+}
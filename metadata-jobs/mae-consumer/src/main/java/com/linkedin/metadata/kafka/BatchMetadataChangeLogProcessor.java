@@ -0,0 +1,221 @@
+package com.linkedin.metadata.kafka;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.config.BatchMetadataChangeLogProcessorCondition;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.kafka.hook.UpdateIndicesHook;
+import com.linkedin.metadata.kafka.hook.event.EntityChangeEventGeneratorHook;
+import com.linkedin.metadata.kafka.hook.ingestion.IngestionSchedulerHook;
+import com.linkedin.metadata.kafka.hook.siblings.SiblingAssociationHook;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.Topics;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Batch variant of {@link MetadataChangeLogProcessor}, enabled with MCL_CONSUMER_BATCH_ENABLED.
+ *
+ * Each poll is deserialized in parallel and then grouped by entity urn. Events for the same urn are handed to the hooks
+ * one after another in offset order, while different urns are processed concurrently on a bounded pool of
+ * MCL_CONSUMER_BATCH_PARALLELISM threads. The listener only returns once the whole batch has been processed, so offsets
+ * are committed after the hooks have run ("at least once").
+ *
+ * If a hook fails for an event, the later events of its urn are not processed, and once the rest of the batch is done a
+ * {@link BatchListenerFailedException} is thrown for the earliest failed record of the batch. The container then
+ * commits the offsets before that record and redelivers it and the records after it, skipping it once its retries are
+ * exhausted (see kafka.listener.batchRetries).
+ */
+@Slf4j
+@Component
+@Conditional(BatchMetadataChangeLogProcessorCondition.class)
+@Import({
+    UpdateIndicesHook.class,
+    IngestionSchedulerHook.class,
+    EntityChangeEventGeneratorHook.class,
+    KafkaEventConsumerFactory.class,
+    SiblingAssociationHook.class
+})
+@EnableKafka
+public class BatchMetadataChangeLogProcessor {
+
+  private final List<MetadataChangeLogHook> hooks;
+  private final ExecutorService executorService;
+
+  private final Histogram kafkaLagStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "kafkaLag"));
+  private final Histogram batchSizeStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "batchSize"));
+  private final Histogram urnsPerBatchStats =
+      MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "urnsPerBatch"));
+  private final Counter inFlightUrns = MetricUtils.counter(this.getClass(), "inFlightUrns");
+
+  @Autowired
+  public BatchMetadataChangeLogProcessor(
+      @Nonnull final UpdateIndicesHook updateIndicesHook,
+      @Nonnull final IngestionSchedulerHook ingestionSchedulerHook,
+      @Nonnull final EntityChangeEventGeneratorHook entityChangeEventHook,
+      @Nonnull final SiblingAssociationHook siblingAssociationHook,
+      @Value("${MCL_CONSUMER_BATCH_PARALLELISM:8}") final int parallelism
+  ) {
+    this(ImmutableList.of(updateIndicesHook, ingestionSchedulerHook, entityChangeEventHook, siblingAssociationHook),
+        parallelism);
+  }
+
+  BatchMetadataChangeLogProcessor(@Nonnull final List<MetadataChangeLogHook> hooks, final int parallelism) {
+    this.hooks = hooks;
+    this.hooks.forEach(MetadataChangeLogHook::init);
+    this.executorService = Executors.newFixedThreadPool(parallelism);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executorService.shutdown();
+  }
+
+  @KafkaListener(id = "${METADATA_CHANGE_LOG_KAFKA_CONSUMER_GROUP_ID:generic-mae-consumer-job-client}", topics = {
+      "${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}",
+      "${METADATA_CHANGE_LOG_TIMESERIES_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_TIMESERIES
+          + "}"}, containerFactory = "kafkaBatchEventConsumer")
+  public void consume(final List<ConsumerRecord<String, GenericRecord>> consumerRecords) {
+    batchSizeStats.update(consumerRecords.size());
+    MetricUtils.counter(this.getClass(), "received_mcl_count").inc(consumerRecords.size());
+
+    final HookFailure failure;
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "batch_latency").time()) {
+      // 1. Deserialize the whole poll in parallel, keeping the offset order of the results.
+      final List<MetadataChangeLog> events = consumerRecords.stream()
+          .map(consumerRecord -> CompletableFuture.supplyAsync(() -> convert(consumerRecord), executorService))
+          .collect(Collectors.toList())
+          .stream()
+          .map(CompletableFuture::join)
+          .collect(Collectors.toList());
+
+      // 2. Partition the indexes of the events by urn so that events for a given entity are still applied in order.
+      final Map<String, List<Integer>> indexesByUrn = new LinkedHashMap<>();
+      for (int i = 0; i < events.size(); i++) {
+        if (events.get(i) != null) {
+          indexesByUrn.computeIfAbsent(getPartitionKey(events.get(i)), key -> new ArrayList<>()).add(i);
+        }
+      }
+      urnsPerBatchStats.update(indexesByUrn.size());
+
+      // 3. Run the hooks concurrently across urns and wait for the whole batch before the offsets get committed.
+      failure = indexesByUrn.values()
+          .stream()
+          .map(indexes -> CompletableFuture.supplyAsync(() -> invokeHooks(indexes, events), executorService))
+          .collect(Collectors.toList())
+          .stream()
+          .map(CompletableFuture::join)
+          .filter(Objects::nonNull)
+          .min(Comparator.comparingInt(HookFailure::getIndex))
+          .orElse(null);
+    }
+
+    if (failure != null) {
+      MetricUtils.counter(this.getClass(), "batch_redelivery").inc();
+      throw new BatchListenerFailedException(
+          String.format("Failed to execute MCL hook %s", failure.getHookName()), failure.getCause(),
+          consumerRecords.get(failure.getIndex()));
+    }
+  }
+
+  @Nullable
+  private MetadataChangeLog convert(@Nonnull final ConsumerRecord<String, GenericRecord> consumerRecord) {
+    kafkaLagStats.update(System.currentTimeMillis() - consumerRecord.timestamp());
+    final GenericRecord record = consumerRecord.value();
+    log.debug("Got Generic MCL on topic: {}, partition: {}, offset: {}", consumerRecord.topic(), consumerRecord.partition(), consumerRecord.offset());
+    try {
+      return EventUtils.avroToPegasusMCL(record);
+    } catch (Exception e) {
+      MetricUtils.counter(this.getClass(), "avro_to_pegasus_conversion_failure").inc();
+      log.error("Error deserializing message due to: ", e);
+      log.error("Message: {}", record.toString());
+      return null;
+    }
+  }
+
+  @Nonnull
+  private static String getPartitionKey(@Nonnull final MetadataChangeLog event) {
+    if (event.hasEntityUrn()) {
+      return event.getEntityUrn().toString();
+    }
+    // Key-only events do not carry an urn, but the serialized key identifies the entity just as well.
+    return event.getEntityType() + ":" + event.getEntityKeyAspect().getValue().asString(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Invokes the hooks for the events of an urn in order, stopping at the first event a hook fails for.
+   *
+   * @return the failure, or null if the hooks succeeded for all events
+   */
+  @Nullable
+  private HookFailure invokeHooks(@Nonnull final List<Integer> urnIndexes,
+      @Nonnull final List<MetadataChangeLog> events) {
+    inFlightUrns.inc();
+    try {
+      for (int index : urnIndexes) {
+        final MetadataChangeLog event = events.get(index);
+        log.debug("Invoking MCL hooks for urn: {}, key: {}", event.getEntityUrn(), event.getEntityKeyAspect());
+        for (MetadataChangeLogHook hook : this.hooks) {
+          if (!hook.isEnabled()) {
+            continue;
+          }
+          try (Timer.Context ignored = MetricUtils.timer(this.getClass(), hook.getClass().getSimpleName() + "_latency")
+              .time()) {
+            hook.invoke(event);
+          } catch (Exception e) {
+            // The later events of the urn are redelivered with this one, so that they are still applied in order.
+            MetricUtils.counter(this.getClass(), hook.getClass().getSimpleName() + "_failure").inc();
+            log.error("Failed to execute MCL hook with name {}", hook.getClass().getCanonicalName(), e);
+            return new HookFailure(index, hook.getClass().getSimpleName(), e);
+          }
+        }
+        MetricUtils.counter(this.getClass(), "consumed_mcl_count").inc();
+        log.debug("Successfully completed MCL hooks for urn: {}, key: {}", event.getEntityUrn(),
+            event.getEntityKeyAspect());
+      }
+      return null;
+    } finally {
+      inFlightUrns.dec();
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class HookFailure {
+    private final int index;
+    private final String hookName;
+    private final Exception cause;
+  }
+}
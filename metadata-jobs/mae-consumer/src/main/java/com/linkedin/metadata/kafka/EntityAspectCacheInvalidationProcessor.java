@@ -0,0 +1,62 @@
+package com.linkedin.metadata.kafka;
+
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.entity.EntityAspectCache;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.Topics;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Invalidates the aspects written by other GMS instances in the {@link EntityAspectCache} of this instance.
+ *
+ * Every instance has to see every MCL, so each one consumes the versioned MCL topic in a consumer group of its own,
+ * starting from the latest offset.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "entityService.aspectCache.enabled", havingValue = "true")
+@Import({KafkaEventConsumerFactory.class})
+@EnableKafka
+public class EntityAspectCacheInvalidationProcessor {
+
+  private final EntityAspectCache _aspectCache;
+
+  @Autowired
+  public EntityAspectCacheInvalidationProcessor(
+      @Nonnull @Qualifier("entityAspectCache") final EntityAspectCache aspectCache) {
+    _aspectCache = aspectCache;
+  }
+
+  @KafkaListener(id = "${ENTITY_ASPECT_CACHE_INVALIDATION_KAFKA_CONSUMER_GROUP_ID:entity-aspect-cache-invalidation}-"
+      + "#{T(java.util.UUID).randomUUID().toString()}", topics = {
+      "${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}"},
+      properties = {"auto.offset.reset=latest"}, containerFactory = "kafkaEventConsumer")
+  public void consume(final ConsumerRecord<String, GenericRecord> consumerRecord) {
+    final MetadataChangeLog event;
+    try {
+      event = EventUtils.avroToPegasusMCL(consumerRecord.value());
+    } catch (Exception e) {
+      MetricUtils.counter(this.getClass(), "avro_to_pegasus_conversion_failure").inc();
+      log.error("Error deserializing message due to: ", e);
+      return;
+    }
+    if (event.getEntityUrn() == null) {
+      return;
+    }
+    _aspectCache.invalidate(event.getEntityUrn().toString(), event.getAspectName());
+    MetricUtils.counter(this.getClass(), "invalidated_aspect_count").inc();
+  }
+}
@@ -10,6 +10,8 @@ import com.linkedin.gms.factory.common.GraphServiceFactory;
 import com.linkedin.gms.factory.common.SystemMetadataServiceFactory;
 import com.linkedin.gms.factory.entityregistry.EntityRegistryFactory;
 import com.linkedin.gms.factory.search.EntitySearchServiceFactory;
+import com.linkedin.gms.factory.search.LineageCacheInvalidatorFactory;
+import com.linkedin.gms.factory.search.SearchCacheInvalidatorFactory;
 import com.linkedin.gms.factory.search.SearchDocumentTransformerFactory;
 import com.linkedin.gms.factory.timeseries.TimeseriesAspectServiceFactory;
 import com.linkedin.metadata.Constants;
@@ -18,12 +20,13 @@ import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.RelationshipFieldSpec;
-import com.linkedin.metadata.models.extractor.FieldExtractor;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.cache.LineageCacheInvalidator;
+import com.linkedin.metadata.search.cache.SearchCacheInvalidator;
 import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
 import com.linkedin.metadata.search.utils.SearchUtils;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
@@ -38,11 +41,14 @@ import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -55,7 +61,8 @@ import static com.linkedin.metadata.search.utils.QueryUtils.*;
 @Slf4j
 @Component
 @Import({GraphServiceFactory.class, EntitySearchServiceFactory.class, TimeseriesAspectServiceFactory.class,
-    EntityRegistryFactory.class, SystemMetadataServiceFactory.class, SearchDocumentTransformerFactory.class})
+    EntityRegistryFactory.class, SystemMetadataServiceFactory.class, SearchDocumentTransformerFactory.class,
+    LineageCacheInvalidatorFactory.class, SearchCacheInvalidatorFactory.class})
 public class UpdateIndicesHook implements MetadataChangeLogHook {
 
   private final GraphService _graphService;
@@ -64,6 +71,8 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
   private final SystemMetadataService _systemMetadataService;
   private final EntityRegistry _entityRegistry;
   private final SearchDocumentTransformer _searchDocumentTransformer;
+  private final LineageCacheInvalidator _lineageCacheInvalidator;
+  private final SearchCacheInvalidator _searchCacheInvalidator;
 
   @Autowired
   public UpdateIndicesHook(
@@ -72,13 +81,17 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
       TimeseriesAspectService timeseriesAspectService,
       SystemMetadataService systemMetadataService,
       EntityRegistry entityRegistry,
-      SearchDocumentTransformer searchDocumentTransformer) {
+      SearchDocumentTransformer searchDocumentTransformer,
+      LineageCacheInvalidator lineageCacheInvalidator,
+      SearchCacheInvalidator searchCacheInvalidator) {
     _graphService = graphService;
     _entitySearchService = entitySearchService;
     _timeseriesAspectService = timeseriesAspectService;
     _systemMetadataService = systemMetadataService;
     _entityRegistry = entityRegistry;
     _searchDocumentTransformer = searchDocumentTransformer;
+    _lineageCacheInvalidator = lineageCacheInvalidator;
+    _searchCacheInvalidator = searchCacheInvalidator;
     _graphService.configure();
     _entitySearchService.configure();
     _systemMetadataService.configure();
@@ -117,7 +130,12 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
             event.getSystemMetadata());
       } else {
         updateSearchService(entitySpec.getName(), urn, aspectSpec, aspect, event.hasSystemMetadata() ? event.getSystemMetadata().getRunId() : null);
-        updateGraphService(urn, aspectSpec, aspect);
+        // Restated events re-apply the full edge set, since the graph may be out of sync with the previous value.
+        RecordTemplate previousAspect = event.getChangeType() == ChangeType.UPSERT && event.hasPreviousAspectValue()
+            ? GenericRecordUtils.deserializeAspect(event.getPreviousAspectValue().getValue(),
+                event.getPreviousAspectValue().getContentType(), aspectSpec)
+            : null;
+        updateGraphService(urn, aspectSpec, aspect, previousAspect);
         updateSystemMetadata(event.getSystemMetadata(), urn, aspectSpec, aspect);
       }
     } else if (event.getChangeType() == ChangeType.DELETE) {
@@ -149,7 +167,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     final List<Edge> edgesToAdd = new ArrayList<>();
 
     Map<RelationshipFieldSpec, List<Object>> extractedFields =
-        FieldExtractor.extractFields(aspect, aspectSpec.getRelationshipFieldSpecs());
+        aspectSpec.getFieldExtractor().extractFields(aspect, aspectSpec.getRelationshipFieldSpecs());
 
     for (Map.Entry<RelationshipFieldSpec, List<Object>> entry : extractedFields.entrySet()) {
       relationshipTypesBeingAdded.add(entry.getKey().getRelationshipName());
@@ -166,9 +184,11 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
   }
 
   /**
-   * Process snapshot and update graph index
+   * Process snapshot and update graph index. When the previous value of the aspect is known, only the edges that
+   * differ between the previous and the new value are removed / added.
    */
-  private void updateGraphService(Urn urn, AspectSpec aspectSpec, RecordTemplate aspect) {
+  private void updateGraphService(Urn urn, AspectSpec aspectSpec, RecordTemplate aspect,
+      @Nullable RecordTemplate previousAspect) {
     Pair<List<Edge>, Set<String>> edgeAndRelationTypes =
         getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, aspect);
 
@@ -176,11 +196,51 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     final Set<String> relationshipTypesBeingAdded = edgeAndRelationTypes.getSecond();
 
     log.debug("Here's the relationship types found {}", relationshipTypesBeingAdded);
+    if (previousAspect != null) {
+      final Set<Edge> newEdges = new LinkedHashSet<>(edgesToAdd);
+      final Set<Edge> previousEdges =
+          new LinkedHashSet<>(getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, previousAspect).getFirst());
+      final List<Edge> edgesToRemove =
+          previousEdges.stream().filter(edge -> !newEdges.contains(edge)).collect(Collectors.toList());
+      final List<Edge> newEdgesToAdd =
+          newEdges.stream().filter(edge -> !previousEdges.contains(edge)).collect(Collectors.toList());
+      if (!edgesToRemove.isEmpty()) {
+        _graphService.removeEdges(edgesToRemove);
+      }
+      if (!newEdgesToAdd.isEmpty()) {
+        _graphService.addEdges(newEdgesToAdd);
+      }
+      if (!edgesToRemove.isEmpty() || !newEdgesToAdd.isEmpty()) {
+        invalidateLineage(urn, aspectSpec, newEdgesToAdd);
+      }
+      return;
+    }
     if (relationshipTypesBeingAdded.size() > 0) {
-      _graphService.removeEdgesFromNode(urn, new ArrayList<>(relationshipTypesBeingAdded),
-          newRelationshipFilter(new Filter().setOr(new ConjunctiveCriterionArray()), RelationshipDirection.OUTGOING));
-      edgesToAdd.forEach(edge -> _graphService.addEdge(edge));
+      _graphService.replaceEdges(urn, new ArrayList<>(relationshipTypesBeingAdded), edgesToAdd);
+      invalidateLineage(urn, aspectSpec, edgesToAdd);
+    }
+  }
+
+  /**
+   * Invalidate cached lineage traversals affected by changing the lineage edges of the given aspect. A traversal that
+   * used a removed edge went through the urn itself, while one that should now use an added edge may only have reached
+   * its destination, so both are marked.
+   */
+  private void invalidateLineage(Urn urn, AspectSpec aspectSpec, List<Edge> addedEdges) {
+    final Set<String> lineageRelationshipTypes = aspectSpec.getRelationshipFieldSpecs()
+        .stream()
+        .filter(spec -> spec.getRelationshipAnnotation().isLineage())
+        .map(RelationshipFieldSpec::getRelationshipName)
+        .collect(Collectors.toSet());
+    if (lineageRelationshipTypes.isEmpty()) {
+      return;
     }
+    final Set<Urn> touchedUrns = new HashSet<>();
+    touchedUrns.add(urn);
+    addedEdges.stream()
+        .filter(edge -> lineageRelationshipTypes.contains(edge.getRelationshipType()))
+        .forEach(edge -> touchedUrns.add(edge.getDestination()));
+    _lineageCacheInvalidator.markUpdated(touchedUrns);
   }
 
   /**
@@ -206,6 +266,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     }
 
     _entitySearchService.upsertDocument(entityName, searchDocument.get(), docId.get());
+    _searchCacheInvalidator.markUpdated(entityName);
   }
 
   /**
@@ -249,6 +310,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
   private void deleteGraphData(Urn urn, AspectSpec aspectSpec, RecordTemplate aspect, Boolean isKeyAspect) {
     if (isKeyAspect) {
       _graphService.removeNode(urn);
+      _lineageCacheInvalidator.markUpdated(Collections.singleton(urn));
       return;
     }
 
@@ -259,6 +321,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     if (relationshipTypesBeingAdded.size() > 0) {
       _graphService.removeEdgesFromNode(urn, new ArrayList<>(relationshipTypesBeingAdded),
           createRelationshipFilter(new Filter().setOr(new ConjunctiveCriterionArray()), RelationshipDirection.OUTGOING));
+      invalidateLineage(urn, aspectSpec, Collections.emptyList());
     }
   }
 
@@ -273,6 +336,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
       if (isKeyAspect) {
         _entitySearchService.deleteDocument(entityName, docId);
+        _searchCacheInvalidator.markUpdated(entityName);
         return;
       }
 
@@ -289,5 +353,6 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
       }
 
     _entitySearchService.upsertDocument(entityName, searchDocument.get(), docId);
+    _searchCacheInvalidator.markUpdated(entityName);
   }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.linkedin.metadata.kafka;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.SystemMetadata;
+import com.linkedin.mxe.Topics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class BatchMetadataChangeLogProcessorTest {
+
+  private static final Urn URN_A = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,a,PROD)");
+  private static final Urn URN_B = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,b,PROD)");
+
+  // Offsets of the events each hook was invoked with, by urn
+  private Map<String, List<Long>> _indexedOffsets;
+  private Map<String, List<Long>> _emittedOffsets;
+  private BatchMetadataChangeLogProcessor _processor;
+
+  @BeforeMethod
+  public void setup() {
+    _indexedOffsets = new ConcurrentHashMap<>();
+    _emittedOffsets = new ConcurrentHashMap<>();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    _processor.shutdown();
+  }
+
+  @Test
+  public void testEventsAreGroupedByUrnAndAppliedInOrder() throws Exception {
+    _processor = new BatchMetadataChangeLogProcessor(ImmutableList.<MetadataChangeLogHook>of(
+        event -> {
+          // Slow down the first urn, so that the other one completes first
+          if (event.getEntityUrn().equals(URN_A)) {
+            Thread.sleep(50);
+          }
+          record(_indexedOffsets, event);
+        },
+        event -> record(_emittedOffsets, event)), 4);
+
+    _processor.consume(ImmutableList.of(
+        consumerRecord(0, URN_A), consumerRecord(1, URN_B), consumerRecord(2, URN_A), consumerRecord(3, URN_A),
+        consumerRecord(4, URN_B)));
+
+    // All hooks ran for the whole batch before the listener returned, and so before the offsets are committed
+    assertEquals(_indexedOffsets.get(URN_A.toString()), ImmutableList.of(0L, 2L, 3L));
+    assertEquals(_indexedOffsets.get(URN_B.toString()), ImmutableList.of(1L, 4L));
+    assertEquals(_emittedOffsets, _indexedOffsets);
+  }
+
+  @Test
+  public void testHookFailureRedeliversFromEarliestFailedRecord() throws Exception {
+    _processor = new BatchMetadataChangeLogProcessor(ImmutableList.<MetadataChangeLogHook>of(
+        event -> {
+          if (event.getSystemMetadata().getLastObserved() == 2L) {
+            throw new IllegalStateException("Failed to index");
+          }
+          record(_indexedOffsets, event);
+        },
+        event -> record(_emittedOffsets, event)), 4);
+
+    final List<ConsumerRecord<String, GenericRecord>> records = ImmutableList.of(
+        consumerRecord(0, URN_A), consumerRecord(1, URN_B), consumerRecord(2, URN_B), consumerRecord(3, URN_A),
+        consumerRecord(4, URN_B));
+
+    BatchListenerFailedException exception =
+        expectThrows(BatchListenerFailedException.class, () -> _processor.consume(records));
+
+    assertSame(exception.getRecord(), records.get(2));
+    assertTrue(exception.getCause() instanceof IllegalStateException);
+    // The other urns are processed, while the events of the failed urn after the failed one are left for redelivery
+    assertEquals(_indexedOffsets.get(URN_A.toString()), ImmutableList.of(0L, 3L));
+    assertEquals(_indexedOffsets.get(URN_B.toString()), ImmutableList.of(1L));
+    assertEquals(_emittedOffsets, _indexedOffsets);
+  }
+
+  private static void record(Map<String, List<Long>> offsets, MetadataChangeLog event) {
+    offsets.computeIfAbsent(event.getEntityUrn().toString(), urn -> Collections.synchronizedList(new ArrayList<>()))
+        .add(event.getSystemMetadata().getLastObserved());
+  }
+
+  private static ConsumerRecord<String, GenericRecord> consumerRecord(long offset, Urn urn) throws Exception {
+    final MetadataChangeLog event = new MetadataChangeLog()
+        .setEntityType("dataset")
+        .setEntityUrn(urn)
+        .setAspectName("status")
+        .setChangeType(ChangeType.UPSERT)
+        // Identifies the event in the hooks
+        .setSystemMetadata(new SystemMetadata().setLastObserved(offset).setRunId("test"));
+    return new ConsumerRecord<>(Topics.METADATA_CHANGE_LOG_VERSIONED, 0, offset, urn.toString(),
+        EventUtils.pegasusToAvroMCL(event));
+  }
+}
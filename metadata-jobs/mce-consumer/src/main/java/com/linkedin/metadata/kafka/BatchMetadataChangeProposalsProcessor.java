@@ -0,0 +1,144 @@
+package com.linkedin.metadata.kafka;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.datahub.authentication.Authentication;
+import com.linkedin.entity.client.BatchIngestProposalsException;
+import com.linkedin.entity.client.RestliEntityClient;
+import com.linkedin.gms.factory.auth.SystemAuthenticationFactory;
+import com.linkedin.gms.factory.entity.RestliEntityClientFactory;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.gms.factory.kafka.DataHubKafkaProducerFactory;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.config.BatchMetadataChangeProposalProcessorCondition;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.FailedMetadataChangeProposal;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.mxe.Topics;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Batch variant of {@link MetadataChangeProposalsProcessor}, enabled with MCP_CONSUMER_BATCH_ENABLED.
+ *
+ * Each poll is ingested with a single batch ingest call so that GMS can write the whole batch in as few DB transactions
+ * as possible. GMS validates the whole batch before writing any of it, and reports which proposals were committed if
+ * writing fails part way. Proposals which were not committed are then re-ingested one at a time, in order, so that only
+ * the failing proposals end up on the failed MCP topic and committed ones are not written twice.
+ */
+@Slf4j
+@Component
+@Import({RestliEntityClientFactory.class, SystemAuthenticationFactory.class, KafkaEventConsumerFactory.class,
+    DataHubKafkaProducerFactory.class})
+@Conditional(BatchMetadataChangeProposalProcessorCondition.class)
+@EnableKafka
+@RequiredArgsConstructor
+public class BatchMetadataChangeProposalsProcessor {
+
+  private final Authentication systemAuthentication;
+  private final RestliEntityClient entityClient;
+  private final Producer<String, IndexedRecord> kafkaProducer;
+
+  private final Histogram kafkaLagStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "kafkaLag"));
+  private final Histogram batchSizeStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "batchSize"));
+
+  @Value("${FAILED_METADATA_CHANGE_PROPOSAL_TOPIC_NAME:" + Topics.FAILED_METADATA_CHANGE_PROPOSAL + "}")
+  private String fmcpTopicName;
+
+  @KafkaListener(id = "${METADATA_CHANGE_PROPOSAL_KAFKA_CONSUMER_GROUP_ID:generic-mce-consumer-job-client}", topics =
+      "${METADATA_CHANGE_PROPOSAL_TOPIC_NAME:" + Topics.METADATA_CHANGE_PROPOSAL
+          + "}", containerFactory = "kafkaBatchEventConsumer")
+  public void consume(final List<ConsumerRecord<String, GenericRecord>> consumerRecords) {
+    batchSizeStats.update(consumerRecords.size());
+
+    final List<MetadataChangeProposal> events = new ArrayList<>(consumerRecords.size());
+    for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+      kafkaLagStats.update(System.currentTimeMillis() - consumerRecord.timestamp());
+      final GenericRecord record = consumerRecord.value();
+      log.debug("Record {}", record);
+      try {
+        events.add(EventUtils.avroToPegasusMCP(record));
+      } catch (Throwable throwable) {
+        log.error("MCP Processor Error", throwable);
+        log.error("Message: {}", record);
+        sendFailedMCP(new MetadataChangeProposal(), throwable);
+      }
+    }
+
+    if (events.isEmpty()) {
+      return;
+    }
+
+    try {
+      entityClient.batchIngestProposals(events, this.systemAuthentication);
+    } catch (BatchIngestProposalsException e) {
+      log.warn("Failed to ingest {} of a batch of {} MCPs, ingesting them one by one", events.size()
+          - e.getCommittedCount(), events.size(), e);
+      MetricUtils.counter(this.getClass(), "batchPartialFallback").inc();
+      final List<MetadataChangeProposal> uncommitted = new ArrayList<>();
+      for (int i = 0; i < events.size(); i++) {
+        if (!e.isCommitted(i)) {
+          uncommitted.add(events.get(i));
+        }
+      }
+      ingestOneByOne(uncommitted);
+    } catch (Throwable batchThrowable) {
+      // The whole batch is validated before it is written, so nothing was committed
+      log.warn("Failed to ingest a batch of {} MCPs, falling back to ingesting them one by one", events.size(),
+          batchThrowable);
+      MetricUtils.counter(this.getClass(), "batchFallback").inc();
+      ingestOneByOne(events);
+    }
+  }
+
+  private void ingestOneByOne(@Nonnull List<MetadataChangeProposal> events) {
+    for (MetadataChangeProposal event : events) {
+      try {
+        entityClient.ingestProposal(event, this.systemAuthentication);
+      } catch (Throwable throwable) {
+        log.error("MCP Processor Error", throwable);
+        log.error("Message: {}", event);
+        sendFailedMCP(event, throwable);
+      }
+    }
+  }
+
+  private void sendFailedMCP(@Nonnull MetadataChangeProposal event, @Nonnull Throwable throwable) {
+    final FailedMetadataChangeProposal failedMetadataChangeProposal = createFailedMCPEvent(event, throwable);
+    try {
+      final GenericRecord genericFailedMCERecord = EventUtils.pegasusToAvroFailedMCP(failedMetadataChangeProposal);
+      log.debug("Sending FailedMessages to topic - {}", fmcpTopicName);
+      log.info("Error while processing FMCP: FailedMetadataChangeProposal - {}", failedMetadataChangeProposal);
+      kafkaProducer.send(new ProducerRecord<>(fmcpTopicName, genericFailedMCERecord));
+    } catch (IOException e) {
+      log.error("Error while sending FailedMetadataChangeProposal: Exception  - {}, FailedMetadataChangeProposal - {}",
+          e.getStackTrace(), failedMetadataChangeProposal);
+    }
+  }
+
+  @Nonnull
+  private FailedMetadataChangeProposal createFailedMCPEvent(@Nonnull MetadataChangeProposal event,
+      @Nonnull Throwable throwable) {
+    final FailedMetadataChangeProposal fmcp = new FailedMetadataChangeProposal();
+    fmcp.setError(ExceptionUtils.getStackTrace(throwable));
+    fmcp.setMetadataChangeProposal(event);
+    return fmcp;
+  }
+}
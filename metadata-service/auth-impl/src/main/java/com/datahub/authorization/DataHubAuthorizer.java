@@ -1,13 +1,19 @@
 package com.datahub.authorization;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.datahub.authentication.Authentication;
 import com.google.common.annotations.VisibleForTesting;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.policy.DataHubPolicyInfo;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +22,7 @@ import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -51,6 +58,9 @@ public class DataHubAuthorizer implements Authorizer {
   // Not concurrent data structure because writes are always against the entire thing.
   private final Map<String, List<DataHubPolicyInfo>> _policyCache = new HashMap<>(); // Shared Policy Cache.
 
+  // Active policies indexed by privilege, resource type and actor, swapped in as a whole on each refresh.
+  private final AtomicReference<PolicyIndex> _policyIndex = new AtomicReference<>(PolicyIndex.EMPTY);
+
   private final ScheduledExecutorService _refreshExecutorService = Executors.newScheduledThreadPool(1);
   private final PolicyRefreshRunnable _policyRefreshRunnable;
   private final PolicyEngine _policyEngine;
@@ -65,10 +75,22 @@ public class DataHubAuthorizer implements Authorizer {
       final int delayIntervalSeconds,
       final int refreshIntervalSeconds,
       final AuthorizationMode mode) {
+    this(systemAuthentication, entityClient, delayIntervalSeconds, refreshIntervalSeconds, mode,
+        PolicyEngine.DEFAULT_MEMBERSHIP_CACHE_TTL_SECONDS);
+  }
+
+  public DataHubAuthorizer(
+      final Authentication systemAuthentication,
+      final EntityClient entityClient,
+      final int delayIntervalSeconds,
+      final int refreshIntervalSeconds,
+      final AuthorizationMode mode,
+      final long membershipCacheTtlSeconds) {
     _systemAuthentication = Objects.requireNonNull(systemAuthentication);
     _mode = Objects.requireNonNull(mode);
-    _policyEngine = new PolicyEngine(systemAuthentication, Objects.requireNonNull(entityClient));
-    _policyRefreshRunnable = new PolicyRefreshRunnable(systemAuthentication, new PolicyFetcher(entityClient), _policyCache);
+    _policyEngine = new PolicyEngine(systemAuthentication, Objects.requireNonNull(entityClient), membershipCacheTtlSeconds);
+    _policyRefreshRunnable = new PolicyRefreshRunnable(systemAuthentication, new PolicyFetcher(entityClient), _policyCache,
+        _policyIndex);
     _refreshExecutorService.scheduleAtFixedRate(_policyRefreshRunnable, delayIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
   }
 
@@ -85,20 +107,53 @@ public class DataHubAuthorizer implements Authorizer {
       return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW, null);
     }
 
-    Optional<ResolvedResourceSpec> resolvedResourceSpec = request.getResourceSpec().map(_resourceSpecResolver::resolve);
-
-    // 1. Fetch the policies relevant to the requested privilege.
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(request.getPrivilege(), new ArrayList<>());
-
-    // 2. Evaluate each policy.
-    for (DataHubPolicyInfo policy : policiesToEvaluate) {
-      if (isRequestGranted(policy, request, resolvedResourceSpec)) {
-        // Short circuit if policy has granted privileges to this actor.
-        return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW,
-            String.format("Granted by policy with type: %s", policy.getType()));
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "authorize").time()) {
+      Optional<ResolvedResourceSpec> resolvedResourceSpec = request.getResourceSpec().map(_resourceSpecResolver::resolve);
+
+      // 1. Fetch the policies relevant to the requested privilege, resource and actor.
+      final List<DataHubPolicyInfo> policiesToEvaluate = getPoliciesToEvaluate(request, resolvedResourceSpec);
+      MetricUtils.get()
+          .histogram(MetricRegistry.name(this.getClass(), "policiesEvaluated"))
+          .update(policiesToEvaluate.size());
+
+      // 2. Evaluate each policy.
+      for (DataHubPolicyInfo policy : policiesToEvaluate) {
+        if (isRequestGranted(policy, request, resolvedResourceSpec)) {
+          // Short circuit if policy has granted privileges to this actor.
+          MetricUtils.counter(this.getClass(), "granted").inc();
+          return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW,
+              String.format("Granted by policy with type: %s", policy.getType()));
+        }
       }
+      MetricUtils.counter(this.getClass(), "denied").inc();
+      return new AuthorizationResult(request, AuthorizationResult.Type.DENY,  null);
     }
-    return new AuthorizationResult(request, AuthorizationResult.Type.DENY,  null);
+  }
+
+  /**
+   * Returns the policies which may grant the requested privilege. In the default mode these are looked up in the
+   * {@link PolicyIndex}, so that only the policies applying to the resource type and to the actor, its groups or its
+   * roles are evaluated.
+   */
+  private List<DataHubPolicyInfo> getPoliciesToEvaluate(final AuthorizationRequest request,
+      final Optional<ResolvedResourceSpec> resolvedResourceSpec) {
+    if (AuthorizationMode.ALLOW_ALL.equals(mode())) {
+      return _policyCache.getOrDefault(request.getPrivilege(), new ArrayList<>());
+    }
+    final Urn actor;
+    try {
+      actor = Urn.createFromString(request.getActorUrn());
+    } catch (URISyntaxException e) {
+      log.error(String.format("Failed to bind actor %s to an URN. Actors must be URNs. Denying the authorization request",
+          request.getActorUrn()));
+      return Collections.emptyList();
+    }
+    return _policyIndex.get().getCandidatePolicies(
+        request.getPrivilege(),
+        actor,
+        resolvedResourceSpec,
+        () -> _policyEngine.getGroups(actor),
+        () -> _policyEngine.getRoles(actor));
   }
 
   public List<String> getGrantedPrivileges(final String actorUrn, final Optional<ResourceSpec> resourceSpec) {
@@ -160,6 +215,14 @@ public class DataHubAuthorizer implements Authorizer {
     _refreshExecutorService.execute(_policyRefreshRunnable);
   }
 
+  /**
+   * Invalidates the cached group and role memberships of the given actors. Should be invoked when actors are
+   * added to or removed from groups or roles, so that the change applies without waiting for the cache to expire.
+   */
+  public void invalidateActorMemberships(final Collection<Urn> actors) {
+    _policyEngine.invalidateActorMemberships(actors);
+  }
+
   public AuthorizationMode mode() {
     return _mode;
   }
@@ -205,12 +268,14 @@ public class DataHubAuthorizer implements Authorizer {
     private final Authentication _systemAuthentication;
     private final PolicyFetcher _policyFetcher;
     private final Map<String, List<DataHubPolicyInfo>> _policyCache;
+    private final AtomicReference<PolicyIndex> _policyIndex;
 
     @Override
     public void run() {
       try {
         // Populate new cache and swap.
         Map<String, List<DataHubPolicyInfo>> newCache = new HashMap<>();
+        final List<DataHubPolicyInfo> allPolicies = new ArrayList<>();
 
         int start = 0;
         int count = 30;
@@ -222,6 +287,7 @@ public class DataHubAuthorizer implements Authorizer {
                 policyFetchResult = _policyFetcher.fetchPolicies(start, count, _systemAuthentication);
 
             addPoliciesToCache(newCache, policyFetchResult.getPolicies());
+            policyFetchResult.getPolicies().forEach(policy -> allPolicies.add(policy.getPolicyInfo()));
 
             total = policyFetchResult.getTotal();
             start = start + count;
@@ -235,6 +301,11 @@ public class DataHubAuthorizer implements Authorizer {
             _policyCache.putAll(newCache);
           }
         }
+        final PolicyIndex newIndex = PolicyIndex.build(allPolicies);
+        _policyIndex.set(newIndex);
+        MetricUtils.get()
+            .histogram(MetricRegistry.name(DataHubAuthorizer.class, "activePolicies"))
+            .update(newIndex.size());
         log.debug(String.format("Successfully fetched %s policies.", total));
       } catch (Exception e) {
         log.error("Caught exception while loading Policy cache. Will retry on next scheduled attempt.", e);
@@ -1,6 +1,8 @@
 package com.datahub.authorization;
 
 import com.datahub.authentication.Authentication;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
@@ -12,6 +14,7 @@ import com.linkedin.identity.GroupMembership;
 import com.linkedin.identity.NativeGroupMembership;
 import com.linkedin.identity.RoleMembership;
 import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.policy.DataHubActorFilter;
 import com.linkedin.policy.DataHubPolicyInfo;
 import com.linkedin.policy.DataHubResourceFilter;
@@ -21,27 +24,52 @@ import com.linkedin.policy.PolicyMatchCriterionArray;
 import com.linkedin.policy.PolicyMatchFilter;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.Constants.*;
 
 
 @Slf4j
-@RequiredArgsConstructor
 public class PolicyEngine {
 
+  public static final long DEFAULT_MEMBERSHIP_CACHE_TTL_SECONDS = 60;
+  private static final long MAX_MEMBERSHIP_CACHE_SIZE = 10000;
+
   private final Authentication _systemAuthentication;
   private final EntityClient _entityClient;
 
+  // Groups and roles of recently seen actors, shared across requests.
+  private final Cache<Urn, Set<Urn>> _groupsCache;
+  private final Cache<Urn, Set<Urn>> _rolesCache;
+
+  public PolicyEngine(final Authentication systemAuthentication, final EntityClient entityClient) {
+    this(systemAuthentication, entityClient, DEFAULT_MEMBERSHIP_CACHE_TTL_SECONDS);
+  }
+
+  public PolicyEngine(final Authentication systemAuthentication, final EntityClient entityClient,
+      final long membershipCacheTtlSeconds) {
+    _systemAuthentication = systemAuthentication;
+    _entityClient = entityClient;
+    _groupsCache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_MEMBERSHIP_CACHE_SIZE)
+        .expireAfterWrite(membershipCacheTtlSeconds, TimeUnit.SECONDS)
+        .build();
+    _rolesCache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_MEMBERSHIP_CACHE_SIZE)
+        .expireAfterWrite(membershipCacheTtlSeconds, TimeUnit.SECONDS)
+        .build();
+  }
+
   public PolicyEvaluationResult evaluatePolicy(
       final DataHubPolicyInfo policy,
       final String actorStr,
@@ -203,7 +231,7 @@ public class PolicyEngine {
    * Get filter object from policy resource filter. Make sure it is backward compatible by constructing PolicyMatchFilter object
    * from other fields if the filter field is not set
    */
-  private PolicyMatchFilter getFilter(DataHubResourceFilter policyResourceFilter) {
+  static PolicyMatchFilter getFilter(DataHubResourceFilter policyResourceFilter) {
     if (policyResourceFilter.hasFilter()) {
       return policyResourceFilter.getFilter();
     }
@@ -343,6 +371,30 @@ public class PolicyEngine {
     if (context.roles != null) {
       return context.roles;
     }
+    final Set<Urn> roles = getRoles(actor);
+    context.setRoles(roles);
+    return roles;
+  }
+
+  private Set<Urn> resolveGroups(Urn actor, PolicyEvaluationContext context) {
+    if (context.groups != null) {
+      return context.groups;
+    }
+    final Set<Urn> groups = getGroups(actor);
+    context.setGroups(groups); // Cache the groups.
+    return groups;
+  }
+
+  /**
+   * Returns the roles of an actor, served from the membership cache when possible.
+   */
+  Set<Urn> getRoles(Urn actor) {
+    final Set<Urn> cachedRoles = _rolesCache.getIfPresent(actor);
+    if (cachedRoles != null) {
+      MetricUtils.counter(this.getClass(), "membershipCacheHit").inc();
+      return cachedRoles;
+    }
+    MetricUtils.counter(this.getClass(), "membershipCacheMiss").inc();
 
     Set<Urn> roles = new HashSet<>();
     final EnvelopedAspectMap aspectMap;
@@ -351,30 +403,36 @@ public class PolicyEngine {
       final EntityResponse corpUser = _entityClient.batchGetV2(CORP_USER_ENTITY_NAME, Collections.singleton(actor),
           Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), _systemAuthentication).get(actor);
       if (corpUser == null || !corpUser.hasAspects()) {
+        _rolesCache.put(actor, roles);
         return roles;
       }
       aspectMap = corpUser.getAspects();
     } catch (Exception e) {
+      // Not cached, so that the roles are fetched again on the next request.
       log.error(String.format("Failed to fetch %s for urn %s", ROLE_MEMBERSHIP_ASPECT_NAME, actor), e);
       return roles;
     }
 
-    if (!aspectMap.containsKey(ROLE_MEMBERSHIP_ASPECT_NAME)) {
-      return roles;
-    }
-
-    RoleMembership roleMembership = new RoleMembership(aspectMap.get(ROLE_MEMBERSHIP_ASPECT_NAME).getValue().data());
-    if (roleMembership.hasRoles()) {
-      roles.addAll(roleMembership.getRoles());
-      context.setRoles(roles);
+    if (aspectMap.containsKey(ROLE_MEMBERSHIP_ASPECT_NAME)) {
+      RoleMembership roleMembership = new RoleMembership(aspectMap.get(ROLE_MEMBERSHIP_ASPECT_NAME).getValue().data());
+      if (roleMembership.hasRoles()) {
+        roles.addAll(roleMembership.getRoles());
+      }
     }
+    _rolesCache.put(actor, roles);
     return roles;
   }
 
-  private Set<Urn> resolveGroups(Urn actor, PolicyEvaluationContext context) {
-    if (context.groups != null) {
-      return context.groups;
+  /**
+   * Returns the groups of an actor, served from the membership cache when possible.
+   */
+  Set<Urn> getGroups(Urn actor) {
+    final Set<Urn> cachedGroups = _groupsCache.getIfPresent(actor);
+    if (cachedGroups != null) {
+      MetricUtils.counter(this.getClass(), "membershipCacheHit").inc();
+      return cachedGroups;
     }
+    MetricUtils.counter(this.getClass(), "membershipCacheMiss").inc();
 
     Set<Urn> groups = new HashSet<>();
     final EnvelopedAspectMap aspectMap;
@@ -384,6 +442,7 @@ public class PolicyEngine {
               ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME), _systemAuthentication)
           .get(actor);
       if (corpUser == null || !corpUser.hasAspects()) {
+        _groupsCache.put(actor, groups);
         return groups;
       }
       aspectMap = corpUser.getAspects();
@@ -399,11 +458,26 @@ public class PolicyEngine {
     maybeNativeGroupMembership.ifPresent(
         nativeGroupMembership -> groups.addAll(nativeGroupMembership.getNativeGroups()));
 
-    context.setGroups(groups); // Cache the groups.
+    _groupsCache.put(actor, groups);
     return groups;
   }
 
-  // TODO: Optimization - Cache the group membership. Refresh periodically.
+  /**
+   * Drops the cached groups and roles of the given actors, e.g. after their memberships changed.
+   */
+  public void invalidateActorMemberships(final Collection<Urn> actors) {
+    _groupsCache.invalidateAll(actors);
+    _rolesCache.invalidateAll(actors);
+  }
+
+  /**
+   * Drops the cached groups and roles of all actors.
+   */
+  public void invalidateAllActorMemberships() {
+    _groupsCache.invalidateAll();
+    _rolesCache.invalidateAll();
+  }
+
   private Optional<GroupMembership> resolveGroupMembership(final EnvelopedAspectMap aspectMap) {
     if (aspectMap.containsKey(GROUP_MEMBERSHIP_ASPECT_NAME)) {
       return Optional.of(new GroupMembership(aspectMap.get(GROUP_MEMBERSHIP_ASPECT_NAME).getValue().data()));
@@ -0,0 +1,185 @@
+package com.datahub.authorization;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.PolicyMatchCondition;
+import com.linkedin.policy.PolicyMatchCriterion;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * An index over the active DataHub Policies, compiled once per policy refresh, used to narrow down the policies which
+ * could grant a privilege before they are evaluated by the {@link PolicyEngine}.
+ *
+ * Policies are bucketed by privilege, then by the resource type they apply to, and finally by the users, groups and
+ * roles named in their actor filters. Policies granting to all users or groups, or to resource owners, are always
+ * candidates. The index is immutable once built; a refresh builds a new one and swaps it in.
+ */
+public class PolicyIndex {
+
+  public static final PolicyIndex EMPTY = new PolicyIndex(Collections.emptyMap(), 0);
+
+  // Bucket for policies which are not restricted to a resource type, e.g. platform policies.
+  private static final String ANY_RESOURCE_TYPE = "*";
+
+  // privilege -> resource type -> policies
+  private final Map<String, Map<String, ActorBuckets>> _index;
+  private final int _policyCount;
+
+  private PolicyIndex(@Nonnull final Map<String, Map<String, ActorBuckets>> index, final int policyCount) {
+    _index = index;
+    _policyCount = policyCount;
+  }
+
+  @Nonnull
+  public static PolicyIndex build(@Nonnull final Collection<DataHubPolicyInfo> policies) {
+    final Map<String, Map<String, ActorBuckets>> index = new HashMap<>();
+    int policyCount = 0;
+    for (DataHubPolicyInfo policy : policies) {
+      if (!PoliciesConfig.ACTIVE_POLICY_STATE.equals(policy.getState())) {
+        // Inactive policies never grant anything.
+        continue;
+      }
+      policyCount++;
+      final Set<String> resourceTypes = getResourceTypes(policy);
+      for (String privilege : policy.getPrivileges()) {
+        final Map<String, ActorBuckets> privilegeIndex = index.computeIfAbsent(privilege, key -> new HashMap<>());
+        for (String resourceType : resourceTypes) {
+          privilegeIndex.computeIfAbsent(resourceType, key -> new ActorBuckets()).add(policy);
+        }
+      }
+    }
+    return new PolicyIndex(index, policyCount);
+  }
+
+  /**
+   * Returns the number of active policies in the index.
+   */
+  public int size() {
+    return _policyCount;
+  }
+
+  /**
+   * Returns the policies which may grant a privilege to an actor on the given resource. The groups and roles of the
+   * actor are only resolved if some candidate policy names a group or a role.
+   *
+   * The result is a superset of the policies that grant the privilege, so each of them still has to be evaluated.
+   */
+  @Nonnull
+  public List<DataHubPolicyInfo> getCandidatePolicies(
+      @Nonnull final String privilege,
+      @Nonnull final Urn actor,
+      @Nonnull final Optional<ResolvedResourceSpec> resourceSpec,
+      @Nonnull final Supplier<Set<Urn>> actorGroups,
+      @Nonnull final Supplier<Set<Urn>> actorRoles) {
+    final Map<String, ActorBuckets> privilegeIndex = _index.get(privilege);
+    if (privilegeIndex == null) {
+      return Collections.emptyList();
+    }
+
+    final List<ActorBuckets> buckets = new ArrayList<>();
+    if (privilegeIndex.containsKey(ANY_RESOURCE_TYPE)) {
+      buckets.add(privilegeIndex.get(ANY_RESOURCE_TYPE));
+    }
+    // Policies restricted to resource types can only match requests with a resource.
+    if (resourceSpec.isPresent()) {
+      for (String resourceType : resourceSpec.get().getFieldValues(ResourceFieldType.RESOURCE_TYPE)) {
+        if (privilegeIndex.containsKey(resourceType)) {
+          buckets.add(privilegeIndex.get(resourceType));
+        }
+      }
+    }
+
+    // Policies are deduplicated by identity, hashing their DataMaps would cost more than evaluating them.
+    final Set<DataHubPolicyInfo> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    final List<DataHubPolicyInfo> candidates = new ArrayList<>();
+    for (ActorBuckets bucket : buckets) {
+      addCandidates(bucket._anyActorPolicies, seen, candidates);
+      addCandidates(bucket._policiesByUser.get(actor), seen, candidates);
+      if (!bucket._policiesByGroup.isEmpty()) {
+        actorGroups.get().forEach(group -> addCandidates(bucket._policiesByGroup.get(group), seen, candidates));
+      }
+      if (!bucket._policiesByRole.isEmpty()) {
+        actorRoles.get().forEach(role -> addCandidates(bucket._policiesByRole.get(role), seen, candidates));
+      }
+    }
+    return candidates;
+  }
+
+  private static void addCandidates(
+      @Nullable final List<DataHubPolicyInfo> policies,
+      @Nonnull final Set<DataHubPolicyInfo> seen,
+      @Nonnull final List<DataHubPolicyInfo> candidates) {
+    if (policies == null) {
+      return;
+    }
+    for (DataHubPolicyInfo policy : policies) {
+      if (seen.add(policy)) {
+        candidates.add(policy);
+      }
+    }
+  }
+
+  /**
+   * Returns the resource types a policy is restricted to, or {@link #ANY_RESOURCE_TYPE} if it is not restricted to
+   * specific resource types.
+   */
+  private static Set<String> getResourceTypes(@Nonnull final DataHubPolicyInfo policy) {
+    if (PoliciesConfig.PLATFORM_POLICY_TYPE.equals(policy.getType()) || policy.getResources() == null) {
+      return Collections.singleton(ANY_RESOURCE_TYPE);
+    }
+    final Set<String> resourceTypes = new HashSet<>();
+    for (PolicyMatchCriterion criterion : PolicyEngine.getFilter(policy.getResources()).getCriteria()) {
+      if (ResourceFieldType.RESOURCE_TYPE.name().equalsIgnoreCase(criterion.getField())
+          && criterion.getCondition() == PolicyMatchCondition.EQUALS) {
+        if (!resourceTypes.isEmpty()) {
+          // Several type criteria must all match, keep the policy in the general bucket rather than intersecting them.
+          return Collections.singleton(ANY_RESOURCE_TYPE);
+        }
+        resourceTypes.addAll(criterion.getValues());
+      }
+    }
+    return resourceTypes.isEmpty() ? Collections.singleton(ANY_RESOURCE_TYPE) : resourceTypes;
+  }
+
+  /**
+   * The policies of a (privilege, resource type) pair, bucketed by the actors they apply to.
+   */
+  private static class ActorBuckets {
+    private final List<DataHubPolicyInfo> _anyActorPolicies = new ArrayList<>();
+    private final Map<Urn, List<DataHubPolicyInfo>> _policiesByUser = new HashMap<>();
+    private final Map<Urn, List<DataHubPolicyInfo>> _policiesByGroup = new HashMap<>();
+    private final Map<Urn, List<DataHubPolicyInfo>> _policiesByRole = new HashMap<>();
+
+    private void add(@Nonnull final DataHubPolicyInfo policy) {
+      final DataHubActorFilter actorFilter = policy.getActors();
+      if (actorFilter.isAllUsers() || actorFilter.isAllGroups() || actorFilter.isResourceOwners()) {
+        _anyActorPolicies.add(policy);
+        return;
+      }
+      if (actorFilter.hasUsers()) {
+        actorFilter.getUsers().forEach(user -> _policiesByUser.computeIfAbsent(user, key -> new ArrayList<>()).add(policy));
+      }
+      if (actorFilter.hasGroups()) {
+        actorFilter.getGroups().forEach(group -> _policiesByGroup.computeIfAbsent(group, key -> new ArrayList<>()).add(policy));
+      }
+      if (actorFilter.hasRoles()) {
+        actorFilter.getRoles().forEach(role -> _policiesByRole.computeIfAbsent(role, key -> new ArrayList<>()).add(policy));
+      }
+    }
+  }
+}
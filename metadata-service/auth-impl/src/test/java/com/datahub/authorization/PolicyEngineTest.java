@@ -289,6 +289,46 @@ public class PolicyEngineTest {
         any(), any());
   }
 
+  @Test
+  public void testEvaluatePolicyGroupMembershipCached() throws Exception {
+
+    final DataHubPolicyInfo dataHubPolicyInfo = new DataHubPolicyInfo();
+    dataHubPolicyInfo.setType(METADATA_POLICY_TYPE);
+    dataHubPolicyInfo.setState(ACTIVE_POLICY_STATE);
+    dataHubPolicyInfo.setPrivileges(new StringArray("EDIT_ENTITY_TAGS"));
+    dataHubPolicyInfo.setDisplayName("My Test Display");
+    dataHubPolicyInfo.setDescription("My test display!");
+    dataHubPolicyInfo.setEditable(true);
+
+    final DataHubActorFilter actorFilter = new DataHubActorFilter();
+    actorFilter.setGroups(new UrnArray(ImmutableList.of(Urn.createFromString(AUTHORIZED_GROUP))));
+    actorFilter.setResourceOwners(false);
+    actorFilter.setAllUsers(false);
+    actorFilter.setAllGroups(false);
+    dataHubPolicyInfo.setActors(actorFilter);
+
+    final DataHubResourceFilter resourceFilter = new DataHubResourceFilter();
+    resourceFilter.setAllResources(true);
+    resourceFilter.setType("dataset");
+    dataHubPolicyInfo.setResources(resourceFilter);
+
+    ResolvedResourceSpec resourceSpec = buildResourceResolvers("dataset", RESOURCE_URN);
+    // Group membership is resolved once and then served from the cache across evaluations.
+    for (int i = 0; i < 3; i++) {
+      assertTrue(_policyEngine.evaluatePolicy(dataHubPolicyInfo, AUTHORIZED_PRINCIPAL, "EDIT_ENTITY_TAGS",
+          Optional.of(resourceSpec)).isGranted());
+    }
+    verify(_entityClient, times(1)).batchGetV2(eq(CORP_USER_ENTITY_NAME), eq(Collections.singleton(authorizedUserUrn)),
+        any(), any());
+
+    // Once invalidated, the membership is fetched again.
+    _policyEngine.invalidateActorMemberships(Collections.singleton(authorizedUserUrn));
+    assertTrue(_policyEngine.evaluatePolicy(dataHubPolicyInfo, AUTHORIZED_PRINCIPAL, "EDIT_ENTITY_TAGS",
+        Optional.of(resourceSpec)).isGranted());
+    verify(_entityClient, times(2)).batchGetV2(eq(CORP_USER_ENTITY_NAME), eq(Collections.singleton(authorizedUserUrn)),
+        any(), any());
+  }
+
   @Test
   public void testEvaluatePolicyActorFilterGroupNoMatch() throws Exception {
 
@@ -0,0 +1,80 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.authorization.PoliciesConfig.*;
+import static org.testng.Assert.*;
+
+
+public class PolicyIndexTest {
+
+  private static final Urn USER = UrnUtils.getUrn("urn:li:corpuser:user");
+  private static final Urn OTHER_USER = UrnUtils.getUrn("urn:li:corpuser:other");
+  private static final Urn GROUP = UrnUtils.getUrn("urn:li:corpGroup:group");
+  private static final String PRIVILEGE = "EDIT_ENTITY_TAGS";
+
+  @Test
+  public void testGetCandidatePolicies() {
+    final DataHubPolicyInfo userDatasetPolicy = createPolicy(METADATA_POLICY_TYPE, ACTIVE_POLICY_STATE, "dataset",
+        new DataHubActorFilter().setUsers(new UrnArray(ImmutableList.of(USER))));
+    final DataHubPolicyInfo groupChartPolicy = createPolicy(METADATA_POLICY_TYPE, ACTIVE_POLICY_STATE, "chart",
+        new DataHubActorFilter().setGroups(new UrnArray(ImmutableList.of(GROUP))));
+    final DataHubPolicyInfo ownersPolicy = createPolicy(METADATA_POLICY_TYPE, ACTIVE_POLICY_STATE, null,
+        new DataHubActorFilter().setResourceOwners(true));
+    final DataHubPolicyInfo inactivePolicy = createPolicy(METADATA_POLICY_TYPE, INACTIVE_POLICY_STATE, null,
+        new DataHubActorFilter().setAllUsers(true));
+
+    final PolicyIndex index =
+        PolicyIndex.build(ImmutableList.of(userDatasetPolicy, groupChartPolicy, ownersPolicy, inactivePolicy));
+    assertEquals(index.size(), 3);
+
+    final Optional<ResolvedResourceSpec> dataset =
+        Optional.of(PolicyEngineTest.buildResourceResolvers("dataset", "urn:li:dataset:test"));
+    final Optional<ResolvedResourceSpec> chart =
+        Optional.of(PolicyEngineTest.buildResourceResolvers("chart", "urn:li:chart:test"));
+    final Supplier<Set<Urn>> noGroups = Collections::emptySet;
+    final Supplier<Set<Urn>> groups = () -> ImmutableSet.of(GROUP);
+    final Supplier<Set<Urn>> failingRoles = () -> {
+      throw new AssertionError("Roles should not be resolved when no policy names a role");
+    };
+
+    assertEquals(index.getCandidatePolicies(PRIVILEGE, USER, dataset, noGroups, failingRoles),
+        ImmutableList.of(ownersPolicy, userDatasetPolicy));
+    assertEquals(index.getCandidatePolicies(PRIVILEGE, OTHER_USER, dataset, groups, failingRoles),
+        ImmutableList.of(ownersPolicy));
+    assertEquals(index.getCandidatePolicies(PRIVILEGE, OTHER_USER, chart, groups, failingRoles),
+        ImmutableList.of(ownersPolicy, groupChartPolicy));
+    assertEquals(index.getCandidatePolicies(PRIVILEGE, USER, Optional.empty(), noGroups, failingRoles),
+        ImmutableList.of(ownersPolicy));
+    assertTrue(index.getCandidatePolicies("MANAGE_POLICIES", USER, dataset, noGroups, failingRoles).isEmpty());
+  }
+
+  private static DataHubPolicyInfo createPolicy(final String type, final String state, final String resourceType,
+      final DataHubActorFilter actorFilter) {
+    final DataHubPolicyInfo policy = new DataHubPolicyInfo()
+        .setType(type)
+        .setState(state)
+        .setPrivileges(new StringArray(PRIVILEGE))
+        .setDisplayName("Test Policy")
+        .setEditable(true)
+        .setActors(actorFilter);
+    if (resourceType != null) {
+      policy.setResources(new DataHubResourceFilter().setType(resourceType).setAllResources(true));
+    }
+    return policy;
+  }
+}
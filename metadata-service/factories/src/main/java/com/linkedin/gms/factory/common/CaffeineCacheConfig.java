@@ -1,27 +1,55 @@
 package com.linkedin.gms.factory.common;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.search.cache.SearchCacheWeigher;
+import com.linkedin.metadata.timeline.TimelineChangeLog;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
 
 
 @Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 public class CaffeineCacheConfig {
 
+  // Caches holding search results, which are bounded by their estimated size in bytes rather than by number of entries
+  private static final List<String> SEARCH_CACHE_NAMES =
+      ImmutableList.of("entitySearchServiceSearch", "entitySearchServiceAutoComplete", "allEntitiesSearchAggregator",
+          "relationshipSearchService");
+
   @Value("${CACHE_TTL_SECONDS:600}")
   private int cacheTtlSeconds;
 
   @Value("${CACHE_MAX_SIZE:10000}")
   private int cacheMaxSize;
 
+  @Value("${searchService.cache.maxBytes:67108864}")
+  private long searchCacheMaxBytes;
+
+  @Value("${timelineService.changeLog.maxBytes:67108864}")
+  private long timelineChangeLogMaxBytes;
+
+  @Value("${timelineService.changeLog.ttlSeconds:86400}")
+  private long timelineChangeLogTtlSeconds;
+
   @Bean
   public CacheManager cacheManager() {
     CaffeineCacheManager cacheManager = new CaffeineCacheManager();
     cacheManager.setCaffeine(caffeineCacheBuilder());
+    SEARCH_CACHE_NAMES.forEach(name -> cacheManager.registerCustomCache(name, searchCache(name)));
+    cacheManager.registerCustomCache(TimelineChangeLog.CACHE_NAME, timelineChangeLogCache());
     return cacheManager;
   }
 
@@ -32,4 +60,36 @@ public class CaffeineCacheConfig {
         .expireAfterAccess(cacheTtlSeconds, TimeUnit.SECONDS)
         .recordStats();
   }
-}
\ No newline at end of file
+
+  private Cache<Object, Object> timelineChangeLogCache() {
+    // Aspect versions never change, so their changes are kept for longer than other cached values
+    return Caffeine.newBuilder()
+        .initialCapacity(100)
+        .maximumWeight(timelineChangeLogMaxBytes)
+        .weigher(TimelineChangeLog::weigh)
+        .expireAfterAccess(timelineChangeLogTtlSeconds, TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+  }
+
+  private Cache<Object, Object> searchCache(String name) {
+    final Cache<Object, Object> cache = Caffeine.newBuilder()
+        .initialCapacity(100)
+        .maximumWeight(searchCacheMaxBytes)
+        .weigher(SearchCacheWeigher::weigh)
+        .expireAfterAccess(cacheTtlSeconds, TimeUnit.SECONDS)
+        .removalListener((Object key, Object value, RemovalCause cause) -> {
+          if (cause.wasEvicted()) {
+            MetricUtils.counter(this.getClass(), name + "Eviction").inc();
+            MetricUtils.counter(this.getClass(), name + "EvictedBytes").inc(SearchCacheWeigher.weigh(key, value));
+          }
+        })
+        .recordStats()
+        .build();
+    MetricUtils.get().gauge(MetricRegistry.name(this.getClass(), name + "Bytes"),
+        () -> (Gauge<Long>) () -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+    MetricUtils.get().gauge(MetricRegistry.name(this.getClass(), name + "Entries"),
+        () -> (Gauge<Long>) cache::estimatedSize);
+    return cache;
+  }
+}
@@ -11,6 +11,7 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -29,6 +30,9 @@ public class ElasticSearchGraphServiceFactory {
   @Qualifier("entityRegistry")
   private EntityRegistry entityRegistry;
 
+  @Value("${graphService.lineagePageSize:10000}")
+  private int lineagePageSize;
+
   @Bean(name = "elasticSearchGraphService")
   @Nonnull
   protected ElasticSearchGraphService getInstance() {
@@ -36,7 +40,8 @@ public class ElasticSearchGraphServiceFactory {
     return new ElasticSearchGraphService(lineageRegistry, components.getSearchClient(), components.getIndexConvention(),
         new ESGraphWriteDAO(components.getSearchClient(), components.getIndexConvention(),
             components.getBulkProcessor()),
-        new ESGraphQueryDAO(components.getSearchClient(), lineageRegistry, components.getIndexConvention()),
+        new ESGraphQueryDAO(components.getSearchClient(), lineageRegistry, components.getIndexConvention(),
+            lineagePageSize),
         components.getIndexBuilder());
   }
 }
@@ -4,6 +4,7 @@ import com.datahub.authentication.AuthenticationConfiguration;
 import com.datahub.authorization.AuthorizationConfiguration;
 import com.linkedin.datahub.graphql.featureflags.FeatureFlags;
 import com.linkedin.metadata.config.DatahubConfiguration;
+import com.linkedin.metadata.config.EntityServiceConfiguration;
 import com.linkedin.metadata.config.IngestionConfiguration;
 import com.linkedin.metadata.config.TestsConfiguration;
 import com.linkedin.metadata.telemetry.TelemetryConfiguration;
@@ -48,6 +49,10 @@ public class ConfigurationProvider {
    * DataHub top-level server configurations
    */
   private DatahubConfiguration datahub;
+  /**
+   * Entity service related configs
+   */
+  private EntityServiceConfiguration entityService;
 
   /**
    * Feature flags indicating what is turned on vs turned off
@@ -0,0 +1,38 @@
+package com.linkedin.gms.factory.entity;
+
+import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.entity.EntityAspectCache;
+import com.linkedin.metadata.entity.EntityService;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+public class EntityAspectCacheFactory {
+
+  @Autowired
+  @Qualifier("entityService")
+  private EntityService _entityService;
+
+  @Autowired
+  private ConfigurationProvider _configurationProvider;
+
+  @Bean(name = "entityAspectCache")
+  @DependsOn({"entityService"})
+  @ConditionalOnProperty(name = "entityService.aspectCache.enabled", havingValue = "true")
+  @Nonnull
+  protected EntityAspectCache getInstance() {
+    EntityAspectCache aspectCache =
+        new EntityAspectCache(_configurationProvider.getEntityService().getAspectCache().getEntityTypes());
+    _entityService.setAspectCache(aspectCache);
+    return aspectCache;
+  }
+}
@@ -5,6 +5,7 @@ import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.cassandra.CassandraAspectDao;
 import com.linkedin.metadata.entity.ebean.EbeanAspectDao;
 import io.ebean.EbeanServer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,7 +28,8 @@ public class EntityAspectDaoFactory {
   @DependsOn({"cassandraSession"})
   @ConditionalOnProperty(name = "entityService.impl", havingValue = "cassandra")
   @Nonnull
-  protected AspectDao createCassandraInstance(CqlSession session) {
-    return new CassandraAspectDao(session);
+  protected AspectDao createCassandraInstance(CqlSession session,
+      @Value("${cassandra.maxConcurrentReads:64}") int maxConcurrentReads) {
+    return new CassandraAspectDao(session, maxConcurrentReads);
   }
 }
@@ -4,11 +4,19 @@ import com.linkedin.gms.factory.common.TopicConventionFactory;
 import com.linkedin.metadata.dao.producer.KafkaEventProducer;
 import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.event.AsyncEventProducer;
+import com.linkedin.metadata.event.EventProducer;
+import com.linkedin.metadata.event.MetadataChangeLogOutbox;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.mxe.TopicConvention;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.kafka.clients.producer.Producer;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
@@ -19,16 +27,73 @@ import javax.annotation.Nonnull;
 @Configuration
 public class EntityServiceFactory {
 
-  @Bean(name = "entityService")
-  @DependsOn({"entityAspectDao", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN, "entityRegistry"})
+  @Value("${entityService.aspectStorageContentType:application/json}")
+  private String aspectStorageContentType;
+
+  @Value("${entityService.legacyMae.disabledEntityTypes:}")
+  private String legacyMaeDisabledEntityTypes;
+
+  @Value("${entityService.eventProducer.mode:sync}")
+  private String eventProducerMode;
+
+  @Value("${entityService.eventProducer.senderThreads:2}")
+  private int senderThreads;
+
+  @Value("${entityService.eventProducer.queueCapacity:10000}")
+  private int queueCapacity;
+
+  @Value("${entityService.eventProducer.maxBatchSize:500}")
+  private int maxBatchSize;
+
+  @Value("${entityService.eventProducer.enqueueTimeoutMillis:1000}")
+  private long enqueueTimeoutMillis;
+
+  @Value("${entityService.eventProducer.sendTimeoutMillis:30000}")
+  private long sendTimeoutMillis;
+
+  // Required in async mode, there is no default so that the outbox is not silently kept on an ephemeral volume
+  @Value("${entityService.eventProducer.outbox.path:}")
+  private String outboxPath;
+
+  @Value("${entityService.eventProducer.outbox.replayIntervalSeconds:5}")
+  private long outboxReplayIntervalSeconds;
+
+  @Bean(name = "entityEventProducer")
+  @DependsOn({"kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN, "entityRegistry"})
   @Nonnull
-  protected EntityService createInstance(
+  protected EventProducer createEventProducer(
       Producer<String, ? extends IndexedRecord> producer,
       TopicConvention convention,
+      EntityRegistry entityRegistry) throws IOException {
+
+    final KafkaEventProducer eventProducer = new KafkaEventProducer(producer, convention);
+    if (!"async".equalsIgnoreCase(eventProducerMode)) {
+      return eventProducer;
+    }
+    if (outboxPath.trim().isEmpty()) {
+      throw new IllegalArgumentException("ENTITY_SERVICE_EVENT_PRODUCER_OUTBOX_PATH must be set to a directory on a "
+          + "persistent volume when the event producer mode is async");
+    }
+    return new AsyncEventProducer(eventProducer, entityRegistry, new MetadataChangeLogOutbox(outboxPath),
+        senderThreads, queueCapacity, maxBatchSize, enqueueTimeoutMillis, sendTimeoutMillis,
+        outboxReplayIntervalSeconds);
+  }
+
+  @Bean(name = "entityService")
+  @DependsOn({"entityAspectDao", "entityEventProducer", "entityRegistry"})
+  @Nonnull
+  protected EntityService createInstance(
+      @Qualifier("entityEventProducer") EventProducer eventProducer,
       @Qualifier("entityAspectDao") AspectDao aspectDao,
       EntityRegistry entityRegistry) {
 
-    final KafkaEventProducer eventProducer = new KafkaEventProducer(producer, convention);
-    return new EntityService(aspectDao, eventProducer, entityRegistry);
+    final EntityService entityService = new EntityService(aspectDao, eventProducer, entityRegistry);
+    entityService.setAspectStorageContentType(aspectStorageContentType);
+    final Set<String> disabledEntityTypes = Arrays.stream(legacyMaeDisabledEntityTypes.split(","))
+        .map(String::trim)
+        .filter(entityType -> !entityType.isEmpty())
+        .collect(Collectors.toSet());
+    entityService.setLegacyMaeDisabledEntityTypes(disabledEntityTypes);
+    return entityService;
   }
 }
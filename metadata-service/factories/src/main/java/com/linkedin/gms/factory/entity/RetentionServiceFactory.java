@@ -2,6 +2,7 @@ package com.linkedin.gms.factory.entity;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.entity.AsyncRetentionWorker;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.RetentionService;
 import com.linkedin.metadata.entity.cassandra.CassandraRetentionService;
@@ -30,6 +31,15 @@ public class RetentionServiceFactory {
   @Value("${RETENTION_APPLICATION_BATCH_SIZE:1000}")
   private Integer _batchSize;
 
+  @Value("${entityService.retention.maxPending:100000}")
+  private int _maxPending;
+
+  @Value("${entityService.retention.maxBatchSize:500}")
+  private int _maxBatchSize;
+
+  @Value("${entityService.retention.flushIntervalMillis:1000}")
+  private long _flushIntervalMillis;
+
 
   @Bean(name = "retentionService")
   @DependsOn({"cassandraSession", "entityService"})
@@ -51,4 +61,15 @@ public class RetentionServiceFactory {
     _entityService.setRetentionService(retentionService);
     return retentionService;
   }
+
+  @Bean(name = "retentionWorker")
+  @DependsOn({"retentionService", "entityService"})
+  @ConditionalOnProperty(name = "entityService.retention.mode", havingValue = "async")
+  @Nonnull
+  protected AsyncRetentionWorker createWorker(@Qualifier("retentionService") RetentionService retentionService) {
+    AsyncRetentionWorker retentionWorker =
+        new AsyncRetentionWorker(retentionService, _maxPending, _maxBatchSize, _flushIntervalMillis);
+    _entityService.setRetentionWorker(retentionWorker);
+    return retentionWorker;
+  }
 }
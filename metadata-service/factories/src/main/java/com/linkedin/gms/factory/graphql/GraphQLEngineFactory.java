@@ -1,10 +1,13 @@
 package com.linkedin.gms.factory.graphql;
 
+import com.codahale.metrics.InstrumentedExecutorService;
+import com.codahale.metrics.MetricRegistry;
 import com.datahub.authentication.group.GroupService;
 import com.datahub.authentication.token.StatefulTokenService;
 import com.datahub.authentication.user.NativeUserService;
 import com.linkedin.datahub.graphql.GmsGraphQLEngine;
 import com.linkedin.datahub.graphql.GraphQLEngine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.datahub.graphql.analytics.service.AnalyticsService;
 import com.linkedin.metadata.client.JavaEntityClient;
 import com.linkedin.gms.factory.auth.DataHubTokenServiceFactory;
@@ -25,9 +28,14 @@ import com.linkedin.metadata.recommendation.RecommendationsService;
 import com.linkedin.metadata.secret.SecretService;
 import com.linkedin.metadata.timeline.TimelineService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.version.GitVersion;
 import com.linkedin.usage.UsageClient;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -116,10 +124,23 @@ public class GraphQLEngineFactory {
   @Value("${platformAnalytics.enabled}") // TODO: Migrate to DATAHUB_ANALYTICS_ENABLED
   private Boolean isAnalyticsEnabled;
 
+  @Value("${graphQL.query.cacheSize:1000}")
+  private Long queryCacheSize;
+
+  @Value("${graphQL.concurrency.maxThreads:100}")
+  private Integer maxResolverThreads;
+
+  @Value("${graphQL.concurrency.queueSize:1000}")
+  private Integer resolverQueueSize;
+
+  @Value("${graphQL.dataLoader.maxBatchSize:500}")
+  private Integer dataLoaderMaxBatchSize;
+
 
   @Bean(name = "graphQLEngine")
   @Nonnull
   protected GraphQLEngine getInstance() {
+    final ExecutorService resolverExecutorService = createResolverExecutorService();
     if (isAnalyticsEnabled) {
       return new GmsGraphQLEngine(
           _entityClient,
@@ -145,8 +166,9 @@ public class GraphQLEngineFactory {
           _configProvider.getDatahub(),
           _siblingGraphService,
           _groupService,
-          _configProvider.getFeatureFlags()
-          ).builder().build();
+          _configProvider.getFeatureFlags(),
+          dataLoaderMaxBatchSize
+          ).builder().setQueryCacheSize(queryCacheSize).setExecutor(resolverExecutorService).build();
     }
     return new GmsGraphQLEngine(
         _entityClient,
@@ -172,7 +194,27 @@ public class GraphQLEngineFactory {
         _configProvider.getDatahub(),
         _siblingGraphService,
         _groupService,
-        _configProvider.getFeatureFlags()
-    ).builder().build();
+        _configProvider.getFeatureFlags(),
+        dataLoaderMaxBatchSize
+    ).builder().setQueryCacheSize(queryCacheSize).setExecutor(resolverExecutorService).build();
+  }
+
+  /**
+   * Bounded pool on which resolvers and data loaders run their blocking backend calls. When both the threads and the
+   * queue are exhausted, the submitting thread runs the task itself, which slows down the intake of new work rather
+   * than failing requests.
+   */
+  private ExecutorService createResolverExecutorService() {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        maxResolverThreads,
+        maxResolverThreads,
+        60,
+        TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(resolverQueueSize),
+        new ThreadFactoryBuilder().setNameFormat("graphql-resolver-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return new InstrumentedExecutorService(executor, MetricUtils.get(),
+        MetricRegistry.name(GraphQLEngine.class, "resolverExecutor"));
   }
 }
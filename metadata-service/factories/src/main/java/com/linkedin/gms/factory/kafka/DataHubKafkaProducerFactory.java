@@ -35,6 +35,12 @@ public class DataHubKafkaProducerFactory {
   @Value("${kafka.schemaRegistry.type}")
   private String schemaRegistryType;
 
+  @Value("${kafka.producer.lingerMs:0}")
+  private Integer lingerMs;
+
+  @Value("${kafka.producer.batchSizeBytes:16384}")
+  private Integer batchSizeBytes;
+
   @Autowired
   @Lazy
   @Qualifier("kafkaSchemaRegistry")
@@ -65,6 +71,9 @@ public class DataHubKafkaProducerFactory {
     Map<String, Object> props = properties.buildProducerProperties();
 
     props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, schemaRegistryConfig.getSerializer().getName());
+    // Spring Kafka properties take precedence
+    props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+    props.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, batchSizeBytes);
 
     // Override KafkaProperties with SchemaRegistryConfig only for non-empty values
     schemaRegistryConfig.getProperties().entrySet()
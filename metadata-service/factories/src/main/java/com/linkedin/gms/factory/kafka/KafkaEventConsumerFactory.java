@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -23,6 +24,9 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.RecoveringBatchErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 
 @Slf4j
@@ -41,6 +45,15 @@ public class KafkaEventConsumerFactory {
   @Value("${kafka.listener.concurrency:1}")
   private Integer kafkaListenerConcurrency;
 
+  @Value("${kafka.listener.batchSize:500}")
+  private Integer kafkaListenerBatchSize;
+
+  @Value("${kafka.listener.batchRetries:3}")
+  private Integer kafkaListenerBatchRetries;
+
+  @Value("${kafka.listener.batchRetryIntervalMs:1000}")
+  private Long kafkaListenerBatchRetryIntervalMs;
+
   @Autowired
   @Lazy
   @Qualifier("kafkaSchemaRegistry")
@@ -54,6 +67,48 @@ public class KafkaEventConsumerFactory {
   @Bean(name = "kafkaEventConsumer")
   protected KafkaListenerContainerFactory<?> createInstance(KafkaProperties properties) {
 
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(buildConsumerProperties(properties)));
+    factory.setContainerCustomizer(new ThreadPoolContainerCustomizer());
+    factory.setConcurrency(this.kafkaListenerConcurrency);
+
+    log.info("Event-based KafkaListenerContainerFactory built successfully");
+
+    return factory;
+  }
+
+  /**
+   * Same as kafkaEventConsumer, except that listeners receive the records of each poll (up to
+   * kafka.listener.batchSize records) as a single list. Offsets are committed by the container once the listener
+   * has returned for the whole batch, rather than periodically in the background.
+   */
+  @Bean(name = "kafkaBatchEventConsumer")
+  protected KafkaListenerContainerFactory<?> createBatchInstance(KafkaProperties properties) {
+
+    Map<String, Object> props = buildConsumerProperties(properties);
+    props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, this.kafkaListenerBatchSize);
+    props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+    factory.setContainerCustomizer(new ThreadPoolContainerCustomizer());
+    factory.setConcurrency(this.kafkaListenerConcurrency);
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+    // A listener throwing a BatchListenerFailedException gets the offsets before the failed record committed, and the
+    // rest of the batch redelivered. The failed record is logged and skipped once it failed batchRetries more times.
+    factory.setBatchErrorHandler(new RecoveringBatchErrorHandler(
+        new FixedBackOff(this.kafkaListenerBatchRetryIntervalMs, this.kafkaListenerBatchRetries)));
+
+    log.info("Event-based batch KafkaListenerContainerFactory built successfully");
+
+    return factory;
+  }
+
+  private Map<String, Object> buildConsumerProperties(KafkaProperties properties) {
+
     KafkaProperties.Consumer consumerProps = properties.getConsumer();
 
     // Specify (de)serializers for record keys and for record values.
@@ -81,16 +136,8 @@ public class KafkaEventConsumerFactory {
     schemaRegistryConfig.getProperties().entrySet()
       .stream()
       .filter(entry -> entry.getValue() != null && !entry.getValue().toString().isEmpty())
-      .forEach(entry -> props.put(entry.getKey(), entry.getValue())); 
+      .forEach(entry -> props.put(entry.getKey(), entry.getValue()));
 
-    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
-        new ConcurrentKafkaListenerContainerFactory<>();
-    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
-    factory.setContainerCustomizer(new ThreadPoolContainerCustomizer());
-    factory.setConcurrency(this.kafkaListenerConcurrency);
-
-    log.info("Event-based KafkaListenerContainerFactory built successfully");
-
-    return factory;
+    return props;
   }
 }
@@ -1,28 +1,27 @@
 package com.linkedin.gms.factory.search;
 
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
-import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.aggregator.AllEntitiesSearchAggregator;
+import com.linkedin.metadata.search.cache.EntityDocCountCache;
 import com.linkedin.metadata.search.client.CachingEntitySearchService;
 import com.linkedin.metadata.search.ranker.SearchRanker;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 
 
 @Configuration
+@Import({EntityDocCountCacheFactory.class})
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 public class AllEntitiesSearchAggregatorFactory {
 
-  @Autowired
-  @Qualifier("entityRegistry")
-  private EntityRegistry entityRegistry;
-
   @Autowired
   @Qualifier("entitySearchService")
   private EntitySearchService entitySearchService;
@@ -35,14 +34,22 @@ public class AllEntitiesSearchAggregatorFactory {
   @Qualifier("searchRanker")
   private SearchRanker searchRanker;
 
+  @Autowired
+  @Qualifier("entityDocCountCache")
+  private EntityDocCountCache entityDocCountCache;
+
+  @Value("${searchService.searchAcrossIndices.enabled:false}")
+  private boolean searchAcrossIndices;
+
   @Bean(name = "allEntitiesSearchAggregator")
   @Primary
   @Nonnull
   protected AllEntitiesSearchAggregator getInstance() {
     return new AllEntitiesSearchAggregator(
-        entityRegistry,
         entitySearchService,
         cachingEntitySearchService,
-        searchRanker);
+        searchRanker,
+        entityDocCountCache,
+        searchAcrossIndices);
   }
 }
@@ -4,10 +4,10 @@ import com.linkedin.gms.factory.common.IndexConventionFactory;
 import com.linkedin.gms.factory.common.RestHighLevelClientFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import javax.annotation.Nonnull;
 import lombok.Value;
-import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -29,7 +29,7 @@ public class BaseElasticSearchComponentsFactory {
   public static class BaseElasticSearchComponents {
     RestHighLevelClient searchClient;
     IndexConvention indexConvention;
-    BulkProcessor bulkProcessor;
+    ESBulkProcessor bulkProcessor;
     ESIndexBuilder indexBuilder;
   }
 
@@ -43,7 +43,7 @@ public class BaseElasticSearchComponentsFactory {
 
   @Autowired
   @Qualifier("elasticSearchBulkProcessor")
-  private BulkProcessor bulkProcessor;
+  private ESBulkProcessor bulkProcessor;
 
   @Autowired
   @Qualifier("elasticSearchIndexBuilder")
@@ -3,6 +3,7 @@ package com.linkedin.gms.factory.search;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.search.aggregator.AllEntitiesSearchAggregator;
 import com.linkedin.metadata.search.cache.CachingAllEntitiesSearchAggregator;
+import com.linkedin.metadata.search.cache.SearchCacheLoader;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -10,11 +11,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 
 
 @Configuration
+@Import({SearchCacheLoaderFactory.class})
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 public class CachingAllEntitiesSearchAggregatorFactory {
 
@@ -25,6 +28,10 @@ public class CachingAllEntitiesSearchAggregatorFactory {
   @Autowired
   private CacheManager cacheManager;
 
+  @Autowired
+  @Qualifier("searchCacheLoader")
+  private SearchCacheLoader searchCacheLoader;
+
   @Value("${searchService.resultBatchSize}")
   private Integer batchSize;
 
@@ -39,6 +46,7 @@ public class CachingAllEntitiesSearchAggregatorFactory {
         cacheManager,
         allEntitiesSearchAggregator,
         batchSize,
-        enableCache);
+        enableCache,
+        searchCacheLoader);
   }
 }
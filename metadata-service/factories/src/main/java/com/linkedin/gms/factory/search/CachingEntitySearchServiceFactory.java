@@ -2,6 +2,7 @@ package com.linkedin.gms.factory.search;
 
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.cache.SearchCacheLoader;
 import com.linkedin.metadata.search.client.CachingEntitySearchService;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,11 +11,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 
 
 @Configuration
+@Import({SearchCacheLoaderFactory.class})
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 public class CachingEntitySearchServiceFactory {
 
@@ -25,6 +28,10 @@ public class CachingEntitySearchServiceFactory {
   @Autowired
   private CacheManager cacheManager;
 
+  @Autowired
+  @Qualifier("searchCacheLoader")
+  private SearchCacheLoader searchCacheLoader;
+
   @Value("${searchService.resultBatchSize}")
   private Integer batchSize;
 
@@ -39,6 +46,7 @@ public class CachingEntitySearchServiceFactory {
         cacheManager,
         entitySearchService,
         batchSize,
-        enableCache);
+        enableCache,
+        searchCacheLoader);
   }
 }
\ No newline at end of file
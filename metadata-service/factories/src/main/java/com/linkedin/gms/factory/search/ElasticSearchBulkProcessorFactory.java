@@ -2,13 +2,10 @@ package com.linkedin.gms.factory.search;
 
 import com.linkedin.gms.factory.common.RestHighLevelClientFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
-import com.linkedin.metadata.search.elasticsearch.update.BulkListener;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
-import org.elasticsearch.action.bulk.BackoffPolicy;
-import org.elasticsearch.action.bulk.BulkProcessor;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.common.unit.TimeValue;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,24 +26,34 @@ public class ElasticSearchBulkProcessorFactory {
   @Value("${elasticsearch.bulkProcessor.requestsLimit}")
   private Integer bulkRequestsLimit;
 
+  @Value("${elasticsearch.bulkProcessor.sizeLimit:5}")
+  private Integer bulkSizeLimitMb;
+
   @Value("${elasticsearch.bulkProcessor.flushPeriod}")
   private Integer bulkFlushPeriod;
 
+  @Value("${elasticsearch.bulkProcessor.queueCapacity:10000}")
+  private Integer queueCapacity;
+
   @Value("${elasticsearch.bulkProcessor.numRetries}")
   private Integer numRetries;
 
   @Value("${elasticsearch.bulkProcessor.retryInterval}")
   private Long retryInterval;
 
-  @Bean(name = "elasticSearchBulkProcessor")
+  @Value("${elasticsearch.bulkProcessor.maxWriteBlockedMinutes:30}")
+  private Long maxWriteBlockedMinutes;
+
+  @Bean(name = "elasticSearchBulkProcessor", destroyMethod = "close")
   @Nonnull
-  protected BulkProcessor getInstance() {
-    return BulkProcessor.builder((request, bulkListener) -> {
-      searchClient.bulkAsync(request, RequestOptions.DEFAULT, bulkListener);
-    }, BulkListener.getInstance())
+  protected ESBulkProcessor getInstance() {
+    return ESBulkProcessor.builder(searchClient)
         .setBulkActions(bulkRequestsLimit)
-        .setFlushInterval(TimeValue.timeValueSeconds(bulkFlushPeriod))
-        .setBackoffPolicy(BackoffPolicy.constantBackoff(TimeValue.timeValueSeconds(retryInterval), numRetries))
+        .setBulkSizeInBytes(bulkSizeLimitMb * 1024L * 1024L)
+        .setFlushInterval(bulkFlushPeriod, TimeUnit.SECONDS)
+        .setQueueCapacity(queueCapacity)
+        .setRetries(numRetries, retryInterval, TimeUnit.SECONDS)
+        .setMaxWriteBlockedTime(maxWriteBlockedMinutes, TimeUnit.MINUTES)
         .build();
   }
 }
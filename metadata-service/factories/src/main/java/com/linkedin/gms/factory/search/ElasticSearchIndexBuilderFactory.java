@@ -3,6 +3,7 @@ package com.linkedin.gms.factory.search;
 import com.linkedin.gms.factory.common.RestHighLevelClientFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ReindexConfig;
 import javax.annotation.Nonnull;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,9 +32,41 @@ public class ElasticSearchIndexBuilderFactory {
   @Value("${elasticsearch.index.numRetries}")
   private Integer numRetries;
 
+  @Value("${elasticsearch.index.reindex.enabled:true}")
+  private boolean reindexEnabled;
+
+  @Value("${elasticsearch.index.reindex.batchSize:1000}")
+  private Integer reindexBatchSize;
+
+  @Value("${elasticsearch.index.reindex.slices:0}")
+  private Integer reindexSlices;
+
+  @Value("${elasticsearch.index.reindex.requestsPerSecond:-1}")
+  private Float reindexRequestsPerSecond;
+
+  @Value("${elasticsearch.index.reindex.progressIntervalSeconds:30}")
+  private Long reindexProgressIntervalSeconds;
+
+  @Value("${elasticsearch.index.reindex.maxStallMinutes:30}")
+  private Long reindexMaxStallMinutes;
+
+  @Value("${elasticsearch.index.reindex.maxReplayPasses:3}")
+  private Integer reindexMaxReplayPasses;
+
   @Bean(name = "elasticSearchIndexBuilder")
   @Nonnull
   protected ESIndexBuilder getInstance() {
-    return new ESIndexBuilder(searchClient, numShards, numReplicas, numRetries);
+    final ReindexConfig reindexConfig = ReindexConfig.builder()
+        .batchSize(reindexBatchSize)
+        .slices(reindexSlices)
+        .requestsPerSecond(reindexRequestsPerSecond)
+        .progressIntervalSeconds(reindexProgressIntervalSeconds)
+        .maxStallMinutes(reindexMaxStallMinutes)
+        .maxReplayPasses(reindexMaxReplayPasses)
+        .build();
+    final ESIndexBuilder indexBuilder =
+        new ESIndexBuilder(searchClient, numShards, numReplicas, numRetries, reindexConfig);
+    indexBuilder.setReindexEnabled(reindexEnabled);
+    return indexBuilder;
   }
 }
\ No newline at end of file
@@ -9,9 +9,12 @@ import com.linkedin.metadata.search.elasticsearch.indexbuilder.SettingsBuilder;
 import com.linkedin.metadata.search.elasticsearch.query.ESBrowseDAO;
 import com.linkedin.metadata.search.elasticsearch.query.ESSearchDAO;
 import com.linkedin.metadata.search.elasticsearch.update.ESWriteDAO;
+import java.util.HashMap;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -34,11 +37,16 @@ public class ElasticSearchServiceFactory {
   @Qualifier("settingsBuilder")
   private SettingsBuilder settingsBuilder;
 
+  // Comma separated entity:boost pairs, e.g. dataset:1.5,chart:0.8
+  @Value("${searchService.searchAcrossIndices.entityBoosts:}")
+  private String entityBoosts;
+
   @Bean(name = "elasticSearchService")
   @Nonnull
   protected ElasticSearchService getInstance() {
     ESSearchDAO esSearchDAO =
-        new ESSearchDAO(entityRegistry, components.getSearchClient(), components.getIndexConvention());
+        new ESSearchDAO(entityRegistry, components.getSearchClient(), components.getIndexConvention(),
+            parseEntityBoosts(entityBoosts));
     return new ElasticSearchService(
         new EntityIndexBuilders(components.getIndexBuilder(), entityRegistry, components.getIndexConvention(),
             settingsBuilder), esSearchDAO,
@@ -46,4 +54,19 @@ public class ElasticSearchServiceFactory {
         new ESWriteDAO(entityRegistry, components.getSearchClient(), components.getIndexConvention(),
             components.getBulkProcessor()));
   }
+
+  private static Map<String, Float> parseEntityBoosts(@Nonnull String entityBoosts) {
+    final Map<String, Float> boosts = new HashMap<>();
+    for (String entityBoost : entityBoosts.split(",")) {
+      if (entityBoost.trim().isEmpty()) {
+        continue;
+      }
+      final String[] parts = entityBoost.split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException(String.format("Invalid entity boost %s, expected entity:boost", entityBoost));
+      }
+      boosts.put(parts[0].trim().toLowerCase(), Float.parseFloat(parts[1].trim()));
+    }
+    return boosts;
+  }
 }
@@ -0,0 +1,48 @@
+package com.linkedin.gms.factory.search;
+
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.cache.EntityDocCountCache;
+import com.linkedin.metadata.search.cache.SearchCacheInvalidator;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@Import({SearchCacheInvalidatorFactory.class})
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+public class EntityDocCountCacheFactory {
+
+  @Autowired
+  @Qualifier("entityRegistry")
+  private EntityRegistry entityRegistry;
+
+  @Autowired
+  @Qualifier("entitySearchService")
+  private EntitySearchService entitySearchService;
+
+  @Autowired
+  @Qualifier("searchCacheInvalidator")
+  private SearchCacheInvalidator searchCacheInvalidator;
+
+  @Value("${searchService.cache.docCountRefreshSeconds:60}")
+  private Long refreshSeconds;
+
+  @Value("${searchService.cache.docCountMaxAgeSeconds:900}")
+  private Long maxAgeSeconds;
+
+  @Bean(name = "entityDocCountCache")
+  @Nonnull
+  protected EntityDocCountCache getInstance() {
+    return new EntityDocCountCache(entityRegistry, entitySearchService, searchCacheInvalidator,
+        TimeUnit.SECONDS.toMillis(refreshSeconds), TimeUnit.SECONDS.toMillis(maxAgeSeconds));
+  }
+}
@@ -0,0 +1,25 @@
+package com.linkedin.gms.factory.search;
+
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.search.cache.LineageCacheInvalidator;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+public class LineageCacheInvalidatorFactory {
+
+  @Value("${searchService.lineageCacheTtlSeconds:600}")
+  private Long lineageCacheTtlSeconds;
+
+  @Bean(name = "lineageCacheInvalidator")
+  @Nonnull
+  protected LineageCacheInvalidator getInstance() {
+    return new LineageCacheInvalidator(TimeUnit.SECONDS.toMillis(lineageCacheTtlSeconds));
+  }
+}
@@ -5,10 +5,13 @@ import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.search.LineageSearchService;
 import com.linkedin.metadata.search.SearchService;
+import com.linkedin.metadata.search.cache.LineageCacheInvalidator;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -17,9 +20,10 @@ import org.springframework.context.annotation.PropertySource;
 
 
 @Configuration
-@Import({GraphServiceFactory.class})
+@Import({GraphServiceFactory.class, LineageCacheInvalidatorFactory.class})
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 public class LineageSearchServiceFactory {
+  private static final String CACHE_NAME = "relationshipSearchService";
 
   @Autowired
   @Qualifier("searchService")
@@ -32,11 +36,18 @@ public class LineageSearchServiceFactory {
   @Autowired
   private CacheManager cacheManager;
 
+  @Autowired
+  @Qualifier("lineageCacheInvalidator")
+  private LineageCacheInvalidator lineageCacheInvalidator;
+
+  @Value("${searchService.enableCache}")
+  private Boolean enableCache;
+
   @Bean(name = "relationshipSearchService")
   @Primary
   @Nonnull
   protected LineageSearchService getInstance() {
     return new LineageSearchService(searchService, graphService,
-        cacheManager.getCache("relationshipSearchService"));
+        enableCache ? cacheManager.getCache(CACHE_NAME) : new NoOpCache(CACHE_NAME), lineageCacheInvalidator);
   }
 }
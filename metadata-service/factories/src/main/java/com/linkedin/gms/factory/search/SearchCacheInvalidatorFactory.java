@@ -0,0 +1,24 @@
+package com.linkedin.gms.factory.search;
+
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.search.cache.SearchCacheInvalidator;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+public class SearchCacheInvalidatorFactory {
+
+  @Value("${searchService.cache.writeVisibilityDelayMillis:3000}")
+  private Long writeVisibilityDelayMillis;
+
+  @Bean(name = "searchCacheInvalidator")
+  @Nonnull
+  protected SearchCacheInvalidator getInstance() {
+    return new SearchCacheInvalidator(writeVisibilityDelayMillis);
+  }
+}
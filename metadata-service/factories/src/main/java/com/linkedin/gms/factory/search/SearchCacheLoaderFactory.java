@@ -0,0 +1,55 @@
+package com.linkedin.gms.factory.search;
+
+import com.codahale.metrics.InstrumentedExecutorService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.search.cache.SearchCacheInvalidator;
+import com.linkedin.metadata.search.cache.SearchCacheLoader;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@Import({SearchCacheInvalidatorFactory.class})
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+public class SearchCacheLoaderFactory {
+
+  @Autowired
+  @Qualifier("searchCacheInvalidator")
+  private SearchCacheInvalidator searchCacheInvalidator;
+
+  @Value("${searchService.cache.refreshAfterSeconds:60}")
+  private Long refreshAfterSeconds;
+
+  @Value("${searchService.cache.maxStaleSeconds:300}")
+  private Long maxStaleSeconds;
+
+  @Value("${searchService.cache.hotQueryMinHits:3}")
+  private Integer hotQueryMinHits;
+
+  @Value("${searchService.cache.refreshThreads:2}")
+  private Integer refreshThreads;
+
+  @Bean(name = "searchCacheLoader")
+  @Nonnull
+  protected SearchCacheLoader getInstance() {
+    // Background refreshes are best effort, so they are dropped rather than queued up once the pool is busy
+    final ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60L,
+        TimeUnit.SECONDS, new ArrayBlockingQueue<>(refreshThreads * 16),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("search-cache-refresh-%d").build(),
+        new ThreadPoolExecutor.AbortPolicy());
+    return new SearchCacheLoader(searchCacheInvalidator,
+        new InstrumentedExecutorService(refreshExecutor, MetricUtils.get(), "SearchCacheLoader.refreshExecutor"),
+        TimeUnit.SECONDS.toMillis(refreshAfterSeconds), TimeUnit.SECONDS.toMillis(maxStaleSeconds), hotQueryMinHits);
+  }
+}
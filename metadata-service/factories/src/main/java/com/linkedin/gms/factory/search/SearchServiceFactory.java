@@ -1,8 +1,6 @@
 package com.linkedin.gms.factory.search;
 
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
-import com.linkedin.metadata.models.registry.EntityRegistry;
-import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.SearchService;
 import com.linkedin.metadata.search.cache.CachingAllEntitiesSearchAggregator;
 import com.linkedin.metadata.search.cache.EntityDocCountCache;
@@ -13,21 +11,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 
 
 @Configuration
+@Import({EntityDocCountCacheFactory.class})
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 public class SearchServiceFactory {
 
   @Autowired
-  @Qualifier("entityRegistry")
-  private EntityRegistry entityRegistry;
-
-  @Autowired
-  @Qualifier("entitySearchService")
-  private EntitySearchService entitySearchService;
+  @Qualifier("entityDocCountCache")
+  private EntityDocCountCache entityDocCountCache;
 
   @Autowired
   @Qualifier("cachingEntitySearchService")
@@ -46,7 +42,7 @@ public class SearchServiceFactory {
   @Nonnull
   protected SearchService getInstance() {
     return new SearchService(
-        new EntityDocCountCache(entityRegistry, entitySearchService),
+        entityDocCountCache,
         cachingEntitySearchService,
         cachingAllEntitiesSearchAggregator,
         searchRanker);
@@ -1,14 +1,28 @@
 package com.linkedin.gms.factory.timeline;
 
+import com.codahale.metrics.InstrumentedExecutorService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.gms.factory.search.BaseElasticSearchComponentsFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.entity.AspectDao;
+import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeline.ESTimelineChangeLogDAO;
+import com.linkedin.metadata.timeline.TimelineChangeLog;
 import com.linkedin.metadata.timeline.TimelineService;
 import com.linkedin.metadata.timeline.TimelineServiceImpl;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 
 import javax.annotation.Nonnull;
@@ -16,12 +30,46 @@ import javax.annotation.Nonnull;
 
 @Configuration
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@Import({BaseElasticSearchComponentsFactory.class})
 public class TimelineServiceFactory {
 
+  @Autowired
+  @Qualifier("entityService")
+  private EntityService _entityService;
+
+  @Autowired
+  private CacheManager _cacheManager;
+
+  @Autowired
+  @Qualifier("baseElasticSearchComponents")
+  private BaseElasticSearchComponentsFactory.BaseElasticSearchComponents _components;
+
+  @Value("${timelineService.changeLog.enabled:true}")
+  private Boolean _changeLogEnabled;
+
+  @Value("${timelineService.changeLog.materializationThreads:1}")
+  private Integer _materializationThreads;
+
   @Bean(name = "timelineService")
   @DependsOn({"entityAspectDao", "entityService", "entityRegistry"})
   @Nonnull
   protected TimelineService timelineService(@Qualifier("entityAspectDao") AspectDao aspectDao, EntityRegistry entityRegistry) {
-    return new TimelineServiceImpl(aspectDao, entityRegistry);
+    if (!_changeLogEnabled) {
+      return new TimelineServiceImpl(aspectDao, entityRegistry);
+    }
+    // Materializing on write is best effort, so versions are left for the next read to diff once the pool is busy
+    final ThreadPoolExecutor materializationExecutor = new ThreadPoolExecutor(_materializationThreads,
+        _materializationThreads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(_materializationThreads * 1000),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("timeline-change-log-%d").build(),
+        new ThreadPoolExecutor.AbortPolicy());
+    final ESTimelineChangeLogDAO changeLogStore = new ESTimelineChangeLogDAO(_components.getSearchClient(),
+        _components.getIndexConvention(), _components.getBulkProcessor(), _components.getIndexBuilder());
+    changeLogStore.configure();
+    final TimelineServiceImpl timelineService = new TimelineServiceImpl(aspectDao, entityRegistry,
+        new TimelineChangeLog(_cacheManager.getCache(TimelineChangeLog.CACHE_NAME), changeLogStore),
+        new InstrumentedExecutorService(materializationExecutor, MetricUtils.get(),
+            "TimelineService.materializationExecutor"));
+    _entityService.setTimelineService(timelineService);
+    return timelineService;
   }
 }
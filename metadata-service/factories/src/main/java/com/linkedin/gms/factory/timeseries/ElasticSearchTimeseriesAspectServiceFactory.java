@@ -9,6 +9,7 @@ import com.linkedin.metadata.timeseries.elastic.indexbuilder.TimeseriesAspectInd
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -27,11 +28,18 @@ public class ElasticSearchTimeseriesAspectServiceFactory {
   @Qualifier("entityRegistry")
   private EntityRegistry entityRegistry;
 
+  @Value("${timeseriesAspectService.rollups.enabled:false}")
+  private boolean rollupsEnabled;
+
+  @Value("${timeseriesAspectService.rollups.recomputeIntervalSeconds:60}")
+  private long rollupRecomputeIntervalSeconds;
+
   @Bean(name = "elasticSearchTimeseriesAspectService")
   @Nonnull
   protected ElasticSearchTimeseriesAspectService getInstance() {
     return new ElasticSearchTimeseriesAspectService(components.getSearchClient(), components.getIndexConvention(),
         new TimeseriesAspectIndexBuilders(components.getIndexBuilder(), entityRegistry,
-            components.getIndexConvention()), entityRegistry, components.getBulkProcessor());
+            components.getIndexConvention()), entityRegistry, components.getBulkProcessor(), rollupsEnabled,
+        rollupRecomputeIntervalSeconds);
   }
 }
\ No newline at end of file
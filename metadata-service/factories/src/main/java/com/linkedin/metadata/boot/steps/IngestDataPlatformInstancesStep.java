@@ -1,5 +1,6 @@
 package com.linkedin.metadata.boot.steps;
 
+import com.google.common.collect.ImmutableList;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.DataPlatformInstance;
 import com.linkedin.common.urn.Urn;
@@ -15,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 import java.util.Optional;
 
 import static com.linkedin.metadata.Constants.*;
@@ -55,12 +57,13 @@ public class IngestDataPlatformInstancesStep implements BootstrapStep {
     }
 
     long numEntities = _migrationsDao.countEntities();
-    int start = 0;
+    String lastUrn = null;
+    int read = 0;
 
-    while (start < numEntities) {
-      log.info("Reading urns {} to {} from the aspects table to generate dataplatform instance aspects", start,
-          start + BATCH_SIZE);
-      Iterable<String> urns = _migrationsDao.listAllUrns(start, start + BATCH_SIZE);
+    while (read < numEntities) {
+      log.info("Reading urns {} to {} from the aspects table to generate dataplatform instance aspects", read,
+          read + BATCH_SIZE);
+      List<String> urns = ImmutableList.copyOf(_migrationsDao.listAllUrns(lastUrn, BATCH_SIZE));
       for (String urnStr : urns) {
         Urn urn = Urn.createFromString(urnStr);
         Optional<DataPlatformInstance> dataPlatformInstance = getDataPlatformInstance(urn);
@@ -73,8 +76,13 @@ public class IngestDataPlatformInstancesStep implements BootstrapStep {
 
         _entityService.ingestAspect(urn, DATA_PLATFORM_INSTANCE_ASPECT_NAME, dataPlatformInstance.get(), aspectAuditStamp, null);
       }
-      log.info("Finished ingesting DataPlatformInstance for urn {} to {}", start, start + BATCH_SIZE);
-      start += BATCH_SIZE;
+      log.info("Finished ingesting DataPlatformInstance for urn {} to {}", read, read + urns.size());
+      read += urns.size();
+      if (urns.size() < BATCH_SIZE) {
+        break;
+      }
+      // Resume from the last urn rather than from an offset, which rows written meanwhile would shift
+      lastUrn = urns.get(urns.size() - 1);
     }
     log.info("Finished ingesting DataPlatformInstance for all entities");
   }
@@ -19,7 +19,9 @@ import com.linkedin.metadata.filter.RestliLoggingFilter;
 import com.linkedin.parseq.Engine;
 import com.linkedin.parseq.EngineBuilder;
 import com.linkedin.r2.filter.FilterChain;
+import com.linkedin.r2.filter.CompressionConfig;
 import com.linkedin.r2.filter.FilterChains;
+import com.linkedin.r2.filter.compression.ServerCompressionFilter;
 import com.linkedin.r2.filter.transport.FilterChainDispatcher;
 import com.linkedin.r2.transport.http.server.RAPServlet;
 import com.linkedin.restli.server.DelegatingTransportDispatcher;
@@ -35,10 +37,13 @@ import org.springframework.web.HttpRequestHandler;
 
 public class ParallelRestliHttpRequestHandler implements HttpRequestHandler {
 
+  // Encodings of request bodies which are inflated, e.g. those sent by RestEmitter with gzipEnabled
+  private static final String REQUEST_ENCODINGS = "gzip,deflate";
+
   private RAPServlet _r2Servlet;
 
   public ParallelRestliHttpRequestHandler(RestLiConfig config, SpringInjectResourceFactory injectResourceFactory) {
-    this(config, injectResourceFactory, FilterChains.empty());
+    this(config, injectResourceFactory, requestDecompressionFilters());
   }
 
   public ParallelRestliHttpRequestHandler(RestLiConfig config, SpringInjectResourceFactory injectResourceFactory,
@@ -49,6 +54,14 @@ public class ParallelRestliHttpRequestHandler implements HttpRequestHandler {
         new FilterChainDispatcher(new DelegatingTransportDispatcher(restLiServer, restLiServer), filterChain));
   }
 
+  /**
+   * Inflates compressed request bodies. Responses are never compressed, whatever the client accepts.
+   */
+  static FilterChain requestDecompressionFilters() {
+    return FilterChains.createRestChain(
+        new ServerCompressionFilter(REQUEST_ENCODINGS, new CompressionConfig(Integer.MAX_VALUE)));
+  }
+
   public Engine getDefaultParseqEngine() {
     final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
     Engine engine = new EngineBuilder().setTaskExecutor(scheduler).setTimerScheduler(scheduler).build();
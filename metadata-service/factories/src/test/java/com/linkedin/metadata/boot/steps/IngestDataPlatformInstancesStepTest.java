@@ -132,7 +132,7 @@ public class IngestDataPlatformInstancesStepTest {
     List<String> allUrnsInDB = Stream.concat(corpUserUrns.stream(), charUrns.stream()).map(Urn::toString).collect(Collectors.toList());
     when(migrationsDao.checkIfAspectExists(DATA_PLATFORM_INSTANCE_ASPECT_NAME)).thenReturn(false);
     when(migrationsDao.countEntities()).thenReturn((long) allUrnsInDB.size());
-    when(migrationsDao.listAllUrns(anyInt(), anyInt())).thenReturn(allUrnsInDB);
+    when(migrationsDao.listAllUrns(any(), anyInt())).thenReturn(allUrnsInDB);
   }
 
   private List<Urn> insertMockEntities(int count, String entity, String urnTemplate, EntityRegistry entityRegistry, EntityService entityService) {
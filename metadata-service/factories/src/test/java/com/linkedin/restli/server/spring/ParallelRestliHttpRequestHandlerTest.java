@@ -0,0 +1,71 @@
+package com.linkedin.restli.server.spring;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.r2.filter.transport.FilterChainDispatcher;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
+import com.linkedin.r2.transport.common.bridge.server.TransportDispatcher;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.zip.GZIPOutputStream;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class ParallelRestliHttpRequestHandlerTest {
+
+  private static final URI INGEST_PROPOSAL_BATCH_URI = URI.create("/aspects?action=ingestProposalBatch");
+  private static final byte[] BODY = "{\"proposals\":[{\"entityType\":\"dataset\",\"aspectName\":\"status\"}]}"
+      .getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void testGzipRequestBodyIsInflated() throws Exception {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(BODY);
+    }
+
+    final RestRequest dispatched = dispatch(new RestRequestBuilder(INGEST_PROPOSAL_BATCH_URI)
+        .setMethod("POST")
+        .setHeader("Content-Encoding", "gzip")
+        .setEntity(ByteString.copy(compressed.toByteArray()))
+        .build());
+
+    assertEquals(dispatched.getEntity().copyBytes(), BODY);
+  }
+
+  @Test
+  public void testUncompressedRequestBodyIsUnchanged() throws Exception {
+    final RestRequest dispatched = dispatch(new RestRequestBuilder(INGEST_PROPOSAL_BATCH_URI)
+        .setMethod("POST")
+        .setEntity(ByteString.copy(BODY))
+        .build());
+
+    assertEquals(dispatched.getEntity().copyBytes(), BODY);
+  }
+
+  /**
+   * Passes the request through the filters GMS applies in front of Rest.li, and returns what Rest.li receives.
+   */
+  @SuppressWarnings("unchecked")
+  private static RestRequest dispatch(RestRequest request) {
+    final TransportDispatcher restLiDispatcher = mock(TransportDispatcher.class);
+    final FilterChainDispatcher dispatcher = new FilterChainDispatcher(restLiDispatcher,
+        ParallelRestliHttpRequestHandler.requestDecompressionFilters());
+
+    dispatcher.handleRestRequest(request, new HashMap<>(), new RequestContext(), mock(TransportCallback.class));
+
+    final ArgumentCaptor<RestRequest> captor = ArgumentCaptor.forClass(RestRequest.class);
+    verify(restLiDispatcher).handleRestRequest(captor.capture(), anyMap(), any(RequestContext.class),
+        any(TransportCallback.class));
+    return captor.getValue();
+  }
+}
@@ -4,6 +4,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.datahub.authentication.Authentication;
 import com.datahub.authentication.AuthenticationContext;
 import com.datahub.authorization.AuthorizerChain;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -33,6 +34,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class GraphQLController {
 
+  // Apollo automatic persisted queries send the hash of the query as extensions.persistedQuery.sha256Hash
+  private static final JsonPointer PERSISTED_QUERY_HASH_PATH = JsonPointer.compile("/extensions/persistedQuery/sha256Hash");
+  private static final String PERSISTED_QUERY_NOT_FOUND =
+      "{\"errors\":[{\"message\":\"PersistedQueryNotFound\",\"extensions\":{\"code\":\"PERSISTED_QUERY_NOT_FOUND\"}}]}";
+
   public GraphQLController() {
 
   }
@@ -61,12 +67,32 @@ public class GraphQLController {
     }
 
     /*
-     * Extract "query" field
+     * Extract "query" field, which may be omitted for a previously registered persisted query
      */
     JsonNode queryJson = bodyJson.get("query");
-    if (queryJson == null) {
+    String queryText = queryJson != null && !queryJson.isNull() ? queryJson.asText() : null;
+
+    JsonNode persistedQueryHashJson = bodyJson.at(PERSISTED_QUERY_HASH_PATH);
+    if (!persistedQueryHashJson.isMissingNode() && !persistedQueryHashJson.isNull()) {
+      try {
+        Optional<String> persistedQuery = _engine.resolvePersistedQuery(queryText, persistedQueryHashJson.asText());
+        if (!persistedQuery.isPresent()) {
+          // Let the client know it needs to send the full query text along with the hash
+          MetricUtils.counter(this.getClass(), "persistedQueryNotFound").inc();
+          return CompletableFuture.completedFuture(new ResponseEntity<>(PERSISTED_QUERY_NOT_FOUND, HttpStatus.OK));
+        }
+        MetricUtils.counter(this.getClass(), queryText == null ? "persistedQueryHit" : "persistedQueryRegistered").inc();
+        queryText = persistedQuery.get();
+      } catch (IllegalArgumentException e) {
+        log.error(String.format("Persisted query hash %s does not match query %s", persistedQueryHashJson, queryText));
+        return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+      }
+    }
+
+    if (queryText == null) {
       return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
     }
+    final String query = queryText;
 
     /*
      * Extract "variables" map
@@ -76,7 +102,7 @@ public class GraphQLController {
       ? new ObjectMapper().convertValue(variablesJson, new TypeReference<Map<String, Object>>() { })
       : Collections.emptyMap();
 
-    log.debug(String.format("Executing graphQL query: %s, variables: %s", queryJson, variables));
+    log.debug(String.format("Executing graphQL query: %s, variables: %s", query, variables));
 
     /*
      * Init QueryContext
@@ -91,17 +117,17 @@ public class GraphQLController {
       /*
        * Execute GraphQL Query
        */
-      ExecutionResult executionResult = _engine.execute(queryJson.asText(), variables, context);
+      ExecutionResult executionResult = _engine.execute(query, variables, context);
 
       if (executionResult.getErrors().size() != 0) {
         // There were GraphQL errors. Report in error logs.
         log.error(String.format("Errors while executing graphQL query: %s, result: %s, errors: %s",
-            queryJson,
+            query,
             executionResult.toSpecification(),
             executionResult.getErrors()));
       } else {
         log.debug(String.format("Executed graphQL query: %s, result: %s",
-            queryJson,
+            query,
             executionResult.toSpecification()));
       }
 
@@ -3,6 +3,7 @@ package com.datahub.graphql;
 import com.datahub.authentication.Authentication;
 import com.datahub.authorization.Authorizer;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.RequestScopedAspectCache;
 
 
 public class SpringQueryContext implements QueryContext {
@@ -10,6 +11,7 @@ public class SpringQueryContext implements QueryContext {
   private final boolean isAuthenticated;
   private final Authentication authentication;
   private final Authorizer authorizer;
+  private final RequestScopedAspectCache aspectCache = new RequestScopedAspectCache();
 
   public SpringQueryContext(final boolean isAuthenticated, final Authentication authentication, final Authorizer authorizer) {
     this.isAuthenticated = isAuthenticated;
@@ -31,4 +33,9 @@ public class SpringQueryContext implements QueryContext {
   public Authorizer getAuthorizer() {
     return this.authorizer;
   }
+
+  @Override
+  public RequestScopedAspectCache getAspectCache() {
+    return this.aspectCache;
+  }
 }
@@ -0,0 +1,90 @@
+package io.datahubproject.openapi.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.GlossaryTermAssociation;
+import com.linkedin.common.GlossaryTermAssociationArray;
+import com.linkedin.common.GlossaryTerms;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.GlossaryTermUrn;
+import com.linkedin.common.urn.TagUrn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.Aspect;
+import com.linkedin.schema.MySqlDDL;
+import com.linkedin.schema.NumberType;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.SchemaMetadata;
+import com.linkedin.schema.StringType;
+import io.datahubproject.openapi.generated.OneOfEnvelopedAspectValue;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures mapping a schema metadata aspect with the given number of tagged and termed fields to its OpenAPI value.
+ *
+ * Run with ./gradlew :metadata-service:openapi-servlet:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingUtilBenchmark {
+
+  @Param({"100", "20000"})
+  private int numFields;
+
+  private final ObjectMapper _objectMapper = new ObjectMapper();
+  private Aspect _aspect;
+
+  @Setup
+  public void setup() throws Exception {
+    final TagUrn tag = TagUrn.createFromString("urn:li:tag:benchmark");
+    final GlossaryTermUrn term = GlossaryTermUrn.createFromString("urn:li:glossaryTerm:benchmark");
+    final SchemaFieldArray fields = new SchemaFieldArray();
+    for (int i = 0; i < numFields; i++) {
+      fields.add(new SchemaField()
+          .setFieldPath("field_" + i)
+          .setNativeDataType(i % 2 == 0 ? "varchar(255)" : "bigint")
+          .setDescription("Description of field " + i)
+          .setType(new SchemaFieldDataType().setType(i % 2 == 0
+              ? SchemaFieldDataType.Type.create(new StringType())
+              : SchemaFieldDataType.Type.create(new NumberType())))
+          .setGlobalTags(new GlobalTags().setTags(
+              new TagAssociationArray(Collections.singletonList(new TagAssociation().setTag(tag)))))
+          .setGlossaryTerms(new GlossaryTerms().setTerms(
+              new GlossaryTermAssociationArray(Collections.singletonList(new GlossaryTermAssociation().setUrn(term))))
+              .setAuditStamp(new AuditStamp().setTime(0L).setActor(UrnUtils.getUrn("urn:li:corpuser:benchmark")))));
+    }
+    _aspect = new Aspect(new SchemaMetadata().setSchemaName("testSchema")
+        .setPlatformSchema(SchemaMetadata.PlatformSchema.create(new MySqlDDL().setTableSchema("foo")))
+        .setPlatform(new DataPlatformUrn("hive"))
+        .setHash("")
+        .setVersion(0L)
+        .setFields(fields)
+        .data());
+  }
+
+  @Benchmark
+  public OneOfEnvelopedAspectValue mapAspectValue() {
+    return MappingUtil.mapAspectValue("schemaMetadata", _aspect, _objectMapper);
+  }
+}
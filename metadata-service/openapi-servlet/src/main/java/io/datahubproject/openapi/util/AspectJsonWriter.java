@@ -0,0 +1,169 @@
+package io.datahubproject.openapi.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.MapDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Writes Pegasus aspects as the JSON of the generated OpenAPI classes, in a single pass over the {@link DataMap}.
+ *
+ * The generated classes tell the members of a union apart by a discriminator field holding the simple name of their
+ * class. Walking the data along with its schema, union members are written as the record they hold along with the
+ * discriminator, instead of wrapped in an object keyed by the fully qualified name of the record, and the records which
+ * are also union members elsewhere ({@link #DISCRIMINATED_RECORDS}) get the discriminator wherever they appear.
+ *
+ * Data without a schema is written as it is, except for objects with a single com.linkedin record key, which are taken
+ * to be union members.
+ */
+final class AspectJsonWriter {
+
+  static final String DISCRIMINATOR = "__type";
+
+  // Records used both as union members and as plain fields, which the generated classes always expect a discriminator for
+  private static final String[] DISCRIMINATED_RECORDS = {"com.linkedin.common.GlobalTags",
+      "com.linkedin.common.GlossaryTerms"};
+  private static final String PEGASUS_PACKAGE_PREFIX = "com.linkedin.";
+
+  private AspectJsonWriter() {
+  }
+
+  /**
+   * Writes an aspect, with the simple name of its generated class as its discriminator.
+   */
+  static void writeAspect(@Nonnull DataMap aspect, @Nullable RecordDataSchema schema, @Nonnull String typeName,
+      @Nonnull JsonGenerator generator) throws IOException {
+    writeRecord(aspect, schema, typeName, generator);
+  }
+
+  private static void writeRecord(@Nonnull DataMap record, @Nullable RecordDataSchema schema,
+      @Nullable String typeName, @Nonnull JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    if (typeName != null) {
+      generator.writeStringField(DISCRIMINATOR, typeName);
+    }
+    for (Map.Entry<String, Object> entry : record.entrySet()) {
+      if (DISCRIMINATOR.equals(entry.getKey())) {
+        continue;
+      }
+      generator.writeFieldName(entry.getKey());
+      final RecordDataSchema.Field field = schema == null ? null : schema.getField(entry.getKey());
+      writeValue(entry.getValue(), field == null ? null : field.getType(), generator);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeValue(@Nullable Object value, @Nullable DataSchema schema,
+      @Nonnull JsonGenerator generator) throws IOException {
+    final DataSchema dereferenced = schema == null ? null : schema.getDereferencedDataSchema();
+    if (value instanceof DataMap) {
+      final DataMap map = (DataMap) value;
+      if (dereferenced == null) {
+        writeUntyped(map, generator);
+      } else if (dereferenced.getType() == DataSchema.Type.RECORD) {
+        final RecordDataSchema recordSchema = (RecordDataSchema) dereferenced;
+        writeRecord(map, recordSchema, isDiscriminated(recordSchema) ? recordSchema.getName() : null, generator);
+      } else if (dereferenced.getType() == DataSchema.Type.UNION) {
+        writeUnion(map, (UnionDataSchema) dereferenced, generator);
+      } else if (dereferenced.getType() == DataSchema.Type.MAP) {
+        final DataSchema valueSchema = ((MapDataSchema) dereferenced).getValues();
+        generator.writeStartObject();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+          generator.writeFieldName(entry.getKey());
+          writeValue(entry.getValue(), valueSchema, generator);
+        }
+        generator.writeEndObject();
+      } else {
+        writeUntyped(map, generator);
+      }
+    } else if (value instanceof DataList) {
+      final DataSchema itemSchema =
+          dereferenced instanceof ArrayDataSchema ? ((ArrayDataSchema) dereferenced).getItems() : null;
+      generator.writeStartArray();
+      for (Object item : (DataList) value) {
+        writeValue(item, itemSchema, generator);
+      }
+      generator.writeEndArray();
+    } else {
+      writePrimitive(value, generator);
+    }
+  }
+
+  private static void writeUnion(@Nonnull DataMap union, @Nonnull UnionDataSchema schema,
+      @Nonnull JsonGenerator generator) throws IOException {
+    if (union.size() == 1) {
+      final Map.Entry<String, Object> member = union.entrySet().iterator().next();
+      final DataSchema memberSchema = schema.getTypeByMemberKey(member.getKey());
+      final DataSchema dereferenced = memberSchema == null ? null : memberSchema.getDereferencedDataSchema();
+      // Members with an alias keep it as their key
+      if (member.getValue() instanceof DataMap && dereferenced instanceof RecordDataSchema
+          && member.getKey().equals(((RecordDataSchema) dereferenced).getFullName())) {
+        final RecordDataSchema recordSchema = (RecordDataSchema) dereferenced;
+        writeRecord((DataMap) member.getValue(), recordSchema, recordSchema.getName(), generator);
+        return;
+      }
+    }
+    generator.writeStartObject();
+    for (Map.Entry<String, Object> entry : union.entrySet()) {
+      generator.writeFieldName(entry.getKey());
+      writeValue(entry.getValue(), schema.getTypeByMemberKey(entry.getKey()), generator);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeUntyped(@Nonnull DataMap map, @Nonnull JsonGenerator generator) throws IOException {
+    if (map.size() == 1) {
+      final Map.Entry<String, Object> entry = map.entrySet().iterator().next();
+      if (entry.getKey().startsWith(PEGASUS_PACKAGE_PREFIX) && entry.getValue() instanceof DataMap) {
+        final String className = entry.getKey().substring(entry.getKey().lastIndexOf('.') + 1);
+        if (!className.isEmpty() && Character.isUpperCase(className.charAt(0))) {
+          writeRecord((DataMap) entry.getValue(), null, className, generator);
+          return;
+        }
+      }
+    }
+    writeRecord(map, null, null, generator);
+  }
+
+  private static void writePrimitive(@Nullable Object value, @Nonnull JsonGenerator generator) throws IOException {
+    if (value == null || value == Data.NULL) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Integer) {
+      generator.writeNumber((Integer) value);
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Float) {
+      generator.writeNumber((Float) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof ByteString) {
+      generator.writeString(((ByteString) value).asAvroString());
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+
+  private static boolean isDiscriminated(@Nonnull RecordDataSchema schema) {
+    for (String name : DISCRIMINATED_RECORDS) {
+      if (name.equals(schema.getFullName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
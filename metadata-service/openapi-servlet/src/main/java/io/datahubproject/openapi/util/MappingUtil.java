@@ -5,12 +5,14 @@ import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.linkedin.avro2pegasus.events.KafkaAuditHeader;
 import com.linkedin.avro2pegasus.events.UUID;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.data.ByteString;
-import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.entity.Aspect;
 import com.linkedin.events.metadata.ChangeType;
@@ -34,16 +36,20 @@ import io.datahubproject.openapi.generated.MetadataChangeProposal;
 import io.datahubproject.openapi.generated.OneOfEnvelopedAspectValue;
 import io.datahubproject.openapi.generated.OneOfGenericAspectValue;
 import io.datahubproject.openapi.generated.Status;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.reflections.Reflections;
 import org.reflections.scanners.ResourcesScanner;
@@ -72,14 +78,10 @@ public class MappingUtil {
   private static final Map<Class<? extends OneOfGenericAspectValue>, String> ASPECT_NAME_MAP =
       new HashMap<>();
   private static final Map<String, Class<? extends RecordTemplate>> PEGASUS_TYPE_MAP = new HashMap<>();
-  private static final Pattern CLASS_NAME_PATTERN =
-      Pattern.compile("(\"com\\.linkedin\\.)([a-z]+?\\.)+?(?<className>[A-Z]\\w+?)(\":\\{)(?<content>.*?)(}})");
-  private static final Pattern GLOBAL_TAGS_PATTERN =
-      Pattern.compile("\"globalTags\":\\{");
-  private static final Pattern GLOSSARY_TERMS_PATTERN =
-      Pattern.compile("\"glossaryTerms\":\\{");
+  private static final Map<Class<? extends OneOfEnvelopedAspectValue>, Optional<RecordDataSchema>> PEGASUS_SCHEMA_MAP =
+      new ConcurrentHashMap<>();
 
-  private static final String DISCRIMINATOR = "__type";
+  private static final String DISCRIMINATOR = AspectJsonWriter.DISCRIMINATOR;
   private static final Pattern CLASS_TYPE_NAME_PATTERN =
       Pattern.compile("(\\s+?\"__type\"\\s+?:\\s+?\")(?<classTypeName>\\w*?)(\"[,]?\\s+?)(?<content>[\\S\\s]*?)(\\s+})");
   private static final String PEGASUS_PACKAGE = "com.linkedin";
@@ -140,44 +142,24 @@ public class MappingUtil {
 
   public static OneOfEnvelopedAspectValue mapAspectValue(String aspectName, Aspect aspect, ObjectMapper objectMapper) {
     Class<? extends OneOfEnvelopedAspectValue> aspectClass = ENVELOPED_ASPECT_TYPE_MAP.get(aspectName);
-    DataMap wrapper = aspect.data();
-    wrapper.put(DISCRIMINATOR, aspectClass.getSimpleName());
-    String dataMapAsJson;
+    // Write the aspect as tokens and bind them straight to the generated class, without going through a JSON string
+    TokenBuffer tokens = new TokenBuffer(objectMapper, false);
     try {
-      dataMapAsJson = objectMapper.writeValueAsString(wrapper);
-      Matcher classNameMatcher = CLASS_NAME_PATTERN.matcher(dataMapAsJson);
-      while (classNameMatcher.find()) {
-        String className = classNameMatcher.group("className");
-        String content = classNameMatcher.group("content");
-        StringBuilder replacement = new StringBuilder("\"" + DISCRIMINATOR + "\" : \"" + className + "\"");
-
-        if (content.length() > 0) {
-          replacement.append(",")
-              .append(content);
-        }
-        replacement.append("}");
-        dataMapAsJson = classNameMatcher.replaceFirst(Matcher.quoteReplacement(replacement.toString()));
-        classNameMatcher = CLASS_NAME_PATTERN.matcher(dataMapAsJson);
-      }
-      // Global Tags & Glossary Terms will not have the explicit class name in the DataMap, so we handle them differently
-      Matcher globalTagsMatcher = GLOBAL_TAGS_PATTERN.matcher(dataMapAsJson);
-      while (globalTagsMatcher.find()) {
-        String replacement = "\"globalTags\" : {\"" + DISCRIMINATOR + "\" : \"GlobalTags\",";
-        dataMapAsJson = globalTagsMatcher.replaceFirst(Matcher.quoteReplacement(replacement));
-        globalTagsMatcher = GLOBAL_TAGS_PATTERN.matcher(dataMapAsJson);
-      }
-      Matcher glossaryTermsMatcher = GLOSSARY_TERMS_PATTERN.matcher(dataMapAsJson);
-      while (glossaryTermsMatcher.find()) {
-        String replacement = "\"glossaryTerms\" : {\"" + DISCRIMINATOR + "\" : \"GlossaryTerms\",";
-        dataMapAsJson = glossaryTermsMatcher.replaceFirst(Matcher.quoteReplacement(replacement));
-        glossaryTermsMatcher = GLOSSARY_TERMS_PATTERN.matcher(dataMapAsJson);
-      }
-      return objectMapper.readValue(dataMapAsJson, aspectClass);
-    } catch (JsonProcessingException e) {
+      AspectJsonWriter.writeAspect(aspect.data(), getPegasusSchema(aspectClass), aspectClass.getSimpleName(), tokens);
+      return objectMapper.readValue(tokens.asParser(), aspectClass);
+    } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
+  @Nullable
+  private static RecordDataSchema getPegasusSchema(Class<? extends OneOfEnvelopedAspectValue> aspectClass) {
+    return PEGASUS_SCHEMA_MAP.computeIfAbsent(aspectClass, cls -> {
+      Class<? extends RecordTemplate> pegasusClass = PEGASUS_TYPE_MAP.get(cls.getSimpleName());
+      return Optional.ofNullable(pegasusClass == null ? null : DataTemplateUtil.getSchema(pegasusClass));
+    }).orElse(null);
+  }
+
   @SuppressWarnings("unchecked")
   private static void putEnvelopedAspectEntry(BeanDefinition beanDefinition) {
     try {
@@ -0,0 +1,103 @@
+package util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.GlossaryTermAssociation;
+import com.linkedin.common.GlossaryTermAssociationArray;
+import com.linkedin.common.GlossaryTerms;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.common.urn.GlossaryTermUrn;
+import com.linkedin.common.urn.TagUrn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.Aspect;
+import com.linkedin.schema.MySqlDDL;
+import com.linkedin.schema.NumberType;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.SchemaMetadata;
+import com.linkedin.schema.StringType;
+import io.datahubproject.openapi.generated.OneOfEnvelopedAspectValue;
+import io.datahubproject.openapi.util.MappingUtil;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.testng.annotations.Test;
+
+import static entities.EntitiesControllerTest.*;
+import static org.testng.Assert.*;
+
+
+public class MappingUtilTest {
+
+  private final ObjectMapper _objectMapper = new ObjectMapper();
+
+  private static SchemaMetadata schemaMetadata(int fieldCount) throws URISyntaxException {
+    List<SchemaField> fields = new ArrayList<>(fieldCount);
+    for (int i = 0; i < fieldCount; i++) {
+      fields.add(new SchemaField()
+          .setFieldPath("field_" + i)
+          .setNativeDataType(i % 2 == 0 ? "varchar(255)" : "bigint")
+          .setDescription("Description of field " + i + " with \"quotes\" and }} braces")
+          .setType(new SchemaFieldDataType().setType(i % 2 == 0
+              ? SchemaFieldDataType.Type.create(new StringType())
+              : SchemaFieldDataType.Type.create(new NumberType())))
+          .setGlobalTags(new GlobalTags().setTags(new TagAssociationArray(Collections.singletonList(
+              new TagAssociation().setTag(TagUrn.createFromUrn(UrnUtils.getUrn(TAG_URN)))))))
+          .setGlossaryTerms(new GlossaryTerms().setTerms(new GlossaryTermAssociationArray(Collections.singletonList(
+              new GlossaryTermAssociation().setUrn(GlossaryTermUrn.createFromUrn(UrnUtils.getUrn(GLOSSARY_TERM_URN))))))
+              .setAuditStamp(new com.linkedin.common.AuditStamp().setTime(0L).setActor(UrnUtils.getUrn(CORPUSER_URN)))));
+    }
+    return new SchemaMetadata()
+        .setSchemaName(S)
+        .setDataset(DatasetUrn.createFromUrn(UrnUtils.getUrn(DATASET_URN)))
+        .setPlatform(new DataPlatformUrn("platform"))
+        .setVersion(0L)
+        .setHash(S)
+        .setPlatformSchema(SchemaMetadata.PlatformSchema.create(new MySqlDDL().setTableSchema(S)))
+        .setFields(new SchemaFieldArray(fields));
+  }
+
+  @Test
+  public void testMapAspectValue() throws Exception {
+    SchemaMetadata pegasusSchemaMetadata = schemaMetadata(2);
+    Aspect aspect = new Aspect(pegasusSchemaMetadata.data());
+
+    OneOfEnvelopedAspectValue value = MappingUtil.mapAspectValue("schemaMetadata", aspect, _objectMapper);
+
+    assertTrue(value instanceof io.datahubproject.openapi.generated.SchemaMetadata);
+    io.datahubproject.openapi.generated.SchemaMetadata schemaMetadata =
+        (io.datahubproject.openapi.generated.SchemaMetadata) value;
+    assertEquals(schemaMetadata.getSchemaName(), S);
+    assertTrue(schemaMetadata.getPlatformSchema() instanceof io.datahubproject.openapi.generated.MySqlDDL);
+    assertEquals(schemaMetadata.getFields().size(), 2);
+    assertTrue(schemaMetadata.getFields().get(0).getType().getType()
+        instanceof io.datahubproject.openapi.generated.StringType);
+    assertTrue(schemaMetadata.getFields().get(1).getType().getType()
+        instanceof io.datahubproject.openapi.generated.NumberType);
+    assertEquals(schemaMetadata.getFields().get(1).getDescription(), pegasusSchemaMetadata.getFields().get(1).getDescription());
+    assertEquals(schemaMetadata.getFields().get(0).getGlobalTags().getTags().get(0).getTag(), TAG_URN);
+    assertEquals(schemaMetadata.getFields().get(0).getGlossaryTerms().getTerms().get(0).getUrn(), GLOSSARY_TERM_URN);
+    // The aspect is left as it was
+    assertFalse(aspect.data().containsKey("__type"));
+  }
+
+  @Test
+  public void testMapLargeAspectValue() throws Exception {
+    final int fieldCount = 20000;
+    Aspect aspect = new Aspect(schemaMetadata(fieldCount).data());
+
+    io.datahubproject.openapi.generated.SchemaMetadata schemaMetadata =
+        (io.datahubproject.openapi.generated.SchemaMetadata) MappingUtil.mapAspectValue("schemaMetadata", aspect,
+            _objectMapper);
+
+    assertEquals(schemaMetadata.getFields().size(), fieldCount);
+    assertTrue(schemaMetadata.getFields().get(fieldCount - 1).getType().getType()
+        instanceof io.datahubproject.openapi.generated.NumberType);
+    assertEquals(schemaMetadata.getFields().get(fieldCount - 1).getGlobalTags().getTags().get(0).getTag(), TAG_URN);
+  }
+}
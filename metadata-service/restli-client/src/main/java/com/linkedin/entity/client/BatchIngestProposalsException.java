@@ -0,0 +1,33 @@
+package com.linkedin.entity.client;
+
+import com.linkedin.r2.RemoteInvocationException;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Exception thrown by {@link EntityClient#batchIngestProposals} when only some of the proposals were committed, so that
+ * callers can ingest the others again without rewriting those already written.
+ */
+public class BatchIngestProposalsException extends RemoteInvocationException {
+  private final List<Boolean> _committed;
+
+  /**
+   * @param committed whether each of the proposals of the batch was committed, in order
+   */
+  public BatchIngestProposalsException(@Nonnull List<Boolean> committed, @Nullable String message,
+      @Nullable Throwable cause) {
+    super(message, cause);
+    _committed = Collections.unmodifiableList(committed);
+  }
+
+  public boolean isCommitted(int index) {
+    return _committed.get(index);
+  }
+
+  public long getCommittedCount() {
+    return _committed.stream().filter(Boolean::booleanValue).count();
+  }
+}
@@ -24,12 +24,13 @@ import com.linkedin.mxe.PlatformEvent;
 import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.r2.RemoteInvocationException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -288,11 +289,23 @@ public interface EntityClient {
     }
   }
 
+  /**
+   * Ingests a batch of proposals, returning the urns of the provided proposals, in order. Throws a
+   * {@link BatchIngestProposalsException} telling which proposals were committed if ingesting fails part way.
+   */
   default List<String> batchIngestProposals(@Nonnull final Collection<MetadataChangeProposal> metadataChangeProposals,
       @Nonnull final Authentication authentication) throws RemoteInvocationException {
-    return metadataChangeProposals.stream()
-        .map(proposal -> wrappedIngestProposal(proposal, authentication))
-        .collect(Collectors.toList());
+    final List<String> urns = new ArrayList<>(metadataChangeProposals.size());
+    for (MetadataChangeProposal proposal : metadataChangeProposals) {
+      try {
+        urns.add(ingestProposal(proposal, authentication));
+      } catch (RemoteInvocationException | RuntimeException e) {
+        final List<Boolean> committed = new ArrayList<>(Collections.nCopies(metadataChangeProposals.size(), false));
+        Collections.fill(committed.subList(0, urns.size()), true);
+        throw new BatchIngestProposalsException(committed, e.getMessage(), e);
+      }
+    }
+    return urns;
   }
 
   @Nonnull
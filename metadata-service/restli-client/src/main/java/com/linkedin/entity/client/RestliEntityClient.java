@@ -3,6 +3,8 @@ package com.linkedin.entity.client;
 import com.datahub.authentication.Authentication;
 import com.datahub.util.RecordUtils;
 import com.google.common.collect.ImmutableList;
+import com.linkedin.aspect.IngestProposalBatchResponse;
+import com.linkedin.aspect.IngestProposalOutcome;
 import com.linkedin.common.VersionedUrn;
 import com.linkedin.common.client.BaseClient;
 import com.linkedin.common.urn.Urn;
@@ -11,6 +13,7 @@ import com.linkedin.data.DataMap;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.entity.AspectsDoGetTimeseriesAspectValuesRequestBuilder;
+import com.linkedin.entity.AspectsDoIngestProposalBatchRequestBuilder;
 import com.linkedin.entity.AspectsDoIngestProposalRequestBuilder;
 import com.linkedin.entity.AspectsGetRequestBuilder;
 import com.linkedin.entity.AspectsRequestBuilders;
@@ -59,6 +62,7 @@ import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.LineageSearchResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.mxe.MetadataChangeProposalArray;
 import com.linkedin.mxe.PlatformEvent;
 import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.platform.PlatformDoProducePlatformEventRequestBuilder;
@@ -68,6 +72,7 @@ import com.linkedin.restli.client.Client;
 import com.linkedin.restli.client.RestLiResponseException;
 import com.linkedin.restli.common.HttpStatus;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -631,6 +636,34 @@ public class RestliEntityClient extends BaseClient implements EntityClient {
     return sendClientRequest(requestBuilder, authentication).getEntity();
   }
 
+  /**
+   * Ingest a batch of MetadataChangeProposal events in a single request.
+   * @return the urns of the provided proposals, in order
+   * @throws BatchIngestProposalsException if only some of the proposals were committed
+   */
+  @Override
+  public List<String> batchIngestProposals(@Nonnull final Collection<MetadataChangeProposal> metadataChangeProposals,
+      @Nonnull final Authentication authentication) throws RemoteInvocationException {
+    final AspectsDoIngestProposalBatchRequestBuilder requestBuilder =
+        ASPECTS_REQUEST_BUILDERS.actionIngestProposalBatch()
+            .proposalsParam(new MetadataChangeProposalArray(metadataChangeProposals));
+    final IngestProposalBatchResponse response = sendClientRequest(requestBuilder, authentication).getEntity();
+    final List<String> urns = new ArrayList<>(response.getOutcomes().size());
+    final List<Boolean> committed = new ArrayList<>(response.getOutcomes().size());
+    String error = null;
+    for (IngestProposalOutcome outcome : response.getOutcomes()) {
+      urns.add(outcome.getUrn());
+      committed.add(outcome.isCommitted());
+      if (error == null && outcome.hasError()) {
+        error = outcome.getError();
+      }
+    }
+    if (committed.contains(false)) {
+      throw new BatchIngestProposalsException(committed, error, null);
+    }
+    return urns;
+  }
+
   public <T extends RecordTemplate> Optional<T> getVersionedAspect(@Nonnull String urn, @Nonnull String aspect,
       @Nonnull Long version, @Nonnull Class<T> aspectClass, @Nonnull final Authentication authentication)
       throws RemoteInvocationException {
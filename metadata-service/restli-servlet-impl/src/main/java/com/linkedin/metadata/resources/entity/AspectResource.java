@@ -4,18 +4,23 @@ import com.codahale.metrics.MetricRegistry;
 import com.datahub.authentication.Authentication;
 import com.datahub.authentication.AuthenticationContext;
 import com.linkedin.aspect.GetTimeseriesAspectValuesResponse;
+import com.linkedin.aspect.IngestProposalBatchResponse;
+import com.linkedin.aspect.IngestProposalOutcome;
+import com.linkedin.aspect.IngestProposalOutcomeArray;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.aspect.EnvelopedAspectArray;
 import com.linkedin.metadata.aspect.VersionedAspect;
 import com.linkedin.metadata.entity.AspectUtils;
 import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.PartialIngestException;
 import com.linkedin.metadata.entity.ValidationException;
 import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.restli.RestliUtil;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.utils.EntityKeyUtils;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.parseq.Task;
 import com.linkedin.restli.common.HttpStatus;
@@ -31,9 +36,11 @@ import com.linkedin.restli.server.resources.CollectionResourceTaskTemplate;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.net.URISyntaxException;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -53,12 +60,14 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
 
   private static final String ACTION_GET_TIMESERIES_ASPECT = "getTimeseriesAspectValues";
   private static final String ACTION_INGEST_PROPOSAL = "ingestProposal";
+  private static final String ACTION_INGEST_PROPOSAL_BATCH = "ingestProposalBatch";
   private static final String ACTION_GET_COUNT = "getCount";
   private static final String ACTION_RESTORE_INDICES = "restoreIndices";
 
   private static final String PARAM_ENTITY = "entity";
   private static final String PARAM_ASPECT = "aspect";
   private static final String PARAM_PROPOSAL = "proposal";
+  private static final String PARAM_PROPOSALS = "proposals";
   private static final String PARAM_START_TIME_MILLIS = "startTimeMillis";
   private static final String PARAM_END_TIME_MILLIS = "endTimeMillis";
   private static final String PARAM_LATEST_VALUE = "latestValue";
@@ -157,6 +166,66 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
     }, MetricRegistry.name(this.getClass(), "ingestProposal"));
   }
 
+  /**
+   * Ingests a batch of proposals, writing versioned aspects to the local DB in as few transactions as possible.
+   * Returns the outcome of each of the provided proposals, in order: if writing fails part way, the proposals written
+   * before are committed and the others are not, so that clients only send the latter again.
+   */
+  @Action(name = ACTION_INGEST_PROPOSAL_BATCH)
+  @Nonnull
+  @WithSpan
+  public Task<IngestProposalBatchResponse> ingestProposalBatch(
+      @ActionParam(PARAM_PROPOSALS) @Nonnull MetadataChangeProposal[] metadataChangeProposals) throws URISyntaxException {
+    log.info("INGEST PROPOSAL BATCH of {} proposals", metadataChangeProposals.length);
+
+    Authentication authentication = AuthenticationContext.getAuthentication();
+    String actorUrnStr = authentication.getActor().toUrnStr();
+    final AuditStamp auditStamp = new AuditStamp().setTime(_clock.millis()).setActor(Urn.createFromString(actorUrnStr));
+
+    // Each proposal is followed by its additional changes, mirroring the order of the single proposal action.
+    final List<MetadataChangeProposal> proposals = new ArrayList<>();
+    final List<Integer> primaryIndexes = new ArrayList<>();
+    for (MetadataChangeProposal metadataChangeProposal : metadataChangeProposals) {
+      primaryIndexes.add(proposals.size());
+      proposals.add(metadataChangeProposal);
+      proposals.addAll(AspectUtils.getAdditionalChanges(metadataChangeProposal, _entityService));
+    }
+
+    return RestliUtil.toTask(() -> {
+      List<EntityService.IngestProposalResult> results;
+      String error = null;
+      try {
+        results = _entityService.ingestProposals(proposals, auditStamp);
+      } catch (ValidationException e) {
+        throw new RestLiServiceException(HttpStatus.S_422_UNPROCESSABLE_ENTITY, e.getMessage());
+      } catch (PartialIngestException e) {
+        log.error("Failed to ingest part of a batch of {} proposals", metadataChangeProposals.length, e);
+        results = e.getResults();
+        error = e.getMessage();
+      }
+
+      final IngestProposalOutcomeArray outcomes = new IngestProposalOutcomeArray();
+      for (int i = 0; i < primaryIndexes.size(); i++) {
+        final int start = primaryIndexes.get(i);
+        final int end = i + 1 < primaryIndexes.size() ? primaryIndexes.get(i + 1) : proposals.size();
+        // A proposal is committed along with its additional changes
+        final boolean committed = results.subList(start, end).stream().allMatch(Objects::nonNull);
+        final MetadataChangeProposal proposal = proposals.get(start);
+        final Urn urn = results.get(start) != null ? results.get(start).getUrn()
+            : EntityKeyUtils.getUrnFromProposal(proposal, _entityService.getKeyAspectSpec(proposal.getEntityType()));
+        final IngestProposalOutcome outcome =
+            new IngestProposalOutcome().setUrn(urn.toString()).setCommitted(committed);
+        if (committed) {
+          tryIndexRunId(urn, proposal.getSystemMetadata(), _entitySearchService);
+        } else if (error != null) {
+          outcome.setError(error);
+        }
+        outcomes.add(outcome);
+      }
+      return new IngestProposalBatchResponse().setOutcomes(outcomes);
+    }, MetricRegistry.name(this.getClass(), "ingestProposalBatch"));
+  }
+
   @Action(name = ACTION_GET_COUNT)
   @Nonnull
   @WithSpan
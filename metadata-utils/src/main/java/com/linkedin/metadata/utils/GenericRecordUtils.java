@@ -1,21 +1,37 @@
 package com.linkedin.metadata.utils;
 
 import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.PsonDataCodec;
 import com.linkedin.data.template.RecordTemplate;
 import com.datahub.util.RecordUtils;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.mxe.GenericAspect;
 import com.linkedin.mxe.GenericPayload;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import javax.annotation.Nonnull;
 
 
 public class GenericRecordUtils {
   public static final String JSON = "application/json";
+  /**
+   * Pegasus binary format. Values are written with their types and lengths, so it is decoded without parsing text.
+   */
+  public static final String PSON = "application/x-pson";
+
+  private static final PsonDataCodec PSON_CODEC = new PsonDataCodec();
 
   private GenericRecordUtils() {
   }
 
+  /**
+   * Returns whether aspects and payloads can be (de)serialized with the given content type.
+   */
+  public static boolean isSupportedContentType(@Nonnull String contentType) {
+    return JSON.equals(contentType) || PSON.equals(contentType);
+  }
+
   /**
    * Deserialize the given value into the aspect based on the input aspectSpec
    */
@@ -28,10 +44,7 @@ public class GenericRecordUtils {
   @Nonnull
   public static <T extends RecordTemplate> T deserializeAspect(@Nonnull ByteString aspectValue,
       @Nonnull String contentType, @Nonnull Class<T> clazz) {
-    if (!contentType.equals(JSON)) {
-      throw new IllegalArgumentException(String.format("%s content type is not supported", contentType));
-    }
-    return RecordUtils.toRecordTemplate(clazz, aspectValue.asString(StandardCharsets.UTF_8));
+    return deserialize(aspectValue, contentType, clazz);
   }
 
   @Nonnull
@@ -39,27 +52,80 @@ public class GenericRecordUtils {
       @Nonnull ByteString payloadValue,
       @Nonnull String contentType,
       @Nonnull Class<T> clazz) {
-    if (!contentType.equals(JSON)) {
-      throw new IllegalArgumentException(String.format("%s content type is not supported", contentType));
-    }
-    return RecordUtils.toRecordTemplate(clazz, payloadValue.asString(StandardCharsets.UTF_8));
+    return deserialize(payloadValue, contentType, clazz);
   }
 
   @Nonnull
   public static GenericAspect serializeAspect(@Nonnull RecordTemplate aspect) {
+    return serializeAspect(aspect, JSON);
+  }
+
+  /**
+   * Serialize the aspect with the given content type, which consumers read from {@link GenericAspect#getContentType()}.
+   */
+  @Nonnull
+  public static GenericAspect serializeAspect(@Nonnull RecordTemplate aspect, @Nonnull String contentType) {
     GenericAspect genericAspect = new GenericAspect();
-    genericAspect.setValue(
-        ByteString.unsafeWrap(RecordUtils.toJsonString(aspect).getBytes(StandardCharsets.UTF_8)));
-    genericAspect.setContentType(GenericRecordUtils.JSON);
+    genericAspect.setValue(serialize(aspect, contentType));
+    genericAspect.setContentType(contentType);
     return genericAspect;
   }
 
   @Nonnull
   public static GenericPayload serializePayload(@Nonnull RecordTemplate payload) {
+    return serializePayload(payload, JSON);
+  }
+
+  @Nonnull
+  public static GenericPayload serializePayload(@Nonnull RecordTemplate payload, @Nonnull String contentType) {
     GenericPayload genericPayload = new GenericPayload();
-    genericPayload.setValue(
-        ByteString.unsafeWrap(RecordUtils.toJsonString(payload).getBytes(StandardCharsets.UTF_8)));
-    genericPayload.setContentType(GenericRecordUtils.JSON);
+    genericPayload.setValue(serialize(payload, contentType));
+    genericPayload.setContentType(contentType);
     return genericPayload;
   }
+
+  /**
+   * Encode the data of a record as PSON.
+   */
+  @Nonnull
+  public static byte[] toPsonBytes(@Nonnull DataMap dataMap) {
+    try {
+      return PSON_CODEC.mapToBytes(dataMap);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode data map as PSON", e);
+    }
+  }
+
+  /**
+   * Decode the data of a record encoded with {@link #toPsonBytes(DataMap)}.
+   */
+  @Nonnull
+  public static DataMap fromPsonBytes(@Nonnull byte[] bytes) {
+    try {
+      return PSON_CODEC.bytesToMap(bytes);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to decode PSON as data map", e);
+    }
+  }
+
+  @Nonnull
+  private static ByteString serialize(@Nonnull RecordTemplate record, @Nonnull String contentType) {
+    if (JSON.equals(contentType)) {
+      return ByteString.unsafeWrap(RecordUtils.toJsonString(record).getBytes(StandardCharsets.UTF_8));
+    } else if (PSON.equals(contentType)) {
+      return ByteString.unsafeWrap(toPsonBytes(record.data()));
+    }
+    throw new IllegalArgumentException(String.format("%s content type is not supported", contentType));
+  }
+
+  @Nonnull
+  private static <T extends RecordTemplate> T deserialize(@Nonnull ByteString value, @Nonnull String contentType,
+      @Nonnull Class<T> clazz) {
+    if (JSON.equals(contentType)) {
+      return RecordUtils.toRecordTemplate(clazz, value.asString(StandardCharsets.UTF_8));
+    } else if (PSON.equals(contentType)) {
+      return RecordUtils.toRecordTemplate(clazz, fromPsonBytes(value.copyBytes()));
+    }
+    throw new IllegalArgumentException(String.format("%s content type is not supported", contentType));
+  }
 }
@@ -27,6 +27,12 @@ public interface IndexConvention {
   @Nonnull
   String getTimeseriesAspectIndexName(String entityName, String aspectName);
 
+  /**
+   * Name of the index holding the hourly, daily and monthly rollups of a timeseries aspect.
+   */
+  @Nonnull
+  String getTimeseriesAspectRollupIndexName(String entityName, String aspectName);
+
   @Nonnull
   String getAllEntityIndicesPattern();
 
@@ -21,6 +21,7 @@ public class IndexConventionImpl implements IndexConvention {
   private final static String ENTITY_INDEX_SUFFIX = "index";
   private final static String TIMESERIES_INDEX_VERSION = "v1";
   private final static String TIMESERIES_ENTITY_INDEX_SUFFIX = "aspect";
+  private final static String TIMESERIES_ROLLUP_INDEX_SUFFIX = "rollup";
 
   public IndexConventionImpl(@Nullable String prefix) {
     _prefix = StringUtils.isEmpty(prefix) ? Optional.empty() : Optional.of(prefix);
@@ -70,6 +71,13 @@ public class IndexConventionImpl implements IndexConvention {
         + TIMESERIES_INDEX_VERSION;
   }
 
+  @Nonnull
+  @Override
+  public String getTimeseriesAspectRollupIndexName(String entityName, String aspectName) {
+    return this.getIndexName(entityName + "_" + aspectName) + TIMESERIES_ENTITY_INDEX_SUFFIX + "_"
+        + TIMESERIES_ROLLUP_INDEX_SUFFIX + "_" + TIMESERIES_INDEX_VERSION;
+  }
+
   @Nonnull
   @Override
   public String getAllEntityIndicesPattern() {